@@ -54,8 +54,7 @@ public class BachelorApplication {
         }
         else
         {
-            // to be completed
-
+            runBatch();
         }
 
         mVariantEnricher.close();
@@ -63,6 +62,25 @@ public class BachelorApplication {
         LOGGER.info("bachelor run complete");
     }
 
+    private void runBatch()
+    {
+        final List<String> vcfFiles = mConfig.BatchRun.vcfFiles();
+
+        LOGGER.info("processing {} sample germline VCFs with {} threads", vcfFiles.size(), mConfig.Threads);
+
+        // VCFs are searched in parallel, but enrichment and writing share the BAM reader and output file so run in sample order
+        mGermlineVcfParser.findBatchVariants(vcfFiles, mConfig.Threads, (sampleIndex, bachelorRecords) ->
+        {
+            if(bachelorRecords == null)
+            {
+                LOGGER.error("germline VCF({}) parse failed", vcfFiles.get(sampleIndex));
+                return;
+            }
+
+            mVariantEnricher.run(bachelorRecords, mConfig.BatchRun.bamFile(sampleIndex));
+        });
+    }
+
     public static void main(final String... args)
     {
         final Options options = createOptions();
@@ -9,6 +9,7 @@ import static com.hartwig.hmftools.common.variant.CodingEffect.NONSENSE_OR_FRAME
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -36,6 +37,7 @@ import com.hartwig.hmftools.common.variant.snpeff.SnpEffAnnotationFactory;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import htsjdk.samtools.SAMSequenceDictionary;
 import htsjdk.samtools.util.CloseableIterator;
 import htsjdk.variant.variantcontext.Genotype;
 import htsjdk.variant.variantcontext.VariantContext;
@@ -56,7 +58,8 @@ public class GermlineVariantFinder
 
     private Set<HmfTranscriptRegion> mTranscriptRegions;
 
-    private List<BachelorGermlineVariant> mVariants;
+    // transcript regions merged into non-overlapping query intervals, so each VCF is read once per interval
+    private List<QueryRegion> mQueryRegions;
 
     private static final Logger LOGGER = LogManager.getLogger(GermlineVariantFinder.class);
 
@@ -69,15 +72,12 @@ public class GermlineVariantFinder
         mWhitelistFilters = Maps.newHashMap();
         mBlacklistFilters = Maps.newHashMap();
 
-        mVariants = Lists.newArrayList();
-
         mTranscriptRegions = Sets.newHashSet();
+        mQueryRegions = Lists.newArrayList();
 
         initialiseGeneData();
     }
 
-    List<BachelorGermlineVariant> getVariants() { return mVariants; }
-
     boolean loadConfig(Map<String, Program> input)
     {
         if(input.values().isEmpty())
@@ -133,6 +133,8 @@ public class GermlineVariantFinder
             }
         }
 
+        mQueryRegions = mergeRegions(mTranscriptRegions);
+
         // merge XML white and black lists into the same format
         if(program.getBlacklist() != null)
         {
@@ -237,21 +239,27 @@ public class GermlineVariantFinder
 
     public String name() { return mName; }
 
-    void processVcfFile(final String sampleId, final VCFFileReader reader, boolean usesIndex)
+    List<BachelorGermlineVariant> processVcfFile(final String sampleId, final VCFFileReader reader, boolean usesIndex)
     {
-        mVariants.clear();
+        final List<BachelorGermlineVariant> variants = Lists.newArrayList();
 
         if(usesIndex)
         {
-            for (final HmfTranscriptRegion region : mTranscriptRegions)
+            final SAMSequenceDictionary sequenceDictionary = reader.getFileHeader().getSequenceDictionary();
+
+            for (final QueryRegion queryRegion : sortedQueryRegions(sequenceDictionary))
             {
                 final CloseableIterator<VariantContext> query =
-                        reader.query(region.chromosome(), (int) region.geneStart(), (int) region.geneEnd());
+                        reader.query(queryRegion.Chromosome, (int) queryRegion.Start, (int) queryRegion.End);
 
                 while (query.hasNext())
                 {
                     final VariantContext variant = query.next();
-                    processVariant(variant, sampleId, region);
+
+                    final List<HmfTranscriptRegion> regions = queryRegion.overlappingRegions(variant.getStart(), variant.getEnd());
+
+                    if(!regions.isEmpty())
+                        processVariant(variant, sampleId, regions, variants);
                 }
 
                 query.close();
@@ -261,12 +269,15 @@ public class GermlineVariantFinder
         {
             for (final VariantContext variant : reader)
             {
-                processVariant(variant, sampleId, null);
+                processVariant(variant, sampleId, null, variants);
             }
         }
+
+        return variants;
     }
 
-    private void processVariant(final VariantContext variant, final String sampleId, HmfTranscriptRegion region)
+    private void processVariant(final VariantContext variant, final String sampleId, final List<HmfTranscriptRegion> regions,
+            final List<BachelorGermlineVariant> variants)
     {
         if (variant.isFiltered())
             return;
@@ -279,8 +290,50 @@ public class GermlineVariantFinder
             return;
         }
 
+        // only parse the annotations once a transcript of interest is known to be annotated
+        final List<String> rawAnnotations = SnpEffAnnotationFactory.rawAnnotations(variant);
+
+        if(!annotatesTranscript(rawAnnotations, regions))
+            return;
+
         final List<SnpEffAnnotation> sampleAnnotations = SnpEffAnnotationFactory.fromContext(variant);
 
+        if(regions == null)
+        {
+            processAnnotations(variant, sampleId, null, refGenotype, sampleAnnotations, rawAnnotations, variants);
+        }
+        else
+        {
+            for(final HmfTranscriptRegion region : regions)
+            {
+                processAnnotations(variant, sampleId, region, refGenotype, sampleAnnotations, rawAnnotations, variants);
+            }
+        }
+    }
+
+    private boolean annotatesTranscript(final List<String> rawAnnotations, final List<HmfTranscriptRegion> regions)
+    {
+        for(final String annotation : rawAnnotations)
+        {
+            if(regions == null)
+            {
+                if(mPanelTranscripts.stream().anyMatch(annotation::contains))
+                    return true;
+            }
+            else
+            {
+                if(regions.stream().anyMatch(x -> annotation.contains(x.transcriptID())))
+                    return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void processAnnotations(final VariantContext variant, final String sampleId, final HmfTranscriptRegion region,
+            final Genotype refGenotype, final List<SnpEffAnnotation> sampleAnnotations, final List<String> rawAnnotations,
+            final List<BachelorGermlineVariant> variants)
+    {
         // search the list of annotations for the correct allele and transcript ID to write to the result file
 
         // check the sub-conditions now - hotspot locations and gene-transcript IDs
@@ -390,7 +443,7 @@ public class GermlineVariantFinder
             if(matchType.equals(MATCH_TYPE_NONE))
                 return;
 
-            String annotationsStr = SnpEffAnnotationFactory.rawAnnotations(variant).get(i);
+            String annotationsStr = rawAnnotations.get(i);
 
             boolean isHomozygous = refGenotype.isHom();
             int phredScore = refGenotype.getPL().length >= 1 ? refGenotype.getPL()[0] : 0;
@@ -438,7 +491,7 @@ public class GermlineVariantFinder
 
             LOGGER.debug("Adding germline variant({} {}:{}) to list of germline variants",
                     germlineVariant.Gene, germlineVariant.Chromosome, germlineVariant.Position);
-            mVariants.add(germlineVariant);
+            variants.add(germlineVariant);
         }
     }
 
@@ -450,6 +503,86 @@ public class GermlineVariantFinder
                 .collect(Collectors.toList());
     }
 
+    private static List<QueryRegion> mergeRegions(final Set<HmfTranscriptRegion> transcriptRegions)
+    {
+        final List<HmfTranscriptRegion> sortedRegions = Lists.newArrayList(transcriptRegions);
+
+        sortedRegions.sort(Comparator.comparing(HmfTranscriptRegion::chromosome)
+                .thenComparingLong(HmfTranscriptRegion::geneStart)
+                .thenComparingLong(HmfTranscriptRegion::geneEnd));
+
+        final List<QueryRegion> queryRegions = Lists.newArrayList();
+        QueryRegion current = null;
+
+        for(final HmfTranscriptRegion region : sortedRegions)
+        {
+            // merge overlapping and adjacent regions
+            if(current != null && current.Chromosome.equals(region.chromosome()) && region.geneStart() <= current.End + 1)
+            {
+                current.add(region);
+            }
+            else
+            {
+                current = new QueryRegion(region);
+                queryRegions.add(current);
+            }
+        }
+
+        return queryRegions;
+    }
+
+    private List<QueryRegion> sortedQueryRegions(final SAMSequenceDictionary sequenceDictionary)
+    {
+        if(sequenceDictionary == null || sequenceDictionary.isEmpty())
+            return mQueryRegions;
+
+        // follow the contig order of the VCF so the file is read front to back
+        final List<QueryRegion> queryRegions = Lists.newArrayList(mQueryRegions);
+
+        queryRegions.sort(Comparator.comparingInt((QueryRegion x) -> contigIndex(sequenceDictionary, x.Chromosome))
+                .thenComparingLong(x -> x.Start));
+
+        return queryRegions;
+    }
+
+    private static int contigIndex(final SAMSequenceDictionary sequenceDictionary, final String chromosome)
+    {
+        final int index = sequenceDictionary.getSequenceIndex(chromosome);
+        return index >= 0 ? index : Integer.MAX_VALUE;
+    }
+
+    private static class QueryRegion
+    {
+        public final String Chromosome;
+        public long Start;
+        public long End;
+        public final List<HmfTranscriptRegion> Regions;
+
+        QueryRegion(final HmfTranscriptRegion region)
+        {
+            Chromosome = region.chromosome();
+            Start = region.geneStart();
+            End = region.geneEnd();
+            Regions = Lists.newArrayList(region);
+        }
+
+        void add(final HmfTranscriptRegion region)
+        {
+            End = Math.max(End, region.geneEnd());
+            Regions.add(region);
+        }
+
+        List<HmfTranscriptRegion> overlappingRegions(long variantStart, long variantEnd)
+        {
+            if(Regions.size() == 1)
+                return Regions;
+
+            return Regions.stream()
+                    .filter(x -> variantStart <= x.geneEnd() && variantEnd >= x.geneStart())
+                    .collect(Collectors.toList());
+        }
+    }
+
     private void initialiseGeneData()
     {
         SortedSetMultimap<String, HmfTranscriptRegion> mGenesByChromosomeMap = HmfGenePanelSupplier.allGenesPerChromosomeMap37();
@@ -4,9 +4,17 @@ import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.List;
-
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.hartwig.hmftools.bachelor.types.BachelorConfig;
 import com.hartwig.hmftools.bachelor.types.BachelorGermlineVariant;
+import com.hartwig.hmftools.bachelor.types.BatchRunData;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.Options;
@@ -24,6 +32,8 @@ public class GermlineVcfParser
     private final GermlineVariantFinder mProgram;
     private final boolean mSkipIndexFile;
 
+    private List<BachelorGermlineVariant> mBachelorRecords;
+
     GermlineVcfParser(final BachelorConfig config, final CommandLine cmd)
     {
         mConfig = config;
@@ -31,6 +41,7 @@ public class GermlineVcfParser
         mProgram = new GermlineVariantFinder();
 
         mSkipIndexFile = cmd.hasOption(SKIP_INDEX_FILE);
+        mBachelorRecords = Lists.newArrayList();
 
         if(!mProgram.loadConfig(mConfig.ProgramConfigMap))
         {
@@ -53,54 +64,102 @@ public class GermlineVcfParser
         options.addOption(EXTERNAL_FILTER_FILE, true, "Optional: name of an external filter file");
     }
 
-    List<BachelorGermlineVariant> getBachelorRecords() { return mProgram.getVariants(); }
+    List<BachelorGermlineVariant> getBachelorRecords() { return mBachelorRecords; }
 
     boolean run(final String vcfFile, String sampleId, String singleSampleOutputDir)
+    {
+        final List<BachelorGermlineVariant> bachelorRecords = findVariants(vcfFile, sampleId);
+
+        if(bachelorRecords == null)
+            return false;
+
+        mBachelorRecords = bachelorRecords;
+        return true;
+    }
+
+    // safe to call concurrently for different samples, returns null if the VCF could not be processed
+    List<BachelorGermlineVariant> findVariants(final String vcfFile, final String sampleId)
     {
         if (mConfig.ProgramConfigMap.isEmpty())
         {
             LOGGER.error("No programs loaded, exiting");
-            return false;
+            return null;
         }
 
         if(!Files.exists(Paths.get(vcfFile)))
         {
             LOGGER.info("sampleId({}) germline VCF({}) not found", sampleId, vcfFile);
-            return false;
+            return null;
         }
 
         LOGGER.info("sampleId({}) reading germline VCF({})", sampleId, vcfFile);
 
         final File germlineVcf = new File(vcfFile);
 
-        if(!processVCF(sampleId, germlineVcf))
-            return false;
+        final List<BachelorGermlineVariant> bachelorRecords = processVCF(sampleId, germlineVcf);
 
-        if(mProgram.getVariants().isEmpty())
+        if(bachelorRecords != null && bachelorRecords.isEmpty())
         {
-            LOGGER.debug("no valid variants found");
+            LOGGER.debug("sampleId({}) no valid variants found", sampleId);
         }
 
-        return true;
+        return bachelorRecords;
     }
 
-    private boolean processVCF(final String sampleId, final File vcf)
+    // searches the VCFs on a pool of threads, and passes each sample's variants (null if its VCF could not be processed)
+    // to the consumer on the calling thread in VCF order, so the results do not depend on the number of threads
+    void findBatchVariants(final List<String> vcfFiles, int threads, final BiConsumer<Integer, List<BachelorGermlineVariant>> sampleConsumer)
+    {
+        final ExecutorService executorService = Executors.newFixedThreadPool(threads,
+                new ThreadFactoryBuilder().setNameFormat("bachelor-%d").build());
+
+        try
+        {
+            final List<Future<List<BachelorGermlineVariant>>> sampleResults = Lists.newArrayList();
+
+            for(final String vcfFile : vcfFiles)
+            {
+                final String sampleId = BatchRunData.sampleIdFromFile(vcfFile);
+                sampleResults.add(executorService.submit(() -> findVariants(vcfFile, sampleId)));
+            }
+
+            for(int i = 0; i < vcfFiles.size(); ++i)
+            {
+                List<BachelorGermlineVariant> bachelorRecords = null;
+
+                try
+                {
+                    bachelorRecords = sampleResults.get(i).get();
+                }
+                catch (InterruptedException | ExecutionException e)
+                {
+                    LOGGER.error("germline VCF({}) processing failed: {}", vcfFiles.get(i), e.toString());
+                }
+
+                sampleConsumer.accept(i, bachelorRecords);
+            }
+        }
+        finally
+        {
+            executorService.shutdown();
+        }
+    }
+
+    private List<BachelorGermlineVariant> processVCF(final String sampleId, final File vcf)
     {
         if(vcf == null)
-            return false;
+            return null;
 
         LOGGER.debug("Processing vcf: {}", vcf.getPath());
 
         try (final VCFFileReader reader = new VCFFileReader(vcf, !mSkipIndexFile))
         {
-            mProgram.processVcfFile(sampleId, reader, !mSkipIndexFile);
+            return mProgram.processVcfFile(sampleId, reader, !mSkipIndexFile);
         }
         catch (final TribbleException e)
         {
             LOGGER.error("Error with VCF file {}: {}", vcf.getPath(), e.getMessage());
-            return false;
+            return null;
         }
-
-        return true;
     }
 }
@@ -98,10 +98,15 @@ class VariantEnricher
     }
 
     void run(@Nullable List<BachelorGermlineVariant> bachRecords)
+    {
+        run(bachRecords, mConfig.BamFile);
+    }
+
+    void run(@Nullable List<BachelorGermlineVariant> bachRecords, @Nullable final String bamFile)
     {
         mBachRecords = bachRecords;
 
-        processCurrentRecords(mBachRecords);
+        processCurrentRecords(mBachRecords, bamFile);
 
         if(!mConfig.IsBatchMode)
         {
@@ -110,7 +115,7 @@ class VariantEnricher
         }
     }
 
-    private void processCurrentRecords(@Nullable List<BachelorGermlineVariant> bachRecords)
+    private void processCurrentRecords(@Nullable List<BachelorGermlineVariant> bachRecords, @Nullable final String bamFile)
     {
         if(bachRecords.isEmpty() && !mConfig.IsBatchMode)
         {
@@ -120,9 +125,9 @@ class VariantEnricher
 
         long recordsWithTumorData = bachRecords.stream().filter(x -> x.isReadDataSet()).count();
 
-        if(mBamCountReader != null && recordsWithTumorData < bachRecords.size())
+        if(mBamCountReader != null && bamFile != null && recordsWithTumorData < bachRecords.size())
         {
-            mBamCountReader.readBamCounts(mConfig.BamFile, bachRecords);
+            mBamCountReader.readBamCounts(bamFile, bachRecords);
         }
 
         Map<String, List<BachelorGermlineVariant>> sampleRecordsMap = Maps.newHashMap();
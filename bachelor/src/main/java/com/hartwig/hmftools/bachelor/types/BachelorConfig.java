@@ -37,6 +37,7 @@ public class BachelorConfig
 
     public final boolean IsBatchMode;
     public final BatchRunData BatchRun;
+    public final int Threads;
 
     public final Map<String, Program> ProgramConfigMap;
 
@@ -56,6 +57,7 @@ public class BachelorConfig
     private static final String OUTPUT_DIR = "output_dir";
     private static final String PURPLE_DATA_DIRECTORY = "purple_data_dir"; // path to purple data directory
     private static final String SKIP_ENRICHMENT = "skip_enrichment";
+    private static final String THREADS = "threads";
 
     public static final String LOG_DEBUG = "log_debug";
     public static final String BATCH_FILE = "BATCH";
@@ -105,7 +107,9 @@ public class BachelorConfig
 
         PurpleDataDir = cmd.getOptionValue(PURPLE_DATA_DIRECTORY, "");
 
-        if(GermlineVcf == null)
+        Threads = Math.max(Integer.parseInt(cmd.getOptionValue(THREADS, "1")), 1);
+
+        if(GermlineVcf == null && !IsBatchMode)
         {
             LOGGER.error("missing germline VCF file");
             mIsValid = false;
@@ -113,7 +117,7 @@ public class BachelorConfig
 
         if(!SkipEnrichment)
         {
-            if (BamFile == null || RefGenomeFile == null || PurpleDataDir.isEmpty())
+            if ((BamFile == null && !IsBatchMode) || RefGenomeFile == null || PurpleDataDir.isEmpty())
             {
                 LOGGER.error("missing input files: BAM({}) refGenome({}) purpleDataDir({})",
                         BamFile == null || RefGenomeFile == null || PurpleDataDir.isEmpty());
@@ -172,6 +176,7 @@ public class BachelorConfig
         options.addOption(REF_GENOME, true, "Path to the ref genome fasta file");
         options.addOption(PURPLE_DATA_DIRECTORY, true, "Sub-directory with sample path for purple data");
         options.addOption(SKIP_ENRICHMENT, false, "Only search for variants but skip Purple enrichment");
+        options.addOption(THREADS, true, "Number of samples to process in parallel in batch mode, default 1");
 
         options.addOption(DB_USER, true, "Database user name");
         options.addOption(DB_PASS, true, "Database password");
@@ -181,6 +186,7 @@ public class BachelorConfig
         options.addOption(LOG_DEBUG, false, "Sets log level to Debug, off by default");
 
         GermlineVcfParser.addCmdLineOptions(options);
+        BatchRunData.addCmdLineOptions(options);
 
         return options;
     }
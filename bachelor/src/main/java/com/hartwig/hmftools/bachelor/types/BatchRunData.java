@@ -51,6 +51,22 @@ public class BatchRunData
         loadFileList(cmd.getOptionValue(BAM_FILES), mBamFiles);
     }
 
+    public List<String> vcfFiles() { return mVcfFiles; }
+
+    // BAM files are optional, and if provided are matched to the VCF files by their position in the list
+    public String bamFile(int sampleIndex)
+    {
+        return sampleIndex < mBamFiles.size() ? mBamFiles.get(sampleIndex) : null;
+    }
+
+    // the sample ID is taken from the VCF file name, up to the first '.'
+    public static String sampleIdFromFile(final String vcfFile)
+    {
+        final String fileName = Paths.get(vcfFile).getFileName().toString();
+        int extensionIndex = fileName.indexOf('.');
+        return extensionIndex > 0 ? fileName.substring(0, extensionIndex) : fileName;
+    }
+
     public static void addCmdLineOptions(Options options)
     {
         options.addOption(VCF_FILES, true, "File with sample VCF file paths");
@@ -59,6 +75,9 @@ public class BatchRunData
 
     private void loadFileList(final String filename, final List<String> files)
     {
+        if(filename == null)
+            return;
+
         try
         {
             BufferedReader fileReader = new BufferedReader(new FileReader(filename));
@@ -0,0 +1,135 @@
+package com.hartwig.hmftools.bachelor;
+
+import static com.hartwig.hmftools.bachelor.types.BachelorConfig.createCommandLine;
+import static com.hartwig.hmftools.bachelor.types.BachelorConfig.createOptions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.Lists;
+import com.google.common.io.Resources;
+import com.hartwig.hmftools.bachelor.types.BachelorConfig;
+
+import org.apache.commons.cli.CommandLine;
+import org.junit.Test;
+
+public class GermlineVcfParserTest
+{
+    private static final String PANEL_XML = Resources.getResource("bachelor_hmf_hg37.xml").getPath();
+
+    private static final String VCF_HEADER = "##fileformat=VCFv4.2\n"
+            + "##INFO=<ID=ANN,Number=.,Type=String,Description=\"SnpEff annotations\">\n"
+            + "##FORMAT=<ID=GT,Number=1,Type=String,Description=\"Genotype\">\n"
+            + "##FORMAT=<ID=AD,Number=R,Type=Integer,Description=\"Allelic depths\">\n"
+            + "##FORMAT=<ID=DP,Number=1,Type=Integer,Description=\"Read depth\">\n"
+            + "##contig=<ID=13,length=115169878>\n"
+            + "##contig=<ID=17,length=81195210>\n"
+            + "#CHROM\tPOS\tID\tREF\tALT\tQUAL\tFILTER\tINFO\tFORMAT\t%s\n";
+
+    @Test
+    public void testBatchResultsIndependentOfThreadCount() throws Exception
+    {
+        final Path vcfDir = Files.createTempDirectory("bachelor_test");
+
+        final List<String> vcfFiles = Lists.newArrayList();
+
+        for(int i = 0; i < 12; ++i)
+        {
+            vcfFiles.add(writeSampleVcf(vcfDir, String.format("SAMPLE%02d", i), i));
+        }
+
+        // a missing VCF must be reported in its place in the batch
+        vcfFiles.add(5, vcfDir.resolve("MISSING.vcf").toString());
+
+        final GermlineVcfParser parser = createParser(vcfDir);
+
+        final List<List<String>> singleThreadResults = findBatchVariants(parser, vcfFiles, 1);
+        final List<List<String>> multiThreadResults = findBatchVariants(parser, vcfFiles, 4);
+
+        assertEquals(vcfFiles.size(), singleThreadResults.size());
+        assertNull(singleThreadResults.get(5));
+        assertTrue(singleThreadResults.stream().filter(x -> x != null).allMatch(x -> !x.isEmpty()));
+
+        assertEquals(singleThreadResults, multiThreadResults);
+
+        for(final String vcfFile : vcfFiles)
+        {
+            new File(vcfFile).delete();
+        }
+
+        vcfDir.toFile().delete();
+    }
+
+    private static GermlineVcfParser createParser(final Path outputDir) throws Exception
+    {
+        final CommandLine cmd = createCommandLine(createOptions(),
+                "-xml_config", PANEL_XML, "-sample", "*", "-output_dir", outputDir.toString(),
+                "-skip_enrichment", "-skip_index_file");
+
+        final BachelorConfig config = new BachelorConfig(cmd);
+        assertTrue(config.isValid());
+        assertFalse(config.ProgramConfigMap.isEmpty());
+
+        return new GermlineVcfParser(config, cmd);
+    }
+
+    // collects the variants of each sample in the order they are handed over, null for a VCF which could not be processed
+    private static List<List<String>> findBatchVariants(final GermlineVcfParser parser, final List<String> vcfFiles, int threads)
+    {
+        final List<List<String>> results = Lists.newArrayList();
+
+        parser.findBatchVariants(vcfFiles, threads, (sampleIndex, bachelorRecords) ->
+        {
+            assertEquals(results.size(), sampleIndex.intValue());
+
+            results.add(bachelorRecords != null
+                    ? bachelorRecords.stream().map(x -> x.asCsv(true)).collect(Collectors.toList())
+                    : null);
+        });
+
+        return results;
+    }
+
+    private static String writeSampleVcf(final Path vcfDir, final String sampleId, int sampleIndex) throws Exception
+    {
+        final StringBuilder vcf = new StringBuilder(String.format(VCF_HEADER, sampleId));
+
+        // BRCA2 frameshifts and stop-gains, a non-panel transcript and a hom-ref genotype which must be ignored
+        for(int i = 0; i <= sampleIndex; ++i)
+        {
+            int position = 32906000 + 100 * i + sampleIndex;
+            vcf.append(variantLine("13", position, "A", "AT",
+                    annotation("AT", "frameshift_variant", "BRCA2", "ENST00000544455", i), "0/1:20,10:30"));
+        }
+
+        vcf.append(variantLine("13", 32930000 + sampleIndex, "C", "T",
+                annotation("T", "stop_gained", "BRCA2", "ENST00000380152", 1), "0/1:20,10:30"));
+
+        vcf.append(variantLine("17", 7577000 + sampleIndex, "G", "A",
+                annotation("A", "stop_gained", "TP53", "ENST00000269305", sampleIndex), sampleIndex % 3 == 0 ? "1/1:0,25:25" : "0/0:30,0:30"));
+
+        final File vcfFile = vcfDir.resolve(sampleId + ".germline.vcf").toFile();
+        Files.write(vcfFile.toPath(), vcf.toString().getBytes());
+        return vcfFile.getPath();
+    }
+
+    private static String variantLine(final String chromosome, int position, final String ref, final String alt, final String annotation,
+            final String genotype)
+    {
+        return String.format("%s\t%d\t.\t%s\t%s\t100\tPASS\tANN=%s\tGT:AD:DP\t%s\n", chromosome, position, ref, alt, annotation, genotype);
+    }
+
+    private static String annotation(final String alt, final String effect, final String gene, final String transcriptId, int codon)
+    {
+        return String.format("%s|%s|HIGH|%s|ENSG0000000|transcript|%s|protein_coding|10/27|c.%d|p.Ser%dfs|%d/10000|%d/10000|%d/3418||",
+                alt, effect, gene, transcriptId, 3 * codon, codon + 1, 3 * codon, 3 * codon, codon + 1);
+    }
+}
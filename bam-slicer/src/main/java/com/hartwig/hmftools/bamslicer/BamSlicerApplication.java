@@ -10,6 +10,7 @@ import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import com.google.common.collect.Lists;
 import com.hartwig.hmftools.common.genome.region.GenomeRegion;
@@ -43,6 +44,8 @@ import htsjdk.samtools.SAMRecord;
 import htsjdk.samtools.SamInputResource;
 import htsjdk.samtools.SamReader;
 import htsjdk.samtools.SamReaderFactory;
+import htsjdk.samtools.seekablestream.SeekableFileStream;
+import htsjdk.samtools.seekablestream.SeekableStream;
 import htsjdk.samtools.util.BlockCompressedFilePointerUtil;
 import htsjdk.samtools.util.BlockCompressedStreamConstants;
 import htsjdk.samtools.util.CloseableIterator;
@@ -73,6 +76,13 @@ public class BamSlicerApplication {
     private static final String MAX_CHUNKS_IN_MEMORY_DEFAULT = "2000";
     private static final String MAX_CONCURRENT_REQUESTS = "max_concurrent_requests";
     private static final String MAX_CONCURRENT_REQUESTS_DEFAULT = "50";
+    private static final String MAX_RANGE_GAP = "max_range_gap";
+    private static final String MAX_RANGE_GAP_DEFAULT = "0";
+    private static final String BLOCK_CACHE_DIR = "block_cache_dir";
+    private static final String BLOCK_CACHE_MAX_MB = "block_cache_max_mb";
+    private static final String BLOCK_CACHE_MAX_MB_DEFAULT = "10240";
+    private static final String PASSTHROUGH = "passthrough";
+    private static final String PASSTHROUGH_DESCRIPTION = "Copy compressed bam blocks inside the sliced regions instead of re-encoding all reads";
 
     private static final Chunk HEADER_CHUNK = new Chunk(0, (long) BlockCompressedStreamConstants.MAX_COMPRESSED_BLOCK_SIZE << 16);
 
@@ -102,11 +112,22 @@ public class BamSlicerApplication {
         final int proximity = Integer.parseInt(cmd.getOptionValue(PROXIMITY, "500"));
         final SamReader reader = SamReaderFactory.makeDefault().open(new File(inputPath));
         final QueryInterval[] intervals = getIntervalsFromVCF(vcfPath, reader.getFileHeader(), proximity);
-        final CloseableIterator<SAMRecord> iterator = reader.queryOverlapping(intervals);
-        final SAMFileWriter writer = new SAMFileWriterFactory().setCreateIndex(true)
-                .makeBAMWriter(reader.getFileHeader(), true, new File(cmd.getOptionValue(OUTPUT)));
-        writeToSlice(writer, iterator);
-        writer.close();
+        if (cmd.hasOption(PASSTHROUGH)) {
+            final BAMFileSpan span = BAMFileReader.getFileSpan(intervals, reader.indexing().getIndex());
+            try (SeekableStream bamStream = new SeekableFileStream(new File(inputPath));
+                 BgzfPassthroughWriter writer = new BgzfPassthroughWriter(new File(cmd.getOptionValue(OUTPUT)),
+                         reader.getFileHeader(),
+                         bamStream)) {
+                writer.writeChunks(span.getChunks(), intervals, reader.indexing().getIndex());
+                writer.finish();
+            }
+        } else {
+            final CloseableIterator<SAMRecord> iterator = reader.queryOverlapping(intervals);
+            final SAMFileWriter writer = new SAMFileWriterFactory().setCreateIndex(true)
+                    .makeBAMWriter(reader.getFileHeader(), true, new File(cmd.getOptionValue(OUTPUT)));
+            writeToSlice(writer::addAlignment, iterator);
+            writer.close();
+        }
         reader.close();
     }
 
@@ -175,33 +196,51 @@ public class BamSlicerApplication {
         final File indexFile = downloadIndex(indexUrl);
         indexFile.deleteOnExit();
         final SamReader reader = SamReaderFactory.makeDefault().open(SamInputResource.of(bamUrl).index(indexFile));
-        final SAMFileWriter writer = new SAMFileWriterFactory().setCreateIndex(true)
-                .makeBAMWriter(reader.getFileHeader(), true, new File(cmd.getOptionValue(OUTPUT)));
         final BAMIndex bamIndex = new DiskBasedBAMFileIndex(indexFile, reader.getFileHeader().getSequenceDictionary(), false);
 
         final Optional<Pair<QueryInterval[], BAMFileSpan>> queryIntervalsAndSpan = queryIntervalsAndSpan(reader, bamIndex, cmd);
         final Optional<Chunk> unmappedChunk = getUnmappedChunk(bamIndex, HttpUtils.getHeaderField(bamUrl, "Content-Length"), cmd);
         final List<Chunk> sliceChunks = sliceChunks(queryIntervalsAndSpan, unmappedChunk);
-        final SamReader cachingReader = createCachingReader(indexFile, bamUrl, cmd, sliceChunks);
-
-        queryIntervalsAndSpan.ifPresent(pair -> {
-            LOGGER.info("Slicing bam on bed regions...");
-            final CloseableIterator<SAMRecord> bedIterator = getIterator(cachingReader, pair.getKey(), pair.getValue().toCoordinateArray());
-            writeToSlice(writer, bedIterator);
-            LOGGER.info("Done writing bed slices.");
-        });
-        unmappedChunk.ifPresent(chunk -> {
-            LOGGER.info("Slicing unmapped reads...");
-            final CloseableIterator<SAMRecord> unmappedIterator = cachingReader.queryUnmapped();
-            writeToSlice(writer, unmappedIterator);
-            LOGGER.info("Done writing unmapped reads.");
-        });
+        final CachingSeekableHTTPStream bamStream = createCachingStream(bamUrl, cmd, sliceChunks);
+        final SamReader cachingReader = SamReaderFactory.makeDefault().open(SamInputResource.of(bamStream).index(indexFile));
+        final File outputFile = new File(cmd.getOptionValue(OUTPUT));
+
+        if (cmd.hasOption(PASSTHROUGH)) {
+            try (BgzfPassthroughWriter writer = new BgzfPassthroughWriter(outputFile, reader.getFileHeader(), bamStream)) {
+                if (queryIntervalsAndSpan.isPresent()) {
+                    LOGGER.info("Copying bam blocks on bed regions...");
+                    final Pair<QueryInterval[], BAMFileSpan> pair = queryIntervalsAndSpan.get();
+                    writer.writeChunks(pair.getValue().getChunks(), pair.getKey(), bamIndex);
+                    LOGGER.info("Done writing bed slices.");
+                }
+                unmappedChunk.ifPresent(chunk -> writeUnmapped(writer::addAlignment, cachingReader));
+                writer.finish();
+            }
+        } else {
+            final SAMFileWriter writer = new SAMFileWriterFactory().setCreateIndex(true)
+                    .makeBAMWriter(reader.getFileHeader(), true, outputFile);
+            queryIntervalsAndSpan.ifPresent(pair -> {
+                LOGGER.info("Slicing bam on bed regions...");
+                final CloseableIterator<SAMRecord> bedIterator =
+                        getIterator(cachingReader, pair.getKey(), pair.getValue().toCoordinateArray());
+                writeToSlice(writer::addAlignment, bedIterator);
+                LOGGER.info("Done writing bed slices.");
+            });
+            unmappedChunk.ifPresent(chunk -> writeUnmapped(writer::addAlignment, cachingReader));
+            writer.close();
+        }
 
         reader.close();
-        writer.close();
         cachingReader.close();
     }
 
+    private static void writeUnmapped(@NotNull final Consumer<SAMRecord> writer, @NotNull final SamReader cachingReader) {
+        LOGGER.info("Slicing unmapped reads...");
+        final CloseableIterator<SAMRecord> unmappedIterator = cachingReader.queryUnmapped();
+        writeToSlice(writer, unmappedIterator);
+        LOGGER.info("Done writing unmapped reads.");
+    }
+
     @NotNull
     private static Optional<Pair<QueryInterval[], BAMFileSpan>> queryIntervalsAndSpan(@NotNull final SamReader reader,
             @NotNull final BAMIndex bamIndex, @NotNull final CommandLine cmd) throws IOException {
@@ -215,14 +254,16 @@ public class BamSlicerApplication {
         return Optional.empty();
     }
 
-    private static SamReader createCachingReader(@NotNull final File indexFile, @NotNull final URL bamUrl, @NotNull final CommandLine cmd,
+    @NotNull
+    private static CachingSeekableHTTPStream createCachingStream(@NotNull final URL bamUrl, @NotNull final CommandLine cmd,
             @NotNull final List<Chunk> sliceChunks) throws IOException {
         final OkHttpClient httpClient =
                 SlicerHttpClient.create(Integer.parseInt(cmd.getOptionValue(MAX_CONCURRENT_REQUESTS, MAX_CONCURRENT_REQUESTS_DEFAULT)));
         final int maxBufferSize = readMaxBufferSize(cmd);
-        final SamInputResource bamResource =
-                SamInputResource.of(new CachingSeekableHTTPStream(httpClient, bamUrl, sliceChunks, maxBufferSize)).index(indexFile);
-        return SamReaderFactory.makeDefault().open(bamResource);
+        final long maxRangeGap = readMaxRangeGap(cmd);
+        final File blockCacheDir = cmd.hasOption(BLOCK_CACHE_DIR) ? new File(cmd.getOptionValue(BLOCK_CACHE_DIR)) : null;
+        final long blockCacheMaxBytes = readBlockCacheMaxMb(cmd) << 20;
+        return new CachingSeekableHTTPStream(httpClient, bamUrl, sliceChunks, maxBufferSize, maxRangeGap, blockCacheDir, blockCacheMaxBytes);
     }
 
     @NotNull
@@ -310,7 +351,7 @@ public class BamSlicerApplication {
         return reader.queryOverlapping(intervals);
     }
 
-    private static void writeToSlice(final SAMFileWriter writer, @NotNull final CloseableIterator<SAMRecord> iterator) {
+    private static void writeToSlice(@NotNull final Consumer<SAMRecord> writer, @NotNull final CloseableIterator<SAMRecord> iterator) {
         String contig = "";
         while (iterator.hasNext()) {
             final SAMRecord record = iterator.next();
@@ -318,7 +359,7 @@ public class BamSlicerApplication {
                 contig = record.getContig();
                 LOGGER.info("Reading contig: {}", contig);
             }
-            writer.addAlignment(record);
+            writer.accept(record);
         }
         iterator.close();
     }
@@ -336,6 +377,32 @@ public class BamSlicerApplication {
         }
     }
 
+    private static long readMaxRangeGap(@NotNull final CommandLine cmd) {
+        final String optionValue = cmd.getOptionValue(MAX_RANGE_GAP, MAX_RANGE_GAP_DEFAULT);
+        try {
+            final long maxRangeGap = Long.parseLong(optionValue);
+            if (maxRangeGap < 0) {
+                throw new IllegalArgumentException("Max range gap cannot be < 0.");
+            }
+            return maxRangeGap;
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Could not parse max range gap");
+        }
+    }
+
+    private static long readBlockCacheMaxMb(@NotNull final CommandLine cmd) {
+        final String optionValue = cmd.getOptionValue(BLOCK_CACHE_MAX_MB, BLOCK_CACHE_MAX_MB_DEFAULT);
+        try {
+            final long maxMb = Long.parseLong(optionValue);
+            if (maxMb <= 0) {
+                throw new IllegalArgumentException("Block cache size cannot be <= 0.");
+            }
+            return maxMb;
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Could not parse block cache size");
+        }
+    }
+
     @NotNull
     private static Options createOptions() {
         final Options options = new Options();
@@ -379,6 +446,20 @@ public class BamSlicerApplication {
                 .hasArg()
                 .desc("Max concurrent http requests (default: " + MAX_CONCURRENT_REQUESTS_DEFAULT + ")")
                 .build());
+        options.addOption(Option.builder(MAX_RANGE_GAP)
+                .hasArg()
+                .desc("Max bytes between bam chunks to fetch them in a single range request (default: " + MAX_RANGE_GAP_DEFAULT + ")")
+                .build());
+        options.addOption(Option.builder(BLOCK_CACHE_DIR)
+                .hasArg()
+                .desc("Dir to cache downloaded bam blocks in, reused by later slices of the same bam (optional)")
+                .build());
+        options.addOption(Option.builder(BLOCK_CACHE_MAX_MB)
+                .hasArg()
+                .desc("Max size of the block cache dir in MB, least recently used blocks are evicted (default: " + BLOCK_CACHE_MAX_MB_DEFAULT
+                        + ")")
+                .build());
+        options.addOption(Option.builder(PASSTHROUGH).desc(PASSTHROUGH_DESCRIPTION).build());
         return options;
     }
 
@@ -390,6 +471,7 @@ public class BamSlicerApplication {
         options.addOption(Option.builder(OUTPUT).required().hasArg().desc("the output BAM (required)").build());
         options.addOption(Option.builder(PROXIMITY).hasArg().desc("distance to slice around breakpoint (optional, default=500)").build());
         options.addOption(Option.builder(VCF).required().hasArg().desc("VCF to slice BAM with (required)").build());
+        options.addOption(Option.builder(PASSTHROUGH).desc(PASSTHROUGH_DESCRIPTION).build());
         return options;
     }
 
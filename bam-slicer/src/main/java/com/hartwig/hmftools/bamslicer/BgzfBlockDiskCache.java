@@ -0,0 +1,190 @@
+package com.hartwig.hmftools.bamslicer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.collect.Lists;
+import com.google.common.hash.Hashing;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import htsjdk.samtools.util.BlockCompressedStreamConstants;
+
+/**
+ * Stores the BGZF blocks of a remote BAM on local disk, one file per block, keyed by the BAM location and the block offset.
+ * The query string of the URL is ignored so that differently signed (S3) URLs for the same object share the cache.
+ * The content length is part of the key so a replaced remote BAM never hits stale blocks.
+ * Once the cache dir holds more than maxBytes, the least recently used blocks of all cached BAMs are evicted.
+ */
+class BgzfBlockDiskCache {
+    private static final Logger LOGGER = LogManager.getLogger(BgzfBlockDiskCache.class);
+
+    private static final int BLOCK_SIZE_OFFSET = 16;
+    private static final String BLOCK_EXTENSION = ".bgzf";
+
+    @NotNull
+    private final File cacheDir;
+    @NotNull
+    private final File bamDir;
+    private final long maxBytes;
+    @NotNull
+    private final AtomicLong cachedBytes;
+    // Last use times are stored as file modification times, kept strictly increasing so that eviction order is exact.
+    @NotNull
+    private final AtomicLong lastUseTime = new AtomicLong();
+
+    BgzfBlockDiskCache(@NotNull final File cacheDir, @NotNull final URL url, final long contentLength, final long maxBytes)
+            throws IOException {
+        this.cacheDir = cacheDir;
+        this.maxBytes = maxBytes;
+        final String bamKey = url.getProtocol() + "://" + url.getHost() + ":" + url.getPort() + url.getPath() + "#" + contentLength;
+        bamDir = new File(cacheDir, Hashing.sha256().hashString(bamKey, StandardCharsets.UTF_8).toString());
+        if (!bamDir.isDirectory() && !bamDir.mkdirs()) {
+            throw new IOException("Could not create block cache dir " + bamDir.getPath());
+        }
+        long totalBytes = 0;
+        for (final File blockFile : cachedBlockFiles()) {
+            totalBytes += blockFile.length();
+            lastUseTime.accumulateAndGet(blockFile.lastModified(), Math::max);
+        }
+        cachedBytes = new AtomicLong(totalBytes);
+        LOGGER.info("Caching bam blocks of {}{} in {} ({} of max {} bytes in use)",
+                url.getHost(),
+                url.getPath(),
+                bamDir.getPath(),
+                totalBytes,
+                maxBytes);
+    }
+
+    /**
+     * Reads consecutive cached blocks starting at offset, stopping at the first uncached block or once end is reached.
+     * The result never extends past end.
+     */
+    @NotNull
+    byte[] readCachedPrefix(final long offset, final long end) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        long blockOffset = offset;
+        while (blockOffset < end) {
+            final File blockFile = blockFile(blockOffset);
+            if (!blockFile.isFile()) {
+                break;
+            }
+            final byte[] block;
+            try {
+                block = Files.readAllBytes(blockFile.toPath());
+            } catch (IOException e) {
+                LOGGER.warn("Could not read cached block {}: {}", blockFile.getPath(), e.getMessage());
+                break;
+            }
+            touch(blockFile);
+            bytes.write(block, 0, (int) Math.min(block.length, end - blockOffset));
+            blockOffset += block.length;
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Splits bytes read from the remote BAM at offset into BGZF blocks and stores every complete block.
+     * Bytes that do not start with a BGZF header, and a truncated last block, are not cached.
+     */
+    void storeBlocks(final long offset, @NotNull final byte[] bytes) {
+        int position = 0;
+        while (position + BlockCompressedStreamConstants.BLOCK_HEADER_LENGTH <= bytes.length && isBlockHeader(bytes, position)) {
+            final int blockSize = ((bytes[position + BLOCK_SIZE_OFFSET] & 0xff) | (bytes[position + BLOCK_SIZE_OFFSET + 1] & 0xff) << 8) + 1;
+            if (position + blockSize > bytes.length) {
+                break;
+            }
+            final File blockFile = blockFile(offset + position);
+            if (!blockFile.isFile() && writeAtomically(blockFile, bytes, position, blockSize)) {
+                touch(blockFile);
+                cachedBytes.addAndGet(blockSize);
+            }
+            position += blockSize;
+        }
+        if (cachedBytes.get() > maxBytes) {
+            evictLeastRecentlyUsed();
+        }
+    }
+
+    private void touch(@NotNull final File blockFile) {
+        final long useTime = lastUseTime.accumulateAndGet(System.currentTimeMillis(), (last, now) -> Math.max(last + 1, now));
+        if (!blockFile.setLastModified(useTime)) {
+            LOGGER.debug("Could not update last use time of cached block {}", blockFile.getPath());
+        }
+    }
+
+    private synchronized void evictLeastRecentlyUsed() {
+        final List<File> blockFiles = cachedBlockFiles();
+        blockFiles.sort(Comparator.comparingLong(File::lastModified));
+        long totalBytes = blockFiles.stream().mapToLong(File::length).sum();
+        int evictedBlocks = 0;
+        for (final File blockFile : blockFiles) {
+            if (totalBytes <= maxBytes) {
+                break;
+            }
+            final long blockBytes = blockFile.length();
+            if (blockFile.delete()) {
+                totalBytes -= blockBytes;
+                evictedBlocks++;
+            }
+        }
+        cachedBytes.set(totalBytes);
+        LOGGER.debug("Evicted {} blocks from block cache, {} bytes in use", evictedBlocks, totalBytes);
+    }
+
+    @NotNull
+    private List<File> cachedBlockFiles() {
+        final List<File> blockFiles = Lists.newArrayList();
+        final File[] bamDirs = cacheDir.listFiles(File::isDirectory);
+        if (bamDirs != null) {
+            for (final File dir : bamDirs) {
+                final File[] blocks = dir.listFiles((parent, name) -> name.endsWith(BLOCK_EXTENSION));
+                if (blocks != null) {
+                    blockFiles.addAll(Arrays.asList(blocks));
+                }
+            }
+        }
+        return blockFiles;
+    }
+
+    private static boolean isBlockHeader(@NotNull final byte[] bytes, final int position) {
+        return bytes[position] == BlockCompressedStreamConstants.GZIP_ID1
+                && bytes[position + 1] == (byte) BlockCompressedStreamConstants.GZIP_ID2
+                && bytes[position + 3] == BlockCompressedStreamConstants.GZIP_FLG
+                && bytes[position + 12] == BlockCompressedStreamConstants.BGZF_ID1
+                && bytes[position + 13] == BlockCompressedStreamConstants.BGZF_ID2;
+    }
+
+    private static boolean writeAtomically(@NotNull final File blockFile, @NotNull final byte[] bytes, final int position,
+            final int length) {
+        File tempFile = null;
+        try {
+            tempFile = File.createTempFile(blockFile.getName(), ".tmp", blockFile.getParentFile());
+            Files.write(tempFile.toPath(), Arrays.copyOfRange(bytes, position, position + length));
+            Files.move(tempFile.toPath(), blockFile.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (IOException e) {
+            LOGGER.warn("Could not cache block {}: {}", blockFile.getPath(), e.getMessage());
+            if (tempFile != null && !tempFile.delete()) {
+                LOGGER.debug("Could not delete temp file {}", tempFile.getPath());
+            }
+            return false;
+        }
+    }
+
+    @NotNull
+    private File blockFile(final long offset) {
+        return new File(bamDir, offset + BLOCK_EXTENSION);
+    }
+}
@@ -0,0 +1,676 @@
+package com.hartwig.hmftools.bamslicer;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import htsjdk.samtools.BAMIndex;
+import htsjdk.samtools.BAMIndexer;
+import htsjdk.samtools.BAMRecordCodec;
+import htsjdk.samtools.Chunk;
+import htsjdk.samtools.QueryInterval;
+import htsjdk.samtools.SAMFileHeader;
+import htsjdk.samtools.SAMRecord;
+import htsjdk.samtools.SamReader;
+import htsjdk.samtools.SamReaderFactory;
+import htsjdk.samtools.ValidationStringency;
+import htsjdk.samtools.seekablestream.SeekableStream;
+import htsjdk.samtools.util.BlockCompressedFilePointerUtil;
+import htsjdk.samtools.util.BlockCompressedInputStream;
+import htsjdk.samtools.util.BlockCompressedOutputStream;
+import htsjdk.samtools.util.BlockCompressedStreamConstants;
+import htsjdk.samtools.util.IOUtil;
+
+/**
+ * Writes a BAM slice by copying compressed BGZF blocks of the input byte-for-byte wherever every record touching the block
+ * belongs in the slice. Only blocks at the edges of the queried regions are inflated record by record and re-encoded.
+ * Records are selected with the same interval logic as the htsjdk index iterator, so the output contains the same records
+ * as decoding and re-writing the slice would.
+ * Blocks are inflated only when their records have to be inspected. Records are sorted by alignment start, so once a record
+ * starts inside an interval, every record up to a later record that also starts inside it matches. Such later records are
+ * looked up at the record boundaries the index holds around the interval end, and at the chunk end, and the blocks in
+ * between are copied without inflating them.
+ * The output is completed and indexed by finish(); closing an unfinished writer removes the partial output.
+ */
+class BgzfPassthroughWriter implements AutoCloseable {
+    private static final Logger LOGGER = LogManager.getLogger(BgzfPassthroughWriter.class);
+
+    private static final int BAM_MAGIC_LENGTH = 4;
+    private static final int BLOCK_SIZE_OFFSET = 16;
+    private static final int FLAG_UNMAPPED = 0x4;
+
+    @NotNull
+    private final File outputFile;
+    @NotNull
+    private final SAMFileHeader header;
+    @NotNull
+    private final SeekableStream input;
+    @NotNull
+    private final OutputStream output;
+    @NotNull
+    private final BlockCompressedOutputStream compressor;
+    @NotNull
+    private final BAMRecordCodec recordCodec;
+
+    private long copiedBlocks = 0;
+    private long reencodedBlocks = 0;
+    private long inflatedBlocks = 0;
+    private boolean closed = false;
+
+    private int runEndIntervalIndex = -1;
+    private long runEndChunkEnd = -1;
+    @Nullable
+    private RecordStart runEnd;
+
+    BgzfPassthroughWriter(@NotNull final File outputFile, @NotNull final SAMFileHeader header, @NotNull final SeekableStream input)
+            throws IOException {
+        this.outputFile = outputFile;
+        this.header = header;
+        this.input = input;
+        this.output = new BufferedOutputStream(new FileOutputStream(outputFile));
+        this.compressor = new BlockCompressedOutputStream(output, null);
+        this.recordCodec = new BAMRecordCodec(header);
+        recordCodec.setOutputStream(compressor, outputFile.getPath());
+        copyHeader();
+    }
+
+    /**
+     * Writes all records in the chunks that overlap any of the (optimized) intervals.
+     */
+    void writeChunks(@NotNull final List<Chunk> chunks, @NotNull final QueryInterval[] intervals, @NotNull final BAMIndex index)
+            throws IOException {
+        final OverlapFilter filter = new OverlapFilter(intervals, index);
+        for (final Chunk chunk : chunks) {
+            if (!writeChunk(chunk, filter)) {
+                break;
+            }
+        }
+        LOGGER.info("Copied {} compressed blocks, re-encoded {} boundary blocks, inflated {} blocks",
+                copiedBlocks,
+                reencodedBlocks,
+                inflatedBlocks);
+    }
+
+    @VisibleForTesting
+    long copiedBlocks() {
+        return copiedBlocks;
+    }
+
+    @VisibleForTesting
+    long inflatedBlocks() {
+        return inflatedBlocks;
+    }
+
+    void addAlignment(@NotNull final SAMRecord record) {
+        recordCodec.encode(record);
+    }
+
+    /**
+     * Completes the output and writes its index. Must be called once all records have been written.
+     */
+    void finish() throws IOException {
+        closed = true;
+        compressor.close();
+        final File indexFile = new File(outputFile.getParent(), IOUtil.basename(outputFile) + BAMIndex.BAMIndexSuffix);
+        LOGGER.info("Indexing {}", outputFile.getPath());
+        try (SamReader reader = SamReaderFactory.makeDefault()
+                .enable(SamReaderFactory.Option.INCLUDE_SOURCE_IN_RECORDS)
+                .validationStringency(ValidationStringency.SILENT)
+                .open(outputFile)) {
+            BAMIndexer.createIndex(reader, indexFile);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            compressor.close();
+        } finally {
+            LOGGER.warn("Slice {} was not finished, removing partial output", outputFile.getPath());
+            if (!outputFile.delete()) {
+                LOGGER.warn("Could not remove partial output {}", outputFile.getPath());
+            }
+        }
+    }
+
+    private void copyHeader() throws IOException {
+        final BlockCompressedInputStream headerStream = new BlockCompressedInputStream(input);
+        headerStream.seek(0);
+        final DataInputStream headerData = new DataInputStream(headerStream);
+        copyBytes(headerData, BAM_MAGIC_LENGTH);
+        copyBytes(headerData, copyInt(headerData));
+        final int referenceCount = copyInt(headerData);
+        for (int i = 0; i < referenceCount; i++) {
+            copyBytes(headerData, copyInt(headerData));
+            copyInt(headerData);
+        }
+    }
+
+    private int copyInt(@NotNull final DataInputStream data) throws IOException {
+        final byte[] bytes = new byte[4];
+        data.readFully(bytes);
+        compressor.write(bytes);
+        return readInt(bytes, 0);
+    }
+
+    private void copyBytes(@NotNull final DataInputStream data, final int length) throws IOException {
+        final byte[] bytes = new byte[length];
+        data.readFully(bytes);
+        compressor.write(bytes);
+    }
+
+    /**
+     * @return false once the filter has passed the last interval and no further records can match.
+     */
+    private boolean writeChunk(@NotNull final Chunk chunk, @NotNull final OverlapFilter filter) throws IOException {
+        long segmentStart = chunk.getChunkStart();
+        while (segmentStart < chunk.getChunkEnd()) {
+            final BlockWindow window = new BlockWindow(BlockCompressedFilePointerUtil.getBlockAddress(segmentStart));
+            final long segmentStartPosition = BlockCompressedFilePointerUtil.getBlockOffset(segmentStart);
+            final Deque<RecordSpan> records = new ArrayDeque<>();
+
+            RecordStart matchingRunEnd = null;
+            long position = segmentStartPosition;
+            while (window.ensure(position) && window.virtualPointer(position) < chunk.getChunkEnd()) {
+                if (!window.ensure(position + 3)) {
+                    throw new IOException("Truncated bam record at " + window.virtualPointer(position));
+                }
+                final long recordEnd = position + 4 + window.intAt(position);
+                if (!window.ensure(recordEnd - 1)) {
+                    throw new IOException("Truncated bam record at " + window.virtualPointer(position));
+                }
+                final FilterResult result = filter.compare(window, position + 4);
+                if (result == FilterResult.STOP) {
+                    writeRemainingBlocks(window, records, position);
+                    return false;
+                }
+                if (result == FilterResult.MATCH) {
+                    matchingRunEnd = findMatchingRunEnd(window, position, chunk.getChunkEnd(), filter);
+                    if (matchingRunEnd != null) {
+                        records.addLast(new RecordSpan(position, Long.MAX_VALUE, true));
+                        writeMatchingRun(window, records, segmentStartPosition, matchingRunEnd);
+                        break;
+                    }
+                }
+                records.addLast(new RecordSpan(position, recordEnd, result == FilterResult.MATCH));
+                position = recordEnd;
+                writeDecidedBlocks(window, records, segmentStartPosition, position);
+            }
+
+            if (matchingRunEnd == null) {
+                writeRemainingBlocks(window, records, position);
+                return true;
+            }
+            segmentStart = matchingRunEnd.pointer;
+        }
+        return true;
+    }
+
+    // Remaining blocks are only partially covered by the records of this chunk.
+    private void writeRemainingBlocks(@NotNull final BlockWindow window, @NotNull final Deque<RecordSpan> records, final long position)
+            throws IOException {
+        while (!window.blocks.isEmpty() && window.blocks.peekFirst().start < position) {
+            writeBlock(window.blocks.removeFirst(), records, false);
+        }
+    }
+
+    /**
+     * Finds the furthest known record boundary up to the chunk end such that every record from the matching record at position
+     * up to it overlaps the current interval, or null if there is none.
+     */
+    @Nullable
+    private RecordStart findMatchingRunEnd(@NotNull final BlockWindow window, final long position, final long chunkEnd,
+            @NotNull final OverlapFilter filter) throws IOException {
+        // A record without reference length starting at the interval start does not overlap it.
+        if (window.intAt(position + 8) + 1 <= filter.interval().start) {
+            return null;
+        }
+
+        // The furthest boundary does not depend on the matching record, so it is looked up once per interval and chunk.
+        if (runEndIntervalIndex != filter.intervalIndex || runEndChunkEnd != chunkEnd) {
+            runEndIntervalIndex = filter.intervalIndex;
+            runEndChunkEnd = chunkEnd;
+            runEnd = furthestRunEnd(chunkEnd, filter);
+        }
+        return runEnd != null && runEnd.pointer > window.virtualPointer(position) ? runEnd : null;
+    }
+
+    @Nullable
+    private RecordStart furthestRunEnd(final long chunkEnd, @NotNull final OverlapFilter filter) throws IOException {
+        final RecordStart chunkEndStart = readRecordStart(chunkEnd);
+        if (startsInInterval(chunkEndStart, filter.interval())) {
+            return chunkEndStart;
+        }
+        final long[] boundaries = filter.boundaries();
+        for (int i = boundaries.length - 1; i >= 0; i--) {
+            if (boundaries[i] < chunkEnd) {
+                final RecordStart recordStart = readRecordStart(boundaries[i]);
+                if (startsInInterval(recordStart, filter.interval())) {
+                    return recordStart;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean startsInInterval(@Nullable final RecordStart recordStart, @NotNull final QueryInterval interval) {
+        final int intervalEnd = interval.end <= 0 ? Integer.MAX_VALUE : interval.end;
+        return recordStart != null && recordStart.referenceIndex == interval.referenceIndex && recordStart.alignmentStart <= intervalEnd;
+    }
+
+    /**
+     * Writes every record from the last span in records up to the run end, which are all known to match. Blocks between the
+     * window and the block of the run end are copied without being inflated.
+     */
+    private void writeMatchingRun(@NotNull final BlockWindow window, @NotNull final Deque<RecordSpan> records,
+            final long segmentStartPosition, @NotNull final RecordStart runEnd) throws IOException {
+        final long endAddress = BlockCompressedFilePointerUtil.getBlockAddress(runEnd.pointer);
+        final int endOffset = BlockCompressedFilePointerUtil.getBlockOffset(runEnd.pointer);
+        Block windowEndBlock = null;
+        while (!window.blocks.isEmpty()) {
+            final Block block = window.blocks.removeFirst();
+            if (block.address == endAddress) {
+                windowEndBlock = block;
+                break;
+            }
+            writeBlock(block, records, block.start >= segmentStartPosition);
+        }
+
+        if (windowEndBlock == null) {
+            long address = window.nextAddress;
+            while (address < endAddress) {
+                final Block block = readBlockAt(address);
+                if (block == null) {
+                    throw new IOException("Truncated bam before block " + endAddress);
+                }
+                compressor.flush();
+                output.write(block.compressed);
+                copiedBlocks++;
+                address += block.compressed.length;
+            }
+            if (endOffset > 0) {
+                compressor.write(runEnd.block.data(), 0, endOffset);
+                reencodedBlocks++;
+            }
+        } else {
+            // The end block can also hold records decided before the matching run started.
+            final byte[] data = runEnd.block.data();
+            for (final RecordSpan record : records) {
+                final long from = Math.max(record.start, windowEndBlock.start) - windowEndBlock.start;
+                final long to = Math.min(record.end - windowEndBlock.start, endOffset);
+                if (record.matches && to > from) {
+                    compressor.write(data, (int) from, (int) (to - from));
+                }
+            }
+            reencodedBlocks++;
+        }
+    }
+
+    // Returns null when there is no record at the pointer, or its fixed fields do not lie within its block.
+    @Nullable
+    private RecordStart readRecordStart(final long pointer) throws IOException {
+        final Block block = readBlockAt(BlockCompressedFilePointerUtil.getBlockAddress(pointer));
+        final int offset = BlockCompressedFilePointerUtil.getBlockOffset(pointer);
+        if (block == null || offset + 12 > block.size) {
+            return null;
+        }
+        final byte[] data = block.data();
+        return new RecordStart(pointer, block, readInt(data, offset + 4), readInt(data, offset + 8) + 1);
+    }
+
+    private void writeDecidedBlocks(@NotNull final BlockWindow window, @NotNull final Deque<RecordSpan> records,
+            final long chunkStartPosition, final long decidedPosition) throws IOException {
+        while (!window.blocks.isEmpty() && window.blocks.peekFirst().end() <= decidedPosition) {
+            final Block block = window.blocks.removeFirst();
+            writeBlock(block, records, block.start >= chunkStartPosition);
+            while (!records.isEmpty() && records.peekFirst().end <= block.end()) {
+                records.removeFirst();
+            }
+        }
+    }
+
+    private void writeBlock(@NotNull final Block block, @NotNull final Deque<RecordSpan> records, final boolean fullyInChunk)
+            throws IOException {
+        if (block.size == 0) {
+            return;
+        }
+
+        boolean allMatch = fullyInChunk;
+        boolean anyMatch = false;
+        for (final RecordSpan record : records) {
+            if (record.start >= block.end()) {
+                break;
+            }
+            if (record.end > block.start) {
+                allMatch &= record.matches;
+                anyMatch |= record.matches;
+            }
+        }
+
+        if (allMatch) {
+            compressor.flush();
+            output.write(block.compressed);
+            copiedBlocks++;
+        } else if (anyMatch) {
+            for (final RecordSpan record : records) {
+                if (record.start >= block.end()) {
+                    break;
+                }
+                if (record.matches && record.end > block.start) {
+                    final long from = Math.max(record.start, block.start);
+                    final long to = Math.min(record.end, block.end());
+                    compressor.write(block.data(), (int) (from - block.start), (int) (to - from));
+                }
+            }
+            reencodedBlocks++;
+        }
+    }
+
+    private static int readInt(@NotNull final byte[] bytes, final int offset) {
+        return (bytes[offset] & 0xff) | (bytes[offset + 1] & 0xff) << 8 | (bytes[offset + 2] & 0xff) << 16 | (bytes[offset + 3] & 0xff) << 24;
+    }
+
+    private static int readUnsignedShort(@NotNull final byte[] bytes, final int offset) {
+        return (bytes[offset] & 0xff) | (bytes[offset + 1] & 0xff) << 8;
+    }
+
+    private static class RecordSpan {
+        private final long start;
+        private final long end;
+        private final boolean matches;
+
+        private RecordSpan(final long start, final long end, final boolean matches) {
+            this.start = start;
+            this.end = end;
+            this.matches = matches;
+        }
+    }
+
+    /**
+     * A compressed input block. The uncompressed size is read from the BGZF footer, the data is only inflated when accessed.
+     */
+    private class Block {
+        private final long address;
+        private final long start;
+        @NotNull
+        private final byte[] compressed;
+        private final int size;
+        @Nullable
+        private byte[] data;
+
+        private Block(final long address, final long start, @NotNull final byte[] compressed) {
+            this.address = address;
+            this.start = start;
+            this.compressed = compressed;
+            this.size = readInt(compressed, compressed.length - 4);
+        }
+
+        private long end() {
+            return start + size;
+        }
+
+        @NotNull
+        private byte[] data() throws IOException {
+            if (data == null) {
+                data = inflate(compressed, size);
+                inflatedBlocks++;
+            }
+            return data;
+        }
+    }
+
+    /**
+     * Reference index and alignment start of the record at a virtual file pointer, with the block holding it.
+     */
+    private static class RecordStart {
+        private final long pointer;
+        @NotNull
+        private final Block block;
+        private final int referenceIndex;
+        private final int alignmentStart;
+
+        private RecordStart(final long pointer, @NotNull final Block block, final int referenceIndex, final int alignmentStart) {
+            this.pointer = pointer;
+            this.block = block;
+            this.referenceIndex = referenceIndex;
+            this.alignmentStart = alignmentStart;
+        }
+    }
+
+    @Nullable
+    private Block readBlockAt(final long address) throws IOException {
+        if (input.length() > 0 && address >= input.length()) {
+            return null;
+        }
+        input.seek(address);
+        final byte[] blockHeader = new byte[BlockCompressedStreamConstants.BLOCK_HEADER_LENGTH];
+        input.readFully(blockHeader);
+        final int blockSize = readUnsignedShort(blockHeader, BLOCK_SIZE_OFFSET) + 1;
+        final byte[] blockRemainder = new byte[blockSize - blockHeader.length];
+        input.readFully(blockRemainder);
+        final byte[] compressed = new byte[blockSize];
+        System.arraycopy(blockHeader, 0, compressed, 0, blockHeader.length);
+        System.arraycopy(blockRemainder, 0, compressed, blockHeader.length, blockRemainder.length);
+        return new Block(address, 0, compressed);
+    }
+
+    /**
+     * Consecutive input blocks addressed by position in the uncompressed stream of the chunk, where position 0 is the start of
+     * the first block of the chunk.
+     */
+    private class BlockWindow {
+        @NotNull
+        private final Deque<Block> blocks = new ArrayDeque<>();
+        private long nextAddress;
+        private long nextStart = 0;
+        @Nullable
+        private Block lastBlock;
+
+        private BlockWindow(final long firstAddress) {
+            this.nextAddress = firstAddress;
+        }
+
+        /**
+         * Reads blocks until position is available, returns false at the end of the input.
+         */
+        private boolean ensure(final long position) throws IOException {
+            while (position >= nextStart) {
+                final Block block = readBlock();
+                if (block == null) {
+                    return false;
+                }
+                blocks.addLast(block);
+                lastBlock = block;
+            }
+            return true;
+        }
+
+        @Nullable
+        private Block readBlock() throws IOException {
+            final Block addressedBlock = readBlockAt(nextAddress);
+            if (addressedBlock == null) {
+                return null;
+            }
+            final Block block = new Block(nextAddress, nextStart, addressedBlock.compressed);
+            nextAddress += block.compressed.length;
+            nextStart += block.size;
+            return block;
+        }
+
+        private long virtualPointer(final long position) {
+            for (final Block block : blocks) {
+                if (position < block.end()) {
+                    return block.address << 16 | (position - block.start);
+                }
+            }
+            return nextAddress << 16;
+        }
+
+        private byte byteAt(final long position) throws IOException {
+            if (lastBlock != null && position >= lastBlock.start) {
+                return lastBlock.data()[(int) (position - lastBlock.start)];
+            }
+            for (final Block block : blocks) {
+                if (position < block.end()) {
+                    return block.data()[(int) (position - block.start)];
+                }
+            }
+            throw new IllegalStateException("Position " + position + " not in block window");
+        }
+
+        private int unsignedByteAt(final long position) throws IOException {
+            return byteAt(position) & 0xff;
+        }
+
+        private int unsignedShortAt(final long position) throws IOException {
+            return unsignedByteAt(position) | unsignedByteAt(position + 1) << 8;
+        }
+
+        private int intAt(final long position) throws IOException {
+            return unsignedShortAt(position) | unsignedShortAt(position + 2) << 16;
+        }
+    }
+
+    @NotNull
+    private static byte[] inflate(@NotNull final byte[] compressed, final int size) throws IOException {
+        final int extraLength = readUnsignedShort(compressed, 10);
+        final int dataStart = 12 + extraLength;
+        final int dataEnd = compressed.length - 8;
+        final byte[] data = new byte[size];
+        if (data.length == 0) {
+            return data;
+        }
+        final Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(compressed, dataStart, dataEnd - dataStart);
+            final int inflated = inflater.inflate(data);
+            if (inflated != data.length) {
+                throw new IOException("Inflated " + inflated + " bytes from BGZF block, expected " + data.length);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt BGZF block", e);
+        } finally {
+            inflater.end();
+        }
+        return data;
+    }
+
+    private enum FilterResult {
+        MATCH,
+        SKIP,
+        STOP
+    }
+
+    /**
+     * Mirrors the multiple interval filter of the htsjdk BAM index iterator, reading only the fixed record fields and cigar.
+     */
+    private static class OverlapFilter {
+        @NotNull
+        private final QueryInterval[] intervals;
+        @NotNull
+        private final BAMIndex index;
+        private int intervalIndex = 0;
+        private int boundariesIntervalIndex = -1;
+        @NotNull
+        private long[] boundaries = new long[0];
+
+        private OverlapFilter(@NotNull final QueryInterval[] intervals, @NotNull final BAMIndex index) {
+            this.intervals = intervals;
+            this.index = index;
+        }
+
+        @NotNull
+        private QueryInterval interval() {
+            return intervals[intervalIndex];
+        }
+
+        /**
+         * Record boundaries around the end of the current interval, taken from the chunks the index returns for it.
+         */
+        @NotNull
+        private long[] boundaries() {
+            if (boundariesIntervalIndex != intervalIndex) {
+                boundariesIntervalIndex = intervalIndex;
+                final QueryInterval interval = interval();
+                if (interval.end <= 0) {
+                    boundaries = new long[0];
+                } else {
+                    boundaries = index.getSpanOverlapping(interval.referenceIndex, interval.end, interval.end)
+                            .getChunks()
+                            .stream()
+                            .flatMapToLong(chunk -> LongStream.of(chunk.getChunkStart(), chunk.getChunkEnd()))
+                            .distinct()
+                            .sorted()
+                            .toArray();
+                }
+            }
+            return boundaries;
+        }
+
+        @NotNull
+        private FilterResult compare(@NotNull final BlockWindow window, final long recordStart) throws IOException {
+            final int referenceIndex = window.intAt(recordStart);
+            final int alignmentStart = window.intAt(recordStart + 4) + 1;
+            final int readNameLength = window.unsignedByteAt(recordStart + 8);
+            final int cigarOperatorCount = window.unsignedShortAt(recordStart + 12);
+            final int flags = window.unsignedShortAt(recordStart + 14);
+
+            final int alignmentEnd;
+            if ((flags & FLAG_UNMAPPED) != 0) {
+                alignmentEnd = alignmentStart;
+            } else {
+                final long cigarStart = recordStart + 32 + readNameLength;
+                int referenceLength = 0;
+                for (int i = 0; i < cigarOperatorCount; i++) {
+                    final int cigarOperator = window.intAt(cigarStart + 4L * i);
+                    switch (cigarOperator & 0xf) {
+                        case 0: // M
+                        case 2: // D
+                        case 3: // N
+                        case 7: // =
+                        case 8: // X
+                            referenceLength += cigarOperator >>> 4;
+                            break;
+                        default:
+                            break;
+                    }
+                }
+                alignmentEnd = alignmentStart + referenceLength - 1;
+            }
+
+            while (intervalIndex < intervals.length) {
+                final QueryInterval interval = intervals[intervalIndex];
+                final int intervalEnd = interval.end <= 0 ? Integer.MAX_VALUE : interval.end;
+                if (interval.referenceIndex < referenceIndex || (interval.referenceIndex == referenceIndex
+                        && intervalEnd < alignmentStart)) {
+                    intervalIndex++;
+                } else if (interval.referenceIndex > referenceIndex || alignmentEnd < interval.start) {
+                    return FilterResult.SKIP;
+                } else {
+                    return FilterResult.MATCH;
+                }
+            }
+            return FilterResult.STOP;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.hartwig.hmftools.bamslicer;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 import java.util.List;
@@ -8,6 +9,7 @@ import java.util.Map;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import htsjdk.samtools.Chunk;
 import htsjdk.samtools.seekablestream.SeekableStream;
@@ -23,7 +25,7 @@ public class CachingSeekableHTTPStream extends SeekableStream {
     private final ChunkHttpBuffer chunkBuffer;
 
     CachingSeekableHTTPStream(@NotNull final OkHttpClient httpClient, @NotNull final URL url, @NotNull final List<Chunk> chunks,
-            final int maxBufferSize) throws IOException {
+            final int maxBufferSize, final long maxRangeGap, @Nullable final File blockCacheDir, final long blockCacheMaxBytes) throws IOException {
         // Try to get the file length
         // Note: This also sets setDefaultUseCaches(false), which is important
         final String contentLengthString = HttpUtils.getHeaderField(url, "Content-Length");
@@ -36,7 +38,8 @@ public class CachingSeekableHTTPStream extends SeekableStream {
             }
         }
         LOGGER.info("Caching max {} bam chunks from {}", maxBufferSize, url);
-        chunkBuffer = new ChunkHttpBuffer(httpClient, url, maxBufferSize, chunks);
+        final BgzfBlockDiskCache blockCache = blockCacheDir != null ? new BgzfBlockDiskCache(blockCacheDir, url, contentLength, blockCacheMaxBytes) : null;
+        chunkBuffer = new ChunkHttpBuffer(httpClient, url, maxBufferSize, chunks, maxRangeGap, blockCache);
         LOGGER.info("Updating position to 0.");
         updatePosition(0);
     }
@@ -59,7 +62,7 @@ public class CachingSeekableHTTPStream extends SeekableStream {
     }
 
     private void updatePosition(final long position) throws IOException {
-        if (currentBytes == null || position >= currentBytesOffset + currentBytes.length) {
+        if (currentBytes == null || position < currentBytesOffset || position >= currentBytesOffset + currentBytes.length) {
             final Map.Entry<Long, byte[]> bytesEntry = chunkBuffer.getEntryAtPosition(position);
             if (bytesEntry.getKey() == currentBytesOffset) {
                 LOGGER.warn("Tried to seek to position {} but failed to update the current chunk.", position);
@@ -2,21 +2,26 @@ package com.hartwig.hmftools.bamslicer;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.ExecutionException;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import htsjdk.samtools.Chunk;
 import htsjdk.samtools.util.BlockCompressedFilePointerUtil;
@@ -39,12 +44,18 @@ class ChunkHttpBuffer {
     private final ConcurrentSkipListMap<Long, Chunk> chunksPerOffset = new ConcurrentSkipListMap<>();
     @NotNull
     private final OkHttpClient httpClient;
+    @Nullable
+    private final BgzfBlockDiskCache blockCache;
 
-    ChunkHttpBuffer(@NotNull final OkHttpClient httpClient, @NotNull final URL url, final int maxSize, @NotNull final List<Chunk> chunks) {
+    ChunkHttpBuffer(@NotNull final OkHttpClient httpClient, @NotNull final URL url, final int maxSize, @NotNull final List<Chunk> chunks,
+            final long maxRangeGap, @Nullable final BgzfBlockDiskCache blockCache) {
         this.httpClient = httpClient;
         this.url = url;
         this.maxSize = maxSize;
-        for (final Chunk chunk : chunks) {
+        this.blockCache = blockCache;
+        final List<Chunk> ranges = coalesceChunks(chunks, maxRangeGap);
+        LOGGER.info("Coalesced {} bam chunks into {} range requests (max gap: {} bytes)", chunks.size(), ranges.size(), maxRangeGap);
+        for (final Chunk chunk : ranges) {
             final long chunkStart = BlockCompressedFilePointerUtil.getBlockAddress(chunk.getChunkStart());
             chunksPerOffset.put(chunkStart, chunk);
         }
@@ -92,15 +103,61 @@ class ChunkHttpBuffer {
         });
     }
 
+    /**
+     * Merges chunks whose block address ranges overlap or are at most maxGap bytes apart, so that they are fetched with a
+     * single range request. The bytes in the gaps are downloaded as well, which is cheaper than an extra request for small gaps.
+     */
+    @VisibleForTesting
+    @NotNull
+    static List<Chunk> coalesceChunks(@NotNull final List<Chunk> chunks, final long maxGap) {
+        final List<Chunk> sortedChunks = Lists.newArrayList(chunks);
+        sortedChunks.sort(Comparator.comparingLong(Chunk::getChunkStart));
+
+        final List<Chunk> ranges = Lists.newArrayList();
+        Chunk current = null;
+        for (final Chunk chunk : sortedChunks) {
+            if (current != null && BlockCompressedFilePointerUtil.getBlockAddress(chunk.getChunkStart())
+                    - BlockCompressedFilePointerUtil.getBlockAddress(current.getChunkEnd()) <= maxGap) {
+                current = new Chunk(current.getChunkStart(), Math.max(current.getChunkEnd(), chunk.getChunkEnd()));
+            } else {
+                if (current != null) {
+                    ranges.add(current);
+                }
+                current = chunk;
+            }
+        }
+        if (current != null) {
+            ranges.add(current);
+        }
+        return ranges;
+    }
+
     @NotNull
     private ListenableFuture<byte[]> getBytesForChunk(@NotNull final Chunk chunk) {
         final long start = BlockCompressedFilePointerUtil.getBlockAddress(chunk.getChunkStart());
         final long end = BlockCompressedFilePointerUtil.getBlockAddress(chunk.getChunkEnd());
-        if (start <= end) {
-            return readUrlBytes(start, end - start);
-        } else {
+        if (start > end) {
             return Futures.immediateFailedFuture(new IllegalArgumentException("start offset is greater than end"));
         }
+        if (blockCache == null) {
+            return readUrlBytes(start, end - start);
+        }
+
+        final byte[] cachedBytes = blockCache.readCachedPrefix(start, end);
+        final long remoteStart = start + cachedBytes.length;
+        if (remoteStart >= end) {
+            return Futures.immediateFuture(cachedBytes);
+        }
+        return Futures.transform(readUrlBytes(remoteStart, end - remoteStart), remoteBytes -> {
+            blockCache.storeBlocks(remoteStart, remoteBytes);
+            if (cachedBytes.length == 0) {
+                return remoteBytes;
+            }
+            final byte[] bytes = new byte[cachedBytes.length + remoteBytes.length];
+            System.arraycopy(cachedBytes, 0, bytes, 0, cachedBytes.length);
+            System.arraycopy(remoteBytes, 0, bytes, cachedBytes.length, remoteBytes.length);
+            return bytes;
+        }, MoreExecutors.directExecutor());
     }
 
     @NotNull
@@ -0,0 +1,104 @@
+package com.hartwig.hmftools.bamslicer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import htsjdk.samtools.util.BlockCompressedStreamConstants;
+
+public class BgzfBlockDiskCacheTest {
+
+    private static final int BLOCK_SIZE = 100;
+
+    @Test
+    public void readsCachedPrefixOfStoredBlocks() throws IOException {
+        final BgzfBlockDiskCache cache = new BgzfBlockDiskCache(createCacheDir(), bamUrl(), 10000, Long.MAX_VALUE);
+        final byte[] blocks = concat(block(1), block(2), block(3));
+        cache.storeBlocks(1000, blocks);
+
+        assertArrayEquals(blocks, cache.readCachedPrefix(1000, 1300));
+        assertArrayEquals(Arrays.copyOf(blocks, 250), cache.readCachedPrefix(1000, 1250));
+        assertArrayEquals(Arrays.copyOfRange(blocks, 100, 300), cache.readCachedPrefix(1100, 1400));
+        assertEquals(0, cache.readCachedPrefix(900, 1300).length);
+    }
+
+    @Test
+    public void doesNotCacheTruncatedBlock() throws IOException {
+        final BgzfBlockDiskCache cache = new BgzfBlockDiskCache(createCacheDir(), bamUrl(), 10000, Long.MAX_VALUE);
+        cache.storeBlocks(0, Arrays.copyOf(concat(block(1), block(2)), 150));
+
+        assertEquals(BLOCK_SIZE, cache.readCachedPrefix(0, 200).length);
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedBlocks() throws IOException {
+        final BgzfBlockDiskCache cache = new BgzfBlockDiskCache(createCacheDir(), bamUrl(), 10000, 2 * BLOCK_SIZE + 50);
+        cache.storeBlocks(0, block(1));
+        cache.storeBlocks(100, block(2));
+        assertEquals(BLOCK_SIZE, cache.readCachedPrefix(0, 100).length);
+
+        cache.storeBlocks(200, block(3));
+
+        assertArrayEquals(block(1), cache.readCachedPrefix(0, 100));
+        assertEquals(0, cache.readCachedPrefix(100, 200).length);
+        assertArrayEquals(block(3), cache.readCachedPrefix(200, 300));
+    }
+
+    @Test
+    public void evictsBlocksOfOtherBamsStoredInEarlierRuns() throws IOException {
+        final File cacheDir = createCacheDir();
+        final BgzfBlockDiskCache otherBamCache = new BgzfBlockDiskCache(cacheDir, bamUrl(), 20000, Long.MAX_VALUE);
+        otherBamCache.storeBlocks(0, concat(block(1), block(2)));
+
+        final BgzfBlockDiskCache cache = new BgzfBlockDiskCache(cacheDir, bamUrl(), 10000, 2 * BLOCK_SIZE);
+        cache.storeBlocks(0, block(3));
+
+        assertEquals(0, otherBamCache.readCachedPrefix(0, 100).length);
+        assertArrayEquals(block(2), otherBamCache.readCachedPrefix(100, 200));
+        assertArrayEquals(block(3), cache.readCachedPrefix(0, 100));
+    }
+
+    @NotNull
+    private static File createCacheDir() throws IOException {
+        final File cacheDir = Files.createTempDirectory("bgzf_block_cache").toFile();
+        cacheDir.deleteOnExit();
+        return cacheDir;
+    }
+
+    @NotNull
+    private static URL bamUrl() throws IOException {
+        return new URL("https://bucket.s3.amazonaws.com/sample.bam?X-Amz-Signature=abc");
+    }
+
+    // Only the header fields checked by the cache are filled in, the remaining bytes identify the block.
+    @NotNull
+    private static byte[] block(final int id) {
+        final byte[] block = new byte[BLOCK_SIZE];
+        Arrays.fill(block, (byte) id);
+        block[0] = BlockCompressedStreamConstants.GZIP_ID1;
+        block[1] = (byte) BlockCompressedStreamConstants.GZIP_ID2;
+        block[3] = BlockCompressedStreamConstants.GZIP_FLG;
+        block[12] = BlockCompressedStreamConstants.BGZF_ID1;
+        block[13] = BlockCompressedStreamConstants.BGZF_ID2;
+        block[16] = (byte) ((BLOCK_SIZE - 1) & 0xff);
+        block[17] = (byte) ((BLOCK_SIZE - 1) >> 8);
+        return block;
+    }
+
+    @NotNull
+    private static byte[] concat(@NotNull final byte[]... blocks) {
+        final byte[] bytes = new byte[blocks.length * BLOCK_SIZE];
+        for (int i = 0; i < blocks.length; i++) {
+            System.arraycopy(blocks[i], 0, bytes, i * BLOCK_SIZE, BLOCK_SIZE);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,177 @@
+package com.hartwig.hmftools.bamslicer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Random;
+
+import com.google.common.collect.Lists;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import htsjdk.samtools.BAMFileReader;
+import htsjdk.samtools.BAMFileSpan;
+import htsjdk.samtools.Chunk;
+import htsjdk.samtools.QueryInterval;
+import htsjdk.samtools.SAMFileHeader;
+import htsjdk.samtools.SAMFileWriter;
+import htsjdk.samtools.SAMFileWriterFactory;
+import htsjdk.samtools.SAMRecord;
+import htsjdk.samtools.SAMRecordIterator;
+import htsjdk.samtools.SAMSequenceDictionary;
+import htsjdk.samtools.SAMSequenceRecord;
+import htsjdk.samtools.SamReader;
+import htsjdk.samtools.SamReaderFactory;
+import htsjdk.samtools.seekablestream.SeekableFileStream;
+import htsjdk.samtools.util.BlockCompressedFilePointerUtil;
+import htsjdk.samtools.util.CloseableIterator;
+
+public class BgzfPassthroughWriterTest {
+
+    private static final int READ_LENGTH = 100;
+    private static final int LAST_READ_START = 200000;
+
+    private static File tempDir;
+    private static File bam;
+
+    @BeforeClass
+    public static void createFixtureBam() throws IOException {
+        tempDir = Files.createTempDirectory("bgzf_passthrough").toFile();
+        tempDir.deleteOnExit();
+        bam = new File(tempDir, "fixture.bam");
+
+        final SAMFileHeader header = new SAMFileHeader();
+        header.setSortOrder(SAMFileHeader.SortOrder.coordinate);
+        header.setSequenceDictionary(new SAMSequenceDictionary(Lists.newArrayList(new SAMSequenceRecord("1", 1000000),
+                new SAMSequenceRecord("2", 1000000))));
+
+        final Random random = new Random(42);
+        try (SAMFileWriter writer = new SAMFileWriterFactory().setCreateIndex(true).makeBAMWriter(header, true, bam)) {
+            int readIndex = 0;
+            for (int start = 1000; start <= LAST_READ_START; start += 10) {
+                final SAMRecord record = new SAMRecord(header);
+                record.setReadName("read" + readIndex++);
+                record.setReferenceIndex(0);
+                record.setAlignmentStart(start);
+                record.setMappingQuality(60);
+                // Every tenth read spans a deletion, so alignment ends are not sorted along with alignment starts.
+                record.setCigarString(readIndex % 10 == 0 ? "40M2000D60M" : READ_LENGTH + "M");
+                record.setReadBases(randomBases(random));
+                record.setBaseQualities(randomQualities(random));
+                writer.addAlignment(record);
+            }
+        }
+    }
+
+    @Test
+    public void sliceStartingAndEndingMidBlockMatchesRecordWriter() throws IOException {
+        final QueryInterval[] intervals = { new QueryInterval(0, 50000, 50500), new QueryInterval(0, 120000, 121000) };
+        final List<Chunk> chunks = fileSpan(intervals).getChunks();
+        assertTrue(chunks.stream().anyMatch(chunk -> BlockCompressedFilePointerUtil.getBlockOffset(chunk.getChunkStart()) > 0));
+        assertTrue(chunks.stream().anyMatch(chunk -> BlockCompressedFilePointerUtil.getBlockOffset(chunk.getChunkEnd()) > 0));
+
+        assertSlicesMatch(intervals, "mid_block");
+    }
+
+    @Test
+    public void largeSliceCopiesInteriorBlocksWithoutInflating() throws IOException {
+        final QueryInterval[] intervals = { new QueryInterval(0, 20000, 180000) };
+        final BgzfPassthroughWriter writer = assertSlicesMatch(intervals, "large");
+
+        assertTrue(writer.copiedBlocks() > 0);
+        assertTrue(writer.inflatedBlocks() < writer.copiedBlocks());
+    }
+
+    @Test
+    public void sliceOfEmptyIntervalHasNoRecords() throws IOException {
+        final QueryInterval[] intervals = { new QueryInterval(1, 1000, 5000) };
+
+        assertSlicesMatch(intervals, "empty");
+        assertEquals(0, readRecords(new File(tempDir, "empty_passthrough.bam")).size());
+    }
+
+    @Test
+    public void closingUnfinishedWriterRemovesPartialOutput() throws IOException {
+        final File output = new File(tempDir, "unfinished.bam");
+        try (SamReader reader = openFixture(); SeekableFileStream input = new SeekableFileStream(bam)) {
+            new BgzfPassthroughWriter(output, reader.getFileHeader(), input).close();
+        }
+
+        assertFalse(output.exists());
+        assertFalse(new File(tempDir, "unfinished.bai").exists());
+    }
+
+    @NotNull
+    private static BgzfPassthroughWriter assertSlicesMatch(@NotNull final QueryInterval[] queryIntervals, @NotNull final String name)
+            throws IOException {
+        final QueryInterval[] intervals = QueryInterval.optimizeIntervals(queryIntervals);
+        final File recordWriterOutput = new File(tempDir, name + "_records.bam");
+        final File passthroughOutput = new File(tempDir, name + "_passthrough.bam");
+
+        try (SamReader reader = openFixture();
+             SAMFileWriter writer = new SAMFileWriterFactory().setCreateIndex(true)
+                     .makeBAMWriter(reader.getFileHeader(), true, recordWriterOutput);
+             CloseableIterator<SAMRecord> iterator = reader.queryOverlapping(intervals)) {
+            while (iterator.hasNext()) {
+                writer.addAlignment(iterator.next());
+            }
+        }
+
+        final BgzfPassthroughWriter passthroughWriter;
+        try (SamReader reader = openFixture(); SeekableFileStream input = new SeekableFileStream(bam)) {
+            passthroughWriter = new BgzfPassthroughWriter(passthroughOutput, reader.getFileHeader(), input);
+            passthroughWriter.writeChunks(fileSpan(intervals).getChunks(), intervals, reader.indexing().getIndex());
+            passthroughWriter.finish();
+        }
+
+        assertEquals(readRecords(recordWriterOutput), readRecords(passthroughOutput));
+        assertTrue(new File(tempDir, name + "_passthrough.bai").isFile());
+        return passthroughWriter;
+    }
+
+    @NotNull
+    private static BAMFileSpan fileSpan(@NotNull final QueryInterval[] intervals) throws IOException {
+        try (SamReader reader = openFixture()) {
+            return BAMFileReader.getFileSpan(QueryInterval.optimizeIntervals(intervals), reader.indexing().getIndex());
+        }
+    }
+
+    @NotNull
+    private static List<String> readRecords(@NotNull final File file) throws IOException {
+        final List<String> records = Lists.newArrayList();
+        try (SamReader reader = SamReaderFactory.makeDefault().open(file); SAMRecordIterator iterator = reader.iterator()) {
+            iterator.forEachRemaining(record -> records.add(record.getSAMString()));
+        }
+        return records;
+    }
+
+    @NotNull
+    private static SamReader openFixture() {
+        return SamReaderFactory.makeDefault().open(bam);
+    }
+
+    @NotNull
+    private static byte[] randomBases(@NotNull final Random random) {
+        final byte[] bases = new byte[READ_LENGTH];
+        for (int i = 0; i < bases.length; i++) {
+            bases[i] = (byte) "ACGT".charAt(random.nextInt(4));
+        }
+        return bases;
+    }
+
+    @NotNull
+    private static byte[] randomQualities(@NotNull final Random random) {
+        final byte[] qualities = new byte[READ_LENGTH];
+        for (int i = 0; i < qualities.length; i++) {
+            qualities[i] = (byte) (2 + random.nextInt(39));
+        }
+        return qualities;
+    }
+}
@@ -0,0 +1,57 @@
+package com.hartwig.hmftools.bamslicer;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import htsjdk.samtools.Chunk;
+
+public class ChunkHttpBufferTest {
+
+    @Test
+    public void coalescesAdjacentChunks() {
+        final List<Chunk> ranges = ChunkHttpBuffer.coalesceChunks(Lists.newArrayList(chunk(0, 0, 100, 0), chunk(100, 0, 200, 0)), 0);
+        assertEquals(Lists.newArrayList(chunk(0, 0, 200, 0)), ranges);
+    }
+
+    @Test
+    public void coalescesOverlappingChunks() {
+        final List<Chunk> ranges = ChunkHttpBuffer.coalesceChunks(Lists.newArrayList(chunk(0, 0, 200, 0), chunk(100, 0, 150, 0)), 0);
+        assertEquals(Lists.newArrayList(chunk(0, 0, 200, 0)), ranges);
+    }
+
+    @Test
+    public void coalescesChunksInSameBlock() {
+        final List<Chunk> ranges =
+                ChunkHttpBuffer.coalesceChunks(Lists.newArrayList(chunk(100, 600, 200, 0), chunk(100, 0, 100, 500)), 0);
+        assertEquals(Lists.newArrayList(chunk(100, 0, 200, 0)), ranges);
+    }
+
+    @Test
+    public void coalescesChunksOnlyWithinMaxGap() {
+        final List<Chunk> chunks = Lists.newArrayList(chunk(150, 0, 200, 0), chunk(0, 0, 100, 0));
+
+        assertEquals(Lists.newArrayList(chunk(0, 0, 100, 0), chunk(150, 0, 200, 0)), ChunkHttpBuffer.coalesceChunks(chunks, 49));
+        assertEquals(Lists.newArrayList(chunk(0, 0, 200, 0)), ChunkHttpBuffer.coalesceChunks(chunks, 50));
+    }
+
+    @Test
+    public void coalescesNoChunks() {
+        assertEquals(0, ChunkHttpBuffer.coalesceChunks(Lists.newArrayList(), 0).size());
+    }
+
+    @NotNull
+    private static Chunk chunk(final long startBlock, final int startOffset, final long endBlock, final int endOffset) {
+        return new Chunk(filePointer(startBlock, startOffset), filePointer(endBlock, endOffset));
+    }
+
+    // Virtual file pointers hold the block address in the upper 48 bits and the offset within the uncompressed block in the lower 16.
+    private static long filePointer(final long blockAddress, final int blockOffset) {
+        return blockAddress << 16 | blockOffset;
+    }
+}
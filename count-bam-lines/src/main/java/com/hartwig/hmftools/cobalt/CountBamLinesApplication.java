@@ -101,6 +101,8 @@ public class CountBamLinesApplication implements AutoCloseable {
         LOGGER.info("Persisting cobalt ratios to {}", outputFilename);
         versionInfo.write(config.outputDirectory());
         CobaltRatioFile.write(outputFilename, ratios);
+        final String binaryFilename = CobaltRatioFile.generateBinaryFilename(config.outputDirectory(), config.tumor());
+        CobaltRatioFile.writeBinary(binaryFilename, outputFilename, ratios);
 
         new RatioSegmentation(executorService, config.outputDirectory()).applySegmentation(config.reference(), config.tumor());
     }
@@ -0,0 +1,64 @@
+package com.hartwig.hmftools.cobalt;
+
+import java.io.IOException;
+
+import com.google.common.collect.Multimap;
+import com.hartwig.hmftools.common.genome.chromosome.Chromosome;
+import com.hartwig.hmftools.common.genome.gc.GCProfile;
+import com.hartwig.hmftools.common.genome.gc.GCProfileFactory;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Converts a text GC profile into the binary columnar format, which COBALT and PURPLE accept as their gc_profile.
+ */
+public class GCProfileConverter {
+
+    private static final Logger LOGGER = LogManager.getLogger(GCProfileConverter.class);
+
+    private static final String GC_PROFILE = CobaltConfig.GC_PROFILE;
+    private static final String OUTPUT_FILE = "output_file";
+
+    // The window size only sets the end of each window, which is not stored in the binary format.
+    private static final int WINDOW_SIZE = 1000;
+
+    public static void main(final String... args) throws IOException {
+        final Options options = createOptions();
+        try {
+            final CommandLine cmd = new DefaultParser().parse(options, args);
+            if (!cmd.hasOption(GC_PROFILE) || !cmd.hasOption(OUTPUT_FILE)) {
+                throw new ParseException("Missing the following parameters: " + GC_PROFILE + ", " + OUTPUT_FILE);
+            }
+
+            convert(cmd.getOptionValue(GC_PROFILE), cmd.getOptionValue(OUTPUT_FILE));
+        } catch (ParseException e) {
+            LOGGER.warn(e);
+            final HelpFormatter formatter = new HelpFormatter();
+            formatter.printHelp("GCProfileConverter", options);
+            System.exit(1);
+        }
+    }
+
+    static void convert(@NotNull final String gcProfile, @NotNull final String outputFile) throws IOException {
+        LOGGER.info("Reading GC Profile from {}", gcProfile);
+        final Multimap<Chromosome, GCProfile> gcProfiles = GCProfileFactory.loadGCContent(WINDOW_SIZE, gcProfile);
+
+        LOGGER.info("Writing {} GC profile windows to {}", gcProfiles.size(), outputFile);
+        GCProfileFactory.writeBinary(outputFile, gcProfiles);
+    }
+
+    @NotNull
+    private static Options createOptions() {
+        final Options options = new Options();
+        options.addOption(GC_PROFILE, true, "Location of text GC Profile");
+        options.addOption(OUTPUT_FILE, true, "Location to write the binary GC Profile");
+        return options;
+    }
+}
@@ -0,0 +1,45 @@
+package com.hartwig.hmftools.cobalt;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Multimap;
+import com.hartwig.hmftools.common.genome.chromosome.Chromosome;
+import com.hartwig.hmftools.common.genome.gc.GCProfile;
+import com.hartwig.hmftools.common.genome.gc.GCProfileFactory;
+
+import org.junit.Test;
+
+public class GCProfileConverterTest {
+
+    @Test
+    public void binaryProfileLoadsSameAsText() throws IOException {
+        final List<String> lines = Lists.newArrayList();
+        for (int i = 0; i < 50; i++) {
+            lines.add("1\t" + (i * 1000) + "\t" + (0.3 + i / 1000d) + "\t1\t" + (i % 7 == 0 ? 0.5 : 1));
+        }
+        for (int i = 0; i < 20; i++) {
+            lines.add("X\t" + (i * 1000) + "\t0.45\t" + (i % 2 == 0 ? 0.9 : 1) + "\t0.95");
+        }
+        lines.add("GL000192.1\t0\t0.4\t1\t1");
+
+        final File text = File.createTempFile("gc_profile", ".cnp");
+        final File binary = File.createTempFile("gc_profile", ".bin");
+        text.deleteOnExit();
+        binary.deleteOnExit();
+        Files.write(text.toPath(), lines);
+
+        GCProfileConverter.convert(text.getPath(), binary.getPath());
+
+        final Multimap<Chromosome, GCProfile> fromText = GCProfileFactory.loadGCContent(1000, text.getPath());
+        final Multimap<Chromosome, GCProfile> fromBinary = GCProfileFactory.loadGCContent(1000, binary.getPath());
+        assertEquals(70, fromBinary.size());
+        assertEquals(Lists.newArrayList(fromText.keySet()), Lists.newArrayList(fromBinary.keySet()));
+        assertEquals(Lists.newArrayList(fromText.values()), Lists.newArrayList(fromBinary.values()));
+    }
+}
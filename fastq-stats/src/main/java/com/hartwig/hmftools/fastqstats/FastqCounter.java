@@ -0,0 +1,72 @@
+package com.hartwig.hmftools.fastqstats;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Counts yield and q30 over consecutive chunks of fastq bytes. State is carried over between chunks so a chunk may end
+ * anywhere within a record.
+ *
+ * Quality lines are scanned 8 bytes at a time: a word that contains only printable ASCII (no line breaks, no high bytes)
+ * adds 8 to the yield and the number of its bytes >= '?' (phred 30) to q30. Any other word falls back to per-byte counting.
+ */
+class FastqCounter {
+    private static final long ALL_HIGH_BITS = 0x8080808080808080L;
+    private static final long ALL_SPACES = 0x2020202020202020L;
+    // Adding 0x41 to a byte sets its high bit exactly when the byte is >= 63 ('?'), without carry for bytes < 0x80.
+    private static final long Q30_OFFSET = 0x4141414141414141L;
+
+    private long yield = 0;
+    private long q30 = 0;
+    private int lineCount = 0;
+    // Last line break character seen, used to treat \r\n as a single line break.
+    private byte lastRead = 0;
+
+    void count(@NotNull final byte[] buf, final int length) {
+        final ByteBuffer words = ByteBuffer.wrap(buf, 0, length).order(ByteOrder.nativeOrder());
+        int i = 0;
+        while (i < length) {
+            if (i + Long.BYTES <= length) {
+                final long word = words.getLong(i);
+                if ((((word - ALL_SPACES) | word) & ALL_HIGH_BITS) == 0) {
+                    if (lineCount == 3) {
+                        yield += Long.BYTES;
+                        q30 += Long.bitCount((word + Q30_OFFSET) & ALL_HIGH_BITS);
+                    }
+                    i += Long.BYTES;
+                    continue;
+                }
+            }
+            countByte(buf[i]);
+            i++;
+        }
+    }
+
+    private void countByte(final byte value) {
+        if (lastRead == '\r' && value == '\n') {
+            lastRead = value;
+            return;
+        }
+        if (value == '\r' || value == '\n') {
+            lastRead = value;
+            lineCount++;
+            if (lineCount == 4) {
+                lineCount = 0;
+            }
+            return;
+        }
+        if (lineCount == 3) {
+            yield++;
+            if (value >= 63) {
+                q30++;
+            }
+        }
+    }
+
+    @NotNull
+    FastqData data() {
+        return new FastqData(yield, q30);
+    }
+}
@@ -23,35 +23,13 @@ class FastqReader {
 
     @NotNull
     FastqData read() throws IOException {
-        long yield = 0;
-        long q30 = 0;
-        int lineCount = 0;
-        byte[] buf = new byte[size];
+        final FastqCounter counter = new FastqCounter();
+        final byte[] buf = new byte[size];
         int read;
-        byte lastRead = 0;
         while ((read = reader.read(buf, 0, size)) != -1) {
-            for (int i = 0; i < read; i++) {
-                if (lastRead == '\r' && buf[i] == '\n') {
-                    lastRead = buf[i];
-                    continue;
-                }
-                if (buf[i] == '\r' || buf[i] == '\n') {
-                    lastRead = buf[i];
-                    lineCount++;
-                    if (lineCount == 4) {
-                        lineCount = 0;
-                    }
-                    continue;
-                }
-                if (lineCount == 3) {
-                    yield++;
-                    if (buf[i] >= 63) {
-                        q30++;
-                    }
-                }
-            }
+            counter.count(buf, read);
         }
-        return new FastqData(yield, q30);
+        return counter.data();
     }
 
     void close() throws IOException {
@@ -5,6 +5,7 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collection;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
@@ -39,21 +40,43 @@ class FastqStats {
     @NotNull
     static FastqTracker processFastqs(@NotNull final Multimap<String, File> fastqsPerSample, final int threadCount)
             throws InterruptedException {
+        return processFastqs(fastqsPerSample, threadCount, 0);
+    }
+
+    /**
+     * Counts yield and q30 of fastqs in the fastqsPerSample multimap, using 1 thread per file for counting plus a shared pool
+     * of inflateThreadCount threads to decompress the gzipped fastqs. BGZF files are inflated block-wise in parallel, other
+     * gzip files are inflated on a separate thread ahead of the counting thread.
+     *
+     * @param fastqsPerSample    multimap of sampleName and fastqs to process
+     * @param threadCount        number of maximum threads
+     * @param inflateThreadCount number of threads used for decompression, 0 to decompress on the counting thread
+     * @return FastqTracker with yield and q30 stats for the fastqs processed.
+     */
+    @NotNull
+    static FastqTracker processFastqs(@NotNull final Multimap<String, File> fastqsPerSample, final int threadCount,
+            final int inflateThreadCount) throws InterruptedException {
         LOGGER.info("Using " + threadCount + " threads. Processing " + fastqsPerSample.size() + " fastQ files.");
         final FastqTrackerWrapper tracker = new FastqTrackerWrapper();
         final ListeningExecutorService threadPool = MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(threadCount));
+        final ExecutorService inflatePool = inflateThreadCount > 0 ? Executors.newFixedThreadPool(inflateThreadCount) : null;
+        final ParallelFastqReader parallelReader =
+                inflatePool != null ? new ParallelFastqReader(inflatePool, inflateThreadCount) : null;
 
         for (final String sampleName : fastqsPerSample.keySet()) {
             final Collection<File> fastqs = fastqsPerSample.get(sampleName);
             for (final File fastq : fastqs) {
                 final String laneName = getLaneName(fastq);
-                final ListenableFuture<FastqData> futureResult = threadPool.submit(() -> processFile(fastq));
+                final ListenableFuture<FastqData> futureResult = threadPool.submit(() -> processFile(fastq, parallelReader));
                 addCallback(futureResult, (data) -> tracker.addDataFromSampleFile(sampleName, laneName, data),
                         (error) -> LOGGER.error("Failed to process file: " + fastq.getName(), error));
             }
         }
         threadPool.shutdown();
         threadPool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        if (inflatePool != null) {
+            inflatePool.shutdown();
+        }
         return tracker.tracker();
     }
 
@@ -121,7 +144,15 @@ class FastqStats {
     }
 
     @NotNull
-    private static FastqData processFile(@NotNull final File file) throws IOException {
+    private static FastqData processFile(@NotNull final File file, @Nullable final ParallelFastqReader parallelReader)
+            throws IOException, InterruptedException {
+        if (parallelReader != null && file.getName().endsWith(".fastq.gz")) {
+            LOGGER.info("Processing file: " + file.getName());
+            final long startTime = System.currentTimeMillis();
+            final FastqData data = parallelReader.read(new File(file.getCanonicalPath()));
+            LOGGER.info("Finished processing file: " + file.getName() + " in " + (System.currentTimeMillis() - startTime) + "ms.");
+            return data;
+        }
         final int size = 1048576;
         final InputStream inputStream;
         if (file.getName().endsWith(".fastq.gz")) {
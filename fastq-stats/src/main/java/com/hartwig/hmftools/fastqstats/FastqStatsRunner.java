@@ -38,6 +38,7 @@ public final class FastqStatsRunner {
     private static final String FASTQ_DIR = "fastq_dir";
     private static final String CSV_OUT_DIR = "out";
     private static final String THREAD_COUNT = "threadCount";
+    private static final String INFLATE_THREAD_COUNT = "inflateThreadCount";
 
     public static void main(String[] args) throws ParseException, IOException, InterruptedException {
         final Options options = createOptions();
@@ -47,13 +48,14 @@ public final class FastqStatsRunner {
         final String csvOutPath = cmd.getOptionValue(CSV_OUT_DIR);
         final String threadCountArg = cmd.getOptionValue(THREAD_COUNT);
         final String fastqDirPath = cmd.getOptionValue(FASTQ_DIR);
+        final int inflateThreadCount = getInflateThreadCount(cmd.getOptionValue(INFLATE_THREAD_COUNT));
 
         if ((filePath == null && flowcellDirPath == null && fastqDirPath == null) || csvOutPath == null) {
             final HelpFormatter formatter = new HelpFormatter();
             formatter.printHelp("Fastq-Stats", options);
         } else if (filePath != null) {
             final Multimap<String, File> fastqsPerSample = getSingleFastq(filePath);
-            final FastqTracker tracker = FastqStats.processFastqs(fastqsPerSample, 1);
+            final FastqTracker tracker = FastqStats.processFastqs(fastqsPerSample, 1, inflateThreadCount);
             writeOutputToCSV("", tracker, csvOutPath);
         } else if (flowcellDirPath != null) {
             final int threadCount = getThreadCount(threadCountArg);
@@ -61,7 +63,7 @@ public final class FastqStatsRunner {
             final File baseCallsDir = getBaseCallsDir(flowcellDirPath);
             final long startTime = System.currentTimeMillis();
             final Multimap<String, File> fastqsPerSample = getFastqsFromBaseCallsDir(baseCallsDir);
-            final FastqTracker tracker = FastqStats.processFastqs(fastqsPerSample, threadCount);
+            final FastqTracker tracker = FastqStats.processFastqs(fastqsPerSample, threadCount, inflateThreadCount);
             LOGGER.info("Total time: " + (System.currentTimeMillis() - startTime) + "ms.");
             writeOutputToCSV(flowcellName, tracker, csvOutPath);
         } else {
@@ -69,7 +71,7 @@ public final class FastqStatsRunner {
             final File fastqDir = getDir(fastqDirPath);
             final long startTime = System.currentTimeMillis();
             final Multimap<String, File> fastqsPerSample = getFastqsFromDir(fastqDir);
-            final FastqTracker tracker = FastqStats.processFastqs(fastqsPerSample, threadCount);
+            final FastqTracker tracker = FastqStats.processFastqs(fastqsPerSample, threadCount, inflateThreadCount);
             LOGGER.info("Total time: " + (System.currentTimeMillis() - startTime) + "ms.");
             writeFastqDirOutputToCSV(tracker, csvOutPath);
         }
@@ -83,6 +85,8 @@ public final class FastqStatsRunner {
         options.addOption(CSV_OUT_DIR, true, "Path towards the csv output file.");
         options.addOption(THREAD_COUNT, true, "Number of max threads to use (only used when running on a directory).");
         options.addOption(FASTQ_DIR, true, "Path towards the fastq dir.");
+        options.addOption(INFLATE_THREAD_COUNT, true,
+                "Number of extra threads used to decompress gzipped fastqs (default 0: decompress on the counting thread).");
         return options;
     }
 
@@ -187,4 +191,22 @@ public final class FastqStatsRunner {
             return availableThreads;
         }
     }
+
+    @VisibleForTesting
+    static int getInflateThreadCount(@Nullable final String inflateThreadCountArg) {
+        if (inflateThreadCountArg == null) {
+            return 0;
+        }
+
+        try {
+            final int numThreads = Integer.parseInt(inflateThreadCountArg);
+            if (numThreads < 0) {
+                throw new NumberFormatException();
+            }
+            return numThreads;
+        } catch (NumberFormatException e) {
+            LOGGER.info("Couldn't parse inflate thread count parameter >= 0; decompressing on the counting thread.");
+            return 0;
+        }
+    }
 }
@@ -0,0 +1,282 @@
+package com.hartwig.hmftools.fastqstats;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Reads a single gzipped fastq using more than one thread.
+ *
+ * BGZF files (as written by bcl2fastq) consist of independent deflate blocks which are inflated in parallel on the shared
+ * inflate pool and counted in file order on the calling thread. Plain gzip files cannot be split, so inflating is moved
+ * to a dedicated thread which hands decompressed chunks to the calling thread for counting.
+ */
+class ParallelFastqReader {
+    private static final Logger LOGGER = LogManager.getLogger(ParallelFastqReader.class);
+
+    private static final int BUFFER_SIZE = 1048576;
+    private static final int BLOCKS_IN_FLIGHT_PER_THREAD = 4;
+    private static final int CHUNKS_IN_FLIGHT = 8;
+    private static final byte[] END_OF_STREAM = new byte[0];
+
+    private static final int GZIP_ID1 = 0x1f;
+    private static final int GZIP_ID2 = 0x8b;
+    private static final int GZIP_CM_DEFLATE = 8;
+    private static final int GZIP_FLG_FEXTRA = 4;
+    private static final int GZIP_HEADER_LENGTH = 12;
+    private static final int GZIP_TRAILER_LENGTH = 8;
+    private static final int BGZF_SI1 = 'B';
+    private static final int BGZF_SI2 = 'C';
+
+    @NotNull
+    private final ExecutorService inflatePool;
+    private final int inflateThreadCount;
+
+    ParallelFastqReader(@NotNull final ExecutorService inflatePool, final int inflateThreadCount) {
+        this.inflatePool = inflatePool;
+        this.inflateThreadCount = inflateThreadCount;
+    }
+
+    @NotNull
+    FastqData read(@NotNull final File file) throws IOException, InterruptedException {
+        if (isBgzf(file)) {
+            LOGGER.info("Inflating BGZF blocks of " + file.getName() + " on " + inflateThreadCount + " threads.");
+            try (InputStream inputStream = new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE)) {
+                return readBgzf(inputStream);
+            }
+        } else {
+            try (InputStream inputStream = new GZIPInputStream(new FileInputStream(file), BUFFER_SIZE)) {
+                return readPipelined(inputStream, file.getName());
+            }
+        }
+    }
+
+    @NotNull
+    private FastqData readBgzf(@NotNull final InputStream inputStream) throws IOException, InterruptedException {
+        final FastqCounter counter = new FastqCounter();
+        final Deque<Future<byte[]>> inflatedBlocks = new ArrayDeque<>();
+        final int maxBlocksInFlight = Math.max(1, inflateThreadCount) * BLOCKS_IN_FLIGHT_PER_THREAD;
+        try {
+            byte[] block;
+            while ((block = readBgzfBlock(inputStream)) != null) {
+                final byte[] compressedBlock = block;
+                inflatedBlocks.addLast(inflatePool.submit(() -> inflateBgzfBlock(compressedBlock)));
+                if (inflatedBlocks.size() >= maxBlocksInFlight) {
+                    countBlock(counter, inflatedBlocks.removeFirst());
+                }
+            }
+            while (!inflatedBlocks.isEmpty()) {
+                countBlock(counter, inflatedBlocks.removeFirst());
+            }
+        } finally {
+            inflatedBlocks.forEach(future -> future.cancel(true));
+        }
+        return counter.data();
+    }
+
+    private static void countBlock(@NotNull final FastqCounter counter, @NotNull final Future<byte[]> inflatedBlock)
+            throws IOException, InterruptedException {
+        try {
+            final byte[] data = inflatedBlock.get();
+            counter.count(data, data.length);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Failed to inflate BGZF block.", e.getCause());
+        }
+    }
+
+    @NotNull
+    private static FastqData readPipelined(@NotNull final InputStream inputStream, @NotNull final String fileName)
+            throws IOException, InterruptedException {
+        final BlockingQueue<byte[]> chunks = new ArrayBlockingQueue<>(CHUNKS_IN_FLIGHT);
+        final IOException[] inflateFailure = new IOException[1];
+        final Thread inflater = new Thread(() -> {
+            try {
+                try {
+                    int read;
+                    do {
+                        final byte[] chunk = new byte[BUFFER_SIZE];
+                        int length = 0;
+                        while (length < chunk.length && (read = inputStream.read(chunk, length, chunk.length - length)) != -1) {
+                            length += read;
+                        }
+                        read = length;
+                        if (length > 0) {
+                            chunks.put(length == chunk.length ? chunk : Arrays.copyOf(chunk, length));
+                        }
+                    } while (read == BUFFER_SIZE);
+                } catch (IOException e) {
+                    inflateFailure[0] = e;
+                }
+                chunks.put(END_OF_STREAM);
+            } catch (InterruptedException e) {
+                // Reader has stopped, nothing left to do.
+            }
+        }, "fastq-inflate-" + fileName);
+        inflater.setDaemon(true);
+        inflater.start();
+
+        final FastqCounter counter = new FastqCounter();
+        try {
+            byte[] chunk;
+            while ((chunk = chunks.take()) != END_OF_STREAM) {
+                counter.count(chunk, chunk.length);
+            }
+        } finally {
+            inflater.interrupt();
+        }
+        inflater.join();
+        if (inflateFailure[0] != null) {
+            throw inflateFailure[0];
+        }
+        return counter.data();
+    }
+
+    /**
+     * Checks whether the first member of a gzip file carries the BGZF 'BC' extra subfield.
+     */
+    static boolean isBgzf(@NotNull final File file) throws IOException {
+        try (InputStream inputStream = new BufferedInputStream(new FileInputStream(file))) {
+            final byte[] header = new byte[GZIP_HEADER_LENGTH];
+            if (!readFully(inputStream, header, 0, header.length)) {
+                return false;
+            }
+            return isGzipHeader(header) && (header[3] & GZIP_FLG_FEXTRA) != 0 && bgzfBlockSize(inputStream, header) > 0;
+        }
+    }
+
+    /**
+     * Reads a complete BGZF block (header, deflated data and trailer), or returns null at end of file.
+     */
+    private static byte[] readBgzfBlock(@NotNull final InputStream inputStream) throws IOException {
+        final byte[] header = new byte[GZIP_HEADER_LENGTH];
+        if (!readFully(inputStream, header, 0, header.length)) {
+            return null;
+        }
+        if (!isGzipHeader(header) || (header[3] & GZIP_FLG_FEXTRA) == 0) {
+            throw new IOException("Invalid BGZF block header.");
+        }
+        final int extraLength = unsignedShort(header, 10);
+        final byte[] extra = new byte[extraLength];
+        if (!readFully(inputStream, extra, 0, extraLength)) {
+            throw new EOFException("Truncated BGZF block header.");
+        }
+        final int blockSize = bgzfBlockSize(extra);
+        if (blockSize <= 0) {
+            throw new IOException("BGZF block without BC subfield.");
+        }
+        final byte[] block = new byte[blockSize];
+        System.arraycopy(header, 0, block, 0, header.length);
+        System.arraycopy(extra, 0, block, header.length, extraLength);
+        final int headerLength = header.length + extraLength;
+        if (!readFully(inputStream, block, headerLength, blockSize - headerLength)) {
+            throw new EOFException("Truncated BGZF block.");
+        }
+        return block;
+    }
+
+    @NotNull
+    private static byte[] inflateBgzfBlock(@NotNull final byte[] block) throws IOException {
+        final int headerLength = GZIP_HEADER_LENGTH + unsignedShort(block, 10);
+        final int trailerStart = block.length - GZIP_TRAILER_LENGTH;
+        final long expectedCrc = unsignedInt(block, trailerStart);
+        final int inflatedSize = (int) unsignedInt(block, trailerStart + 4);
+
+        final byte[] inflated = new byte[inflatedSize];
+        if (inflatedSize == 0) {
+            return inflated;
+        }
+        final Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(block, headerLength, trailerStart - headerLength);
+            int length = 0;
+            while (length < inflatedSize && !inflater.finished()) {
+                final int inflatedBytes = inflater.inflate(inflated, length, inflatedSize - length);
+                if (inflatedBytes == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += inflatedBytes;
+            }
+            if (length != inflatedSize) {
+                throw new IOException("BGZF block inflated to " + length + " bytes, expected " + inflatedSize + ".");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt BGZF block.", e);
+        } finally {
+            inflater.end();
+        }
+
+        final CRC32 crc = new CRC32();
+        crc.update(inflated, 0, inflatedSize);
+        if (crc.getValue() != expectedCrc) {
+            throw new IOException("CRC mismatch in BGZF block.");
+        }
+        return inflated;
+    }
+
+    private static boolean isGzipHeader(@NotNull final byte[] header) {
+        return (header[0] & 0xff) == GZIP_ID1 && (header[1] & 0xff) == GZIP_ID2 && header[2] == GZIP_CM_DEFLATE;
+    }
+
+    private static int bgzfBlockSize(@NotNull final InputStream inputStream, @NotNull final byte[] header) throws IOException {
+        final byte[] extra = new byte[unsignedShort(header, 10)];
+        return readFully(inputStream, extra, 0, extra.length) ? bgzfBlockSize(extra) : -1;
+    }
+
+    private static int bgzfBlockSize(@NotNull final byte[] extra) {
+        int offset = 0;
+        while (offset + 4 <= extra.length) {
+            final int subfieldLength = unsignedShort(extra, offset + 2);
+            if (extra[offset] == BGZF_SI1 && extra[offset + 1] == BGZF_SI2 && subfieldLength == 2 && offset + 6 <= extra.length) {
+                return unsignedShort(extra, offset + 4) + 1;
+            }
+            offset += 4 + subfieldLength;
+        }
+        return -1;
+    }
+
+    private static boolean readFully(@NotNull final InputStream inputStream, @NotNull final byte[] buf, final int offset,
+            final int length) throws IOException {
+        int total = 0;
+        while (total < length) {
+            final int read = inputStream.read(buf, offset + total, length - total);
+            if (read == -1) {
+                if (total == 0) {
+                    return false;
+                }
+                throw new EOFException("Unexpected end of file.");
+            }
+            total += read;
+        }
+        return true;
+    }
+
+    private static int unsignedShort(@NotNull final byte[] buf, final int offset) {
+        return (buf[offset] & 0xff) | (buf[offset + 1] & 0xff) << 8;
+    }
+
+    private static long unsignedInt(@NotNull final byte[] buf, final int offset) {
+        return (unsignedShort(buf, offset) | (long) unsignedShort(buf, offset + 2) << 16);
+    }
+}
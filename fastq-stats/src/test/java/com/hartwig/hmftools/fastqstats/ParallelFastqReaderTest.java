@@ -0,0 +1,177 @@
+package com.hartwig.hmftools.fastqstats;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import com.google.common.collect.Multimap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Ignore;
+import org.junit.Test;
+
+public class ParallelFastqReaderTest {
+
+    private static final Logger LOGGER = LogManager.getLogger(ParallelFastqReaderTest.class);
+    private static final int BGZF_MAX_BLOCK_DATA = 65280;
+
+    @Test
+    public void countsSameAsSequentialReaderForAnyChunkSize() throws IOException {
+        final byte[] fastq = createFastq(500, 151, "\n");
+        final FastqData expected = byteWiseCount(fastq);
+        for (int size : new int[] { 1, 7, 8, 13, 4096 }) {
+            final FastqData data = new FastqReader(new ByteArrayInputStream(fastq), size).read();
+            assertEquals(expected.yield(), data.yield());
+            assertEquals(expected.q30(), data.q30());
+        }
+    }
+
+    @Test
+    public void handlesWindowsLineEndings() throws IOException {
+        final byte[] fastq = createFastq(200, 100, "\r\n");
+        final FastqData data = new FastqReader(new ByteArrayInputStream(fastq), 1000).read();
+        assertEquals(200 * 100, data.yield());
+        assertEquals(byteWiseCount(fastq).q30(), data.q30());
+    }
+
+    @Test
+    public void countsBgzfAndPlainGzipLikeSequentialReader() throws IOException, InterruptedException {
+        final byte[] fastq = createFastq(5000, 151, "\n");
+        final FastqData expected = byteWiseCount(fastq);
+
+        final File gzip = File.createTempFile("fastqstats", ".fastq.gz");
+        final File bgzf = File.createTempFile("fastqstats", ".fastq.gz");
+        gzip.deleteOnExit();
+        bgzf.deleteOnExit();
+        try (OutputStream out = new GZIPOutputStream(new FileOutputStream(gzip))) {
+            out.write(fastq);
+        }
+        writeBgzf(bgzf, fastq);
+
+        assertFalse(ParallelFastqReader.isBgzf(gzip));
+        assertTrue(ParallelFastqReader.isBgzf(bgzf));
+
+        final ExecutorService inflatePool = Executors.newFixedThreadPool(3);
+        try {
+            final ParallelFastqReader reader = new ParallelFastqReader(inflatePool, 3);
+            for (File file : new File[] { gzip, bgzf }) {
+                final FastqData data = reader.read(file);
+                assertEquals(expected.yield(), data.yield());
+                assertEquals(expected.q30(), data.q30());
+            }
+        } finally {
+            inflatePool.shutdown();
+        }
+    }
+
+    @Ignore
+    @Test
+    public void compareSequentialAndParallelOnLocalFastqs() throws IOException, InterruptedException {
+        // This function exists just for fast local benchmarking against real (multi-GB) fastqs.
+        final String fastqDir = System.getProperty("user.home") + "/hmf/fastq";
+        final Multimap<String, File> fastqsPerSample = FastqStats.getFastqsFromDir(FastqStatsRunner.getDir(fastqDir));
+
+        long startTime = System.currentTimeMillis();
+        final FastqTracker sequential = FastqStats.processFastqs(fastqsPerSample, 1);
+        LOGGER.info("Sequential: {}ms", System.currentTimeMillis() - startTime);
+
+        startTime = System.currentTimeMillis();
+        final FastqTracker parallel = FastqStats.processFastqs(fastqsPerSample, 1, Runtime.getRuntime().availableProcessors());
+        LOGGER.info("Parallel inflate: {}ms", System.currentTimeMillis() - startTime);
+
+        assertEquals(sequential.flowcell().yield(), parallel.flowcell().yield());
+        assertEquals(sequential.flowcell().q30(), parallel.flowcell().q30());
+    }
+
+    @NotNull
+    private static byte[] createFastq(final int readCount, final int readLength, @NotNull final String lineEnd) {
+        final Random random = new Random(42);
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < readCount; i++) {
+            builder.append("@READ").append(i).append(lineEnd);
+            for (int j = 0; j < readLength; j++) {
+                builder.append("ACGT".charAt(random.nextInt(4)));
+            }
+            builder.append(lineEnd).append('+').append(lineEnd);
+            for (int j = 0; j < readLength; j++) {
+                // Phred+33 qualities 2..41, straddling the q30 threshold of '?'.
+                builder.append((char) ('#' + random.nextInt(40)));
+            }
+            builder.append(lineEnd);
+        }
+        return builder.toString().getBytes();
+    }
+
+    @NotNull
+    private static FastqData byteWiseCount(@NotNull final byte[] fastq) {
+        long yield = 0;
+        long q30 = 0;
+        int lineCount = 0;
+        for (int i = 0; i < fastq.length; i++) {
+            if (fastq[i] == '\n' && i > 0 && fastq[i - 1] == '\r') {
+                continue;
+            }
+            if (fastq[i] == '\r' || fastq[i] == '\n') {
+                lineCount = (lineCount + 1) % 4;
+            } else if (lineCount == 3) {
+                yield++;
+                if (fastq[i] >= 63) {
+                    q30++;
+                }
+            }
+        }
+        return new FastqData(yield, q30);
+    }
+
+    private static void writeBgzf(@NotNull final File file, @NotNull final byte[] data) throws IOException {
+        try (OutputStream out = new FileOutputStream(file)) {
+            for (int offset = 0; offset < data.length; offset += BGZF_MAX_BLOCK_DATA) {
+                writeBgzfBlock(out, data, offset, Math.min(BGZF_MAX_BLOCK_DATA, data.length - offset));
+            }
+            writeBgzfBlock(out, data, 0, 0);
+        }
+    }
+
+    private static void writeBgzfBlock(@NotNull final OutputStream out, @NotNull final byte[] data, final int offset, final int length)
+            throws IOException {
+        final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        deflater.setInput(data, offset, length);
+        deflater.finish();
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        final byte[] buf = new byte[BGZF_MAX_BLOCK_DATA];
+        while (!deflater.finished()) {
+            compressed.write(buf, 0, deflater.deflate(buf));
+        }
+        deflater.end();
+
+        final CRC32 crc = new CRC32();
+        crc.update(data, offset, length);
+        final int blockSize = 18 + compressed.size() + 8;
+        out.write(new byte[] { 0x1f, (byte) 0x8b, 8, 4, 0, 0, 0, 0, 0, (byte) 0xff, 6, 0, 'B', 'C', 2, 0 });
+        writeLittleEndian(out, blockSize - 1, 2);
+        compressed.writeTo(out);
+        writeLittleEndian(out, crc.getValue(), 4);
+        writeLittleEndian(out, length, 4);
+    }
+
+    private static void writeLittleEndian(@NotNull final OutputStream out, final long value, final int bytes) throws IOException {
+        for (int i = 0; i < bytes; i++) {
+            out.write((int) (value >>> (8 * i)) & 0xff);
+        }
+    }
+}
@@ -2,7 +2,9 @@ package com.hartwig.hmftools.common.actionability.cancertype;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.google.common.annotations.VisibleForTesting;
 
@@ -15,6 +17,8 @@ public class CancerTypeAnalyzer {
     private final CancerTypeToDOIDMapper cancerTypeToDOIDMapper;
     @NotNull
     private final PrimaryTumorToDOIDMapper primaryTumorToDOIDMapper;
+    @NotNull
+    private final Map<String, Map<String, Boolean>> matchCache = new ConcurrentHashMap<>();
 
     @NotNull
     public static CancerTypeAnalyzer createFromKnowledgeBase(@NotNull String knowledgebaseCancerTypesTsv) throws IOException {
@@ -34,6 +38,13 @@ public class CancerTypeAnalyzer {
             return false;
         }
 
+        // Results are memoised since the same knowledgebase cancer types are matched against the same tumor location many times.
+        return matchCache.computeIfAbsent(primaryTumorLocation, location -> new ConcurrentHashMap<>())
+                .computeIfAbsent(knowledgebaseCancerType, cancerType -> computeCancerTypeMatch(cancerType, primaryTumorLocation));
+    }
+
+    @VisibleForTesting
+    boolean computeCancerTypeMatch(@NotNull String knowledgebaseCancerType, @NotNull String primaryTumorLocation) {
         Set<String> doidsForPrimaryTumorLocation = primaryTumorToDOIDMapper.findDoids(primaryTumorLocation);
         if (doidsForPrimaryTumorLocation == null) {
             return false;
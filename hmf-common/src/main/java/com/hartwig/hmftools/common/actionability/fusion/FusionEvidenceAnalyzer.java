@@ -1,8 +1,11 @@
 package com.hartwig.hmftools.common.actionability.fusion;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.hartwig.hmftools.common.actionability.ActionabilitySource;
@@ -24,31 +27,41 @@ public class FusionEvidenceAnalyzer {
     private final List<ActionablePromiscuous> promiscuousFive;
     @NotNull
     private final List<ActionablePromiscuous> promiscuousThree;
+    @NotNull
+    private final ListMultimap<String, ActionableFusion> fusionPairsPerFiveGene = ArrayListMultimap.create();
+    @NotNull
+    private final ListMultimap<String, ActionablePromiscuous> promiscuousFivePerGene = ArrayListMultimap.create();
+    @NotNull
+    private final ListMultimap<String, ActionablePromiscuous> promiscuousThreePerGene = ArrayListMultimap.create();
+    @NotNull
+    private final Set<String> actionableGenes = Sets.newHashSet();
 
     FusionEvidenceAnalyzer(@NotNull final List<ActionableFusion> fusionPairs, @NotNull final List<ActionablePromiscuous> promiscuousFive,
             @NotNull final List<ActionablePromiscuous> promiscuousThree) {
         this.fusionPairs = fusionPairs;
         this.promiscuousFive = promiscuousFive;
         this.promiscuousThree = promiscuousThree;
-    }
 
-    @NotNull
-    public Set<String> actionableGenes() {
-        Set<String> genes = Sets.newHashSet();
-        for (ActionableFusion fusionPairsSet : fusionPairs) {
-            genes.add(fusionPairsSet.fiveGene());
-            genes.add(fusionPairsSet.threeGene());
+        for (ActionableFusion fusionPair : fusionPairs) {
+            fusionPairsPerFiveGene.put(fusionPair.fiveGene(), fusionPair);
+            actionableGenes.add(fusionPair.fiveGene());
+            actionableGenes.add(fusionPair.threeGene());
         }
 
-        for (ActionablePromiscuous promiscuousFiveSet : promiscuousFive) {
-            genes.add(promiscuousFiveSet.gene());
+        for (ActionablePromiscuous promiscuous : promiscuousFive) {
+            promiscuousFivePerGene.put(promiscuous.gene(), promiscuous);
+            actionableGenes.add(promiscuous.gene());
         }
 
-        for (ActionablePromiscuous promiscuousThreeSet : promiscuousThree) {
-            genes.add(promiscuousThreeSet.gene());
+        for (ActionablePromiscuous promiscuous : promiscuousThree) {
+            promiscuousThreePerGene.put(promiscuous.gene(), promiscuous);
+            actionableGenes.add(promiscuous.gene());
         }
+    }
 
-        return genes;
+    @NotNull
+    public Set<String> actionableGenes() {
+        return Collections.unmodifiableSet(actionableGenes);
     }
 
     @NotNull
@@ -56,8 +69,8 @@ public class FusionEvidenceAnalyzer {
             @NotNull CancerTypeAnalyzer cancerTypeAnalyzer) {
         List<EvidenceItem> evidenceItems = Lists.newArrayList();
 
-        for (ActionableFusion actionableFusion : fusionPairs) {
-            if (actionableFusion.fiveGene().equals(geneFusion.geneStart()) && actionableFusion.threeGene().equals(geneFusion.geneEnd())) {
+        for (ActionableFusion actionableFusion : fusionPairsPerFiveGene.get(geneFusion.geneStart())) {
+            if (actionableFusion.threeGene().equals(geneFusion.geneEnd())) {
                 ImmutableEvidenceItem.Builder evidenceBuilder = fromActionableFusionPairs(actionableFusion);
                 evidenceBuilder.event(actionableFusion.fiveGene() + " - " + actionableFusion.threeGene() + " fusion");
                 evidenceBuilder.isOnLabel(cancerTypeAnalyzer.isCancerTypeMatch(actionableFusion.cancerType(), primaryTumorLocation));
@@ -65,26 +78,20 @@ public class FusionEvidenceAnalyzer {
             }
         }
 
-        for (ActionablePromiscuous actionablePromiscuousFive : promiscuousFive) {
-            if (actionablePromiscuousFive.gene().equals(geneFusion.geneStart())) {
-                ImmutableEvidenceItem.Builder evidenceBuilder = fromActionableFusionsPromiscuous(actionablePromiscuousFive);
-                evidenceBuilder.event(actionablePromiscuousFive.gene() + " - " + geneFusion.geneEnd() + " fusion");
-                evidenceBuilder.isOnLabel(cancerTypeAnalyzer.isCancerTypeMatch(actionablePromiscuousFive.cancerType(),
-                        primaryTumorLocation));
+        for (ActionablePromiscuous actionablePromiscuousFive : promiscuousFivePerGene.get(geneFusion.geneStart())) {
+            ImmutableEvidenceItem.Builder evidenceBuilder = fromActionableFusionsPromiscuous(actionablePromiscuousFive);
+            evidenceBuilder.event(actionablePromiscuousFive.gene() + " - " + geneFusion.geneEnd() + " fusion");
+            evidenceBuilder.isOnLabel(cancerTypeAnalyzer.isCancerTypeMatch(actionablePromiscuousFive.cancerType(), primaryTumorLocation));
 
-                evidenceItems.add(evidenceBuilder.build());
-            }
+            evidenceItems.add(evidenceBuilder.build());
         }
 
-        for (ActionablePromiscuous actionablePromiscuousThree : promiscuousThree) {
-            if (actionablePromiscuousThree.gene().equals(geneFusion.geneEnd())) {
-                ImmutableEvidenceItem.Builder evidenceBuilder = fromActionableFusionsPromiscuous(actionablePromiscuousThree);
-                evidenceBuilder.event(geneFusion.geneStart() + " - " + actionablePromiscuousThree.gene() + " fusion");
-                evidenceBuilder.isOnLabel(cancerTypeAnalyzer.isCancerTypeMatch(actionablePromiscuousThree.cancerType(),
-                        primaryTumorLocation));
+        for (ActionablePromiscuous actionablePromiscuousThree : promiscuousThreePerGene.get(geneFusion.geneEnd())) {
+            ImmutableEvidenceItem.Builder evidenceBuilder = fromActionableFusionsPromiscuous(actionablePromiscuousThree);
+            evidenceBuilder.event(geneFusion.geneStart() + " - " + actionablePromiscuousThree.gene() + " fusion");
+            evidenceBuilder.isOnLabel(cancerTypeAnalyzer.isCancerTypeMatch(actionablePromiscuousThree.cancerType(), primaryTumorLocation));
 
-                evidenceItems.add(evidenceBuilder.build());
-            }
+            evidenceItems.add(evidenceBuilder.build());
         }
 
         return evidenceItems;
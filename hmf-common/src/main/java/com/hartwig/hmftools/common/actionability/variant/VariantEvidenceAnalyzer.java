@@ -1,8 +1,12 @@
 package com.hartwig.hmftools.common.actionability.variant;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.hartwig.hmftools.common.actionability.ActionabilitySource;
@@ -26,19 +30,35 @@ public class VariantEvidenceAnalyzer {
     private final List<ActionableVariant> actionableVariants;
     @NotNull
     private final List<ActionableRange> actionableRanges;
+    @NotNull
+    private final ListMultimap<VariantKey, ActionableVariant> actionableVariantsPerKey = ArrayListMultimap.create();
+    @NotNull
+    private final ListMultimap<String, ActionableRange> actionableRangesPerGene = ArrayListMultimap.create();
+    @NotNull
+    private final Set<String> actionableGenes = Sets.newHashSet();
 
     VariantEvidenceAnalyzer(@NotNull final List<ActionableVariant> actionableVariants,
             @NotNull List<ActionableRange> actionableRanges) {
         this.actionableVariants = actionableVariants;
         this.actionableRanges = actionableRanges;
+
+        for (ActionableVariant actionableVariant : actionableVariants) {
+            actionableVariantsPerKey.put(new VariantKey(actionableVariant.chromosome(),
+                    actionableVariant.position(),
+                    actionableVariant.ref(),
+                    actionableVariant.alt()), actionableVariant);
+            actionableGenes.add(actionableVariant.gene());
+        }
+
+        for (ActionableRange actionableRange : actionableRanges) {
+            actionableRangesPerGene.put(actionableRange.gene(), actionableRange);
+            actionableGenes.add(actionableRange.gene());
+        }
     }
 
     @NotNull
     public Set<String> actionableGenes() {
-        Set<String> genes = Sets.newHashSet();
-        actionableRanges.forEach(x -> genes.add(x.gene()));
-        actionableVariants.forEach(x -> genes.add(x.gene()));
-        return genes;
+        return Collections.unmodifiableSet(actionableGenes);
     }
 
     @NotNull
@@ -55,10 +75,9 @@ public class VariantEvidenceAnalyzer {
     public List<EvidenceItem> evidenceForVariant(@NotNull Variant variant, @Nullable String primaryTumorLocation,
             @NotNull CancerTypeAnalyzer cancerTypeAnalyzer) {
         List<EvidenceItem> evidenceItems = Lists.newArrayList();
-        for (ActionableVariant actionableVariant : actionableVariants) {
-            if (variant.gene().equals(actionableVariant.gene()) && variant.chromosome().equals(actionableVariant.chromosome())
-                    && variant.position() == actionableVariant.position() && variant.ref().equals(actionableVariant.ref()) && variant.alt()
-                    .equals(actionableVariant.alt())) {
+        VariantKey key = new VariantKey(variant.chromosome(), variant.position(), variant.ref(), variant.alt());
+        for (ActionableVariant actionableVariant : actionableVariantsPerKey.get(key)) {
+            if (variant.gene().equals(actionableVariant.gene())) {
                 ImmutableEvidenceItem.Builder evidenceBuilder = fromActionableVariant(actionableVariant);
                 evidenceBuilder.event(eventString(variant));
                 evidenceBuilder.isOnLabel(cancerTypeAnalyzer.isCancerTypeMatch(actionableVariant.cancerType(), primaryTumorLocation));
@@ -67,9 +86,12 @@ public class VariantEvidenceAnalyzer {
             }
         }
 
-        for (ActionableRange actionableRange : actionableRanges) {
-            if (CODING_EFFECTS.contains(variant.canonicalCodingEffect()) && variant.gene().equals(actionableRange.gene())
-                    && variant.chromosome().equals(actionableRange.chromosome()) && variant.position() >= actionableRange.start()
+        if (!CODING_EFFECTS.contains(variant.canonicalCodingEffect())) {
+            return evidenceItems;
+        }
+
+        for (ActionableRange actionableRange : actionableRangesPerGene.get(variant.gene())) {
+            if (variant.chromosome().equals(actionableRange.chromosome()) && variant.position() >= actionableRange.start()
                     && variant.position() <= actionableRange.end()) {
                 ImmutableEvidenceItem.Builder evidenceBuilder = fromActionableRange(actionableRange);
                 evidenceBuilder.event(eventString(variant));
@@ -114,4 +136,39 @@ public class VariantEvidenceAnalyzer {
                 .cancerType(actionableRange.cancerType())
                 .scope(EvidenceScope.GENE_LEVEL);
     }
+
+    private static final class VariantKey {
+
+        @NotNull
+        private final String chromosome;
+        private final long position;
+        @NotNull
+        private final String ref;
+        @NotNull
+        private final String alt;
+
+        private VariantKey(@NotNull final String chromosome, final long position, @NotNull final String ref, @NotNull final String alt) {
+            this.chromosome = chromosome;
+            this.position = position;
+            this.ref = ref;
+            this.alt = alt;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final VariantKey that = (VariantKey) o;
+            return position == that.position && chromosome.equals(that.chromosome) && ref.equals(that.ref) && alt.equals(that.alt);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(chromosome, position, ref, alt);
+        }
+    }
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package com.hartwig.hmftools.common.cobalt;
 
 import java.io.File;
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.nio.file.Files;
 import java.text.DecimalFormat;
 import java.util.Collections;
@@ -14,6 +16,9 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
 import com.hartwig.hmftools.common.genome.chromosome.Chromosome;
 import com.hartwig.hmftools.common.genome.chromosome.HumanChromosome;
+import com.hartwig.hmftools.common.utils.io.columnar.ColumnarFileReader;
+import com.hartwig.hmftools.common.utils.io.columnar.ColumnarFileWriter;
+import com.hartwig.hmftools.common.utils.io.exception.MalformedFileException;
 
 import org.jetbrains.annotations.NotNull;
 
@@ -24,6 +29,12 @@ public final class CobaltRatioFile {
     private static final String DELIMITER = "\t";
     private static final String EXTENSION = ".cobalt.ratio.tsv";
     private static final String EXTENSION_OLD = ".cobalt";
+    private static final String EXTENSION_BINARY = ".cobalt.ratio.bin";
+
+    // "HCRB"
+    private static final int BINARY_MAGIC = 0x48435242;
+    private static final int BINARY_VERSION = 2;
+    private static final int RATIO_SCALE = 4;
 
     private CobaltRatioFile() {
     }
@@ -39,11 +50,120 @@ public final class CobaltRatioFile {
         return (new File(filename).exists()) ? filename : basePath + File.separator + sample + EXTENSION_OLD;
     }
 
+    @NotNull
+    public static String generateBinaryFilename(@NotNull final String basePath, @NotNull final String sample) {
+        return basePath + File.separator + sample + EXTENSION_BINARY;
+    }
+
+    /**
+     * Reads either the text ratio file or its binary columnar export, see writeBinary.
+     */
     @NotNull
     public static ListMultimap<Chromosome, CobaltRatio> read(@NotNull final String filename) throws IOException {
+        if (ColumnarFileReader.hasMagic(filename, BINARY_MAGIC)) {
+            return readBinary(filename);
+        }
         return fromLines(Files.readAllLines(new File(filename).toPath()));
     }
 
+    /**
+     * Whether the binary file exists and was exported from the text file as it is now. A binary file left behind by an earlier run is
+     * thereby never read in place of a text file that has since been regenerated.
+     */
+    public static boolean isBinaryExportOf(@NotNull final String binaryFilename, @NotNull final String textFilename) throws IOException {
+        if (!ColumnarFileReader.hasMagic(binaryFilename, BINARY_MAGIC)) {
+            return false;
+        }
+
+        try {
+            return new ColumnarFileReader(binaryFilename, BINARY_MAGIC, BINARY_VERSION).isExportOf(new File(textFilename));
+        } catch (MalformedFileException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Exports the ratios written to the text file. Ratios are rounded as in the text file so that reading either file gives the same
+     * values, and the size and modification time of the text file are recorded for isBinaryExportOf.
+     */
+    public static void writeBinary(@NotNull final String fileName, @NotNull final String textFilename,
+            @NotNull Multimap<Chromosome, CobaltRatio> ratios) throws IOException {
+        final ListMultimap<String, CobaltRatio> sorted = ArrayListMultimap.create();
+        ratios.values().stream().sorted().forEach(ratio -> sorted.put(ratio.chromosome(), ratio));
+
+        try (ColumnarFileWriter writer = new ColumnarFileWriter(fileName,
+                BINARY_MAGIC,
+                BINARY_VERSION,
+                new File(textFilename),
+                sorted.keySet().size())) {
+            for (String chromosome : sorted.keySet()) {
+                final List<CobaltRatio> chromosomeRatios = sorted.get(chromosome);
+                final int rows = chromosomeRatios.size();
+                final int[] positions = new int[rows];
+                final int[] referenceReadCounts = new int[rows];
+                final int[] tumorReadCounts = new int[rows];
+                final double[] referenceGCRatios = new double[rows];
+                final double[] tumorGCRatios = new double[rows];
+                final double[] referenceGCDiploidRatios = new double[rows];
+                for (int i = 0; i < rows; i++) {
+                    final CobaltRatio ratio = chromosomeRatios.get(i);
+                    positions[i] = (int) ratio.position();
+                    referenceReadCounts[i] = ratio.referenceReadCount();
+                    tumorReadCounts[i] = ratio.tumorReadCount();
+                    referenceGCRatios[i] = rounded(ratio.referenceGCRatio());
+                    tumorGCRatios[i] = rounded(ratio.tumorGCRatio());
+                    referenceGCDiploidRatios[i] = rounded(ratio.referenceGCDiploidRatio());
+                }
+
+                writer.startChromosome(chromosome, rows);
+                writer.writeInts(positions);
+                writer.writeInts(referenceReadCounts);
+                writer.writeInts(tumorReadCounts);
+                writer.writeDoubles(referenceGCRatios);
+                writer.writeDoubles(tumorGCRatios);
+                writer.writeDoubles(referenceGCDiploidRatios);
+            }
+        }
+    }
+
+    @NotNull
+    private static ListMultimap<Chromosome, CobaltRatio> readBinary(@NotNull final String filename) throws IOException {
+        final ListMultimap<Chromosome, CobaltRatio> result = ArrayListMultimap.create();
+        final ColumnarFileReader reader = new ColumnarFileReader(filename, BINARY_MAGIC, BINARY_VERSION);
+        while (reader.hasNextChromosome()) {
+            final String chromosome = reader.nextChromosome();
+            final int[] positions = reader.readInts();
+            final int[] referenceReadCounts = reader.readInts();
+            final int[] tumorReadCounts = reader.readInts();
+            final double[] referenceGCRatios = reader.readDoubles();
+            final double[] tumorGCRatios = reader.readDoubles();
+            final double[] referenceGCDiploidRatios = reader.readDoubles();
+
+            final Chromosome key = HumanChromosome.fromString(chromosome);
+            for (int i = 0; i < positions.length; i++) {
+                result.put(key,
+                        ImmutableCobaltRatio.builder()
+                                .chromosome(chromosome)
+                                .position(positions[i])
+                                .referenceReadCount(referenceReadCounts[i])
+                                .tumorReadCount(tumorReadCounts[i])
+                                .referenceGCRatio(referenceGCRatios[i])
+                                .tumorGCRatio(tumorGCRatios[i])
+                                .referenceGCDiploidRatio(referenceGCDiploidRatios[i])
+                                .build());
+            }
+        }
+        return result;
+    }
+
+    private static double rounded(double value) {
+        // Rounds half even like FORMAT, without its locale dependent text. The sign of values rounded to zero is kept, as in "-0".
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return value;
+        }
+        return Math.copySign(new BigDecimal(value).setScale(RATIO_SCALE, RoundingMode.HALF_EVEN).doubleValue(), value);
+    }
+
     public static void write(@NotNull final String fileName, @NotNull Multimap<Chromosome, CobaltRatio> ratios) throws IOException {
         List<CobaltRatio> sorted = Lists.newArrayList(ratios.values());
         Collections.sort(sorted);
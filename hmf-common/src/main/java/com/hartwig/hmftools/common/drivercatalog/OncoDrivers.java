@@ -37,6 +37,15 @@ public final class OncoDrivers {
         return drivers(DndsDriverGeneLikelihoodSupplier.oncoLikelihood(), variants, geneCopyNumbers, variantTypeCounts);
     }
 
+    /**
+     * For callers that only keep the variants of the driver genes, with the variant type counts taken over all variants of the sample.
+     */
+    @NotNull
+    public static List<DriverCatalog> drivers(@NotNull final List<SomaticVariant> driverGeneVariants,
+            @NotNull final List<GeneCopyNumber> geneCopyNumbers, @NotNull final Map<VariantType, Long> variantTypeCounts) {
+        return drivers(DndsDriverGeneLikelihoodSupplier.oncoLikelihood(), driverGeneVariants, geneCopyNumbers, variantTypeCounts);
+    }
+
     @NotNull
     static List<DriverCatalog> drivers(@NotNull final Map<String, DndsDriverImpactLikelihood> likelihoodsByGene,
             @NotNull final List<SomaticVariant> variants, @NotNull final List<GeneCopyNumber> geneCopyNumberList,
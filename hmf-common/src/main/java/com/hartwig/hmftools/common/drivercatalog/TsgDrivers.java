@@ -46,6 +46,22 @@ public final class TsgDrivers {
                 variantTypeCountsNonBiallelic);
     }
 
+    /**
+     * For callers that only keep the variants of the driver genes, with the variant type counts taken over all variants of the sample.
+     */
+    @NotNull
+    public static List<DriverCatalog> drivers(@NotNull final List<SomaticVariant> driverGeneVariants,
+            @NotNull final List<GeneCopyNumber> geneCopyNumbers, @NotNull final Map<VariantType, Long> variantTypeCounts,
+            @NotNull final Map<VariantType, Long> variantTypeCountsBiallelic,
+            @NotNull final Map<VariantType, Long> variantTypeCountsNonBiallelic) {
+        return drivers(DndsDriverGeneLikelihoodSupplier.tsgLikelihood(),
+                driverGeneVariants,
+                geneCopyNumbers,
+                variantTypeCounts,
+                variantTypeCountsBiallelic,
+                variantTypeCountsNonBiallelic);
+    }
+
     @NotNull
     static List<DriverCatalog> drivers(@NotNull final Map<String, DndsDriverGeneLikelihood> likelihoodsByGene,
             @NotNull final List<SomaticVariant> variants, @NotNull final List<GeneCopyNumber> geneCopyNumberList,
@@ -1,12 +1,10 @@
 package com.hartwig.hmftools.common.ecrf;
 
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.util.List;
+import java.util.Map;
 
-import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.XMLStreamReader;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -15,9 +13,7 @@ import com.hartwig.hmftools.common.ecrf.datamodel.EcrfPatient;
 import com.hartwig.hmftools.common.ecrf.formstatus.FormStatusModel;
 import com.hartwig.hmftools.common.ecrf.formstatus.ImmutableFormStatusModel;
 import com.hartwig.hmftools.common.ecrf.reader.XMLEcrfDatamodel;
-import com.hartwig.hmftools.common.ecrf.reader.XMLEcrfDatamodelReader;
 import com.hartwig.hmftools.common.ecrf.reader.XMLEcrfDatamodelToEcrfFields;
-import com.hartwig.hmftools.common.ecrf.reader.XMLPatientReader;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -33,7 +29,9 @@ public class EcrfModel {
     @NotNull
     private final Iterable<EcrfDatamodelField> fields;
     @NotNull
-    private final Iterable<EcrfPatient> patients;
+    private final List<EcrfPatient> patients;
+    @NotNull
+    private final Map<String, EcrfPatient> patientsById;
 
     @NotNull
     public static EcrfModel loadFromXMLNoFormStates(@NotNull final String ecrfXmlPath) throws XMLStreamException, FileNotFoundException {
@@ -43,18 +41,23 @@ public class EcrfModel {
     @NotNull
     public static EcrfModel loadFromXMLWithFormStates(@NotNull final String ecrfXmlPath, @NotNull final FormStatusModel formStatusModel)
             throws XMLStreamException, FileNotFoundException {
-        final XMLInputFactory factory = XMLInputFactory.newInstance();
-        final XMLStreamReader reader = factory.createXMLStreamReader(new FileInputStream(ecrfXmlPath));
-        final XMLEcrfDatamodel datamodel = XMLEcrfDatamodelReader.readXMLDatamodel(reader);
-        final Iterable<EcrfPatient> patients = XMLPatientReader.readPatients(reader, datamodel, formStatusModel);
-
-        return new EcrfModel(datamodel, patients);
+        try (EcrfPatientStream stream = EcrfPatientStream.openWithFormStates(ecrfXmlPath, formStatusModel)) {
+            final List<EcrfPatient> patients = Lists.newArrayList();
+            stream.forEachPatient(patients::add);
+            return new EcrfModel(stream.datamodel(), patients);
+        }
     }
 
-    private EcrfModel(@NotNull final XMLEcrfDatamodel datamodel, @NotNull final Iterable<EcrfPatient> patients) {
+    private EcrfModel(@NotNull final XMLEcrfDatamodel datamodel, @NotNull final List<EcrfPatient> patients) {
         this.datamodel = datamodel;
         this.patients = patients;
         this.fields = XMLEcrfDatamodelToEcrfFields.convert(datamodel);
+
+        // A patient id that occurs more than once resolves to its first occurrence, as the former scan over all patients did.
+        this.patientsById = Maps.newHashMapWithExpectedSize(patients.size());
+        for (final EcrfPatient patient : patients) {
+            patientsById.putIfAbsent(patient.patientId(), patient);
+        }
     }
 
     @NotNull
@@ -63,7 +66,7 @@ public class EcrfModel {
     }
 
     public int patientCount() {
-        return Lists.newArrayList(patients).size();
+        return patients.size();
     }
 
     @NotNull
@@ -82,13 +85,8 @@ public class EcrfModel {
     }
 
     @Nullable
-    private EcrfPatient findPatientById(@NotNull final String patientId) {
-        for (final EcrfPatient patient : patients) {
-            if (patient.patientId().equals(patientId)) {
-                return patient;
-            }
-        }
-        return null;
+    public EcrfPatient findPatientById(@NotNull final String patientId) {
+        return patientsById.get(patientId);
     }
 
     @NotNull
@@ -0,0 +1,106 @@
+package com.hartwig.hmftools.common.ecrf;
+
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.google.common.collect.Maps;
+import com.hartwig.hmftools.common.ecrf.datamodel.EcrfDatamodelField;
+import com.hartwig.hmftools.common.ecrf.datamodel.EcrfPatient;
+import com.hartwig.hmftools.common.ecrf.formstatus.FormStatusModel;
+import com.hartwig.hmftools.common.ecrf.formstatus.ImmutableFormStatusModel;
+import com.hartwig.hmftools.common.ecrf.reader.XMLEcrfDatamodel;
+import com.hartwig.hmftools.common.ecrf.reader.XMLEcrfDatamodelReader;
+import com.hartwig.hmftools.common.ecrf.reader.XMLEcrfDatamodelToEcrfFields;
+import com.hartwig.hmftools.common.ecrf.reader.XMLPatientReader;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Reads an eCRF export one patient at a time. The datamodel is read when the stream is opened, so it is available
+ * before the first patient is emitted. Only the patient currently being assembled is held in memory.
+ */
+public class EcrfPatientStream implements AutoCloseable {
+
+    @NotNull
+    private final InputStream inputStream;
+    @NotNull
+    private final XMLStreamReader reader;
+    @NotNull
+    private final XMLEcrfDatamodel datamodel;
+    @NotNull
+    private final FormStatusModel formStatusModel;
+
+    @NotNull
+    public static EcrfPatientStream openNoFormStates(@NotNull final String ecrfXmlPath) throws XMLStreamException, FileNotFoundException {
+        return openWithFormStates(ecrfXmlPath, new ImmutableFormStatusModel(Maps.newHashMap()));
+    }
+
+    @NotNull
+    public static EcrfPatientStream openWithFormStates(@NotNull final String ecrfXmlPath, @NotNull final FormStatusModel formStatusModel)
+            throws XMLStreamException, FileNotFoundException {
+        final InputStream inputStream = new FileInputStream(ecrfXmlPath);
+        try {
+            final XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(inputStream);
+            final XMLEcrfDatamodel datamodel = XMLEcrfDatamodelReader.readXMLDatamodel(reader);
+            return new EcrfPatientStream(inputStream, reader, datamodel, formStatusModel);
+        } catch (XMLStreamException | RuntimeException exception) {
+            closeQuietly(inputStream);
+            throw exception;
+        }
+    }
+
+    // Reads the identifier of every patient in the export, in the order they occur, without assembling any of the patients.
+    @NotNull
+    public static List<String> readPatientIds(@NotNull final String ecrfXmlPath) throws XMLStreamException, FileNotFoundException {
+        try (EcrfPatientStream stream = openNoFormStates(ecrfXmlPath)) {
+            return XMLPatientReader.readPatientIds(stream.reader);
+        }
+    }
+
+    private EcrfPatientStream(@NotNull final InputStream inputStream, @NotNull final XMLStreamReader reader,
+            @NotNull final XMLEcrfDatamodel datamodel, @NotNull final FormStatusModel formStatusModel) {
+        this.inputStream = inputStream;
+        this.reader = reader;
+        this.datamodel = datamodel;
+        this.formStatusModel = formStatusModel;
+    }
+
+    @NotNull
+    public XMLEcrfDatamodel datamodel() {
+        return datamodel;
+    }
+
+    @NotNull
+    public Iterable<EcrfDatamodelField> fields() {
+        return XMLEcrfDatamodelToEcrfFields.convert(datamodel);
+    }
+
+    // Emits every remaining patient as soon as its closing tag has been read, and returns the number of patients emitted.
+    public int forEachPatient(@NotNull final Consumer<EcrfPatient> consumer) throws XMLStreamException {
+        return XMLPatientReader.streamPatients(reader, datamodel, formStatusModel, consumer);
+    }
+
+    @Override
+    public void close() throws XMLStreamException {
+        try {
+            reader.close();
+        } finally {
+            closeQuietly(inputStream);
+        }
+    }
+
+    private static void closeQuietly(@NotNull final InputStream inputStream) {
+        try {
+            inputStream.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
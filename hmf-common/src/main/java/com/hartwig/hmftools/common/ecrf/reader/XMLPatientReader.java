@@ -2,6 +2,7 @@ package com.hartwig.hmftools.common.ecrf.reader;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
@@ -56,15 +57,35 @@ public final class XMLPatientReader extends EcrfReader {
     public static List<EcrfPatient> readPatients(@NotNull XMLStreamReader reader, @NotNull final XMLEcrfDatamodel datamodel,
             @NotNull final FormStatusModel formStatusModel) throws XMLStreamException {
         final List<EcrfPatient> patients = Lists.newArrayList();
+        streamPatients(reader, datamodel, formStatusModel, patients::add);
+        return patients;
+    }
 
+    public static int streamPatients(@NotNull XMLStreamReader reader, @NotNull final XMLEcrfDatamodel datamodel,
+            @NotNull final FormStatusModel formStatusModel, @NotNull final Consumer<EcrfPatient> consumer) throws XMLStreamException {
+        int patientCount = 0;
         while (reader.hasNext() && !isClinicalDataEnd(reader)) {
             if (isPatientStart(reader)) {
-                patients.add(readPatient(reader, datamodel, formStatusModel));
+                consumer.accept(readPatient(reader, datamodel, formStatusModel));
+                patientCount++;
             }
             reader.next();
         }
 
-        return patients;
+        return patientCount;
+    }
+
+    @NotNull
+    public static List<String> readPatientIds(@NotNull XMLStreamReader reader) throws XMLStreamException {
+        final List<String> patientIds = Lists.newArrayList();
+        while (reader.hasNext() && !isClinicalDataEnd(reader)) {
+            if (isPatientStart(reader)) {
+                patientIds.add(reformatPatientId(reader.getAttributeValue("", PATIENT_ID_ATTRIBUTE)));
+            }
+            reader.next();
+        }
+
+        return patientIds;
     }
 
     @NotNull
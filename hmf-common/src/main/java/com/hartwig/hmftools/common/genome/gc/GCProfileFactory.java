@@ -5,9 +5,12 @@ import java.io.IOException;
 import java.util.List;
 
 import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
 import com.hartwig.hmftools.common.genome.chromosome.Chromosome;
 import com.hartwig.hmftools.common.genome.chromosome.HumanChromosome;
+import com.hartwig.hmftools.common.utils.io.columnar.ColumnarFileReader;
+import com.hartwig.hmftools.common.utils.io.columnar.ColumnarFileWriter;
 import com.hartwig.hmftools.common.utils.io.reader.LineReader;
 
 import org.jetbrains.annotations.NotNull;
@@ -21,14 +24,80 @@ public final class GCProfileFactory {
     private static final int NON_N_PERCENTAGE_COLUMN = 3;
     private static final int MAPPABLE_PERCENTAGE_COLUMN = 4;
 
+    // "HGCP"
+    private static final int BINARY_MAGIC = 0x48474350;
+    private static final int BINARY_VERSION = 2;
+
     private GCProfileFactory() {
     }
 
+    /**
+     * Loads either the text GC profile or its binary columnar export, see writeBinary.
+     */
     @NotNull
     public static Multimap<Chromosome, GCProfile> loadGCContent(int windowSize, @NotNull final String fileName) throws IOException {
+        if (ColumnarFileReader.hasMagic(fileName, BINARY_MAGIC)) {
+            return loadBinaryGCContent(windowSize, fileName);
+        }
         return loadGCContent(windowSize, LineReader.build().readLines(new File(fileName).toPath(), x -> true));
     }
 
+    public static void writeBinary(@NotNull final String fileName, @NotNull final Multimap<Chromosome, GCProfile> gcProfiles)
+            throws IOException {
+        try (ColumnarFileWriter writer = new ColumnarFileWriter(fileName, BINARY_MAGIC, BINARY_VERSION, gcProfiles.keySet().size())) {
+            for (Chromosome chromosome : gcProfiles.keySet()) {
+                final List<GCProfile> profiles = Lists.newArrayList(gcProfiles.get(chromosome));
+                final int[] positions = new int[profiles.size()];
+                final double[] gcContent = new double[profiles.size()];
+                final double[] nonNPercentage = new double[profiles.size()];
+                final double[] mappablePercentage = new double[profiles.size()];
+                for (int i = 0; i < profiles.size(); i++) {
+                    final GCProfile profile = profiles.get(i);
+                    positions[i] = (int) profile.start() - 1;
+                    gcContent[i] = profile.gcContent();
+                    nonNPercentage[i] = profile.nonNPercentage();
+                    mappablePercentage[i] = profile.mappablePercentage();
+                }
+
+                writer.startChromosome(profiles.get(0).chromosome(), profiles.size());
+                writer.writeInts(positions);
+                writer.writeDoubles(gcContent);
+                writer.writeDoubles(nonNPercentage);
+                writer.writeDoubles(mappablePercentage);
+            }
+        }
+    }
+
+    @NotNull
+    private static Multimap<Chromosome, GCProfile> loadBinaryGCContent(int windowSize, @NotNull final String fileName) throws IOException {
+        final Multimap<Chromosome, GCProfile> result = ArrayListMultimap.create();
+        final ColumnarFileReader reader = new ColumnarFileReader(fileName, BINARY_MAGIC, BINARY_VERSION);
+        while (reader.hasNextChromosome()) {
+            final String chromosome = reader.nextChromosome();
+            final int[] positions = reader.readInts();
+            final double[] gcContent = reader.readDoubles();
+            final double[] nonNPercentage = reader.readDoubles();
+            final double[] mappablePercentage = reader.readDoubles();
+            if (!HumanChromosome.contains(chromosome)) {
+                continue;
+            }
+
+            final Chromosome key = HumanChromosome.fromString(chromosome);
+            for (int i = 0; i < positions.length; i++) {
+                result.put(key,
+                        ImmutableGCProfile.builder()
+                                .chromosome(chromosome)
+                                .start(positions[i] + 1)
+                                .end(positions[i] + windowSize)
+                                .gcContent(gcContent[i])
+                                .nonNPercentage(nonNPercentage[i])
+                                .mappablePercentage(mappablePercentage[i])
+                                .build());
+            }
+        }
+        return result;
+    }
+
     @NotNull
     private static Multimap<Chromosome, GCProfile> loadGCContent(int windowSize, @NotNull final List<String> lines) {
         final Multimap<Chromosome, GCProfile> result = ArrayListMultimap.create();
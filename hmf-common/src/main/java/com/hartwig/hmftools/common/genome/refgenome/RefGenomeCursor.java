@@ -0,0 +1,71 @@
+package com.hartwig.hmftools.common.genome.refgenome;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import htsjdk.samtools.SAMSequenceRecord;
+import htsjdk.samtools.reference.ReferenceSequenceFile;
+
+/**
+ * Serves bases of the ref genome from a window that slides forward with the requests. Requests in sorted order are served from
+ * memory and only need a single read of the fasta per window. Requests before the window (or on another contig) reload the window,
+ * so any order is correct but only sorted access is fast.
+ *
+ * Not thread safe.
+ */
+public class RefGenomeCursor {
+
+    private static final int DEFAULT_WINDOW_SIZE = 1 << 20;
+
+    @NotNull
+    private final ReferenceSequenceFile reference;
+    private final int windowSize;
+
+    @Nullable
+    private String contig;
+    private long windowStart;
+    @NotNull
+    private byte[] window = new byte[0];
+
+    public RefGenomeCursor(@NotNull final ReferenceSequenceFile reference) {
+        this(reference, DEFAULT_WINDOW_SIZE);
+    }
+
+    @VisibleForTesting
+    RefGenomeCursor(@NotNull final ReferenceSequenceFile reference, int windowSize) {
+        this.reference = reference;
+        this.windowSize = windowSize;
+    }
+
+    @Nullable
+    public SAMSequenceRecord sequence(@NotNull final String contig) {
+        return reference.getSequenceDictionary().getSequence(contig);
+    }
+
+    /**
+     * Returns the bases from start to end (1-based, inclusive) of the contig, the same as getSubsequenceAt(contig, start, end).getBases().
+     */
+    @NotNull
+    public byte[] bases(@NotNull final String contig, long start, long end) {
+        final int length = (int) (end - start + 1);
+        if (!contig.equals(this.contig) || start < windowStart || end >= windowStart + window.length) {
+            load(contig, start, end);
+        }
+
+        final byte[] result = new byte[length];
+        System.arraycopy(window, (int) (start - windowStart), result, 0, length);
+        return result;
+    }
+
+    private void load(@NotNull final String contig, long start, long end) {
+        final SAMSequenceRecord sequence = sequence(contig);
+        final long contigEnd = sequence == null ? end : sequence.getSequenceLength();
+        final long windowEnd = Math.max(end, Math.min(contigEnd, start + windowSize - 1));
+
+        this.window = reference.getSubsequenceAt(contig, start, windowEnd).getBases();
+        this.windowStart = start;
+        this.contig = contig;
+    }
+}
@@ -0,0 +1,63 @@
+package com.hartwig.hmftools.common.genome.refgenome;
+
+import java.io.IOException;
+
+import org.jetbrains.annotations.NotNull;
+
+import htsjdk.samtools.SAMSequenceDictionary;
+import htsjdk.samtools.reference.ReferenceSequence;
+import htsjdk.samtools.reference.ReferenceSequenceFile;
+
+/**
+ * Makes a reference sequence file safe to share between threads by serialising every call. Readers that request bases often should
+ * go through a RefGenomeCursor per thread, so that most requests are served without taking the lock.
+ */
+public class SynchronizedReferenceSequenceFile implements ReferenceSequenceFile {
+
+    @NotNull
+    private final ReferenceSequenceFile reference;
+
+    public SynchronizedReferenceSequenceFile(@NotNull final ReferenceSequenceFile reference) {
+        this.reference = reference;
+    }
+
+    @Override
+    public synchronized SAMSequenceDictionary getSequenceDictionary() {
+        return reference.getSequenceDictionary();
+    }
+
+    @Override
+    public synchronized ReferenceSequence nextSequence() {
+        return reference.nextSequence();
+    }
+
+    @Override
+    public synchronized void reset() {
+        reference.reset();
+    }
+
+    @Override
+    public synchronized boolean isIndexed() {
+        return reference.isIndexed();
+    }
+
+    @Override
+    public synchronized ReferenceSequence getSequence(final String contig) {
+        return reference.getSequence(contig);
+    }
+
+    @Override
+    public synchronized ReferenceSequence getSubsequenceAt(final String contig, final long start, final long stop) {
+        return reference.getSubsequenceAt(contig, start, stop);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return reference.toString();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        reference.close();
+    }
+}
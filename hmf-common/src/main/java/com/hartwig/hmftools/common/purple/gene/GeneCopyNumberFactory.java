@@ -1,14 +1,27 @@
 package com.hartwig.hmftools.common.purple.gene;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.hartwig.hmftools.common.genome.chromosome.HumanChromosome;
+import com.hartwig.hmftools.common.genome.region.HmfExonRegion;
 import com.hartwig.hmftools.common.genome.region.HmfTranscriptRegion;
 import com.hartwig.hmftools.common.purple.copynumber.PurpleCopyNumber;
-import com.hartwig.hmftools.common.utils.zipper.RegionZipper;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+/**
+ * Genes are swept per chromosome in order of their first exon while a cursor moves forward over the (sorted) copy numbers of that
+ * chromosome. Each gene is only merged with the copy numbers that can overlap its exome, in the same order as a genome wide
+ * RegionZipper.zip of the copy numbers and exome would, so the output is identical to zipping every gene separately.
+ */
 public final class GeneCopyNumberFactory {
 
     private GeneCopyNumberFactory() {
@@ -17,19 +30,158 @@ public final class GeneCopyNumberFactory {
     @NotNull
     public static List<GeneCopyNumber> geneCopyNumbers(@NotNull final List<HmfTranscriptRegion> genes,
             @NotNull final List<PurpleCopyNumber> somaticCopyNumbers, @NotNull final List<PurpleCopyNumber> germlineDeletions) {
+        final GeneSweep sweep = new GeneSweep(genes, somaticCopyNumbers, germlineDeletions);
+        for (String chromosome : sweep.genesPerChromosome.keySet()) {
+            sweep.run(chromosome);
+        }
+        return sweep.result();
+    }
+
+    @NotNull
+    public static List<GeneCopyNumber> geneCopyNumbers(@NotNull final ExecutorService executorService,
+            @NotNull final List<HmfTranscriptRegion> genes, @NotNull final List<PurpleCopyNumber> somaticCopyNumbers,
+            @NotNull final List<PurpleCopyNumber> germlineDeletions) throws ExecutionException, InterruptedException {
+        final GeneSweep sweep = new GeneSweep(genes, somaticCopyNumbers, germlineDeletions);
+        final List<Future<?>> futures = Lists.newArrayList();
+        for (String chromosome : sweep.genesPerChromosome.keySet()) {
+            futures.add(executorService.submit(() -> sweep.run(chromosome)));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return sweep.result();
+    }
+
+    private static class GeneSweep {
+
+        private final List<HmfTranscriptRegion> genes;
+        private final GeneCopyNumber[] geneCopyNumbers;
+        private final Map<String, List<Integer>> genesPerChromosome = Maps.newLinkedHashMap();
+        private final Map<String, List<PurpleCopyNumber>> somaticPerChromosome;
+        private final Map<String, List<PurpleCopyNumber>> germlinePerChromosome;
+        private final boolean hasGermlineDeletions;
+        @Nullable
+        private final PurpleCopyNumber lastSomatic;
+        private final Map<String, PurpleCopyNumber> germlineBeforeChromosome = Maps.newHashMap();
+
+        GeneSweep(@NotNull final List<HmfTranscriptRegion> genes, @NotNull final List<PurpleCopyNumber> somaticCopyNumbers,
+                @NotNull final List<PurpleCopyNumber> germlineDeletions) {
+            this.genes = genes;
+            geneCopyNumbers = new GeneCopyNumber[genes.size()];
+            for (int i = 0; i < genes.size(); i++) {
+                if (!genes.get(i).exome().isEmpty()) {
+                    genesPerChromosome.computeIfAbsent(genes.get(i).chromosome(), key -> Lists.newArrayList()).add(i);
+                }
+            }
+
+            somaticPerChromosome = perChromosome(somaticCopyNumbers);
+            germlinePerChromosome = perChromosome(germlineDeletions);
+            hasGermlineDeletions = !germlineDeletions.isEmpty();
+            lastSomatic = somaticCopyNumbers.isEmpty() ? null : somaticCopyNumbers.get(somaticCopyNumbers.size() - 1);
+
+            if (hasGermlineDeletions) {
+                // Copy number the zipper holds when it reaches the first exon of a chromosome with no germline deletion before it
+                final Map<String, Integer> chromosomeOrder = Maps.newHashMap();
+                genesPerChromosome.keySet().forEach(x -> chromosomeOrder.put(x, HumanChromosome.fromString(x).intValue()));
+                germlinePerChromosome.keySet().forEach(x -> chromosomeOrder.put(x, HumanChromosome.fromString(x).intValue()));
+                for (String chromosome : genesPerChromosome.keySet()) {
+                    final int order = chromosomeOrder.get(chromosome);
+                    for (PurpleCopyNumber deletion : germlineDeletions) {
+                        if (chromosomeOrder.get(deletion.chromosome()) >= order) {
+                            break;
+                        }
+                        germlineBeforeChromosome.put(chromosome, deletion);
+                    }
+                }
+            }
+        }
+
+        void run(@NotNull final String chromosome) {
+            final List<Integer> geneIndices = Lists.newArrayList(genesPerChromosome.get(chromosome));
+            geneIndices.sort(Comparator.comparingLong(index -> genes.get(index).exome().get(0).start()));
+
+            final List<PurpleCopyNumber> somatic = somaticPerChromosome.getOrDefault(chromosome, Lists.newArrayList());
+            final List<PurpleCopyNumber> germline = germlinePerChromosome.getOrDefault(chromosome, Lists.newArrayList());
+            final PurpleCopyNumber germlineBefore = germlineBeforeChromosome.get(chromosome);
+
+            int somaticIndex = 0;
+            for (int geneIndex : geneIndices) {
+                final HmfTranscriptRegion gene = genes.get(geneIndex);
+                final List<HmfExonRegion> exome = gene.exome();
+                final long exomeStart = exome.get(0).start();
+                while (somaticIndex + 1 < somatic.size() && somatic.get(somaticIndex + 1).start() <= exomeStart) {
+                    somaticIndex++;
+                }
+
+                final GeneCopyNumberBuilder builder = new GeneCopyNumberBuilder(gene);
+                final PurpleCopyNumber lastZipped = zip(somatic, somaticIndex, exome, builder);
+                if (hasGermlineDeletions) {
+                    // Restore the copy number a genome wide zip holds when it reaches this exome again, rather than the last one of the
+                    // sweep window. These calls never add an overlap that the genome wide zip would not also have added.
+                    if (lastSomatic != null && lastSomatic != lastZipped) {
+                        builder.primary(lastSomatic);
+                    }
+                    if (germlineBefore != null) {
+                        builder.primary(germlineBefore);
+                    }
+                    zip(germline, 0, exome, builder);
+                }
+
+                final GeneCopyNumber geneCopyNumber = builder.build();
+                if (geneCopyNumber.totalRegions() > 0) {
+                    geneCopyNumbers[geneIndex] = geneCopyNumber;
+                }
+            }
+        }
 
-        final List<GeneCopyNumber> result = Lists.newArrayList();
-        for (HmfTranscriptRegion gene : genes) {
-            final GeneCopyNumberBuilder builder = new GeneCopyNumberBuilder(gene);
-            RegionZipper.zip(somaticCopyNumbers, gene.exome(), builder);
-            RegionZipper.zip(germlineDeletions, gene.exome(), builder);
+        @NotNull
+        List<GeneCopyNumber> result() {
+            final List<GeneCopyNumber> result = Lists.newArrayList();
+            for (GeneCopyNumber geneCopyNumber : geneCopyNumbers) {
+                if (geneCopyNumber != null) {
+                    result.add(geneCopyNumber);
+                }
+            }
+            return result;
+        }
 
-            GeneCopyNumber geneCopyNumber = builder.build();
-            if (geneCopyNumber.totalRegions() > 0) {
-                result.add(geneCopyNumber);
+        /**
+         * Merges copy numbers from the given index with the exome, stopping once the exome is done and the copy numbers are past it.
+         * Returns the last copy number handed to the builder.
+         */
+        @Nullable
+        private static PurpleCopyNumber zip(@NotNull final List<PurpleCopyNumber> copyNumbers, int copyNumberIndex,
+                @NotNull final List<HmfExonRegion> exome, @NotNull final GeneCopyNumberBuilder builder) {
+            long exomeEnd = 0;
+            for (HmfExonRegion exon : exome) {
+                exomeEnd = Math.max(exomeEnd, exon.end());
             }
 
+            PurpleCopyNumber last = null;
+            int exonIndex = 0;
+            while (exonIndex < exome.size() || (copyNumberIndex < copyNumbers.size()
+                    && copyNumbers.get(copyNumberIndex).start() <= exomeEnd)) {
+                final PurpleCopyNumber copyNumber = copyNumberIndex < copyNumbers.size() ? copyNumbers.get(copyNumberIndex) : null;
+                final HmfExonRegion exon = exonIndex < exome.size() ? exome.get(exonIndex) : null;
+                if (copyNumber == null || (exon != null && copyNumber.start() > exon.start())) {
+                    builder.secondary(exon);
+                    exonIndex++;
+                } else {
+                    builder.primary(copyNumber);
+                    last = copyNumber;
+                    copyNumberIndex++;
+                }
+            }
+            return last;
+        }
+
+        @NotNull
+        private static Map<String, List<PurpleCopyNumber>> perChromosome(@NotNull final List<PurpleCopyNumber> copyNumbers) {
+            final Map<String, List<PurpleCopyNumber>> result = Maps.newHashMap();
+            for (PurpleCopyNumber copyNumber : copyNumbers) {
+                result.computeIfAbsent(copyNumber.chromosome(), key -> Lists.newArrayList()).add(copyNumber);
+            }
+            return result;
         }
-        return result;
     }
 }
@@ -1,40 +1,25 @@
 package com.hartwig.hmftools.common.purple.purity;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
-import com.google.common.cache.RemovalListener;
-import com.google.common.cache.RemovalNotification;
 import com.hartwig.hmftools.common.purple.PurityAdjuster;
 import com.hartwig.hmftools.common.purple.region.FittedRegion;
 import com.hartwig.hmftools.common.variant.AllelicDepth;
 import com.hartwig.hmftools.common.variant.SomaticVariant;
 
 import org.apache.commons.math3.distribution.BinomialDistribution;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
 
-public enum SomaticDeviation implements RemovalListener<Double, Integer> {
+public enum SomaticDeviation {
     INSTANCE;
 
     private static final int TRIALS = 10_000;
-    private static final Logger LOGGER = LogManager.getLogger(SomaticDeviation.class);
-    private final LoadingCache<Double, Integer> maxConceivableCache;
-    private boolean errorLogged = false;
+    private static final double PROBABILITY_PRECISION = 100;
 
-    SomaticDeviation() {
-        this.maxConceivableCache =
-                CacheBuilder.newBuilder().maximumSize(50000).removalListener(this).build(new CacheLoader<Double, Integer>() {
+    // Expected reads are rounded to 1/100th, so every p below 1 is one of MAX_SCALED_READS grid points
+    private static final int MAX_SCALED_READS = (int) (TRIALS * PROBABILITY_PRECISION);
 
-                    @Override
-                    public Integer load(@NotNull final Double p) {
-                        final BinomialDistribution dist = new BinomialDistribution(TRIALS, Math.min(1, p));
-                        return dist.inverseCumulativeProbability(0.999);
-                    }
-                });
-    }
+    // Lazily filled quantile + 1 per grid point, 0 while unknown. Racing threads can only ever write the same value.
+    private final int[] maxConceivableReads = new int[MAX_SCALED_READS + 1];
 
     public double deviationFromMax(@NotNull final PurityAdjuster purityAdjuster, @NotNull final FittedRegion region,
             @NotNull final SomaticVariant variant) {
@@ -69,15 +54,24 @@ public enum SomaticDeviation implements RemovalListener<Double, Integer> {
     int maxConceivableReads(@NotNull final PurityAdjuster purityAdjuster, int normalCopyNumber, @NotNull final AllelicDepth depth,
             double tumorCopyNumber, double tumorMajorAllelePloidy) {
         double expectedVAF = purityAdjuster.expectedFrequency(normalCopyNumber, 0, tumorCopyNumber, tumorMajorAllelePloidy);
-        double p = 1d * Math.round(expectedVAF * depth.totalReadCount() * 100) / 100 / TRIALS;
-        return maxConceivableCache.getUnchecked(p);
-    }
+        long scaledReads = Math.round(expectedVAF * depth.totalReadCount() * PROBABILITY_PRECISION);
+        if (scaledReads < 0) {
+            return maxConceivableReads(scaledReads);
+        }
 
-    @Override
-    public void onRemoval(@NotNull final RemovalNotification<Double, Integer> removalNotification) {
-        if (!errorLogged) {
-            errorLogged = true;
-            LOGGER.warn("Somatic deviation cache limit exceeded. This indicates a potential performance issue but will otherwise not effect any calculations.");
+        // Every p of 1 or more is capped to 1
+        int index = (int) Math.min(scaledReads, MAX_SCALED_READS);
+        int cached = maxConceivableReads[index];
+        if (cached == 0) {
+            cached = maxConceivableReads(index) + 1;
+            maxConceivableReads[index] = cached;
         }
+        return cached - 1;
+    }
+
+    private static int maxConceivableReads(long scaledReads) {
+        double p = 1d * scaledReads / PROBABILITY_PRECISION / TRIALS;
+        final BinomialDistribution dist = new BinomialDistribution(TRIALS, Math.min(1, p));
+        return dist.inverseCumulativeProbability(0.999);
     }
 }
@@ -0,0 +1,103 @@
+package com.hartwig.hmftools.common.utils.io.columnar;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+import com.hartwig.hmftools.common.utils.io.exception.MalformedFileException;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Memory maps a file written by ColumnarFileWriter and copies its columns straight into primitive arrays, without any parsing.
+ * Chromosomes and their columns must be read in the order they were written.
+ */
+public class ColumnarFileReader {
+
+    private static final int MAGIC_LENGTH = 4;
+
+    @NotNull
+    private final String fileName;
+    @NotNull
+    private final MappedByteBuffer buffer;
+    private final long sourceLength;
+    private final long sourceLastModified;
+    private int remainingChromosomes;
+    private int rows;
+
+    public ColumnarFileReader(@NotNull final String fileName, final int magic, final int version) throws IOException {
+        this.fileName = fileName;
+        try (RandomAccessFile file = new RandomAccessFile(fileName, "r"); FileChannel channel = file.getChannel()) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.remaining() < 3 * Integer.BYTES + 2 * Long.BYTES || buffer.getInt() != magic) {
+            throw new MalformedFileException(fileName + " is not a columnar file of the expected type");
+        }
+        final int fileVersion = buffer.getInt();
+        if (fileVersion != version) {
+            throw new MalformedFileException(fileName + " has columnar version " + fileVersion + ", expected " + version);
+        }
+        sourceLength = buffer.getLong();
+        sourceLastModified = buffer.getLong();
+        remainingChromosomes = buffer.getInt();
+    }
+
+    /**
+     * Whether this file was exported from the given file as it is now, ie that file still has the size and modification time recorded
+     * when writing this one.
+     */
+    public boolean isExportOf(@NotNull final File source) {
+        return source.isFile() && source.length() == sourceLength && source.lastModified() == sourceLastModified;
+    }
+
+    public static boolean hasMagic(@NotNull final String fileName, final int magic) throws IOException {
+        final File file = new File(fileName);
+        if (file.length() < MAGIC_LENGTH) {
+            return false;
+        }
+        try (DataInputStream input = new DataInputStream(new FileInputStream(file))) {
+            return input.readInt() == magic;
+        }
+    }
+
+    public boolean hasNextChromosome() {
+        return remainingChromosomes > 0;
+    }
+
+    @NotNull
+    public String nextChromosome() throws IOException {
+        if (remainingChromosomes-- <= 0) {
+            throw new MalformedFileException("No chromosomes left in " + fileName);
+        }
+        final byte[] name = new byte[buffer.getShort()];
+        buffer.get(name);
+        rows = buffer.getInt();
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    @NotNull
+    public int[] readInts() {
+        final int[] column = new int[rows];
+        buffer.asIntBuffer().get(column);
+        buffer.position(buffer.position() + rows * Integer.BYTES);
+        return column;
+    }
+
+    @NotNull
+    public double[] readDoubles() {
+        final double[] column = new double[rows];
+        buffer.asDoubleBuffer().get(column);
+        buffer.position(buffer.position() + rows * Double.BYTES);
+        return column;
+    }
+}
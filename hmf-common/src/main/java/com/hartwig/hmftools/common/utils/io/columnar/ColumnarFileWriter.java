@@ -0,0 +1,79 @@
+package com.hartwig.hmftools.common.utils.io.columnar;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Writes a binary file of per chromosome primitive columns. After the magic number and version, the size and modification time of the
+ * file the columns were exported from (-1 if none) and the chromosome count, each chromosome is written as its name, its row count and
+ * then every column in full. See ColumnarFileReader.
+ */
+public class ColumnarFileWriter implements AutoCloseable {
+
+    @NotNull
+    private final DataOutputStream output;
+    private int remainingChromosomes;
+    private int rows = -1;
+
+    public ColumnarFileWriter(@NotNull final String fileName, final int magic, final int version, final int chromosomeCount)
+            throws IOException {
+        this(fileName, magic, version, null, chromosomeCount);
+    }
+
+    public ColumnarFileWriter(@NotNull final String fileName, final int magic, final int version, @Nullable final File source,
+            final int chromosomeCount) throws IOException {
+        output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fileName), 1 << 16));
+        output.writeInt(magic);
+        output.writeInt(version);
+        output.writeLong(source != null ? source.length() : -1);
+        output.writeLong(source != null ? source.lastModified() : -1);
+        output.writeInt(chromosomeCount);
+        remainingChromosomes = chromosomeCount;
+    }
+
+    public void startChromosome(@NotNull final String chromosome, final int rows) throws IOException {
+        if (remainingChromosomes-- <= 0) {
+            throw new IllegalStateException("More chromosomes written than declared");
+        }
+        final byte[] name = chromosome.getBytes(StandardCharsets.UTF_8);
+        output.writeShort(name.length);
+        output.write(name);
+        output.writeInt(rows);
+        this.rows = rows;
+    }
+
+    public void writeInts(@NotNull final int[] column) throws IOException {
+        checkLength(column.length);
+        for (int value : column) {
+            output.writeInt(value);
+        }
+    }
+
+    public void writeDoubles(@NotNull final double[] column) throws IOException {
+        checkLength(column.length);
+        for (double value : column) {
+            output.writeDouble(value);
+        }
+    }
+
+    private void checkLength(int length) {
+        if (length != rows) {
+            throw new IllegalStateException("Column of " + length + " rows written for chromosome of " + rows + " rows");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+        if (remainingChromosomes != 0) {
+            throw new IllegalStateException("Fewer chromosomes written than declared");
+        }
+    }
+}
@@ -15,7 +15,12 @@ public final class Microhomology {
 
     @NotNull
     public static String microhomologyAtInsert(int position, @NotNull final String refSequence, @NotNull final String alt) {
-        if (refSequence.length() < position) {
+        return microhomologyAtInsert(position, refSequence.getBytes(), alt);
+    }
+
+    @NotNull
+    public static String microhomologyAtInsert(int position, @NotNull final byte[] refSequence, @NotNull final String alt) {
+        if (refSequence.length < position) {
             LOGGER.warn("Attempt to determine microhomology outside of sequence length");
             return Strings.EMPTY;
         }
@@ -24,18 +29,27 @@ public final class Microhomology {
             return Strings.EMPTY;
         }
 
-        final String readSequence = refSequence.substring(0, position) + alt + refSequence.substring(position + 1);
-        return microhomologyAtInsert(position, alt.length(), readSequence.getBytes()).toString();
+        final byte[] altBytes = alt.getBytes();
+        final byte[] readSequence = new byte[refSequence.length - 1 + altBytes.length];
+        System.arraycopy(refSequence, 0, readSequence, 0, position);
+        System.arraycopy(altBytes, 0, readSequence, position, altBytes.length);
+        System.arraycopy(refSequence, position + 1, readSequence, position + altBytes.length, refSequence.length - position - 1);
+        return microhomologyAtInsert(position, alt.length(), readSequence).toString();
     }
 
     @NotNull
     public static String microhomologyAtDelete(int position, @NotNull final String refSequence, @NotNull final String ref) {
-        if (refSequence.length() < position + ref.length()) {
+        return microhomologyAtDelete(position, refSequence.getBytes(), ref);
+    }
+
+    @NotNull
+    public static String microhomologyAtDelete(int position, @NotNull final byte[] refSequence, @NotNull final String ref) {
+        if (refSequence.length < position + ref.length()) {
             LOGGER.warn("Attempt to determine microhomology outside of sequence length");
             return Strings.EMPTY;
         }
 
-        return microhomologyAtDelete(position, ref.length(), refSequence.getBytes()).toString();
+        return microhomologyAtDelete(position, ref.length(), refSequence).toString();
     }
 
     @NotNull
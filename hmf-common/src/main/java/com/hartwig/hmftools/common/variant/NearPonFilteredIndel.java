@@ -9,7 +9,7 @@ import htsjdk.variant.variantcontext.VariantContext;
 
 final class NearPonFilteredIndel {
 
-    private static final int DISTANCE = 10;
+    static final int DISTANCE = 10;
     private static final String SOMATIC_FLAG = "SOMATIC_PON";
     private static final String GERMLINE_FLAG = "GERMLINE_PON";
 
@@ -0,0 +1,60 @@
+package com.hartwig.hmftools.common.variant;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import org.jetbrains.annotations.NotNull;
+
+import htsjdk.variant.variantcontext.VariantContext;
+import htsjdk.variant.variantcontext.VariantContextBuilder;
+
+/**
+ * Applies the near indel pon filter to a stream of (sorted) variant contexts. Contexts are held back until the next context is too
+ * far away to be near any of them. The near pon search of a held back context can then not reach beyond the window in either
+ * direction, so the result is the same as searching the complete list of contexts.
+ */
+class NearPonFilteredIndelWindow implements Consumer<VariantContext> {
+
+    static final String NEAR_INDEL_PON_FILTER = "NEAR_INDEL_PON";
+
+    @NotNull
+    private final Consumer<VariantContext> consumer;
+    @NotNull
+    private final List<VariantContext> window = Lists.newArrayList();
+    private int windowEnd;
+
+    NearPonFilteredIndelWindow(@NotNull final Consumer<VariantContext> consumer) {
+        this.consumer = consumer;
+    }
+
+    @Override
+    public void accept(@NotNull final VariantContext context) {
+        if (!window.isEmpty() && (!context.getContig().equals(window.get(0).getContig())
+                || context.getStart() > windowEnd + NearPonFilteredIndel.DISTANCE)) {
+            flush();
+        }
+
+        window.add(context);
+        windowEnd = Math.max(windowEnd, context.getStart() + context.getReference().length() - 1);
+    }
+
+    void flush() {
+        for (int i = 0; i < window.size(); i++) {
+            VariantContext context = window.get(i);
+            if (NearPonFilteredIndel.isNearPonFilteredIndel(i, window)) {
+                final Set<String> filters = Sets.newHashSet(context.getFilters());
+                filters.add(NEAR_INDEL_PON_FILTER);
+                context = new VariantContextBuilder(context).filters(filters).make();
+            }
+
+            consumer.accept(context);
+        }
+
+        window.clear();
+        windowEnd = 0;
+    }
+}
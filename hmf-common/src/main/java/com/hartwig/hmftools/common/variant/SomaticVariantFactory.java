@@ -20,6 +20,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.StringJoiner;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import com.google.common.collect.Lists;
@@ -89,7 +90,6 @@ public class SomaticVariantFactory {
     private static final String RECOVERED_FLAG = "RECOVERED";
 
     static final String PASS_FILTER = "PASS";
-    private static final String NEAR_INDEL_PON_FILTER = "NEAR_INDEL_PON";
 
     @NotNull
     private final CompoundFilter filter;
@@ -114,46 +114,44 @@ public class SomaticVariantFactory {
 
     @NotNull
     public List<SomaticVariant> fromVCFFile(@NotNull final String sample, @NotNull final String vcfFile) throws IOException {
-        final List<VariantContext> variants = Lists.newArrayList();
-        final VariantContextEnrichment enrichment = variantContextEnrichmentFactory.create(variants::add);
+        final List<SomaticVariant> variants = Lists.newArrayList();
+        fromVCFFile(sample, vcfFile, variants::add);
+        return variants;
+    }
 
+    /**
+     * Streams the somatic variants of the vcf file to the consumer in file order. Only contexts close to each other are held in
+     * memory at any time, which gives the same variants as reading them all first.
+     */
+    public void fromVCFFile(@NotNull final String sample, @NotNull final String vcfFile, @NotNull final Consumer<SomaticVariant> consumer)
+            throws IOException {
         try (final AbstractFeatureReader<VariantContext, LineIterator> reader = getFeatureReader(vcfFile, new VCFCodec(), false)) {
-            final VCFHeader header = (VCFHeader) reader.getHeader();
-            if (!sampleInFile(sample, header)) {
-                throw new IllegalArgumentException("Sample " + sample + " not found in vcf file " + vcfFile);
-            }
-
-            if (!header.hasFormatLine("AD")) {
-                throw new IllegalArgumentException("Allelic depths is a required format field in vcf file " + vcfFile);
-            }
-
-            for (VariantContext variant : reader.iterator()) {
-                // Note we need pon filtered indels for near indel pon logic to work correctly
-                if (filter.test(variant) || NearPonFilteredIndel.isPonFilteredIndel(variant)) {
-                    enrichment.accept(variant);
-                }
-            }
-
-            enrichment.flush();
+            fromVariantContexts(sample, vcfFile, (VCFHeader) reader.getHeader(), reader.iterator(), consumer);
         }
-
-        return process(sample, variants);
     }
 
-    @NotNull
-    private List<SomaticVariant> process(@NotNull final String sample, @NotNull final List<VariantContext> allVariantContexts) {
-        final List<SomaticVariant> variants = Lists.newArrayList();
+    private void fromVariantContexts(@NotNull final String sample, @NotNull final String vcfFile, @NotNull final VCFHeader header,
+            @NotNull final Iterable<VariantContext> contexts, @NotNull final Consumer<SomaticVariant> consumer) {
+        if (!sampleInFile(sample, header)) {
+            throw new IllegalArgumentException("Sample " + sample + " not found in vcf file " + vcfFile);
+        }
 
-        for (int i = 0; i < allVariantContexts.size(); i++) {
-            final VariantContext context = allVariantContexts.get(i);
-            if (NearPonFilteredIndel.isNearPonFilteredIndel(i, allVariantContexts)) {
-                context.getCommonInfo().addFilter(NEAR_INDEL_PON_FILTER);
-            }
+        if (!header.hasFormatLine("AD")) {
+            throw new IllegalArgumentException("Allelic depths is a required format field in vcf file " + vcfFile);
+        }
 
-            createVariant(sample, context).ifPresent(variants::add);
+        final NearPonFilteredIndelWindow nearPonWindow =
+                new NearPonFilteredIndelWindow(context -> createVariant(sample, context).ifPresent(consumer));
+        final VariantContextEnrichment enrichment = variantContextEnrichmentFactory.create(nearPonWindow);
+        for (VariantContext variant : contexts) {
+            // Note we need pon filtered indels for near indel pon logic to work correctly
+            if (filter.test(variant) || NearPonFilteredIndel.isPonFilteredIndel(variant)) {
+                enrichment.accept(variant);
+            }
         }
 
-        return variants;
+        enrichment.flush();
+        nearPonWindow.flush();
     }
 
     @NotNull
@@ -3,11 +3,19 @@ package com.hartwig.hmftools.common.variant.clonality;
 import java.text.DecimalFormat;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntToDoubleFunction;
 import java.util.stream.Collectors;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.hartwig.hmftools.common.utils.Doubles;
 
 import org.apache.commons.math3.distribution.BinomialDistribution;
@@ -32,13 +40,26 @@ public class PeakModelFactory {
     private final double maxPloidy;
     private final double modelWidth;
     private final WeightedPloidyHistogram preciseHistogramFactory;
-    private final Map<String, BinomialDistribution> binomialDistributionMap;
+    private final Map<Long, BinomialTable> binomialTables;
+    private final ExecutorService executorService;
+    private final int bucketsPerRound;
 
     public PeakModelFactory(final double maxPloidy, final double modelWidth) {
+        this(maxPloidy, modelWidth, MoreExecutors.newDirectExecutorService(), 1);
+    }
+
+    /**
+     * Buckets of a peak are modelled in rounds of threadCount buckets on the executor. A round may model a few buckets past the first
+     * unlikely one, but these are discarded so the result is the same as modelling one bucket at a time.
+     */
+    public PeakModelFactory(final double maxPloidy, final double modelWidth, @NotNull final ExecutorService executorService,
+            final int threadCount) {
         this.modelWidth = modelWidth;
         this.maxPloidy = maxPloidy;
         this.preciseHistogramFactory = new WeightedPloidyHistogram(maxPloidy, PEAK_BIN_WIDTH);
-        this.binomialDistributionMap = Maps.newHashMap();
+        this.binomialTables = Maps.newHashMap();
+        this.executorService = executorService;
+        this.bucketsPerRound = Math.max(1, threadCount);
     }
 
     @NotNull
@@ -166,26 +187,23 @@ public class PeakModelFactory {
 
         int maxBucket = bucket(maxPloidy);
         double[] result = new double[maxBucket + 1];
-        double[] weight = scalingFactor(peak, peakPloidies);
+        final BinomialTable[] tables = binomialTables(peakPloidies);
+        double[] weight = scalingFactor(peak, peakPloidies, tables);
 
         int startBucket = bucket(peak - offset);
 
         // Forwards until unlikely...
-        for (int i = startBucket; i <= maxBucket; i++) {
-            double ploidy = i * modelWidth + offset;
-            double likelihood = likelihood(ploidy, weight, peakPloidies);
-            result[i] = likelihood;
-            if (Doubles.isZero(likelihood)) {
+        for (int i = startBucket; i <= maxBucket; i += bucketsPerRound) {
+            final int roundEnd = Math.min(maxBucket, i + bucketsPerRound - 1);
+            if (modelBuckets(i, roundEnd, offset, weight, peakPloidies, tables, result)) {
                 break;
             }
         }
 
         // Backwards until unlikely...
-        for (int i = startBucket - 1; i >= 0; i--) {
-            double ploidy = i * modelWidth + offset;
-            double likelihood = likelihood(ploidy, weight, peakPloidies);
-            result[i] = likelihood;
-            if (Doubles.isZero(likelihood)) {
+        for (int i = startBucket - 1; i >= 0; i -= bucketsPerRound) {
+            final int roundEnd = Math.max(0, i - bucketsPerRound + 1);
+            if (modelBuckets(i, roundEnd, offset, weight, peakPloidies, tables, result)) {
                 break;
             }
         }
@@ -193,29 +211,84 @@ public class PeakModelFactory {
         return result;
     }
 
-    private double likelihood(double ploidy, double[] scalingFactor, @NotNull List<WeightedPloidy> ploidies) {
+    /**
+     * Models the buckets from first to last (inclusive, in either direction) in parallel and stores them in the result up to and
+     * including the first unlikely one. Returns true if an unlikely bucket was found.
+     */
+    private boolean modelBuckets(int first, int last, double offset, @NotNull final double[] scalingFactor,
+            @NotNull final List<WeightedPloidy> ploidies, @NotNull final BinomialTable[] tables, @NotNull final double[] result) {
+        final int direction = last >= first ? 1 : -1;
+        final List<Future<Double>> futures = Lists.newArrayList();
+        for (int i = first; i != last + direction; i += direction) {
+            final double ploidy = i * modelWidth + offset;
+            final Callable<Double> task = () -> likelihood(ploidy, scalingFactor, ploidies, tables);
+            futures.add(executorService.submit(task));
+        }
+
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                double likelihood = futures.get(i).get();
+                result[first + i * direction] = likelihood;
+                if (Doubles.isZero(likelihood)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while modelling peak", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to model peak", e.getCause());
+        } finally {
+            futures.forEach(x -> x.cancel(false));
+        }
+
+        return false;
+    }
+
+    private double likelihood(double ploidy, double[] scalingFactor, @NotNull List<WeightedPloidy> ploidies,
+            @NotNull final BinomialTable[] tables) {
         double result = 0;
         for (int i = 0; i < scalingFactor.length; i++) {
-            result += scalingFactor[i] * ploidyLikelihood(ploidy, ploidies.get(i));
+            result += scalingFactor[i] * ploidyLikelihood(ploidy, ploidies.get(i), tables[i]);
         }
 
         return result;
     }
 
-    private double[] scalingFactor(double ploidy, @NotNull List<WeightedPloidy> ploidies) {
+    private double[] scalingFactor(double ploidy, @NotNull List<WeightedPloidy> ploidies, @NotNull final BinomialTable[] tables) {
         double[] result = new double[ploidies.size()];
         for (int i = 0; i < ploidies.size(); i++) {
-            result[i] = ploidies.get(i).weight() / ploidyLikelihood(ploidy, ploidies.get(i));
+            result[i] = ploidies.get(i).weight() / ploidyLikelihood(ploidy, ploidies.get(i), tables[i]);
         }
 
         return result;
     }
 
+    @NotNull
+    private BinomialTable[] binomialTables(@NotNull final List<WeightedPloidy> ploidies) {
+        final BinomialTable[] result = new BinomialTable[ploidies.size()];
+        for (int i = 0; i < ploidies.size(); i++) {
+            result[i] = binomialTable(ploidies.get(i));
+        }
+        return result;
+    }
+
+    @NotNull
+    private BinomialTable binomialTable(@NotNull final WeightedPloidy weighted) {
+        final long key = ((long) weighted.alleleReadCount() << 32) | (weighted.totalReadCount() & 0xFFFFFFFFL);
+        return binomialTables.computeIfAbsent(key, k -> new BinomialTable(weighted.totalReadCount(), weighted.alleleFrequency()));
+    }
+
+    @VisibleForTesting
+    long cachedProbabilityCount() {
+        return binomialTables.values().stream().mapToLong(BinomialTable::allocatedValues).sum();
+    }
+
     double ploidyLikelihood(double ploidy, @NotNull final WeightedPloidy weighted) {
-        final String binomialKey = weighted.alleleReadCount() + ":" + weighted.totalReadCount();
-        final BinomialDistribution binomialDistribution = binomialDistributionMap.computeIfAbsent(binomialKey,
-                s -> new BinomialDistribution(weighted.totalReadCount(), weighted.alleleFrequency()));
+        return ploidyLikelihood(ploidy, weighted, binomialTable(weighted));
+    }
 
+    private double ploidyLikelihood(double ploidy, @NotNull final WeightedPloidy weighted, @NotNull final BinomialTable binomialTable) {
         double lowerBoundAlleleReadCount = Math.max(0, ploidy - modelWidth / 2d) / weighted.ploidy() * weighted.alleleReadCount();
         int lowerBoundAlleleReadCountRounded = (int) Math.round(lowerBoundAlleleReadCount);
         double lowerBoundAddition = lowerBoundAlleleReadCountRounded + 0.5 - lowerBoundAlleleReadCount;
@@ -224,11 +297,9 @@ public class PeakModelFactory {
         int upperBoundAlleleReadCountRounded = (int) Math.round(upperBoundAlleleReadCount);
         double upperBoundSubtraction = upperBoundAlleleReadCountRounded + 0.5 - upperBoundAlleleReadCount;
 
-        double rawResult =
-                binomialDistribution.cumulativeProbability(upperBoundAlleleReadCountRounded) - binomialDistribution.cumulativeProbability(
-                        lowerBoundAlleleReadCountRounded) + lowerBoundAddition * binomialDistribution.probability(
-                        lowerBoundAlleleReadCountRounded) - upperBoundSubtraction * binomialDistribution.probability(
-                        upperBoundAlleleReadCountRounded);
+        double rawResult = binomialTable.cumulativeProbability(upperBoundAlleleReadCountRounded) - binomialTable.cumulativeProbability(
+                lowerBoundAlleleReadCountRounded) + lowerBoundAddition * binomialTable.probability(lowerBoundAlleleReadCountRounded)
+                - upperBoundSubtraction * binomialTable.probability(upperBoundAlleleReadCountRounded);
 
         return Math.round(rawResult * 100) / 100d;
     }
@@ -245,4 +316,82 @@ public class PeakModelFactory {
 
         return ploidies.stream().mapToDouble(WeightedPloidy::weight).sum() / count;
     }
+
+    /**
+     * Probabilities of a binomial distribution for every number of successes from 0 to n. Each value is calculated on first use and
+     * kept as raw long bits so tables can be shared between threads. Values are kept in pages which are only allocated once one of
+     * their values is used, as deep variants have large n but only use the few values around their allele read count. Values outside
+     * of 0 to n are not kept.
+     */
+    private static class BinomialTable {
+
+        private static final long MISSING = 0x7ff0_0000_0000_0badL;
+        private static final int PAGE_BITS = 6;
+        private static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+        private final int trials;
+        private final BinomialDistribution distribution;
+        private final AtomicReferenceArray<AtomicLongArray> cumulativeProbabilities;
+        private final AtomicReferenceArray<AtomicLongArray> probabilities;
+
+        BinomialTable(int trials, double p) {
+            this.trials = trials;
+            this.distribution = new BinomialDistribution(trials, p);
+            this.cumulativeProbabilities = new AtomicReferenceArray<>((trials >> PAGE_BITS) + 1);
+            this.probabilities = new AtomicReferenceArray<>((trials >> PAGE_BITS) + 1);
+        }
+
+        double cumulativeProbability(int successes) {
+            if (successes < 0 || successes > trials) {
+                return distribution.cumulativeProbability(successes);
+            }
+            return cached(cumulativeProbabilities, successes, distribution::cumulativeProbability);
+        }
+
+        double probability(int successes) {
+            if (successes < 0 || successes > trials) {
+                return distribution.probability(successes);
+            }
+            return cached(probabilities, successes, distribution::probability);
+        }
+
+        int allocatedValues() {
+            return PAGE_SIZE * (allocatedPages(cumulativeProbabilities) + allocatedPages(probabilities));
+        }
+
+        private static double cached(@NotNull final AtomicReferenceArray<AtomicLongArray> pages, int successes,
+                @NotNull final IntToDoubleFunction function) {
+            final int pageIndex = successes >> PAGE_BITS;
+            AtomicLongArray page = pages.get(pageIndex);
+            if (page == null) {
+                pages.compareAndSet(pageIndex, null, missingPage());
+                page = pages.get(pageIndex);
+            }
+
+            final int index = successes & (PAGE_SIZE - 1);
+            long bits = page.get(index);
+            if (bits == MISSING) {
+                bits = Double.doubleToRawLongBits(function.applyAsDouble(successes));
+                page.set(index, bits);
+            }
+            return Double.longBitsToDouble(bits);
+        }
+
+        private static int allocatedPages(@NotNull final AtomicReferenceArray<AtomicLongArray> pages) {
+            int result = 0;
+            for (int i = 0; i < pages.length(); i++) {
+                result += pages.get(i) != null ? 1 : 0;
+            }
+            return result;
+        }
+
+        @NotNull
+        private static AtomicLongArray missingPage() {
+            final AtomicLongArray result = new AtomicLongArray(PAGE_SIZE);
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                result.lazySet(i, MISSING);
+            }
+            return result;
+        }
+    }
 }
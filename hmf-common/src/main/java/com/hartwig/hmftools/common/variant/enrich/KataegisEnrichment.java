@@ -1,8 +1,10 @@
 package com.hartwig.hmftools.common.variant.enrich;
 
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
 
+import com.google.common.collect.Maps;
 import com.hartwig.hmftools.common.variant.kataegis.KataegisQueue;
 
 import org.apache.logging.log4j.util.Strings;
@@ -37,6 +39,17 @@ public class KataegisEnrichment implements VariantContextEnrichment {
         reverseDetector.flush();
     }
 
+    /**
+     * Number of kataegis identifiers assigned so far per identifier prefix.
+     */
+    @NotNull
+    public Map<String, Integer> identifiers() {
+        final Map<String, Integer> result = Maps.newHashMap();
+        result.put(forwardDetector.idPrefix(), forwardDetector.identifiers());
+        result.put(reverseDetector.idPrefix(), reverseDetector.identifiers());
+        return result;
+    }
+
     @NotNull
     @Override
     public VCFHeader enrichHeader(@NotNull final VCFHeader template) {
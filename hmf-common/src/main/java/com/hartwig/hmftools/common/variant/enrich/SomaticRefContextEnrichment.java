@@ -3,6 +3,7 @@ package com.hartwig.hmftools.common.variant.enrich;
 import java.util.Optional;
 import java.util.function.Consumer;
 
+import com.hartwig.hmftools.common.genome.refgenome.RefGenomeCursor;
 import com.hartwig.hmftools.common.variant.Microhomology;
 import com.hartwig.hmftools.common.variant.repeat.RepeatContext;
 import com.hartwig.hmftools.common.variant.repeat.RepeatContextFactory;
@@ -10,12 +11,12 @@ import com.hartwig.hmftools.common.variant.repeat.RepeatContextFactory;
 import org.apache.commons.math3.util.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.apache.logging.log4j.util.Strings;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import htsjdk.samtools.SAMSequenceRecord;
-import htsjdk.samtools.reference.IndexedFastaSequenceFile;
+import htsjdk.samtools.reference.ReferenceSequenceFile;
+import htsjdk.samtools.util.StringUtil;
 import htsjdk.variant.variantcontext.VariantContext;
 import htsjdk.variant.vcf.VCFHeader;
 import htsjdk.variant.vcf.VCFHeaderLineType;
@@ -35,11 +36,13 @@ public class SomaticRefContextEnrichment implements VariantContextEnrichment {
     private static final String REPEAT_COUNT_DESCRIPTION = "Repeat sequence count";
     private static final String TRINUCLEOTIDE_FLAG_DESCRIPTION = "Tri-nucleotide context";
 
-    private final IndexedFastaSequenceFile reference;
+    private static final byte[] EMPTY_SEQUENCE = new byte[0];
+
+    private final RefGenomeCursor reference;
     private final Consumer<VariantContext> consumer;
 
-    public SomaticRefContextEnrichment(@NotNull final IndexedFastaSequenceFile reference, final Consumer<VariantContext> consumer) {
-        this.reference = reference;
+    public SomaticRefContextEnrichment(@NotNull final ReferenceSequenceFile reference, final Consumer<VariantContext> consumer) {
+        this.reference = new RefGenomeCursor(reference);
         this.consumer = consumer;
     }
 
@@ -56,7 +59,7 @@ public class SomaticRefContextEnrichment implements VariantContextEnrichment {
 
     @Override
     public void accept(@NotNull final VariantContext context) {
-        final Pair<Integer, String> relativePositionAndRef = relativePositionAndRef(reference, context);
+        final Pair<Integer, byte[]> relativePositionAndRef = relativePositionAndRef(reference, context);
 
         addTrinucleotideContext(context, relativePositionAndRef);
         addMicrohomology(context, relativePositionAndRef);
@@ -71,18 +74,19 @@ public class SomaticRefContextEnrichment implements VariantContextEnrichment {
     }
 
     private void addTrinucleotideContext(@NotNull final VariantContext variant,
-            @NotNull final Pair<Integer, String> relativePositionAndRef) {
+            @NotNull final Pair<Integer, byte[]> relativePositionAndRef) {
         final int relativePosition = relativePositionAndRef.getFirst();
-        final String sequence = relativePositionAndRef.getSecond();
-        if (!sequence.isEmpty()) {
-            final String tri = sequence.substring(Math.max(0, relativePosition - 1), Math.min(sequence.length(), relativePosition + 2));
+        final byte[] sequence = relativePositionAndRef.getSecond();
+        if (sequence.length > 0) {
+            final int triStart = Math.max(0, relativePosition - 1);
+            final String tri = StringUtil.bytesToString(sequence, triStart, Math.min(sequence.length, relativePosition + 2) - triStart);
             variant.getCommonInfo().putAttribute(TRINUCLEOTIDE_FLAG, tri, true);
         }
     }
 
-    private void addRepeatContext(@NotNull final VariantContext variant, final Pair<Integer, String> relativePositionAndRef) {
+    private void addRepeatContext(@NotNull final VariantContext variant, final Pair<Integer, byte[]> relativePositionAndRef) {
         final int relativePosition = relativePositionAndRef.getFirst();
-        final String sequence = relativePositionAndRef.getSecond();
+        final byte[] sequence = relativePositionAndRef.getSecond();
 
         Optional<RepeatContext> repeatContext = getRepeatContext(variant, relativePosition, sequence);
         if (repeatContext.isPresent()) {
@@ -92,9 +96,9 @@ public class SomaticRefContextEnrichment implements VariantContextEnrichment {
         }
     }
 
-    private void addMicrohomology(@NotNull final VariantContext variant, final Pair<Integer, String> relativePositionAndRef) {
+    private void addMicrohomology(@NotNull final VariantContext variant, final Pair<Integer, byte[]> relativePositionAndRef) {
         final int relativePosition = relativePositionAndRef.getFirst();
-        final String sequence = relativePositionAndRef.getSecond();
+        final byte[] sequence = relativePositionAndRef.getSecond();
         if (variant.isIndel()) {
             final String ref = variant.getReference().getBaseString();
             final String alt = variant.getAlternateAllele(0).getBaseString();
@@ -110,13 +114,13 @@ public class SomaticRefContextEnrichment implements VariantContextEnrichment {
     }
 
     @NotNull
-    static Pair<Integer, String> relativePositionAndRef(@NotNull final IndexedFastaSequenceFile reference, @NotNull final VariantContext variant) {
+    static Pair<Integer, byte[]> relativePositionAndRef(@NotNull final RefGenomeCursor reference, @NotNull final VariantContext variant) {
         final int refLength = variant.getReference().getBaseString().length();
         @Nullable
-        final SAMSequenceRecord samSequenceRecord = reference.getSequenceDictionary().getSequence(variant.getContig());
+        final SAMSequenceRecord samSequenceRecord = reference.sequence(variant.getContig());
         if (samSequenceRecord == null) {
             LOGGER.warn("Unable to locate contig {} in ref genome", variant.getContig());
-            return new Pair<>(0, Strings.EMPTY);
+            return new Pair<>(0, EMPTY_SEQUENCE);
         }
 
         final int chromosomeLength = samSequenceRecord.getSequenceLength();
@@ -125,11 +129,11 @@ public class SomaticRefContextEnrichment implements VariantContextEnrichment {
         long start = Math.max(positionBeforeEvent - 100, 1);
         long end = Math.min(positionBeforeEvent + refLength + 100 - 1, chromosomeLength - 1);
         int relativePosition = (int) (positionBeforeEvent - start);
-        final String sequence;
+        final byte[] sequence;
         if (start < chromosomeLength && end < chromosomeLength) {
-            sequence = reference.getSubsequenceAt(variant.getContig(), start, end).getBaseString();
+            sequence = reference.bases(variant.getContig(), start, end);
         } else {
-            sequence = Strings.EMPTY;
+            sequence = EMPTY_SEQUENCE;
             LOGGER.warn("Requested base sequence outside of chromosome region!");
         }
         return new Pair<>(relativePosition, sequence);
@@ -137,7 +141,7 @@ public class SomaticRefContextEnrichment implements VariantContextEnrichment {
 
     @NotNull
     private Optional<RepeatContext> getRepeatContext(@NotNull final VariantContext variant, int relativePosition,
-            @NotNull final String sequence) {
+            @NotNull final byte[] sequence) {
         if (variant.isIndel()) {
             return RepeatContextFactory.repeats(relativePosition + 1, sequence);
         } else if (variant.isSNP() || variant.isMNP()) {
@@ -4,10 +4,13 @@ import static com.hartwig.hmftools.common.variant.enrich.SomaticRefContextEnrich
 
 import java.util.function.Consumer;
 
+import com.hartwig.hmftools.common.genome.refgenome.RefGenomeCursor;
+
 import org.apache.commons.math3.util.Pair;
 import org.jetbrains.annotations.NotNull;
 
 import htsjdk.samtools.reference.IndexedFastaSequenceFile;
+import htsjdk.samtools.util.StringUtil;
 import htsjdk.variant.variantcontext.VariantContext;
 import htsjdk.variant.vcf.VCFHeader;
 import htsjdk.variant.vcf.VCFHeaderLineType;
@@ -20,11 +23,11 @@ public class StructuralRefContextEnrichment implements VariantContextEnrichment
     public static final String REF_CONTEXT_FLAG = "REFG";
     private static final String REF_CONTEXT_DESCRIPTION = "Reference genome surrounding break";
 
-    private final IndexedFastaSequenceFile reference;
+    private final RefGenomeCursor reference;
     private final Consumer<VariantContext> consumer;
 
     public StructuralRefContextEnrichment(@NotNull final IndexedFastaSequenceFile reference, final Consumer<VariantContext> consumer) {
-        this.reference = reference;
+        this.reference = new RefGenomeCursor(reference);
         this.consumer = consumer;
     }
 
@@ -38,7 +41,7 @@ public class StructuralRefContextEnrichment implements VariantContextEnrichment
 
     @Override
     public void accept(@NotNull final VariantContext context) {
-        final Pair<Integer, String> relativePositionAndRef = relativePositionAndRef(reference, context);
+        final Pair<Integer, byte[]> relativePositionAndRef = relativePositionAndRef(reference, context);
         addRefContext(context, relativePositionAndRef);
         consumer.accept(context);
     }
@@ -48,12 +51,13 @@ public class StructuralRefContextEnrichment implements VariantContextEnrichment
         // None
     }
 
-    private void addRefContext(@NotNull final VariantContext variant, @NotNull final Pair<Integer, String> relativePositionAndRef) {
+    private void addRefContext(@NotNull final VariantContext variant, @NotNull final Pair<Integer, byte[]> relativePositionAndRef) {
         final int relativePosition = relativePositionAndRef.getFirst();
-        final String sequence = relativePositionAndRef.getSecond();
-        if (!sequence.isEmpty()) {
-            final String tri = sequence.substring(Math.max(0, relativePosition - REF_CONTEXT_DISTANCE),
-                    Math.min(sequence.length(), relativePosition + REF_CONTEXT_DISTANCE + 1));
+        final byte[] sequence = relativePositionAndRef.getSecond();
+        if (sequence.length > 0) {
+            final int start = Math.max(0, relativePosition - REF_CONTEXT_DISTANCE);
+            final int end = Math.min(sequence.length, relativePosition + REF_CONTEXT_DISTANCE + 1);
+            final String tri = StringUtil.bytesToString(sequence, start, end - start);
             variant.getCommonInfo().putAttribute(REF_CONTEXT_FLAG, tri);
         }
     }
@@ -1,6 +1,7 @@
 package com.hartwig.hmftools.common.variant.enrich;
 
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 
 import com.hartwig.hmftools.common.purple.PurityAdjuster;
@@ -10,7 +11,7 @@ import com.hartwig.hmftools.common.variant.clonality.PeakModel;
 
 import org.jetbrains.annotations.NotNull;
 
-import htsjdk.samtools.reference.IndexedFastaSequenceFile;
+import htsjdk.samtools.reference.ReferenceSequenceFile;
 import htsjdk.variant.variantcontext.VariantContext;
 import htsjdk.variant.vcf.VCFHeader;
 
@@ -22,7 +23,7 @@ public class VariantContextEnrichmentPurple implements VariantContextEnrichment
     private final SubclonalLikelihoodEnrichment subclonalLikelihoodEnrichment;
 
     public VariantContextEnrichmentPurple(double clonalityMaxPloidy, double clonalityBinWidth, @NotNull final String purpleVersion,
-            @NotNull final String tumorSample, @NotNull final IndexedFastaSequenceFile reference,
+            @NotNull final String tumorSample, @NotNull final ReferenceSequenceFile reference,
             @NotNull final PurityAdjuster purityAdjuster, @NotNull final List<PurpleCopyNumber> copyNumbers,
             @NotNull final List<FittedRegion> fittedRegions, @NotNull final List<PeakModel> peakModel,
             @NotNull final Consumer<VariantContext> consumer) {
@@ -40,6 +41,11 @@ public class VariantContextEnrichmentPurple implements VariantContextEnrichment
         subclonalLikelihoodEnrichment.flush();
     }
 
+    @NotNull
+    public Map<String, Integer> kataegisIdentifiers() {
+        return kataegisEnrichment.identifiers();
+    }
+
     @NotNull
     @Override
     public VCFHeader enrichHeader(@NotNull final VCFHeader template) {
@@ -42,6 +42,18 @@ public class KataegisQueue {
         buffer.add(context);
     }
 
+    @NotNull
+    public String idPrefix() {
+        return idPrefix;
+    }
+
+    /**
+     * Number of kataegis identifiers assigned so far, which is also the last identifier.
+     */
+    public int identifiers() {
+        return identifier;
+    }
+
     public void flush() {
         while (!buffer.isEmpty()) {
             processFirstContext();
@@ -1,11 +1,14 @@
 package com.hartwig.hmftools.common.actionability.cancertype;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
@@ -28,4 +31,35 @@ public class CancerTypeAnalyzerTest {
         assertFalse(cancerTypeAnalyzer.isCancerTypeMatch("Lung", "Lung"));
         assertTrue(cancerTypeAnalyzer.isCancerTypeMatch("NSCLC", "Lung"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void memoisedMatchesEqualUnmemoisedMatches() {
+        Map<String, Set<String>> cancerTypeMappings = Maps.newHashMap();
+        cancerTypeMappings.put("NSCLC", Sets.newHashSet("0010"));
+        cancerTypeMappings.put("Solid tumor", Sets.newHashSet("0010", "0020", "0030"));
+        cancerTypeMappings.put("Melanoma", Sets.newHashSet("0040"));
+
+        Map<String, Set<String>> primaryTumorLocationMappings = Maps.newHashMap();
+        primaryTumorLocationMappings.put("Lung", Sets.newHashSet("0010"));
+        primaryTumorLocationMappings.put("Breast", Sets.newHashSet("0020"));
+        primaryTumorLocationMappings.put("Skin", Sets.newHashSet("0040", "0050"));
+
+        CancerTypeAnalyzer cancerTypeAnalyzer = new CancerTypeAnalyzer(new CancerTypeToDOIDMapper(cancerTypeMappings),
+                new PrimaryTumorToDOIDMapper(primaryTumorLocationMappings));
+
+        List<String> cancerTypes = Lists.newArrayList("NSCLC", "Solid tumor", "Melanoma", "Unknown cancer type");
+        List<String> primaryTumorLocations = Lists.newArrayList("Lung", "Breast", "Skin", "Unknown location");
+
+        // Query every pair twice so that the second round is answered from the memoised results.
+        for (int round = 0; round < 2; round++) {
+            for (String primaryTumorLocation : primaryTumorLocations) {
+                for (String cancerType : cancerTypes) {
+                    assertEquals(cancerTypeAnalyzer.computeCancerTypeMatch(cancerType, primaryTumorLocation),
+                            cancerTypeAnalyzer.isCancerTypeMatch(cancerType, primaryTumorLocation));
+                }
+            }
+        }
+
+        assertFalse(cancerTypeAnalyzer.isCancerTypeMatch("NSCLC", null));
+    }
+}
@@ -1,12 +1,21 @@
 package com.hartwig.hmftools.common.cobalt;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
 import java.util.List;
 
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.io.Resources;
+import com.hartwig.hmftools.common.genome.chromosome.Chromosome;
 import com.hartwig.hmftools.common.genome.chromosome.HumanChromosome;
 
 import org.junit.Test;
@@ -27,4 +36,61 @@ public class CobaltRatioFileTest {
         final List<CobaltRatio> hg19 = Lists.newArrayList(CobaltRatioFile.read(HG19_PATH).get(HumanChromosome._1));
         assertEquals(4, hg19.size());
     }
+
+    @Test
+    public void testBinaryRoundTrip() throws IOException {
+        for (String path : new String[] { HG19_PATH, HG38_PATH }) {
+            final ListMultimap<Chromosome, CobaltRatio> text = CobaltRatioFile.read(path);
+            final File binary = File.createTempFile("cobalt", ".cobalt.ratio.bin");
+            binary.deleteOnExit();
+            CobaltRatioFile.writeBinary(binary.getPath(), path, text);
+
+            final ListMultimap<Chromosome, CobaltRatio> fromBinary = CobaltRatioFile.read(binary.getPath());
+            assertEquals(Lists.newArrayList(text.keySet()), Lists.newArrayList(fromBinary.keySet()));
+            assertEquals(Lists.newArrayList(text.values()), Lists.newArrayList(fromBinary.values()));
+        }
+    }
+
+    @Test
+    public void testBinaryIsOnlyUsedForUnchangedText() throws IOException {
+        final File text = File.createTempFile("cobalt", ".cobalt.ratio.tsv");
+        final File binary = File.createTempFile("cobalt", ".cobalt.ratio.bin");
+        text.deleteOnExit();
+        binary.deleteOnExit();
+
+        final ListMultimap<Chromosome, CobaltRatio> ratios = CobaltRatioFile.read(HG19_PATH);
+        CobaltRatioFile.write(text.getPath(), ratios);
+        CobaltRatioFile.writeBinary(binary.getPath(), text.getPath(), ratios);
+        assertTrue(CobaltRatioFile.isBinaryExportOf(binary.getPath(), text.getPath()));
+        assertFalse(CobaltRatioFile.isBinaryExportOf(binary.getPath(), HG38_PATH));
+        assertFalse(CobaltRatioFile.isBinaryExportOf(text.getPath(), text.getPath()));
+
+        // a regenerated text file no longer matches, even when written within the same second
+        Files.write(text.toPath(), Collections.singletonList("chromosome"), StandardOpenOption.APPEND);
+        assertFalse(CobaltRatioFile.isBinaryExportOf(binary.getPath(), text.getPath()));
+    }
+
+    @Test
+    public void testBinaryKeepsNonFiniteRatios() throws IOException {
+        final ListMultimap<Chromosome, CobaltRatio> ratios = ArrayListMultimap.create();
+        ratios.put(HumanChromosome._1,
+                ImmutableCobaltRatio.builder()
+                        .chromosome("1")
+                        .position(1001)
+                        .referenceReadCount(10)
+                        .tumorReadCount(20)
+                        .referenceGCRatio(Double.NaN)
+                        .tumorGCRatio(Double.POSITIVE_INFINITY)
+                        .referenceGCDiploidRatio(0.123456)
+                        .build());
+
+        final File binary = File.createTempFile("cobalt", ".cobalt.ratio.bin");
+        binary.deleteOnExit();
+        CobaltRatioFile.writeBinary(binary.getPath(), HG19_PATH, ratios);
+
+        final CobaltRatio ratio = CobaltRatioFile.read(binary.getPath()).get(HumanChromosome._1).get(0);
+        assertTrue(Double.isNaN(ratio.referenceGCRatio()));
+        assertEquals(Double.POSITIVE_INFINITY, ratio.tumorGCRatio(), 0);
+        assertEquals(0.1235, ratio.referenceGCDiploidRatio(), 0);
+    }
 }
@@ -1,5 +1,6 @@
 package com.hartwig.hmftools.common.ecrf;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
@@ -44,6 +45,17 @@ public class EcrfModelTest {
         assertFalse(hasPatient(model, "Does Not Exist"));
     }
 
+    @Test
+    public void canFindPatientsById() throws IOException, XMLStreamException {
+        final EcrfModel model = EcrfModel.loadFromXMLNoFormStates(TEST_ECRF);
+
+        assertEquals(Lists.newArrayList(model.patients()).size(), model.patientCount());
+        for (EcrfPatient patient : model.patients()) {
+            assertEquals(patient, model.findPatientById(patient.patientId()));
+        }
+        assertNull(model.findPatientById("Does Not Exist"));
+    }
+
     private static boolean hasField(@NotNull final EcrfModel model, @NotNull final String fieldId) {
         return Lists.newArrayList(model.findFieldsById(Lists.newArrayList(fieldId))).size() > 0;
     }
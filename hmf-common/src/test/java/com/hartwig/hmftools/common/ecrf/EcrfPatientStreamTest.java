@@ -0,0 +1,49 @@
+package com.hartwig.hmftools.common.ecrf;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import javax.xml.stream.XMLStreamException;
+
+import com.google.common.collect.Lists;
+import com.google.common.io.Resources;
+import com.hartwig.hmftools.common.ecrf.datamodel.EcrfPatient;
+
+import org.junit.Test;
+
+public class EcrfPatientStreamTest {
+
+    private static final String BASE_RESOURCE_DIR = Resources.getResource("ecrf").getPath();
+    private static final String TEST_ECRF = BASE_RESOURCE_DIR + File.separator + "example" + File.separator + "cpct_ecrf.xml";
+
+    @Test
+    public void streamsSamePatientsAsModel() throws IOException, XMLStreamException {
+        final EcrfModel model = EcrfModel.loadFromXMLNoFormStates(TEST_ECRF);
+
+        final List<EcrfPatient> streamedPatients = Lists.newArrayList();
+        try (EcrfPatientStream stream = EcrfPatientStream.openNoFormStates(TEST_ECRF)) {
+            assertEquals(Lists.newArrayList(model.fields()).size(), Lists.newArrayList(stream.fields()).size());
+            assertEquals(model.patientCount(), stream.forEachPatient(streamedPatients::add));
+        }
+
+        final List<EcrfPatient> modelPatients = Lists.newArrayList(model.patients());
+        assertEquals(modelPatients.size(), streamedPatients.size());
+        for (int i = 0; i < modelPatients.size(); i++) {
+            assertEquals(modelPatients.get(i).patientId(), streamedPatients.get(i).patientId());
+            assertEquals(modelPatients.get(i).fields().size(), streamedPatients.get(i).fields().size());
+        }
+    }
+
+    @Test
+    public void readsSamePatientIdsAsModel() throws IOException, XMLStreamException {
+        final EcrfModel model = EcrfModel.loadFromXMLNoFormStates(TEST_ECRF);
+
+        final List<String> modelPatientIds = Lists.newArrayList();
+        model.patients().forEach(patient -> modelPatientIds.add(patient.patientId()));
+
+        assertEquals(modelPatientIds, EcrfPatientStream.readPatientIds(TEST_ECRF));
+    }
+}
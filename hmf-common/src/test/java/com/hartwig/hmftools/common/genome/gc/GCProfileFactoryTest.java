@@ -5,6 +5,7 @@ import static org.junit.Assert.assertEquals;
 import java.io.File;
 import java.io.IOException;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
 import com.google.common.io.Resources;
 import com.hartwig.hmftools.common.genome.chromosome.Chromosome;
@@ -20,4 +21,16 @@ public class GCProfileFactoryTest {
         final Multimap<Chromosome, GCProfile> gcContent = GCProfileFactory.loadGCContent(1000, BASE_PATH + "GC_profile.1000bp.cnp");
         assertEquals(100, gcContent.size());
     }
+
+    @Test
+    public void canLoadBinaryExport() throws IOException {
+        final Multimap<Chromosome, GCProfile> text = GCProfileFactory.loadGCContent(1000, BASE_PATH + "GC_profile.1000bp.cnp");
+        final File binary = File.createTempFile("gc_profile", ".bin");
+        binary.deleteOnExit();
+        GCProfileFactory.writeBinary(binary.getPath(), text);
+
+        final Multimap<Chromosome, GCProfile> fromBinary = GCProfileFactory.loadGCContent(1000, binary.getPath());
+        assertEquals(Lists.newArrayList(text.keySet()), Lists.newArrayList(fromBinary.keySet()));
+        assertEquals(Lists.newArrayList(text.values()), Lists.newArrayList(fromBinary.values()));
+    }
 }
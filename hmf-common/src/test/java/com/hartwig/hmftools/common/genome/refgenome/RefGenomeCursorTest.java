@@ -0,0 +1,84 @@
+package com.hartwig.hmftools.common.genome.refgenome;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Random;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import htsjdk.samtools.reference.IndexedFastaSequenceFile;
+
+public class RefGenomeCursorTest {
+
+    private static final String BASES = "ACGT";
+    private static final int LINE_LENGTH = 60;
+
+    @Test
+    public void testSameBasesAsSubsequence() throws IOException {
+        final Random random = new Random(0);
+        final File fasta = createFasta(random, new int[] { 1000, 250, 777 });
+
+        try (IndexedFastaSequenceFile reference = new IndexedFastaSequenceFile(fasta)) {
+            final RefGenomeCursor victim = new RefGenomeCursor(reference, 100);
+
+            // Sorted access
+            for (int contig = 1; contig <= 3; contig++) {
+                final int length = reference.getSequenceDictionary().getSequence(String.valueOf(contig)).getSequenceLength();
+                for (int start = 1; start < length; start += random.nextInt(40)) {
+                    assertSameBases(reference, victim, String.valueOf(contig), start, Math.min(length, start + random.nextInt(150)));
+                }
+            }
+
+            // Random access
+            for (int i = 0; i < 500; i++) {
+                final String contig = String.valueOf(1 + random.nextInt(3));
+                final int length = reference.getSequenceDictionary().getSequence(contig).getSequenceLength();
+                final int start = 1 + random.nextInt(length);
+                assertSameBases(reference, victim, contig, start, Math.min(length, start + random.nextInt(150)));
+            }
+        }
+    }
+
+    private static void assertSameBases(@NotNull final IndexedFastaSequenceFile reference, @NotNull final RefGenomeCursor victim,
+            @NotNull final String contig, long start, long end) {
+        assertArrayEquals(reference.getSubsequenceAt(contig, start, end).getBases(), victim.bases(contig, start, end));
+    }
+
+    @NotNull
+    private static File createFasta(@NotNull final Random random, @NotNull final int[] lengths) throws IOException {
+        final File fasta = File.createTempFile("ref_genome_cursor", ".fasta");
+        final File index = new File(fasta.getPath() + ".fai");
+        final File dictionary = new File(fasta.getPath().replace(".fasta", ".dict"));
+        fasta.deleteOnExit();
+        index.deleteOnExit();
+        dictionary.deleteOnExit();
+
+        long offset = 0;
+        try (PrintWriter fastaWriter = new PrintWriter(fasta); PrintWriter indexWriter = new PrintWriter(index);
+                PrintWriter dictionaryWriter = new PrintWriter(dictionary)) {
+            dictionaryWriter.print("@HD\tVN:1.5\n");
+            for (int contig = 0; contig < lengths.length; contig++) {
+                dictionaryWriter.print("@SQ\tSN:" + (contig + 1) + "\tLN:" + lengths[contig] + "\n");
+
+                final String header = ">" + (contig + 1) + "\n";
+                fastaWriter.print(header);
+                offset += header.length();
+                indexWriter.print((contig + 1) + "\t" + lengths[contig] + "\t" + offset + "\t" + LINE_LENGTH + "\t" + (LINE_LENGTH + 1)
+                        + "\n");
+
+                for (int i = 0; i < lengths[contig]; i++) {
+                    fastaWriter.print(BASES.charAt(random.nextInt(BASES.length())));
+                    if ((i + 1) % LINE_LENGTH == 0 || i + 1 == lengths[contig]) {
+                        fastaWriter.print("\n");
+                    }
+                }
+                offset += lengths[contig] + (lengths[contig] + LINE_LENGTH - 1) / LINE_LENGTH;
+            }
+        }
+        return fasta;
+    }
+}
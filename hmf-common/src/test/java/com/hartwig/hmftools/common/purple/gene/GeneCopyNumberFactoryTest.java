@@ -0,0 +1,128 @@
+package com.hartwig.hmftools.common.purple.gene;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.google.common.collect.Lists;
+import com.hartwig.hmftools.common.genome.region.HmfExonRegion;
+import com.hartwig.hmftools.common.genome.region.HmfTranscriptRegion;
+import com.hartwig.hmftools.common.genome.region.ImmutableHmfExonRegion;
+import com.hartwig.hmftools.common.genome.region.ImmutableHmfTranscriptRegion;
+import com.hartwig.hmftools.common.genome.region.Strand;
+import com.hartwig.hmftools.common.purple.PurpleDatamodelTest;
+import com.hartwig.hmftools.common.purple.copynumber.CopyNumberMethod;
+import com.hartwig.hmftools.common.purple.copynumber.PurpleCopyNumber;
+import com.hartwig.hmftools.common.utils.zipper.RegionZipper;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+public class GeneCopyNumberFactoryTest {
+
+    private static final List<String> CHROMOSOMES = Lists.newArrayList("1", "2", "X", "Y");
+    private static final long CHROMOSOME_LENGTH = 1_000_000;
+
+    @Test
+    public void testSameResultAsZippingEachGene() throws ExecutionException, InterruptedException {
+        final ExecutorService executorService = Executors.newFixedThreadPool(3);
+        try {
+            for (int seed = 0; seed < 20; seed++) {
+                final Random random = new Random(seed);
+                final List<HmfTranscriptRegion> genes = genes(random, 300);
+                final List<PurpleCopyNumber> somatics = copyNumbers(random, CHROMOSOMES, 200, CopyNumberMethod.BAF_WEIGHTED);
+                final List<PurpleCopyNumber> germline = seed % 4 == 0
+                        ? Collections.emptyList()
+                        : copyNumbers(random, CHROMOSOMES.subList(seed % 3, 4), 3, CopyNumberMethod.GERMLINE_HOM_DELETION);
+
+                final List<GeneCopyNumber> expected = zipEachGene(genes, somatics, germline);
+                assertEquals(expected, GeneCopyNumberFactory.geneCopyNumbers(genes, somatics, germline));
+                assertEquals(expected, GeneCopyNumberFactory.geneCopyNumbers(executorService, genes, somatics, germline));
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @NotNull
+    private static List<GeneCopyNumber> zipEachGene(@NotNull final List<HmfTranscriptRegion> genes,
+            @NotNull final List<PurpleCopyNumber> somaticCopyNumbers, @NotNull final List<PurpleCopyNumber> germlineDeletions) {
+        final List<GeneCopyNumber> result = Lists.newArrayList();
+        for (HmfTranscriptRegion gene : genes) {
+            final GeneCopyNumberBuilder builder = new GeneCopyNumberBuilder(gene);
+            RegionZipper.zip(somaticCopyNumbers, gene.exome(), builder);
+            RegionZipper.zip(germlineDeletions, gene.exome(), builder);
+
+            GeneCopyNumber geneCopyNumber = builder.build();
+            if (geneCopyNumber.totalRegions() > 0) {
+                result.add(geneCopyNumber);
+            }
+        }
+        return result;
+    }
+
+    @NotNull
+    private static List<PurpleCopyNumber> copyNumbers(@NotNull final Random random, @NotNull final List<String> chromosomes,
+            int maxPerChromosome, @NotNull final CopyNumberMethod method) {
+        final List<PurpleCopyNumber> result = Lists.newArrayList();
+        for (String chromosome : chromosomes) {
+            long start = 1 + random.nextInt(1000);
+            final int count = random.nextInt(maxPerChromosome + 1);
+            for (int i = 0; i < count && start < CHROMOSOME_LENGTH; i++) {
+                final long end = Math.min(CHROMOSOME_LENGTH, start + random.nextInt(20_000));
+                result.add(PurpleDatamodelTest.createCopyNumber(chromosome, start, end, random.nextInt(4))
+                        .method(method)
+                        .averageActualBAF(random.nextBoolean() ? 0.5 : 1)
+                        .build());
+                start = end + 1 + (random.nextBoolean() ? 0 : random.nextInt(5_000));
+            }
+        }
+        return result;
+    }
+
+    @NotNull
+    private static List<HmfTranscriptRegion> genes(@NotNull final Random random, int count) {
+        final List<HmfTranscriptRegion> result = Lists.newArrayList();
+        for (String chromosome : CHROMOSOMES) {
+            for (int i = 0; i < count / CHROMOSOMES.size(); i++) {
+                final long geneStart = 1 + random.nextInt((int) CHROMOSOME_LENGTH - 100_000);
+                long exonStart = geneStart;
+                final List<HmfExonRegion> exome = Lists.newArrayList();
+                final int exons = random.nextInt(6);
+                for (int j = 0; j < exons; j++) {
+                    final long exonEnd = exonStart + random.nextInt(2_000);
+                    exome.add(ImmutableHmfExonRegion.builder().exonID("ID").chromosome(chromosome).start(exonStart).end(exonEnd).build());
+                    exonStart = exonEnd + 1 + random.nextInt(10_000);
+                }
+                result.add(gene(chromosome, geneStart, exonStart, exome));
+            }
+        }
+        return result;
+    }
+
+    @NotNull
+    private static HmfTranscriptRegion gene(@NotNull final String chromosome, long start, long end, @NotNull List<HmfExonRegion> exome) {
+        return ImmutableHmfTranscriptRegion.builder()
+                .chromosome(chromosome)
+                .start(start)
+                .end(end)
+                .gene("GENE" + start)
+                .transcriptID("ID")
+                .transcriptVersion(1)
+                .chromosomeBand("BAND")
+                .entrezId(Collections.singletonList(1))
+                .geneID("ID")
+                .geneStart(start)
+                .geneEnd(end)
+                .codingStart(0)
+                .codingEnd(0)
+                .strand(Strand.FORWARD)
+                .exome(exome)
+                .build();
+    }
+}
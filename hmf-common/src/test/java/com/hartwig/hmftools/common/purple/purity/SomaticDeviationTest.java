@@ -7,6 +7,7 @@ import com.hartwig.hmftools.common.purple.gender.Gender;
 import com.hartwig.hmftools.common.variant.AllelicDepth;
 import com.hartwig.hmftools.common.variant.ImmutableAllelicDepthImpl;
 
+import org.apache.commons.math3.distribution.BinomialDistribution;
 import org.jetbrains.annotations.NotNull;
 import org.junit.Test;
 
@@ -25,6 +26,29 @@ public class SomaticDeviationTest {
         assertEquals(0.65, deviationFromMax, 0.01);
     }
 
+    @Test
+    public void testMaxConceivableReadsMatchesBinomialQuantile() {
+        PurityAdjuster purityAdjuster = new PurityAdjuster(Gender.FEMALE, 0.64, 1.02);
+        for (int totalReadCount = 1; totalReadCount < 400; totalReadCount += 7) {
+            for (double tumorCopyNumber = 0; tumorCopyNumber < 6; tumorCopyNumber += 0.37) {
+                double majorAllelePloidy = tumorCopyNumber / 2;
+                double expectedVAF = purityAdjuster.expectedFrequency(2, 0, tumorCopyNumber, majorAllelePloidy);
+                double p = 1d * Math.round(expectedVAF * totalReadCount * 100) / 100 / 10_000;
+                int expected = new BinomialDistribution(10_000, Math.min(1, p)).inverseCumulativeProbability(0.999);
+
+                // Twice to read back the cached value
+                for (int i = 0; i < 2; i++) {
+                    assertEquals(expected,
+                            SomaticDeviation.INSTANCE.maxConceivableReads(purityAdjuster,
+                                    2,
+                                    depth(0, totalReadCount),
+                                    tumorCopyNumber,
+                                    majorAllelePloidy));
+                }
+            }
+        }
+    }
+
     @NotNull
     private static AllelicDepth depth(int alleleReadCount, int totalReadCount) {
         return ImmutableAllelicDepthImpl.builder().alleleReadCount(alleleReadCount).totalReadCount(totalReadCount).build();
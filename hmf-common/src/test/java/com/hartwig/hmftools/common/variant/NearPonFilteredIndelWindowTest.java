@@ -0,0 +1,52 @@
+package com.hartwig.hmftools.common.variant;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.Random;
+
+import com.google.common.collect.Lists;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import htsjdk.variant.variantcontext.VariantContext;
+
+public class NearPonFilteredIndelWindowTest {
+
+    private static final String[] REFS = { "T", "TA", "TAG", "TAGGGGGGGGGGGG" };
+
+    @Test
+    public void testSameFiltersAsCompleteList() {
+        for (int seed = 0; seed < 50; seed++) {
+            final Random random = new Random(seed);
+            final List<VariantContext> contexts = Lists.newArrayList();
+            for (String contig : new String[] { "1", "2" }) {
+                int position = 1;
+                for (int i = 0; i < 200; i++) {
+                    position += random.nextInt(25);
+                    contexts.add(create(random, contig, position));
+                }
+            }
+
+            final List<VariantContext> windowed = Lists.newArrayList();
+            final NearPonFilteredIndelWindow victim = new NearPonFilteredIndelWindow(windowed::add);
+            contexts.forEach(victim);
+            victim.flush();
+
+            assertEquals(contexts.size(), windowed.size());
+            for (int i = 0; i < contexts.size(); i++) {
+                assertEquals(NearPonFilteredIndel.isNearPonFilteredIndel(i, contexts),
+                        windowed.get(i).getFilters().contains(NearPonFilteredIndelWindow.NEAR_INDEL_PON_FILTER));
+            }
+        }
+    }
+
+    @NotNull
+    private static VariantContext create(@NotNull final Random random, @NotNull final String contig, int start) {
+        final String ref = REFS[random.nextInt(REFS.length)];
+        final String filter = random.nextInt(10) == 0 ? "GERMLINE_PON" : "PASS";
+        final String line = contig + "\t" + start + "\t.\t" + ref + "\tA\t.\t" + filter + "\t.\tGT:AD:DP\t0/1:73,17:91";
+        return VariantContextFromString.decode(line);
+    }
+}
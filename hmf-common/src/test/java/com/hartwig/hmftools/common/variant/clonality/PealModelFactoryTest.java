@@ -2,13 +2,22 @@ package com.hartwig.hmftools.common.variant.clonality;
 
 import static com.hartwig.hmftools.common.variant.clonality.WeightedPloidyHistogramTest.readResource;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 
+import org.apache.commons.math3.distribution.BinomialDistribution;
+import org.jetbrains.annotations.NotNull;
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -27,6 +36,94 @@ public class PealModelFactoryTest {
         victim.modelPeakHistogram(8.18, Lists.newArrayList(WeightedPloidyHistogramTest.create(8.18, 18, 55)));
     }
 
+    @Test
+    public void testSameHistogramAsBinomialDistributionPerBucket() {
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            final PeakModelFactory sequential = new PeakModelFactory(10, 0.05);
+            final PeakModelFactory parallel = new PeakModelFactory(10, 0.05, executorService, 4);
+            final Random random = new Random(0);
+            for (int i = 0; i < 20; i++) {
+                final double peak = 0.1 + random.nextDouble() * 4;
+                final List<WeightedPloidy> peakPloidies = Lists.newArrayList();
+                for (int j = 0; j < 50; j++) {
+                    final int totalReadCount = 10 + random.nextInt(150);
+                    final int alleleReadCount = 1 + random.nextInt(totalReadCount);
+                    final double ploidy = peak - 0.025 + random.nextDouble() * 0.05;
+                    peakPloidies.add(WeightedPloidyHistogramTest.create(ploidy, alleleReadCount, totalReadCount));
+                }
+
+                final double[] expected = binomialDistributionPerBucket(sequential, peak, peakPloidies);
+                assertArrayEquals(expected, sequential.modelPeakHistogram(peak, peakPloidies), 0);
+                assertArrayEquals(expected, parallel.modelPeakHistogram(peak, peakPloidies), 0);
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testDeepVariantsOnlyCacheUsedProbabilities() {
+        final PeakModelFactory victim = new PeakModelFactory(10, 0.05);
+        final Random random = new Random(1);
+        final double peak = 1;
+        final List<WeightedPloidy> peakPloidies = Lists.newArrayList();
+        long totalReads = 0;
+        for (int j = 0; j < 10; j++) {
+            final int totalReadCount = 200_000 + random.nextInt(100_000);
+            final int alleleReadCount = totalReadCount / 4 + random.nextInt(1000);
+            peakPloidies.add(WeightedPloidyHistogramTest.create(peak - 0.025 + random.nextDouble() * 0.05, alleleReadCount, totalReadCount));
+            totalReads += totalReadCount;
+        }
+
+        assertArrayEquals(binomialDistributionPerBucket(victim, peak, peakPloidies), victim.modelPeakHistogram(peak, peakPloidies), 0);
+        assertTrue(victim.cachedProbabilityCount() < totalReads / 10);
+    }
+
+    @NotNull
+    private static double[] binomialDistributionPerBucket(@NotNull final PeakModelFactory factory, double peak,
+            @NotNull final List<WeightedPloidy> peakPloidies) {
+        final Map<String, BinomialDistribution> distributions = Maps.newHashMap();
+        final double offset = factory.offset(peak);
+        final double[] result = new double[(int) Math.round(10 / 0.05) + 1];
+        final double[] weight = new double[peakPloidies.size()];
+        for (int i = 0; i < peakPloidies.size(); i++) {
+            weight[i] = peakPloidies.get(i).weight() / ploidyLikelihood(distributions, peak, peakPloidies.get(i));
+        }
+
+        final int startBucket = (int) Math.round((peak - offset) / 0.05);
+        for (int direction : new int[] { 1, -1 }) {
+            for (int i = direction == 1 ? startBucket : startBucket - 1; i >= 0 && i < result.length; i += direction) {
+                double likelihood = 0;
+                for (int j = 0; j < peakPloidies.size(); j++) {
+                    likelihood += weight[j] * ploidyLikelihood(distributions, i * 0.05 + offset, peakPloidies.get(j));
+                }
+                result[i] = likelihood;
+                if (Math.abs(likelihood) < 1e-10) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static double ploidyLikelihood(@NotNull final Map<String, BinomialDistribution> distributions, double ploidy,
+            @NotNull final WeightedPloidy weighted) {
+        final BinomialDistribution distribution = distributions.computeIfAbsent(
+                weighted.alleleReadCount() + ":" + weighted.totalReadCount(),
+                s -> new BinomialDistribution(weighted.totalReadCount(), weighted.alleleFrequency()));
+
+        double lower = Math.max(0, ploidy - 0.025) / weighted.ploidy() * weighted.alleleReadCount();
+        int lowerRounded = (int) Math.round(lower);
+        double upper = Math.max(0, ploidy + 0.025) / weighted.ploidy() * weighted.alleleReadCount();
+        int upperRounded = (int) Math.round(upper);
+
+        double rawResult = distribution.cumulativeProbability(upperRounded) - distribution.cumulativeProbability(lowerRounded)
+                + (lowerRounded + 0.5 - lower) * distribution.probability(lowerRounded)
+                - (upperRounded + 0.5 - upper) * distribution.probability(upperRounded);
+        return Math.round(rawResult * 100) / 100d;
+    }
+
     @Ignore
     public void testPeakModelling() {
         long startTime = new Date().getTime();
@@ -10,7 +10,7 @@ import java.io.File
 import java.util.logging.Level
 import java.util.logging.Logger
 
-class DiseaseOntology(fileLocation: String) {
+class DiseaseOntology(fileLocation: String, cacheDirectory: File = DoidClosureIndex.defaultCacheDirectory()) {
     companion object {
         private val diseaseIRI = IRI.create("http://purl.obolibrary.org/obo/DOID_4")
 
@@ -29,6 +29,23 @@ class DiseaseOntology(fileLocation: String) {
             return reasoner
         }
 
+        private fun createClosureIndex(fileLocation: String): DoidClosureIndex {
+            val ontology = createOntology(fileLocation)
+            val reasoner = createReasoner(ontology)
+            val classes = ontology.getClassesInSignature(true).filterNot { it.isOWLNothing || it.isOWLThing }
+            val codes = classes.withIndex().associate { Pair(it.value, it.index) }
+            val ancestors = classes.map { owlClass -> superClasses(owlClass, reasoner).mapNotNull { codes[it] } }
+            val descendants = classes.map { owlClass -> subClasses(owlClass, reasoner).mapNotNull { codes[it] } }
+            val diseaseNameToCode = createDiseaseMapping(ontology, reasoner).mapNotNull { (name, disease) ->
+                codes[disease]?.let { Pair(name, it) }
+            }.toMap()
+            return DoidClosureIndex.build(classes.map { doidValue(it) }, ancestors, descendants, diseaseNameToCode)
+        }
+
+        private fun doidValue(owlClass: OWLClass): String {
+            return owlClass.toString().substringAfter("DOID_").substringBefore('>')
+        }
+
         private fun createDiseaseMapping(ontology: OWLOntology, reasoner: OWLReasoner): Map<String, OWLClass> {
             val diseaseClass = ontology.owlOntologyManager.owlDataFactory.getOWLClass(diseaseIRI)
             val diseases = setOf(diseaseClass) + subClasses(diseaseClass, reasoner)
@@ -61,27 +78,15 @@ class DiseaseOntology(fileLocation: String) {
         }
     }
 
-    private val ontology by lazy { createOntology(fileLocation) }
-    private val reasoner by lazy { createReasoner(ontology) }
-    private val diseaseNameToClass by lazy { createDiseaseMapping(ontology, reasoner) }
+    // The closure is cached per owl file, so the ontology and reasoner are only loaded the first time a file is used.
+    private val closureIndex by lazy { DoidClosureIndex.cached(File(fileLocation), cacheDirectory) { createClosureIndex(fileLocation) } }
 
     fun findDoids(cancerType: String): Set<Doid> {
-        val cancerClass = diseaseNameToClass[cancerType.toLowerCase().trim()]
-        cancerClass ?: return emptySet()
-        return findDoids(cancerClass)
+        return closureIndex.findDoids(cancerType.toLowerCase().trim())
     }
 
     fun findDoids(cancerDoid: Doid): Set<Doid> {
         if (cancerDoid.value.isEmpty()) return emptySet()
-        val cancerIRI = IRI.create("http://purl.obolibrary.org/obo/DOID_${cancerDoid.value}")
-        return findDoids(ontology.owlOntologyManager.owlDataFactory.getOWLClass(cancerIRI))
-    }
-
-    private fun findDoids(cancerClass: OWLClass): Set<Doid> {
-        val relevantClasses = setOf(cancerClass) + subClasses(cancerClass, reasoner) + superClasses(cancerClass, reasoner)
-        return relevantClasses.map { it.toString().substringAfter("DOID_").substringBefore('>') }
-                .filterNot { it.isBlank() }
-                .map { Doid(it) }
-                .toSet()
+        return closureIndex.findDoids(cancerDoid)
     }
 }
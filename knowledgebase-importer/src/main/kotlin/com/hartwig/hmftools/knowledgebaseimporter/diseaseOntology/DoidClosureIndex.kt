@@ -0,0 +1,166 @@
+package com.hartwig.hmftools.knowledgebaseimporter.diseaseOntology
+
+import com.google.common.hash.Hashing
+import org.apache.logging.log4j.LogManager
+import java.io.*
+import java.nio.ByteBuffer
+import java.nio.file.Files
+import java.nio.file.StandardCopyOption
+import java.util.zip.CRC32
+import com.google.common.io.Files as GuavaFiles
+
+// Transitive closure of the disease ontology class hierarchy. Every class is coded as an int, and the ancestors of class i are
+// ancestors[ancestorOffsets[i] until ancestorOffsets[i + 1]] (and likewise for descendants). Disease labels and exact synonyms map to
+// the code of their class, so a lookup is a hash lookup plus a slice of the arrays.
+class DoidClosureIndex(private val doids: Array<String>, private val ancestorOffsets: IntArray, private val ancestors: IntArray,
+                       private val descendantOffsets: IntArray, private val descendants: IntArray,
+                       private val diseaseNameToCode: Map<String, Int>) {
+    companion object {
+        private val logger = LogManager.getLogger("DoidClosureIndex")
+        private const val FORMAT_VERSION = 2
+        private const val CHECKSUM_BYTES = 8
+        private const val CACHE_DIRECTORY = "hmf_doid_closure"
+
+        fun defaultCacheDirectory(): File = File(System.getProperty("java.io.tmpdir"), CACHE_DIRECTORY)
+
+        // Loads the index cached for this exact owl file, or builds (and caches) it when there is none yet or the cache is unreadable.
+        fun cached(owlFile: File, cacheDirectory: File = defaultCacheDirectory(), build: () -> DoidClosureIndex): DoidClosureIndex {
+            val hash = GuavaFiles.asByteSource(owlFile).hash(Hashing.sha256()).toString()
+            val cacheFile = File(cacheDirectory, "$hash.idx")
+            if (cacheFile.exists()) {
+                val index = readCache(cacheFile)
+                if (index != null) {
+                    logger.info("Loaded disease ontology closure from $cacheFile")
+                    return index
+                }
+            }
+
+            val index = build()
+            writeCache(index, cacheFile)
+            return index
+        }
+
+        // Returns null when the cache file is truncated, corrupt or written in another format.
+        private fun readCache(cacheFile: File): DoidClosureIndex? {
+            return try {
+                val bytes = Files.readAllBytes(cacheFile.toPath())
+                val payloadLength = bytes.size - CHECKSUM_BYTES
+                if (payloadLength < 0 || checksum(bytes, payloadLength) != ByteBuffer.wrap(bytes, payloadLength, CHECKSUM_BYTES).long) {
+                    logger.warn("Ignoring corrupt disease ontology closure in $cacheFile")
+                    return null
+                }
+                DataInputStream(ByteArrayInputStream(bytes, 0, payloadLength)).use { read(it) }
+            } catch (exception: IOException) {
+                logger.warn("Could not read disease ontology closure from $cacheFile: ${exception.message}")
+                null
+            } catch (exception: RuntimeException) {
+                logger.warn("Could not read disease ontology closure from $cacheFile: $exception")
+                null
+            }
+        }
+
+        // The cache is only an optimisation, so a failure to write it is logged and the built index is used as is.
+        private fun writeCache(index: DoidClosureIndex, cacheFile: File) {
+            var tempFile: File? = null
+            try {
+                val bytes = ByteArrayOutputStream()
+                DataOutputStream(bytes).use { index.write(it) }
+                val payload = bytes.toByteArray()
+
+                cacheFile.parentFile.mkdirs()
+                tempFile = File.createTempFile(cacheFile.nameWithoutExtension, ".tmp", cacheFile.parentFile)
+                FileOutputStream(tempFile).use {
+                    it.write(payload)
+                    it.write(ByteBuffer.allocate(CHECKSUM_BYTES).putLong(checksum(payload, payload.size)).array())
+                }
+                Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING)
+                logger.info("Cached disease ontology closure in $cacheFile")
+            } catch (exception: IOException) {
+                logger.warn("Could not cache disease ontology closure in $cacheFile: ${exception.message}")
+            } finally {
+                tempFile?.delete()
+            }
+        }
+
+        private fun checksum(bytes: ByteArray, length: Int): Long {
+            val crc = CRC32()
+            crc.update(bytes, 0, length)
+            return crc.value
+        }
+
+        fun build(doids: List<String>, ancestors: List<List<Int>>, descendants: List<List<Int>>,
+                  diseaseNameToCode: Map<String, Int>): DoidClosureIndex {
+            val (ancestorOffsets, ancestorCodes) = toCsr(ancestors)
+            val (descendantOffsets, descendantCodes) = toCsr(descendants)
+            return DoidClosureIndex(doids.toTypedArray(), ancestorOffsets, ancestorCodes, descendantOffsets, descendantCodes,
+                                    diseaseNameToCode)
+        }
+
+        private fun toCsr(codesPerClass: List<List<Int>>): Pair<IntArray, IntArray> {
+            val offsets = IntArray(codesPerClass.size + 1)
+            codesPerClass.forEachIndexed { code, codes -> offsets[code + 1] = offsets[code] + codes.size }
+            val values = IntArray(offsets[codesPerClass.size])
+            codesPerClass.forEachIndexed { code, codes -> codes.sorted().forEachIndexed { i, value -> values[offsets[code] + i] = value } }
+            return Pair(offsets, values)
+        }
+
+        // Returns null when the index was written in another format.
+        private fun read(input: DataInputStream): DoidClosureIndex? {
+            if (input.readInt() != FORMAT_VERSION) return null
+            val doids = Array(input.readInt()) { input.readUTF() }
+            val ancestorOffsets = readInts(input)
+            val ancestors = readInts(input)
+            val descendantOffsets = readInts(input)
+            val descendants = readInts(input)
+            val diseaseNameToCode = HashMap<String, Int>()
+            repeat(input.readInt()) { diseaseNameToCode[input.readUTF()] = input.readInt() }
+            return DoidClosureIndex(doids, ancestorOffsets, ancestors, descendantOffsets, descendants, diseaseNameToCode)
+        }
+
+        private fun readInts(input: DataInputStream): IntArray {
+            return IntArray(input.readInt()) { input.readInt() }
+        }
+
+        private fun writeInts(output: DataOutputStream, values: IntArray) {
+            output.writeInt(values.size)
+            values.forEach { output.writeInt(it) }
+        }
+    }
+
+    private val doidToCode: Map<String, Int> = doids.withIndex().associate { Pair(it.value, it.index) }
+
+    private fun write(output: DataOutputStream) {
+        output.writeInt(FORMAT_VERSION)
+        output.writeInt(doids.size)
+        doids.forEach { output.writeUTF(it) }
+        writeInts(output, ancestorOffsets)
+        writeInts(output, ancestors)
+        writeInts(output, descendantOffsets)
+        writeInts(output, descendants)
+        output.writeInt(diseaseNameToCode.size)
+        diseaseNameToCode.forEach { (name, code) ->
+            output.writeUTF(name)
+            output.writeInt(code)
+        }
+    }
+
+    fun findDoids(diseaseName: String): Set<Doid> {
+        val code = diseaseNameToCode[diseaseName] ?: return emptySet()
+        return findDoids(code)
+    }
+
+    // Classes unknown to the ontology have neither ancestors nor descendants, so they only match themselves.
+    fun findDoids(doid: Doid): Set<Doid> {
+        val code = doidToCode[doid.value] ?: return if (doid.value.isBlank()) emptySet() else setOf(doid)
+        return findDoids(code)
+    }
+
+    private fun findDoids(code: Int): Set<Doid> {
+        val relevantCodes = listOf(code) + slice(ancestors, ancestorOffsets, code) + slice(descendants, descendantOffsets, code)
+        return relevantCodes.map { doids[it] }.filterNot { it.isBlank() }.map { Doid(it) }.toSet()
+    }
+
+    private fun slice(values: IntArray, offsets: IntArray, code: Int): List<Int> {
+        return (offsets[code] until offsets[code + 1]).map { values[it] }
+    }
+}
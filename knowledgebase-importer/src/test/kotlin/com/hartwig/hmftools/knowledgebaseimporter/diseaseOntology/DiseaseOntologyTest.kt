@@ -0,0 +1,115 @@
+package com.hartwig.hmftools.knowledgebaseimporter.diseaseOntology
+
+import io.kotlintest.matchers.shouldBe
+import io.kotlintest.specs.StringSpec
+import org.semanticweb.HermiT.Reasoner
+import org.semanticweb.owlapi.apibinding.OWLManager
+import org.semanticweb.owlapi.model.IRI
+import org.semanticweb.owlapi.model.OWLClass
+import org.semanticweb.owlapi.model.OWLLiteral
+import java.io.File
+import java.nio.file.Files
+
+class DiseaseOntologyTest : StringSpec() {
+    private val owlFile = File(javaClass.getResource("/doid_test.owl").toURI())
+    private val diseaseNames = listOf("disease", "cancer", "malignant neoplasm", "breast cancer", " Malignant Tumor Of The Breast ",
+                                      "breast carcinoma", "triple-receptor negative breast cancer", "lung cancer", "syndrome",
+                                      "unknown disease", "")
+    private val doids = listOf("4", "162", "1612", "3459", "0080182", "1324", "225", "9999999", "").map { Doid(it) }
+
+    init {
+        "finds the same doids as the reasoner" {
+            val expected = ReasonerLookup(owlFile)
+            val ontology = DiseaseOntology(owlFile.path, cacheDirectory())
+            diseaseNames.forEach { ontology.findDoids(it) shouldBe expected.findDoids(it) }
+            doids.forEach { ontology.findDoids(it) shouldBe expected.findDoids(it) }
+        }
+
+        "finds unknown doids only" {
+            val ontology = DiseaseOntology(owlFile.path, cacheDirectory())
+            ontology.findDoids(Doid("9999999")) shouldBe setOf(Doid("9999999"))
+            ontology.findDoids(Doid("")) shouldBe emptySet<Doid>()
+            ontology.findDoids("unknown disease") shouldBe emptySet<Doid>()
+            ontology.findDoids("breast carcinoma") shouldBe setOf("4", "162", "1612", "3459", "0080182").map { Doid(it) }.toSet()
+        }
+
+        "finds the same doids from the cached closure" {
+            val cacheDirectory = cacheDirectory()
+            val built = DiseaseOntology(owlFile.path, cacheDirectory)
+            val builtDoids = doids.map { built.findDoids(it) } + diseaseNames.map { built.findDoids(it) }
+            cacheDirectory.listFiles().size shouldBe 1
+
+            val cached = DiseaseOntology(owlFile.path, cacheDirectory)
+            doids.map { cached.findDoids(it) } + diseaseNames.map { cached.findDoids(it) } shouldBe builtDoids
+        }
+
+        "rebuilds a truncated or corrupt cached closure" {
+            val cacheDirectory = cacheDirectory()
+            val built = DiseaseOntology(owlFile.path, cacheDirectory)
+            val expected = doids.map { built.findDoids(it) }
+            val cacheFile = cacheDirectory.listFiles().single()
+            val bytes = cacheFile.readBytes()
+
+            cacheFile.writeBytes(bytes.copyOf(bytes.size / 2))
+            doids.map { DiseaseOntology(owlFile.path, cacheDirectory).findDoids(it) } shouldBe expected
+            cacheFile.length() shouldBe bytes.size.toLong()
+
+            cacheFile.writeBytes(bytes.copyOf().also { it[bytes.size / 2] = (it[bytes.size / 2] + 1).toByte() })
+            doids.map { DiseaseOntology(owlFile.path, cacheDirectory).findDoids(it) } shouldBe expected
+            cacheFile.length() shouldBe bytes.size.toLong()
+            cacheDirectory.listFiles().size shouldBe 1
+        }
+    }
+
+    private fun cacheDirectory(): File {
+        val directory = Files.createTempDirectory("doid_closure").toFile()
+        directory.deleteOnExit()
+        return directory
+    }
+
+    // Looks up doids with the reasoner on every call, the way disease ontology did before the closure was cached.
+    private class ReasonerLookup(owlFile: File) {
+        private val ontology = OWLManager.createOWLOntologyManager().loadOntologyFromOntologyDocument(owlFile)
+        private val reasoner = Reasoner.ReasonerFactory().createReasoner(ontology)
+        private val dataFactory = ontology.owlOntologyManager.owlDataFactory
+        private val diseaseNameToClass: Map<String, OWLClass>
+
+        init {
+            val diseaseClass = dataFactory.getOWLClass(IRI.create("http://purl.obolibrary.org/obo/DOID_4"))
+            val diseases = setOf(diseaseClass) + related(reasoner.getSubClasses(diseaseClass, false).flattened)
+            val synonyms = diseases.flatMap { disease ->
+                disease.getAnnotations(ontology)
+                        .filter { it.property.toString().contains("hasExactSynonym") }
+                        .map { Pair((it.value as OWLLiteral).literal.toLowerCase().trim(), disease) }
+            }
+            diseaseNameToClass = diseases.associateBy { label(it) } + synonyms.toMap()
+        }
+
+        fun findDoids(cancerType: String): Set<Doid> {
+            val cancerClass = diseaseNameToClass[cancerType.toLowerCase().trim()] ?: return emptySet()
+            return findDoids(cancerClass)
+        }
+
+        fun findDoids(cancerDoid: Doid): Set<Doid> {
+            if (cancerDoid.value.isEmpty()) return emptySet()
+            return findDoids(dataFactory.getOWLClass(IRI.create("http://purl.obolibrary.org/obo/DOID_${cancerDoid.value}")))
+        }
+
+        private fun findDoids(cancerClass: OWLClass): Set<Doid> {
+            val relevantClasses = setOf(cancerClass) + related(reasoner.getSubClasses(cancerClass, false).flattened) +
+                    related(reasoner.getSuperClasses(cancerClass, false).flattened)
+            return relevantClasses.map { it.toString().substringAfter("DOID_").substringBefore('>') }
+                    .filterNot { it.isBlank() }
+                    .map { Doid(it) }
+                    .toSet()
+        }
+
+        private fun related(classes: Set<OWLClass>): Set<OWLClass> = classes.filterNot { it.isOWLNothing || it.isOWLThing }.toSet()
+
+        private fun label(owlClass: OWLClass): String {
+            return owlClass.getAnnotations(ontology, dataFactory.rdfsLabel)
+                    .map { (it.value as OWLLiteral).literal.toLowerCase().trim() }
+                    .first()
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.hartwig.hmftools.patientdb;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.hartwig.hmftools.common.ecrf.datamodel.EcrfPatient;
+import com.hartwig.hmftools.common.ecrf.datamodel.ValidationFinding;
+import com.hartwig.hmftools.common.ecrf.projections.PatientTumorLocation;
+import com.hartwig.hmftools.common.lims.Lims;
+import com.hartwig.hmftools.patientdb.dao.DatabaseAccess;
+import com.hartwig.hmftools.patientdb.dao.DatabaseWriterPool;
+import com.hartwig.hmftools.patientdb.data.Patient;
+import com.hartwig.hmftools.patientdb.data.SampleData;
+import com.hartwig.hmftools.patientdb.readers.EcrfPatientReader;
+import com.hartwig.hmftools.patientdb.validators.PatientValidator;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Curates eCRF patients on a pool of worker threads as they are streamed from the eCRF export, and hands every curated patient to
+ * the database writer pool. The number of patients being curated or waiting to be written is bounded, so memory use does not grow
+ * with the size of the cohort.
+ *
+ * Which patient is curated for an identifier is decided on the calling thread, in the order patients are submitted: patients which are
+ * not read from an eCRF take precedence, followed by the last occurrence of the identifier across the registered eCRF exports.
+ */
+final class ClinicalPatientWriter implements AutoCloseable {
+
+    private static final Logger LOGGER = LogManager.getLogger(ClinicalPatientWriter.class);
+
+    interface RawEcrfWriter {
+
+        void write(@NotNull DatabaseAccess dbAccess, @NotNull EcrfPatient patient, boolean sequenced);
+    }
+
+    @NotNull
+    private final DatabaseWriterPool writerPool;
+    @NotNull
+    private final Lims lims;
+    @NotNull
+    private final Set<String> sequencedPatientIds;
+    @NotNull
+    private final Map<String, List<SampleData>> sampleDataPerPatient;
+    @NotNull
+    private final ExecutorService curationService;
+    @NotNull
+    private final Semaphore patientsInFlight;
+    @NotNull
+    private final CompletionService<Void> curations;
+    @NotNull
+    private final Set<String> claimedPatientIds = Sets.newHashSet();
+    @NotNull
+    private final Map<String, Integer> remainingEcrfOccurrences = Maps.newHashMap();
+    @NotNull
+    private final Queue<PatientTumorLocation> tumorLocations = new ConcurrentLinkedQueue<>();
+
+    private int pendingCurations = 0;
+    @Nullable
+    private RuntimeException curationFailure;
+
+    ClinicalPatientWriter(@NotNull final DatabaseWriterPool writerPool, @NotNull final Lims lims,
+            @NotNull final Set<String> sequencedPatientIds, @NotNull final Map<String, List<SampleData>> sampleDataPerPatient,
+            int threadCount) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("Clinical patient writer requires at least one thread");
+        }
+
+        this.writerPool = writerPool;
+        this.lims = lims;
+        this.sequencedPatientIds = sequencedPatientIds;
+        this.sampleDataPerPatient = sampleDataPerPatient;
+        this.curationService =
+                Executors.newFixedThreadPool(threadCount, new ThreadFactoryBuilder().setNameFormat("curation-%d").setDaemon(true).build());
+        this.curations = new ExecutorCompletionService<>(curationService);
+
+        // Enough patients in flight to keep both the curation and the writer threads busy.
+        this.patientsInFlight = new Semaphore(2 * (threadCount + writerPool.threadCount()));
+    }
+
+    // Patients which are not read from an eCRF take precedence over eCRF patients with the same identifier.
+    void writePatients(@NotNull final Collection<Patient> patients) {
+        for (Patient patient : patients) {
+            claimedPatientIds.add(patient.patientIdentifier());
+        }
+        for (Patient patient : patients) {
+            acquirePatient();
+            try {
+                writePatient(patient, null, null);
+            } catch (RuntimeException exception) {
+                patientsInFlight.release();
+                throw exception;
+            }
+        }
+    }
+
+    // Registers the patient identifiers of an eCRF export, in the order they occur. Exports are registered in the order they are
+    // submitted, before any of their patients are submitted, so only the last occurrence of each identifier is curated.
+    void registerEcrfPatientIds(@NotNull final Iterable<String> patientIds) {
+        for (String patientId : patientIds) {
+            remainingEcrfOccurrences.merge(patientId, 1, Integer::sum);
+        }
+    }
+
+    // Blocks while the maximum number of patients is in flight, which also throttles the thread streaming the eCRF.
+    void submit(@NotNull final EcrfPatientReader reader, @NotNull final EcrfPatient ecrfPatient,
+            @Nullable final RawEcrfWriter rawEcrfWriter) {
+        String patientId = ecrfPatient.patientId();
+        boolean curated = isLastEcrfOccurrence(patientId) && claimedPatientIds.add(patientId);
+        if (!curated) {
+            LOGGER.debug("Patient {} is curated from another occurrence. Skipping curated data from this eCRF occurrence", patientId);
+            if (rawEcrfWriter == null) {
+                return;
+            }
+        }
+
+        acquirePatient();
+        try {
+            curations.submit(() -> {
+                curate(curated ? reader : null, ecrfPatient, rawEcrfWriter);
+                return null;
+            });
+            pendingCurations++;
+        } catch (RuntimeException exception) {
+            patientsInFlight.release();
+            throw exception;
+        }
+
+        collectCurations(false);
+    }
+
+    private boolean isLastEcrfOccurrence(@NotNull final String patientId) {
+        Integer remaining = remainingEcrfOccurrences.get(patientId);
+        if (remaining == null || remaining <= 1) {
+            remainingEcrfOccurrences.remove(patientId);
+            return true;
+        }
+
+        remainingEcrfOccurrences.put(patientId, remaining - 1);
+        return false;
+    }
+
+    private void curate(@Nullable final EcrfPatientReader reader, @NotNull final EcrfPatient ecrfPatient,
+            @Nullable final RawEcrfWriter rawEcrfWriter) {
+        boolean handedOver = false;
+        try {
+            Patient patient = null;
+            if (reader != null) {
+                List<SampleData> sequencedSamples = LoadClinicalData.sequencedOnly(sampleDataPerPatient.get(ecrfPatient.patientId()));
+                patient = reader.read(ecrfPatient, sequencedSamples);
+            }
+
+            writePatient(patient, ecrfPatient, rawEcrfWriter);
+            handedOver = true;
+        } finally {
+            if (!handedOver) {
+                patientsInFlight.release();
+            }
+        }
+    }
+
+    private void writePatient(@Nullable final Patient patient, @Nullable final EcrfPatient ecrfPatient,
+            @Nullable final RawEcrfWriter rawEcrfWriter) {
+        if (patient == null && rawEcrfWriter == null) {
+            patientsInFlight.release();
+            return;
+        } else if (patient != null) {
+            tumorLocations.add(DumpTumorLocationData.curatedTumorLocation(patient));
+        }
+
+        String patientId = patient != null ? patient.patientIdentifier() : ecrfPatient.patientId();
+        writerPool.submit("clinical data for " + patientId, dbAccess -> {
+            try {
+                if (rawEcrfWriter != null && ecrfPatient != null) {
+                    rawEcrfWriter.write(dbAccess, ecrfPatient, sequencedPatientIds.contains(ecrfPatient.patientId()));
+                }
+                if (patient != null && sequencedPatientIds.contains(patientId)) {
+                    writeSequencedPatient(dbAccess, patient);
+                }
+            } finally {
+                patientsInFlight.release();
+            }
+        });
+    }
+
+    private void writeSequencedPatient(@NotNull DatabaseAccess dbAccess, @NotNull Patient patient) {
+        String patientId = patient.patientIdentifier();
+        if (patient.sequencedBiopsies().isEmpty()) {
+            LOGGER.warn("No sequenced biopsies found for sequenced patient: {}! Skipping writing to db", patientId);
+        } else {
+            dbAccess.writeFullClinicalData(patient, lims.isBlacklisted(patientId));
+            List<ValidationFinding> findings = PatientValidator.validatePatient(patient);
+
+            dbAccess.writeValidationFindings(findings);
+            dbAccess.writeValidationFindings(patient.matchFindings());
+        }
+    }
+
+    // Waits for every submitted patient to be curated and written, and writes the sample data of sequenced patients not curated.
+    void awaitCompletion() {
+        collectCurations(true);
+        if (curationFailure != null) {
+            RuntimeException failure = curationFailure;
+            curationFailure = null;
+            throw failure;
+        }
+        writerPool.awaitCompletion();
+
+        int missingPatients = 0;
+        int missingSamples = 0;
+        for (String patientId : sequencedPatientIds) {
+            if (!claimedPatientIds.contains(patientId)) {
+                missingPatients++;
+                List<SampleData> sequencedSamples = LoadClinicalData.sequencedOnly(sampleDataPerPatient.get(patientId));
+                missingSamples += sequencedSamples.size();
+                writerPool.submit("sample data for " + patientId,
+                        dbAccess -> dbAccess.writeSampleClinicalData(patientId, lims.isBlacklisted(patientId), sequencedSamples));
+            }
+        }
+        writerPool.awaitCompletion();
+
+        if (missingPatients > 0) {
+            LOGGER.warn("Could not load {} patients ({} samples)!", missingPatients, missingSamples);
+        }
+    }
+
+    // Collects the curations which have finished, or all of them when waiting, keeping the first failure to report on completion.
+    private void collectCurations(boolean wait) {
+        while (pendingCurations > 0) {
+            Future<Void> future;
+            try {
+                future = wait ? curations.take() : curations.poll();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for patient curation", e);
+            }
+            if (future == null) {
+                return;
+            }
+            pendingCurations--;
+
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for patient curation", e);
+            } catch (ExecutionException e) {
+                LOGGER.error("Patient curation failed: {}", e.getCause().toString());
+                if (curationFailure == null) {
+                    curationFailure = e.getCause() instanceof RuntimeException
+                            ? (RuntimeException) e.getCause()
+                            : new IllegalStateException(e.getCause());
+                }
+            }
+        }
+    }
+
+    @NotNull
+    List<PatientTumorLocation> tumorLocations() {
+        List<PatientTumorLocation> sortedTumorLocations = Lists.newArrayList(tumorLocations);
+        sortedTumorLocations.sort(Comparator.comparing(PatientTumorLocation::patientIdentifier));
+        return sortedTumorLocations;
+    }
+
+    private void acquirePatient() {
+        try {
+            patientsInFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to curate patient", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        curationService.shutdown();
+    }
+}
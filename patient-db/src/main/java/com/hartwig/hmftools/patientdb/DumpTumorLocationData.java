@@ -7,10 +7,8 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import com.google.common.base.Strings;
 import com.hartwig.hmftools.common.ecrf.projections.ImmutablePatientTumorLocation;
@@ -29,19 +27,20 @@ final class DumpTumorLocationData {
     }
 
     static void writeCuratedTumorLocationsToCSV(@NotNull String tumorLocationOutputDir, @NotNull Optional<String> linkName,
-            @NotNull Collection<Patient> patients) throws IOException {
+            @NotNull List<PatientTumorLocation> tumorLocations) throws IOException {
         String outputFile = fileLocation(tumorLocationOutputDir, "_curatedTumorLocations.csv");
-        List<PatientTumorLocation> tumorLocations = patients.stream()
-                .map(patient -> ImmutablePatientTumorLocation.of(patient.patientIdentifier(),
-                        Strings.nullToEmpty(patient.baselineData().curatedTumorLocation().primaryTumorLocation()),
-                        Strings.nullToEmpty(patient.baselineData().curatedTumorLocation().subType())))
-                .collect(Collectors.toList());
-
         PatientTumorLocation.writeRecords(outputFile, tumorLocations);
         linkName.ifPresent(link -> updateSymlink(tumorLocationOutputDir + File.separator + link, outputFile));
         LOGGER.info(" Written {} tumor locations to {}.", tumorLocations.size(), outputFile);
     }
 
+    @NotNull
+    static PatientTumorLocation curatedTumorLocation(@NotNull Patient patient) {
+        return ImmutablePatientTumorLocation.of(patient.patientIdentifier(),
+                Strings.nullToEmpty(patient.baselineData().curatedTumorLocation().primaryTumorLocation()),
+                Strings.nullToEmpty(patient.baselineData().curatedTumorLocation().subType()));
+    }
+
     @NotNull
     private static String fileLocation(@NotNull String outputDir, @NotNull String suffix) {
         final String fileName = LocalDate.now().format(DateTimeFormatter.ISO_LOCAL_DATE) + suffix;
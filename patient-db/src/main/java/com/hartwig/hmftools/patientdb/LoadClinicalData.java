@@ -13,9 +13,7 @@ import javax.xml.stream.XMLStreamException;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
-import com.hartwig.hmftools.common.ecrf.EcrfModel;
-import com.hartwig.hmftools.common.ecrf.datamodel.EcrfPatient;
-import com.hartwig.hmftools.common.ecrf.datamodel.ValidationFinding;
+import com.hartwig.hmftools.common.ecrf.EcrfPatientStream;
 import com.hartwig.hmftools.common.ecrf.formstatus.FormStatusModel;
 import com.hartwig.hmftools.common.ecrf.formstatus.FormStatusReader;
 import com.hartwig.hmftools.common.lims.Lims;
@@ -26,6 +24,7 @@ import com.hartwig.hmftools.patientdb.curators.BiopsySiteCurator;
 import com.hartwig.hmftools.patientdb.curators.TreatmentCurator;
 import com.hartwig.hmftools.patientdb.curators.TumorLocationCurator;
 import com.hartwig.hmftools.patientdb.dao.DatabaseAccess;
+import com.hartwig.hmftools.patientdb.dao.DatabaseWriterPool;
 import com.hartwig.hmftools.patientdb.data.Patient;
 import com.hartwig.hmftools.patientdb.data.SampleData;
 import com.hartwig.hmftools.patientdb.readers.ColoPatientReader;
@@ -37,7 +36,6 @@ import com.hartwig.hmftools.patientdb.readers.cpct.CpctPatientReader;
 import com.hartwig.hmftools.patientdb.readers.cpct.CpctUtil;
 import com.hartwig.hmftools.patientdb.readers.drup.DrupPatientReader;
 import com.hartwig.hmftools.patientdb.validators.CurationValidator;
-import com.hartwig.hmftools.patientdb.validators.PatientValidator;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.DefaultParser;
@@ -68,6 +66,9 @@ public final class LoadClinicalData {
     private static final String DB_USER = "db_user";
     private static final String DB_PASS = "db_pass";
     private static final String DB_URL = "db_url";
+    private static final String DB_THREADS = "db_threads";
+
+    private static final String THREADS = "threads";
 
     public static void main(@NotNull final String[] args) throws ParseException, IOException, XMLStreamException, SQLException {
         LOGGER.info("Running patient-db v{}", VERSION);
@@ -80,6 +81,9 @@ public final class LoadClinicalData {
             System.exit(1);
         }
 
+        int threadCount = Integer.parseInt(cmd.getOptionValue(THREADS, String.valueOf(Runtime.getRuntime().availableProcessors())));
+        int dbThreadCount = Integer.parseInt(cmd.getOptionValue(DB_THREADS, String.valueOf(threadCount)));
+
         LOGGER.info("Connecting to database {}", cmd.getOptionValue(DB_URL));
         DatabaseAccess dbWriter = createDbWriter(cmd);
 
@@ -101,19 +105,20 @@ public final class LoadClinicalData {
                 sampleDataPerPatient.keySet().size(),
                 countValues(sampleDataPerPatient));
 
-        EcrfModels ecrfModels = loadEcrfModels(cmd);
-
-        if (cmd.hasOption(DO_LOAD_RAW_ECRF)) {
-            writeRawEcrf(dbWriter, sequencedPatientIds, ecrfModels);
+        LOGGER.info("Curating and writing patients using {} curation threads and {} database connections", threadCount, dbThreadCount);
+        try (DatabaseWriterPool writerPool = createDbWriterPool(cmd, dbThreadCount);
+                ClinicalPatientWriter patientWriter = new ClinicalPatientWriter(writerPool,
+                        lims,
+                        sequencedPatientIds,
+                        sampleDataPerPatient,
+                        threadCount)) {
+            writeClinicalData(dbWriter,
+                    patientWriter,
+                    cmd,
+                    sampleDataPerPatient,
+                    cmd.getOptionValue(TUMOR_LOCATION_OUTPUT_DIRECTORY),
+                    Optional.ofNullable(cmd.getOptionValue(TUMOR_LOCATION_SYMLINK)));
         }
-
-        writeClinicalData(dbWriter,
-                lims,
-                sequencedPatientIds,
-                sampleDataPerPatient,
-                ecrfModels,
-                cmd.getOptionValue(TUMOR_LOCATION_OUTPUT_DIRECTORY),
-                Optional.ofNullable(cmd.getOptionValue(TUMOR_LOCATION_SYMLINK)));
     }
 
     @NotNull
@@ -213,126 +218,73 @@ public final class LoadClinicalData {
         return false;
     }
 
-    @NotNull
-    private static EcrfModels loadEcrfModels(@NotNull CommandLine cmd) throws IOException, XMLStreamException {
-        String cpctEcrfFilePath = cmd.getOptionValue(CPCT_ECRF_FILE);
-        String cpctFormStatusCsv = cmd.getOptionValue(CPCT_FORM_STATUS_CSV);
-        LOGGER.info("Loading CPCT eCRF from {}", cpctEcrfFilePath);
-        FormStatusModel cpctFormStatusModel = FormStatusReader.buildModelFromCsv(cpctFormStatusCsv);
-        EcrfModel cpctEcrfModel = EcrfModel.loadFromXMLWithFormStates(cpctEcrfFilePath, cpctFormStatusModel);
-        LOGGER.info(" Finished loading CPCT eCRF. Read {} patients", cpctEcrfModel.patientCount());
-
-        String drupEcrfFilePath = cmd.getOptionValue(DRUP_ECRF_FILE);
-        LOGGER.info("Loading DRUP eCRF from {}", drupEcrfFilePath);
-        EcrfModel drupEcrfModel = EcrfModel.loadFromXMLNoFormStates(drupEcrfFilePath);
-        LOGGER.info(" Finished loading DRUP eCRF. Read {} patients", drupEcrfModel.patientCount());
-
-        return ImmutableEcrfModels.of(cpctEcrfModel, drupEcrfModel);
-    }
-
-    private static void writeRawEcrf(@NotNull DatabaseAccess dbWriter, @NotNull Set<String> sequencedPatients,
-            @NotNull EcrfModels ecrfModels) {
-        EcrfModel cpctEcrfModel = ecrfModels.cpctModel();
-        LOGGER.info("Writing raw cpct ecrf data for {} patients", cpctEcrfModel.patientCount());
-        dbWriter.clearCpctEcrf();
-        dbWriter.writeCpctEcrf(cpctEcrfModel, sequencedPatients);
-        LOGGER.info(" Finished writing raw cpct ecrf data for {} patients", cpctEcrfModel.patientCount());
-
-        EcrfModel drupEcrfModel = ecrfModels.drupModel();
-        LOGGER.info("Writing raw drup ecrf data for {} patients", drupEcrfModel.patientCount());
-        dbWriter.clearDrupEcrf();
-        dbWriter.writeDrupEcrf(drupEcrfModel, sequencedPatients);
-        LOGGER.info(" Finished writing raw drup ecrf data for {} patients", drupEcrfModel.patientCount());
-    }
-
-    private static void writeClinicalData(@NotNull DatabaseAccess dbAccess, @NotNull Lims lims, @NotNull Set<String> sequencedPatientIds,
-            @NotNull Map<String, List<SampleData>> sampleDataPerPatient, @NotNull EcrfModels ecrfModels,
-            @NotNull String tumorLocationOutputDir, @NotNull Optional<String> tumorLocationSymlink) throws IOException {
+    private static void writeClinicalData(@NotNull DatabaseAccess dbAccess, @NotNull ClinicalPatientWriter patientWriter,
+            @NotNull CommandLine cmd, @NotNull Map<String, List<SampleData>> sampleDataPerPatient, @NotNull String tumorLocationOutputDir,
+            @NotNull Optional<String> tumorLocationSymlink) throws IOException, XMLStreamException {
         TumorLocationCurator tumorLocationCurator = TumorLocationCurator.fromProductionResource();
         BiopsySiteCurator biopsySiteCurator = BiopsySiteCurator.fromProductionResource();
         TreatmentCurator treatmentCurator = TreatmentCurator.fromProductionResource();
-
-        Map<String, Patient> patients =
-                loadAndInterpretPatients(sampleDataPerPatient, ecrfModels, tumorLocationCurator, treatmentCurator, biopsySiteCurator);
-
-        DumpTumorLocationData.writeCuratedTumorLocationsToCSV(tumorLocationOutputDir, tumorLocationSymlink, patients.values());
+        boolean loadRawEcrf = cmd.hasOption(DO_LOAD_RAW_ECRF);
 
         LOGGER.info("Clearing interpreted clinical tables in database");
         dbAccess.clearClinicalTables();
+        if (loadRawEcrf) {
+            dbAccess.clearCpctEcrf();
+            dbAccess.clearDrupEcrf();
+        }
 
-        int missingPatients = 0;
-        int missingSamples = 0;
-        LOGGER.info("Writing clinical data for {} sequenced patients", sequencedPatientIds.size());
-        for (String patientId : sequencedPatientIds) {
-            Patient patient = patients.get(patientId);
-            if (patient == null) {
-                missingPatients++;
-                List<SampleData> sequencedSamples = sequencedOnly(sampleDataPerPatient.get(patientId));
-                missingSamples += sequencedSamples.size();
-                dbAccess.writeSampleClinicalData(patientId, lims.isBlacklisted(patientId), sequencedSamples);
-            } else if (patient.sequencedBiopsies().isEmpty()) {
-                LOGGER.warn("No sequenced biopsies found for sequenced patient: {}! Skipping writing to db", patientId);
-            } else {
-                dbAccess.writeFullClinicalData(patient, lims.isBlacklisted(patientId));
-                List<ValidationFinding> findings = PatientValidator.validatePatient(patient);
+        LOGGER.info("Interpreting and curating data based off LIMS (WIDE and CORE)");
+        Map<String, Patient> patientsFromLims = readLimsPatients(sampleDataPerPatient, tumorLocationCurator);
+        LOGGER.info(" Finished curation of {} patients based off LIMS", patientsFromLims.keySet().size());
+        patientsFromLims.putAll(readColoPatients());
+        patientWriter.writePatients(patientsFromLims.values());
 
-                dbAccess.writeValidationFindings(findings);
-                dbAccess.writeValidationFindings(patient.matchFindings());
+        // DRUP patients take precedence over CPCT patients, and the last occurrence of a patient within an export over earlier ones.
+        String cpctEcrfFilePath = cmd.getOptionValue(CPCT_ECRF_FILE);
+        String drupEcrfFilePath = cmd.getOptionValue(DRUP_ECRF_FILE);
+        LOGGER.info("Reading patient identifiers from CPCT and DRUP eCRF");
+        patientWriter.registerEcrfPatientIds(EcrfPatientStream.readPatientIds(cpctEcrfFilePath));
+        patientWriter.registerEcrfPatientIds(EcrfPatientStream.readPatientIds(drupEcrfFilePath));
+
+        LOGGER.info("Loading CPCT form status from {}", cmd.getOptionValue(CPCT_FORM_STATUS_CSV));
+        FormStatusModel cpctFormStatusModel = FormStatusReader.buildModelFromCsv(cmd.getOptionValue(CPCT_FORM_STATUS_CSV));
+        LOGGER.info("Streaming, curating and writing CPCT patients from {}", cpctEcrfFilePath);
+        try (EcrfPatientStream cpctStream = EcrfPatientStream.openWithFormStates(cpctEcrfFilePath, cpctFormStatusModel)) {
+            if (loadRawEcrf) {
+                dbAccess.writeCpctEcrfDatamodel(cpctStream.fields());
             }
+            EcrfPatientReader cpctPatientReader = new CpctPatientReader(tumorLocationCurator,
+                    CpctUtil.extractHospitalMap(cpctStream.datamodel()),
+                    biopsySiteCurator,
+                    treatmentCurator);
+            ClinicalPatientWriter.RawEcrfWriter rawEcrfWriter = loadRawEcrf ? DatabaseAccess::writeCpctEcrfPatient : null;
+
+            int patientCount = cpctStream.forEachPatient(patient -> patientWriter.submit(cpctPatientReader, patient, rawEcrfWriter));
+            LOGGER.info(" Finished streaming {} CPCT patients", patientCount);
         }
 
-        if (missingPatients > 0) {
-            LOGGER.warn("Could not load {} patients ({} samples)!", missingPatients, missingSamples);
-        }
-        dbAccess.writeValidationFindings(CurationValidator.validateTreatmentCurator(treatmentCurator));
-        dbAccess.writeValidationFindings(CurationValidator.validateTumorLocationCurator(tumorLocationCurator));
+        LOGGER.info("Streaming, curating and writing DRUP patients from {}", drupEcrfFilePath);
+        try (EcrfPatientStream drupStream = EcrfPatientStream.openNoFormStates(drupEcrfFilePath)) {
+            if (loadRawEcrf) {
+                dbAccess.writeDrupEcrfDatamodel(drupStream.fields());
+            }
+            EcrfPatientReader drupPatientReader = new DrupPatientReader(tumorLocationCurator, biopsySiteCurator);
+            ClinicalPatientWriter.RawEcrfWriter rawEcrfWriter = loadRawEcrf ? DatabaseAccess::writeDrupEcrfPatient : null;
 
-        LOGGER.info("Finished!");
-    }
+            int patientCount = drupStream.forEachPatient(patient -> patientWriter.submit(drupPatientReader, patient, rawEcrfWriter));
+            LOGGER.info(" Finished streaming {} DRUP patients", patientCount);
+        }
 
-    @NotNull
-    private static Map<String, Patient> loadAndInterpretPatients(@NotNull Map<String, List<SampleData>> sampleDataPerPatient,
-            @NotNull EcrfModels ecrfModels, @NotNull TumorLocationCurator tumorLocationCurator, @NotNull TreatmentCurator treatmentCurator,
-            @NotNull BiopsySiteCurator biopsySiteCurator) {
-        EcrfModel cpctEcrfModel = ecrfModels.cpctModel();
-        LOGGER.info("Interpreting and curating data for {} CPCT patients", cpctEcrfModel.patientCount());
-        EcrfPatientReader cpctPatientReader = new CpctPatientReader(tumorLocationCurator,
-                CpctUtil.extractHospitalMap(cpctEcrfModel),
-                biopsySiteCurator,
-                treatmentCurator);
-
-        Map<String, Patient> cpctPatients = readEcrfPatients(cpctPatientReader, cpctEcrfModel.patients(), sampleDataPerPatient);
-        LOGGER.info(" Finished curation of {} CPCT patients", cpctPatients.size());
-
-        EcrfModel drupEcrfModel = ecrfModels.drupModel();
-        LOGGER.info("Interpreting and curating data for {} DRUP patients", drupEcrfModel.patientCount());
-        EcrfPatientReader drupPatientReader = new DrupPatientReader(tumorLocationCurator, biopsySiteCurator);
-
-        Map<String, Patient> drupPatients = readEcrfPatients(drupPatientReader, drupEcrfModel.patients(), sampleDataPerPatient);
-        LOGGER.info(" Finished curation of {} DRUP patients", drupPatients.size());
+        patientWriter.awaitCompletion();
+        LOGGER.info(" Finished curating and writing clinical data");
+        LOGGER.info(" Memoised curation of {} distinct treatments", treatmentCurator.memoisedSearchCount());
 
-        LOGGER.info("Interpreting and curating data based off LIMS (WIDE and CORE)");
-        Map<String, Patient> patientsFromLims = readLimsPatients(sampleDataPerPatient, tumorLocationCurator);
-        LOGGER.info(" Finished curation of {} patients based off LIMS", patientsFromLims.keySet().size());
+        DumpTumorLocationData.writeCuratedTumorLocationsToCSV(tumorLocationOutputDir, tumorLocationSymlink, patientWriter.tumorLocations());
 
-        Map<String, Patient> mergedPatients = Maps.newHashMap();
-        mergedPatients.putAll(cpctPatients);
-        mergedPatients.putAll(drupPatients);
-        mergedPatients.putAll(patientsFromLims);
-        mergedPatients.putAll(readColoPatients());
-        return mergedPatients;
-    }
+        dbAccess.writeValidationFindings(CurationValidator.validateTreatmentCurator(treatmentCurator));
+        dbAccess.writeValidationFindings(CurationValidator.validateTumorLocationCurator(tumorLocationCurator));
 
-    @NotNull
-    private static Map<String, Patient> readEcrfPatients(@NotNull EcrfPatientReader reader, @NotNull Iterable<EcrfPatient> patients,
-            @NotNull Map<String, List<SampleData>> sampleDataPerPatient) {
-        Map<String, Patient> patientMap = Maps.newHashMap();
-        for (EcrfPatient ecrfPatient : patients) {
-            List<SampleData> sequencedSamples = sequencedOnly(sampleDataPerPatient.get(ecrfPatient.patientId()));
-            Patient patient = reader.read(ecrfPatient, sequencedSamples);
-            patientMap.put(patient.patientIdentifier(), patient);
-        }
-        return patientMap;
+        LOGGER.info("Finished!");
     }
 
     @NotNull
@@ -405,7 +357,7 @@ public final class LoadClinicalData {
     }
 
     @NotNull
-    private static List<SampleData> sequencedOnly(@Nullable Iterable<SampleData> samples) {
+    static List<SampleData> sequencedOnly(@Nullable Iterable<SampleData> samples) {
         if (samples == null) {
             return Lists.newArrayList();
         }
@@ -425,6 +377,12 @@ public final class LoadClinicalData {
         return new DatabaseAccess(cmd.getOptionValue(DB_USER), cmd.getOptionValue(DB_PASS), jdbcUrl);
     }
 
+    @NotNull
+    private static DatabaseWriterPool createDbWriterPool(@NotNull CommandLine cmd, int threadCount) throws SQLException {
+        String jdbcUrl = "jdbc:" + cmd.getOptionValue(DB_URL);
+        return new DatabaseWriterPool(cmd.getOptionValue(DB_USER), cmd.getOptionValue(DB_PASS), jdbcUrl, threadCount);
+    }
+
     private static boolean checkInputs(@NotNull CommandLine cmd) {
         String runsDirectory = cmd.getOptionValue(RUNS_DIRECTORY);
 
@@ -470,6 +428,11 @@ public final class LoadClinicalData {
         options.addOption(DB_USER, true, "Database user name.");
         options.addOption(DB_PASS, true, "Database password.");
         options.addOption(DB_URL, true, "Database url.");
+        options.addOption(DB_THREADS,
+                true,
+                "Optional: number of connections used to write patients in parallel, default the number of threads");
+
+        options.addOption(THREADS, true, "Optional: number of threads used to curate patients, default the number of available processors");
         return options;
     }
 
@@ -19,6 +19,7 @@ import com.hartwig.hmftools.common.purple.purity.PurityContext;
 import com.hartwig.hmftools.common.purple.qc.PurpleQC;
 import com.hartwig.hmftools.common.purple.qc.PurpleQCFile;
 import com.hartwig.hmftools.patientdb.dao.DatabaseAccess;
+import com.hartwig.hmftools.patientdb.dao.DatabaseWriterPool;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
@@ -41,11 +42,11 @@ public class LoadPurpleData {
     private static final String DB_USER = "db_user";
     private static final String DB_PASS = "db_pass";
     private static final String DB_URL = "db_url";
+    private static final String DB_THREADS = "db_threads";
 
     public static void main(@NotNull final String[] args) throws ParseException, IOException, SQLException {
         final Options options = createBasicOptions();
         final CommandLine cmd = createCommandLine(args, options);
-        final DatabaseAccess dbAccess = databaseAccess(cmd);
 
         final String tumorSample = cmd.getOptionValue(SAMPLE);
         final String purplePath = cmd.getOptionValue(PURPLE_DIR);
@@ -66,16 +67,35 @@ public class LoadPurpleData {
                 ? PurpleCopyNumberFile.read(germlineCopyNumberFilename)
                 : Lists.newArrayList();
 
-        LOGGER.info("Persisting to db");
-        persistToDatabase(dbAccess,
-                cmd.hasOption(ALIAS) ? cmd.getOptionValue(ALIAS) : tumorSample,
-                bestFitPerPurity,
-                copyNumbers,
-                germlineCopyNumbers,
-                purityContext,
-                purpleQC,
-                geneCopyNumbers,
-                driverCatalog);
+        final String sample = cmd.hasOption(ALIAS) ? cmd.getOptionValue(ALIAS) : tumorSample;
+        final int dbThreads = Integer.parseInt(cmd.getOptionValue(DB_THREADS, "1"));
+        if (dbThreads > 1) {
+            LOGGER.info("Persisting to db using {} connections", dbThreads);
+            try (DatabaseWriterPool writerPool = databaseWriterPool(cmd, dbThreads)) {
+                persistToDatabase(writerPool,
+                        sample,
+                        bestFitPerPurity,
+                        copyNumbers,
+                        germlineCopyNumbers,
+                        purityContext,
+                        purpleQC,
+                        geneCopyNumbers,
+                        driverCatalog);
+            }
+        } else {
+            LOGGER.info("Persisting to db");
+            try (DatabaseAccess dbAccess = databaseAccess(cmd)) {
+                persistToDatabase(dbAccess,
+                        sample,
+                        bestFitPerPurity,
+                        copyNumbers,
+                        germlineCopyNumbers,
+                        purityContext,
+                        purpleQC,
+                        geneCopyNumbers,
+                        driverCatalog);
+            }
+        }
 
         LOGGER.info("Complete");
     }
@@ -89,6 +109,7 @@ public class LoadPurpleData {
         options.addOption(DB_PASS, true, "Database password.");
         options.addOption(DB_URL, true, "Database url.");
         options.addOption(ALIAS, true, "Overwrite the sample name with specified alias when writing to db");
+        options.addOption(DB_THREADS, true, "Optional: number of connections used to write tables in parallel, default 1");
         return options;
     }
 
@@ -107,6 +128,14 @@ public class LoadPurpleData {
         return new DatabaseAccess(userName, password, jdbcUrl);
     }
 
+    @NotNull
+    private static DatabaseWriterPool databaseWriterPool(@NotNull final CommandLine cmd, int threadCount) throws SQLException {
+        final String userName = cmd.getOptionValue(DB_USER);
+        final String password = cmd.getOptionValue(DB_PASS);
+        final String jdbcUrl = "jdbc:" + cmd.getOptionValue(DB_URL);
+        return new DatabaseWriterPool(userName, password, jdbcUrl, threadCount);
+    }
+
     public static void persistToDatabase(final DatabaseAccess dbAccess, final String tumorSample, final List<FittedPurity> bestFitPerPurity,
             final List<PurpleCopyNumber> copyNumbers, final List<PurpleCopyNumber> germlineDeletions, final PurityContext purityContext,
             final PurpleQC qcChecks, final List<GeneCopyNumber> geneCopyNumbers, final List<DriverCatalog> driverCatalog) {
@@ -117,4 +146,19 @@ public class LoadPurpleData {
         dbAccess.writeGeneCopynumberRegions(tumorSample, geneCopyNumbers);
         dbAccess.writeDriverCatalog(tumorSample, driverCatalog);
     }
+
+    public static void persistToDatabase(final DatabaseWriterPool writerPool, final String tumorSample,
+            final List<FittedPurity> bestFitPerPurity, final List<PurpleCopyNumber> copyNumbers,
+            final List<PurpleCopyNumber> germlineDeletions, final PurityContext purityContext, final PurpleQC qcChecks,
+            final List<GeneCopyNumber> geneCopyNumbers, final List<DriverCatalog> driverCatalog) {
+        writerPool.submit("purity", dbAccess -> {
+            dbAccess.writePurity(tumorSample, purityContext, qcChecks);
+            dbAccess.writeBestFitPerPurity(tumorSample, bestFitPerPurity);
+        });
+        writerPool.submit("copy numbers", dbAccess -> dbAccess.writeCopynumbers(tumorSample, copyNumbers));
+        writerPool.submit("germline copy numbers", dbAccess -> dbAccess.writeGermlineCopynumbers(tumorSample, germlineDeletions));
+        writerPool.submit("gene copy numbers", dbAccess -> dbAccess.writeGeneCopynumberRegions(tumorSample, geneCopyNumbers));
+        writerPool.submit("driver catalog", dbAccess -> dbAccess.writeDriverCatalog(tumorSample, driverCatalog));
+        writerPool.awaitCompletion();
+    }
 }
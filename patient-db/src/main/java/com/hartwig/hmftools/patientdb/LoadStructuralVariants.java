@@ -16,7 +16,7 @@ import com.hartwig.hmftools.common.variant.structural.StructuralVariant;
 import com.hartwig.hmftools.common.variant.structural.StructuralVariantData;
 import com.hartwig.hmftools.common.variant.structural.StructuralVariantFile;
 import com.hartwig.hmftools.common.variant.structural.StructuralVariantFileLoader;
-import com.hartwig.hmftools.patientdb.dao.DatabaseAccess;
+import com.hartwig.hmftools.patientdb.dao.DatabaseWriterPool;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
@@ -45,7 +45,6 @@ public class LoadStructuralVariants {
     public static void main(@NotNull final String[] args) throws ParseException, IOException, SQLException {
         final Options options = createBasicOptions();
         final CommandLine cmd = createCommandLine(args, options);
-        final DatabaseAccess dbAccess = databaseAccess(cmd);
 
         final String tumorSample = cmd.getOptionValue(SAMPLE);
         final String vcfPath = cmd.getOptionValue(SV_VCF);
@@ -63,17 +62,23 @@ public class LoadStructuralVariants {
             svDataList.add(convertSvData(var, svId++));
         }
 
-        LOGGER.info("Persisting {} SVs to db", svDataList.size());
-        dbAccess.writeStructuralVariants(cmd.getOptionValue(ALIAS, tumorSample), svDataList);
-
-        if (svDataOutputDir != null) {
-            // write data to file
-            try {
-                final String svFilename = StructuralVariantFile.generateFilename(svDataOutputDir, tumorSample);
-                StructuralVariantFile.write(svFilename, svDataList);
-            } catch (IOException e) {
-                LOGGER.error("failed to write SV data: {}", e.toString());
+        try (DatabaseWriterPool writerPool = databaseWriterPool(cmd)) {
+            // the SVs are a single table, so the pool only overlaps its transaction with writing the TSV
+            LOGGER.info("Persisting {} SVs to db", svDataList.size());
+            writerPool.submit("structural variants",
+                    dbAccess -> dbAccess.writeStructuralVariants(cmd.getOptionValue(ALIAS, tumorSample), svDataList));
+
+            if (svDataOutputDir != null) {
+                // write data to file
+                try {
+                    final String svFilename = StructuralVariantFile.generateFilename(svDataOutputDir, tumorSample);
+                    StructuralVariantFile.write(svFilename, svDataList);
+                } catch (IOException e) {
+                    LOGGER.error("failed to write SV data: {}", e.toString());
+                }
             }
+
+            writerPool.awaitCompletion();
         }
 
         LOGGER.info("Complete");
@@ -164,11 +169,11 @@ public class LoadStructuralVariants {
     }
 
     @NotNull
-    private static DatabaseAccess databaseAccess(@NotNull final CommandLine cmd) throws SQLException {
+    private static DatabaseWriterPool databaseWriterPool(@NotNull final CommandLine cmd) throws SQLException {
         final String userName = cmd.getOptionValue(DB_USER);
         final String password = cmd.getOptionValue(DB_PASS);
         final String databaseUrl = cmd.getOptionValue(DB_URL);  //e.g. mysql://localhost:port/database";
         final String jdbcUrl = "jdbc:" + databaseUrl;
-        return new DatabaseAccess(userName, password, jdbcUrl);
+        return new DatabaseWriterPool(userName, password, jdbcUrl, 1);
     }
 }
@@ -4,21 +4,33 @@ import static org.apache.lucene.analysis.miscellaneous.WordDelimiterGraphFilter.
 import static org.apache.lucene.analysis.miscellaneous.WordDelimiterGraphFilter.GENERATE_WORD_PARTS;
 import static org.apache.lucene.analysis.miscellaneous.WordDelimiterGraphFilter.SPLIT_ON_NUMERICS;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringReader;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
 import com.hartwig.hmftools.patientdb.LoadClinicalData;
 import com.hartwig.hmftools.patientdb.data.CuratedDrug;
 import com.hartwig.hmftools.patientdb.data.ImmutableCuratedDrug;
@@ -58,13 +70,28 @@ import org.apache.lucene.search.spell.Dictionary;
 import org.apache.lucene.search.spell.HighFrequencyDictionary;
 import org.apache.lucene.search.spell.SpellChecker;
 import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
 import org.apache.lucene.store.RAMDirectory;
+import org.apache.lucene.util.Version;
 import org.jetbrains.annotations.NotNull;
 
+/**
+ * Curates free-text treatments to drugs from the treatment mapping.
+ *
+ * The production curator keeps its Lucene index on disk, keyed by a checksum of the mapping, so the index is only built the first time
+ * a mapping is used. An index is only used once its completion marker exists, so an index directory left incomplete (for instance
+ * by a temp cleaner) is rebuilt. Search results are memoised since the same treatments recur across many patients. Searching is
+ * thread safe.
+ */
 public class TreatmentCurator implements CleanableCurator {
 
     private static final Logger LOGGER = LogManager.getLogger(TreatmentCurator.class);
-    private static final InputStream TREATMENT_MAPPING_RESOURCE = LoadClinicalData.class.getResourceAsStream("/treatment_mapping.csv");
+    private static final String TREATMENT_MAPPING_RESOURCE = "/treatment_mapping.csv";
+
+    private static final String INDEX_CACHE_DIRECTORY = "hmf_treatment_curator";
+    private static final String DRUG_INDEX_DIRECTORY = "drugs";
+    private static final String SPELLCHECK_INDEX_DIRECTORY = "spellcheck";
+    private static final String INDEX_COMPLETE_MARKER = "complete";
 
     private static final String DRUG_TERMS_FIELD = "drugTerms";
     private static final String DRUG_NAME_FIELD = "drugName";
@@ -80,6 +107,9 @@ public class TreatmentCurator implements CleanableCurator {
     private static final int NUM_HITS = 20;
     private static final int MAX_SHINGLES = 10;
     private static final float SPELLCHECK_ACCURACY = .85f;
+    // Searches are memoised per free-text treatment. An eCRF export holds a few thousand distinct treatment texts, so this keeps all
+    // of them with ample headroom while bounding the cache to a few MB. Evicted treatments are only searched again.
+    private static final int SEARCH_CACHE_SIZE = 10_000;
 
     @NotNull
     private final Map<String, String> unusedTokenizedTermToEntryMap;
@@ -87,26 +117,117 @@ public class TreatmentCurator implements CleanableCurator {
     private final SpellChecker spellChecker;
     @NotNull
     private final IndexSearcher indexSearcher;
+    @NotNull
+    private final LoadingCache<String, List<CuratedDrug>> searchCache = CacheBuilder.newBuilder()
+            .maximumSize(SEARCH_CACHE_SIZE)
+            .build(CacheLoader.from(searchTerm -> ImmutableList.copyOf(searchIndex(searchTerm))));
 
     @NotNull
     public static TreatmentCurator fromProductionResource() throws IOException {
-        return new TreatmentCurator(TREATMENT_MAPPING_RESOURCE);
+        byte[] mapping = ByteStreams.toByteArray(LoadClinicalData.class.getResourceAsStream(TREATMENT_MAPPING_RESOURCE));
+        return fromIndexCache(mapping, new File(System.getProperty("java.io.tmpdir"), INDEX_CACHE_DIRECTORY));
+    }
+
+    @NotNull
+    @VisibleForTesting
+    static TreatmentCurator fromIndexCache(@NotNull byte[] mapping, @NotNull File indexCacheDirectory) throws IOException {
+        List<DrugEntry> drugEntries = readEntries(new ByteArrayInputStream(mapping));
+
+        Path indexDirectory = cachedIndexDirectory(mapping, indexCacheDirectory);
+        if (!isComplete(indexDirectory)) {
+            buildIndexCache(drugEntries, indexDirectory);
+        }
+
+        LOGGER.debug("Using treatment curation index from {}", indexDirectory);
+        Directory index = new MMapDirectory(indexDirectory.resolve(DRUG_INDEX_DIRECTORY));
+        SpellChecker spellChecker = new SpellChecker(new MMapDirectory(indexDirectory.resolve(SPELLCHECK_INDEX_DIRECTORY)));
+        spellChecker.setAccuracy(SPELLCHECK_ACCURACY);
+        return new TreatmentCurator(drugEntries, index, spellChecker);
+    }
+
+    @NotNull
+    @VisibleForTesting
+    static Path cachedIndexDirectory(@NotNull byte[] mapping, @NotNull File indexCacheDirectory) {
+        // The lucene version is part of the key as well since the index format may change between versions.
+        return indexCacheDirectory.toPath().resolve("treatment_mapping_" + Version.LATEST + "_" + Hashing.sha256().hashBytes(mapping));
     }
 
     @VisibleForTesting
     TreatmentCurator(@NotNull final InputStream mappingInputStream) throws IOException {
-        List<DrugEntry> drugEntries = readEntries(mappingInputStream);
-        Directory index = createIndex(drugEntries);
+        this(readEntries(mappingInputStream));
+    }
+
+    private TreatmentCurator(@NotNull List<DrugEntry> drugEntries) throws IOException {
+        this(drugEntries, createIndex(drugEntries, new RAMDirectory()));
+    }
+
+    private TreatmentCurator(@NotNull List<DrugEntry> drugEntries, @NotNull Directory index) throws IOException {
+        this(drugEntries, index, createIndexSpellchecker(index, new RAMDirectory()));
+    }
+
+    private TreatmentCurator(@NotNull List<DrugEntry> drugEntries, @NotNull Directory index, @NotNull SpellChecker spellChecker)
+            throws IOException {
         IndexReader reader = DirectoryReader.open(index);
 
-        spellChecker = createIndexSpellchecker(index);
+        this.spellChecker = spellChecker;
         indexSearcher = new IndexSearcher(reader);
         unusedTokenizedTermToEntryMap = extractUnusedTokenizedTermToEntryMap(drugEntries);
     }
 
+    private static void buildIndexCache(@NotNull List<DrugEntry> drugEntries, @NotNull Path indexDirectory) throws IOException {
+        // Build next to the final location and move it in place once complete, so concurrent runs never see a partial index.
+        Files.createDirectories(indexDirectory.getParent());
+        Path building = Files.createTempDirectory(indexDirectory.getParent(), indexDirectory.getFileName().toString());
+        try (Directory index = new MMapDirectory(building.resolve(DRUG_INDEX_DIRECTORY));
+                Directory spellCheckerIndex = new MMapDirectory(building.resolve(SPELLCHECK_INDEX_DIRECTORY))) {
+            createIndex(drugEntries, index);
+            createIndexSpellchecker(index, spellCheckerIndex).close();
+        }
+        Files.createFile(building.resolve(INDEX_COMPLETE_MARKER));
+
+        try {
+            moveIndexCache(building, indexDirectory);
+            LOGGER.info("Built treatment curation index in {}", indexDirectory);
+        } catch (IOException exception) {
+            deleteRecursively(building);
+            throw exception;
+        }
+    }
+
+    private static void moveIndexCache(@NotNull Path building, @NotNull Path indexDirectory) throws IOException {
+        try {
+            Files.move(building, indexDirectory, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException exception) {
+            if (isComplete(indexDirectory)) {
+                // Another run built the same index in the meantime.
+                deleteRecursively(building);
+            } else if (Files.exists(indexDirectory)) {
+                LOGGER.warn("Replacing incomplete treatment curation index in {}", indexDirectory);
+                deleteRecursively(indexDirectory);
+                Files.move(building, indexDirectory, StandardCopyOption.ATOMIC_MOVE);
+            } else {
+                throw exception;
+            }
+        }
+    }
+
+    private static boolean isComplete(@NotNull Path indexDirectory) {
+        return Files.isRegularFile(indexDirectory.resolve(INDEX_COMPLETE_MARKER));
+    }
+
+    private static void deleteRecursively(@NotNull Path directory) throws IOException {
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(directory)) {
+            paths = walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        }
+        for (Path path : paths) {
+            Files.delete(path);
+        }
+    }
+
     @NotNull
     private static Map<String, String> extractUnusedTokenizedTermToEntryMap(@NotNull Iterable<DrugEntry> drugEntries) throws IOException {
-        Map<String, String> uniqueTokenizedTermToEntryMap = Maps.newHashMap();
+        Map<String, String> uniqueTokenizedTermToEntryMap = Maps.newConcurrentMap();
 
         for (DrugEntry drugEntry : drugEntries) {
             for (String synonym : drugEntry.synonyms()) {
@@ -172,6 +293,16 @@ public class TreatmentCurator implements CleanableCurator {
 
     @NotNull
     public List<CuratedDrug> search(@NotNull String searchTerm) {
+        return searchCache.getUnchecked(searchTerm);
+    }
+
+    public long memoisedSearchCount() {
+        return searchCache.size();
+    }
+
+    @NotNull
+    @VisibleForTesting
+    List<CuratedDrug> searchIndex(@NotNull String searchTerm) {
         Optional<CuratedDrug> matchedDrug = matchSingle(searchTerm);
         if (!matchedDrug.isPresent()) {
             return matchMultiple(searchTerm);
@@ -258,8 +389,7 @@ public class TreatmentCurator implements CleanableCurator {
     }
 
     @NotNull
-    private static Directory createIndex(@NotNull List<DrugEntry> drugEntries) throws IOException {
-        Directory drugIndex = new RAMDirectory();
+    private static Directory createIndex(@NotNull List<DrugEntry> drugEntries, @NotNull Directory drugIndex) throws IOException {
         IndexWriter indexWriter = createIndexWriter(drugIndex);
         for (final DrugEntry drugEntry : drugEntries) {
             indexDrugEntry(indexWriter, drugEntry);
@@ -290,15 +420,16 @@ public class TreatmentCurator implements CleanableCurator {
     }
 
     @NotNull
-    private static SpellChecker createIndexSpellchecker(@NotNull final Directory index) throws IOException {
-        Directory spellCheckerDirectory = new RAMDirectory();
-        IndexReader indexReader = DirectoryReader.open(index);
+    private static SpellChecker createIndexSpellchecker(@NotNull final Directory index, @NotNull final Directory spellCheckerDirectory)
+            throws IOException {
         Analyzer analyzer = new SimpleAnalyzer();
         IndexWriterConfig config = new IndexWriterConfig(analyzer);
-        Dictionary dictionary = new HighFrequencyDictionary(indexReader, DRUG_TERMS_FIELD, 0.0f);
         SpellChecker spellChecker = new SpellChecker(spellCheckerDirectory);
 
-        spellChecker.indexDictionary(dictionary, config, false);
+        try (IndexReader indexReader = DirectoryReader.open(index)) {
+            Dictionary dictionary = new HighFrequencyDictionary(indexReader, DRUG_TERMS_FIELD, 0.0f);
+            spellChecker.indexDictionary(dictionary, config, false);
+        }
         spellChecker.setAccuracy(SPELLCHECK_ACCURACY);
         return spellChecker;
     }
@@ -45,7 +45,8 @@ public class TumorLocationCurator implements CleanableCurator {
                     ImmutableCuratedTumorLocation.of(Utils.capitalize(primaryTumorLocation), Utils.capitalize(subType), searchTerm));
         }
         // Need to create a copy of the key set so that we can remove elements from it without affecting the curation.
-        unusedSearchTerms = Sets.newHashSet(tumorLocationMap.keySet());
+        // Patients are curated concurrently, so the copy has to support concurrent removal.
+        unusedSearchTerms = Sets.newConcurrentHashSet(tumorLocationMap.keySet());
     }
 
     @NotNull
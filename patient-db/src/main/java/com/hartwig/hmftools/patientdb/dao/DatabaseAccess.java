@@ -11,6 +11,8 @@ import com.hartwig.hmftools.common.amber.AmberBAF;
 import com.hartwig.hmftools.common.chord.ChordAnalysis;
 import com.hartwig.hmftools.common.drivercatalog.DriverCatalog;
 import com.hartwig.hmftools.common.ecrf.EcrfModel;
+import com.hartwig.hmftools.common.ecrf.datamodel.EcrfDatamodelField;
+import com.hartwig.hmftools.common.ecrf.datamodel.EcrfPatient;
 import com.hartwig.hmftools.common.ecrf.datamodel.ValidationFinding;
 import com.hartwig.hmftools.common.genome.region.CanonicalTranscript;
 import com.hartwig.hmftools.common.metrics.WGSMetricWithQC;
@@ -37,6 +39,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jooq.Configuration;
 import org.jooq.DSLContext;
 import org.jooq.SQLDialect;
 import org.jooq.conf.MappedSchema;
@@ -91,12 +94,11 @@ public class DatabaseAccess implements AutoCloseable {
     private final ClinicalEvidenceDAO clinicalEvidenceDAO;
 
     public DatabaseAccess(@NotNull final String userName, @NotNull final String password, @NotNull final String url) throws SQLException {
-        // Disable annoying jooq self-ad message
-        System.setProperty("org.jooq.no-logo", "true");
-        final Connection conn = DriverManager.getConnection(url, userName, password);
-        final String catalog = conn.getCatalog();
-        LOGGER.debug("Connecting to database {}", catalog);
-        this.context = DSL.using(conn, SQLDialect.MYSQL, settings(catalog));
+        this(connect(userName, password, url));
+    }
+
+    DatabaseAccess(@NotNull final DSLContext context) {
+        this.context = context;
 
         ecrfDAO = new EcrfDAO(context);
         clinicalDAO = new ClinicalDAO(context);
@@ -118,11 +120,28 @@ public class DatabaseAccess implements AutoCloseable {
         clinicalEvidenceDAO = new ClinicalEvidenceDAO(context);
     }
 
+    @NotNull
+    private static DSLContext connect(@NotNull final String userName, @NotNull final String password, @NotNull final String url)
+            throws SQLException {
+        // Disable annoying jooq self-ad message
+        System.setProperty("org.jooq.no-logo", "true");
+        final Connection conn = DriverManager.getConnection(url, userName, password);
+        final String catalog = conn.getCatalog();
+        LOGGER.debug("Connecting to database {}", catalog);
+        return DSL.using(conn, SQLDialect.MYSQL, settings(catalog));
+    }
+
     @NotNull
     public DSLContext context() {
         return context;
     }
 
+    // All DAOs of the returned instance write through the given transaction rather than through the connection of this instance.
+    @NotNull
+    DatabaseAccess inTransaction(@NotNull final Configuration configuration) {
+        return new DatabaseAccess(DSL.using(configuration));
+    }
+
     @Override
     public void close() {
         context.close();
@@ -294,22 +313,38 @@ public class DatabaseAccess implements AutoCloseable {
 
     public void writeDrupEcrf(@NotNull final EcrfModel model, @NotNull final Set<String> sequencedPatients) {
         LOGGER.info("Writing DRUP datamodel...");
-        ecrfDAO.writeDrupDatamodel(model.fields());
+        writeDrupEcrfDatamodel(model.fields());
         LOGGER.info(" Done writing DRUP datamodel.");
         LOGGER.info("Writing raw DRUP patient data...");
-        model.patients().forEach(patient -> ecrfDAO.writeDrupPatient(patient, sequencedPatients.contains(patient.patientId())));
+        model.patients().forEach(patient -> writeDrupEcrfPatient(patient, sequencedPatients.contains(patient.patientId())));
         LOGGER.info(" Done writing raw DRUP patient data.");
     }
 
+    public void writeDrupEcrfDatamodel(@NotNull final Iterable<EcrfDatamodelField> fields) {
+        ecrfDAO.writeDrupDatamodel(fields);
+    }
+
+    public void writeDrupEcrfPatient(@NotNull final EcrfPatient patient, boolean sequenced) {
+        ecrfDAO.writeDrupPatient(patient, sequenced);
+    }
+
     public void writeCpctEcrf(@NotNull final EcrfModel model, @NotNull final Set<String> sequencedPatients) {
         LOGGER.info("Writing CPCT datamodel...");
-        ecrfDAO.writeCpctDatamodel(model.fields());
+        writeCpctEcrfDatamodel(model.fields());
         LOGGER.info(" Done writing CPCT datamodel.");
         LOGGER.info("Writing raw CPCT patient data...");
-        model.patients().forEach(patient -> ecrfDAO.writeCpctPatient(patient, sequencedPatients.contains(patient.patientId())));
+        model.patients().forEach(patient -> writeCpctEcrfPatient(patient, sequencedPatients.contains(patient.patientId())));
         LOGGER.info(" Done writing raw CPCT patient data.");
     }
 
+    public void writeCpctEcrfDatamodel(@NotNull final Iterable<EcrfDatamodelField> fields) {
+        ecrfDAO.writeCpctDatamodel(fields);
+    }
+
+    public void writeCpctEcrfPatient(@NotNull final EcrfPatient patient, boolean sequenced) {
+        ecrfDAO.writeCpctPatient(patient, sequenced);
+    }
+
     public void writeValidationFindings(@NotNull final List<ValidationFinding> findings) {
         validationFindingsDAO.write(findings);
     }
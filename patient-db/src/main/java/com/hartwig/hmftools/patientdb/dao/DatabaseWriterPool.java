@@ -0,0 +1,114 @@
+package com.hartwig.hmftools.patientdb.dao;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Holds a bounded set of database connections and writes independent tables concurrently.
+ * Each submitted write runs on its own connection inside its own transaction, through DAOs bound to that transaction.
+ * Writes may be submitted from several threads.
+ */
+public class DatabaseWriterPool implements AutoCloseable {
+
+    private static final Logger LOGGER = LogManager.getLogger(DatabaseWriterPool.class);
+
+    @NotNull
+    private final List<DatabaseAccess> connections;
+    @NotNull
+    private final BlockingQueue<DatabaseAccess> available;
+    @NotNull
+    private final ExecutorService executorService;
+    @NotNull
+    private final ConcurrentLinkedQueue<Future<?>> pending = new ConcurrentLinkedQueue<>();
+
+    public DatabaseWriterPool(@NotNull final String userName, @NotNull final String password, @NotNull final String url,
+            int threadCount) throws SQLException {
+        this(connect(userName, password, url, threadCount));
+    }
+
+    @VisibleForTesting
+    DatabaseWriterPool(@NotNull final List<DatabaseAccess> connections) {
+        this.connections = connections;
+        available = new ArrayBlockingQueue<>(connections.size(), false, connections);
+
+        executorService = Executors.newFixedThreadPool(connections.size(),
+                new ThreadFactoryBuilder().setNameFormat("db-writer-%d").setDaemon(true).build());
+    }
+
+    @NotNull
+    private static List<DatabaseAccess> connect(@NotNull final String userName, @NotNull final String password, @NotNull final String url,
+            int threadCount) throws SQLException {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("Writer pool requires at least one thread");
+        }
+
+        final List<DatabaseAccess> connections = Lists.newArrayList();
+        for (int i = 0; i < threadCount; i++) {
+            connections.add(new DatabaseAccess(userName, password, url));
+        }
+        return connections;
+    }
+
+    public int threadCount() {
+        return connections.size();
+    }
+
+    public void submit(@NotNull final String description, @NotNull final Consumer<DatabaseAccess> writer) {
+        pending.add(executorService.submit(() -> {
+            final DatabaseAccess dbAccess = available.take();
+            try {
+                LOGGER.debug("Writing {}", description);
+                dbAccess.context().transaction(configuration -> writer.accept(dbAccess.inTransaction(configuration)));
+            } finally {
+                available.put(dbAccess);
+            }
+            return null;
+        }));
+    }
+
+    public void awaitCompletion() {
+        RuntimeException failure = null;
+        Future<?> future;
+        while ((future = pending.poll()) != null) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for database writes", e);
+            } catch (ExecutionException e) {
+                LOGGER.error("Database write failed: {}", e.getCause().toString());
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException
+                            ? (RuntimeException) e.getCause()
+                            : new IllegalStateException(e.getCause());
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public void close() {
+        executorService.shutdown();
+        connections.forEach(DatabaseAccess::close);
+    }
+}
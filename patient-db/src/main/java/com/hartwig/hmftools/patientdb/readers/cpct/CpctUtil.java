@@ -7,6 +7,7 @@ import com.google.common.collect.Maps;
 import com.hartwig.hmftools.common.ecrf.EcrfModel;
 import com.hartwig.hmftools.common.ecrf.reader.CodeList;
 import com.hartwig.hmftools.common.ecrf.reader.Item;
+import com.hartwig.hmftools.common.ecrf.reader.XMLEcrfDatamodel;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -24,18 +25,23 @@ public final class CpctUtil {
 
     @NotNull
     public static Map<Integer, String> extractHospitalMap(@NotNull final EcrfModel model) {
+        return extractHospitalMap(model.datamodel());
+    }
+
+    @NotNull
+    public static Map<Integer, String> extractHospitalMap(@NotNull final XMLEcrfDatamodel datamodel) {
         final Map<Integer, String> hospitals = Maps.newHashMap();
 
-        final Map<String, CodeList> codeLists = model.datamodel().codeLists();
+        final Map<String, CodeList> codeLists = datamodel.codeLists();
 
-        final Item hospitalItem1 = model.datamodel().items().get(FIELD_HOSPITAL1);
+        final Item hospitalItem1 = datamodel.items().get(FIELD_HOSPITAL1);
         if (hospitalItem1 != null) {
             hospitals.putAll(codeLists.get(hospitalItem1.codeListOID()).values());
         } else {
             LOGGER.warn("Could not find hospitalPerHospital item in datamodel: " + FIELD_HOSPITAL1);
         }
 
-        final Item hospitalItem2 = model.datamodel().items().get(FIELD_HOSPITAL2);
+        final Item hospitalItem2 = datamodel.items().get(FIELD_HOSPITAL2);
         if (hospitalItem2 != null) {
             hospitals.putAll(codeLists.get(hospitalItem2.codeListOID()).values());
         } else {
@@ -0,0 +1,128 @@
+package com.hartwig.hmftools.patientdb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.hartwig.hmftools.common.ecrf.datamodel.EcrfPatient;
+import com.hartwig.hmftools.common.ecrf.formstatus.FormStatus;
+import com.hartwig.hmftools.common.lims.LimsFactory;
+import com.hartwig.hmftools.patientdb.dao.DatabaseWriterPool;
+import com.hartwig.hmftools.patientdb.dao.TestDatabaseFactory;
+import com.hartwig.hmftools.patientdb.data.ImmutableCuratedTumorLocation;
+import com.hartwig.hmftools.patientdb.data.ImmutablePreTreatmentData;
+import com.hartwig.hmftools.patientdb.data.Patient;
+import com.hartwig.hmftools.patientdb.data.TestDatamodelFactory;
+import com.hartwig.hmftools.patientdb.readers.EcrfPatientReader;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.Test;
+
+public class ClinicalPatientWriterTest {
+
+    private static final int THREAD_COUNT = 4;
+
+    @Test
+    public void curatesSamePatientsRegardlessOfCurationOrder() {
+        final List<String> cpctIds = Lists.newArrayList("CPCT01", "DRUP01", "CPCT01", "CPCT02", "WIDE01", "CPCT01");
+        final List<String> drupIds = Lists.newArrayList("DRUP01", "CPCT02", "DRUP02", "DRUP01");
+
+        final List<String> expected = Lists.newArrayList("CPCT01 CPCT 5",
+                "CPCT02 DRUP 1",
+                "DRUP01 DRUP 3",
+                "DRUP02 DRUP 2",
+                "WIDE01 LIMS 0");
+
+        for (int run = 0; run < 20; run++) {
+            final Queue<String> rawPatientIds = new ConcurrentLinkedQueue<>();
+            final ClinicalPatientWriter.RawEcrfWriter rawEcrfWriter = (dbAccess, patient, sequenced) -> rawPatientIds.add(patient.patientId());
+
+            try (DatabaseWriterPool writerPool = TestDatabaseFactory.writerPool(THREAD_COUNT);
+                    ClinicalPatientWriter patientWriter = new ClinicalPatientWriter(writerPool,
+                            LimsFactory.empty(),
+                            Sets.newHashSet(),
+                            Maps.newHashMap(),
+                            THREAD_COUNT)) {
+                patientWriter.writePatients(Lists.newArrayList(patient("WIDE01", "LIMS 0")));
+                patientWriter.registerEcrfPatientIds(cpctIds);
+                patientWriter.registerEcrfPatientIds(drupIds);
+
+                submitExport(patientWriter, "CPCT", cpctIds, rawEcrfWriter);
+                submitExport(patientWriter, "DRUP", drupIds, null);
+                patientWriter.awaitCompletion();
+
+                assertEquals(expected,
+                        patientWriter.tumorLocations()
+                                .stream()
+                                .map(x -> x.patientIdentifier() + " " + x.primaryTumorLocation())
+                                .collect(Collectors.toList()));
+            }
+
+            // raw eCRF data is written for every occurrence, whether or not it is curated
+            assertEquals(cpctIds.size(), rawPatientIds.size());
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void releasesPatientsWhichCannotBeWritten() {
+        final DatabaseWriterPool writerPool = TestDatabaseFactory.writerPool(1);
+        writerPool.close();
+
+        try (ClinicalPatientWriter patientWriter = new ClinicalPatientWriter(writerPool,
+                LimsFactory.empty(),
+                Sets.newHashSet(),
+                Maps.newHashMap(),
+                1)) {
+            // more attempts than patients allowed in flight, which blocks if a rejected patient is not released
+            for (int i = 0; i < 10; i++) {
+                try {
+                    patientWriter.writePatients(Lists.newArrayList(patient("WIDE01", "LIMS")));
+                    fail("Writing to a closed writer pool should be rejected");
+                } catch (RejectedExecutionException exception) {
+                    // expected
+                }
+            }
+        }
+    }
+
+    // Each curated patient records the export and the position within it that it was curated from as its tumor location.
+    private static void submitExport(@NotNull final ClinicalPatientWriter patientWriter, @NotNull final String export,
+            @NotNull final List<String> patientIds, @Nullable final ClinicalPatientWriter.RawEcrfWriter rawEcrfWriter) {
+        final Map<EcrfPatient, String> occurrences = Maps.newIdentityHashMap();
+        final List<EcrfPatient> ecrfPatients = Lists.newArrayList();
+        for (int i = 0; i < patientIds.size(); i++) {
+            final EcrfPatient ecrfPatient = new EcrfPatient(patientIds.get(i), Maps.newHashMap(), Lists.newArrayList());
+            occurrences.put(ecrfPatient, export + " " + i);
+            ecrfPatients.add(ecrfPatient);
+        }
+
+        final EcrfPatientReader reader = (ecrfPatient, sequencedSamples) -> patient(ecrfPatient.patientId(), occurrences.get(ecrfPatient));
+        ecrfPatients.forEach(ecrfPatient -> patientWriter.submit(reader, ecrfPatient, rawEcrfWriter));
+    }
+
+    @NotNull
+    private static Patient patient(@NotNull final String patientIdentifier, @NotNull final String tumorLocation) {
+        return new Patient(patientIdentifier,
+                TestDatamodelFactory.baselineBuilder()
+                        .curatedTumorLocation(ImmutableCuratedTumorLocation.of(tumorLocation, null, null))
+                        .build(),
+                ImmutablePreTreatmentData.builder().formStatus(FormStatus.undefined()).build(),
+                Lists.newArrayList(),
+                Lists.newArrayList(),
+                Lists.newArrayList(),
+                Lists.newArrayList(),
+                Lists.newArrayList(),
+                Lists.newArrayList(),
+                Lists.newArrayList());
+    }
+}
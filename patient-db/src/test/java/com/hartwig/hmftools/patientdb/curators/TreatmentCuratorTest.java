@@ -4,17 +4,29 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
 import java.util.stream.Collectors;
 
+import com.google.common.collect.Lists;
+import com.google.common.io.Resources;
 import com.hartwig.hmftools.patientdb.data.CuratedDrug;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Ignore;
 import org.junit.Test;
 
 public class TreatmentCuratorTest {
 
+    private static final Logger LOGGER = LogManager.getLogger(TreatmentCuratorTest.class);
+
     @Test
     public void canCreateFromProductionResource() throws IOException {
         assertNotNull(TreatmentCurator.fromProductionResource());
@@ -179,4 +191,101 @@ public class TreatmentCuratorTest {
         List<CuratedDrug> curatedDrugs = curator.search("acetate");
         assertEquals(0, curatedDrugs.size());
     }
+
+    @Test
+    public void indexCacheIsBuiltOnceAndMatchesInMemoryIndex() throws IOException {
+        byte[] mapping = Resources.toByteArray(Resources.getResource("test_treatment_mapping.csv"));
+        File indexCacheDirectory = Files.createTempDirectory("treatment_curator").toFile();
+        indexCacheDirectory.deleteOnExit();
+
+        TreatmentCurator inMemoryCurator = TestCuratorFactory.treatmentCurator();
+        TreatmentCurator firstCurator = TreatmentCurator.fromIndexCache(mapping, indexCacheDirectory);
+        TreatmentCurator secondCurator = TreatmentCurator.fromIndexCache(mapping, indexCacheDirectory);
+        assertEquals(1, indexCacheDirectory.list().length);
+
+        for (String searchTerm : Lists.newArrayList("Zocor (simvastatin)", "Prinivyl,Zithromaxx/amlodipin Besylate", "TNT 101", "acid")) {
+            assertEquals(inMemoryCurator.search(searchTerm), firstCurator.search(searchTerm));
+            assertEquals(inMemoryCurator.search(searchTerm), secondCurator.search(searchTerm));
+        }
+    }
+
+    @Test
+    public void incompleteIndexCacheIsRebuilt() throws IOException {
+        byte[] mapping = Resources.toByteArray(Resources.getResource("test_treatment_mapping.csv"));
+        File indexCacheDirectory = Files.createTempDirectory("treatment_curator").toFile();
+        indexCacheDirectory.deleteOnExit();
+
+        // An index directory without its completion marker, as left behind when the index files were removed.
+        Path indexDirectory = TreatmentCurator.cachedIndexDirectory(mapping, indexCacheDirectory);
+        Files.createDirectories(indexDirectory.resolve("drugs"));
+
+        TreatmentCurator inMemoryCurator = TestCuratorFactory.treatmentCurator();
+        TreatmentCurator curator = TreatmentCurator.fromIndexCache(mapping, indexCacheDirectory);
+        assertEquals(1, indexCacheDirectory.list().length);
+        assertTrue(Files.isRegularFile(indexDirectory.resolve("complete")));
+        assertEquals(inMemoryCurator.search("Zocor (simvastatin)"), curator.search("Zocor (simvastatin)"));
+    }
+
+    @Test
+    @Ignore
+    public void benchmarkTreatmentCuration() throws IOException {
+        // This function exists just for fast local benchmarking of curating a synthetic eCRF treatment corpus.
+        byte[] mapping = Resources.toByteArray(TreatmentCurator.class.getResource("/treatment_mapping.csv"));
+        File indexCacheDirectory = Files.createTempDirectory("treatment_curator").toFile();
+
+        long start = System.currentTimeMillis();
+        TreatmentCurator curator = TreatmentCurator.fromIndexCache(mapping, indexCacheDirectory);
+        LOGGER.info("Built index cache in {}ms", System.currentTimeMillis() - start);
+        List<String> corpus = syntheticTreatmentCorpus(curator.unusedSearchTerms(), 50_000);
+
+        start = System.currentTimeMillis();
+        curator = TreatmentCurator.fromIndexCache(mapping, indexCacheDirectory);
+        LOGGER.info("Opened index cache in {}ms", System.currentTimeMillis() - start);
+
+        start = System.currentTimeMillis();
+        for (String treatment : corpus) {
+            curator.searchIndex(treatment);
+        }
+        LOGGER.info("Searched {} treatments without memo in {}ms", corpus.size(), System.currentTimeMillis() - start);
+
+        start = System.currentTimeMillis();
+        for (String treatment : corpus) {
+            curator.search(treatment);
+        }
+        LOGGER.info("Searched {} treatments with memo in {}ms, memoised {} treatments",
+                corpus.size(),
+                System.currentTimeMillis() - start,
+                curator.memoisedSearchCount());
+
+        TreatmentCurator parallelCurator = TreatmentCurator.fromIndexCache(mapping, indexCacheDirectory);
+        start = System.currentTimeMillis();
+        corpus.parallelStream().forEach(parallelCurator::search);
+        LOGGER.info("Searched {} treatments with memo in parallel in {}ms", corpus.size(), System.currentTimeMillis() - start);
+    }
+
+    @NotNull
+    private static List<String> syntheticTreatmentCorpus(@NotNull Iterable<String> drugNames, int size) {
+        // Treatments are drawn from a limited set of distinct free-text entries, with typos and combinations, as they recur in eCRFs.
+        Random random = new Random(0);
+        List<String> drugs = Lists.newArrayList(drugNames);
+        List<String> distinctTreatments = Lists.newArrayList();
+        for (int i = 0; i < 2_000; i++) {
+            StringBuilder treatment = new StringBuilder(drugs.get(random.nextInt(drugs.size())));
+            if (random.nextInt(4) == 0) {
+                treatment.deleteCharAt(random.nextInt(treatment.length()));
+            }
+            if (random.nextInt(3) == 0) {
+                treatment.append(random.nextBoolean() ? " + " : "/").append(drugs.get(random.nextInt(drugs.size())));
+            }
+            distinctTreatments.add(treatment.toString());
+        }
+
+        List<String> corpus = Lists.newArrayListWithCapacity(size);
+        for (int i = 0; i < size; i++) {
+            // Squaring the uniform draw makes some treatments far more common than others.
+            double draw = random.nextDouble();
+            corpus.add(distinctTreatments.get((int) (draw * draw * distinctTreatments.size())));
+        }
+        return corpus;
+    }
 }
@@ -0,0 +1,52 @@
+package com.hartwig.hmftools.patientdb.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.Test;
+
+public class DatabaseWriterPoolTest {
+
+    @Test
+    public void commitsSuccessfulWrite() {
+        final List<String> calls = Lists.newArrayList();
+        final DatabaseAccess dbAccess = new DatabaseAccess(DSL.using(TestDatabaseFactory.recordingConnection(calls), SQLDialect.MYSQL));
+
+        try (DatabaseWriterPool writerPool = new DatabaseWriterPool(Lists.newArrayList(dbAccess))) {
+            writerPool.submit("success", transactional -> assertNotSame(dbAccess, transactional));
+            writerPool.awaitCompletion();
+        }
+
+        assertEquals(1, calls.stream().filter(call -> call.equals("commit")).count());
+        assertEquals(0, calls.stream().filter(call -> call.startsWith("rollback")).count());
+    }
+
+    @Test
+    public void rollsBackFailingWrite() {
+        final List<String> calls = Lists.newArrayList();
+        final DatabaseAccess dbAccess = new DatabaseAccess(DSL.using(TestDatabaseFactory.recordingConnection(calls), SQLDialect.MYSQL));
+
+        try (DatabaseWriterPool writerPool = new DatabaseWriterPool(Lists.newArrayList(dbAccess))) {
+            writerPool.submit("failure", transactional -> {
+                throw new IllegalStateException("write failed");
+            });
+
+            try {
+                writerPool.awaitCompletion();
+                fail("Failed write should be reported");
+            } catch (RuntimeException exception) {
+                // expected
+            }
+        }
+
+        assertEquals(0, calls.stream().filter(call -> call.equals("commit")).count());
+        assertEquals(1, calls.stream().filter(call -> call.startsWith("rollback")).count());
+    }
+}
@@ -0,0 +1,63 @@
+package com.hartwig.hmftools.patientdb.dao;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+
+import org.jetbrains.annotations.NotNull;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+
+public final class TestDatabaseFactory {
+
+    private TestDatabaseFactory() {
+    }
+
+    @NotNull
+    public static DatabaseWriterPool writerPool(int threadCount) {
+        final List<DatabaseAccess> connections = Lists.newArrayList();
+        for (int i = 0; i < threadCount; i++) {
+            connections.add(new DatabaseAccess(DSL.using(recordingConnection(Lists.newArrayList()), SQLDialect.MYSQL)));
+        }
+        return new DatabaseWriterPool(connections);
+    }
+
+    @NotNull
+    static Connection recordingConnection(@NotNull final List<String> calls) {
+        final boolean[] autoCommit = { true };
+        final Savepoint savepoint = (Savepoint) Proxy.newProxyInstance(Savepoint.class.getClassLoader(),
+                new Class<?>[] { Savepoint.class },
+                (proxy, method, args) -> method.getReturnType().equals(String.class) ? "savepoint" : 0);
+
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getAutoCommit":
+                            return autoCommit[0];
+                        case "setAutoCommit":
+                            autoCommit[0] = (Boolean) args[0];
+                            return null;
+                        case "setSavepoint":
+                            return savepoint;
+                        case "commit":
+                        case "rollback":
+                            synchronized (calls) {
+                                calls.add(method.getName());
+                            }
+                            return null;
+                        case "isClosed":
+                        case "isReadOnly":
+                            return false;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return method.getReturnType().equals(boolean.class) ? false : null;
+                    }
+                });
+    }
+}
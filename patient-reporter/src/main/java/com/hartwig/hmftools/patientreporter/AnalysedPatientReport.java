@@ -85,6 +85,10 @@ public abstract class AnalysedPatientReport implements PatientReport {
     @Override
     public abstract boolean isCorrectedReport();
 
+    @Override
+    @NotNull
+    public abstract String reportDate();
+
     @Override
     @NotNull
     public abstract String signaturePath();
@@ -6,9 +6,12 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.hartwig.hmftools.common.actionability.EvidenceItem;
 import com.hartwig.hmftools.common.chord.ChordAnalysis;
 import com.hartwig.hmftools.common.chord.ChordFileReader;
@@ -21,7 +24,6 @@ import com.hartwig.hmftools.common.purple.purity.FittedPurityFile;
 import com.hartwig.hmftools.common.purple.purity.PurityContext;
 import com.hartwig.hmftools.common.purple.qc.PurpleQC;
 import com.hartwig.hmftools.common.purple.qc.PurpleQCFile;
-import com.hartwig.hmftools.common.variant.SomaticVariant;
 import com.hartwig.hmftools.common.variant.SomaticVariantFactory;
 import com.hartwig.hmftools.common.variant.structural.annotation.ReportableDisruption;
 import com.hartwig.hmftools.common.variant.structural.annotation.ReportableDisruptionFile;
@@ -29,6 +31,7 @@ import com.hartwig.hmftools.common.variant.structural.annotation.ReportableGeneF
 import com.hartwig.hmftools.common.variant.structural.annotation.ReportableGeneFusionFile;
 import com.hartwig.hmftools.patientreporter.actionability.ClinicalTrialFactory;
 import com.hartwig.hmftools.patientreporter.actionability.ReportableEvidenceItemFactory;
+import com.hartwig.hmftools.patientreporter.cfreport.data.DataUtil;
 import com.hartwig.hmftools.patientreporter.copynumber.CopyNumberAnalysis;
 import com.hartwig.hmftools.patientreporter.copynumber.CopyNumberAnalyzer;
 import com.hartwig.hmftools.patientreporter.homozygousdisruption.HomozygousDisruptionAnalyzer;
@@ -44,6 +47,7 @@ import com.hartwig.hmftools.patientreporter.variants.germline.FilterGermlineVari
 import com.hartwig.hmftools.patientreporter.variants.germline.GermlineVariant;
 import com.hartwig.hmftools.patientreporter.variants.somatic.SomaticVariantAnalysis;
 import com.hartwig.hmftools.patientreporter.variants.somatic.SomaticVariantAnalyzer;
+import com.hartwig.hmftools.patientreporter.variants.somatic.SomaticVariantCollector;
 import com.hartwig.hmftools.patientreporter.viralInsertion.ViralInsertion;
 import com.hartwig.hmftools.patientreporter.viralInsertion.ViralInsertionAnalyzer;
 
@@ -59,9 +63,16 @@ class AnalysedPatientReporter {
 
     @NotNull
     private final AnalysedReportData reportData;
+    @NotNull
+    private final Executor executor;
 
     AnalysedPatientReporter(@NotNull final AnalysedReportData reportData) {
+        this(reportData, MoreExecutors.directExecutor());
+    }
+
+    AnalysedPatientReporter(@NotNull final AnalysedReportData reportData, @NotNull final Executor executor) {
         this.reportData = reportData;
+        this.executor = executor;
     }
 
     @NotNull
@@ -79,30 +90,53 @@ class AnalysedPatientReporter {
                 reportData.hospitalModel(),
                 patientTumorLocation);
 
-        CopyNumberAnalysis copyNumberAnalysis = analyzeCopyNumbers(purplePurityTsv, purpleQCFile, purpleGeneCnvTsv, patientTumorLocation);
-        SomaticVariantAnalysis somaticVariantAnalysis =
-                analyzeSomaticVariants(sampleMetadata.tumorSampleId(), somaticVariantVcf, copyNumberAnalysis.exomeGeneCopyNumbers());
-
-        ChordAnalysis chordAnalysis = analyzeChord(chordPredictionTxt);
-        List<ReportableGermlineVariant> germlineVariantsToReport = analyzeGermlineVariants(sampleMetadata.tumorSampleBarcode(),
-                bachelorTsv,
-                copyNumberAnalysis,
-                somaticVariantAnalysis,
-                chordAnalysis);
-
-        ReportVariantAnalysis reportableVariantsAnalysis =
-                ReportableVariantAnalyzer.mergeSomaticAndGermlineVariants(somaticVariantAnalysis.variantsToReport(),
-                        somaticVariantAnalysis.driverCatalog(),
+        // All inputs are loaded concurrently. Every analysis starts as soon as the inputs it depends on are loaded.
+        CompletableFuture<CopyNumberAnalysis> copyNumberAnalysisFuture = ReportInputs.load(executor,
+                () -> analyzeCopyNumbers(purplePurityTsv, purpleQCFile, purpleGeneCnvTsv, patientTumorLocation));
+        CompletableFuture<SomaticVariantCollector> somaticVariantsFuture =
+                ReportInputs.load(executor, () -> loadSomaticVariants(sampleMetadata.tumorSampleId(), somaticVariantVcf));
+        CompletableFuture<ChordAnalysis> chordAnalysisFuture = ReportInputs.load(executor, () -> analyzeChord(chordPredictionTxt));
+        CompletableFuture<List<GermlineVariant>> germlineVariantsFuture =
+                ReportInputs.load(executor, () -> loadGermlineVariants(bachelorTsv));
+        CompletableFuture<SvAnalysis> svAnalysisFuture =
+                ReportInputs.load(executor, () -> analyzeStructuralVariants(linxFusionTsv, linxDisruptionTsv, patientTumorLocation));
+        CompletableFuture<List<ReportableHomozygousDisruption>> homozygousDisruptionsFuture =
+                ReportInputs.load(executor, () -> extractHomozygousDisruptionsFromLinxDrivers(linxDriversTsv));
+        CompletableFuture<List<ViralInsertion>> viralInsertionsFuture =
+                ReportInputs.load(executor, () -> analyzeViralInsertions(linxViralInsertionTsv));
+
+        CompletableFuture<SomaticVariantAnalysis> somaticVariantAnalysisFuture = somaticVariantsFuture.thenCombine(copyNumberAnalysisFuture,
+                (somaticVariants, copyNumberAnalysis) -> SomaticVariantAnalyzer.run(somaticVariants,
                         reportData.driverGeneView(),
-                        germlineVariantsToReport,
-                        reportData.germlineReportingModel(),
-                        reportData.limsModel().germlineReportingChoice(sampleMetadata.tumorSampleBarcode()),
-                        reportData.actionabilityAnalyzer(),
-                        patientTumorLocation);
-
-        SvAnalysis svAnalysis = analyzeStructuralVariants(linxFusionTsv, linxDisruptionTsv, patientTumorLocation);
-        List<ReportableHomozygousDisruption> reportableHomozygousDisruptions = extractHomozygousDisruptionsFromLinxDrivers(linxDriversTsv);
-        List<ViralInsertion> viralInsertions = analyzeViralInsertions(linxViralInsertionTsv);
+                        copyNumberAnalysis.exomeGeneCopyNumbers()));
+
+        CompletableFuture<List<ReportableGermlineVariant>> germlineVariantsToReportFuture =
+                CompletableFuture.allOf(germlineVariantsFuture, copyNumberAnalysisFuture, somaticVariantAnalysisFuture, chordAnalysisFuture)
+                        .thenApply(ignored -> filterGermlineVariants(sampleMetadata.tumorSampleBarcode(),
+                                germlineVariantsFuture.join(),
+                                copyNumberAnalysisFuture.join(),
+                                somaticVariantAnalysisFuture.join(),
+                                chordAnalysisFuture.join()));
+
+        CompletableFuture<ReportVariantAnalysis> reportableVariantsAnalysisFuture =
+                somaticVariantAnalysisFuture.thenCombine(germlineVariantsToReportFuture,
+                        (somaticVariantAnalysis, germlineVariantsToReport) -> ReportableVariantAnalyzer.mergeSomaticAndGermlineVariants(
+                                somaticVariantAnalysis.variantsToReport(),
+                                somaticVariantAnalysis.driverCatalog(),
+                                reportData.driverGeneView(),
+                                germlineVariantsToReport,
+                                reportData.germlineReportingModel(),
+                                reportData.limsModel().germlineReportingChoice(sampleMetadata.tumorSampleBarcode()),
+                                reportData.actionabilityAnalyzer(),
+                                patientTumorLocation));
+
+        CopyNumberAnalysis copyNumberAnalysis = ReportInputs.join(copyNumberAnalysisFuture);
+        SomaticVariantAnalysis somaticVariantAnalysis = ReportInputs.join(somaticVariantAnalysisFuture);
+        ChordAnalysis chordAnalysis = ReportInputs.join(chordAnalysisFuture);
+        ReportVariantAnalysis reportableVariantsAnalysis = ReportInputs.join(reportableVariantsAnalysisFuture);
+        SvAnalysis svAnalysis = ReportInputs.join(svAnalysisFuture);
+        List<ReportableHomozygousDisruption> reportableHomozygousDisruptions = ReportInputs.join(homozygousDisruptionsFuture);
+        List<ViralInsertion> viralInsertions = ReportInputs.join(viralInsertionsFuture);
 
         String clinicalSummary = reportData.summaryModel().findSummaryForSample(sampleMetadata.tumorSampleId());
 
@@ -135,6 +169,7 @@ class AnalysedPatientReporter {
                 .circosPath(circosFile)
                 .comments(Optional.ofNullable(comments))
                 .isCorrectedReport(correctedReport)
+                .reportDate(DataUtil.formatDate(LocalDate.now()))
                 .isUnofficialReport(unofficialReport)
                 .signaturePath(reportData.signaturePath())
                 .logoRVAPath(reportData.logoRVAPath())
@@ -182,24 +217,26 @@ class AnalysedPatientReporter {
     }
 
     @NotNull
-    private SomaticVariantAnalysis analyzeSomaticVariants(@NotNull String sample, @NotNull String somaticVariantVcf,
-            @NotNull List<GeneCopyNumber> exomeGeneCopyNumbers) throws IOException {
-
-        List<SomaticVariant> variants = SomaticVariantFactory.passOnlyInstance().fromVCFFile(sample, somaticVariantVcf);
-        LOGGER.info("Loaded {} PASS somatic variants from {}", variants.size(), somaticVariantVcf);
-
-        return SomaticVariantAnalyzer.run(variants, reportData.driverGeneView(), exomeGeneCopyNumbers);
+    private SomaticVariantCollector loadSomaticVariants(@NotNull String sample, @NotNull String somaticVariantVcf) throws IOException {
+        // Variants are streamed from the vcf so only the variants relevant for the report are kept.
+        SomaticVariantCollector variants = new SomaticVariantCollector(reportData.driverGeneView());
+        SomaticVariantFactory.passOnlyInstance().fromVCFFile(sample, somaticVariantVcf, variants);
+        LOGGER.info("Loaded {} PASS somatic variants from {}", variants.variantCount(), somaticVariantVcf);
+        return variants;
     }
 
     @NotNull
-    private List<ReportableGermlineVariant> analyzeGermlineVariants(@NotNull String sampleBarcode, @NotNull String bachelorTsv,
-            @NotNull CopyNumberAnalysis copyNumberAnalysis, @NotNull SomaticVariantAnalysis somaticVariantAnalysis,
-            @NotNull ChordAnalysis chordAnalysis) throws IOException {
-
+    private static List<GermlineVariant> loadGermlineVariants(@NotNull String bachelorTsv) throws IOException {
         List<GermlineVariant> variants =
                 BachelorFile.loadBachelorTsv(bachelorTsv).stream().filter(GermlineVariant::passFilter).collect(Collectors.toList());
         LOGGER.info("Loaded {} PASS germline variants from {}", variants.size(), bachelorTsv);
+        return variants;
+    }
 
+    @NotNull
+    private List<ReportableGermlineVariant> filterGermlineVariants(@NotNull String sampleBarcode, @NotNull List<GermlineVariant> variants,
+            @NotNull CopyNumberAnalysis copyNumberAnalysis, @NotNull SomaticVariantAnalysis somaticVariantAnalysis,
+            @NotNull ChordAnalysis chordAnalysis) {
         LimsGermlineReportingChoice germlineChoice = reportData.limsModel().germlineReportingChoice(sampleBarcode);
         if (germlineChoice == LimsGermlineReportingChoice.UNKNOWN) {
             LOGGER.info(" No germline reporting choice known. No germline variants will be reported!");
@@ -1,6 +1,8 @@
 package com.hartwig.hmftools.patientreporter;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import com.hartwig.hmftools.common.actionability.ActionabilityAnalyzer;
 import com.hartwig.hmftools.patientreporter.variants.germline.GermlineReportingFile;
@@ -16,13 +18,23 @@ final class AnalysedReportDataLoader {
     private AnalysedReportDataLoader() {
     }
 
+    /**
+     * Loads the knowledgebase, germline reporting model and summaries on the executor while the base report data is loaded on the
+     * calling thread.
+     */
     @NotNull
-    static AnalysedReportData buildFromFiles(@NotNull ReportData reportData, @NotNull String knowledgebaseDir,
-             @NotNull String germlineGenesCsv, @NotNull String sampleSummaryTsv) throws IOException {
-        final ActionabilityAnalyzer actionabilityAnalyzer = ActionabilityAnalyzer.fromKnowledgebase(knowledgebaseDir);
-
-        final GermlineReportingModel germlineReportingModel = GermlineReportingFile.buildFromCsv(germlineGenesCsv);
-        final SummaryModel summaryModel = SummaryFile.buildFromTsv(sampleSummaryTsv);
+    static AnalysedReportData buildFromFiles(@NotNull Executor executor, @NotNull ReportInputs.Loader<ReportData> reportDataLoader,
+            @NotNull String knowledgebaseDir, @NotNull String germlineGenesCsv, @NotNull String sampleSummaryTsv) throws IOException {
+        CompletableFuture<ActionabilityAnalyzer> actionabilityAnalyzerFuture =
+                ReportInputs.load(executor, () -> ActionabilityAnalyzer.fromKnowledgebase(knowledgebaseDir));
+        CompletableFuture<GermlineReportingModel> germlineReportingModelFuture =
+                ReportInputs.load(executor, () -> GermlineReportingFile.buildFromCsv(germlineGenesCsv));
+        CompletableFuture<SummaryModel> summaryModelFuture = ReportInputs.load(executor, () -> SummaryFile.buildFromTsv(sampleSummaryTsv));
+
+        final ReportData reportData = reportDataLoader.load();
+        final ActionabilityAnalyzer actionabilityAnalyzer = ReportInputs.join(actionabilityAnalyzerFuture);
+        final GermlineReportingModel germlineReportingModel = ReportInputs.join(germlineReportingModelFuture);
+        final SummaryModel summaryModel = ReportInputs.join(summaryModelFuture);
 
         return ImmutableAnalysedReportData.builder()
                 .from(reportData)
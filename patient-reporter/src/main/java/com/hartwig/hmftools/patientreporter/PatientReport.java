@@ -19,6 +19,9 @@ public interface PatientReport {
 
     boolean isCorrectedReport();
 
+    @NotNull
+    String reportDate();
+
     @NotNull
     String signaturePath();
 
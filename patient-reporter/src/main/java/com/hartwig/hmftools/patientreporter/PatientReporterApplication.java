@@ -4,7 +4,11 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import com.google.common.collect.Lists;
 import com.hartwig.hmftools.common.ecrf.projections.PatientTumorLocation;
 import com.hartwig.hmftools.common.hospital.HospitalModel;
 import com.hartwig.hmftools.common.hospital.HospitalModelFactory;
@@ -82,28 +86,99 @@ public class PatientReporterApplication {
     private static final String UNOFFICIAL_REPORT = "unofficial_report";
     private static final String LOG_DEBUG = "log_debug";
 
-    public static void main(final String... args) throws ParseException, IOException {
+    // Params for reporting many samples while keeping the reference data loaded
+    private static final String SAMPLE_LIST = "sample_list";
+    private static final String QUEUE_DIR = "queue_dir";
+    private static final String THREADS = "threads";
+
+    private static final int THREADS_DEFAULT = 2;
+
+    public static void main(final String... args) throws ParseException, IOException, InterruptedException {
         Options options = createOptions();
-        CommandLine cmd = createCommandLine(options, args);
+        CommandLine cmd = createCommandLine(args);
+
+        if (cmd.hasOption(LOG_DEBUG)) {
+            Configurator.setRootLevel(Level.DEBUG);
+        }
+
+        if (cmd.hasOption(SAMPLE_LIST) || cmd.hasOption(QUEUE_DIR)) {
+            if (!validInputForService(cmd)) {
+                printUsageAndExit(options);
+            }
+
+            LOGGER.info("Running patient reporter v{} as service", VERSION);
+            runService(cmd, args);
+            return;
+        }
 
         if (!validInputForBaseReport(cmd)) {
             printUsageAndExit(options);
         }
 
-        if (cmd.hasOption(LOG_DEBUG)) {
-            Configurator.setRootLevel(Level.DEBUG);
+        LOGGER.info("Running patient reporter v{}", VERSION);
+        ExecutorService executorService = Executors.newFixedThreadPool(threads(cmd));
+        ReferenceData referenceData = new ReferenceData() {
+            @NotNull
+            @Override
+            public QCFailReportData qcFailReportData() throws IOException {
+                return buildQCFailReportData(cmd);
+            }
+
+            @NotNull
+            @Override
+            public AnalysedReportData analysedReportData() throws IOException {
+                return buildAnalysedReportData(cmd, executorService);
+            }
+        };
+
+        try {
+            if (!generateReport(cmd, referenceData, CFReportWriter.createProductionReportWriter(), executorService)) {
+                printUsageAndExit(options);
+            }
+        } finally {
+            executorService.shutdown();
         }
+    }
 
-        SampleMetadata sampleMetadata = buildSampleMetadata(cmd);
+    private static void runService(@NotNull CommandLine cmd, @NotNull String[] serviceArgs) throws IOException, InterruptedException {
+        // Inputs are loaded on a pool of their own, so reports waiting for their inputs never occupy the threads loading them.
+        ExecutorService loaderExecutorService = Executors.newFixedThreadPool(threads(cmd));
+        ReferenceDataCache referenceDataCache =
+                new ReferenceDataCache(referenceDataFiles(cmd), () -> buildAnalysedReportData(cmd, loaderExecutorService));
+
+        PatientReporterService service = new PatientReporterService(serviceArgs,
+                referenceDataCache,
+                CFReportWriter.createProductionReportWriter(),
+                threads(cmd),
+                loaderExecutorService);
+        try {
+            if (cmd.hasOption(SAMPLE_LIST)) {
+                service.runSampleList(cmd.getOptionValue(SAMPLE_LIST));
+            } else {
+                service.runQueue(cmd.getOptionValue(QUEUE_DIR));
+            }
+        } finally {
+            loaderExecutorService.shutdown();
+        }
+    }
 
-        LOGGER.info("Running patient reporter v{}", VERSION);
+    private static int threads(@NotNull CommandLine cmd) {
+        return cmd.hasOption(THREADS) ? Integer.parseInt(cmd.getOptionValue(THREADS)) : THREADS_DEFAULT;
+    }
+
+    /**
+     * Generates a single report, the same for a one-shot run and for every sample reported by the service. Returns false when the
+     * input does not describe either a qc-fail report or a report of an analysed sample.
+     */
+    static boolean generateReport(@NotNull CommandLine cmd, @NotNull ReferenceData referenceData, @NotNull ReportWriter reportWriter,
+            @NotNull Executor executor) throws IOException {
+        SampleMetadata sampleMetadata = buildSampleMetadata(cmd);
         printSampleMetadata(sampleMetadata);
 
-        ReportWriter reportWriter = CFReportWriter.createProductionReportWriter();
         if (cmd.hasOption(QC_FAIL) && validInputForQCFailReport(cmd)) {
             LOGGER.info("Generating qc-fail report");
             QCFailReason reason = QCFailReason.fromIdentifier(cmd.getOptionValue(QC_FAIL_REASON));
-            QCFailReporter reporter = new QCFailReporter(buildQCFailReportData(cmd));
+            QCFailReporter reporter = new QCFailReporter(referenceData.qcFailReportData());
 
             QCFailReport report = reporter.run(sampleMetadata, reason, cmd.getOptionValue(COMMENTS), cmd.hasOption(CORRECTED_REPORT));
             String outputFilePath = generateOutputFilePathForPatientReport(cmd.getOptionValue(OUTPUT_DIRECTORY), report);
@@ -112,7 +187,7 @@ public class PatientReporterApplication {
             ReportingDb.addQCFailReportToReportingDb(cmd.getOptionValue(REPORTING_DB_TSV), report);
         } else if (validInputForAnalysedSample(cmd)) {
             LOGGER.info("Generating patient report");
-            AnalysedPatientReporter reporter = new AnalysedPatientReporter(buildAnalysedReportData(cmd));
+            AnalysedPatientReporter reporter = new AnalysedPatientReporter(referenceData.analysedReportData(), executor);
 
             AnalysedPatientReport report = reporter.run(sampleMetadata,
                     cmd.getOptionValue(PURPLE_PURITY_TSV),
@@ -134,8 +209,9 @@ public class PatientReporterApplication {
 
             ReportingDb.addSequenceReportToReportingDb(cmd.getOptionValue(REPORTING_DB_TSV), report);
         } else {
-            printUsageAndExit(options);
+            return false;
         }
+        return true;
     }
 
     @NotNull
@@ -193,19 +269,54 @@ public class PatientReporterApplication {
     }
 
     @NotNull
-    private static AnalysedReportData buildAnalysedReportData(@NotNull CommandLine cmd) throws IOException {
-        return AnalysedReportDataLoader.buildFromFiles(buildQCFailReportData(cmd),
+    private static AnalysedReportData buildAnalysedReportData(@NotNull CommandLine cmd, @NotNull Executor executor) throws IOException {
+        return AnalysedReportDataLoader.buildFromFiles(executor,
+                () -> buildQCFailReportData(cmd),
+                cmd.getOptionValue(KNOWLEDGEBASE_DIRECTORY),
+                cmd.getOptionValue(GERMLINE_GENES_CSV),
+                cmd.getOptionValue(SAMPLE_SUMMARY_TSV));
+    }
+
+    /**
+     * The values of every argument the reference data is built from. The service loads the reference data once, so these cannot differ
+     * between samples.
+     */
+    @NotNull
+    static List<String> referenceDataArguments(@NotNull CommandLine cmd) {
+        List<String> arguments = referenceDataFiles(cmd);
+        arguments.add(cmd.getOptionValue(SIGNATURE));
+        arguments.add(cmd.getOptionValue(RVA_LOGO));
+        arguments.add(cmd.getOptionValue(COMPANY_LOGO));
+        return arguments;
+    }
+
+    @NotNull
+    private static List<String> referenceDataFiles(@NotNull CommandLine cmd) {
+        return Lists.newArrayList(cmd.getOptionValue(TUMOR_LOCATION_CSV),
+                cmd.getOptionValue(LIMS_DIRECTORY),
+                cmd.getOptionValue(HOSPITAL_DIRECTORY),
                 cmd.getOptionValue(KNOWLEDGEBASE_DIRECTORY),
                 cmd.getOptionValue(GERMLINE_GENES_CSV),
                 cmd.getOptionValue(SAMPLE_SUMMARY_TSV));
     }
 
-    private static boolean validInputForBaseReport(@NotNull CommandLine cmd) {
+    static boolean validInputForBaseReport(@NotNull CommandLine cmd) {
         return valueExists(cmd, REF_SAMPLE_ID) && valueExists(cmd, REF_SAMPLE_BARCODE) && valueExists(cmd, TUMOR_SAMPLE_ID) && valueExists(
                 cmd,
-                TUMOR_SAMPLE_BARCODE) && dirExists(cmd, OUTPUT_DIRECTORY) && fileExists(cmd, REPORTING_DB_TSV) && fileExists(cmd,
-                TUMOR_LOCATION_CSV) && dirExists(cmd, LIMS_DIRECTORY) && dirExists(cmd, HOSPITAL_DIRECTORY) && fileExists(cmd, SIGNATURE)
-                && fileExists(cmd, RVA_LOGO) && fileExists(cmd, COMPANY_LOGO);
+                TUMOR_SAMPLE_BARCODE) && validInputForReportData(cmd);
+    }
+
+    private static boolean validInputForReportData(@NotNull CommandLine cmd) {
+        return dirExists(cmd, OUTPUT_DIRECTORY) && fileExists(cmd, REPORTING_DB_TSV) && fileExists(cmd, TUMOR_LOCATION_CSV) && dirExists(
+                cmd,
+                LIMS_DIRECTORY) && dirExists(cmd, HOSPITAL_DIRECTORY) && fileExists(cmd, SIGNATURE) && fileExists(cmd, RVA_LOGO)
+                && fileExists(cmd, COMPANY_LOGO);
+    }
+
+    private static boolean validInputForService(@NotNull CommandLine cmd) {
+        boolean validJobSource = cmd.hasOption(SAMPLE_LIST) ? fileExists(cmd, SAMPLE_LIST) : dirExists(cmd, QUEUE_DIR);
+        return validJobSource && validInputForReportData(cmd) && dirExists(cmd, KNOWLEDGEBASE_DIRECTORY) && fileExists(cmd,
+                GERMLINE_GENES_CSV) && fileExists(cmd, SAMPLE_SUMMARY_TSV);
     }
 
     private static boolean validInputForAnalysedSample(@NotNull CommandLine cmd) {
@@ -310,12 +421,21 @@ public class PatientReporterApplication {
         options.addOption(CORRECTED_REPORT, false, "If provided, generate a corrected report with corrected name");
         options.addOption(UNOFFICIAL_REPORT, false, "If provided, generates a report with potentially some sections removed.");
         options.addOption(LOG_DEBUG, false, "If provided, set the log level to debug rather than default.");
+
+        options.addOption(SAMPLE_LIST,
+                true,
+                "Path towards a file with the arguments of one sample per line. Reports all samples with reference data loaded once.");
+        options.addOption(QUEUE_DIR,
+                true,
+                "Path towards a directory to keep reporting '.job' files from, each holding the arguments of one sample.");
+        options.addOption(THREADS, true, "Number of threads loading inputs, and of reports generated concurrently for a sample list or queue ["
+                + THREADS_DEFAULT + "]");
         return options;
     }
 
     @NotNull
-    private static CommandLine createCommandLine(@NotNull Options options, @NotNull String... args) throws ParseException {
-        return new DefaultParser().parse(options, args);
+    static CommandLine createCommandLine(@NotNull String... args) throws ParseException {
+        return new DefaultParser().parse(createOptions(), args);
     }
 
     private static void printUsageAndExit(@NotNull Options options) {
@@ -0,0 +1,233 @@
+package com.hartwig.hmftools.patientreporter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
+import com.google.common.collect.ObjectArrays;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.ParseException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Reports many samples with the reference data loaded once, either from a sample list or by watching a queue directory.
+ *
+ * The arguments of a sample are the same as for a one-shot run. They are combined with the arguments the service was started with,
+ * where arguments of the sample take precedence, so every sample is reported exactly like a one-shot run would. The exception are the
+ * arguments the reference data is built from: the reference data is loaded once for all samples, so a sample that overrides these
+ * arguments is rejected.
+ */
+class PatientReporterService {
+
+    private static final Logger LOGGER = LogManager.getLogger(PatientReporterService.class);
+
+    private static final String JOB_EXTENSION = ".job";
+    private static final String RUNNING_EXTENSION = ".running";
+    private static final String DONE_EXTENSION = ".done";
+    private static final String FAILED_EXTENSION = ".failed";
+
+    private static final long QUEUE_POLL_INTERVAL_MILLIS = 10_000;
+
+    @NotNull
+    private final String[] serviceArgs;
+    @NotNull
+    private final ReferenceDataCache referenceDataCache;
+    @NotNull
+    private final ReportWriter reportWriter;
+    private final int threads;
+    @NotNull
+    private final Executor loaderExecutor;
+
+    PatientReporterService(@NotNull String[] serviceArgs, @NotNull ReferenceDataCache referenceDataCache,
+            @NotNull ReportWriter reportWriter, int threads, @NotNull Executor loaderExecutor) {
+        this.serviceArgs = serviceArgs;
+        this.referenceDataCache = referenceDataCache;
+        this.reportWriter = reportWriter;
+        this.threads = threads;
+        this.loaderExecutor = loaderExecutor;
+    }
+
+    /**
+     * Reports every sample of the list, one sample per line, and returns once all reports are done.
+     */
+    void runSampleList(@NotNull String sampleListFile) throws IOException, InterruptedException {
+        List<String> lines = Files.readAllLines(new File(sampleListFile).toPath(), StandardCharsets.UTF_8);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> reports = Lists.newArrayList();
+            for (int i = 0; i < lines.size(); i++) {
+                String[] jobArgs = jobArguments(lines.get(i));
+                if (jobArgs.length > 0) {
+                    String jobName = sampleListFile + ":" + (i + 1);
+                    reports.add(executorService.submit(() -> run(jobName, jobArgs)));
+                }
+            }
+
+            int failed = 0;
+            for (Future<Boolean> report : reports) {
+                if (!report.get()) {
+                    failed++;
+                }
+            }
+            LOGGER.info("Completed {} of {} reports from {}", reports.size() - failed, reports.size(), sampleListFile);
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException(exception.getCause());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    /**
+     * Keeps reporting the '.job' files that appear in the queue directory until interrupted. A job is claimed by renaming it to
+     * '.job.running' and ends up as '.job.done' or '.job.failed'. Job files should be moved into the directory once complete.
+     */
+    void runQueue(@NotNull String queueDirectory) throws IOException, InterruptedException {
+        Path queue = new File(queueDirectory).toPath();
+        Semaphore idleThreads = new Semaphore(threads);
+
+        LOGGER.info("Watching {} for '{}' files", queueDirectory, JOB_EXTENSION);
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                for (Path job : pendingJobs(queue)) {
+                    if (!idleThreads.tryAcquire()) {
+                        break;
+                    }
+
+                    boolean submitted = false;
+                    try {
+                        Path running = job.resolveSibling(job.getFileName() + RUNNING_EXTENSION);
+                        Files.move(job, running, StandardCopyOption.ATOMIC_MOVE);
+                        executorService.submit(() -> {
+                            try {
+                                runJobFile(running);
+                            } finally {
+                                idleThreads.release();
+                            }
+                        });
+                        submitted = true;
+                    } catch (IOException exception) {
+                        LOGGER.warn("Could not claim job {}: {}", job, exception.getMessage());
+                    } finally {
+                        if (!submitted) {
+                            idleThreads.release();
+                        }
+                    }
+                }
+                Thread.sleep(QUEUE_POLL_INTERVAL_MILLIS);
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    private void runJobFile(@NotNull Path running) {
+        boolean success;
+        try {
+            String jobArgs = new String(Files.readAllBytes(running), StandardCharsets.UTF_8);
+            success = run(running.toString(), jobArguments(jobArgs));
+        } catch (IOException exception) {
+            LOGGER.error("Could not read job {}: {}", running, exception.getMessage());
+            success = false;
+        }
+
+        String finished = running.getFileName().toString().replace(RUNNING_EXTENSION, success ? DONE_EXTENSION : FAILED_EXTENSION);
+        try {
+            Files.move(running, running.resolveSibling(finished), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException exception) {
+            LOGGER.error("Could not mark job {} as finished: {}", running, exception.getMessage());
+        }
+    }
+
+    private boolean run(@NotNull String jobName, @NotNull String[] jobArgs) {
+        try {
+            CommandLine cmd = PatientReporterApplication.createCommandLine(ObjectArrays.concat(jobArgs, serviceArgs, String.class));
+            if (overridesReferenceData(serviceArgs, cmd)) {
+                LOGGER.warn("Skipping {} as it overrides reference data arguments, which are shared by all samples of the service", jobName);
+                return false;
+            }
+
+            if (!PatientReporterApplication.validInputForBaseReport(cmd)) {
+                LOGGER.warn("Skipping {} as its arguments are incomplete", jobName);
+                return false;
+            }
+
+            if (!PatientReporterApplication.generateReport(cmd, referenceDataCache.current(), reportWriter, loaderExecutor)) {
+                LOGGER.warn("Skipping {} as it is neither a valid qc-fail report nor a valid analysed sample", jobName);
+                return false;
+            }
+            return true;
+        } catch (ParseException | IOException | RuntimeException exception) {
+            LOGGER.error("Could not generate report for {}", jobName, exception);
+            return false;
+        }
+    }
+
+    @VisibleForTesting
+    static boolean overridesReferenceData(@NotNull String[] serviceArgs, @NotNull CommandLine cmd) throws ParseException {
+        List<String> serviceReferenceData =
+                PatientReporterApplication.referenceDataArguments(PatientReporterApplication.createCommandLine(serviceArgs));
+        return !serviceReferenceData.equals(PatientReporterApplication.referenceDataArguments(cmd));
+    }
+
+    @NotNull
+    private static List<Path> pendingJobs(@NotNull Path queue) throws IOException {
+        try (Stream<Path> files = Files.list(queue)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(JOB_EXTENSION)).sorted().collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Splits the arguments of a job on whitespace, except within double quotes. Lines starting with '#' are ignored.
+     */
+    @NotNull
+    @VisibleForTesting
+    static String[] jobArguments(@NotNull String job) {
+        List<String> args = Lists.newArrayList();
+        for (String line : job.split("\n")) {
+            if (line.trim().startsWith("#")) {
+                continue;
+            }
+
+            StringBuilder arg = null;
+            boolean quoted = false;
+            for (char c : line.toCharArray()) {
+                if (c == '"') {
+                    quoted = !quoted;
+                    arg = arg == null ? new StringBuilder() : arg;
+                } else if (!quoted && Character.isWhitespace(c)) {
+                    if (arg != null) {
+                        args.add(arg.toString());
+                        arg = null;
+                    }
+                } else {
+                    arg = arg == null ? new StringBuilder() : arg;
+                    arg.append(c);
+                }
+            }
+
+            if (arg != null) {
+                args.add(arg.toString());
+            }
+        }
+        return args.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,16 @@
+package com.hartwig.hmftools.patientreporter;
+
+import java.io.IOException;
+
+import com.hartwig.hmftools.patientreporter.qcfail.QCFailReportData;
+
+import org.jetbrains.annotations.NotNull;
+
+interface ReferenceData {
+
+    @NotNull
+    QCFailReportData qcFailReportData() throws IOException;
+
+    @NotNull
+    AnalysedReportData analysedReportData() throws IOException;
+}
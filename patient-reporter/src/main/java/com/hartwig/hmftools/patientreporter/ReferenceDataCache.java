@@ -0,0 +1,151 @@
+package com.hartwig.hmftools.patientreporter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.hartwig.hmftools.patientreporter.qcfail.ImmutableQCFailReportData;
+import com.hartwig.hmftools.patientreporter.qcfail.QCFailReportData;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Keeps the reference data loaded between reports. Every report takes the current snapshot, which is reloaded first when any of the
+ * reference files (or files within a reference directory) changed on disk. A report in progress keeps using the snapshot it started
+ * with. If the reload fails, for instance because a file is still being written, the previous snapshot is kept. A failed load is not
+ * retried for the same files until the retry interval has passed, so a broken reference file does not cost a reload on every report.
+ */
+final class ReferenceDataCache {
+
+    private static final Logger LOGGER = LogManager.getLogger(ReferenceDataCache.class);
+
+    private static final long RETRY_INTERVAL_MILLIS = 60_000;
+
+    interface Loader {
+
+        @NotNull
+        AnalysedReportData load() throws IOException;
+    }
+
+    @NotNull
+    private final List<String> referenceFiles;
+    @NotNull
+    private final Loader loader;
+    @NotNull
+    private final LongSupplier clock;
+
+    @Nullable
+    private Snapshot snapshot;
+    @Nullable
+    private FailedLoad failedLoad;
+
+    ReferenceDataCache(@NotNull List<String> referenceFiles, @NotNull Loader loader) {
+        this(referenceFiles, loader, System::currentTimeMillis);
+    }
+
+    @VisibleForTesting
+    ReferenceDataCache(@NotNull List<String> referenceFiles, @NotNull Loader loader, @NotNull LongSupplier clock) {
+        this.referenceFiles = referenceFiles;
+        this.loader = loader;
+        this.clock = clock;
+    }
+
+    @NotNull
+    synchronized ReferenceData current() throws IOException {
+        long fingerprint = fingerprint(referenceFiles);
+        if (snapshot == null || snapshot.fingerprint != fingerprint) {
+            if (failedLoad == null || failedLoad.fingerprint != fingerprint || clock.getAsLong() >= failedLoad.retryTime) {
+                load(fingerprint);
+            }
+
+            if (snapshot == null) {
+                throw new IOException("Could not load reference data from " + referenceFiles, failedLoad.exception);
+            }
+        }
+        return snapshot;
+    }
+
+    private void load(long fingerprint) {
+        try {
+            snapshot = new Snapshot(fingerprint, loader.load());
+            failedLoad = null;
+            LOGGER.info("Loaded reference data from {}", referenceFiles);
+        } catch (IOException | RuntimeException exception) {
+            failedLoad = new FailedLoad(fingerprint, clock.getAsLong() + RETRY_INTERVAL_MILLIS, exception);
+            if (snapshot != null) {
+                LOGGER.warn("Could not reload reference data, keeping previous data: {}", exception.getMessage());
+            } else {
+                LOGGER.error("Could not load reference data: {}", exception.getMessage());
+            }
+        }
+    }
+
+    @VisibleForTesting
+    static long fingerprint(@NotNull List<String> referenceFiles) throws IOException {
+        long fingerprint = 1;
+        for (String referenceFile : referenceFiles) {
+            List<Path> paths;
+            try (Stream<Path> walk = Files.walk(new File(referenceFile).toPath())) {
+                paths = walk.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+
+            for (Path path : paths) {
+                File file = path.toFile();
+                fingerprint = 31 * fingerprint + path.hashCode();
+                fingerprint = 31 * fingerprint + file.lastModified();
+                fingerprint = 31 * fingerprint + file.length();
+            }
+        }
+        return fingerprint;
+    }
+
+    private static final class FailedLoad {
+
+        private final long fingerprint;
+        private final long retryTime;
+        @NotNull
+        private final Exception exception;
+
+        private FailedLoad(long fingerprint, long retryTime, @NotNull Exception exception) {
+            this.fingerprint = fingerprint;
+            this.retryTime = retryTime;
+            this.exception = exception;
+        }
+    }
+
+    private static final class Snapshot implements ReferenceData {
+
+        private final long fingerprint;
+        @NotNull
+        private final QCFailReportData qcFailReportData;
+        @NotNull
+        private final AnalysedReportData analysedReportData;
+
+        private Snapshot(long fingerprint, @NotNull AnalysedReportData analysedReportData) {
+            this.fingerprint = fingerprint;
+            this.qcFailReportData = ImmutableQCFailReportData.builder().from(analysedReportData).build();
+            this.analysedReportData = analysedReportData;
+        }
+
+        @NotNull
+        @Override
+        public QCFailReportData qcFailReportData() {
+            return qcFailReportData;
+        }
+
+        @NotNull
+        @Override
+        public AnalysedReportData analysedReportData() {
+            return analysedReportData;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.hartwig.hmftools.patientreporter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Loads report inputs on an executor, so independent inputs are read concurrently and every analysis can start as soon as its own
+ * inputs are available. Failures are rethrown as the original exception when joined.
+ */
+final class ReportInputs {
+
+    interface Loader<T> {
+
+        @NotNull
+        T load() throws IOException;
+    }
+
+    private ReportInputs() {
+    }
+
+    @NotNull
+    static <T> CompletableFuture<T> load(@NotNull Executor executor, @NotNull Loader<T> loader) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return loader.load();
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }, executor);
+    }
+
+    @NotNull
+    static <T> T join(@NotNull CompletableFuture<T> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw exception;
+        }
+    }
+}
@@ -76,26 +76,28 @@ public class CFReportWriter implements ReportWriter {
         Document doc = initializeReport(outputFilePath, writeToFile);
         PdfDocument pdfDocument = doc.getPdfDocument();
 
-        PageEventHandler pageEventHandler = new PageEventHandler(patientReport);
-        pdfDocument.addEventHandler(PdfDocumentEvent.START_PAGE, pageEventHandler);
+        try (ReportResources.DocumentFonts fonts = ReportResources.documentFonts()) {
+            PageEventHandler pageEventHandler = new PageEventHandler(patientReport);
+            pdfDocument.addEventHandler(PdfDocumentEvent.START_PAGE, pageEventHandler);
 
-        for (int i = 0; i < chapters.length; i++) {
-            ReportChapter chapter = chapters[i];
+            for (int i = 0; i < chapters.length; i++) {
+                ReportChapter chapter = chapters[i];
 
-            pageEventHandler.chapterTitle(chapter.name());
-            pageEventHandler.resetChapterPageCounter();
-            pageEventHandler.sidebarType(!chapter.isFullWidth(), chapter.hasCompleteSidebar());
+                pageEventHandler.chapterTitle(chapter.name());
+                pageEventHandler.resetChapterPageCounter();
+                pageEventHandler.sidebarType(!chapter.isFullWidth(), chapter.hasCompleteSidebar());
 
-            if (i > 0) {
-                doc.add(new AreaBreak(AreaBreakType.NEXT_PAGE));
+                if (i > 0) {
+                    doc.add(new AreaBreak(AreaBreakType.NEXT_PAGE));
+                }
+                chapter.render(doc);
             }
-            chapter.render(doc);
-        }
 
-        pageEventHandler.writeDynamicTextParts(doc.getPdfDocument());
+            pageEventHandler.writeDynamicTextParts(doc.getPdfDocument());
 
-        doc.close();
-        pdfDocument.close();
+            doc.close();
+            pdfDocument.close();
+        }
 
         if (writeToFile) {
             LOGGER.info("Created patient report at " + outputFilePath);
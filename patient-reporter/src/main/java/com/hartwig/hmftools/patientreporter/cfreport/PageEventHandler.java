@@ -20,6 +20,8 @@ class PageEventHandler implements IEventHandler {
     @NotNull
     private final SampleReport sampleReport;
     @NotNull
+    private final String reportDate;
+    @NotNull
     private final Footer footer;
     @NotNull
     private final Header header;
@@ -34,6 +36,7 @@ class PageEventHandler implements IEventHandler {
 
     PageEventHandler(@NotNull final PatientReport patientReport) {
         this.sampleReport = patientReport.sampleReport();
+        this.reportDate = patientReport.reportDate();
         this.header = new Header(patientReport.logoCompanyPath());
         this.footer = new Footer();
     }
@@ -51,7 +54,7 @@ class PageEventHandler implements IEventHandler {
                 createChapterBookmark(documentEvent.getDocument(), chapterTitle);
             }
 
-            SidePanel.renderSidePanel(page, sampleReport, fullSidebar, fullSidebarContent);
+            SidePanel.renderSidePanel(page, sampleReport, reportDate, fullSidebar, fullSidebarContent);
             footer.renderFooter(page, !fullSidebar);
         }
     }
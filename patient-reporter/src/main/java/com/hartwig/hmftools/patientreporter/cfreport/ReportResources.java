@@ -3,11 +3,9 @@ package com.hartwig.hmftools.patientreporter.cfreport;
 import java.io.IOException;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
-import java.time.LocalDate;
 import java.util.Locale;
 
 import com.hartwig.hmftools.patientreporter.PatientReporterApplication;
-import com.hartwig.hmftools.patientreporter.cfreport.data.DataUtil;
 import com.itextpdf.io.font.FontProgram;
 import com.itextpdf.io.font.FontProgramFactory;
 import com.itextpdf.io.font.PdfEncodings;
@@ -17,6 +15,7 @@ import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.layout.Style;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 public final class ReportResources {
 
@@ -30,7 +29,6 @@ public final class ReportResources {
 
     static final String METADATA_TITLE = "HMF Sequencing Report v" + PatientReporterApplication.VERSION;
     static final String METADATA_AUTHOR = HARTWIG_NAME;
-    public static final String REPORT_DATE = DataUtil.formatDate(LocalDate.now());
 
     static final float PAGE_MARGIN_TOP = 150; // Top margin also excludes the chapter title, which is rendered in the header
     public static final float PAGE_MARGIN_LEFT = 55.5f;
@@ -59,6 +57,9 @@ public final class ReportResources {
 
     public static final float BODY_TEXT_LEADING = 10F;
 
+    // Fonts can not be created statically as every PDF needs their own private font objects, so they are shared per document instead.
+    private static final ThreadLocal<DocumentFonts> CURRENT_DOCUMENT_FONTS = new ThreadLocal<>();
+
     public static float maxPointSizeForWidth(@NotNull PdfFont font, float initialFontSize, float minFontSize, @NotNull String text,
             float maxWidth) {
         final float fontIncrement = 0.1f;
@@ -80,22 +81,33 @@ public final class ReportResources {
     }
 
 
+    /**
+     * Opens the font scope of a new document: until it is closed, every font requested on this thread comes from a single set of
+     * fonts that is owned by that document.
+     */
+    @NotNull
+    public static DocumentFonts documentFonts() {
+        DocumentFonts fonts = new DocumentFonts();
+        CURRENT_DOCUMENT_FONTS.set(fonts);
+        return fonts;
+    }
+
     @NotNull
     public static PdfFont fontRegular() {
-        // Cannot be created statically as every PDF needs their own private font objects.
-        return createFontFromProgram(loadFontProgram(FONT_REGULAR_PATH));
+        DocumentFonts fonts = CURRENT_DOCUMENT_FONTS.get();
+        return fonts != null ? fonts.regular() : createFontFromProgram(FontPrograms.REGULAR);
     }
 
     @NotNull
     public static PdfFont fontBold() {
-        // Cannot be created statically as every PDF needs their own private font objects.
-        return createFontFromProgram(loadFontProgram(FONT_BOLD_PATH));
+        DocumentFonts fonts = CURRENT_DOCUMENT_FONTS.get();
+        return fonts != null ? fonts.bold() : createFontFromProgram(FontPrograms.BOLD);
     }
 
     @NotNull
     public static PdfFont iconFont() {
-        // Cannot be created statically as every PDF needs their own private font objects.
-        return createFontFromProgram(loadFontProgram(ICON_FONT_PATH));
+        DocumentFonts fonts = CURRENT_DOCUMENT_FONTS.get();
+        return fonts != null ? fonts.icon() : createFontFromProgram(FontPrograms.ICON);
     }
 
     public static Style chapterTitleStyle() {
@@ -166,6 +178,63 @@ public final class ReportResources {
         return new Style().setFont(fontRegular()).setFontSize(8).setFontColor(ReportResources.PALETTE_BLUE);
     }
 
+    /**
+     * Fonts of a single document. Closing it ends the scope of the document on the current thread.
+     */
+    public static final class DocumentFonts implements AutoCloseable {
+
+        @Nullable
+        private PdfFont regular;
+        @Nullable
+        private PdfFont bold;
+        @Nullable
+        private PdfFont icon;
+
+        private DocumentFonts() {
+        }
+
+        @NotNull
+        private PdfFont regular() {
+            if (regular == null) {
+                regular = createFontFromProgram(FontPrograms.REGULAR);
+            }
+            return regular;
+        }
+
+        @NotNull
+        private PdfFont bold() {
+            if (bold == null) {
+                bold = createFontFromProgram(FontPrograms.BOLD);
+            }
+            return bold;
+        }
+
+        @NotNull
+        private PdfFont icon() {
+            if (icon == null) {
+                icon = createFontFromProgram(FontPrograms.ICON);
+            }
+            return icon;
+        }
+
+        @Override
+        public void close() {
+            if (CURRENT_DOCUMENT_FONTS.get() == this) {
+                CURRENT_DOCUMENT_FONTS.remove();
+            }
+        }
+    }
+
+    /**
+     * Font programs are only parsed once per JVM, on first use. Only the PdfFont objects created from them belong to a document.
+     */
+    private static final class FontPrograms {
+
+        private static final FontProgram REGULAR = loadFontProgram(FONT_REGULAR_PATH);
+        private static final FontProgram BOLD = loadFontProgram(FONT_BOLD_PATH);
+        private static final FontProgram ICON = loadFontProgram(ICON_FONT_PATH);
+    }
+
     @NotNull
     private static PdfFont createFontFromProgram(@NotNull FontProgram program) {
         return PdfFontFactory.createFont(program, PdfEncodings.IDENTITY_H);
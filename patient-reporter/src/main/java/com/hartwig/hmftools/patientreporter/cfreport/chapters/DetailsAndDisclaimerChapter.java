@@ -90,7 +90,7 @@ public class DetailsAndDisclaimerChapter implements ReportChapter {
         div.add(createContentParagraphTwice("The results in this report have been obtained between ",
                 earliestArrivalDate != null ? earliestArrivalDate : DataUtil.NA_STRING,
                 " and ",
-                ReportResources.REPORT_DATE));
+                patientReport.reportDate()));
 
         div.add(sampleIdentificationLineOnReport);
         div.add(createContentParagraphTwice("This experiment is performed on the tumor sample which arrived on ",
@@ -21,7 +21,8 @@ public final class SidePanel {
     private static final float RECTANGLE_WIDTH = 170;
     private static final float RECTANGLE_HEIGHT_SHORT = 110;
 
-    public static void renderSidePanel(PdfPage page, @NotNull final SampleReport sampleReport, boolean fullHeight, boolean fullContent) {
+    public static void renderSidePanel(PdfPage page, @NotNull final SampleReport sampleReport, @NotNull final String reportDate,
+            boolean fullHeight, boolean fullContent) {
         final PdfCanvas canvas = new PdfCanvas(page.getLastContentStream(), page.getResources(), page.getDocument());
         final Rectangle pageSize = page.getPageSize();
         renderBackgroundRect(fullHeight, canvas, pageSize);
@@ -31,7 +32,7 @@ public final class SidePanel {
         Canvas cv = new Canvas(canvas, page.getDocument(), page.getPageSize());
 
         cv.add(createSidePanelDiv(++sideTextIndex, "HMF sample id", sampleReport.tumorSampleId()));
-        cv.add(createSidePanelDiv(++sideTextIndex, "Report date", ReportResources.REPORT_DATE));
+        cv.add(createSidePanelDiv(++sideTextIndex, "Report date", reportDate));
 
         LimsSampleType type = LimsSampleType.fromSampleId(sampleReport.tumorSampleId());
 
@@ -31,6 +31,10 @@ public abstract class QCFailReport implements PatientReport {
     @Override
     public abstract boolean isCorrectedReport();
 
+    @Override
+    @NotNull
+    public abstract String reportDate();
+
     @Override
     @NotNull
     public abstract String signaturePath();
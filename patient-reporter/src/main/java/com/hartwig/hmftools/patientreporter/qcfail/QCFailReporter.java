@@ -1,5 +1,6 @@
 package com.hartwig.hmftools.patientreporter.qcfail;
 
+import java.time.LocalDate;
 import java.util.Optional;
 
 import com.hartwig.hmftools.common.ecrf.projections.PatientTumorLocation;
@@ -7,6 +8,7 @@ import com.hartwig.hmftools.common.ecrf.projections.PatientTumorLocationFunction
 import com.hartwig.hmftools.patientreporter.SampleMetadata;
 import com.hartwig.hmftools.patientreporter.SampleReport;
 import com.hartwig.hmftools.patientreporter.SampleReportFactory;
+import com.hartwig.hmftools.patientreporter.cfreport.data.DataUtil;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -42,6 +44,7 @@ public class QCFailReporter {
                 .study(study)
                 .comments(Optional.ofNullable(comments))
                 .isCorrectedReport(correctedReport)
+                .reportDate(DataUtil.formatDate(LocalDate.now()))
                 .signaturePath(reportData.signaturePath())
                 .logoRVAPath(reportData.logoRVAPath())
                 .logoCompanyPath(reportData.logoCompanyPath())
@@ -12,7 +12,6 @@ import com.google.common.collect.Lists;
 import com.hartwig.hmftools.common.lims.LimsSampleType;
 import com.hartwig.hmftools.common.utils.io.reader.LineReader;
 import com.hartwig.hmftools.patientreporter.AnalysedPatientReport;
-import com.hartwig.hmftools.patientreporter.cfreport.ReportResources;
 import com.hartwig.hmftools.patientreporter.qcfail.QCFailReport;
 
 import org.apache.logging.log4j.LogManager;
@@ -29,11 +28,11 @@ public final class ReportingDb {
     private ReportingDb() {
     }
 
-    public static void addSequenceReportToReportingDb(@NotNull String reportingDbTsv, @NotNull AnalysedPatientReport report)
+    public static synchronized void addSequenceReportToReportingDb(@NotNull String reportingDbTsv, @NotNull AnalysedPatientReport report)
             throws IOException {
         String tumorBarcode = report.sampleReport().tumorSampleBarcode();
         String sampleId = report.sampleReport().tumorSampleId();
-        String reportDate = ReportResources.REPORT_DATE;
+        String reportDate = report.reportDate();
         String purity = new DecimalFormat("0.00").format(report.impliedPurity());
 
         boolean hasReliableQuality = report.hasReliableQuality();
@@ -73,10 +72,11 @@ public final class ReportingDb {
         }
     }
 
-    public static void addQCFailReportToReportingDb(@NotNull String reportingDbTsv, @NotNull QCFailReport report) throws IOException {
+    public static synchronized void addQCFailReportToReportingDb(@NotNull String reportingDbTsv, @NotNull QCFailReport report)
+            throws IOException {
         String sampleId = report.sampleReport().tumorSampleId();
         String tumorBarcode = report.sampleReport().tumorSampleBarcode();
-        String reportDate = ReportResources.REPORT_DATE;
+        String reportDate = report.reportDate();
 
         String reportType = report.reason().identifier();
 
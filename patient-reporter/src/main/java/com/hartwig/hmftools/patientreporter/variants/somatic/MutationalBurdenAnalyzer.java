@@ -1,7 +1,5 @@
 package com.hartwig.hmftools.patientreporter.variants.somatic;
 
-import java.util.List;
-
 import com.hartwig.hmftools.common.variant.SomaticVariant;
 
 import org.jetbrains.annotations.NotNull;
@@ -13,17 +11,11 @@ final class MutationalBurdenAnalyzer {
     private MutationalBurdenAnalyzer() {
     }
 
-    static double determineTumorMutationalBurden(@NotNull List<? extends SomaticVariant> variants) {
-        int tumorMutationalBurden = 0;
-        for (final SomaticVariant variant : variants) {
-            if (countsPassVariants(variant)) {
-                tumorMutationalBurden++;
-            }
-        }
-        return (double) tumorMutationalBurden / NUMBER_OF_MB_PER_GENOME;
+    static double determineTumorMutationalBurden(int passVariantCount) {
+        return (double) passVariantCount / NUMBER_OF_MB_PER_GENOME;
     }
 
-    private static boolean countsPassVariants(@NotNull SomaticVariant variant) {
+    static boolean countsPassVariants(@NotNull SomaticVariant variant) {
         return !variant.isFiltered();
     }
 }
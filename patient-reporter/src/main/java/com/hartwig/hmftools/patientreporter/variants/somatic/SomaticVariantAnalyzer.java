@@ -37,11 +37,25 @@ public final class SomaticVariantAnalyzer {
     @NotNull
     public static SomaticVariantAnalysis run(@NotNull List<SomaticVariant> variants, @NotNull DriverGeneView driverGeneView,
             @NotNull List<GeneCopyNumber> exomeGeneCopyNumbers) {
-        List<SomaticVariant> variantsToReport = variants.stream().filter(includeFilter(driverGeneView)).collect(Collectors.toList());
+        SomaticVariantCollector collector = new SomaticVariantCollector(driverGeneView);
+        variants.forEach(collector);
+        return run(collector, driverGeneView, exomeGeneCopyNumbers);
+    }
+
+    @NotNull
+    public static SomaticVariantAnalysis run(@NotNull SomaticVariantCollector variants, @NotNull DriverGeneView driverGeneView,
+            @NotNull List<GeneCopyNumber> exomeGeneCopyNumbers) {
+        List<SomaticVariant> driverGeneVariants = variants.driverGeneVariants();
+        List<SomaticVariant> variantsToReport =
+                driverGeneVariants.stream().filter(includeFilter(driverGeneView)).collect(Collectors.toList());
 
         List<DriverCatalog> driverCatalog = Lists.newArrayList();
-        driverCatalog.addAll(OncoDrivers.drivers(variants, exomeGeneCopyNumbers));
-        driverCatalog.addAll(TsgDrivers.drivers(variants, exomeGeneCopyNumbers));
+        driverCatalog.addAll(OncoDrivers.drivers(driverGeneVariants, exomeGeneCopyNumbers, variants.variantTypeCounts()));
+        driverCatalog.addAll(TsgDrivers.drivers(driverGeneVariants,
+                exomeGeneCopyNumbers,
+                variants.variantTypeCounts(),
+                variants.variantTypeCountsBiallelic(),
+                variants.variantTypeCountsNonBiallelic()));
 
         // Check that we miss no drivers
         for (DriverCatalog driver : driverCatalog) {
@@ -58,9 +72,9 @@ public final class SomaticVariantAnalyzer {
 
         return ImmutableSomaticVariantAnalysis.of(variantsToReport,
                 driverCatalog,
-                MicrosatelliteAnalyzer.determineMicrosatelliteIndelsPerMb(variants),
-                MutationalLoadAnalyzer.determineTumorMutationalLoad(variants),
-                MutationalBurdenAnalyzer.determineTumorMutationalBurden(variants));
+                variants.microsatelliteIndelsPerMb(),
+                variants.tumorMutationalLoad(),
+                variants.tumorMutationalBurden());
     }
 
     @NotNull
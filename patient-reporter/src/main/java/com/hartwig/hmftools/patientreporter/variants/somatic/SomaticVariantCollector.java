@@ -0,0 +1,108 @@
+package com.hartwig.hmftools.patientreporter.variants.somatic;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.hartwig.hmftools.common.drivercatalog.dnds.DndsDriverGeneLikelihoodSupplier;
+import com.hartwig.hmftools.common.variant.SomaticVariant;
+import com.hartwig.hmftools.common.variant.VariantType;
+import com.hartwig.hmftools.common.variant.msi.MicrosatelliteIndels;
+import com.hartwig.hmftools.patientreporter.variants.driver.DriverGeneView;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Collects what the somatic variant analysis needs while the variants are streamed from the vcf. Only variants of genes that can be
+ * reported or end up in the driver catalog are kept. Of all other variants only the sample wide counts are kept.
+ */
+public class SomaticVariantCollector implements Consumer<SomaticVariant> {
+
+    @NotNull
+    private final Set<String> genesToKeep = Sets.newHashSet();
+    @NotNull
+    private final List<SomaticVariant> driverGeneVariants = Lists.newArrayList();
+
+    @NotNull
+    private final Map<VariantType, Long> variantTypeCounts = Maps.newHashMap();
+    @NotNull
+    private final Map<VariantType, Long> variantTypeCountsBiallelic = Maps.newHashMap();
+    @NotNull
+    private final Map<VariantType, Long> variantTypeCountsNonBiallelic = Maps.newHashMap();
+
+    @NotNull
+    private final MicrosatelliteIndels microsatelliteIndels = new MicrosatelliteIndels();
+    private int variantCount;
+    private int mutationalLoad;
+    private int passVariantCount;
+
+    public SomaticVariantCollector(@NotNull DriverGeneView driverGeneView) {
+        genesToKeep.addAll(driverGeneView.oncoDriverGenes());
+        genesToKeep.addAll(driverGeneView.tsgDriverGenes());
+        genesToKeep.addAll(DndsDriverGeneLikelihoodSupplier.oncoLikelihood().keySet());
+        genesToKeep.addAll(DndsDriverGeneLikelihoodSupplier.tsgLikelihood().keySet());
+    }
+
+    @Override
+    public void accept(@NotNull SomaticVariant variant) {
+        variantCount++;
+        if (genesToKeep.contains(variant.gene())) {
+            driverGeneVariants.add(variant);
+        }
+
+        variantTypeCounts.merge(variant.type(), 1L, Long::sum);
+        if (variant.biallelic()) {
+            variantTypeCountsBiallelic.merge(variant.type(), 1L, Long::sum);
+        } else {
+            variantTypeCountsNonBiallelic.merge(variant.type(), 1L, Long::sum);
+        }
+
+        microsatelliteIndels.accept(variant);
+        if (MutationalLoadAnalyzer.countsTowardsMutationalLoad(variant)) {
+            mutationalLoad++;
+        }
+        if (MutationalBurdenAnalyzer.countsPassVariants(variant)) {
+            passVariantCount++;
+        }
+    }
+
+    public int variantCount() {
+        return variantCount;
+    }
+
+    @NotNull
+    List<SomaticVariant> driverGeneVariants() {
+        return driverGeneVariants;
+    }
+
+    @NotNull
+    Map<VariantType, Long> variantTypeCounts() {
+        return variantTypeCounts;
+    }
+
+    @NotNull
+    Map<VariantType, Long> variantTypeCountsBiallelic() {
+        return variantTypeCountsBiallelic;
+    }
+
+    @NotNull
+    Map<VariantType, Long> variantTypeCountsNonBiallelic() {
+        return variantTypeCountsNonBiallelic;
+    }
+
+    double microsatelliteIndelsPerMb() {
+        return microsatelliteIndels.microsatelliteIndelsPerMb();
+    }
+
+    int tumorMutationalLoad() {
+        return mutationalLoad;
+    }
+
+    double tumorMutationalBurden() {
+        return MutationalBurdenAnalyzer.determineTumorMutationalBurden(passVariantCount);
+    }
+}
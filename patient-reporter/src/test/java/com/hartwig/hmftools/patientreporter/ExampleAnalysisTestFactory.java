@@ -27,6 +27,7 @@ import com.hartwig.hmftools.common.variant.CodingEffect;
 import com.hartwig.hmftools.common.variant.Hotspot;
 import com.hartwig.hmftools.common.variant.structural.annotation.ImmutableReportableGeneFusion;
 import com.hartwig.hmftools.common.variant.structural.annotation.ReportableGeneFusion;
+import com.hartwig.hmftools.patientreporter.cfreport.data.DataUtil;
 import com.hartwig.hmftools.patientreporter.copynumber.ImmutableReportableGainLoss;
 import com.hartwig.hmftools.patientreporter.copynumber.ReportableGainLoss;
 import com.hartwig.hmftools.patientreporter.homozygousdisruption.ImmutableReportableHomozygousDisruption;
@@ -109,6 +110,7 @@ public final class ExampleAnalysisTestFactory {
                 .circosPath(CIRCOS_PATH)
                 .comments(Optional.of("This is a test report and is based off COLO829"))
                 .isCorrectedReport(false)
+                .reportDate(DataUtil.formatDate(LocalDate.now()))
                 .isUnofficialReport(false)
                 .signaturePath(reportData.signaturePath())
                 .logoRVAPath(reportData.logoRVAPath())
@@ -164,6 +166,7 @@ public final class ExampleAnalysisTestFactory {
                 .circosPath(CIRCOS_PATH)
                 .comments(Optional.of("This is a test report and does not relate to any real patient"))
                 .isCorrectedReport(false)
+                .reportDate(DataUtil.formatDate(LocalDate.now()))
                 .isUnofficialReport(false)
                 .signaturePath(reportData.signaturePath())
                 .logoRVAPath(reportData.logoRVAPath())
@@ -219,6 +222,7 @@ public final class ExampleAnalysisTestFactory {
                 .circosPath(CIRCOS_PATH)
                 .comments(Optional.of("This is a test report and does not relate to any real patient"))
                 .isCorrectedReport(false)
+                .reportDate(DataUtil.formatDate(LocalDate.now()))
                 .isUnofficialReport(false)
                 .signaturePath(reportData.signaturePath())
                 .logoRVAPath(reportData.logoRVAPath())
@@ -252,6 +256,7 @@ public final class ExampleAnalysisTestFactory {
                 .study(failStudy)
                 .comments(Optional.empty())
                 .isCorrectedReport(false)
+                .reportDate(DataUtil.formatDate(LocalDate.now()))
                 .signaturePath(reportData.signaturePath())
                 .logoRVAPath(reportData.logoRVAPath())
                 .logoCompanyPath(reportData.logoCompanyPath())
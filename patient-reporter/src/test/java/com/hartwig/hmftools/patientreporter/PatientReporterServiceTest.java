@@ -0,0 +1,38 @@
+package com.hartwig.hmftools.patientreporter;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ObjectArrays;
+
+import org.apache.commons.cli.ParseException;
+import org.junit.Test;
+
+public class PatientReporterServiceTest {
+
+    @Test
+    public void canSplitJobArguments() {
+        String job = "# comment\n-tumor_sample_id sample  -comments \"two words\"\n\n-corrected_report\n";
+        assertArrayEquals(new String[] { "-tumor_sample_id", "sample", "-comments", "two words", "-corrected_report" },
+                PatientReporterService.jobArguments(job));
+    }
+
+    @Test
+    public void rejectsJobsOverridingReferenceData() throws ParseException {
+        String[] serviceArgs = { "-queue_dir", "queue", "-knowledgebase_dir", "knowledgebase", "-signature", "signature.png" };
+
+        assertFalse(PatientReporterService.overridesReferenceData(serviceArgs,
+                PatientReporterApplication.createCommandLine(ObjectArrays.concat(new String[] { "-tumor_sample_id", "sample" },
+                        serviceArgs,
+                        String.class))));
+        assertTrue(PatientReporterService.overridesReferenceData(serviceArgs,
+                PatientReporterApplication.createCommandLine(ObjectArrays.concat(new String[] { "-knowledgebase_dir", "other" },
+                        serviceArgs,
+                        String.class))));
+        assertTrue(PatientReporterService.overridesReferenceData(serviceArgs,
+                PatientReporterApplication.createCommandLine(ObjectArrays.concat(new String[] { "-company_logo", "logo.png" },
+                        serviceArgs,
+                        String.class))));
+    }
+}
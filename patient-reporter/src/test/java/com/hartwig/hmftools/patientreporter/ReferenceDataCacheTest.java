@@ -0,0 +1,99 @@
+package com.hartwig.hmftools.patientreporter;
+
+import static com.hartwig.hmftools.patientreporter.PatientReporterTestUtil.testAnalysedReportData;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import org.junit.Test;
+
+public class ReferenceDataCacheTest {
+
+    @Test
+    public void reloadsOnlyWhenReferenceFilesChange() throws IOException {
+        File referenceFile = File.createTempFile("reference_data", ".tsv");
+        referenceFile.deleteOnExit();
+        Files.write(referenceFile.toPath(), "first".getBytes(StandardCharsets.UTF_8));
+
+        int[] loads = new int[1];
+        ReferenceDataCache cache = new ReferenceDataCache(Collections.singletonList(referenceFile.getPath()), () -> {
+            loads[0]++;
+            return testAnalysedReportData();
+        });
+
+        ReferenceData first = cache.current();
+        assertSame(first, cache.current());
+        assertEquals(1, loads[0]);
+
+        Files.write(referenceFile.toPath(), "second version".getBytes(StandardCharsets.UTF_8));
+        ReferenceData second = cache.current();
+        assertEquals(2, loads[0]);
+        assertSame(second, cache.current());
+    }
+
+    @Test
+    public void keepsPreviousDataWhenReloadFails() throws IOException {
+        File referenceFile = File.createTempFile("reference_data", ".tsv");
+        referenceFile.deleteOnExit();
+        Files.write(referenceFile.toPath(), "first".getBytes(StandardCharsets.UTF_8));
+
+        boolean[] fail = new boolean[1];
+        ReferenceDataCache cache = new ReferenceDataCache(Collections.singletonList(referenceFile.getPath()), () -> {
+            if (fail[0]) {
+                throw new IOException("Incomplete reference data");
+            }
+            return testAnalysedReportData();
+        });
+
+        ReferenceData first = cache.current();
+        fail[0] = true;
+        Files.write(referenceFile.toPath(), "second version".getBytes(StandardCharsets.UTF_8));
+        assertSame(first, cache.current());
+    }
+
+    @Test
+    public void retriesFailedLoadAfterIntervalOrChange() throws IOException {
+        File referenceFile = File.createTempFile("reference_data", ".tsv");
+        referenceFile.deleteOnExit();
+        Files.write(referenceFile.toPath(), "first".getBytes(StandardCharsets.UTF_8));
+
+        int[] loads = new int[1];
+        long[] time = new long[1];
+        ReferenceDataCache cache = new ReferenceDataCache(Collections.singletonList(referenceFile.getPath()), () -> {
+            loads[0]++;
+            if (loads[0] < 3) {
+                throw new IOException("Incomplete reference data");
+            }
+            return testAnalysedReportData();
+        }, () -> time[0]);
+
+        assertLoadFails(cache);
+        assertLoadFails(cache);
+        assertEquals(1, loads[0]);
+
+        time[0] += 60_000;
+        assertLoadFails(cache);
+        assertEquals(2, loads[0]);
+
+        Files.write(referenceFile.toPath(), "second version".getBytes(StandardCharsets.UTF_8));
+        ReferenceData data = cache.current();
+        assertEquals(3, loads[0]);
+        assertSame(data, cache.current());
+    }
+
+    private static void assertLoadFails(ReferenceDataCache cache) {
+        try {
+            cache.current();
+            fail("Expected reference data to fail loading");
+        } catch (IOException exception) {
+            assertEquals("Incomplete reference data", exception.getCause().getMessage());
+        }
+    }
+}
@@ -4,6 +4,8 @@ import static com.hartwig.hmftools.patientreporter.PatientReporterTestUtil.testR
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.Locale;
@@ -17,18 +19,24 @@ import com.hartwig.hmftools.patientreporter.ImmutableSampleMetadata;
 import com.hartwig.hmftools.patientreporter.ImmutableSampleReport;
 import com.hartwig.hmftools.patientreporter.SampleMetadata;
 import com.hartwig.hmftools.patientreporter.SampleReport;
+import com.hartwig.hmftools.patientreporter.cfreport.data.DataUtil;
 import com.hartwig.hmftools.patientreporter.qcfail.ImmutableQCFailReport;
 import com.hartwig.hmftools.patientreporter.qcfail.QCFailReason;
 import com.hartwig.hmftools.patientreporter.qcfail.QCFailReport;
 import com.hartwig.hmftools.patientreporter.qcfail.QCFailStudy;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.util.Strings;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.junit.Ignore;
 import org.junit.Test;
 
 public class CFReportWriterTest {
 
+    private static final Logger LOGGER = LogManager.getLogger(CFReportWriterTest.class);
+
     private static final boolean WRITE_TO_PDF = false;
     private static final boolean TIMESTAMP_FILES = false;
 
@@ -124,6 +132,41 @@ public class CFReportWriterTest {
                 testReportFilePath("hmf_low_molecular_tumor_percentage_cpct_report.pdf"));
     }
 
+    @Test
+    @Ignore
+    public void benchmarkPatientReportForCOLO829() throws IOException {
+        // This function exists just for fast local testing/benchmarking of rendering time and allocation per report
+        AnalysedPatientReport colo829Report = ExampleAnalysisTestFactory.buildCOLO829();
+        CFReportWriter writer = new CFReportWriter(false);
+        // Allocation is only measured on JVMs which expose it through the HotSpot specific thread bean.
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean allocationThreads = threads instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()
+                ? (com.sun.management.ThreadMXBean) threads
+                : null;
+        long threadId = Thread.currentThread().getId();
+
+        int warmupRuns = 5;
+        int runs = 25;
+        long startTime = 0;
+        long startBytes = 0;
+        for (int i = 0; i < warmupRuns + runs; i++) {
+            if (i == warmupRuns) {
+                startTime = System.nanoTime();
+                startBytes = allocationThreads != null ? allocationThreads.getThreadAllocatedBytes(threadId) : 0;
+            }
+            writer.writeAnalysedPatientReport(colo829Report, testReportFilePath("hmf_colo829_sequence_report.pdf"));
+        }
+
+        double millisPerReport = (System.nanoTime() - startTime) / 1e6 / runs;
+        if (allocationThreads != null) {
+            double megaBytesPerReport = (allocationThreads.getThreadAllocatedBytes(threadId) - startBytes) / 1e6 / runs;
+            LOGGER.info(String.format("%.1f ms and %.1f MB allocated per report", millisPerReport, megaBytesPerReport));
+        } else {
+            LOGGER.info(String.format("%.1f ms per report, allocation is not measurable on this JVM", millisPerReport));
+        }
+    }
+
     private static void generateQCFailCPCTReport(@NotNull String sampleId, @Nullable String shallowSeqPurity, @NotNull QCFailReason reason,
             @NotNull String filename) throws IOException {
         SampleMetadata sampleMetadata = ImmutableSampleMetadata.builder()
@@ -172,6 +215,7 @@ public class CFReportWriterTest {
                 failStudy,
                 Optional.empty(),
                 false,
+                DataUtil.formatDate(LocalDate.now()),
                 testReportData().signaturePath(),
                 testReportData().logoRVAPath(),
                 testReportData().logoCompanyPath());
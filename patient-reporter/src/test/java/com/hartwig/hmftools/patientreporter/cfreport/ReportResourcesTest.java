@@ -12,4 +12,16 @@ public class ReportResourcesTest {
         assertNotNull(ReportResources.fontBold());
         assertNotNull(ReportResources.iconFont());
     }
+
+    @Test
+    public void fontsAreSharedWithinDocument() {
+        try (ReportResources.DocumentFonts fonts = ReportResources.documentFonts()) {
+            assertSame(ReportResources.fontRegular(), ReportResources.fontRegular());
+            assertSame(ReportResources.fontBold(), ReportResources.fontBold());
+            assertSame(ReportResources.iconFont(), ReportResources.iconFont());
+            assertNotSame(ReportResources.fontRegular(), ReportResources.fontBold());
+        }
+
+        assertNotSame(ReportResources.fontRegular(), ReportResources.fontRegular());
+    }
 }
\ No newline at end of file
@@ -9,7 +9,7 @@ import java.util.stream.Collectors;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Maps;
-import com.hartwig.hmftools.protect.actionability.cancertype.CancerTypeAnalyzer;
+import com.hartwig.hmftools.common.actionability.cancertype.CancerTypeAnalyzer;
 import com.hartwig.hmftools.protect.actionability.cnv.CopyNumberEvidenceAnalyzer;
 import com.hartwig.hmftools.protect.actionability.cnv.CopyNumberEvidenceAnalyzerFactory;
 import com.hartwig.hmftools.protect.actionability.cnv.SignificantGeneCopyNumberFilter;
@@ -1,16 +1,18 @@
 package com.hartwig.hmftools.protect.actionability.cnv;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
+import com.hartwig.hmftools.common.actionability.cancertype.CancerTypeAnalyzer;
 import com.hartwig.hmftools.protect.actionability.ActionabilitySource;
 import com.hartwig.hmftools.protect.actionability.EvidenceItem;
 import com.hartwig.hmftools.protect.actionability.EvidenceLevel;
 import com.hartwig.hmftools.protect.actionability.EvidenceScope;
 import com.hartwig.hmftools.protect.actionability.ImmutableEvidenceItem;
-import com.hartwig.hmftools.protect.actionability.cancertype.CancerTypeAnalyzer;
 import com.hartwig.hmftools.common.purple.gene.GeneCopyNumber;
 
 import org.jetbrains.annotations.NotNull;
@@ -20,14 +22,17 @@ public class CopyNumberEvidenceAnalyzer {
 
     @NotNull
     private final List<ActionableCopyNumber> actionableCopyNumbers;
+    @NotNull
+    private final ListMultimap<String, ActionableCopyNumber> actionableCopyNumbersPerGene = ArrayListMultimap.create();
 
     CopyNumberEvidenceAnalyzer(@NotNull List<ActionableCopyNumber> actionableCopyNumbers) {
         this.actionableCopyNumbers = actionableCopyNumbers;
+        actionableCopyNumbers.forEach(x -> actionableCopyNumbersPerGene.put(x.gene(), x));
     }
 
     @NotNull
     public Set<String> actionableGenes() {
-        return actionableCopyNumbers.stream().map(ActionableCopyNumber::gene).collect(Collectors.toSet());
+        return Collections.unmodifiableSet(actionableCopyNumbersPerGene.keySet());
     }
 
     @NotNull
@@ -40,8 +45,8 @@ public class CopyNumberEvidenceAnalyzer {
             @Nullable String primaryTumorLocation, @NotNull CancerTypeAnalyzer cancerTypeAnalyzer) {
         List<EvidenceItem> evidenceItems = Lists.newArrayList();
         if (SignificantGeneCopyNumberFilter.isSignificant(averageTumorPloidy, geneCopyNumber.minCopyNumber())) {
-            for (ActionableCopyNumber actionableCopyNumber : actionableCopyNumbers) {
-                if (typeMatches(geneCopyNumber, actionableCopyNumber) && actionableCopyNumber.gene().equals(geneCopyNumber.gene())) {
+            for (ActionableCopyNumber actionableCopyNumber : actionableCopyNumbersPerGene.get(geneCopyNumber.gene())) {
+                if (typeMatches(geneCopyNumber, actionableCopyNumber)) {
                     ImmutableEvidenceItem.Builder evidenceBuilder = fromActionableCopyNumber(actionableCopyNumber);
                     evidenceBuilder.event(geneCopyNumber.gene() + " " + actionableCopyNumber.type().readableString());
                     evidenceBuilder.isOnLabel(cancerTypeAnalyzer.isCancerTypeMatch(actionableCopyNumber.cancerType(),
@@ -183,8 +183,10 @@ public class PurityPloidyEstimateApplication {
             final List<PurpleCopyNumber> germlineDeletions = copyNumberFactory.germlineDeletions();
             final List<FittedRegion> enrichedFittedRegions = updateRegionsWithCopyNumbers(fittedRegions, copyNumbers);
 
-            final List<GeneCopyNumber> geneCopyNumbers =
-                    GeneCopyNumberFactory.geneCopyNumbers(configSupplier.refGenomeConfig().genePanel(), copyNumbers, germlineDeletions);
+            final List<GeneCopyNumber> geneCopyNumbers = GeneCopyNumberFactory.geneCopyNumbers(executorService,
+                    configSupplier.refGenomeConfig().genePanel(),
+                    copyNumbers,
+                    germlineDeletions);
 
             LOGGER.info("Generating QC Stats");
             final PurpleQC qcChecks = PurpleQCFactory.create(bestFit.fit(), copyNumbers, amberGender, cobaltGender, geneCopyNumbers);
@@ -193,11 +195,11 @@ public class PurityPloidyEstimateApplication {
             final List<PurityAdjustedSomaticVariant> enrichedSomatics =
                     new PurityAdjustedSomaticVariantFactory(tumorSample, purityAdjuster, copyNumbers, enrichedFittedRegions).create(
                             allSomatics);
-            final List<PeakModel> somaticPeaks = modelSomaticPeaks(configSupplier.somaticConfig(), enrichedSomatics);
+            final List<PeakModel> somaticPeaks = modelSomaticPeaks(executorService, threads, configSupplier.somaticConfig(), enrichedSomatics);
 
             LOGGER.info("Enriching somatic variants");
             final SomaticStream somaticStream = new SomaticStream(config, configSupplier.somaticConfig(), configSupplier.refGenomeConfig());
-            somaticStream.processAndWrite(purityAdjuster, copyNumbers, enrichedFittedRegions, somaticPeaks);
+            somaticStream.processAndWrite(executorService, purityAdjuster, copyNumbers, enrichedFittedRegions, somaticPeaks);
 
             final PurityContext purityContext = ImmutablePurityContext.builder()
                     .version(version.version())
@@ -344,6 +346,9 @@ public class PurityPloidyEstimateApplication {
         }
     }
 
+    // The SomaticStream reads the vcf a second time once fitting is done, as the variants loaded here can not be passed on to it.
+    // They only hold passing records without their INFO and FORMAT fields, whereas the enriched vcf has to rewrite every input record.
+    // Keeping all decoded records around until fitting is done would instead cost heap in proportion to the number of variants.
     @NotNull
     private static List<SomaticVariant> somaticVariants(@NotNull final ConfigSupplier configSupplier) throws IOException {
         final SomaticConfig config = configSupplier.somaticConfig();
@@ -384,7 +389,8 @@ public class PurityPloidyEstimateApplication {
     }
 
     @NotNull
-    private List<PeakModel> modelSomaticPeaks(@NotNull final SomaticConfig config,
+    private List<PeakModel> modelSomaticPeaks(@NotNull final ExecutorService executorService, final int threads,
+            @NotNull final SomaticConfig config,
             @NotNull final List<PurityAdjustedSomaticVariant> enrichedSomatics) {
         final List<ModifiableWeightedPloidy> weightedPloidies = Lists.newArrayList();
         for (PurityAdjustedSomaticVariant enrichedSomatic : enrichedSomatics) {
@@ -398,7 +404,7 @@ public class PurityPloidyEstimateApplication {
             }
         }
 
-        return new PeakModelFactory(config.clonalityMaxPloidy(), config.clonalityBinWidth()).model(weightedPloidies);
+        return new PeakModelFactory(config.clonalityMaxPloidy(), config.clonalityBinWidth(), executorService, threads).model(weightedPloidies);
     }
 
 }
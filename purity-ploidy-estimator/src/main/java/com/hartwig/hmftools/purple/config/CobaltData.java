@@ -56,8 +56,15 @@ public interface CobaltData {
             throw new ParseException("Unable to open cobalt tumor pcf file: " + tumorSegmentFile);
         }
 
-        LOGGER.info("Reading cobalt ratios from {}", cobaltFilename);
-        final ListMultimap<Chromosome, CobaltRatio> ratios = CobaltRatioFile.read(cobaltFilename);
+        final String binaryFilename = CobaltRatioFile.generateBinaryFilename(cobaltDirectory, commonConfig.tumorSample());
+        final boolean useBinary = CobaltRatioFile.isBinaryExportOf(binaryFilename, cobaltFilename);
+        if (!useBinary && new File(binaryFilename).exists()) {
+            LOGGER.warn("Ignoring {} as it was not written from the current {}", binaryFilename, cobaltFilename);
+        }
+
+        final String ratioFilename = useBinary ? binaryFilename : cobaltFilename;
+        LOGGER.info("Reading cobalt ratios from {}", ratioFilename);
+        final ListMultimap<Chromosome, CobaltRatio> ratios = CobaltRatioFile.read(ratioFilename);
         final Gender gender = Gender.fromCobalt(ratios);
 
         LOGGER.info("Reading cobalt reference segments from {}", referenceSegmentFile);
@@ -0,0 +1,271 @@
+package com.hartwig.hmftools.purple.somatic;
+
+import static com.hartwig.hmftools.common.variant.enrich.KataegisEnrichment.KATAEGIS_FLAG;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.hartwig.hmftools.common.variant.enrich.VariantContextEnrichmentPurple;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import htsjdk.samtools.util.IOUtil;
+import htsjdk.tribble.readers.LineIteratorImpl;
+import htsjdk.tribble.readers.SynchronousLineReader;
+import htsjdk.variant.variantcontext.GenotypesContext;
+import htsjdk.variant.variantcontext.LazyGenotypesContext;
+import htsjdk.variant.variantcontext.VariantContext;
+import htsjdk.variant.vcf.VCFCodec;
+import htsjdk.variant.vcf.VCFHeader;
+
+/**
+ * Streams a vcf through the purple enrichment with each chromosome enriched as a separate task on the executor (kataegis windows
+ * never span chromosomes). Lines are read on the calling thread and handed to the task of their chromosome in batches. Each task
+ * decodes its lines with its own codec, so genotypes stay lazy and are decoded by the thread that owns the codec. Enriched variants
+ * are written on the calling thread in file order, with kataegis identifiers offset by the number assigned on earlier chromosomes,
+ * so the output is the same as enriching on a single thread.
+ *
+ * Both the lines and the enriched variants of a chromosome pass through bounded queues, so only a few batches per running task are
+ * held in memory.
+ */
+class ShardedVcfEnrichment {
+
+    interface EnrichmentFactory {
+
+        @NotNull
+        VariantContextEnrichmentPurple create(@NotNull Consumer<VariantContext> consumer);
+    }
+
+    private static final int LINES_PER_BATCH = 1_000;
+    private static final int BATCHES_PER_QUEUE = 4;
+    private static final long POLL_MILLISECONDS = 10;
+
+    @NotNull
+    private final ExecutorService executorService;
+    @NotNull
+    private final EnrichmentFactory enrichmentFactory;
+    @NotNull
+    private final Deque<Shard> shards = new ArrayDeque<>();
+    @NotNull
+    private final Map<String, Integer> kataegisOffsets = Maps.newHashMap();
+
+    private Consumer<VariantContext> consumer;
+
+    ShardedVcfEnrichment(@NotNull final ExecutorService executorService, @NotNull final EnrichmentFactory enrichmentFactory) {
+        this.executorService = executorService;
+        this.enrichmentFactory = enrichmentFactory;
+    }
+
+    /**
+     * Enriches the vcf file. The enriched header is passed to the writer factory before any variant, and the returned consumer then
+     * receives every enriched variant on the calling thread.
+     */
+    void enrich(@NotNull final String vcfFile, @NotNull final Function<VCFHeader, Consumer<VariantContext>> writerFactory)
+            throws IOException, ExecutionException, InterruptedException {
+        try (BufferedReader reader = IOUtil.openFileForBufferedReading(new File(vcfFile))) {
+            final StringBuilder headerText = new StringBuilder();
+            String line = reader.readLine();
+            while (line != null && line.startsWith("#")) {
+                headerText.append(line).append('\n');
+                line = reader.readLine();
+            }
+
+            final String header = headerText.toString();
+            consumer = writerFactory.apply(enrichmentFactory.create(x -> {
+            }).enrichHeader(readHeader(new VCFCodec(), header)));
+
+            Shard current = null;
+            List<String> batch = Lists.newArrayListWithCapacity(LINES_PER_BATCH);
+            for (; line != null; line = reader.readLine()) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+
+                final String contig = line.substring(0, Math.max(0, line.indexOf('\t')));
+                if (current == null || !current.contig.equals(contig)) {
+                    if (current != null) {
+                        endShard(current, batch);
+                        batch = Lists.newArrayListWithCapacity(LINES_PER_BATCH);
+                    }
+                    current = startShard(contig, header);
+                }
+
+                batch.add(line);
+                if (batch.size() == LINES_PER_BATCH) {
+                    offer(current, batch);
+                    batch = Lists.newArrayListWithCapacity(LINES_PER_BATCH);
+                }
+            }
+
+            if (current != null) {
+                endShard(current, batch);
+            }
+
+            while (!shards.isEmpty()) {
+                writeFinishedVariants(POLL_MILLISECONDS);
+            }
+        } finally {
+            shards.forEach(x -> x.kataegisIdentifiers.cancel(true));
+            shards.clear();
+        }
+    }
+
+    @NotNull
+    private Shard startShard(@NotNull final String contig, @NotNull final String header) {
+        final Shard shard = new Shard(contig);
+        shard.kataegisIdentifiers = executorService.submit(() -> enrich(shard, header));
+        shards.add(shard);
+        return shard;
+    }
+
+    private void endShard(@NotNull final Shard shard, @NotNull final List<String> batch) throws ExecutionException, InterruptedException {
+        if (!batch.isEmpty()) {
+            offer(shard, batch);
+        }
+        offer(shard, Collections.emptyList());
+    }
+
+    // Writes finished variants while waiting, so a full queue never blocks the task that the writer is waiting for.
+    private void offer(@NotNull final Shard shard, @NotNull final List<String> batch) throws ExecutionException, InterruptedException {
+        while (!shard.lines.offer(batch, POLL_MILLISECONDS, TimeUnit.MILLISECONDS)) {
+            writeFinishedVariants(0);
+        }
+    }
+
+    // Writes the enriched variants that are ready, in file order. Waits up to the timeout for the first shard to have variants ready.
+    private void writeFinishedVariants(long timeoutMilliseconds) throws ExecutionException, InterruptedException {
+        while (!shards.isEmpty()) {
+            final Shard first = shards.peekFirst();
+            final boolean finished = first.kataegisIdentifiers.isDone();
+            final List<VariantContext> variants = finished
+                    ? first.variants.poll()
+                    : first.variants.poll(timeoutMilliseconds, TimeUnit.MILLISECONDS);
+
+            if (variants != null) {
+                for (VariantContext context : variants) {
+                    offsetKataegisIdentifier(context);
+                    consumer.accept(context);
+                }
+            } else if (finished) {
+                first.kataegisIdentifiers.get().forEach((prefix, identifiers) -> kataegisOffsets.merge(prefix, identifiers, Integer::sum));
+                shards.pollFirst();
+            } else {
+                return;
+            }
+        }
+    }
+
+    @NotNull
+    private Map<String, Integer> enrich(@NotNull final Shard shard, @NotNull final String header) throws InterruptedException {
+        final VCFCodec codec = new VCFCodec();
+        readHeader(codec, header);
+
+        final ShardOutput output = new ShardOutput(shard.variants);
+        final VariantContextEnrichmentPurple enricher = enrichmentFactory.create(output);
+        for (List<String> lines = shard.lines.take(); !lines.isEmpty(); lines = shard.lines.take()) {
+            for (String line : lines) {
+                final VariantContext context = codec.decode(line);
+                if (context != null) {
+                    enricher.accept(context);
+                }
+            }
+        }
+
+        enricher.flush();
+        output.flush();
+        return enricher.kataegisIdentifiers();
+    }
+
+    private void offsetKataegisIdentifier(@NotNull final VariantContext context) {
+        final String identifier = context.getAttributeAsString(KATAEGIS_FLAG, null);
+        if (identifier != null) {
+            final int separator = identifier.lastIndexOf('_');
+            final String prefix = identifier.substring(0, separator);
+            final int offset = kataegisOffsets.getOrDefault(prefix, 0);
+            if (offset > 0) {
+                final int shardIdentifier = Integer.parseInt(identifier.substring(separator + 1));
+                context.getCommonInfo().putAttribute(KATAEGIS_FLAG, prefix + "_" + (shardIdentifier + offset), true);
+            }
+        }
+    }
+
+    @NotNull
+    private static VCFHeader readHeader(@NotNull final VCFCodec codec, @NotNull final String header) {
+        return (VCFHeader) codec.readActualHeader(new LineIteratorImpl(new SynchronousLineReader(new StringReader(header))));
+    }
+
+    private static class Shard {
+
+        @NotNull
+        private final String contig;
+        @NotNull
+        private final BlockingQueue<List<String>> lines = new ArrayBlockingQueue<>(BATCHES_PER_QUEUE);
+        @NotNull
+        private final BlockingQueue<List<VariantContext>> variants = new ArrayBlockingQueue<>(BATCHES_PER_QUEUE);
+        @Nullable
+        private Future<Map<String, Integer>> kataegisIdentifiers;
+
+        private Shard(@NotNull final String contig) {
+            this.contig = contig;
+        }
+    }
+
+    /**
+     * Collects the enriched variants of a shard into batches. Genotypes are decoded here, on the thread of the codec that created them,
+     * as the writer must not decode them with a codec that is still in use.
+     */
+    private static class ShardOutput implements Consumer<VariantContext> {
+
+        @NotNull
+        private final BlockingQueue<List<VariantContext>> queue;
+        @NotNull
+        private List<VariantContext> batch = Lists.newArrayListWithCapacity(LINES_PER_BATCH);
+
+        private ShardOutput(@NotNull final BlockingQueue<List<VariantContext>> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public void accept(@NotNull final VariantContext context) {
+            final GenotypesContext genotypes = context.getGenotypes();
+            if (genotypes instanceof LazyGenotypesContext) {
+                ((LazyGenotypesContext) genotypes).decode();
+            }
+
+            batch.add(context);
+            if (batch.size() == LINES_PER_BATCH) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!batch.isEmpty()) {
+                try {
+                    queue.put(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while enriching somatic variants", e);
+                }
+                batch = Lists.newArrayListWithCapacity(LINES_PER_BATCH);
+            }
+        }
+    }
+}
@@ -3,10 +3,13 @@ package com.hartwig.hmftools.purple.somatic;
 import java.io.File;
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 
 import com.hartwig.hmftools.common.drivercatalog.DriverCatalog;
 import com.hartwig.hmftools.common.drivercatalog.SomaticVariantDrivers;
+import com.hartwig.hmftools.common.genome.refgenome.SynchronizedReferenceSequenceFile;
 import com.hartwig.hmftools.common.purple.PurityAdjuster;
 import com.hartwig.hmftools.common.purple.copynumber.PurpleCopyNumber;
 import com.hartwig.hmftools.common.purple.gene.GeneCopyNumber;
@@ -23,11 +26,10 @@ import com.hartwig.hmftools.purple.config.SomaticConfig;
 import org.jetbrains.annotations.NotNull;
 
 import htsjdk.samtools.reference.IndexedFastaSequenceFile;
+import htsjdk.samtools.reference.ReferenceSequenceFile;
 import htsjdk.variant.variantcontext.VariantContext;
 import htsjdk.variant.variantcontext.writer.VariantContextWriter;
 import htsjdk.variant.variantcontext.writer.VariantContextWriterBuilder;
-import htsjdk.variant.vcf.VCFFileReader;
-import htsjdk.variant.vcf.VCFHeader;
 
 public class SomaticStream {
 
@@ -67,40 +69,40 @@ public class SomaticStream {
         return drivers.build(geneCopyNumbers);
     }
 
-    public void processAndWrite(@NotNull final PurityAdjuster purityAdjuster, @NotNull final List<PurpleCopyNumber> copyNumbers,
-            @NotNull final List<FittedRegion> fittedRegions, @NotNull final List<PeakModel> somaticPeaks) throws IOException {
+    /**
+     * Enriches and writes the somatic variants, with each chromosome enriched as a separate task on the executor. All tasks share the
+     * one reference genome reader.
+     */
+    public void processAndWrite(@NotNull final ExecutorService executorService, @NotNull final PurityAdjuster purityAdjuster,
+            @NotNull final List<PurpleCopyNumber> copyNumbers, @NotNull final List<FittedRegion> fittedRegions,
+            @NotNull final List<PeakModel> somaticPeaks) throws IOException, ExecutionException, InterruptedException {
         final Consumer<VariantContext> driverConsumer =
                 x -> somaticVariantFactory.createVariant(commonConfig.tumorSample(), x).ifPresent(drivers::add);
 
         if (enabled) {
-            try (IndexedFastaSequenceFile indexedFastaSequenceFile = new IndexedFastaSequenceFile(new File(refGenomeData.refGenome()));
-                    VCFFileReader vcfReader = new VCFFileReader(new File(inputVCF), false);
+            try (ReferenceSequenceFile reference = new SynchronizedReferenceSequenceFile(new IndexedFastaSequenceFile(new File(
+                    refGenomeData.refGenome())));
                     VariantContextWriter writer = new VariantContextWriterBuilder().setOutputFile(outputVCF)
                             .setOption(htsjdk.variant.variantcontext.writer.Options.ALLOW_MISSING_FIELDS_IN_HEADER)
                             .build()) {
 
                 final Consumer<VariantContext> consumer = microsatelliteIndels.andThen(writer::add).andThen(driverConsumer);
-
-                final VariantContextEnrichmentPurple enricher = new VariantContextEnrichmentPurple(somaticConfig.clonalityMaxPloidy(),
-                        somaticConfig.clonalityBinWidth(),
-                        commonConfig.version(),
-                        commonConfig.tumorSample(),
-                        indexedFastaSequenceFile,
-                        purityAdjuster,
-                        copyNumbers,
-                        fittedRegions,
-                        somaticPeaks,
-                        consumer);
-
-                final VCFHeader header = enricher.enrichHeader(vcfReader.getFileHeader());
-                writer.writeHeader(header);
-
-                for (VariantContext context : vcfReader) {
-                    enricher.accept(context);
-                }
-
-                enricher.flush();
-
+                final ShardedVcfEnrichment enrichment = new ShardedVcfEnrichment(executorService,
+                        x -> new VariantContextEnrichmentPurple(somaticConfig.clonalityMaxPloidy(),
+                                somaticConfig.clonalityBinWidth(),
+                                commonConfig.version(),
+                                commonConfig.tumorSample(),
+                                reference,
+                                purityAdjuster,
+                                copyNumbers,
+                                fittedRegions,
+                                somaticPeaks,
+                                x));
+
+                enrichment.enrich(inputVCF, header -> {
+                    writer.writeHeader(header);
+                    return consumer;
+                });
             }
         }
     }
@@ -0,0 +1,242 @@
+package com.hartwig.hmftools.purple.somatic;
+
+import static com.hartwig.hmftools.common.variant.enrich.KataegisEnrichment.KATAEGIS_FLAG;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.Lists;
+import com.hartwig.hmftools.common.genome.refgenome.SynchronizedReferenceSequenceFile;
+import com.hartwig.hmftools.common.purple.PurityAdjuster;
+import com.hartwig.hmftools.common.purple.copynumber.CopyNumberMethod;
+import com.hartwig.hmftools.common.purple.copynumber.ImmutablePurpleCopyNumber;
+import com.hartwig.hmftools.common.purple.copynumber.PurpleCopyNumber;
+import com.hartwig.hmftools.common.purple.gender.Gender;
+import com.hartwig.hmftools.common.purple.segment.SegmentSupport;
+import com.hartwig.hmftools.common.variant.enrich.VariantContextEnrichmentPurple;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Before;
+import org.junit.Test;
+
+import htsjdk.samtools.reference.IndexedFastaSequenceFile;
+import htsjdk.samtools.reference.ReferenceSequenceFile;
+import htsjdk.variant.variantcontext.VariantContext;
+import htsjdk.variant.vcf.VCFEncoder;
+import htsjdk.variant.vcf.VCFFileReader;
+import htsjdk.variant.vcf.VCFHeader;
+
+public class ShardedVcfEnrichmentTest {
+
+    private static final String TUMOR = "TUMOR";
+    private static final List<String> CHROMOSOMES = Lists.newArrayList("1", "2", "3", "X");
+    private static final int CHROMOSOME_LENGTH = 20_000;
+    private static final int LINE_LENGTH = 60;
+
+    private File directory;
+    private String vcfFile;
+    private ReferenceSequenceFile reference;
+    private List<PurpleCopyNumber> copyNumbers;
+
+    @Before
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("sharded_enrichment").toFile();
+        directory.deleteOnExit();
+        final Random random = new Random(0);
+
+        final List<StringBuilder> sequences = Lists.newArrayList();
+        final StringBuilder vcf = new StringBuilder();
+        vcf.append("##fileformat=VCFv4.2\n");
+        vcf.append("##FILTER=<ID=PON,Description=\"Panel of normals\">\n");
+        vcf.append("##FORMAT=<ID=GT,Number=1,Type=String,Description=\"Genotype\">\n");
+        vcf.append("##FORMAT=<ID=AD,Number=R,Type=Integer,Description=\"Allelic depths\">\n");
+        vcf.append("##FORMAT=<ID=DP,Number=1,Type=Integer,Description=\"Read depth\">\n");
+        for (String chromosome : CHROMOSOMES) {
+            vcf.append("##contig=<ID=").append(chromosome).append(",length=").append(CHROMOSOME_LENGTH).append(">\n");
+        }
+        vcf.append("#CHROM\tPOS\tID\tREF\tALT\tQUAL\tFILTER\tINFO\tFORMAT\t").append(TUMOR).append("\n");
+
+        for (String chromosome : CHROMOSOMES) {
+            final StringBuilder sequence = new StringBuilder();
+            for (int i = 0; i < CHROMOSOME_LENGTH; i++) {
+                sequence.append("ACGT".charAt(random.nextInt(4)));
+            }
+            sequences.add(sequence);
+
+            // A forward and a reverse kataegis cluster on every chromosome, with PON filtered variants breaking up the second
+            int position = 1000;
+            for (int i = 0; i < 6; i++, position += 100 + random.nextInt(200)) {
+                vcf.append(forwardVariant(chromosome, sequence, position, "PASS"));
+            }
+
+            position = 5000;
+            for (int i = 0; i < 8; i++, position += 100 + random.nextInt(200)) {
+                vcf.append(reverseVariant(chromosome, sequence, position, i % 3 == 2 ? "PON" : "PASS"));
+            }
+
+            for (position = 9000; position < CHROMOSOME_LENGTH - 10; position += 500 + random.nextInt(1000)) {
+                final char ref = sequence.charAt(position - 1);
+                final char alt = ref == 'A' ? 'G' : 'A';
+                vcf.append(variantLine(chromosome, position, ref, alt, random.nextInt(5) == 0 ? "PON" : "PASS"));
+            }
+        }
+
+        vcfFile = write(new File(directory, "somatic.vcf"), vcf).getPath();
+
+        final File fasta = new File(directory, "reference.fasta");
+        final StringBuilder fastaText = new StringBuilder();
+        final StringBuilder index = new StringBuilder();
+        final StringBuilder dictionary = new StringBuilder("@HD\tVN:1.5\n");
+        for (int i = 0; i < CHROMOSOMES.size(); i++) {
+            fastaText.append(">").append(CHROMOSOMES.get(i)).append("\n");
+            dictionary.append("@SQ\tSN:").append(CHROMOSOMES.get(i)).append("\tLN:").append(CHROMOSOME_LENGTH).append("\n");
+            index.append(CHROMOSOMES.get(i)).append("\t").append(CHROMOSOME_LENGTH).append("\t").append(fastaText.length())
+                    .append("\t").append(LINE_LENGTH).append("\t").append(LINE_LENGTH + 1).append("\n");
+            for (int start = 0; start < CHROMOSOME_LENGTH; start += LINE_LENGTH) {
+                fastaText.append(sequences.get(i), start, Math.min(CHROMOSOME_LENGTH, start + LINE_LENGTH)).append("\n");
+            }
+        }
+        write(fasta, fastaText);
+        write(new File(directory, "reference.fasta.fai"), index);
+        write(new File(directory, "reference.dict"), dictionary);
+
+        reference = new SynchronizedReferenceSequenceFile(new IndexedFastaSequenceFile(fasta));
+
+        copyNumbers = Lists.newArrayList();
+        for (String chromosome : CHROMOSOMES) {
+            copyNumbers.add(copyNumber(chromosome, 1, 8000, 2));
+            copyNumbers.add(copyNumber(chromosome, 8001, CHROMOSOME_LENGTH, 3));
+        }
+    }
+
+    @Test
+    public void testShardedEnrichmentMatchesSequentialEnrichment() throws Exception {
+        try {
+            final List<String> expected = sequential();
+
+            final Set<String> kataegisIds = expected.stream()
+                    .flatMap(x -> Lists.newArrayList(x.split("[\t;]")).stream())
+                    .filter(x -> x.startsWith(KATAEGIS_FLAG + "="))
+                    .collect(Collectors.toSet());
+            assertEquals(2 * CHROMOSOMES.size(), kataegisIds.size());
+            assertTrue(kataegisIds.contains(KATAEGIS_FLAG + "=FWD_" + CHROMOSOMES.size()));
+            assertTrue(kataegisIds.contains(KATAEGIS_FLAG + "=REV_" + CHROMOSOMES.size()));
+            assertTrue(expected.stream().anyMatch(x -> x.split("\t")[6].equals("PON")));
+
+            assertEquals(expected, sharded(1));
+            assertEquals(expected, sharded(4));
+        } finally {
+            reference.close();
+        }
+    }
+
+    @NotNull
+    private static File write(@NotNull final File file, @NotNull final CharSequence text) throws IOException {
+        Files.write(file.toPath(), text.toString().getBytes());
+        file.deleteOnExit();
+        return file;
+    }
+
+    @NotNull
+    private List<String> sequential() {
+        final List<String> result = Lists.newArrayList();
+        try (VCFFileReader reader = new VCFFileReader(new File(vcfFile), false)) {
+            final VariantContextEnrichmentPurple enricher = enricher(null);
+            final VCFEncoder encoder = new VCFEncoder(enricher.enrichHeader(reader.getFileHeader()), true, true);
+            final VariantContextEnrichmentPurple writer = enricher(x -> result.add(encoder.encode(x)));
+            for (VariantContext context : reader) {
+                writer.accept(context);
+            }
+            writer.flush();
+        }
+        return result;
+    }
+
+    @NotNull
+    private List<String> sharded(int threads) throws Exception {
+        final List<String> result = Lists.newArrayList();
+        final ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            new ShardedVcfEnrichment(executorService, this::enricher).enrich(vcfFile, header -> encoder(header, result));
+        } finally {
+            executorService.shutdown();
+        }
+        return result;
+    }
+
+    @NotNull
+    private static Consumer<VariantContext> encoder(@NotNull final VCFHeader header, @NotNull final List<String> result) {
+        final VCFEncoder encoder = new VCFEncoder(header, true, true);
+        return x -> result.add(encoder.encode(x));
+    }
+
+    @NotNull
+    private VariantContextEnrichmentPurple enricher(final Consumer<VariantContext> consumer) {
+        return new VariantContextEnrichmentPurple(10,
+                0.05,
+                "test",
+                TUMOR,
+                reference,
+                new PurityAdjuster(Gender.FEMALE, 0.8, 1),
+                copyNumbers,
+                Collections.emptyList(),
+                Collections.emptyList(),
+                consumer == null ? x -> {
+                } : consumer);
+    }
+
+    // The base before a forward kataegis candidate is a T, the reference is a C and the alt a T.
+    @NotNull
+    private static String forwardVariant(@NotNull final String chromosome, @NotNull final StringBuilder sequence, int position,
+            @NotNull final String filter) {
+        sequence.setCharAt(position - 2, 'T');
+        sequence.setCharAt(position - 1, 'C');
+        return variantLine(chromosome, position, 'C', 'T', filter);
+    }
+
+    // The reference of a reverse kataegis candidate is a G followed by an A, and the alt is a C.
+    @NotNull
+    private static String reverseVariant(@NotNull final String chromosome, @NotNull final StringBuilder sequence, int position,
+            @NotNull final String filter) {
+        sequence.setCharAt(position - 1, 'G');
+        sequence.setCharAt(position, 'A');
+        return variantLine(chromosome, position, 'G', 'C', filter);
+    }
+
+    @NotNull
+    private static String variantLine(@NotNull final String chromosome, int position, char ref, char alt, @NotNull final String filter) {
+        return chromosome + "\t" + position + "\t.\t" + ref + "\t" + alt + "\t100\t" + filter + "\t.\tGT:AD:DP\t0/1:30,20:50\n";
+    }
+
+    @NotNull
+    private static PurpleCopyNumber copyNumber(@NotNull final String chromosome, long start, long end, double copyNumber) {
+        return ImmutablePurpleCopyNumber.builder()
+                .chromosome(chromosome)
+                .start(start)
+                .end(end)
+                .averageTumorCopyNumber(copyNumber)
+                .segmentStartSupport(SegmentSupport.NONE)
+                .segmentEndSupport(SegmentSupport.NONE)
+                .method(CopyNumberMethod.UNKNOWN)
+                .bafCount(0)
+                .depthWindowCount(1)
+                .gcContent(0)
+                .minStart(start)
+                .maxStart(start)
+                .averageObservedBAF(0.5)
+                .averageActualBAF(0.5)
+                .build();
+    }
+}
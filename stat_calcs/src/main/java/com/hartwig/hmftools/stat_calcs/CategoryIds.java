@@ -0,0 +1,37 @@
+package com.hartwig.hmftools.stat_calcs;
+
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+// interns category values to consecutive integer ids, in order of first appearance
+public class CategoryIds
+{
+    private final Map<String,Integer> mIds;
+    private final List<String> mValues;
+
+    public CategoryIds()
+    {
+        mIds = Maps.newHashMap();
+        mValues = Lists.newArrayList();
+    }
+
+    public int intern(final String value)
+    {
+        Integer id = mIds.get(value);
+
+        if(id == null)
+        {
+            id = mValues.size();
+            mIds.put(value, id);
+            mValues.add(value);
+        }
+
+        return id;
+    }
+
+    public final String value(int id) { return mValues.get(id); }
+    public int count() { return mValues.size(); }
+}
@@ -0,0 +1,149 @@
+package com.hartwig.hmftools.stat_calcs;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+// sample membership of each category within a group, held as bitsets over the group's samples so the 2x2 contingency counts for
+// any pair of categories come from popcounts rather than a scan of every sample's category data
+public class CategorySampleSets
+{
+    public static final int WITH_1_WITH_2 = 0;
+    public static final int WITH_1_NO_2 = 1;
+    public static final int NO_1_WITH_2 = 2;
+    public static final int NO_1_NO_2 = 3;
+    public static final int CONTINGENCY_COUNT = NO_1_NO_2 + 1;
+
+    private final Map<String,Integer> mSampleIndex;
+
+    // built up while loading, then packed into words by finalise()
+    private final List<BitSet> mCat1SampleSets;
+    private final List<BitSet> mCat2SampleSets;
+    private final Map<Long,BitSet> mPairSampleSets;
+
+    private long[][] mCat1Words;
+    private long[][] mCat2Words;
+    private int[] mCat1SampleCounts;
+    private int[] mCat2SampleCounts;
+    private Map<Long,Integer> mPairSampleCounts;
+
+    public CategorySampleSets()
+    {
+        mSampleIndex = Maps.newHashMap();
+        mCat1SampleSets = Lists.newArrayList();
+        mCat2SampleSets = Lists.newArrayList();
+        mPairSampleSets = Maps.newHashMap();
+    }
+
+    public void addCategoryData(final String sampleId, int cat1Id, int cat2Id)
+    {
+        Integer sampleIndex = mSampleIndex.get(sampleId);
+
+        if(sampleIndex == null)
+        {
+            sampleIndex = mSampleIndex.size();
+            mSampleIndex.put(sampleId, sampleIndex);
+        }
+
+        sampleSet(mCat1SampleSets, cat1Id).set(sampleIndex);
+        sampleSet(mCat2SampleSets, cat2Id).set(sampleIndex);
+        mPairSampleSets.computeIfAbsent(pairKey(cat1Id, cat2Id), k -> new BitSet()).set(sampleIndex);
+    }
+
+    public int sampleCount() { return mSampleIndex.size(); }
+
+    // samples with the category in any of their records, valid once finalised
+    public int cat1SampleCount(int cat1Id) { return mCat1SampleCounts[cat1Id]; }
+    public int cat2SampleCount(int cat2Id) { return mCat2SampleCounts[cat2Id]; }
+
+    // packs the bitsets into equal-length word arrays, after which the counts can be read from multiple threads
+    public void finalise(int cat1Count, int cat2Count)
+    {
+        int wordCount = (sampleCount() + Long.SIZE - 1) / Long.SIZE;
+
+        mCat1Words = new long[cat1Count][];
+        mCat1SampleCounts = new int[cat1Count];
+        packSampleSets(mCat1SampleSets, wordCount, mCat1Words, mCat1SampleCounts);
+
+        mCat2Words = new long[cat2Count][];
+        mCat2SampleCounts = new int[cat2Count];
+        packSampleSets(mCat2SampleSets, wordCount, mCat2Words, mCat2SampleCounts);
+
+        mPairSampleCounts = Maps.newHashMap();
+        mPairSampleSets.forEach((key, samples) -> mPairSampleCounts.put(key, samples.cardinality()));
+
+        mCat1SampleSets.clear();
+        mCat2SampleSets.clear();
+        mPairSampleSets.clear();
+    }
+
+    // a sample with both categories in the same record counts as having both, otherwise a sample with category 1 counts as having
+    // category 1 only (even if category 2 appears in another record), and a sample with only category 2 as having category 2 only
+    public void contingencyCounts(int cat1Id, int cat2Id, final int[] counts)
+    {
+        int withCat1 = mCat1SampleCounts[cat1Id];
+        int withCat2 = mCat2SampleCounts[cat2Id];
+        int withBoth = mPairSampleCounts.getOrDefault(pairKey(cat1Id, cat2Id), 0);
+        int withCat1AndCat2 = intersectionCount(mCat1Words[cat1Id], mCat2Words[cat2Id]);
+
+        counts[WITH_1_WITH_2] = withBoth;
+        counts[WITH_1_NO_2] = withCat1 - withBoth;
+        counts[NO_1_WITH_2] = withCat2 - withCat1AndCat2;
+        counts[NO_1_NO_2] = sampleCount() - counts[WITH_1_WITH_2] - counts[WITH_1_NO_2] - counts[NO_1_WITH_2];
+    }
+
+    private static int intersectionCount(final long[] words1, final long[] words2)
+    {
+        int count = 0;
+
+        for(int i = 0; i < words1.length; ++i)
+        {
+            count += Long.bitCount(words1[i] & words2[i]);
+        }
+
+        return count;
+    }
+
+    private static void packSampleSets(final List<BitSet> sampleSets, int wordCount, final long[][] words, final int[] sampleCounts)
+    {
+        for(int id = 0; id < words.length; ++id)
+        {
+            words[id] = new long[wordCount];
+
+            final BitSet samples = id < sampleSets.size() ? sampleSets.get(id) : null;
+
+            if(samples == null)
+                continue;
+
+            final long[] setWords = samples.toLongArray();
+            System.arraycopy(setWords, 0, words[id], 0, setWords.length);
+            sampleCounts[id] = samples.cardinality();
+        }
+    }
+
+    private static BitSet sampleSet(final List<BitSet> sampleSets, int id)
+    {
+        while(sampleSets.size() <= id)
+        {
+            sampleSets.add(null);
+        }
+
+        BitSet samples = sampleSets.get(id);
+
+        if(samples == null)
+        {
+            samples = new BitSet();
+            sampleSets.set(id, samples);
+        }
+
+        return samples;
+    }
+
+    private static long pairKey(int cat1Id, int cat2Id)
+    {
+        return ((long)cat1Id << Integer.SIZE) | cat2Id;
+    }
+}
@@ -41,19 +41,32 @@ public class FisherExactTest
     // b = no A, with B
     // c = with A, no B
     // d = no A, no B
+    // each next term of a tail is the previous one times the ratio of consecutive hypergeometric probabilities, so only the first
+    // term (and any term following an underflow) needs the log-factorial table and an exp
     public final double getRightTailedP(int a, int b, int c, int d)
     {
         // aka 'greater than' test
         if (a + b + c + d > mCountMax)
             return Double.NaN;
 
-        double p = 0;
-        p += getP(a, b, c, d);
+        double term = getP(a, b, c, d);
+        double p = term;
 
         int min = (c < b) ? c : b;
         for (int i = 0; i < min; i++)
         {
-            p += getP(++a, --b, --c, ++d);
+            double ratio = ((double)b * c) / ((double)(a + 1) * (d + 1));
+            ++a;
+            --b;
+            --c;
+            ++d;
+
+            // a term which underflowed is recomputed rather than carried along as zero
+            term = term < Double.MIN_NORMAL ? getP(a, b, c, d) : term * ratio;
+            p += term;
+
+            if(remainingTailNegligible(term, ratio, p))
+                break;
         }
         return p;
     }
@@ -64,20 +77,38 @@ public class FisherExactTest
         if (a + b + c + d > mCountMax)
             return Double.NaN;
 
-        double p = 0;
-        p += getP(a, b, c, d);
+        double term = getP(a, b, c, d);
+        double p = term;
 
         int min = (a < d) ? a : d;
 
         for (int i = 0; i < min; i++)
         {
-            double pTemp = getP(--a, ++b, ++c, --d);
-
-            p += pTemp;
+            double ratio = ((double)a * d) / ((double)(b + 1) * (c + 1));
+            --a;
+            ++b;
+            ++c;
+            --d;
+
+            // a term which underflowed is recomputed rather than carried along as zero
+            term = term < Double.MIN_NORMAL ? getP(a, b, c, d) : term * ratio;
+            p += term;
+
+            if(remainingTailNegligible(term, ratio, p))
+                break;
         }
         return p;
     }
 
+    private static final double TAIL_PRECISION = 1e-15;
+
+    // the hypergeometric distribution is log-concave, so the ratios only decrease along a tail - once below 1 the remaining terms are
+    // bounded by a geometric series, which allows an early exit for extreme tails
+    private static boolean remainingTailNegligible(double term, double ratio, double tailSum)
+    {
+        return ratio < 1 && term * ratio / (1 - ratio) <= tailSum * TAIL_PRECISION;
+    }
+
     private final double getP(int a, int b, int c, int d)
     {
         int n = a + b + c + d;
@@ -1,15 +1,17 @@
 package com.hartwig.hmftools.stat_calcs;
 
-import static com.hartwig.hmftools.stat_calcs.SampleCategoryData.SAMPLE_CAT_1_INDEX;
-import static com.hartwig.hmftools.stat_calcs.SampleCategoryData.SAMPLE_CAT_2_INDEX;
+import static com.hartwig.hmftools.stat_calcs.CategorySampleSets.CONTINGENCY_COUNT;
+import static com.hartwig.hmftools.stat_calcs.CategorySampleSets.NO_1_NO_2;
+import static com.hartwig.hmftools.stat_calcs.CategorySampleSets.NO_1_WITH_2;
+import static com.hartwig.hmftools.stat_calcs.CategorySampleSets.WITH_1_NO_2;
+import static com.hartwig.hmftools.stat_calcs.CategorySampleSets.WITH_1_WITH_2;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.FileReader;
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.stream.IntStream;
 
 import com.google.common.collect.Lists;
 import com.hartwig.hmftools.common.utils.io.FileWriterUtils;
@@ -26,13 +28,14 @@ import org.apache.logging.log4j.Logger;
 
 public class ThreeVarCoOccurence
 {
-    private List<String> mSamples;
+    private final CategoryIds mSamples;
 
-    // generic data structure for 3-way co-occurrence
-    private final Map<String, List<SampleCategoryData>> mGroupingSampleGenericData;
-    private final List<String> mGroupingValues;
-    private final List<String> mCat1Values;
-    private final List<String> mCat2Values;
+    // generic data structure for 3-way co-occurrence, with all values interned to ids and the sample membership of each category held
+    // per group as bitsets
+    private final List<CategorySampleSets> mGroupSampleSets;
+    private final CategoryIds mGroupingValues;
+    private final CategoryIds mCat1Values;
+    private final CategoryIds mCat2Values;
 
     private String mGroupingField;
     private String mCategory1;
@@ -52,6 +55,12 @@ public class ThreeVarCoOccurence
         mCategory1 = "";
         mCategory2 = "";
 
+        mSamples = new CategoryIds();
+        mGroupSampleSets = Lists.newArrayList();
+        mGroupingValues = new CategoryIds();
+        mCat1Values = new CategoryIds();
+        mCat2Values = new CategoryIds();
+
         final String inputFile = cmd.getOptionValue(THREE_VAR_INPUT_FILE);
 
         loadSampleGenericData(inputFile);
@@ -59,12 +68,6 @@ public class ThreeVarCoOccurence
         final String outputFile = outputDir + "STATS_3VAR.csv";
         initialiseOutput(outputFile);
 
-        mSamples = Lists.newArrayList();
-        mGroupingSampleGenericData = new HashMap();
-        mGroupingValues = Lists.newArrayList();
-        mCat1Values = Lists.newArrayList();
-        mCat2Values = Lists.newArrayList();
-
         mFisherET = new FisherExactTest();
     }
 
@@ -83,22 +86,22 @@ public class ThreeVarCoOccurence
 
     public void run()
     {
-        if(mGroupingSampleGenericData.isEmpty())
+        if(mGroupSampleSets.isEmpty())
             return;
 
         // for each of the group fields, calculate co-occurrence for each of the 2 categories
-        mFisherET.initialise(mSamples.size());
+        mFisherET.initialise(mSamples.count());
 
-        int hypothesesCount = mGroupingValues.size() * mCat1Values.size() * mCat2Values.size();
+        int cat1Count = mCat1Values.count();
+        int cat2Count = mCat2Values.count();
+        int hypothesesCount = mGroupingValues.count() * cat1Count * cat2Count;
 
-        for(final String groupingValue : mGroupingValues)
+        for(int groupId = 0; groupId < mGroupingValues.count(); ++groupId)
         {
-            final List<SampleCategoryData> sampleDataList = mGroupingSampleGenericData.get(groupingValue);
-
-            if(sampleDataList == null || sampleDataList.isEmpty())
-                continue;
+            final String groupingValue = mGroupingValues.value(groupId);
+            final CategorySampleSets sampleSets = mGroupSampleSets.get(groupId);
 
-            int sampleCount = sampleDataList.size();
+            int sampleCount = sampleSets.sampleCount();
 
             LOGGER.info("processing group({}) with {} samples", groupingValue, sampleCount);
 
@@ -107,64 +110,32 @@ public class ThreeVarCoOccurence
                 LOGGER.debug("spec group value: {}", groupingValue);
             }
 
-            for(final String cat1 : mCat1Values)
+            sampleSets.finalise(cat1Count, cat2Count);
+
+            // the category pairs are tested on the fork-join pool, and written in the same order as they would be sequentially
+            final String[] results = IntStream.range(0, cat1Count * cat2Count).parallel().mapToObj(pairIndex ->
             {
-                for(final String cat2 : mCat2Values)
-                {
-                    int withCat1 = 0;
-                    int withCat2 = 0;
-                    int withCat1WithCat2 = 0;
-                    int withCat1NoCat2 = 0;
-                    int noCat1WithCat2 = 0;
-                    int noCat1NoCat2 = 0;
-
-                    for(final SampleCategoryData sampleData : sampleDataList)
-                    {
-                        final List<String[]> catDataList = sampleData.getCategoryData();
-
-                        boolean hasCat1 = false;
-                        boolean hasCat2 = false;
-                        boolean hasBoth = false;
-
-                        for (final String[] catList : catDataList)
-                        {
-                            if (catList[SAMPLE_CAT_1_INDEX].equals(cat1) && catList[SAMPLE_CAT_2_INDEX].equals(cat2))
-                            {
-                                hasBoth = true;
-                                break;
-                            }
-
-                            if (catList[SAMPLE_CAT_1_INDEX].equals(cat1))
-                                hasCat1 = true;
-
-                            if(catList[SAMPLE_CAT_2_INDEX].equals(cat2))
-                                hasCat2 = true;
-                        }
-
-                        if(hasBoth)
-                            ++withCat1WithCat2;
-                        else if(hasCat1)
-                            ++withCat1NoCat2;
-                        else if(hasCat2)
-                            ++noCat1WithCat2;
-                        else
-                            ++noCat1NoCat2;
-
-                        if(hasCat1 || hasBoth)
-                            ++withCat1;
-
-                        if(hasCat2 || hasBoth)
-                            ++withCat2;
-                    }
-
-                    double expectedVal = withCat1 / (double)sampleCount * withCat2;
-
-                    double fisherProb = mFisherET.calc(withCat1WithCat2, noCat1WithCat2, withCat1NoCat2, noCat1NoCat2, expectedVal);
-
-                    writeResultsData(groupingValue, cat1, cat2, sampleCount, withCat1, withCat2, fisherProb,
-                            expectedVal, hypothesesCount, withCat1WithCat2, noCat1WithCat2, withCat1NoCat2, noCat1NoCat2);
-                }
-            }
+                int cat1Id = pairIndex / cat2Count;
+                int cat2Id = pairIndex % cat2Count;
+
+                final int[] counts = new int[CONTINGENCY_COUNT];
+                sampleSets.contingencyCounts(cat1Id, cat2Id, counts);
+
+                // a sample with both categories in separate records counts towards both totals
+                int withCat1 = sampleSets.cat1SampleCount(cat1Id);
+                int withCat2 = sampleSets.cat2SampleCount(cat2Id);
+
+                double expectedVal = withCat1 / (double)sampleCount * withCat2;
+
+                double fisherProb = mFisherET.calc(counts[WITH_1_WITH_2], counts[NO_1_WITH_2], counts[WITH_1_NO_2], counts[NO_1_NO_2],
+                        expectedVal);
+
+                return formatResultsData(groupingValue, mCat1Values.value(cat1Id), mCat2Values.value(cat2Id), sampleCount, withCat1,
+                        withCat2, fisherProb, expectedVal, hypothesesCount,
+                        counts[WITH_1_WITH_2], counts[NO_1_WITH_2], counts[WITH_1_NO_2], counts[NO_1_NO_2]);
+            }).toArray(String[]::new);
+
+            writeResultsData(results);
         }
 
         FileWriterUtils.closeBufferedWriter(mWriter);
@@ -195,26 +166,29 @@ public class ThreeVarCoOccurence
         return true;
     }
 
-    private void writeResultsData(final String groupingValue, final String cat1, final String cat2, int sampleCount,
+    private static String formatResultsData(final String groupingValue, final String cat1, final String cat2, int sampleCount,
             int withCat1, int withCat2, double fetProbability, double expectedVal, int testCount,
             int withCat1WithCat2, int noCat1WithCat2, int withCat1NoCat2, int noCat1NoCat2)
+    {
+        return String.format("%s,%s,%s,%d", groupingValue, cat1, cat2, sampleCount)
+                + String.format(",%d,%d,%.2f,%4.3e,%d,%s,%d,%d,%d,%d",
+                        withCat1, withCat2, expectedVal, fetProbability,
+                        testCount, withCat1WithCat2 > expectedVal,
+                        withCat1WithCat2, noCat1WithCat2, withCat1NoCat2, noCat1NoCat2);
+    }
+
+    private void writeResultsData(final String[] results)
     {
         if (mWriter == null)
             return;
 
         try
         {
-            mWriter.write(
-                    String.format("%s,%s,%s,%d",
-                            groupingValue, cat1, cat2, sampleCount));
-
-            mWriter.write(
-                    String.format(",%d,%d,%.2f,%4.3e,%d,%s,%d,%d,%d,%d",
-                            withCat1, withCat2, expectedVal, fetProbability,
-                            testCount, withCat1WithCat2 > expectedVal,
-                            withCat1WithCat2, noCat1WithCat2, withCat1NoCat2, noCat1NoCat2));
-
-            mWriter.newLine();
+            for(final String result : results)
+            {
+                mWriter.write(result);
+                mWriter.newLine();
+            }
         }
         catch (final IOException e)
         {
@@ -259,8 +233,6 @@ public class ThreeVarCoOccurence
             mCategory2 = items[CAT_2_INDEX];
 
             int recordCount = 0;
-            String currentGroupingValue = "";
-            List<SampleCategoryData> sampleDataList = null;
 
             while ((line = fileReader.readLine()) != null)
             {
@@ -277,48 +249,14 @@ public class ThreeVarCoOccurence
                 final String cat1Value = items[CAT_1_INDEX];
                 final String cat2Value = items[CAT_2_INDEX];
 
-                if(!currentGroupingValue.equals(groupingValue))
-                {
-                    currentGroupingValue = groupingValue;
-
-                    sampleDataList = mGroupingSampleGenericData.get(groupingValue);
-
-                    if(sampleDataList == null)
-                    {
-                        sampleDataList = Lists.newArrayList();
-                        mGroupingSampleGenericData.put(groupingValue, sampleDataList);
-                    }
-                }
-
-                if(!mSamples.contains(sampleId))
-                    mSamples.add(sampleId);
-
-                if(!mGroupingValues.contains(groupingValue))
-                    mGroupingValues.add(groupingValue);
-
-                if(!mCat1Values.contains(cat1Value))
-                    mCat1Values.add(cat1Value);
-
-                if(!mCat2Values.contains(cat2Value))
-                    mCat2Values.add(cat2Value);
-
-                boolean found = false;
-                for(final SampleCategoryData sampleData : sampleDataList)
-                {
-                    if(sampleData.SampleId.equals(sampleId))
-                    {
-                        sampleData.addCategoryData(cat1Value, cat2Value);
-                        found = true;
-                        break;
-                    }
-                }
-
-                if(!found)
-                {
-                    SampleCategoryData sampleData = new SampleCategoryData(sampleId);
-                    sampleData.addCategoryData(cat1Value, cat2Value);
-                    sampleDataList.add(sampleData);
-                }
+                mSamples.intern(sampleId);
+
+                int groupId = mGroupingValues.intern(groupingValue);
+
+                if(groupId == mGroupSampleSets.size())
+                    mGroupSampleSets.add(new CategorySampleSets());
+
+                mGroupSampleSets.get(groupId).addCategoryData(sampleId, mCat1Values.intern(cat1Value), mCat2Values.intern(cat2Value));
             }
 
             LOGGER.info("loaded {} sample generic data records", recordCount);
@@ -5,6 +5,7 @@ import java.io.BufferedWriter;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import com.google.common.collect.Lists;
 import com.hartwig.hmftools.common.utils.io.FileWriterUtils;
@@ -21,10 +22,10 @@ import org.apache.logging.log4j.Logger;
 
 public class TwoVarCoOccurence
 {
-    // generic data structure for 2-way co-occurrence
-    private final List<TwoCategoryData> mCategoryCountsData;
-    private final List<String> mCat1Values;
-    private final List<String> mCat2Values;
+    // generic data structure for 2-way co-occurrence, with categories interned to ids and the counts summed per pair of ids
+    private final List<int[]> mCategoryCountsData;
+    private final CategoryIds mCat1Values;
+    private final CategoryIds mCat2Values;
 
     private String mCategory1;
     private String mCategory2;
@@ -43,8 +44,8 @@ public class TwoVarCoOccurence
         mCategory2 = "";
 
         mCategoryCountsData = Lists.newArrayList();
-        mCat1Values = Lists.newArrayList();
-        mCat2Values = Lists.newArrayList();
+        mCat1Values = new CategoryIds();
+        mCat2Values = new CategoryIds();
 
         final String inputFile = cmd.getOptionValue(TWO_VAR_INPUT_FILE);
         loadSampleGenericData(inputFile);
@@ -65,70 +66,60 @@ public class TwoVarCoOccurence
         return cmd.hasOption(TWO_VAR_INPUT_FILE);
     }
 
+    private static final int CAT_1_ID = 0;
+    private static final int CAT_2_ID = 1;
+    private static final int COUNT = 2;
+
     public void run()
     {
         if(mCategoryCountsData.isEmpty())
             return;
 
-        int totalRecords = mCategoryCountsData.stream().mapToInt(x -> x.Count).sum();
+        int totalRecords = mCategoryCountsData.stream().mapToInt(x -> x[COUNT]).sum();
 
         mFisherET.initialise(totalRecords);
 
-        int hypothesesCount = mCat1Values.size() * mCat2Values.size();
+        int cat1Count = mCat1Values.count();
+        int cat2Count = mCat2Values.count();
+        int hypothesesCount = cat1Count * cat2Count;
 
         LOGGER.info("processing {} 2-var records, hypothese({})", totalRecords, hypothesesCount);
 
-        for(final String cat1 : mCat1Values)
+        // every count belongs to exactly one pair, so the 2x2 table of any pair follows from the pair count and the category totals
+        final int[][] pairCounts = new int[cat1Count][cat2Count];
+        final int[] cat1Totals = new int[cat1Count];
+        final int[] cat2Totals = new int[cat2Count];
+
+        for(final int[] catData : mCategoryCountsData)
         {
-            for(final String cat2 : mCat2Values)
-            {
-                int withCat1 = 0;
-                int withCat2 = 0;
-                int withCat1WithCat2 = 0;
-                int withCat1NoCat2 = 0;
-                int noCat1WithCat2 = 0;
-                int noCat1NoCat2 = 0;
-
-                for(final TwoCategoryData catData : mCategoryCountsData)
-                {
-                    boolean hasCat1 = false;
-                    boolean hasCat2 = false;
-                    boolean hasBoth = false;
-
-                    if (catData.Category1.equals(cat1) && catData.Category2.equals(cat2))
-                    {
-                        withCat1WithCat2 += catData.Count;
-                        hasBoth = true;
-                    }
-                    else if (catData.Category1.equals(cat1))
-                    {
-                        withCat1NoCat2 += catData.Count;
-                        hasCat1 = true;
-                    }
-                    else if(catData.Category2.equals(cat2))
-                    {
-                        noCat1WithCat2 += catData.Count;
-                        hasCat2 = true;
-                    }
-
-                    if(hasCat1 || hasBoth)
-                        withCat1 += catData.Count;
-
-                    if(hasCat2 || hasBoth)
-                        withCat2 += catData.Count;
-                }
-
-                noCat1NoCat2 = totalRecords - withCat1WithCat2 - noCat1WithCat2 - withCat1NoCat2;
-
-                double expectedVal = withCat1 / (double)totalRecords * withCat2;
-
-                double fisherProb = mFisherET.calc(withCat1WithCat2, noCat1WithCat2, withCat1NoCat2, noCat1NoCat2, expectedVal);
-
-                writeResultsData(cat1, cat2, totalRecords, withCat1, withCat2, fisherProb,
-                        expectedVal, hypothesesCount, withCat1WithCat2, noCat1WithCat2, withCat1NoCat2, noCat1NoCat2);
-            }
+            pairCounts[catData[CAT_1_ID]][catData[CAT_2_ID]] += catData[COUNT];
+            cat1Totals[catData[CAT_1_ID]] += catData[COUNT];
+            cat2Totals[catData[CAT_2_ID]] += catData[COUNT];
         }
 
+        // the category pairs are tested on the fork-join pool, and written in the same order as they would be sequentially
+        final String[] results = IntStream.range(0, hypothesesCount).parallel().mapToObj(pairIndex ->
+        {
+            int cat1Id = pairIndex / cat2Count;
+            int cat2Id = pairIndex % cat2Count;
+
+            int withCat1 = cat1Totals[cat1Id];
+            int withCat2 = cat2Totals[cat2Id];
+            int withCat1WithCat2 = pairCounts[cat1Id][cat2Id];
+            int withCat1NoCat2 = withCat1 - withCat1WithCat2;
+            int noCat1WithCat2 = withCat2 - withCat1WithCat2;
+            int noCat1NoCat2 = totalRecords - withCat1WithCat2 - noCat1WithCat2 - withCat1NoCat2;
+
+            double expectedVal = withCat1 / (double)totalRecords * withCat2;
+
+            double fisherProb = mFisherET.calc(withCat1WithCat2, noCat1WithCat2, withCat1NoCat2, noCat1NoCat2, expectedVal);
+
+            return formatResultsData(mCat1Values.value(cat1Id), mCat2Values.value(cat2Id), totalRecords, withCat1, withCat2, fisherProb,
+                    expectedVal, hypothesesCount, withCat1WithCat2, noCat1WithCat2, withCat1NoCat2, noCat1NoCat2);
+        }).toArray(String[]::new);
+
+        writeResultsData(results);
+
         FileWriterUtils.closeBufferedWriter(mWriter);
     }
 
@@ -157,22 +148,28 @@ public class TwoVarCoOccurence
         return true;
     }
 
-    private void writeResultsData(final String cat1, final String cat2, int totalCount,
+    private static String formatResultsData(final String cat1, final String cat2, int totalCount,
             int withCat1, int withCat2, double fetProbability, double expectedVal, int testCount,
             int withCat1WithCat2, int noCat1WithCat2, int withCat1NoCat2, int noCat1NoCat2)
+    {
+        return String.format("%s,%s,%d", cat1, cat2, totalCount)
+                + String.format(",%d,%d,%.2f,%4.3e,%d,%s,%d,%d,%d,%d",
+                        withCat1, withCat2, expectedVal, fetProbability, testCount, withCat1WithCat2 > expectedVal,
+                        withCat1WithCat2, noCat1WithCat2, withCat1NoCat2, noCat1NoCat2);
+    }
+
+    private void writeResultsData(final String[] results)
     {
         if (mWriter == null)
             return;
 
         try
         {
-            mWriter.write(String.format("%s,%s,%d", cat1, cat2, totalCount));
-
-            mWriter.write(String.format(",%d,%d,%.2f,%4.3e,%d,%s,%d,%d,%d,%d",
-                    withCat1, withCat2, expectedVal, fetProbability, testCount, withCat1WithCat2 > expectedVal,
-                    withCat1WithCat2, noCat1WithCat2, withCat1NoCat2, noCat1NoCat2));
-
-            mWriter.newLine();
+            for(final String result : results)
+            {
+                mWriter.write(result);
+                mWriter.newLine();
+            }
         }
         catch (final IOException e)
         {
@@ -230,13 +227,7 @@ public class TwoVarCoOccurence
                 final String cat2Value = items[CAT_2_INDEX];
                 int counts = Integer.parseInt(items[COUNT_INDEX]);
 
-                if(!mCat1Values.contains(cat1Value))
-                    mCat1Values.add(cat1Value);
-
-                if(!mCat2Values.contains(cat2Value))
-                    mCat2Values.add(cat2Value);
-
-                mCategoryCountsData.add(new TwoCategoryData(cat1Value, cat2Value, counts));
+                mCategoryCountsData.add(new int[] { mCat1Values.intern(cat1Value), mCat2Values.intern(cat2Value), counts });
             }
 
             LOGGER.info("loaded {} 2-var data records", recordCount);
@@ -0,0 +1,110 @@
+package com.hartwig.hmftools.stat_calcs;
+
+import static com.hartwig.hmftools.stat_calcs.CategorySampleSets.CONTINGENCY_COUNT;
+import static com.hartwig.hmftools.stat_calcs.CategorySampleSets.NO_1_NO_2;
+import static com.hartwig.hmftools.stat_calcs.CategorySampleSets.NO_1_WITH_2;
+import static com.hartwig.hmftools.stat_calcs.CategorySampleSets.WITH_1_NO_2;
+import static com.hartwig.hmftools.stat_calcs.CategorySampleSets.WITH_1_WITH_2;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.junit.Test;
+
+public class CategorySampleSetsTest
+{
+    @Test
+    public void testContingencyCountsMatchScanOfSampleData()
+    {
+        final Random random = new Random(0);
+
+        int sampleCount = 150;
+        int cat1Count = 6;
+        int cat2Count = 4;
+
+        final CategorySampleSets sampleSets = new CategorySampleSets();
+        final Map<String,List<int[]>> sampleCategoryData = Maps.newHashMap();
+
+        for(int i = 0; i < 400; ++i)
+        {
+            final String sampleId = "Sample" + random.nextInt(sampleCount);
+            final int[] categories = { random.nextInt(cat1Count), random.nextInt(cat2Count) };
+
+            sampleSets.addCategoryData(sampleId, categories[0], categories[1]);
+            sampleCategoryData.computeIfAbsent(sampleId, k -> Lists.newArrayList()).add(categories);
+        }
+
+        // one category value of each which no sample has
+        sampleSets.finalise(cat1Count + 1, cat2Count + 1);
+
+        for(int cat1 = 0; cat1 <= cat1Count; ++cat1)
+        {
+            for(int cat2 = 0; cat2 <= cat2Count; ++cat2)
+            {
+                final int[] counts = new int[CONTINGENCY_COUNT];
+                sampleSets.contingencyCounts(cat1, cat2, counts);
+
+                assertArrayEquals(scanContingencyCounts(sampleCategoryData, cat1, cat2), counts);
+            }
+        }
+
+        for(int cat1 = 0; cat1 <= cat1Count; ++cat1)
+        {
+            final int cat = cat1;
+            assertEquals(sampleCategoryData.values().stream().filter(x -> x.stream().anyMatch(y -> y[0] == cat)).count(),
+                    sampleSets.cat1SampleCount(cat1));
+        }
+
+        for(int cat2 = 0; cat2 <= cat2Count; ++cat2)
+        {
+            final int cat = cat2;
+            assertEquals(sampleCategoryData.values().stream().filter(x -> x.stream().anyMatch(y -> y[1] == cat)).count(),
+                    sampleSets.cat2SampleCount(cat2));
+        }
+    }
+
+    private static int[] scanContingencyCounts(final Map<String,List<int[]>> sampleCategoryData, int cat1, int cat2)
+    {
+        final int[] counts = new int[CONTINGENCY_COUNT];
+
+        for(final List<int[]> catDataList : sampleCategoryData.values())
+        {
+            boolean hasCat1 = false;
+            boolean hasCat2 = false;
+            boolean hasBoth = false;
+
+            for(final int[] catData : catDataList)
+            {
+                if(catData[0] == cat1 && catData[1] == cat2)
+                {
+                    hasBoth = true;
+                    break;
+                }
+
+                if(catData[0] == cat1)
+                    hasCat1 = true;
+
+                if(catData[1] == cat2)
+                    hasCat2 = true;
+            }
+
+            if(hasBoth)
+                ++counts[WITH_1_WITH_2];
+            else if(hasCat1)
+                ++counts[WITH_1_NO_2];
+            else if(hasCat2)
+                ++counts[NO_1_WITH_2];
+            else
+                ++counts[NO_1_NO_2];
+        }
+
+        return counts;
+    }
+}
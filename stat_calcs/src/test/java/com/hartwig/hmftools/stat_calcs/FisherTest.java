@@ -1,5 +1,9 @@
 package com.hartwig.hmftools.stat_calcs;
 
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
 import org.junit.Test;
 
 public class FisherTest
@@ -20,4 +24,61 @@ public class FisherTest
         fisherProb = fetCalc.getRightTailedP(withAwithB, noAWithB, withANoB, noAnoB);
 
     }
+
+    @Test
+    public void testTailsMatchSumOfTableProbabilities()
+    {
+        FisherExactTest fetCalc = new FisherExactTest();
+        fetCalc.initialise(1000);
+
+        final Random random = new Random(0);
+
+        for(int i = 0; i < 2000; ++i)
+        {
+            int a = random.nextInt(i % 2 == 0 ? 20 : 200);
+            int b = random.nextInt(i % 2 == 0 ? 20 : 200);
+            int c = random.nextInt(i % 2 == 0 ? 20 : 200);
+            int d = random.nextInt(i % 2 == 0 ? 20 : 400);
+
+            assertEquals(1, fetCalc.getRightTailedP(a, b, c, d) / rightTailedP(a, b, c, d), 1e-9);
+            assertEquals(1, fetCalc.getLeftTailedP(a, b, c, d) / leftTailedP(a, b, c, d), 1e-9);
+        }
+    }
+
+    // reference tails, summing the probability of every table in the tail
+    private static double rightTailedP(int a, int b, int c, int d)
+    {
+        double p = 0;
+        for(int i = 0; i <= Math.min(b, c); ++i)
+        {
+            p += tableP(a + i, b - i, c - i, d + i);
+        }
+        return p;
+    }
+
+    private static double leftTailedP(int a, int b, int c, int d)
+    {
+        double p = 0;
+        for(int i = 0; i <= Math.min(a, d); ++i)
+        {
+            p += tableP(a - i, b + i, c + i, d - i);
+        }
+        return p;
+    }
+
+    private static double tableP(int a, int b, int c, int d)
+    {
+        return Math.exp(logFactorial(a + b) + logFactorial(c + d) + logFactorial(a + c) + logFactorial(b + d)
+                - logFactorial(a) - logFactorial(b) - logFactorial(c) - logFactorial(d) - logFactorial(a + b + c + d));
+    }
+
+    private static double logFactorial(int n)
+    {
+        double result = 0;
+        for(int i = 2; i <= n; ++i)
+        {
+            result += Math.log(i);
+        }
+        return result;
+    }
 }
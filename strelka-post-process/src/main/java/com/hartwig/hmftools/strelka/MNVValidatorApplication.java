@@ -3,13 +3,13 @@ package com.hartwig.hmftools.strelka;
 import static com.hartwig.hmftools.strelka.StrelkaPostProcessApplication.generateOutputHeader;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.Optional;
 
 import com.hartwig.hmftools.strelka.mnv.ImmutableMNVMerger;
-import com.hartwig.hmftools.strelka.mnv.ImmutableMNVValidator;
 import com.hartwig.hmftools.strelka.mnv.MNVDetector;
 import com.hartwig.hmftools.strelka.mnv.MNVMerger;
-import com.hartwig.hmftools.strelka.mnv.MNVValidator;
+import com.hartwig.hmftools.strelka.mnv.MNVValidationEngine;
 import com.hartwig.hmftools.strelka.mnv.PotentialMNVRegion;
 
 import org.apache.commons.cli.CommandLine;
@@ -38,8 +38,9 @@ public class MNVValidatorApplication {
     private static final String TUMOR_BAM = "b";
     private static final String OUTPUT_VCF = "o";
     private static final String STRELKA = "strelka";
+    private static final String THREADS = "threads";
 
-    public static void main(final String... args) throws ParseException {
+    public static void main(final String... args) throws ParseException, IOException {
         final Options options = createOptions();
         final CommandLine cmd = createCommandLine(options, args);
 
@@ -47,6 +48,7 @@ public class MNVValidatorApplication {
         final String tumorBam = cmd.getOptionValue(TUMOR_BAM);
         final String outputVcf = cmd.getOptionValue(OUTPUT_VCF);
         final boolean strelka = cmd.hasOption(STRELKA);
+        final int threadCount = Integer.parseInt(cmd.getOptionValue(THREADS, "1"));
 
         if (inputVcf == null || tumorBam == null || outputVcf == null) {
             final HelpFormatter formatter = new HelpFormatter();
@@ -54,7 +56,7 @@ public class MNVValidatorApplication {
             System.exit(1);
         }
         LOGGER.info("Validating mnvs in {} using bam {}.", inputVcf, tumorBam);
-        processVariants(strelka, inputVcf, outputVcf, tumorBam);
+        processVariants(strelka, inputVcf, outputVcf, tumorBam, threadCount);
     }
 
     @NotNull
@@ -64,6 +66,7 @@ public class MNVValidatorApplication {
         options.addOption(TUMOR_BAM, true, "Path towards the tumor BAM");
         options.addOption(OUTPUT_VCF, true, "Path towards the output VCF");
         options.addOption(STRELKA, false, "Expect raw strelka input");
+        options.addOption(THREADS, true, "Number of chromosomes to validate in parallel, default 1");
         return options;
     }
 
@@ -74,25 +77,27 @@ public class MNVValidatorApplication {
     }
 
     private static void processVariants(boolean strelka, @NotNull final String filePath, @NotNull final String outputVcf,
-            @NotNull final String tumorBam) {
+            @NotNull final String tumorBam, final int threadCount) throws IOException {
         final VCFFileReader vcfReader = new VCFFileReader(new File(filePath), false);
         final VCFHeader outputHeader = generateOutputHeader(vcfReader.getFileHeader(), "TUMOR");
         final VariantContextWriter vcfWriter = new VariantContextWriterBuilder().setOutputFile(outputVcf)
                 .setReferenceDictionary(vcfReader.getFileHeader().getSequenceDictionary())
                 .build();
         vcfWriter.writeHeader(outputHeader);
-        final MNVValidator validator = ImmutableMNVValidator.of(tumorBam);
         final MNVMerger merger = ImmutableMNVMerger.of(outputHeader);
-        Pair<PotentialMNVRegion, Optional<PotentialMNVRegion>> outputPair = ImmutablePair.of(PotentialMNVRegion.empty(), Optional.empty());
-        for (final VariantContext rawVariant : vcfReader) {
-            final VariantContext simplifiedVariant =
-                    strelka ? StrelkaPostProcess.simplifyVariant(rawVariant, StrelkaPostProcess.TUMOR_GENOTYPE) : rawVariant;
+        try (MNVValidationEngine validator = new MNVValidationEngine(tumorBam, merger, threadCount, vcfWriter::add)) {
+            Pair<PotentialMNVRegion, Optional<PotentialMNVRegion>> outputPair =
+                    ImmutablePair.of(PotentialMNVRegion.empty(), Optional.empty());
+            for (final VariantContext rawVariant : vcfReader) {
+                final VariantContext simplifiedVariant =
+                        strelka ? StrelkaPostProcess.simplifyVariant(rawVariant, StrelkaPostProcess.TUMOR_GENOTYPE) : rawVariant;
 
-            final PotentialMNVRegion potentialMNV = outputPair.getLeft();
-            outputPair = MNVDetector.addMnvToRegion(potentialMNV, simplifiedVariant);
-            outputPair.getRight().ifPresent(mnvRegion -> validator.mergeVariants(mnvRegion, merger).forEach(vcfWriter::add));
+                final PotentialMNVRegion potentialMNV = outputPair.getLeft();
+                outputPair = MNVDetector.addMnvToRegion(potentialMNV, simplifiedVariant);
+                outputPair.getRight().ifPresent(validator::add);
+            }
+            validator.add(outputPair.getLeft());
         }
-        validator.mergeVariants(outputPair.getLeft(), merger).forEach(vcfWriter::add);
         vcfWriter.close();
         vcfReader.close();
         LOGGER.info("Written output variants to " + outputVcf);
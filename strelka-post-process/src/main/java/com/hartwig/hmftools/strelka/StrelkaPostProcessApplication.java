@@ -8,10 +8,9 @@ import com.google.common.collect.Sets;
 import com.hartwig.hmftools.common.genome.slicing.Slicer;
 import com.hartwig.hmftools.common.genome.slicing.SlicerFactory;
 import com.hartwig.hmftools.strelka.mnv.ImmutableMNVMerger;
-import com.hartwig.hmftools.strelka.mnv.ImmutableMNVValidator;
 import com.hartwig.hmftools.strelka.mnv.MNVDetector;
 import com.hartwig.hmftools.strelka.mnv.MNVMerger;
-import com.hartwig.hmftools.strelka.mnv.MNVValidator;
+import com.hartwig.hmftools.strelka.mnv.MNVValidationEngine;
 import com.hartwig.hmftools.strelka.mnv.PotentialMNVRegion;
 
 import org.apache.commons.cli.CommandLine;
@@ -46,6 +45,7 @@ public class StrelkaPostProcessApplication {
     private static final String OUTPUT_VCF = "o";
     private static final String SAMPLE_NAME = "t";
     private static final String TUMOR_BAM = "b";
+    private static final String THREADS = "threads";
 
     public static void main(final String... args) throws ParseException, IOException {
         final Options options = createOptions();
@@ -56,6 +56,7 @@ public class StrelkaPostProcessApplication {
         final String outputVcf = cmd.getOptionValue(OUTPUT_VCF);
         final String sampleName = cmd.getOptionValue(SAMPLE_NAME);
         final String tumorBam = cmd.getOptionValue(TUMOR_BAM);
+        final int threadCount = Integer.parseInt(cmd.getOptionValue(THREADS, "1"));
 
         if (highConfidenceBed == null || inputVcf == null || outputVcf == null || sampleName == null || tumorBam == null) {
             final HelpFormatter formatter = new HelpFormatter();
@@ -64,7 +65,7 @@ public class StrelkaPostProcessApplication {
         }
         final Slicer highConfidenceSlicer = SlicerFactory.fromBedFile(highConfidenceBed);
         LOGGER.info("Starting strelka post process on " + inputVcf);
-        processVariants(inputVcf, highConfidenceSlicer, outputVcf, sampleName, tumorBam);
+        processVariants(inputVcf, highConfidenceSlicer, outputVcf, sampleName, tumorBam, threadCount);
     }
 
     @NotNull
@@ -75,6 +76,7 @@ public class StrelkaPostProcessApplication {
         options.addOption(OUTPUT_VCF, true, "Path towards the output VCF");
         options.addOption(SAMPLE_NAME, true, "Name of the sample");
         options.addOption(TUMOR_BAM, true, "Path towards the tumor bam");
+        options.addOption(THREADS, true, "Number of chromosomes to validate in parallel, default 1");
         return options;
     }
 
@@ -85,28 +87,30 @@ public class StrelkaPostProcessApplication {
     }
 
     private static void processVariants(@NotNull final String filePath, @NotNull final Slicer highConfidenceSlicer,
-            @NotNull final String outputVcf, @NotNull final String sampleName, @NotNull final String tumorBam) {
+            @NotNull final String outputVcf, @NotNull final String sampleName, @NotNull final String tumorBam, final int threadCount)
+            throws IOException {
         final VCFFileReader vcfReader = new VCFFileReader(new File(filePath), false);
         final VCFHeader outputHeader = generateOutputHeader(vcfReader.getFileHeader(), sampleName);
         final VariantContextWriter writer = new VariantContextWriterBuilder().setOutputFile(outputVcf)
                 .setReferenceDictionary(outputHeader.getSequenceDictionary())
                 .build();
         writer.writeHeader(outputHeader);
-        final MNVValidator validator = ImmutableMNVValidator.of(tumorBam);
         final MNVMerger merger = ImmutableMNVMerger.of(outputHeader);
 
-        Pair<PotentialMNVRegion, Optional<PotentialMNVRegion>> outputPair = ImmutablePair.of(PotentialMNVRegion.empty(), Optional.empty());
-
         final VariantContextFilter filter = new StrelkaPostProcess(highConfidenceSlicer);
-        for (final VariantContext variantContext : vcfReader) {
-            if (filter.test(variantContext)) {
-                final VariantContext simplifiedVariant = StrelkaPostProcess.simplifyVariant(variantContext, sampleName);
-                final PotentialMNVRegion potentialMNV = outputPair.getLeft();
-                outputPair = MNVDetector.addMnvToRegion(potentialMNV, simplifiedVariant);
-                outputPair.getRight().ifPresent(mnvRegion -> validator.mergeVariants(mnvRegion, merger).forEach(writer::add));
+        try (MNVValidationEngine validator = new MNVValidationEngine(tumorBam, merger, threadCount, writer::add)) {
+            Pair<PotentialMNVRegion, Optional<PotentialMNVRegion>> outputPair =
+                    ImmutablePair.of(PotentialMNVRegion.empty(), Optional.empty());
+            for (final VariantContext variantContext : vcfReader) {
+                if (filter.test(variantContext)) {
+                    final VariantContext simplifiedVariant = StrelkaPostProcess.simplifyVariant(variantContext, sampleName);
+                    final PotentialMNVRegion potentialMNV = outputPair.getLeft();
+                    outputPair = MNVDetector.addMnvToRegion(potentialMNV, simplifiedVariant);
+                    outputPair.getRight().ifPresent(validator::add);
+                }
             }
+            validator.add(outputPair.getLeft());
         }
-        validator.mergeVariants(outputPair.getLeft(), merger).forEach(writer::add);
         writer.close();
         vcfReader.close();
         LOGGER.info("Written output variants to " + outputVcf);
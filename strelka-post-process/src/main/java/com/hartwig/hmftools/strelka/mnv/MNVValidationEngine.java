@@ -0,0 +1,229 @@
+package com.hartwig.hmftools.strelka.mnv;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import htsjdk.samtools.QueryInterval;
+import htsjdk.samtools.SAMRecord;
+import htsjdk.samtools.SAMRecordIterator;
+import htsjdk.samtools.SAMSequenceDictionary;
+import htsjdk.samtools.SamReader;
+import htsjdk.samtools.SamReaderFactory;
+import htsjdk.variant.variantcontext.VariantContext;
+
+/**
+ * Validates potential mnv regions against the tumor bam and hands the resulting variants to the output in the order the regions
+ * were added.
+ *
+ * Regions are grouped per chromosome and each chromosome is validated as a separate task. Within a chromosome, consecutive regions
+ * are queried in batches with a single sorted queryOverlapping call, and every read of the batch is handed to the regions it
+ * overlaps. Each worker thread keeps a single bam reader open for the lifetime of the engine.
+ */
+public class MNVValidationEngine implements AutoCloseable {
+
+    private static final Logger LOGGER = LogManager.getLogger(MNVValidationEngine.class);
+
+    private static final int MAX_REGIONS_PER_QUERY = 1000;
+
+    @NotNull
+    private final String tumorBam;
+    @NotNull
+    private final MNVMerger merger;
+    @NotNull
+    private final Consumer<VariantContext> output;
+    @NotNull
+    private final SAMSequenceDictionary tumorDictionary;
+    @NotNull
+    private final ExecutorService executorService;
+    @NotNull
+    private final ThreadLocal<SamReader> tumorReaders;
+    @NotNull
+    private final Queue<SamReader> openReaders = new ConcurrentLinkedQueue<>();
+    @NotNull
+    private final Deque<Future<List<VariantContext>>> pendingShards = new ArrayDeque<>();
+
+    @NotNull
+    private List<PotentialMNVRegion> currentShard = Lists.newArrayList();
+
+    public MNVValidationEngine(@NotNull final String tumorBam, @NotNull final MNVMerger merger, final int threadCount,
+            @NotNull final Consumer<VariantContext> output) throws IOException {
+        this.tumorBam = tumorBam;
+        this.merger = merger;
+        this.output = output;
+        try (SamReader reader = SamReaderFactory.makeDefault().open(new File(tumorBam))) {
+            this.tumorDictionary = reader.getFileHeader().getSequenceDictionary();
+        }
+        this.executorService =
+                Executors.newFixedThreadPool(threadCount, new ThreadFactoryBuilder().setNameFormat("mnv-validator-%d").build());
+        this.tumorReaders = ThreadLocal.withInitial(() -> {
+            final SamReader reader = SamReaderFactory.makeDefault().open(new File(tumorBam));
+            openReaders.add(reader);
+            return reader;
+        });
+    }
+
+    /**
+     * Regions must be added in vcf order. Finished chromosomes are written to the output as soon as all preceding ones are done.
+     */
+    public void add(@NotNull final PotentialMNVRegion region) {
+        if (region.variants().isEmpty()) {
+            return;
+        }
+        if (!currentShard.isEmpty() && !currentShard.get(0).chromosome().equals(region.chromosome())) {
+            submitCurrentShard();
+        }
+        currentShard.add(region);
+        writeFinishedShards(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!currentShard.isEmpty()) {
+                submitCurrentShard();
+            }
+            writeFinishedShards(true);
+        } finally {
+            executorService.shutdownNow();
+            for (final SamReader reader : openReaders) {
+                reader.close();
+            }
+        }
+    }
+
+    private void submitCurrentShard() {
+        final List<PotentialMNVRegion> shard = currentShard;
+        currentShard = Lists.newArrayList();
+        pendingShards.addLast(executorService.submit(() -> validateShard(shard)));
+    }
+
+    private void writeFinishedShards(final boolean waitForAll) {
+        while (!pendingShards.isEmpty() && (waitForAll || pendingShards.peekFirst().isDone())) {
+            try {
+                pendingShards.removeFirst().get().forEach(output);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while validating mnvs in " + tumorBam, e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Failed to validate mnvs in " + tumorBam, e.getCause());
+            }
+        }
+    }
+
+    @NotNull
+    private List<VariantContext> validateShard(@NotNull final List<PotentialMNVRegion> shard) {
+        final MNVRegionValidator[] validators = new MNVRegionValidator[shard.size()];
+        final List<Integer> batch = Lists.newArrayList();
+        for (int i = 0; i < shard.size(); i++) {
+            if (!shard.get(i).potentialMnvs().isEmpty()) {
+                batch.add(i);
+                if (batch.size() == MAX_REGIONS_PER_QUERY) {
+                    validateBatch(shard, batch, validators);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            validateBatch(shard, batch, validators);
+        }
+
+        final List<VariantContext> result = Lists.newArrayList();
+        for (int i = 0; i < shard.size(); i++) {
+            if (validators[i] == null) {
+                result.addAll(shard.get(i).variants());
+            } else {
+                result.addAll(MNVValidator.outputVariants(validators[i], merger));
+            }
+        }
+        LOGGER.debug("Validated {} regions on chromosome {}", shard.size(), shard.get(0).chromosome());
+        return result;
+    }
+
+    private void validateBatch(@NotNull final List<PotentialMNVRegion> shard, @NotNull final List<Integer> batch,
+            @NotNull final MNVRegionValidator[] validators) {
+        final List<PotentialMNVRegion> regions = Lists.newArrayListWithCapacity(batch.size());
+        batch.forEach(index -> regions.add(shard.get(index)));
+
+        final MNVRegionValidator[] batchValidators;
+        try (SAMRecordIterator samIterator = tumorReaders.get().queryOverlapping(queryIntervals(regions))) {
+            batchValidators = validateMNVs(samIterator, regions);
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            validators[batch.get(i)] = batchValidators[i];
+        }
+    }
+
+    @NotNull
+    private QueryInterval[] queryIntervals(@NotNull final List<PotentialMNVRegion> regions) {
+        final int referenceIndex = getReferenceIndex(regions.get(0).chromosome());
+        final QueryInterval[] queryIntervals = new QueryInterval[regions.size()];
+        for (int i = 0; i < regions.size(); i++) {
+            queryIntervals[i] = new QueryInterval(referenceIndex, regions.get(i).start(), regions.get(i).end() - 1);
+        }
+        return QueryInterval.optimizeIntervals(queryIntervals);
+    }
+
+    /**
+     * Hands every record to each of the (sorted, non-overlapping) regions it overlaps, which gives every region the same reads, in
+     * the same order, as querying the bam for that region alone.
+     */
+    @NotNull
+    @VisibleForTesting
+    static MNVRegionValidator[] validateMNVs(@NotNull final Iterator<SAMRecord> iterator, @NotNull final List<PotentialMNVRegion> regions) {
+        final MNVRegionValidator[] validators = new MNVRegionValidator[regions.size()];
+        for (int i = 0; i < regions.size(); i++) {
+            validators[i] = MNVRegionValidator.of(regions.get(i));
+        }
+
+        int firstRegion = 0;
+        while (iterator.hasNext()) {
+            final SAMRecord record = iterator.next();
+            final int recordStart = record.getAlignmentStart();
+            final int recordEnd = record.getReadUnmappedFlag() ? recordStart : record.getAlignmentEnd();
+            while (firstRegion < regions.size() && regions.get(firstRegion).end() - 1 < recordStart) {
+                firstRegion++;
+            }
+            for (int i = firstRegion; i < regions.size() && regions.get(i).start() <= recordEnd; i++) {
+                if (regions.get(i).end() - 1 >= recordStart) {
+                    validators[i] = validators[i].addSamRecord(record);
+                }
+            }
+        }
+        return validators;
+    }
+
+    private int getReferenceIndex(@NotNull final String chromosome) {
+        int referenceIndex = tumorDictionary.getSequenceIndex(chromosome);
+        if (referenceIndex >= 0) {
+            return referenceIndex;
+        }
+        if (!chromosome.startsWith("chr")) {
+            referenceIndex = tumorDictionary.getSequenceIndex("chr" + chromosome);
+        } else {
+            referenceIndex = tumorDictionary.getSequenceIndex(chromosome.substring(3));
+        }
+        if (referenceIndex < 0) {
+            throw new RuntimeException(chromosome + " is not in the BAM: " + tumorBam);
+        }
+        return referenceIndex;
+    }
+}
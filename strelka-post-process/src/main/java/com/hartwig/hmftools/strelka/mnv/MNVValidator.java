@@ -1,6 +1,5 @@
 package com.hartwig.hmftools.strelka.mnv;
 
-import java.io.File;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
@@ -8,48 +7,14 @@ import java.util.List;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Lists;
 
-import org.immutables.value.Value;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
-import htsjdk.samtools.QueryInterval;
 import htsjdk.samtools.SAMRecord;
-import htsjdk.samtools.SAMRecordIterator;
-import htsjdk.samtools.SAMSequenceDictionary;
-import htsjdk.samtools.SamReader;
-import htsjdk.samtools.SamReaderFactory;
 import htsjdk.variant.variantcontext.VariantContext;
 
-@Value.Immutable
-@Value.Style(allParameters = true,
-             passAnnotations = { NotNull.class, Nullable.class })
-public abstract class MNVValidator {
+public final class MNVValidator {
 
-    @NotNull
-    abstract String tumorBAM();
-
-    @NotNull
-    @Value.Derived
-    protected SamReader tumorReader() {
-        return SamReaderFactory.makeDefault().open(new File(tumorBAM()));
-    }
-
-    @NotNull
-    @Value.Derived
-    protected SAMSequenceDictionary tumorDictionary() {
-        return tumorReader().getFileHeader().getSequenceDictionary();
-    }
-
-    @NotNull
-    public List<VariantContext> mergeVariants(@NotNull final PotentialMNVRegion potentialMnvRegion, @NotNull final MNVMerger merger) {
-        if (potentialMnvRegion.potentialMnvs().size() == 0) {
-            return potentialMnvRegion.variants();
-        } else {
-            final SAMRecordIterator samIterator = queryBam(potentialMnvRegion);
-            final MNVRegionValidator regionValidator = validateMNVs(samIterator, potentialMnvRegion);
-            samIterator.close();
-            return outputVariants(regionValidator, merger);
-        }
+    private MNVValidator() {
     }
 
     @NotNull
@@ -76,28 +41,4 @@ public abstract class MNVValidator {
         result.sort(Comparator.comparing(VariantContext::getStart).thenComparing(variantContext -> variantContext.getReference().length()));
         return result;
     }
-
-    @NotNull
-    private SAMRecordIterator queryBam(@NotNull final PotentialMNVRegion potentialMnvRegion) {
-        final int referenceIndex = getReferenceIndex(potentialMnvRegion);
-        final QueryInterval[] queryIntervals =
-                new QueryInterval[] { new QueryInterval(referenceIndex, potentialMnvRegion.start(), potentialMnvRegion.end() - 1) };
-        return tumorReader().queryOverlapping(queryIntervals);
-    }
-
-    private int getReferenceIndex(@NotNull final PotentialMNVRegion potentialMnvRegion) {
-        int referenceIndex = tumorDictionary().getSequenceIndex(potentialMnvRegion.chromosome());
-        if (referenceIndex >= 0) {
-            return referenceIndex;
-        }
-        if (!potentialMnvRegion.chromosome().startsWith("chr")) {
-            referenceIndex = tumorDictionary().getSequenceIndex("chr" + potentialMnvRegion.chromosome());
-        } else {
-            referenceIndex = tumorDictionary().getSequenceIndex(potentialMnvRegion.chromosome().substring(3));
-        }
-        if (referenceIndex < 0) {
-            throw new RuntimeException(potentialMnvRegion.chromosome() + " is not in the BAM: " + tumorBAM());
-        }
-        return referenceIndex;
-    }
 }
@@ -0,0 +1,76 @@
+package com.hartwig.hmftools.strelka.mnv;
+
+import static com.hartwig.hmftools.strelka.StrelkaPostProcessApplication.generateOutputHeader;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Streams;
+import com.google.common.io.Resources;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import htsjdk.samtools.SAMRecord;
+import htsjdk.variant.variantcontext.VariantContext;
+import htsjdk.variant.vcf.VCFFileReader;
+import htsjdk.variant.vcf.VCFHeader;
+
+public class MNVValidationEngineTest {
+
+    private static final int GAP_SIZE = 1;
+    private static final File VCF_FILE = new File(Resources.getResource("mnvs.vcf").getPath());
+    private static final VCFFileReader VCF_FILE_READER = new VCFFileReader(VCF_FILE, false);
+    private static final VCFHeader VCF_OUTPUT_HEADER = generateOutputHeader(VCF_FILE_READER.getFileHeader(), "TUMOR");
+    private static final MNVMerger MNV_MERGER = ImmutableMNVMerger.of(VCF_OUTPUT_HEADER);
+    private static final List<VariantContext> VARIANTS = Streams.stream(VCF_FILE_READER).collect(Collectors.toList());
+
+    // Region 1: 170755901 (C->T), 170755903 (G->A,T); Region 2: 170756001 (C->T), 170756002 (G->T)
+    //     reads of a single sorted query over both regions, one of which spans both regions
+    @Test
+    public void batchedQueryGivesSameOutputAsQueryPerRegion() {
+        final PotentialMNVRegion region1 = PotentialMNVRegion.addVariants(PotentialMNVRegion.empty(),
+                Lists.newArrayList(VARIANTS.get(7), VARIANTS.get(9)),
+                GAP_SIZE);
+        final PotentialMNVRegion region2 = PotentialMNVRegion.addVariants(PotentialMNVRegion.empty(),
+                Lists.newArrayList(VARIANTS.get(11), VARIANTS.get(12)),
+                GAP_SIZE);
+        final List<PotentialMNVRegion> regions = Lists.newArrayList(region1, region2);
+
+        final List<SAMRecord> records = Lists.newArrayList(TestUtils.buildSamRecord(170755900, "6M", "ATCAAG"),
+                TestUtils.buildSamRecord(170755900, "6M", "ATCATG"),
+                TestUtils.buildSamRecord(170755900, "110M", repeat("ATCAAG", 18) + "TT"),
+                TestUtils.buildSamRecord(170755999, "6M", "CATTAG"),
+                TestUtils.buildSamRecord(170755999, "6M", "CATTAG"),
+                TestUtils.buildSamRecord(170756500, "6M", "CATTAG"));
+
+        final MNVRegionValidator[] batchValidators = MNVValidationEngine.validateMNVs(records.iterator(), regions);
+        assertEquals(2, batchValidators.length);
+        for (int i = 0; i < regions.size(); i++) {
+            final PotentialMNVRegion region = regions.get(i);
+            final List<SAMRecord> regionRecords = records.stream()
+                    .filter(record -> record.getAlignmentStart() <= region.end() - 1 && record.getAlignmentEnd() >= region.start())
+                    .collect(Collectors.toList());
+            final List<VariantContext> expected =
+                    MNVValidator.outputVariants(MNVValidator.validateMNVs(regionRecords.iterator(), region), MNV_MERGER);
+            final List<VariantContext> actual = MNVValidator.outputVariants(batchValidators[i], MNV_MERGER);
+            assertEquals(expected.size(), actual.size());
+            for (int j = 0; j < expected.size(); j++) {
+                assertEquals(expected.get(j).toStringDecodeGenotypes(), actual.get(j).toStringDecodeGenotypes());
+            }
+        }
+    }
+
+    @NotNull
+    private static String repeat(@NotNull final String value, final int count) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(value);
+        }
+        return builder.toString();
+    }
+}
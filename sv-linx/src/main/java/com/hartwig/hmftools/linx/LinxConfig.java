@@ -16,6 +16,7 @@ import java.util.stream.Collectors;
 
 import com.google.common.collect.Lists;
 import com.hartwig.hmftools.patientdb.dao.DatabaseAccess;
+import com.hartwig.hmftools.patientdb.dao.DatabaseWriterPool;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.Options;
@@ -59,6 +60,7 @@ public class LinxConfig
     public static final String DB_USER = "db_user";
     public static final String DB_PASS = "db_pass";
     public static final String DB_URL = "db_url";
+    public static final String DB_THREADS = "db_threads";
 
     // clustering analysis options
     private static final String CLUSTER_BASE_DISTANCE = "proximity_distance";
@@ -249,6 +251,15 @@ public class LinxConfig
         return new DatabaseAccess(userName, password, jdbcUrl);
     }
 
+    @NotNull
+    public static DatabaseWriterPool databaseWriterPool(@NotNull final CommandLine cmd, int threadCount) throws SQLException
+    {
+        final String userName = cmd.getOptionValue(DB_USER);
+        final String password = cmd.getOptionValue(DB_PASS);
+        final String jdbcUrl = "jdbc:" + cmd.getOptionValue(DB_URL);
+        return new DatabaseWriterPool(userName, password, jdbcUrl, threadCount);
+    }
+
     private static List<String> loadSampleListFile(final String filename)
     {
         List<String> sampleIds = Lists.newArrayList();
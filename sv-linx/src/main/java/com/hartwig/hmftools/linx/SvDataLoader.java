@@ -1,11 +1,13 @@
 package com.hartwig.hmftools.linx;
 
 import static com.hartwig.hmftools.linx.LinxConfig.DB_PASS;
+import static com.hartwig.hmftools.linx.LinxConfig.DB_THREADS;
 import static com.hartwig.hmftools.linx.LinxConfig.DB_URL;
 import static com.hartwig.hmftools.linx.LinxConfig.DB_USER;
 import static com.hartwig.hmftools.linx.LinxConfig.SAMPLE;
 import static com.hartwig.hmftools.linx.LinxConfig.SV_DATA_DIR;
 import static com.hartwig.hmftools.linx.LinxConfig.databaseAccess;
+import static com.hartwig.hmftools.linx.LinxConfig.databaseWriterPool;
 import static com.hartwig.hmftools.patientdb.dao.DatabaseUtil.getValueNotNull;
 
 import java.io.IOException;
@@ -13,6 +15,7 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.google.common.collect.Lists;
 import com.hartwig.hmftools.common.drivercatalog.DriverCatalog;
@@ -39,6 +42,7 @@ import com.hartwig.hmftools.common.variant.structural.linx.LinxSvData;
 import com.hartwig.hmftools.common.variant.structural.linx.LinxSvDataFile;
 import com.hartwig.hmftools.common.variant.structural.linx.LinxViralInsertFile;
 import com.hartwig.hmftools.patientdb.dao.DatabaseAccess;
+import com.hartwig.hmftools.patientdb.dao.DatabaseWriterPool;
 import com.hartwig.hmftools.patientdb.dao.StructuralVariantFusionDAO;
 
 import org.apache.commons.cli.CommandLine;
@@ -49,6 +53,7 @@ import org.apache.commons.cli.ParseException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 public class SvDataLoader
 {
@@ -84,27 +89,51 @@ public class SvDataLoader
 
         if(loadLinxData)
         {
-            loadLinxData(dbAccess, sampleId, svDataPath);
+            final int dbThreads = Integer.parseInt(cmd.getOptionValue(DB_THREADS, "1"));
+
+            if(dbThreads > 1)
+            {
+                try (DatabaseWriterPool writerPool = databaseWriterPool(cmd, dbThreads))
+                {
+                    loadLinxData(dbAccess, writerPool, sampleId, svDataPath);
+                    writerPool.awaitCompletion();
+                }
+            }
+            else
+            {
+                loadLinxData(dbAccess, null, sampleId, svDataPath);
+            }
         }
 
         LOGGER.info("Complete");
     }
 
-    private static void loadLinxData(final DatabaseAccess dbAccess, final String sampleId, final String svDataOutputDir)
+    private static void writeTable(final DatabaseAccess dbAccess, @Nullable final DatabaseWriterPool writerPool,
+            final String description, final Consumer<DatabaseAccess> writer)
+    {
+        // independent tables are written concurrently, each in its own transaction, when a writer pool is configured
+        if(writerPool != null)
+            writerPool.submit(description, writer);
+        else
+            writer.accept(dbAccess);
+    }
+
+    private static void loadLinxData(
+            final DatabaseAccess dbAccess, @Nullable final DatabaseWriterPool writerPool, final String sampleId, final String svDataOutputDir)
     {
         try
         {
             List<LinxSvData> linxSvData = LinxSvDataFile.read(LinxSvDataFile.generateFilename(svDataOutputDir, sampleId));
             LOGGER.info("sample({}) loading {} SV annotation records", sampleId, linxSvData.size());
-            dbAccess.writeSvLinxData(sampleId, linxSvData);
+            writeTable(dbAccess, writerPool, "SV annotations", db -> db.writeSvLinxData(sampleId, linxSvData));
 
             List<LinxCluster> clusterData = LinxClusterFile.read(LinxClusterFile.generateFilename(svDataOutputDir, sampleId));
             LOGGER.info("sample({}) loading {} SV cluster records", sampleId, clusterData.size());
-            dbAccess.writeSvClusters(sampleId, clusterData);
+            writeTable(dbAccess, writerPool, "SV clusters", db -> db.writeSvClusters(sampleId, clusterData));
 
             List<LinxLink> linksData = LinxLinkFile.read(LinxLinkFile.generateFilename(svDataOutputDir, sampleId));
             LOGGER.info("sample({}) loading {} SV links records", sampleId, linksData.size());
-            dbAccess.writeSvLinks(sampleId, linksData);
+            writeTable(dbAccess, writerPool, "SV links", db -> db.writeSvLinks(sampleId, linksData));
 
             String viralInsertFilename = LinxViralInsertFile.generateFilename(svDataOutputDir, sampleId);
             if(Files.exists(Paths.get(viralInsertFilename)))
@@ -114,7 +143,7 @@ public class SvDataLoader
                 if (!viralInserts.isEmpty())
                 {
                     LOGGER.info("sample({}) loading {} SV viral inserts records", sampleId, viralInserts.size());
-                    dbAccess.writeSvViralInserts(sampleId, viralInserts);
+                    writeTable(dbAccess, writerPool, "SV viral inserts", db -> db.writeSvViralInserts(sampleId, viralInserts));
                 }
             }
 
@@ -130,8 +159,8 @@ public class SvDataLoader
 
                 LOGGER.info("sample({}) loading {} breakends and {} fusion records", sampleId, breakends.size(), fusions.size());
 
-                final StructuralVariantFusionDAO annotationDAO = new StructuralVariantFusionDAO(dbAccess.context());
-                annotationDAO.writeBreakendsAndFusions(sampleId, breakends, fusions);
+                writeTable(dbAccess, writerPool, "SV breakends and fusions",
+                        db -> new StructuralVariantFusionDAO(db.context()).writeBreakendsAndFusions(sampleId, breakends, fusions));
             }
 
             final String driverCatalogFilename = DriverCatalogFile.generateFilename(svDataOutputDir, sampleId);
@@ -140,7 +169,7 @@ public class SvDataLoader
             {
                 List<DriverCatalog> drivers = DriverCatalogFile.read(driverCatalogFilename);
                 LOGGER.info("sample({}) loading {} driver catalog records", sampleId, drivers.size());
-                dbAccess.writeDriverCatalog(sampleId, drivers);
+                writeTable(dbAccess, writerPool, "driver catalog", db -> db.writeDriverCatalog(sampleId, drivers));
             }
 
             final String driversFilename = LinxDriverFile.generateFilename(svDataOutputDir, sampleId);
@@ -149,7 +178,7 @@ public class SvDataLoader
             {
                 List<LinxDriver> drivers = LinxDriverFile.read(driversFilename);
                 LOGGER.info("sample({}) loading {} SV driver records", sampleId, drivers.size());
-                dbAccess.writeSvDrivers(sampleId, drivers);
+                writeTable(dbAccess, writerPool, "SV drivers", db -> db.writeSvDrivers(sampleId, drivers));
             }
 
         }
@@ -390,6 +419,7 @@ public class SvDataLoader
         options.addOption(DB_USER, true, "Database user name.");
         options.addOption(DB_PASS, true, "Database password");
         options.addOption(DB_URL, true, "Database url");
+        options.addOption(DB_THREADS, true, "Optional: number of connections used to load LINX tables in parallel, default 1");
         options.addOption(SV_DATA_DIR, true, "Directory to read or write SV data");
 
         return options;
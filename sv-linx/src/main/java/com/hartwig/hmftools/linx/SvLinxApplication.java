@@ -3,6 +3,7 @@ package com.hartwig.hmftools.linx;
 import static com.hartwig.hmftools.common.variant.structural.StructuralVariantFactory.INFERRED;
 import static com.hartwig.hmftools.common.variant.structural.StructuralVariantFactory.PASS;
 import static com.hartwig.hmftools.linx.LinxConfig.DB_PASS;
+import static com.hartwig.hmftools.linx.LinxConfig.DB_THREADS;
 import static com.hartwig.hmftools.linx.LinxConfig.DB_URL;
 import static com.hartwig.hmftools.linx.LinxConfig.DB_USER;
 import static com.hartwig.hmftools.linx.LinxConfig.GENE_TRANSCRIPTS_DIR;
@@ -10,6 +11,7 @@ import static com.hartwig.hmftools.linx.LinxConfig.LOG_DEBUG;
 import static com.hartwig.hmftools.linx.LinxConfig.LOG_VERBOSE;
 import static com.hartwig.hmftools.linx.LinxConfig.REF_GENOME_FILE;
 import static com.hartwig.hmftools.linx.LinxConfig.databaseAccess;
+import static com.hartwig.hmftools.linx.LinxConfig.databaseWriterPool;
 import static com.hartwig.hmftools.linx.SvDataLoader.VCF_FILE;
 import static com.hartwig.hmftools.linx.SvDataLoader.loadSvDataFromGermlineVcf;
 import static com.hartwig.hmftools.linx.SvDataLoader.loadSvDataFromSvFile;
@@ -33,6 +35,7 @@ import com.hartwig.hmftools.linx.fusion.FusionFinder;
 import com.hartwig.hmftools.linx.gene.SvGeneTranscriptCollection;
 import com.hartwig.hmftools.linx.types.SvVarData;
 import com.hartwig.hmftools.patientdb.dao.DatabaseAccess;
+import com.hartwig.hmftools.patientdb.dao.DatabaseWriterPool;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.CommandLineParser;
@@ -168,6 +171,11 @@ public class SvLinxApplication
             }
         }
 
+        final int dbThreads = Integer.parseInt(cmd.getOptionValue(DB_THREADS, "1"));
+
+        final DatabaseWriterPool writerPool = config.UploadToDB && dbAccess != null && dbThreads > 1
+                ? databaseWriterPool(cmd, dbThreads) : null;
+
         PerformanceCounter prefCounter = new PerformanceCounter("Total");
 
         int count = 0;
@@ -235,7 +243,7 @@ public class SvLinxApplication
                 fusionAnalyser.run(sampleId, svDataList, dbAccess, sampleAnalyser.getClusters(), sampleAnalyser.getChrBreakendMap());
             }
 
-            sampleAnalyser.writeOutput(dbAccess);
+            sampleAnalyser.writeOutput(dbAccess, writerPool);
 
             prefCounter.stop();
 
@@ -253,6 +261,9 @@ public class SvLinxApplication
 
         sampleAnalyser.close();
 
+        if(writerPool != null)
+            writerPool.close();
+
         if(fusionAnalyser != null)
             fusionAnalyser.close();
 
@@ -315,6 +326,7 @@ public class SvLinxApplication
         options.addOption(DB_USER, true, "Database user name.");
         options.addOption(DB_PASS, true, "Database password.");
         options.addOption(DB_URL, true, "Database url.");
+        options.addOption(DB_THREADS, true, "Optional: number of connections used to upload LINX tables in parallel, default 1");
         options.addOption(DRIVERS_CHECK, false, "Check SVs against drivers catalog");
         options.addOption(CHECK_FUSIONS, false, "Run fusion detection");
         options.addOption(GENE_TRANSCRIPTS_DIR, true, "Optional: Ensembl data cache directory");
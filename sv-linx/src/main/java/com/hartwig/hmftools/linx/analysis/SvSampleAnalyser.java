@@ -81,6 +81,7 @@ import com.hartwig.hmftools.linx.types.SvVarData;
 import com.hartwig.hmftools.linx.visualiser.file.VisualiserWriter;
 import com.hartwig.hmftools.patientdb.dao.DatabaseAccess;
 import com.hartwig.hmftools.patientdb.dao.DatabaseUtil;
+import com.hartwig.hmftools.patientdb.dao.DatabaseWriterPool;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -320,7 +321,7 @@ public class SvSampleAnalyser {
         mPcAnnotation.stop();
     }
 
-    public void writeOutput(final DatabaseAccess dbAccess)
+    public void writeOutput(final DatabaseAccess dbAccess, @Nullable final DatabaseWriterPool writerPool)
     {
         // if processing a single sample, write flat-files and optionally load the same data to the DB
         // if running in batch mode, skip flat-file generation and DB load, and instead write verbose batch output files
@@ -358,7 +359,17 @@ public class SvSampleAnalyser {
             }
         }
 
-        if(mConfig.UploadToDB && dbAccess != null)
+        if(mConfig.UploadToDB && writerPool != null)
+        {
+            // the tables are independent so are written concurrently, each in its own transaction
+            final String sampleId = mSampleId;
+            writerPool.submit("SV annotations", db -> db.writeSvLinxData(sampleId, linxSvData));
+            writerPool.submit("SV clusters", db -> db.writeSvClusters(sampleId, clusterData));
+            writerPool.submit("SV links", db -> db.writeSvLinks(sampleId, linksData));
+            writerPool.submit("SV viral inserts", db -> db.writeSvViralInserts(sampleId, viralInserts));
+            writerPool.awaitCompletion();
+        }
+        else if(mConfig.UploadToDB && dbAccess != null)
         {
             dbAccess.writeSvLinxData(mSampleId, linxSvData);
             dbAccess.writeSvClusters(mSampleId, clusterData);
@@ -0,0 +1,101 @@
+package com.hartwig.hmftools.linx.fusion;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.hartwig.hmftools.linx.types.SvLinkedPair;
+
+class ChainTraversal
+{
+    // sweeps the links of a chain outwards from a lower breakend, so that each linked pair is tested for traversing a gene at most
+    // once per type of fusion, rather than once for every fusion which passes through it
+    private final List<SvLinkedPair> mLinkedPairs;
+    private final DisruptionFinder mDisruptionFinder;
+
+    // cumulative link lengths and inferred link counts, so the traversal between any 2 link indices is a subtraction
+    private final long[] mLinkLengths;
+    private final int[] mInferredCounts;
+
+    // whether each pair traverses a gene, per fusion direction and upstream coding type: 0 = untested, 1 = no, 2 = yes
+    private final byte[][] mPairTraversesGene;
+
+    private static final int TRAVERSAL_TYPES = 8;
+
+    // per traversal type from the current lower index, the link index reached without traversing a gene, and whether one was hit
+    private int mLowerIndex;
+    private final int[] mCheckedToIndex;
+    private final boolean[] mTraversesGene;
+
+    public ChainTraversal(final List<SvLinkedPair> linkedPairs, final DisruptionFinder disruptionFinder)
+    {
+        mLinkedPairs = linkedPairs;
+        mDisruptionFinder = disruptionFinder;
+
+        mLinkLengths = new long[linkedPairs.size() + 1];
+        mInferredCounts = new int[linkedPairs.size() + 1];
+
+        for(int i = 0; i < linkedPairs.size(); ++i)
+        {
+            final SvLinkedPair pair = linkedPairs.get(i);
+            mLinkLengths[i + 1] = mLinkLengths[i] + pair.length();
+            mInferredCounts[i + 1] = mInferredCounts[i] + (pair.isInferred() ? 1 : 0);
+        }
+
+        mPairTraversesGene = new byte[linkedPairs.size()][4];
+        mCheckedToIndex = new int[TRAVERSAL_TYPES];
+        mTraversesGene = new boolean[TRAVERSAL_TYPES];
+        mLowerIndex = 0;
+    }
+
+    public void setLowerIndex(int lowerIndex)
+    {
+        mLowerIndex = lowerIndex;
+        Arrays.fill(mCheckedToIndex, lowerIndex);
+        Arrays.fill(mTraversesGene, false);
+    }
+
+    public long length(int upperIndex) { return mLinkLengths[upperIndex] - mLinkLengths[mLowerIndex]; }
+
+    public boolean allAssembled(int upperIndex) { return mInferredCounts[upperIndex] == mInferredCounts[mLowerIndex]; }
+
+    public boolean isValid(int upperIndex, int upGeneStrand, boolean isPrecodingUpstream, boolean fusionLowerToUpper)
+    {
+        // upper indices are visited in increasing order, so only links beyond those already checked need testing
+        int type = (fusionLowerToUpper ? 4 : 0) + (upGeneStrand == 1 ? 2 : 0) + (isPrecodingUpstream ? 1 : 0);
+
+        while(!mTraversesGene[type] && mCheckedToIndex[type] < upperIndex)
+        {
+            final SvLinkedPair pair = mLinkedPairs.get(mCheckedToIndex[type]);
+
+            // if going lower to upper, if the orientation of the first breakend in the pair is opposite to the strand of
+            // the upstream gene, then the fusion direction for that pair is the same as a the upstream gene
+            // otherwise it needs to be switched
+            int fusionDirection;
+
+            if(fusionLowerToUpper)
+                fusionDirection = pair.firstBreakend().orientation() != upGeneStrand ? upGeneStrand : -upGeneStrand;
+            else
+                fusionDirection = pair.secondBreakend().orientation() != upGeneStrand ? upGeneStrand : -upGeneStrand;
+
+            if(pairTraversesGene(mCheckedToIndex[type], fusionDirection, isPrecodingUpstream))
+                mTraversesGene[type] = true;
+            else
+                ++mCheckedToIndex[type];
+        }
+
+        return !mTraversesGene[type];
+    }
+
+    private boolean pairTraversesGene(int pairIndex, int fusionDirection, boolean isPrecodingUpstream)
+    {
+        int resultIndex = (fusionDirection == 1 ? 2 : 0) + (isPrecodingUpstream ? 1 : 0);
+
+        if(mPairTraversesGene[pairIndex][resultIndex] == 0)
+        {
+            boolean traversesGene = mDisruptionFinder.pairTraversesGene(mLinkedPairs.get(pairIndex), fusionDirection, isPrecodingUpstream);
+            mPairTraversesGene[pairIndex][resultIndex] = traversesGene ? (byte)2 : (byte)1;
+        }
+
+        return mPairTraversesGene[pairIndex][resultIndex] == 2;
+    }
+}
@@ -0,0 +1,94 @@
+package com.hartwig.hmftools.linx.fusion;
+
+import static com.hartwig.hmftools.linx.fusion.FusionFinder.validFusionTranscript;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.hartwig.hmftools.common.variant.structural.annotation.GeneAnnotation;
+import com.hartwig.hmftools.common.variant.structural.annotation.Transcript;
+
+class DownstreamTranscriptIndex
+{
+    // a downstream gene's transcripts which could take part in a fusion, grouped by coding type and the phase of the next exon,
+    // so that each upstream transcript is only tested against those which pass the fusion rules' coding and phasing checks
+    private final List<Transcript> mAllTranscripts;
+    private final List<Transcript> mPreCodingTranscripts;
+    private final List<Transcript> mCodingTranscripts;
+
+    private final Map<Integer,List<Transcript>> mAllByPhase;
+    private final Map<Integer,List<Transcript>> mPreCodingByPhase;
+    private final Map<Integer,List<Transcript>> mCodingByPhase;
+
+    // without exon skipping, an upstream transcript not broken in an exon can only be phase-matched to the same downstream phase
+    private final boolean mRequireExactPhase;
+
+    public DownstreamTranscriptIndex(final GeneAnnotation downGene, final FusionParameters params)
+    {
+        mAllTranscripts = Lists.newArrayList();
+        mPreCodingTranscripts = Lists.newArrayList();
+        mCodingTranscripts = Lists.newArrayList();
+        mAllByPhase = Maps.newHashMap();
+        mPreCodingByPhase = Maps.newHashMap();
+        mCodingByPhase = Maps.newHashMap();
+
+        mRequireExactPhase = params.RequirePhaseMatch && !params.AllowExonSkipping;
+
+        for(final Transcript transcript : downGene.transcripts())
+        {
+            // leaves only 5' UTR and coding transcripts
+            if(!validFusionTranscript(transcript))
+                continue;
+
+            addTranscript(mAllTranscripts, mAllByPhase, transcript);
+
+            if(transcript.preCoding())
+                addTranscript(mPreCodingTranscripts, mPreCodingByPhase, transcript);
+            else
+                addTranscript(mCodingTranscripts, mCodingByPhase, transcript);
+        }
+    }
+
+    public boolean isEmpty() { return mAllTranscripts.isEmpty(); }
+
+    public List<Transcript> candidates(final Transcript upstreamTrans)
+    {
+        // pre-coding and non-coding upstream transcripts cannot fuse to a coding downstream transcript, and a coding upstream
+        // transcript can only fuse to a coding downstream one
+        if(upstreamTrans.preCoding() || upstreamTrans.nonCoding())
+            return select(mPreCodingTranscripts, mPreCodingByPhase, upstreamTrans);
+        else if(upstreamTrans.isCoding())
+            return select(mCodingTranscripts, mCodingByPhase, upstreamTrans);
+        else
+            return select(mAllTranscripts, mAllByPhase, upstreamTrans);
+    }
+
+    private List<Transcript> select(final List<Transcript> transcripts, final Map<Integer,List<Transcript>> byPhase,
+            final Transcript upstreamTrans)
+    {
+        if(!mRequireExactPhase || upstreamTrans.isExonic())
+            return transcripts;
+
+        final List<Transcript> phaseMatched = byPhase.get(upstreamTrans.ExonUpstreamPhase);
+        return phaseMatched != null ? phaseMatched : Collections.emptyList();
+    }
+
+    private static void addTranscript(final List<Transcript> transcripts, final Map<Integer,List<Transcript>> byPhase,
+            final Transcript transcript)
+    {
+        transcripts.add(transcript);
+
+        List<Transcript> phaseTranscripts = byPhase.get(transcript.ExonDownstreamPhase);
+
+        if(phaseTranscripts == null)
+        {
+            phaseTranscripts = Lists.newArrayList();
+            byPhase.put(transcript.ExonDownstreamPhase, phaseTranscripts);
+        }
+
+        phaseTranscripts.add(transcript);
+    }
+}
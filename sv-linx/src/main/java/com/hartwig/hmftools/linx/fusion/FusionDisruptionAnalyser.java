@@ -8,6 +8,7 @@ import static com.hartwig.hmftools.linx.LinxConfig.REF_GENOME_FILE;
 import static com.hartwig.hmftools.linx.chaining.LinkFinder.getMinTemplatedInsertionLength;
 import static com.hartwig.hmftools.linx.fusion.FusionFinder.couldBeReportable;
 import static com.hartwig.hmftools.linx.fusion.FusionFinder.determineReportableFusion;
+import static com.hartwig.hmftools.linx.fusion.FusionFinder.hasOpposingGenes;
 import static com.hartwig.hmftools.linx.fusion.FusionFinder.validFusionTranscript;
 import static com.hartwig.hmftools.linx.fusion.FusionWriter.convertBreakendsAndFusions;
 import static com.hartwig.hmftools.linx.gene.SvGeneTranscriptCollection.PRE_GENE_PROMOTOR_DISTANCE;
@@ -26,6 +27,7 @@ import java.util.stream.Collectors;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.hartwig.hmftools.common.utils.PerformanceCounter;
 import com.hartwig.hmftools.common.variant.structural.annotation.FusionAnnotations;
 import com.hartwig.hmftools.common.variant.structural.annotation.FusionChainInfo;
@@ -83,6 +85,7 @@ public class FusionDisruptionAnalyser
     private final List<GeneFusion> mFusions; // all possible valid transcript-pair fusions
     private final List<GeneFusion> mUniqueFusions; // top-priority fusions from within each unique gene and SV pair
     private final Map<GeneFusion,String> mInvalidFusions;
+    private final Set<String> mInvalidFusionNames;
 
     private RnaFusionMapper mRnaFusionMapper;
     private VisualiserWriter mVisWriter;
@@ -118,6 +121,7 @@ public class FusionDisruptionAnalyser
         mFusions = Lists.newArrayList();
         mUniqueFusions = Lists.newArrayList();
         mInvalidFusions = Maps.newHashMap();
+        mInvalidFusionNames = Sets.newHashSet();
         mLogReportableOnly = false;
         mLogAllPotentials = false;
         mLogRepeatedGenePairs = false;
@@ -352,6 +356,7 @@ public class FusionDisruptionAnalyser
 
         mFusions.clear();
         mInvalidFusions.clear();
+        mInvalidFusionNames.clear();
 
         boolean checkSoloSVs = true;
         boolean checkClusters = true;
@@ -460,38 +465,25 @@ public class FusionDisruptionAnalyser
             // now all fusions have been gathered from this chain, set the reportable one (if any)
             LOGGER.trace("cluster({}) found {} chained fusions", cluster.id(), chainFusions.size());
 
-            // consider fusions from amongst unique gene-pairings
-            List<String> genePairings = Lists.newArrayList();
+            // consider fusions from amongst unique gene-pairings, gathering up all matching fusions in a single pass
+            Map<String,List<GeneFusion>> genePairFusions = Maps.newLinkedHashMap();
 
-            for(int i = 0; i < chainFusions.size(); ++i)
+            for(final GeneFusion fusion : chainFusions)
             {
-                GeneFusion fusion = chainFusions.get(i);
-                final String genePair = fusion.name();
+                List<GeneFusion> fusions = genePairFusions.get(fusion.name());
 
-                if(genePairings.contains(genePair))
-                    continue;
-
-                genePairings.add(genePair);
-
-                // gather up all matching fusions
-                List<GeneFusion> genePairFusions = Lists.newArrayList();
-                genePairFusions.add(fusion);
-
-                for(int j = i+1; j < chainFusions.size(); ++j)
+                if(fusions == null)
                 {
-                    GeneFusion nextFusion = chainFusions.get(j);
-                    String nextGenePair = nextFusion.name();
-
-                    if(nextGenePair.equals(genePair))
-                    {
-                        genePairFusions.add(nextFusion);
-                    }
+                    fusions = Lists.newArrayList();
+                    genePairFusions.put(fusion.name(), fusions);
                 }
 
-                // only chained fusions with unterminated ends and valid traversal are considered as reportable
-                mFusionFinder.setReportableGeneFusions(genePairFusions);
+                fusions.add(fusion);
             }
 
+            // only chained fusions with unterminated ends and valid traversal are considered as reportable
+            genePairFusions.values().forEach(x -> mFusionFinder.setReportableGeneFusions(x));
+
             mFusions.addAll(chainFusions.stream()
                     .filter(x -> !mLogReportableOnly || x.reportable())
                     .filter(x -> x.getAnnotations() != null)
@@ -511,78 +503,68 @@ public class FusionDisruptionAnalyser
 
         // whenever a linked pair is traversed by a fusion, it cannot touch or traverse genic regions without disrupting the fusion
         final List<SvLinkedPair> linkedPairs = chain.getLinkedPairs();
+        int linkCount = linkedPairs.size();
 
-        for (int lpIndex1 = 0; lpIndex1 <= linkedPairs.size(); ++lpIndex1)
-        {
-            SvVarData lowerSV = null;
-            SvBreakend lowerBreakend = null;
+        // collect the lower and upper breakends at each link index and their genes once, rather than for every pairing
+        final SvBreakend[] lowerBreakends = new SvBreakend[linkCount + 1];
+        final SvBreakend[] upperBreakends = new SvBreakend[linkCount + 1];
+        final List<List<GeneAnnotation>> lowerGenes = Lists.newArrayListWithCapacity(linkCount + 1);
+        final List<List<GeneAnnotation>> upperGenes = Lists.newArrayListWithCapacity(linkCount + 1);
 
+        for (int lpIndex = 0; lpIndex <= linkCount; ++lpIndex)
+        {
             // the lower link takes the other breakend of the current linked pair's 'first' SV
             // and in order for it to also test the last SV in isolation, also takes the last pair's second (upper) breakend
-            if(lpIndex1 < linkedPairs.size())
+            // the upper link takes the breakend of the current linked pair's 'second' SV
+            // and beyond all the links, it must also test fusions with the chain's upper open breakend (null for an SGL)
+            if(lpIndex < linkCount)
             {
-                SvLinkedPair pair = linkedPairs.get(lpIndex1);
-                lowerSV = pair.first();
-                lowerBreakend = pair.first().getBreakend(!pair.firstLinkOnStart());
+                SvLinkedPair pair = linkedPairs.get(lpIndex);
+                lowerBreakends[lpIndex] = pair.first().getBreakend(!pair.firstLinkOnStart());
+                upperBreakends[lpIndex] = pair.firstBreakend();
             }
             else
             {
-                SvLinkedPair prevPair = linkedPairs.get(lpIndex1 - 1);
-                lowerSV = prevPair.second();
-                lowerBreakend = prevPair.secondBreakend();
+                lowerBreakends[lpIndex] = linkedPairs.get(lpIndex - 1).secondBreakend();
+                upperBreakends[lpIndex] = chain.getOpenBreakend(false);
             }
 
-            if (lowerSV.isSglBreakend())
+            lowerGenes.add(breakendGenes(lowerBreakends[lpIndex]));
+            upperGenes.add(breakendGenes(upperBreakends[lpIndex]));
+        }
+
+        final ChainTraversal traversal = new ChainTraversal(linkedPairs, mDisruptionFinder);
+
+        for (int lpIndex1 = 0; lpIndex1 <= linkCount; ++lpIndex1)
+        {
+            final SvBreakend lowerBreakend = lowerBreakends[lpIndex1];
+
+            if (lowerBreakend == null || lowerBreakend.getSV().isSglBreakend())
                 continue;
 
-            List<GeneAnnotation> genesListLower = Lists.newArrayList(lowerSV.getGenesList(lowerBreakend.usesStart()));
-            applyGeneRestrictions(genesListLower);
+            final List<GeneAnnotation> genesListLower = lowerGenes.get(lpIndex1);
 
             if (genesListLower.isEmpty())
                 continue;
 
-            List<SvLinkedPair> traversedPairs = Lists.newArrayList();
+            traversal.setLowerIndex(lpIndex1);
 
-            for (int lpIndex2 = lpIndex1; lpIndex2 <= linkedPairs.size(); ++lpIndex2)
+            for (int lpIndex2 = lpIndex1; lpIndex2 <= linkCount; ++lpIndex2)
             {
-                SvVarData upperSV = null;
-                SvBreakend upperBreakend = null;
-
-                // the upper link takes the breakend of the current linked pair's 'second' SV
-                // and beyond all the links, it must also test fusions with the chain's upper open breakend
-                if(lpIndex2 < linkedPairs.size())
-                {
-                    SvLinkedPair pair = linkedPairs.get(lpIndex2);
-                    upperSV = pair.first();
-                    upperBreakend = pair.firstBreakend();
-                }
-                else
-                {
-                    // at the last link, take the open breakend of the chain
-                    upperBreakend = chain.getOpenBreakend(false);
+                final SvBreakend upperBreakend = upperBreakends[lpIndex2];
 
-                    if(upperBreakend == null) // can be null for SGLs at end of chain
-                        break;
-
-                    upperSV = upperBreakend.getSV();
-                }
+                if(upperBreakend == null)
+                    break;
 
-                List<GeneAnnotation> genesListUpper = Lists.newArrayList(upperSV.getGenesList(upperBreakend.usesStart()));
-                applyGeneRestrictions(genesListUpper);
-
-                // if a new linked pair has been traversed to reach this upper breakend, record its length
-                // and test whether it traverses any genic region, and if so invalidate the fusion
-                if(lpIndex2 > lpIndex1)
-                {
-                    SvLinkedPair lastPair = linkedPairs.get(lpIndex2 - 1);
-                    traversedPairs.add(lastPair);
-                }
+                final List<GeneAnnotation> genesListUpper = upperGenes.get(lpIndex2);
 
+                // skip past this link and breakend to the next one, keeping the possibility of a fusion with the lower breakend open,
+                // including where there is no upstream and downstream gene pairing to form a fusion from
                 if(genesListUpper.isEmpty())
-                {
-                    // skip past this link and breakend to the next one, keeping the possibility of a fusion with the lower breakend open
                     continue;
-                }
+
+                if(!hasOpposingGenes(genesListLower, genesListUpper))
+                    continue;
 
                 /*
                 if(lpIndex2 > lpIndex1)
@@ -626,39 +608,8 @@ public class FusionDisruptionAnalyser
                     boolean isPrecodingUpstream = fusion.upstreamTrans().preCoding();
                     boolean fusionLowerToUpper = fusion.upstreamTrans().gene().position() == lowerBreakend.position();
 
-                    // check any traversed genes
-                    long totalLinkLength = 0;
-                    boolean validTraversal = true;
-                    boolean allTraversalAssembled = true;
-
-                    for(SvLinkedPair pair : traversedPairs)
-                    {
-                        totalLinkLength += pair.length();
-
-                        if(pair.isInferred())
-                            allTraversalAssembled = false;
-
-                        // if going lower to upper, if the orientation of the first breakend in the pair is opposite to the strand of
-                        // the upstream gene, then the fusion direction for that pair is the same as a the upstream gene
-                        // otherwise it needs to be switched
-                        int fusionDirection = 0;
-
-                        if(fusionLowerToUpper)
-                        {
-                            fusionDirection = pair.firstBreakend().orientation() != upGeneStrand ? upGeneStrand : -upGeneStrand;
-                        }
-                        else
-                        {
-                            fusionDirection = pair.secondBreakend().orientation() != upGeneStrand ? upGeneStrand : -upGeneStrand;
-                        }
-
-                        // any invalid traversal causes this fusion to be entirely skipped from further analysis
-                        if(mDisruptionFinder.pairTraversesGene(pair, fusionDirection, isPrecodingUpstream))
-                        {
-                            validTraversal = false;
-                            break;
-                        }
-                    }
+                    // check any traversed genes - any invalid traversal causes this fusion to be entirely skipped from further analysis
+                    boolean validTraversal = traversal.isValid(lpIndex2, upGeneStrand, isPrecodingUpstream, fusionLowerToUpper);
 
                     if(!validTraversal)
                     {
@@ -666,6 +617,9 @@ public class FusionDisruptionAnalyser
                         continue;
                     }
 
+                    long totalLinkLength = traversal.length(lpIndex2);
+                    boolean allTraversalAssembled = traversal.allAssembled(lpIndex2);
+
                     ++validTraversalFusionCount;
 
                     FusionTermination[] terminationInfo = {null, null};
@@ -681,7 +635,7 @@ public class FusionDisruptionAnalyser
                         SvBreakend breakend = lowerBreakend.position() == gene.position() ? lowerBreakend : upperBreakend;
 
                         boolean isChainEnd = (breakend == lowerBreakend && lpIndex1 == 0)
-                                || (breakend == upperBreakend && lpIndex2 == linkedPairs.size());
+                                || (breakend == upperBreakend && lpIndex2 == linkCount);
 
                         if (isChainEnd)
                         {
@@ -752,7 +706,7 @@ public class FusionDisruptionAnalyser
 
     private void recordInvalidFusion(final GeneFusion fusion, final String reason)
     {
-        if(mInvalidFusions.keySet().stream().anyMatch(x -> fusion.name().equals(x.name())))
+        if(!mInvalidFusionNames.add(fusion.name()))
             return;
 
         mInvalidFusions.put(fusion, reason);
@@ -780,6 +734,16 @@ public class FusionDisruptionAnalyser
         return false;
     }
 
+    private List<GeneAnnotation> breakendGenes(final SvBreakend breakend)
+    {
+        if(breakend == null)
+            return Lists.newArrayList();
+
+        List<GeneAnnotation> genesList = Lists.newArrayList(breakend.getSV().getGenesList(breakend.usesStart()));
+        applyGeneRestrictions(genesList);
+        return genesList;
+    }
+
     private void applyGeneRestrictions(List<GeneAnnotation> genesList)
     {
         if(mRestrictedGenes.isEmpty())
@@ -111,31 +111,62 @@ public class FusionFinder
         if(!mHasValidConfigData)
             return potentialFusions;
 
+        // split the second breakend's genes by stream so each gene is only paired with genes of the opposite orientation,
+        // and index the downstream genes' transcripts so each upstream transcript is only paired with those it could fuse to
+        final List<GeneAnnotation> upstreamGenes2 = Lists.newArrayList();
+        final List<GeneAnnotation> downstreamGenes2 = Lists.newArrayList();
+        final List<DownstreamTranscriptIndex> downstreamIndices2 = Lists.newArrayList();
+
+        for (final GeneAnnotation endGene : breakendGenes2)
+        {
+            if(endGene.isUpstream())
+            {
+                upstreamGenes2.add(endGene);
+            }
+            else
+            {
+                downstreamGenes2.add(endGene);
+                downstreamIndices2.add(new DownstreamTranscriptIndex(endGene, params));
+            }
+        }
+
         for (final GeneAnnotation startGene : breakendGenes1)
         {
             // left is upstream, right is downstream
             boolean startUpstream = startGene.isUpstream();
 
-            for (final GeneAnnotation endGene : breakendGenes2)
+            if(!(startUpstream ? upstreamGenes2 : downstreamGenes2).isEmpty())
             {
-                boolean endUpstream = endGene.isUpstream();
+                if(params.InvalidReasons != null && !params.InvalidReasons.contains(INVALID_REASON_ORIENTATION))
+                    params.InvalidReasons.add(INVALID_REASON_ORIENTATION);
+            }
 
-                if (startUpstream == endUpstream)
-                {
-                    if(params.InvalidReasons != null && !params.InvalidReasons.contains(INVALID_REASON_ORIENTATION))
-                        params.InvalidReasons.add(INVALID_REASON_ORIENTATION);
+            final List<GeneAnnotation> endGenes = startUpstream ? downstreamGenes2 : upstreamGenes2;
 
-                    continue;
-                }
+            if(endGenes.isEmpty())
+                continue;
+
+            final DownstreamTranscriptIndex startIndex = startUpstream ? null : new DownstreamTranscriptIndex(startGene, params);
+
+            for (int i = 0; i < endGenes.size(); ++i)
+            {
+                final GeneAnnotation endGene = endGenes.get(i);
 
                 final GeneAnnotation upGene = startUpstream ? startGene : endGene;
                 final GeneAnnotation downGene = !startUpstream ? startGene : endGene;
+                final DownstreamTranscriptIndex downIndex = startUpstream ? downstreamIndices2.get(i) : startIndex;
+
+                if(downIndex.isEmpty())
+                    continue;
 
                 boolean knownPair = mKnownFusionData != null && mKnownFusionData.hasKnownFusion(upGene.GeneName, downGene.GeneName);
 
                 for (final Transcript upstreamTrans : upGene.transcripts())
                 {
-                    for (final Transcript downstreamTrans : downGene.transcripts())
+                    if(!validFusionTranscript(upstreamTrans, !knownPair, params.RequireUpstreamBiotypes))
+                        continue;
+
+                    for (final Transcript downstreamTrans : downIndex.candidates(upstreamTrans))
                     {
                         GeneFusion geneFusion = checkFusionLogic(upstreamTrans, downstreamTrans, params, !knownPair);
 
@@ -156,6 +187,17 @@ public class FusionFinder
         return potentialFusions;
     }
 
+    public static boolean hasOpposingGenes(final List<GeneAnnotation> breakendGenes1, final List<GeneAnnotation> breakendGenes2)
+    {
+        // a fusion needs an upstream gene at one breakend and a downstream gene at the other
+        boolean hasUpstream1 = breakendGenes1.stream().anyMatch(x -> x.isUpstream());
+        boolean hasDownstream1 = breakendGenes1.stream().anyMatch(x -> !x.isUpstream());
+        boolean hasUpstream2 = breakendGenes2.stream().anyMatch(x -> x.isUpstream());
+        boolean hasDownstream2 = breakendGenes2.stream().anyMatch(x -> !x.isUpstream());
+
+        return (hasUpstream1 && hasDownstream2) || (hasDownstream1 && hasUpstream2);
+    }
+
     private static void logInvalidReasonInfo(final Transcript trans1, final Transcript trans2, final String reasonType, final String reason)
     {
         if(!mLogInvalidReasons)
@@ -208,7 +250,7 @@ public class FusionFinder
         return checkFusionLogic(upstreamTrans, downstreamTrans, params, true);
     }
 
-    private static GeneFusion checkFusionLogic(
+    static GeneFusion checkFusionLogic(
             final Transcript upstreamTrans, final Transcript downstreamTrans, final FusionParameters params, boolean requireUpstreamDisruptive)
     {
         // see SV Fusions document for permitted combinations
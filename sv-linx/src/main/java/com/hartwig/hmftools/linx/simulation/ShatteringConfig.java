@@ -11,6 +11,8 @@ public class ShatteringConfig
     public final boolean GroupResults;
     public final boolean RandomLinkSelection;
     public final boolean ExhuastiveSearch;
+    public final int Threads;
+    public final long Seed;
 
     private static final String SEG_COUNT = "sh_seg_count";
     private static final String SEG_COUNT_MIN = "sh_seg_count_min";
@@ -19,6 +21,8 @@ public class ShatteringConfig
     private static final String COMBINE_RESULTS = "sh_group_results";
     private static final String RANDOM_SELECTION = "sh_random";
     private static final String EXHAUSTIVE_SEARCH = "sh_exhaustive";
+    private static final String THREADS = "sh_threads";
+    private static final String SEED = "sh_seed";
 
     public ShatteringConfig(final CommandLine cmd)
     {
@@ -42,6 +46,8 @@ public class ShatteringConfig
         GroupResults = cmd.hasOption(COMBINE_RESULTS);
         RandomLinkSelection = true; // cmd.hasOption(RANDOM_SELECTION);
         ExhuastiveSearch = cmd.hasOption(EXHAUSTIVE_SEARCH);
+        Threads = Integer.parseInt(cmd.getOptionValue(THREADS, "1"));
+        Seed = cmd.hasOption(SEED) ? Long.parseLong(cmd.getOptionValue(SEED)) : System.nanoTime();
     }
 
     public ShatteringConfig(int segments, int iterations)
@@ -51,11 +57,24 @@ public class ShatteringConfig
         GroupResults = false;
         RandomLinkSelection = false;
         ExhuastiveSearch = false;
+        Threads = 1;
+        Seed = 0;
+    }
+
+    public ShatteringConfig(int segments, int iterations, boolean groupResults, int threads, long seed)
+    {
+        Iterations = iterations;
+        SegmentCountMin = SegmentCountMax = segments;
+        GroupResults = groupResults;
+        RandomLinkSelection = true;
+        ExhuastiveSearch = false;
+        Threads = threads;
+        Seed = seed;
     }
 
     public boolean isValid()
     {
-        return Iterations > 0 && SegmentCountMin> 0 && SegmentCountMax >= SegmentCountMin;
+        return Iterations > 0 && SegmentCountMin> 0 && SegmentCountMax >= SegmentCountMin && Threads > 0;
     }
 
     public static void addCommandLineOptions(Options options)
@@ -67,6 +86,8 @@ public class ShatteringConfig
         options.addOption(COMBINE_RESULTS, false, "Shattering group like results");
         options.addOption(RANDOM_SELECTION, false, "Shattering use random selection of next link");
         options.addOption(EXHAUSTIVE_SEARCH, false, "Shattering find all possible link combinations");
+        options.addOption(THREADS, true, "Shattering threads to split random iterations across, default 1");
+        options.addOption(SEED, true, "Shattering random seed, results are reproducible for the same seed");
     }
 
 }
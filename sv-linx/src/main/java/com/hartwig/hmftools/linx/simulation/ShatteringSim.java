@@ -14,6 +14,12 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import com.google.common.collect.Lists;
@@ -35,6 +41,7 @@ public class ShatteringSim
     private final List<Integer> mRemainingLinks;
     private final List<int[]> mRemainingLinkPairs;
     private final Random mRandom;
+    private final SplittableRandom mSeedRandom;
     private int mRunIndex;
     private boolean mValidRun;
     private ShatteringResult mLastResult;
@@ -48,6 +55,9 @@ public class ShatteringSim
     // for unit testing only - the order in which to add links
     private final List<Integer> mSpecifiedLinkOrder;
 
+    // iterations run by each worker, fixed so that results do not depend on the thread count
+    private static final int ITERATIONS_PER_BLOCK = 1000;
+
     private static final Logger LOGGER = LogManager.getLogger(ShatteringSim.class);
 
     public ShatteringSim(final ShatteringConfig config, final String outputDir)
@@ -65,6 +75,7 @@ public class ShatteringSim
         mLastLinkStr = "";
 
         mRandom = new Random();
+        mSeedRandom = new SplittableRandom(config.Seed);
         mGroupedResults = Maps.newHashMap();
 
         mIndexSelector = Lists.newArrayList();
@@ -75,6 +86,8 @@ public class ShatteringSim
 
     public void run()
     {
+        LOGGER.info("running with seed({}) threads({})", mConfig.Seed, mConfig.Threads);
+
         for(mSegmentCount = mConfig.SegmentCountMin; mSegmentCount <= mConfig.SegmentCountMax; ++mSegmentCount)
         {
             LOGGER.info("run with segmentCount({})", mSegmentCount);
@@ -93,6 +106,12 @@ public class ShatteringSim
         mGroupedResults.clear();
         initialiseState();
 
+        if(!mConfig.ExhuastiveSearch && mSpecifiedLinkOrder.isEmpty())
+        {
+            runWorkers();
+            return;
+        }
+
         if(!mConfig.ExhuastiveSearch)
         {
             for (int i = 0; i < mConfig.Iterations; ++i)
@@ -131,6 +150,96 @@ public class ShatteringSim
         }
     }
 
+    private void runWorkers()
+    {
+        if(mSegmentCount > ShatteringWorker.MAX_SEGMENT_COUNT)
+        {
+            LOGGER.error("segmentCount({}) exceeds max({})", mSegmentCount, ShatteringWorker.MAX_SEGMENT_COUNT);
+            mValidRun = false;
+            return;
+        }
+
+        // split the iterations into fixed-size blocks, each with its own random source split from the seed in block order, so the
+        // results only depend on the seed and not on the number of threads running the blocks
+        int blockCount = (mConfig.Iterations + ITERATIONS_PER_BLOCK - 1) / ITERATIONS_PER_BLOCK;
+        final List<ShatteringWorker> workers = Lists.newArrayList();
+
+        for(int i = 0; i < blockCount; ++i)
+        {
+            int startIteration = i * ITERATIONS_PER_BLOCK;
+            int endIteration = min(mConfig.Iterations, startIteration + ITERATIONS_PER_BLOCK);
+            workers.add(new ShatteringWorker(mSegmentCount, startIteration, endIteration, mSeedRandom.split(), mConfig.GroupResults));
+        }
+
+        int threadCount = min(mConfig.Threads, blockCount);
+
+        if(threadCount <= 1)
+        {
+            workers.forEach(ShatteringWorker::call);
+        }
+        else
+        {
+            final ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+
+            try
+            {
+                final List<Future<ShatteringWorker>> futures = Lists.newArrayList();
+
+                for(final ShatteringWorker worker : workers)
+                {
+                    futures.add(executorService.submit(worker));
+                }
+
+                for(final Future<ShatteringWorker> future : futures)
+                {
+                    future.get();
+                }
+            }
+            catch(InterruptedException | ExecutionException e)
+            {
+                LOGGER.error("shattering worker failed: {}", e.toString());
+                mValidRun = false;
+                return;
+            }
+            finally
+            {
+                executorService.shutdown();
+            }
+        }
+
+        final ShatteringWorker lastWorker = workers.get(workers.size() - 1);
+        mLastResult = lastWorker.lastResult();
+        mRunIndex = mConfig.Iterations;
+
+        if(mConfig.GroupResults)
+        {
+            // merge the per-worker counts, ordered by result for stable output
+            final Map<Long,Integer> resultCounts = new TreeMap<>();
+
+            for(final ShatteringWorker worker : workers)
+            {
+                worker.resultCounts().forEach((result, count) -> resultCounts.merge(result, count[0], Integer::sum));
+            }
+
+            for(Map.Entry<Long,Integer> entry : resultCounts.entrySet())
+            {
+                final ShatteringResult result = ShatteringWorker.unpackResult(entry.getKey(), mSegmentCount, 0, "");
+                mGroupedResults.put(result, entry.getValue());
+                writeResults(result, entry.getValue());
+            }
+        }
+        else
+        {
+            for(final ShatteringWorker worker : workers)
+            {
+                for(int i = worker.startIteration(); i < worker.endIteration(); ++i)
+                {
+                    writeResults(worker.result(i), 1);
+                }
+            }
+        }
+    }
+
     private void registerResult(final ShatteringResult result)
     {
         for(Map.Entry<ShatteringResult,Integer> entry : mGroupedResults.entrySet())
@@ -622,6 +731,8 @@ public class ShatteringSim
         return mLastResult;
     }
 
+    public final Map<ShatteringResult,Integer> getGroupedResults() { return mGroupedResults; }
+
     private void initialiseWriter()
     {
         if(mOutputDir.isEmpty())
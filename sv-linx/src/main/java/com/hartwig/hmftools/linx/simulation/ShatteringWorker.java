@@ -0,0 +1,286 @@
+package com.hartwig.hmftools.linx.simulation;
+
+import static com.hartwig.hmftools.linx.analysis.SvUtilities.appendStr;
+import static com.hartwig.hmftools.linx.simulation.ShatteringSim.calcLinkCount;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+// runs a block of random shattering iterations with its own random source and primitive link state, so blocks can run concurrently
+// and still give the same results for a given seed
+public class ShatteringWorker implements Callable<ShatteringWorker>
+{
+    private final int mSegmentCount;
+    private final int mStartIteration;
+    private final int mEndIteration;
+    private final SplittableRandom mRandom;
+    private final boolean mGroupResults;
+
+    // segment ends are indexed as 2 * segment for its start and 2 * segment + 1 for its end, so link index i is end i + 1
+    private final int mLastSegment;
+    private final int mLinkCount;
+    private final int[] mLinkedEnd;
+    private final int[] mRemainingLinks;
+    private int mRemainingCount;
+    private final int[] mComponent;
+    private final boolean[] mInChain;
+    private String mLinkStr;
+
+    // optional fixed link sequence taken before any random links, as pairs of link indices
+    private int[] mSpecifiedLinks;
+    private int mSpecifiedLinkIndex;
+
+    // grouped results are counted per packed result, otherwise every result is kept in iteration order
+    private final Map<Long,int[]> mResultCounts;
+    private final long[] mResults;
+    private final List<String> mLinkStrs;
+    private long mLastResult;
+
+    private static final int NO_LINK = -1;
+
+    private static final int RESULT_FIELD_BITS = 12;
+    public static final int MAX_SEGMENT_COUNT = (1 << RESULT_FIELD_BITS) - 3;
+
+    public ShatteringWorker(int segmentCount, int startIteration, int endIteration, final SplittableRandom random, boolean groupResults)
+    {
+        mSegmentCount = segmentCount;
+        mStartIteration = startIteration;
+        mEndIteration = endIteration;
+        mRandom = random;
+        mGroupResults = groupResults;
+
+        // N segments with 2 unconnected ends, and 2 bounding segments with a single exposed end
+        mLastSegment = segmentCount + 1;
+        mLinkCount = calcLinkCount(segmentCount + 2) + 1;
+        mLinkedEnd = new int[2 * (mLastSegment + 1)];
+        mRemainingLinks = new int[mLinkCount];
+        mComponent = new int[mLastSegment + 1];
+        mInChain = new boolean[mLastSegment + 1];
+        mLinkStr = "";
+        mSpecifiedLinks = new int[0];
+        mSpecifiedLinkIndex = 0;
+
+        mResultCounts = Maps.newHashMap();
+        mResults = groupResults ? new long[0] : new long[endIteration - startIteration];
+        mLinkStrs = Lists.newArrayList();
+        mLastResult = 0;
+    }
+
+    @Override
+    public ShatteringWorker call()
+    {
+        for(int iteration = mStartIteration; iteration < mEndIteration; ++iteration)
+        {
+            runIteration();
+            mLastResult = packedResult();
+
+            if(mGroupResults)
+                mResultCounts.computeIfAbsent(mLastResult, k -> new int[1])[0]++;
+            else
+                recordResult(iteration);
+        }
+
+        return this;
+    }
+
+    private void recordResult(int iteration)
+    {
+        mResults[iteration - mStartIteration] = mLastResult;
+
+        if(mSegmentCount <= 5)
+            mLinkStrs.add(mLinkStr);
+    }
+
+    public final Map<Long,int[]> resultCounts() { return mResultCounts; }
+    public int startIteration() { return mStartIteration; }
+    public int endIteration() { return mEndIteration; }
+
+    public ShatteringResult result(int iteration)
+    {
+        int index = iteration - mStartIteration;
+        return unpackResult(mResults[index], mSegmentCount, iteration, index < mLinkStrs.size() ? mLinkStrs.get(index) : "");
+    }
+
+    public ShatteringResult lastResult()
+    {
+        return unpackResult(mLastResult, mSegmentCount, mEndIteration - 1, mLinkStr);
+    }
+
+    public void setSpecifiedOrder(final List<Integer> order)
+    {
+        mSpecifiedLinks = order.stream().mapToInt(Integer::intValue).toArray();
+        mSpecifiedLinkIndex = 0;
+    }
+
+    private void runIteration()
+    {
+        for(int i = 0; i < mLinkedEnd.length; ++i)
+        {
+            mLinkedEnd[i] = NO_LINK;
+        }
+
+        for(int i = 0; i < mComponent.length; ++i)
+        {
+            mComponent[i] = i;
+        }
+
+        for(int i = 0; i < mLinkCount; ++i)
+        {
+            mRemainingLinks[i] = i;
+        }
+
+        mRemainingCount = mLinkCount;
+        mLinkStr = "";
+
+        while(mRemainingCount > 0)
+        {
+            // randomly find the next 2 ends to connect, unless a link order has been specified
+            int end1 = takeNextLink() + 1;
+            int end2 = takeNextLink() + 1;
+
+            mLinkedEnd[end1] = end2;
+            mLinkedEnd[end2] = end1;
+            mComponent[findComponent(end1 / 2)] = findComponent(end2 / 2);
+
+            if(mSegmentCount <= 5)
+            {
+                mLinkStr = appendStr(mLinkStr, String.format("%d:%s-%d:%s",
+                        end1 / 2, end1 % 2 == 0 ? "s" : "e", end2 / 2, end2 % 2 == 0 ? "s" : "e"), ';');
+            }
+
+            // since every segment joins at most 2 others, once the first and last segments are connected they form a complete chain and
+            // no more links are possible
+            if(findComponent(0) == findComponent(mLastSegment))
+                break;
+        }
+    }
+
+    private int takeNextLink()
+    {
+        int index = mSpecifiedLinkIndex < mSpecifiedLinks.length
+                ? remainingLinkIndex(mSpecifiedLinks[mSpecifiedLinkIndex++])
+                : mRemainingCount == 1 ? 0 : mRandom.nextInt(mRemainingCount);
+
+        int link = mRemainingLinks[index];
+        mRemainingLinks[index] = mRemainingLinks[--mRemainingCount];
+        return link;
+    }
+
+    private int remainingLinkIndex(int link)
+    {
+        for(int i = 0; i < mRemainingCount; ++i)
+        {
+            if(mRemainingLinks[i] == link)
+                return i;
+        }
+
+        throw new IllegalArgumentException("specified link " + link + " is invalid or already used");
+    }
+
+    private int findComponent(int segment)
+    {
+        while(mComponent[segment] != segment)
+        {
+            mComponent[segment] = mComponent[mComponent[segment]];
+            segment = mComponent[segment];
+        }
+
+        return segment;
+    }
+
+    private long packedResult()
+    {
+        // walk the chain from the first to the last segment, which the links are guaranteed to connect
+        for(int i = 0; i < mInChain.length; ++i)
+        {
+            mInChain[i] = false;
+        }
+
+        mInChain[0] = true;
+
+        int segmentsLinked = 0;
+        int exactMatchCount = 0;
+        int inferredLinks = 0;
+        boolean firstNonExactSeen = false;
+
+        int exitEnd = 1;
+
+        while(true)
+        {
+            int entryEnd = mLinkedEnd[exitEnd];
+            int nextSegment = entryEnd / 2;
+            mInChain[nextSegment] = true;
+
+            // an exact repair links a segment's end to the start of the following segment
+            boolean exactRepair = (exitEnd % 2 == 1 && entryEnd == exitEnd + 1) || (exitEnd % 2 == 0 && entryEnd == exitEnd - 1);
+
+            if(exactRepair)
+            {
+                ++exactMatchCount;
+            }
+            else
+            {
+                if(!firstNonExactSeen)
+                    firstNonExactSeen = true;
+                else
+                    ++inferredLinks;
+            }
+
+            if(nextSegment == mLastSegment)
+                break;
+
+            ++segmentsLinked;
+            exitEnd = entryEnd ^ 1;
+        }
+
+        int adjacentPairs = 0;
+
+        for(int i = 0; i < mLastSegment; ++i)
+        {
+            if(mInChain[i] && mInChain[i + 1])
+                ++adjacentPairs;
+        }
+
+        // contiguous lost sections count as a single loss, as does losing all segments
+        int inferredLost = 0;
+
+        for(int i = 1; i < mLastSegment; ++i)
+        {
+            if(!mInChain[i] && mInChain[i - 1])
+                ++inferredLost;
+        }
+
+        return packResult(segmentsLinked, exactMatchCount, adjacentPairs, inferredLinks, inferredLost);
+    }
+
+    public static long packResult(int linkedSegments, int exactRepairs, int adjacentSegments, int inferredLinks, int inferredLost)
+    {
+        long packed = linkedSegments;
+        packed = (packed << RESULT_FIELD_BITS) | exactRepairs;
+        packed = (packed << RESULT_FIELD_BITS) | adjacentSegments;
+        packed = (packed << RESULT_FIELD_BITS) | inferredLinks;
+        packed = (packed << RESULT_FIELD_BITS) | inferredLost;
+        return packed;
+    }
+
+    public static ShatteringResult unpackResult(long packed, int segmentCount, int runIndex, final String linkStr)
+    {
+        long fieldMask = (1 << RESULT_FIELD_BITS) - 1;
+
+        return ImmutableShatteringResult.builder()
+                .runIndex(runIndex)
+                .segments(segmentCount)
+                .linkedSegments((int)((packed >> (4 * RESULT_FIELD_BITS)) & fieldMask))
+                .exactRepairs((int)((packed >> (3 * RESULT_FIELD_BITS)) & fieldMask))
+                .adjacentSegments((int)((packed >> (2 * RESULT_FIELD_BITS)) & fieldMask))
+                .inferredLinks((int)((packed >> RESULT_FIELD_BITS) & fieldMask))
+                .inferredLost((int)(packed & fieldMask))
+                .linkStr(linkStr)
+                .build();
+    }
+}
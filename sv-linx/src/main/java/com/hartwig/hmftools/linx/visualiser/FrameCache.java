@@ -0,0 +1,84 @@
+package com.hartwig.hmftools.linx.visualiser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collection;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Remembers the hash of the inputs each plot frame was last drawn from, so frames whose inputs have not changed are not drawn again.
+ * The hash is stored next to the data files of the frame.
+ */
+class FrameCache
+{
+    private static final String EXTENSION = ".sha256";
+
+    @NotNull
+    private final String dataDir;
+    private final boolean enabled;
+
+    FrameCache(@NotNull final String dataDir, boolean enabled)
+    {
+        this.dataDir = dataDir;
+        this.enabled = enabled;
+    }
+
+    // Hashes the string form of every input, and of every element of collections. The immutable data classes include all their values.
+    @NotNull
+    static String inputHash(@NotNull final Object... inputs)
+    {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        for (Object input : inputs)
+        {
+            if (input instanceof Collection)
+            {
+                final Collection<?> collection = (Collection<?>) input;
+                hasher.putInt(collection.size());
+                collection.forEach(x -> hasher.putString(x.toString(), StandardCharsets.UTF_8).putChar('\n'));
+            }
+            else
+            {
+                hasher.putString(String.valueOf(input), StandardCharsets.UTF_8).putChar('\n');
+            }
+        }
+
+        return hasher.hash().toString();
+    }
+
+    boolean isCurrent(@NotNull final String sample, int frame, @NotNull final String plotFile, @NotNull final String inputHash)
+    {
+        final File hashFile = hashFile(sample, frame);
+        if (!enabled || !hashFile.exists() || !new File(plotFile).exists())
+        {
+            return false;
+        }
+
+        try
+        {
+            return new String(Files.readAllBytes(hashFile.toPath()), StandardCharsets.UTF_8).equals(inputHash);
+        } catch (IOException e)
+        {
+            return false;
+        }
+    }
+
+    void update(@NotNull final String sample, int frame, @NotNull final String inputHash) throws IOException
+    {
+        if (enabled)
+        {
+            Files.write(hashFile(sample, frame).toPath(), inputHash.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @NotNull
+    private File hashFile(@NotNull final String sample, int frame)
+    {
+        return new File(dataDir + File.separator + sample + "." + String.format("%03d", frame) + EXTENSION);
+    }
+}
@@ -0,0 +1,24 @@
+package com.hartwig.hmftools.linx.visualiser;
+
+import org.jetbrains.annotations.NotNull;
+
+public enum Renderer
+{
+    CIRCOS("png"),
+    SVG("svg"),
+    PNG("png");
+
+    @NotNull
+    private final String extension;
+
+    Renderer(@NotNull final String extension)
+    {
+        this.extension = extension;
+    }
+
+    @NotNull
+    public String extension()
+    {
+        return extension;
+    }
+}
@@ -23,13 +23,20 @@ import com.google.common.collect.Sets;
 import com.hartwig.hmftools.common.circos.CircosExecution;
 import com.hartwig.hmftools.common.genome.chromosome.HumanChromosome;
 import com.hartwig.hmftools.common.genome.position.GenomePosition;
+import com.hartwig.hmftools.linx.visualiser.circos.ChromosomePanel;
 import com.hartwig.hmftools.linx.visualiser.circos.ChromosomeRangeExecution;
 import com.hartwig.hmftools.linx.visualiser.circos.CircosConfigWriter;
 import com.hartwig.hmftools.linx.visualiser.circos.CircosData;
 import com.hartwig.hmftools.linx.visualiser.circos.CircosDataWriter;
 import com.hartwig.hmftools.linx.visualiser.circos.ColorPicker;
+import com.hartwig.hmftools.linx.visualiser.circos.FrameCanvas;
+import com.hartwig.hmftools.linx.visualiser.circos.FramePanel;
+import com.hartwig.hmftools.linx.visualiser.circos.FrameRenderer;
 import com.hartwig.hmftools.linx.visualiser.circos.FusionDataWriter;
 import com.hartwig.hmftools.linx.visualiser.circos.FusionExecution;
+import com.hartwig.hmftools.linx.visualiser.circos.FusionPanel;
+import com.hartwig.hmftools.linx.visualiser.circos.PngFrameCanvas;
+import com.hartwig.hmftools.linx.visualiser.circos.SvgFrameCanvas;
 import com.hartwig.hmftools.linx.visualiser.circos.Span;
 import com.hartwig.hmftools.linx.visualiser.data.CopyNumberAlteration;
 import com.hartwig.hmftools.linx.visualiser.data.CopyNumberAlterations;
@@ -76,6 +83,7 @@ public class SvVisualiser implements AutoCloseable
     private final SvVisualiserConfig config;
     private final SvCircosConfig circosConfig;
     private final ExecutorService executorService;
+    private final FrameCache frameCache;
 
     private final List<Callable<Object>> callableImages;
     private final List<Callable<Object>> callableConfigs;
@@ -87,6 +95,7 @@ public class SvVisualiser implements AutoCloseable
         circosConfig = SvCircosConfig.createConfig(cmd);
         config = SvVisualiserConfig.createConfig(cmd);
         executorService = Executors.newFixedThreadPool(config.threads());
+        frameCache = new FrameCache(config.outputConfPath(), config.cacheFrames());
 
         callableImages = Lists.newArrayList();
         callableConfigs = Lists.newArrayList();
@@ -283,27 +292,89 @@ public class SvVisualiser implements AutoCloseable
         final CircosConfigWriter confWrite = new CircosConfigWriter(sample, config.outputConfPath(), circosData, circosConfig);
         final FusionDataWriter fusionDataWriter = new FusionDataWriter(filteredFusions, filteredExons, filteredProteinDomains);
 
+        // frames only need drawing again if any of the inputs they are drawn from have changed
+        final String inputHash = FrameCache.inputHash(config.renderer(), config.debug(), circosConfig, showSimpleSvSegments, segments,
+                links, alterations, filteredExons, filteredProteinDomains, filteredFusions);
+
+        final List<Integer> frames = Lists.newArrayList();
+        int minFrame = circosConfig.step() ? 0 : circosData.maxFrame();
+        for (int frame = minFrame; frame <= circosData.maxFrame(); frame++)
+        {
+            if (!frameCache.isCurrent(sample, frame, plotFile(sample, frame), inputHash))
+            {
+                frames.add(frame);
+            }
+        }
+
+        if (frames.isEmpty())
+        {
+            LOGGER.info("Skipping {} as its plots are unchanged", sample);
+            return;
+        }
+
+        if (config.renderer() != Renderer.CIRCOS)
+        {
+            // the same panels as the R scripts add to circos plots
+            final List<FramePanel> panels = Lists.newArrayList();
+            if (!config.debug() && !fusionDataWriter.finalExons().isEmpty())
+            {
+                panels.add(new FusionPanel(circosConfig, circosData.labelSize(), fusionDataWriter));
+            }
+            if (!config.debug())
+            {
+                panels.add(new ChromosomePanel(circosConfig, circosData));
+            }
+
+            final FrameRenderer renderer = new FrameRenderer(color, circosConfig, confWrite, circosData, panels);
+            frames.forEach(frame -> callableImages.add(() -> renderFrame(renderer, frame, sample, inputHash)));
+            return;
+        }
+
         callableConfigs.add(() -> new CircosDataWriter(color, sample, config.outputConfPath(), circosConfig, confWrite, circosData).write());
         if (!fusionDataWriter.finalExons().isEmpty())
         {
             callableConfigs.add(() -> fusionDataWriter.write(sample, config.outputConfPath()));
         }
 
-        int minFrame = circosConfig.step() ? 0 : circosData.maxFrame();
-        for (int frame = minFrame; frame <= circosData.maxFrame(); frame++)
+        for (int frame : frames)
         {
             boolean plotFusion = !fusionDataWriter.finalExons().isEmpty();
-            submitFrame(frame, plotFusion, circosData.labelSize(), sample, confWrite);
+            submitFrame(frame, plotFusion, circosData.labelSize(), sample, confWrite, inputHash);
         }
     }
 
-    private void submitFrame(int frame, boolean fusion, double labelSize, String sample, final CircosConfigWriter confWrite)
+    private void submitFrame(int frame, boolean fusion, double labelSize, String sample, final CircosConfigWriter confWrite,
+            final String inputHash)
     {
         boolean plotFusion = !config.debug() && fusion;
         boolean plotChromosome = !config.debug();
 
         callableConfigs.add(() -> confWrite.writeConfig(frame));
-        callableImages.add(() -> createImageFrame(frame, labelSize, sample, plotFusion, plotChromosome));
+        callableImages.add(() -> createImageFrame(frame, labelSize, sample, plotFusion, plotChromosome, inputHash));
+    }
+
+    private Object renderFrame(@NotNull final FrameRenderer renderer, int frame, @NotNull final String sample,
+            @NotNull final String inputHash) throws IOException
+    {
+        final FrameCanvas canvas = config.renderer() == Renderer.SVG
+                ? new SvgFrameCanvas(FrameRenderer.IMAGE_SIZE, renderer.height())
+                : new PngFrameCanvas(FrameRenderer.IMAGE_SIZE, renderer.height());
+
+        renderer.render(frame, canvas, plotFile(sample, frame));
+        frameCache.update(sample, frame, inputHash);
+        return null;
+    }
+
+    @NotNull
+    private String plotFile(@NotNull final String sample, int frame)
+    {
+        return config.outputPlotPath() + File.separator + plotFileName(sample, frame);
+    }
+
+    @NotNull
+    private String plotFileName(@NotNull final String sample, int frame)
+    {
+        return sample + "." + String.format("%03d", frame) + "." + config.renderer().extension();
     }
 
     private Object createImageFrame(
@@ -311,31 +382,40 @@ public class SvVisualiser implements AutoCloseable
             double labelSize,
             @NotNull final String sample,
             boolean plotFusion,
-            boolean plotChromosome) throws IOException, InterruptedException
+            boolean plotChromosome,
+            @NotNull final String inputHash) throws IOException, InterruptedException
     {
 
         final String confFileName = sample + ".circos." + String.format("%03d", frame) + ".conf";
-        final String outputFileName = sample + "." + String.format("%03d", frame) + ".png";
+        final String outputFileName = plotFileName(sample, frame);
 
         double rLabelSize = 1.2 * labelSize;
 
-        final Object circosResult =
+        final Integer circosResult =
                 new CircosExecution(config.circosBin()).generateCircos(config.outputConfPath() + File.separator + confFileName,
                         config.outputPlotPath(),
                         outputFileName,
                         config.outputConfPath());
 
+        int fusionResult = 0;
         if (plotFusion)
         {
-            new FusionExecution(sample, outputFileName, config.outputConfPath(), config.outputPlotPath()).executeR(circosConfig, rLabelSize);
+            fusionResult = new FusionExecution(sample, outputFileName, config.outputConfPath(), config.outputPlotPath())
+                    .executeR(circosConfig, rLabelSize);
         }
 
-        if (plotChromosome)
+        final Integer result = plotChromosome
+                ? new ChromosomeRangeExecution(sample, outputFileName, config.outputConfPath(), config.outputPlotPath())
+                        .executeR(circosConfig, rLabelSize)
+                : circosResult;
+
+        // a frame with a failed plot step is not cached, so it is drawn again on the next run
+        if (circosResult == 0 && fusionResult == 0 && result == 0)
         {
-            return new ChromosomeRangeExecution(sample, outputFileName, config.outputConfPath(), config.outputPlotPath()).executeR(circosConfig, rLabelSize);
+            frameCache.update(sample, frame, inputHash);
         }
 
-        return circosResult;
+        return result;
     }
 
     @NotNull
@@ -57,6 +57,8 @@ public interface SvVisualiserConfig
     String EXON = "exon";
 
     String THREADS = "threads";
+    String RENDERER = "renderer";
+    String NO_CACHE = "no_cache";
     String INCLUDE_LINE_ELEMENTS = "include_line_elements";
     String GENE = "gene";
 
@@ -90,6 +92,11 @@ public interface SvVisualiserConfig
     @NotNull
     String circosBin();
 
+    @NotNull
+    Renderer renderer();
+
+    boolean cacheFrames();
+
     int threads();
 
     boolean debug();
@@ -113,7 +120,9 @@ public interface SvVisualiserConfig
         options.addOption(LINK, true, "Path to link file");
         options.addOption(PROTEIN_DOMAIN, true, "Path to protein domain file");
         options.addOption(FUSION, true, "Path to fusion file");
-        options.addOption(CIRCOS, true, "Path to circos binary");
+        options.addOption(CIRCOS, true, "Path to circos binary, only required by the circos renderer");
+        options.addOption(RENDERER, true, "Plot renderer: circos, svg or png [circos]");
+        options.addOption(NO_CACHE, false, "Redraw all plots, including those whose inputs have not changed since they were last drawn");
 
         options.addOption(GENE, true, "Add canonical transcriptions of supplied comma separated genes to image");
         options.addOption(CLUSTERS, true, "Only generate image for specified comma separated clusters");
@@ -138,7 +147,8 @@ public interface SvVisualiserConfig
         final String sample = parameter(cmd, SAMPLE, missingJoiner);
         final String plotOutputDir = parameter(cmd, PLOT_OUT, missingJoiner);
         final String dataOutputDir = parameter(cmd, DATA_OUT, missingJoiner);
-        final String circos = parameter(cmd, CIRCOS, missingJoiner);
+        final Renderer renderer = renderer(cmd);
+        final String circos = renderer == Renderer.CIRCOS ? parameter(cmd, CIRCOS, missingJoiner) : cmd.getOptionValue(CIRCOS, "");
         final String exonPath = parameter(cmd, EXON, missingJoiner);
         final String proteinDomainPath = parameter(cmd, PROTEIN_DOMAIN, missingJoiner);
         final String fusionPath = parameter(cmd, FUSION, missingJoiner);
@@ -196,6 +206,8 @@ public interface SvVisualiserConfig
                 .fusions(fusions)
                 .copyNumberAlterations(cna)
                 .circosBin(circos)
+                .renderer(renderer)
+                .cacheFrames(!cmd.hasOption(NO_CACHE))
                 .threads(Integer.valueOf(cmd.getOptionValue(THREADS, "1")))
                 .debug(cmd.hasOption(DEBUG))
                 .clusters(clusterIds)
@@ -204,6 +216,19 @@ public interface SvVisualiserConfig
                 .build();
     }
 
+    @NotNull
+    static Renderer renderer(@NotNull final CommandLine cmd) throws ParseException
+    {
+        final String renderer = cmd.getOptionValue(RENDERER, Renderer.CIRCOS.toString());
+        try
+        {
+            return Renderer.valueOf(renderer.toUpperCase());
+        } catch (IllegalArgumentException e)
+        {
+            throw new ParseException(RENDERER + " should be one of circos, svg or png");
+        }
+    }
+
     @NotNull
     static List<Integer> clusters(@NotNull final CommandLine cmd) throws ParseException
     {
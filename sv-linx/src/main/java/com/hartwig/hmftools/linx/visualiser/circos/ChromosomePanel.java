@@ -0,0 +1,274 @@
+package com.hartwig.hmftools.linx.visualiser.circos;
+
+import java.awt.Color;
+import java.awt.geom.Rectangle2D;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.hartwig.hmftools.common.genome.region.GenomeRegion;
+import com.hartwig.hmftools.linx.visualiser.SvCircosConfig;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Draws every chromosome of a frame as an ideogram of its cytobands with the plotted range outlined in the colour of the chromosome,
+ * as the chromosome range R script does. Chromosomes are laid out in rows, with the first row holding as many chromosomes as it can
+ * without needing more rows than the configured columns allow.
+ */
+public class ChromosomePanel implements FramePanel
+{
+    private static final String CYTO_BANDS = "/r/cytoBand.txt";
+
+    private static final double PANEL_WIDTH = 0.85;
+    private static final double MIN_RELATIVE_LENGTH = 0.1;
+    private static final double IDEOGRAM_HEIGHT = 0.3;
+    private static final double RANGE_HEIGHT = 0.55;
+    private static final double RANGE_THICKNESS = 6;
+    private static final double CELL_PADDING = 10;
+
+    private static final Color BAND_OUTLINE = new Color(95, 95, 95);
+    private static final Color CENTROMERE = new Color(217, 47, 39);
+    private static final Color VARIABLE = new Color(220, 220, 220);
+    private static final Color STALK = new Color(100, 127, 164);
+
+    private static final Map<String, List<CytoBand>> BANDS = readCytoBands();
+
+    private final int rowHeight;
+    private final double labelSize;
+    private final List<GenomeRegion> ranges;
+    private final List<Cell> cells;
+    private final int rows;
+
+    public ChromosomePanel(@NotNull final SvCircosConfig config, @NotNull final CircosData data)
+    {
+        this.rowHeight = config.chromosomeRangeHeight();
+        this.labelSize = 1.2 * data.labelSize();
+        this.ranges = Span.spanRegions(data.unadjustedAlterations())
+                .stream()
+                .filter(x -> BANDS.containsKey(contig(x.chromosome())))
+                .collect(Collectors.toList());
+
+        final List<Double> lengths = ranges.stream().map(x -> (double) chromosomeLength(x.chromosome())).collect(Collectors.toList());
+        this.cells = layout(lengths, config.chromosomeRangeColumns());
+        this.rows = cells.isEmpty() ? 0 : rowCount(cells);
+    }
+
+    @Override
+    public int height()
+    {
+        return rows * rowHeight;
+    }
+
+    @Override
+    public void draw(@NotNull final FrameCanvas canvas, double top)
+    {
+        double panelWidth = PANEL_WIDTH * FrameRenderer.IMAGE_SIZE;
+        double left = (FrameRenderer.IMAGE_SIZE - panelWidth) / 2;
+
+        for (int i = 0; i < ranges.size(); i++)
+        {
+            final Cell cell = cells.get(i);
+            drawChromosome(canvas, ranges.get(i), left + cell.x * panelWidth, top + cell.row * rowHeight, cell.width * panelWidth);
+        }
+    }
+
+    private void drawChromosome(@NotNull final FrameCanvas canvas, @NotNull final GenomeRegion range, double x, double y, double width)
+    {
+        final String contig = contig(range.chromosome());
+        final Color color = ColorPicker.contigColour(contig);
+        double middle = y + rowHeight / 2d;
+
+        // the label sits to the left of the ideogram, which fills the rest of the cell
+        canvas.text("CHR " + contig, x + CELL_PADDING, middle, 0, labelSize, FrameCanvas.Anchor.START);
+
+        double ideogramStart = x + CELL_PADDING + 4 * labelSize;
+        double ideogramWidth = Math.max(1, width - 2 * CELL_PADDING - 4 * labelSize);
+        double length = chromosomeLength(contig);
+        double bandTop = middle - IDEOGRAM_HEIGHT * rowHeight / 2;
+
+        for (CytoBand band : BANDS.get(contig))
+        {
+            double start = ideogramStart + band.start / length * ideogramWidth;
+            double end = ideogramStart + band.end / length * ideogramWidth;
+            canvas.fill(new Rectangle2D.Double(start, bandTop, end - start, IDEOGRAM_HEIGHT * rowHeight), band.color);
+        }
+
+        canvas.draw(new Rectangle2D.Double(ideogramStart, bandTop, ideogramWidth, IDEOGRAM_HEIGHT * rowHeight), BAND_OUTLINE, 1);
+
+        double rangeStart = ideogramStart + Math.max(0, range.start()) / length * ideogramWidth;
+        double rangeEnd = ideogramStart + Math.min(length, range.end()) / length * ideogramWidth;
+        double rangeTop = middle - RANGE_HEIGHT * rowHeight / 2;
+        canvas.draw(new Rectangle2D.Double(rangeStart, rangeTop, Math.max(1, rangeEnd - rangeStart), RANGE_HEIGHT * rowHeight),
+                color,
+                RANGE_THICKNESS);
+    }
+
+    // positions each chromosome in its row, with the widths of the chromosomes relative to the longest row and each row centered
+    @NotNull
+    private static List<Cell> layout(@NotNull final List<Double> lengths, int maxColumns)
+    {
+        if (lengths.isEmpty())
+        {
+            return Lists.newArrayList();
+        }
+
+        int maxRows = (int) Math.ceil(lengths.size() / (double) maxColumns);
+        final List<Cell> cells = rows(lengths, firstRowColumns(lengths, maxColumns, maxRows));
+
+        final Map<Integer, Double> rowLengths = Maps.newHashMap();
+        cells.forEach(x -> rowLengths.merge(x.row, x.relativeLength, Double::sum));
+        double maxRowLength = rowLengths.values().stream().mapToDouble(Double::doubleValue).max().orElse(1);
+
+        int currentRow = -1;
+        double x = 0;
+        for (Cell cell : cells)
+        {
+            if (cell.row != currentRow)
+            {
+                currentRow = cell.row;
+                x = (1 - rowLengths.get(cell.row) / maxRowLength) / 2;
+            }
+
+            cell.x = x;
+            cell.width = cell.relativeLength / maxRowLength;
+            x += cell.width;
+        }
+
+        return cells;
+    }
+
+    private static int firstRowColumns(@NotNull final List<Double> lengths, int maxColumns, int maxRows)
+    {
+        for (int columns = 1; columns <= maxColumns; columns++)
+        {
+            if (rowCount(rows(lengths, columns)) <= maxRows)
+            {
+                return columns;
+            }
+        }
+
+        return firstRowColumns(lengths, maxColumns, rowCount(rows(lengths, maxColumns)));
+    }
+
+    // lengths are relative to the combined length of the chromosomes in the first row, and each row holds a combined length of one
+    @NotNull
+    private static List<Cell> rows(@NotNull final List<Double> lengths, int columnsInFirstRow)
+    {
+        double firstRowLength = lengths.stream().limit(columnsInFirstRow).mapToDouble(Double::doubleValue).sum();
+
+        final List<Cell> result = Lists.newArrayList();
+        double totalLength = 0;
+        for (double length : lengths)
+        {
+            double relativeLength = Math.max(MIN_RELATIVE_LENGTH, length / firstRowLength);
+            totalLength += relativeLength;
+            result.add(new Cell(relativeLength, Math.max(0, (int) Math.ceil(totalLength - 1e-9) - 1)));
+        }
+
+        return result;
+    }
+
+    private static int rowCount(@NotNull final List<Cell> cells)
+    {
+        return cells.get(cells.size() - 1).row + 1;
+    }
+
+    private static long chromosomeLength(@NotNull final String chromosome)
+    {
+        final List<CytoBand> bands = BANDS.get(contig(chromosome));
+        return (long) bands.get(bands.size() - 1).end;
+    }
+
+    @NotNull
+    private static String contig(@NotNull final String chromosome)
+    {
+        return chromosome.replace("chr", "");
+    }
+
+    @NotNull
+    private static Map<String, List<CytoBand>> readCytoBands()
+    {
+        final Map<String, List<CytoBand>> result = Maps.newHashMap();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ChromosomePanel.class.getResourceAsStream(CYTO_BANDS),
+                StandardCharsets.UTF_8)))
+        {
+            // skip the header
+            reader.readLine();
+            for (String line = reader.readLine(); line != null; line = reader.readLine())
+            {
+                final String[] columns = line.trim().split("\\s+");
+                if (columns.length >= 5)
+                {
+                    result.computeIfAbsent(contig(columns[0]), x -> Lists.newArrayList())
+                            .add(new CytoBand(Double.parseDouble(columns[1]), Double.parseDouble(columns[2]), bandColor(columns[4])));
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+
+        return result;
+    }
+
+    // giemsa positive bands are shaded by their stain intensity
+    @NotNull
+    private static Color bandColor(@NotNull final String stain)
+    {
+        switch (stain)
+        {
+            case "acen":
+                return CENTROMERE;
+            case "gvar":
+                return VARIABLE;
+            case "stalk":
+                return STALK;
+            default:
+                if (stain.startsWith("gpos"))
+                {
+                    int intensity = stain.length() > 4 ? Integer.parseInt(stain.substring(4)) : 100;
+                    int grey = (int) Math.round(255 * (1 - intensity / 100d));
+                    return new Color(grey, grey, grey);
+                }
+
+                return Color.WHITE;
+        }
+    }
+
+    private static class Cell
+    {
+        private final double relativeLength;
+        private final int row;
+        private double x;
+        private double width;
+
+        private Cell(double relativeLength, int row)
+        {
+            this.relativeLength = relativeLength;
+            this.row = row;
+        }
+    }
+
+    private static class CytoBand
+    {
+        private final double start;
+        private final double end;
+        private final Color color;
+
+        private CytoBand(double start, double end, @NotNull final Color color)
+        {
+            this.start = start;
+            this.end = end;
+            this.color = color;
+        }
+    }
+}
@@ -8,9 +8,11 @@ import java.io.InputStreamReader;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.List;
 import java.util.StringJoiner;
 import java.util.function.Function;
 
+import com.google.common.collect.Lists;
 import com.hartwig.hmftools.linx.visualiser.SvCircosConfig;
 
 import org.apache.logging.log4j.core.util.IOUtils;
@@ -40,6 +42,9 @@ public class CircosConfigWriter
     private final double mapInnerRadius;
     private final double labelSize;
 
+    private final int cnaGainTracks;
+    private final int mapGainTracks;
+
     public CircosConfigWriter(@NotNull final String sample, @NotNull final String outputDir, @NotNull final CircosData data, @NotNull final SvCircosConfig config)
     {
         this.sample = sample;
@@ -61,8 +66,8 @@ public class CircosConfigWriter
 
         double totalSpaceAvailable = 1 - numberOfGaps * gapSize - config.innerRadius();
         double purpleSpaceAvailable = copyNumberRelativeSize / totalRelativeSize * totalSpaceAvailable;
-        int cnaGainTracks = Math.max(2, (int) Math.round(Math.ceil(data.maxCopyNumber() - 2)));
-        int mapGainTracks = Math.max(1, (int) Math.round(Math.ceil(data.maxMinorAllelePloidy() - 1)));
+        cnaGainTracks = Math.max(2, (int) Math.round(Math.ceil(data.maxCopyNumber() - 2)));
+        mapGainTracks = Math.max(1, (int) Math.round(Math.ceil(data.maxMinorAllelePloidy() - 1)));
         double purpleTrackSize = purpleSpaceAvailable / (1 + 2 + cnaGainTracks + mapGainTracks);
 
         if (displayGenes)
@@ -103,11 +108,76 @@ public class CircosConfigWriter
         return segmentInnerRadius + track * singleTrack;
     }
 
-    private double segmentOuterRadius()
+    public double segmentOuterRadius()
     {
         return segmentOuterRadius;
     }
 
+    public double exonInnerRadius()
+    {
+        return exonInnerRadius;
+    }
+
+    public double exonOuterRadius()
+    {
+        return exonOuterRadius;
+    }
+
+    public double geneInnerRadius()
+    {
+        return geneInnerRadius;
+    }
+
+    public double geneOuterRadius()
+    {
+        return geneOuterRadius;
+    }
+
+    public double segmentInnerRadius()
+    {
+        return segmentInnerRadius;
+    }
+
+    public double copyNumberInnerRadius()
+    {
+        return copyNumberInnerRadius;
+    }
+
+    public double copyNumberMiddleRadius()
+    {
+        return copyNumberMiddleRadius;
+    }
+
+    public double copyNumberOuterRadius()
+    {
+        return copyNumberOuterRadius;
+    }
+
+    public double mapInnerRadius()
+    {
+        return mapInnerRadius;
+    }
+
+    public double mapMiddleRadius()
+    {
+        return mapMiddleRadius;
+    }
+
+    public double mapOuterRadius()
+    {
+        return mapOuterRadius;
+    }
+
+    public int cnaGainTracks()
+    {
+        return cnaGainTracks;
+    }
+
+    public int mapGainTracks()
+    {
+        return mapGainTracks;
+    }
+
     @NotNull
     public String writeConfig(int frame)
             throws IOException
@@ -118,9 +188,9 @@ public class CircosConfigWriter
         int chromosomeCount = circosData.contigLengths().size();
         int totalContigLength = circosData.totalContigLength();
 
-        int cnaMaxTracks = Math.max(2, (int) Math.round(Math.ceil(circosData.maxCopyNumber() - 2)));
+        int cnaMaxTracks = cnaGainTracks;
 
-        int mapMaxTracks = Math.max(1, (int) Math.round(Math.ceil(circosData.maxMinorAllelePloidy() - 1)));
+        int mapMaxTracks = mapGainTracks;
         double distanceLabelOffset = Math.ceil(4 * labelSize);
 
         final Charset charset = StandardCharsets.UTF_8;
@@ -175,21 +245,29 @@ public class CircosConfigWriter
     static String cnaAxisPositions(int maxTracks)
     {
         StringJoiner builder = new StringJoiner(",");
+        cnaAxisRelativePositions(maxTracks).forEach(x -> builder.add(x + "r"));
+        return builder.toString();
+    }
+
+    @NotNull
+    static List<Double> cnaAxisRelativePositions(int maxTracks)
+    {
+        final List<Double> result = Lists.newArrayList();
 
         final double rel = 1d / maxTracks;
-        final Function<Integer, String> relString = i -> String.valueOf(Math.round(i * rel * 10000) / 10000d) + "r";
+        final Function<Integer, Double> relValue = i -> Math.round(i * rel * 10000) / 10000d;
 
         for (int i = 1; i <= Math.min(7, maxTracks); i++)
         {
-            builder.add(relString.apply(i));
+            result.add(relValue.apply(i));
         }
 
         for (int i = 8; i <= maxTracks; i += 10)
         {
-            builder.add(relString.apply(i));
+            result.add(relValue.apply(i));
         }
 
-        return builder.toString();
+        return result;
     }
 
 }
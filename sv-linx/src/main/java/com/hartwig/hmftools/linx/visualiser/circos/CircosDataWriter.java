@@ -45,8 +45,8 @@ public class CircosDataWriter
 
     private static final int MAX_CONTIG_LENGTH_TO_DISPLAY_EXON_RANK = 100000;
 
-    private static final int MIN_KAROTYPE_LENGTH = 10;
-    private static final String DELIMITER = "\t";
+    static final int MIN_KAROTYPE_LENGTH = 10;
+    static final String DELIMITER = "\t";
 
     private final String filePrefix;
     private final ColorPicker colorPicker;
@@ -68,25 +68,7 @@ public class CircosDataWriter
 
     public Object write() throws IOException
     {
-        final Map<String, String> geneColorMap = Maps.newHashMap();
-        data.genes().forEach(x ->
-        {
-            switch (x.type())
-            {
-                case PSEUDO:
-                    geneColorMap.put(x.name(), SINGLE_YELLOW);
-                    break;
-                case DRIVER:
-                    geneColorMap.put(x.name(), SINGLE_GREEN);
-                    break;
-                case FUSION:
-                    geneColorMap.put(x.name(), SINGLE_BLUE);
-                    break;
-            }
-        });
-
-        data.upstreamGenes().forEach(x -> geneColorMap.put(x, SINGLE_BLUE));
-        data.downstreamGenes().forEach(x -> geneColorMap.put(x, SINGLE_RED));
+        final Map<String, String> geneColorMap = geneColors(data);
 
         int totalContigLength = data.totalContigLength();
 
@@ -110,7 +92,7 @@ public class CircosDataWriter
         Files.write(new File(geneNamePath).toPath(), geneName(data.genes()));
 
         final String textPath = filePrefix + ".position.circos";
-        Files.write(new File(textPath).toPath(), createPositionText(data.unadjustedLinks(), links));
+        Files.write(new File(textPath).toPath(), createPositionText(circosConfig, data.unadjustedLinks(), links));
 
         final String histogramPath = filePrefix + ".segment.circos";
         Files.write(new File(histogramPath).toPath(), createHistogramTrack(segments));
@@ -143,7 +125,7 @@ public class CircosDataWriter
         Files.write(new File(line).toPath(), highlights(lineElements));
 
         final String distances = filePrefix + ".distance.circos";
-        Files.write(new File(distances).toPath(), createDistances(data.unadjustedAlterations(), alterations));
+        Files.write(new File(distances).toPath(), createDistances(circosConfig, data.unadjustedAlterations(), alterations));
 
         final String chromosomeBandPath = filePrefix + ".chromosome.circos";
         Files.write(new File(chromosomeBandPath).toPath(), chromosomeLocations(data.unadjustedAlterations()));
@@ -151,6 +133,31 @@ public class CircosDataWriter
         return this;
     }
 
+    @NotNull
+    static Map<String, String> geneColors(@NotNull final CircosData data)
+    {
+        final Map<String, String> geneColorMap = Maps.newHashMap();
+        data.genes().forEach(x ->
+        {
+            switch (x.type())
+            {
+                case PSEUDO:
+                    geneColorMap.put(x.name(), SINGLE_YELLOW);
+                    break;
+                case DRIVER:
+                    geneColorMap.put(x.name(), SINGLE_GREEN);
+                    break;
+                case FUSION:
+                    geneColorMap.put(x.name(), SINGLE_BLUE);
+                    break;
+            }
+        });
+
+        data.upstreamGenes().forEach(x -> geneColorMap.put(x, SINGLE_BLUE));
+        data.downstreamGenes().forEach(x -> geneColorMap.put(x, SINGLE_RED));
+        return geneColorMap;
+    }
+
     @NotNull
     private List<String> chromosomeLocations(@NotNull final List<CopyNumberAlteration> unadjustedAlterations)
     {
@@ -292,8 +299,8 @@ public class CircosDataWriter
     }
 
     @NotNull
-    private List<String> createDistances(@NotNull final List<CopyNumberAlteration> unadjustedSegment,
-            @NotNull final List<CopyNumberAlteration> segments)
+    static List<String> createDistances(@NotNull final SvCircosConfig circosConfig,
+            @NotNull final List<CopyNumberAlteration> unadjustedSegment, @NotNull final List<CopyNumberAlteration> segments)
     {
         final List<String> result = Lists.newArrayList();
         long unadjustedSegments = segments.stream().filter(x -> !x.truncated()).count();
@@ -410,7 +417,7 @@ public class CircosDataWriter
     }
 
     @NotNull
-    private String scatterGlyph(boolean isStart, @NotNull final Segment segment, @NotNull final List<Link> links)
+    static String scatterGlyph(boolean isStart, @NotNull final Segment segment, @NotNull final List<Link> links)
     {
         long location = isStart ? segment.start() : segment.end();
         final SegmentTerminal terminal = isStart ? segment.startTerminal() : segment.endTerminal();
@@ -551,32 +558,33 @@ public class CircosDataWriter
     }
 
     @NotNull
-    private List<String> createPositionText(@NotNull final List<Link> originalLinks, @NotNull final List<Link> scaledLinks)
+    static List<String> createPositionText(@NotNull final SvCircosConfig circosConfig, @NotNull final List<Link> originalLinks,
+            @NotNull final List<Link> scaledLinks)
     {
         final List<AdjustedPosition> positions = AdjustedPositions.create(originalLinks, scaledLinks);
         if (circosConfig.exactPosition())
         {
-            return createPositionText(1, positions, POSITION_FORMAT::format);
+            return createPositionText(circosConfig, 1, positions, POSITION_FORMAT::format);
         }
 
-        final List<String> positionsEvery100k = createPositionText(100_000, positions, CircosDataWriter::shorthand);
+        final List<String> positionsEvery100k = createPositionText(circosConfig, 100_000, positions, CircosDataWriter::shorthand);
         if (positionsEvery100k.size() < circosConfig.maxNumberOfPositionLabels())
         {
             return positionsEvery100k;
         }
 
-        final List<String> positionsEvery1M = createPositionText(1_000_000, positions, CircosDataWriter::shorthand);
+        final List<String> positionsEvery1M = createPositionText(circosConfig, 1_000_000, positions, CircosDataWriter::shorthand);
         if (positionsEvery1M.size() < circosConfig.maxNumberOfPositionLabels())
         {
             return positionsEvery1M;
         }
 
-        return createPositionText(10_000_000, positions, CircosDataWriter::shorthand);
+        return createPositionText(circosConfig, 10_000_000, positions, CircosDataWriter::shorthand);
     }
 
     @NotNull
-    private List<String> createPositionText(int minDistance, @NotNull final List<AdjustedPosition> positions,
-            @NotNull final Function<Long, String> formatter)
+    private static List<String> createPositionText(@NotNull final SvCircosConfig circosConfig, int minDistance,
+            @NotNull final List<AdjustedPosition> positions, @NotNull final Function<Long, String> formatter)
     {
         final Set<String> result = Sets.newHashSet();
         final Set<String> contigs = positions.stream().map(GenomePosition::chromosome).collect(Collectors.toSet());
@@ -65,6 +65,21 @@ public class ColorPicker
         return String.format("#%02X%02X%02X", color.getRed(), color.getGreen(), color.getBlue());
     }
 
+    // converts a circos colour option such as color=(r,g,b,opacity) or fill_color=white
+    @NotNull
+    public static Color circosColor(@NotNull final String option)
+    {
+        final String value = option.substring(option.indexOf('=') + 1).trim();
+        if (value.startsWith("("))
+        {
+            final String[] parts = value.substring(1, value.length() - 1).split(",");
+            double opacity = parts.length > 3 ? Double.parseDouble(parts[3]) : 1;
+            return new Color(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()), Integer.parseInt(parts[2].trim()),
+                    (int) Math.round(255 * opacity));
+        }
+
+        return value.equals("white") ? Color.WHITE : Color.BLACK;
+    }
 
     private static final Color BLACK = new Color(5, 5, 5);
 
@@ -0,0 +1,26 @@
+package com.hartwig.hmftools.linx.visualiser.circos;
+
+import java.awt.Color;
+import java.awt.Shape;
+import java.io.IOException;
+
+import org.jetbrains.annotations.NotNull;
+
+public interface FrameCanvas
+{
+    enum Anchor
+    {
+        START,
+        MIDDLE,
+        END
+    }
+
+    void fill(@NotNull final Shape shape, @NotNull final Color color);
+
+    void draw(@NotNull final Shape shape, @NotNull final Color color, double thickness);
+
+    // text is drawn rotated clockwise around (x,y), starting, centered or ending there
+    void text(@NotNull final String text, double x, double y, double rotation, double size, @NotNull final Anchor anchor);
+
+    void write(@NotNull final String fileName) throws IOException;
+}
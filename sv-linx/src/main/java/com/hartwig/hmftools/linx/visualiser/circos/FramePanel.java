@@ -0,0 +1,11 @@
+package com.hartwig.hmftools.linx.visualiser.circos;
+
+import org.jetbrains.annotations.NotNull;
+
+// a panel drawn beneath the circos image of a frame, across the full width of the image
+public interface FramePanel
+{
+    int height();
+
+    void draw(@NotNull final FrameCanvas canvas, double top);
+}
@@ -0,0 +1,537 @@
+package com.hartwig.hmftools.linx.visualiser.circos;
+
+import static com.hartwig.hmftools.linx.visualiser.circos.CircosDataWriter.DELIMITER;
+import static com.hartwig.hmftools.linx.visualiser.circos.CircosDataWriter.MIN_KAROTYPE_LENGTH;
+
+import java.awt.Color;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.hartwig.hmftools.common.genome.chromosome.HumanChromosome;
+import com.hartwig.hmftools.common.genome.position.GenomePosition;
+import com.hartwig.hmftools.common.genome.region.GenomeRegion;
+import com.hartwig.hmftools.linx.visualiser.SvCircosConfig;
+import com.hartwig.hmftools.linx.visualiser.data.Connector;
+import com.hartwig.hmftools.linx.visualiser.data.CopyNumberAlteration;
+import com.hartwig.hmftools.linx.visualiser.data.Exon;
+import com.hartwig.hmftools.linx.visualiser.data.Gene;
+import com.hartwig.hmftools.linx.visualiser.data.Link;
+import com.hartwig.hmftools.linx.visualiser.data.Links;
+import com.hartwig.hmftools.linx.visualiser.data.Segment;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Draws a frame of the circos plot in-process from the same scaled data and track radii that are written out for circos. Track
+ * backgrounds are drawn first, then the data tracks, links and glyphs, and labels last so they are never hidden. Any fusion and
+ * chromosome panels are drawn beneath the circos image.
+ */
+public class FrameRenderer
+{
+    // Dimensions of the circos image and ideogram as configured by the circos template and its default image.conf
+    public static final int IMAGE_SIZE = 3000;
+    private static final double IMAGE_RADIUS = IMAGE_SIZE / 2d;
+    private static final double IDEOGRAM_THICKNESS = 50;
+    private static final double IDEOGRAM_SPACING = 0.005;
+    private static final double IDEOGRAM_LABEL_SIZE = 40;
+    private static final double IDEOGRAM_STROKE = 2;
+
+    private static final Color FAINT = new Color(229, 229, 229);
+    private static final Color DARK_GREY = new Color(95, 95, 95);
+    private static final Color SV_BACKGROUND = new Color(218, 218, 235, 128);
+    private static final Color HIGHLIGHT = new Color(0, 0, 0, 128);
+
+    private static final Color COPY_GAIN = new Color(166, 209, 122);
+    private static final Color COPY_GAIN_LIGHT = new Color(205, 229, 181);
+    private static final Color COPY_GAIN_VERY_LIGHT = new Color(244, 249, 239);
+    private static final Color COPY_LOSS = new Color(222, 119, 174);
+    private static final Color COPY_LOSS_LIGHT = new Color(237, 182, 212);
+    private static final Color COPY_LOSS_VERY_LIGHT = new Color(253, 245, 249);
+
+    private static final Color MAP_GAIN = new Color(107, 174, 214);
+    private static final Color MAP_GAIN_LIGHT = new Color(158, 202, 225);
+    private static final Color MAP_GAIN_VERY_LIGHT = new Color(198, 219, 239, 128);
+    private static final Color MAP_LOSS = new Color(253, 141, 60);
+    private static final Color MAP_LOSS_LIGHT = new Color(253, 174, 107);
+    private static final Color MAP_LOSS_VERY_LIGHT = new Color(253, 208, 162, 128);
+
+    private final CircosData data;
+    private final SvCircosConfig config;
+    private final CircosConfigWriter layout;
+    private final ColorPicker colorPicker;
+    private final Thickness thickness;
+    private final List<FramePanel> panels;
+
+    private final Map<String, Color> geneColors;
+    private final List<String> positionText;
+    private final List<String> distanceText;
+
+    private final List<GenomePosition> contigs;
+    private final Map<String, Double> contigOffsets;
+    private final double totalUnits;
+    private final double ideogramInnerRadius;
+    private final double ideogramOuterRadius;
+    private final double center;
+
+    public FrameRenderer(@NotNull final ColorPicker colorPicker, @NotNull final SvCircosConfig config,
+            @NotNull final CircosConfigWriter layout, @NotNull final CircosData data, @NotNull final List<FramePanel> panels)
+    {
+        this.data = data;
+        this.panels = panels;
+        this.config = config;
+        this.layout = layout;
+        this.colorPicker = colorPicker;
+        this.thickness = new Thickness(config.minLineSize(), config.maxLineSize(), data.connectors());
+
+        geneColors = Maps.newHashMap();
+        CircosDataWriter.geneColors(data).forEach((gene, color) -> geneColors.put(gene, ColorPicker.circosColor(color)));
+        positionText = CircosDataWriter.createPositionText(config, data.unadjustedLinks(), data.links());
+        distanceText = CircosDataWriter.createDistances(config, data.unadjustedAlterations(), data.alterations());
+
+        // contigs are laid out clockwise from the top in karyotype order, each followed by a gap
+        contigs = Lists.newArrayList(data.contigLengths());
+        Collections.sort(contigs);
+
+        double totalLength = contigs.stream().mapToDouble(FrameRenderer::contigLength).sum();
+        double gap = IDEOGRAM_SPACING * totalLength;
+
+        contigOffsets = Maps.newHashMap();
+        double offset = 0;
+        for (GenomePosition contig : contigs)
+        {
+            // also keyed by the circos contig name used in the text tracks
+            contigOffsets.put(contig.chromosome(), offset);
+            contigOffsets.put(HumanChromosome.fromString(contig.chromosome()).toString(), offset);
+            offset += contigLength(contig) + gap;
+        }
+
+        totalUnits = offset;
+        center = IMAGE_RADIUS;
+        ideogramOuterRadius = config.outerRadius() * IMAGE_RADIUS;
+        ideogramInnerRadius = ideogramOuterRadius - IDEOGRAM_THICKNESS;
+    }
+
+    public int height()
+    {
+        return IMAGE_SIZE + panels.stream().mapToInt(FramePanel::height).sum();
+    }
+
+    public void render(int frame, @NotNull final FrameCanvas canvas, @NotNull final String fileName) throws IOException
+    {
+        drawIdeograms(canvas);
+        drawBackgrounds(canvas);
+
+        if (data.displayGenes())
+        {
+            drawGenes(canvas);
+        }
+
+        drawSegments(canvas, frame);
+        drawCopyNumbers(canvas);
+        drawHighlights(canvas);
+        drawConnectors(canvas, frame);
+        drawLinks(canvas, frame);
+        drawScatter(canvas, frame);
+        drawText(canvas);
+
+        double top = IMAGE_SIZE;
+        for (FramePanel panel : panels)
+        {
+            panel.draw(canvas, top);
+            top += panel.height();
+        }
+
+        canvas.write(fileName);
+    }
+
+    private void drawIdeograms(@NotNull final FrameCanvas canvas)
+    {
+        for (GenomePosition contig : contigs)
+        {
+            final Shape ideogram = sector(contig.chromosome(), 1, contigLength(contig), ideogramInnerRadius, ideogramOuterRadius);
+            canvas.fill(ideogram, ColorPicker.contigColour(contig.chromosome()));
+            canvas.draw(ideogram, DARK_GREY, IDEOGRAM_STROKE);
+
+            // circos labels 6 and 9 with a trailing period so they can be told apart upside down
+            String label = HumanChromosome.fromString(contig.chromosome()).toString();
+            label = label.equals("6") || label.equals("9") ? label + "." : label;
+
+            double angle = angle(contig.chromosome(), contigLength(contig) / 2);
+            double radius = (ideogramInnerRadius + ideogramOuterRadius) / 2 - 15;
+            double rotation = Math.toDegrees(angle);
+            rotation = rotation > 90 && rotation < 270 ? rotation + 180 : rotation;
+            canvas.text(label.toUpperCase(), x(angle, radius), y(angle, radius), rotation, IDEOGRAM_LABEL_SIZE, FrameCanvas.Anchor.MIDDLE);
+        }
+    }
+
+    private void drawGenes(@NotNull final FrameCanvas canvas)
+    {
+        double geneInner = relative(layout.geneInnerRadius());
+        double geneOuter = relative(layout.geneOuterRadius());
+        for (Gene gene : data.genes())
+        {
+            canvas.fill(sector(gene, geneInner, geneOuter), geneColors.getOrDefault(gene.name(), Color.BLACK));
+        }
+
+        double exonInner = relative(layout.exonInnerRadius());
+        double exonOuter = relative(layout.exonOuterRadius());
+        for (Exon exon : data.exons())
+        {
+            canvas.fill(sector(exon, exonInner, exonOuter), geneColors.getOrDefault(exon.gene(), Color.BLACK));
+        }
+
+        final Color disrupted = new Color(255, 255, 255, 153);
+        for (GenomeRegion region : data.disruptedGeneRegions())
+        {
+            canvas.fill(sector(region, exonInner, exonOuter), disrupted);
+        }
+    }
+
+    private void drawSegments(@NotNull final FrameCanvas canvas, int frame)
+    {
+        for (Segment segment : data.segments())
+        {
+            if (segment.track() > 0)
+            {
+                double halfThickness = thickness.thicknessPixels(segment.ploidy()) / 2d;
+                double radius = relative(layout.svTrackRelative(segment.track()));
+                final Color color = frameColor(frame, segment.frame(), colorPicker.transparentColor(segment.clusterId(), segment.chainId()));
+                canvas.fill(sector(segment, radius - halfThickness, radius + halfThickness), color);
+            }
+        }
+    }
+
+    private void drawText(@NotNull final FrameCanvas canvas)
+    {
+        double labelSize = data.labelSize();
+
+        // position labels sit outside the ideograms
+        for (String line : positionText)
+        {
+            final String[] columns = line.split(DELIMITER);
+            radialText(canvas, columns[3], angle(contig(columns[0]), Long.parseLong(columns[1])), ideogramOuterRadius + 10, labelSize);
+        }
+
+        if (data.displayGenes())
+        {
+            for (Gene gene : data.genes())
+            {
+                radialText(canvas, gene.name(), angle(gene.chromosome(), gene.namePosition()), relative(layout.exonInnerRadius()) - 20,
+                        data.geneLabelSize());
+            }
+
+            if (data.totalContigLength() <= 100_000)
+            {
+                for (Exon exon : data.exons())
+                {
+                    long position = exon.start() + (exon.end() - exon.start()) / 2;
+                    radialText(canvas, String.valueOf(exon.rank()), angle(exon.chromosome(), position),
+                            relative(layout.exonOuterRadius()) + 5, labelSize);
+                }
+            }
+        }
+
+        double distanceRadius = relative(layout.copyNumberOuterRadius()) - Math.ceil(4 * labelSize);
+        for (String line : distanceText)
+        {
+            final String[] columns = line.split(DELIMITER);
+            final String contig = contig(columns[0]);
+            double angle = (angle(contig, Long.parseLong(columns[1])) + angle(contig, Long.parseLong(columns[2]))) / 2;
+            radialText(canvas, columns[3], angle, distanceRadius, labelSize);
+        }
+    }
+
+    private void drawBackgrounds(@NotNull final FrameCanvas canvas)
+    {
+        double svInner = relative(layout.segmentInnerRadius());
+        double svOuter = relative(layout.segmentOuterRadius());
+
+        double cnaInner = relative(layout.copyNumberInnerRadius());
+        double cnaMiddle = relative(layout.copyNumberMiddleRadius());
+        double cnaOuter = relative(layout.copyNumberOuterRadius());
+
+        double mapInner = relative(layout.mapInnerRadius());
+        double mapMiddle = relative(layout.mapMiddleRadius());
+        double mapOuter = relative(layout.mapOuterRadius());
+
+        int mapGainTracks = layout.mapGainTracks();
+
+        for (GenomePosition contig : contigs)
+        {
+            canvas.fill(contigSector(contig, svInner, svOuter), SV_BACKGROUND);
+            canvas.fill(contigSector(contig, cnaMiddle, cnaOuter), COPY_GAIN_VERY_LIGHT);
+            canvas.fill(contigSector(contig, cnaInner, cnaMiddle), COPY_LOSS_VERY_LIGHT);
+            canvas.fill(contigSector(contig, mapMiddle, mapOuter), MAP_GAIN_VERY_LIGHT);
+            canvas.fill(contigSector(contig, mapInner, mapMiddle), MAP_LOSS_VERY_LIGHT);
+
+            for (double position : CircosConfigWriter.cnaAxisRelativePositions(layout.cnaGainTracks()))
+            {
+                canvas.draw(contigArc(contig, cnaMiddle + position * (cnaOuter - cnaMiddle)), COPY_GAIN_LIGHT, 3);
+            }
+
+            canvas.draw(contigArc(contig, (cnaInner + cnaMiddle) / 2), COPY_LOSS_LIGHT, 3);
+
+            for (int i = 0; i <= mapGainTracks; i++)
+            {
+                canvas.draw(contigArc(contig, mapMiddle + i * (mapOuter - mapMiddle) / mapGainTracks), MAP_GAIN_LIGHT, 1);
+            }
+
+            canvas.draw(contigArc(contig, mapInner), MAP_LOSS_LIGHT, 1);
+        }
+    }
+
+    private void drawCopyNumbers(@NotNull final FrameCanvas canvas)
+    {
+        double cnaInner = relative(layout.copyNumberInnerRadius());
+        double cnaMiddle = relative(layout.copyNumberMiddleRadius());
+        double cnaOuter = relative(layout.copyNumberOuterRadius());
+
+        double mapInner = relative(layout.mapInnerRadius());
+        double mapMiddle = relative(layout.mapMiddleRadius());
+        double mapOuter = relative(layout.mapOuterRadius());
+
+        for (CopyNumberAlteration alteration : data.alterations())
+        {
+            double copyNumber = alteration.copyNumber() - 2;
+            histogram(canvas, alteration, copyNumber, cnaMiddle, cnaOuter, layout.cnaGainTracks(), cnaInner, 2, COPY_GAIN, COPY_LOSS);
+
+            double minorAllelePloidy = alteration.minorAllelePloidy() - 1;
+            histogram(canvas, alteration, minorAllelePloidy, mapMiddle, mapOuter, layout.mapGainTracks(), mapInner, 1, MAP_GAIN, MAP_LOSS);
+        }
+    }
+
+    private void histogram(@NotNull final FrameCanvas canvas, @NotNull final GenomeRegion region, double value, double middle,
+            double outer, double gainMax, double inner, double lossMax, @NotNull final Color gain, @NotNull final Color loss)
+    {
+        if (value > 0)
+        {
+            double radius = middle + Math.min(value, gainMax) / gainMax * (outer - middle);
+            canvas.fill(sector(region, middle, radius), gain);
+        }
+        else if (value < 0)
+        {
+            double radius = middle - Math.min(-value, lossMax) / lossMax * (middle - inner);
+            canvas.fill(sector(region, radius, middle), loss);
+        }
+    }
+
+    private void drawConnectors(@NotNull final FrameCanvas canvas, int frame)
+    {
+        double mapInner = relative(layout.mapInnerRadius());
+        for (Connector connector : data.connectors())
+        {
+            double angle = angle(connector.chromosome(), connector.position());
+            double radius = relative(layout.svTrackRelative(connector.track()));
+            final Color color = frameColor(frame, connector.frame(), colorPicker.transparentColor(connector.clusterId(), connector.chainId()));
+
+            canvas.draw(new Line2D.Double(x(angle, mapInner), y(angle, mapInner), x(angle, radius), y(angle, radius)),
+                    color,
+                    thickness.thicknessPixels(connector.ploidy()));
+        }
+    }
+
+    private void drawScatter(@NotNull final FrameCanvas canvas, int frame)
+    {
+        double glyphSize = config.glyphSize();
+        double glyphSizeInner = Math.floor(config.glyphSize() * 14d / 20d);
+
+        for (Segment segment : data.segments())
+        {
+            if (segment.track() == 0)
+            {
+                continue;
+            }
+
+            final Color color = frameColor(frame, segment.frame(), colorPicker.transparentColor(segment.clusterId(), segment.chainId()));
+            double radius = relative(layout.svTrackRelative(segment.track()));
+
+            for (boolean isStart : new boolean[] { true, false })
+            {
+                final String glyph = CircosDataWriter.scatterGlyph(isStart, segment, data.links());
+                double angle = angle(segment.chromosome(), isStart ? segment.start() : segment.end());
+                canvas.fill(glyph(glyph, angle, radius, glyphSize), color);
+
+                if ((isStart ? segment.startTerminal() : segment.endTerminal()) == SegmentTerminal.CENTROMERE)
+                {
+                    canvas.fill(glyph(glyph, angle, radius, glyphSizeInner), Color.WHITE);
+                }
+            }
+        }
+
+        double mapInner = relative(layout.mapInnerRadius());
+        for (Link link : data.links())
+        {
+            if (link.isValidStart() && !link.isValidEnd())
+            {
+                double angle = angle(link.startChromosome(), link.startPosition());
+                canvas.fill(glyph("circle", angle, mapInner, glyphSize),
+                        ColorPicker.circosColor(colorPicker.transparentColor(link.clusterId(), link.chainId())));
+                canvas.fill(glyph("circle", angle, mapInner, glyphSizeInner), Color.WHITE);
+            }
+        }
+    }
+
+    private void drawHighlights(@NotNull final FrameCanvas canvas)
+    {
+        double cnaInner = relative(layout.copyNumberInnerRadius());
+        double cnaMiddle = relative(layout.copyNumberMiddleRadius());
+        double cnaOuter = relative(layout.copyNumberOuterRadius());
+
+        data.lineElements().forEach(x -> canvas.fill(sector(x, cnaMiddle, cnaOuter), HIGHLIGHT));
+        data.fragileSites().forEach(x -> canvas.fill(sector(x, cnaInner, cnaMiddle), HIGHLIGHT));
+    }
+
+    private void drawLinks(@NotNull final FrameCanvas canvas, int frame)
+    {
+        // circos links are quadratic bezier curves with their control point at the center
+        double radius = relative(layout.mapInnerRadius());
+        for (Link link : Links.clean(data.links()))
+        {
+            double startAngle = angle(link.startChromosome(), link.startPosition());
+            double endAngle = angle(link.endChromosome(), link.endPosition());
+
+            final Path2D curve = new Path2D.Double();
+            curve.moveTo(x(startAngle, radius), y(startAngle, radius));
+            curve.quadTo(center, center, x(endAngle, radius), y(endAngle, radius));
+
+            final Color color = frameColor(frame, link.frame(), colorPicker.transparentColor(link.clusterId(), link.chainId()));
+            canvas.draw(curve, color, thickness.thicknessPixels(link.ploidy()));
+        }
+    }
+
+    @NotNull
+    private Shape glyph(@NotNull final String glyph, double angle, double radius, double size)
+    {
+        double x = x(angle, radius);
+        double y = y(angle, radius);
+        double half = size / 2;
+
+        final Shape shape;
+        switch (glyph)
+        {
+            case "square":
+                shape = new Rectangle2D.Double(x - half, y - half, size, size);
+                break;
+            case "triangle":
+                final Path2D triangle = new Path2D.Double();
+                triangle.moveTo(x, y - half);
+                triangle.lineTo(x + half, y + half);
+                triangle.lineTo(x - half, y + half);
+                triangle.closePath();
+                shape = triangle;
+                break;
+            default:
+                return new Ellipse2D.Double(x - half, y - half, size, size);
+        }
+
+        return AffineTransform.getRotateInstance(angle, x, y).createTransformedShape(shape);
+    }
+
+    private void radialText(@NotNull final FrameCanvas canvas, @NotNull final String text, double angle, double radius, double size)
+    {
+        // text reads outwards from the radius, flipped on the left side so it is never upside down
+        double degrees = Math.toDegrees(angle);
+        if (degrees <= 180)
+        {
+            canvas.text(text, x(angle, radius), y(angle, radius), degrees - 90, size, FrameCanvas.Anchor.START);
+        }
+        else
+        {
+            double width = 0.6 * size * text.length();
+            double outerRadius = radius + width;
+            canvas.text(text, x(angle, outerRadius), y(angle, outerRadius), degrees + 90, size, FrameCanvas.Anchor.START);
+        }
+    }
+
+    @NotNull
+    private Shape contigSector(@NotNull final GenomePosition contig, double innerRadius, double outerRadius)
+    {
+        return sector(contig.chromosome(), 1, contigLength(contig), innerRadius, outerRadius);
+    }
+
+    @NotNull
+    private Shape contigArc(@NotNull final GenomePosition contig, double radius)
+    {
+        double startAngle = angle(contig.chromosome(), 1);
+        double endAngle = angle(contig.chromosome(), contigLength(contig));
+        return arc(radius, startAngle, endAngle);
+    }
+
+    @NotNull
+    private Shape sector(@NotNull final GenomeRegion region, double innerRadius, double outerRadius)
+    {
+        return sector(region.chromosome(), region.start(), region.end(), innerRadius, outerRadius);
+    }
+
+    @NotNull
+    private Shape sector(@NotNull final String chromosome, double start, double end, double innerRadius, double outerRadius)
+    {
+        double startAngle = angle(chromosome, start);
+        double endAngle = angle(chromosome, end);
+
+        final Path2D sector = new Path2D.Double();
+        sector.append(arc(outerRadius, startAngle, endAngle), false);
+        sector.append(arc(innerRadius, endAngle, startAngle), true);
+        sector.closePath();
+        return sector;
+    }
+
+    @NotNull
+    private Arc2D arc(double radius, double startAngle, double endAngle)
+    {
+        // Arc2D angles run anti-clockwise from 3 o'clock
+        double start = 90 - Math.toDegrees(startAngle);
+        double extent = -Math.toDegrees(endAngle - startAngle);
+        return new Arc2D.Double(center - radius, center - radius, 2 * radius, 2 * radius, start, extent, Arc2D.OPEN);
+    }
+
+    // clockwise angle from the top in radians
+    private double angle(@NotNull final String chromosome, double position)
+    {
+        return 2 * Math.PI * (contigOffsets.getOrDefault(chromosome, 0d) + position - 1) / totalUnits;
+    }
+
+    private double x(double angle, double radius)
+    {
+        return center + radius * Math.sin(angle);
+    }
+
+    private double y(double angle, double radius)
+    {
+        return center - radius * Math.cos(angle);
+    }
+
+    // track radii are relative to the inner radius of the ideogram
+    private double relative(double relativeRadius)
+    {
+        return relativeRadius * ideogramInnerRadius;
+    }
+
+    @NotNull
+    private static Color frameColor(int currentFrame, int frame, @NotNull final String circosColor)
+    {
+        return frame > currentFrame ? FAINT : ColorPicker.circosColor(circosColor);
+    }
+
+    @NotNull
+    private static String contig(@NotNull final String circosContig)
+    {
+        return circosContig.substring(2);
+    }
+
+    private static double contigLength(@NotNull final GenomePosition contig)
+    {
+        return Math.max(MIN_KAROTYPE_LENGTH, contig.position());
+    }
+}
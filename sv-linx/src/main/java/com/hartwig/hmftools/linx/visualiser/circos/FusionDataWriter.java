@@ -79,4 +79,14 @@ public class FusionDataWriter
         return finalExons;
     }
 
+    public List<ProteinDomain> finalProteinDomains()
+    {
+        return finalProteinDomains;
+    }
+
+    public ProteinDomainColors proteinDomainColors()
+    {
+        return proteinDomainColors;
+    }
+
 }
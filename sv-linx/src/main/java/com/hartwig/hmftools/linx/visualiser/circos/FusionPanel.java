@@ -0,0 +1,252 @@
+package com.hartwig.hmftools.linx.visualiser.circos;
+
+import java.awt.Color;
+import java.awt.geom.Line2D;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.hartwig.hmftools.linx.visualiser.SvCircosConfig;
+import com.hartwig.hmftools.linx.visualiser.data.FusedExon;
+import com.hartwig.hmftools.linx.visualiser.data.ProteinDomain;
+import com.hartwig.hmftools.linx.visualiser.data.ProteinDomains;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Draws a row for each fusion of a frame with the fused exons and protein domains of both genes, followed by a legend of the protein
+ * domains, as the fusion R script does. Positions are the intron scaled positions written for that script, and the exons which are
+ * not part of the fused transcript are faded.
+ */
+public class FusionPanel implements FramePanel
+{
+    private static final Color UP_GENE = new Color(107, 174, 214);
+    private static final Color DOWN_GENE = new Color(214, 144, 107);
+    private static final Color FADED = new Color(255, 255, 255, 153);
+    private static final double DOMAIN_ALPHA = 0.8;
+
+    private static final double MARGIN = 13;
+    private static final double LEGEND_KEY_SIZE = 25;
+
+    private final int fusionHeight;
+    private final int legendRows;
+    private final int legendHeightPerRow;
+    private final double labelSize;
+    private final ProteinDomainColors proteinDomainColors;
+
+    private final Map<String, List<FusedExon>> fusionExons;
+    private final Map<String, List<ProteinDomain>> fusionProteinDomains;
+    private final Map<String, Color> legend;
+
+    public FusionPanel(@NotNull final SvCircosConfig config, double labelSize, @NotNull final FusionDataWriter fusionData)
+    {
+        this.fusionHeight = config.fusionHeight();
+        this.legendRows = config.fusionLegendRows();
+        this.legendHeightPerRow = config.fusionLegendHeightPerRow();
+        this.labelSize = 1.2 * labelSize;
+        this.proteinDomainColors = fusionData.proteinDomainColors();
+
+        fusionExons = Maps.newLinkedHashMap();
+        fusionData.finalExons().forEach(x -> fusionExons.computeIfAbsent(x.fusion(), k -> Lists.newArrayList()).add(x));
+
+        fusionProteinDomains = Maps.newHashMap();
+        fusionData.finalProteinDomains()
+                .forEach(x -> fusionProteinDomains.computeIfAbsent(x.chromosome(), k -> Lists.newArrayList()).add(x));
+
+        legend = new TreeMap<>();
+        fusionData.finalProteinDomains()
+                .stream()
+                .filter(x -> !x.name().equals(ProteinDomains.UTR))
+                .forEach(x -> legend.putIfAbsent(displayName(x), proteinDomainColors.color(x.name())));
+    }
+
+    @Override
+    public int height()
+    {
+        return fusionExons.size() * fusionHeight + (legend.isEmpty() ? 0 : legendRows * legendHeightPerRow);
+    }
+
+    @Override
+    public void draw(@NotNull final FrameCanvas canvas, double top)
+    {
+        double rowTop = top;
+        for (Map.Entry<String, List<FusedExon>> entry : fusionExons.entrySet())
+        {
+            new FusionRow(canvas, entry.getValue(), rowTop).draw(fusionProteinDomains.getOrDefault(entry.getKey(), Lists.newArrayList()));
+            rowTop += fusionHeight;
+        }
+
+        if (!legend.isEmpty())
+        {
+            drawLegend(canvas, rowTop);
+        }
+    }
+
+    // legend entries fill each column before moving to the next, and the columns are centered beneath the fusions
+    private void drawLegend(@NotNull final FrameCanvas canvas, double top)
+    {
+        final List<Map.Entry<String, Color>> entries = Lists.newArrayList(legend.entrySet());
+        int columns = (int) Math.ceil(entries.size() / (double) legendRows);
+        int rows = (int) Math.ceil(entries.size() / (double) columns);
+
+        final double[] columnWidths = new double[columns];
+        for (int i = 0; i < entries.size(); i++)
+        {
+            double width = LEGEND_KEY_SIZE + labelSize + textWidth(entries.get(i).getKey()) + 2 * labelSize;
+            columnWidths[i / rows] = Math.max(columnWidths[i / rows], width);
+        }
+
+        double x = (FrameRenderer.IMAGE_SIZE - Arrays.stream(columnWidths).sum()) / 2;
+        for (int column = 0; column < columns; column++)
+        {
+            for (int row = 0; row < rows && column * rows + row < entries.size(); row++)
+            {
+                final Map.Entry<String, Color> entry = entries.get(column * rows + row);
+                double middle = top + (row + 0.5) * legendHeightPerRow;
+                canvas.fill(new Rectangle2D.Double(x, middle - LEGEND_KEY_SIZE / 2, LEGEND_KEY_SIZE, LEGEND_KEY_SIZE), entry.getValue());
+                canvas.text(entry.getKey(), x + LEGEND_KEY_SIZE + labelSize / 2, middle, 0, labelSize, FrameCanvas.Anchor.START);
+            }
+
+            x += columnWidths[column];
+        }
+    }
+
+    private double textWidth(@NotNull final String text)
+    {
+        return 0.6 * labelSize * text.length();
+    }
+
+    @NotNull
+    private static String displayName(@NotNull final ProteinDomain proteinDomain)
+    {
+        return proteinDomain.name().replace(" domain", "");
+    }
+
+    @NotNull
+    private static Color withAlpha(@NotNull final Color color, double alpha)
+    {
+        return new Color(color.getRed(), color.getGreen(), color.getBlue(), (int) Math.round(255 * alpha));
+    }
+
+    private class FusionRow
+    {
+        private final FrameCanvas canvas;
+        private final List<FusedExon> exons;
+        private final List<FusedExon> upExons;
+        private final List<FusedExon> downExons;
+        private final Set<String> upTranscripts;
+        private final double plotTop;
+        private final double plotBottom;
+        private final double minPosition;
+        private final double maxPosition;
+
+        private FusionRow(@NotNull final FrameCanvas canvas, @NotNull final List<FusedExon> exons, double rowTop)
+        {
+            this.canvas = canvas;
+            this.exons = exons;
+
+            // exons of the upstream gene come first and start at the first position of the fusion
+            long upGeneStart = exons.get(0).geneStart();
+            upExons = exons.stream().filter(x -> x.geneStart() == upGeneStart).collect(Collectors.toList());
+            downExons = exons.stream().filter(x -> x.geneStart() != upGeneStart).collect(Collectors.toList());
+            upTranscripts = upExons.stream().map(FusedExon::transcript).collect(Collectors.toCollection(Sets::newHashSet));
+
+            // the exon ranks label the axis beneath the row
+            plotTop = rowTop;
+            plotBottom = rowTop + fusionHeight - 1.5 * labelSize;
+            minPosition = exons.stream().mapToLong(FusedExon::geneStart).min().orElse(0);
+            maxPosition = Math.max(minPosition + 1, exons.stream().mapToLong(FusedExon::geneEnd).max().orElse(0));
+        }
+
+        private void draw(@NotNull final List<ProteinDomain> proteinDomains)
+        {
+            drawGene(upExons, UP_GENE, true);
+            drawGene(downExons, DOWN_GENE, false);
+
+            for (ProteinDomain domain : proteinDomains)
+            {
+                if (domain.name().equals(ProteinDomains.UTR))
+                {
+                    fill(domain.start(), domain.end(), 0, 1, Color.WHITE);
+                    fill(domain.start(), domain.end(), 0.3, 0.7, upTranscripts.contains(domain.transcript()) ? UP_GENE : DOWN_GENE);
+                }
+            }
+
+            proteinDomains.stream()
+                    .filter(x -> !x.name().equals(ProteinDomains.UTR))
+                    .sorted((x, y) -> displayName(x).compareTo(displayName(y)))
+                    .forEach(x -> fill(x.start(), x.end(), 0.3, 0.7, withAlpha(proteinDomainColors.color(x.name()), DOMAIN_ALPHA)));
+
+            // the exons between the last fused exon of the upstream gene and the first of the downstream gene are faded
+            long fusedUpEnd = upExons.stream().filter(x -> !x.skipped()).mapToLong(FusedExon::end).max().orElse(Long.MIN_VALUE);
+            long fusedDownStart = downExons.stream().filter(x -> !x.skipped()).mapToLong(FusedExon::start).min().orElse(Long.MAX_VALUE);
+            if (fusedUpEnd != Long.MIN_VALUE && fusedDownStart != Long.MAX_VALUE)
+            {
+                fill(fusedUpEnd, fusedDownStart, 0, 1, FADED);
+            }
+
+            if (!upExons.isEmpty())
+            {
+                double breakX = x(upExons.stream().mapToLong(FusedExon::geneEnd).max().getAsLong());
+                canvas.draw(new Line2D.Double(breakX, y(-0.1), breakX, y(1.1)), Color.BLACK, 2);
+            }
+
+            for (FusedExon exon : exons)
+            {
+                canvas.text(String.valueOf(exon.rank()), x(exon.start()), plotBottom + 0.75 * labelSize, 0, labelSize,
+                        FrameCanvas.Anchor.MIDDLE);
+            }
+        }
+
+        private void drawGene(@NotNull final List<FusedExon> geneExons, @NotNull final Color color, boolean upGene)
+        {
+            if (geneExons.isEmpty())
+            {
+                return;
+            }
+
+            final FusedExon first = geneExons.get(0);
+            long start = first.geneStart();
+            for (FusedExon exon : geneExons)
+            {
+                if (exon.rank() == 1)
+                {
+                    start = Math.max(start, exon.start());
+                }
+            }
+            long end = geneExons.stream().mapToLong(FusedExon::geneEnd).max().getAsLong();
+
+            fill(start, end, 0.45, 0.55, color);
+            geneExons.forEach(x -> fill(x.start(), x.end(), 0, 1, color));
+
+            final String label = first.gene() + " - " + first.transcript();
+            canvas.text(label, upGene ? x(start) : x(end), y(1.15) - labelSize / 2, 0, labelSize,
+                    upGene ? FrameCanvas.Anchor.START : FrameCanvas.Anchor.END);
+        }
+
+        private void fill(double start, double end, double bottom, double top, @NotNull final Color color)
+        {
+            double left = x(Math.min(start, end));
+            double right = x(Math.max(start, end));
+            canvas.fill(new Rectangle2D.Double(left, y(top), Math.max(1, right - left), y(bottom) - y(top)), color);
+        }
+
+        private double x(double position)
+        {
+            return MARGIN + (position - minPosition) / (maxPosition - minPosition) * (FrameRenderer.IMAGE_SIZE - 2 * MARGIN);
+        }
+
+        // the row spans values from 0 to 2, with the exons between 0 and 1 and the gene labels above them
+        private double y(double value)
+        {
+            return plotBottom - value / 2 * (plotBottom - plotTop);
+        }
+    }
+}
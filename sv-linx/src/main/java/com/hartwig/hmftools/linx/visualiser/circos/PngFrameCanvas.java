@@ -0,0 +1,72 @@
+package com.hartwig.hmftools.linx.visualiser.circos;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+import javax.imageio.ImageIO;
+
+import org.jetbrains.annotations.NotNull;
+
+public class PngFrameCanvas implements FrameCanvas
+{
+    private final BufferedImage image;
+    private final Graphics2D graphics;
+
+    public PngFrameCanvas(int width, int height)
+    {
+        image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        graphics = image.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        graphics.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, width, height);
+    }
+
+    @Override
+    public void fill(@NotNull final Shape shape, @NotNull final Color color)
+    {
+        graphics.setColor(color);
+        graphics.fill(shape);
+    }
+
+    @Override
+    public void draw(@NotNull final Shape shape, @NotNull final Color color, double thickness)
+    {
+        graphics.setColor(color);
+        graphics.setStroke(new BasicStroke((float) thickness, BasicStroke.CAP_BUTT, BasicStroke.JOIN_ROUND));
+        graphics.draw(shape);
+    }
+
+    @Override
+    public void text(@NotNull final String text, double x, double y, double rotation, double size, @NotNull final Anchor anchor)
+    {
+        final AffineTransform transform = graphics.getTransform();
+        graphics.rotate(Math.toRadians(rotation), x, y);
+        graphics.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, (int) Math.round(size)));
+        graphics.setColor(Color.BLACK);
+
+        double width = graphics.getFontMetrics().stringWidth(text);
+        double ascent = graphics.getFontMetrics().getAscent();
+        double descent = graphics.getFontMetrics().getDescent();
+        double startX = anchor == Anchor.START ? x : x - (anchor == Anchor.MIDDLE ? width / 2 : width);
+        graphics.drawString(text, (float) startX, (float) (y + (ascent - descent) / 2));
+
+        graphics.setTransform(transform);
+    }
+
+    @Override
+    public void write(@NotNull final String fileName) throws IOException
+    {
+        graphics.dispose();
+        ImageIO.write(image, "png", new File(fileName));
+    }
+}
@@ -0,0 +1,140 @@
+package com.hartwig.hmftools.linx.visualiser.circos;
+
+import java.awt.Color;
+import java.awt.Shape;
+import java.awt.geom.PathIterator;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Locale;
+
+import org.jetbrains.annotations.NotNull;
+
+public class SvgFrameCanvas implements FrameCanvas
+{
+    private final int width;
+    private final int height;
+    private final StringBuilder body;
+
+    public SvgFrameCanvas(int width, int height)
+    {
+        this.width = width;
+        this.height = height;
+        this.body = new StringBuilder();
+    }
+
+    @Override
+    public void fill(@NotNull final Shape shape, @NotNull final Color color)
+    {
+        body.append("<path d=\"").append(path(shape)).append("\" fill=\"").append(rgb(color)).append('"');
+        opacity("fill-opacity", color);
+        body.append("/>\n");
+    }
+
+    @Override
+    public void draw(@NotNull final Shape shape, @NotNull final Color color, double thickness)
+    {
+        body.append("<path d=\"").append(path(shape)).append("\" fill=\"none\" stroke=\"").append(rgb(color)).append('"');
+        body.append(" stroke-width=\"").append(format(thickness)).append('"');
+        opacity("stroke-opacity", color);
+        body.append("/>\n");
+    }
+
+    @Override
+    public void text(@NotNull final String text, double x, double y, double rotation, double size, @NotNull final Anchor anchor)
+    {
+        body.append("<text x=\"").append(format(x)).append("\" y=\"").append(format(y)).append('"')
+                .append(" transform=\"rotate(").append(format(rotation)).append(' ').append(format(x)).append(' ').append(format(y))
+                .append(")\" font-family=\"sans-serif\" font-size=\"").append(format(size)).append('"')
+                .append(" dominant-baseline=\"central\" text-anchor=\"").append(anchor.toString().toLowerCase(Locale.ENGLISH)).append("\">")
+                .append(escape(text))
+                .append("</text>\n");
+    }
+
+    @Override
+    public void write(@NotNull final String fileName) throws IOException
+    {
+        final String svg = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + width + "\" height=\"" + height + "\" viewBox=\"0 0 " + width + " "
+                + height + "\">\n"
+                + "<rect width=\"100%\" height=\"100%\" fill=\"white\"/>\n"
+                + body
+                + "</svg>\n";
+
+        Files.write(new File(fileName).toPath(), svg.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void opacity(@NotNull final String attribute, @NotNull final Color color)
+    {
+        if (color.getAlpha() < 255)
+        {
+            body.append(' ').append(attribute).append("=\"").append(format(color.getAlpha() / 255d)).append('"');
+        }
+    }
+
+    @NotNull
+    private static String path(@NotNull final Shape shape)
+    {
+        final StringBuilder result = new StringBuilder();
+        final double[] coords = new double[6];
+
+        for (PathIterator iterator = shape.getPathIterator(null); !iterator.isDone(); iterator.next())
+        {
+            switch (iterator.currentSegment(coords))
+            {
+                case PathIterator.SEG_MOVETO:
+                    result.append('M');
+                    points(result, coords, 1);
+                    break;
+                case PathIterator.SEG_LINETO:
+                    result.append('L');
+                    points(result, coords, 1);
+                    break;
+                case PathIterator.SEG_QUADTO:
+                    result.append('Q');
+                    points(result, coords, 2);
+                    break;
+                case PathIterator.SEG_CUBICTO:
+                    result.append('C');
+                    points(result, coords, 3);
+                    break;
+                case PathIterator.SEG_CLOSE:
+                    result.append('Z');
+                    break;
+            }
+        }
+
+        return result.toString();
+    }
+
+    private static void points(@NotNull final StringBuilder builder, @NotNull final double[] coords, int count)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            if (i > 0)
+            {
+                builder.append(' ');
+            }
+            builder.append(format(coords[2 * i])).append(',').append(format(coords[2 * i + 1]));
+        }
+    }
+
+    @NotNull
+    private static String rgb(@NotNull final Color color)
+    {
+        return "rgb(" + color.getRed() + "," + color.getGreen() + "," + color.getBlue() + ")";
+    }
+
+    @NotNull
+    private static String format(double value)
+    {
+        return String.format(Locale.ENGLISH, "%.2f", value);
+    }
+
+    @NotNull
+    private static String escape(@NotNull final String text)
+    {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
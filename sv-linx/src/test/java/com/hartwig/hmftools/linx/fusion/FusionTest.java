@@ -3,7 +3,9 @@ package com.hartwig.hmftools.linx.fusion;
 import static com.hartwig.hmftools.common.variant.structural.annotation.GeneFusion.REPORTABLE_TYPE_KNOWN;
 import static com.hartwig.hmftools.linx.fusion.FusionFinder.BIOTYPE_PROCESSED_TRANS;
 import static com.hartwig.hmftools.linx.fusion.FusionFinder.BIOTYPE_PROTEIN_CODING;
+import static com.hartwig.hmftools.linx.fusion.FusionFinder.checkFusionLogic;
 import static com.hartwig.hmftools.linx.fusion.FusionFinder.determineReportableFusion;
+import static com.hartwig.hmftools.linx.fusion.FusionFinder.hasOpposingGenes;
 import static com.hartwig.hmftools.linx.types.SvVarData.SE_END;
 import static com.hartwig.hmftools.linx.types.SvVarData.SE_START;
 import static com.hartwig.hmftools.linx.utils.GeneTestUtils.createGeneAnnotation;
@@ -23,6 +25,8 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
 
 import com.google.common.collect.Lists;
 import com.hartwig.hmftools.common.variant.structural.annotation.EnsemblGeneData;
@@ -36,15 +40,25 @@ import com.hartwig.hmftools.common.variant.structural.annotation.ImmutableFusion
 import com.hartwig.hmftools.common.variant.structural.annotation.ImmutableFusionTermination;
 import com.hartwig.hmftools.common.variant.structural.annotation.Transcript;
 import com.hartwig.hmftools.common.variant.structural.annotation.TranscriptData;
+import com.hartwig.hmftools.linx.chaining.SvChain;
 import com.hartwig.hmftools.linx.utils.LinxTester;
+import com.hartwig.hmftools.linx.types.SvBreakend;
 import com.hartwig.hmftools.linx.types.SvCluster;
+import com.hartwig.hmftools.linx.types.SvLinkedPair;
 import com.hartwig.hmftools.linx.types.SvVarData;
 import com.hartwig.hmftools.linx.gene.SvGeneTranscriptCollection;
 
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.junit.Ignore;
 import org.junit.Test;
 
 public class FusionTest
 {
+    private static final Logger LOGGER = LogManager.getLogger(FusionTest.class);
+
     @Test
     public void testReportableFusionComparison()
     {
@@ -362,6 +376,8 @@ public class FusionTest
         tester.FusionAnalyser.run(tester.SampleId, tester.AllVariants, null,
                 tester.getClusters(), tester.Analyser.getState().getChrBreakendMap());
 
+        assertMatchesUnfilteredSearch(tester);
+
         assertEquals(1, tester.FusionAnalyser.getFusions().size());
 
         GeneFusion fusion = tester.FusionAnalyser.getFusions().get(0);
@@ -408,6 +424,8 @@ public class FusionTest
         tester.FusionAnalyser.run(tester.SampleId, tester.AllVariants, null,
                 tester.getClusters(), tester.Analyser.getState().getChrBreakendMap());
 
+        assertMatchesUnfilteredSearch(tester);
+
         assertEquals(1, tester.FusionAnalyser.getFusions().size());
 
         fusion = tester.FusionAnalyser.getFusions().get(0);
@@ -449,6 +467,8 @@ public class FusionTest
         tester.FusionAnalyser.run(tester.SampleId, tester.AllVariants, null,
                 tester.getClusters(), tester.Analyser.getState().getChrBreakendMap());
 
+        assertMatchesUnfilteredSearch(tester);
+
         assertEquals(1, tester.FusionAnalyser.getFusions().size());
 
         fusion = tester.FusionAnalyser.getFusions().get(0);
@@ -515,6 +535,8 @@ public class FusionTest
         tester.FusionAnalyser.run(tester.SampleId, tester.AllVariants, null,
                 tester.getClusters(), tester.Analyser.getState().getChrBreakendMap());
 
+        assertMatchesUnfilteredSearch(tester);
+
         // invalid fusions are no longer cached
         assertEquals(1, tester.FusionAnalyser.getFusions().size());
 
@@ -526,6 +548,95 @@ public class FusionTest
         assertFalse(validateFusionAnnotations(fusion, false, false));
     }
 
+    @Test
+    @Ignore
+    public void benchmarkChromothripsisFusions()
+    {
+        // This function exists just for fast local benchmarking of fusion finding on a synthetic chromothripsis sample.
+        LinxTester tester = new LinxTester();
+        Configurator.setRootLevel(Level.WARN);
+        Configurator.setLevel(LOGGER.getName(), Level.INFO);
+
+        SvGeneTranscriptCollection geneTransCache = new SvGeneTranscriptCollection();
+        tester.initialiseFusions(geneTransCache);
+
+        PRE_GENE_PROMOTOR_DISTANCE = 1000;
+
+        // a run of closely spaced genes on alternating strands, each with a canonical and an alternative transcript
+        String chromosome = "1";
+        int geneCount = 250;
+        long geneSpacing = 4000;
+        int exonLength = 100;
+        int[] exonEndPhases = {-1, 1, 2, 0, 1, -1};
+
+        List<EnsemblGeneData> geneList = Lists.newArrayList();
+        int transId = 0;
+
+        for(int i = 0; i < geneCount; ++i)
+        {
+            String geneId = String.format("ENSG%04d", i);
+            byte strand = (i % 2) == 0 ? (byte)1 : (byte)-1;
+            long geneStart = 10000 + i * geneSpacing;
+
+            long[] exonStarts = new long[exonEndPhases.length];
+
+            for(int j = 0; j < exonStarts.length; ++j)
+            {
+                exonStarts[j] = geneStart + j * 500;
+            }
+
+            List<TranscriptData> transDataList = Lists.newArrayList(
+                    createTransExons(geneId, transId++, strand, exonStarts, exonEndPhases, exonLength, true),
+                    createTransExons(geneId, transId++, strand, exonStarts, new int[] {-1, -1, 0, 1, 2, -1}, exonLength, false));
+
+            addTransExonData(geneTransCache, geneId, transDataList);
+            geneList.add(createEnsemblGeneData(geneId, String.format("GENE%04d", i), chromosome, strand,
+                    geneStart, exonStarts[exonStarts.length - 1] + exonLength));
+        }
+
+        addGeneData(geneTransCache, chromosome, geneList);
+
+        // shatter the region with SVs whose breakends are close enough to all fall into a single cluster
+        Random random = new Random(42);
+        int svCount = 600;
+        long regionStart = 10000;
+        long regionLength = geneCount * geneSpacing;
+
+        for(int i = 0; i < svCount; ++i)
+        {
+            long pos1 = regionStart + (long)(random.nextDouble() * regionLength);
+            long pos2 = regionStart + (long)(random.nextDouble() * regionLength);
+            long posStart = Math.min(pos1, pos2);
+            long posEnd = Math.max(pos1, pos2) + 1;
+
+            int type = random.nextInt(3);
+
+            if(type == 0)
+                tester.AllVariants.add(createDel(i, chromosome, posStart, posEnd));
+            else if(type == 1)
+                tester.AllVariants.add(createDup(i, chromosome, posStart, posEnd));
+            else
+                tester.AllVariants.add(createInv(i, chromosome, posStart, posEnd, random.nextBoolean() ? 1 : -1));
+        }
+
+        tester.preClusteringInit();
+        tester.Analyser.clusterAndAnalyse();
+
+        geneTransCache.setSvGeneData(tester.AllVariants, true, false);
+        tester.FusionAnalyser.annotateTranscripts(tester.AllVariants, true);
+
+        long chainedLinks = tester.getClusters().stream()
+                .flatMap(x -> x.getChains().stream()).mapToLong(x -> x.getLinkCount()).sum();
+
+        long start = System.currentTimeMillis();
+
+        tester.FusionAnalyser.run(tester.SampleId, tester.AllVariants, null,
+                tester.getClusters(), tester.Analyser.getState().getChrBreakendMap());
+
+        LOGGER.info("found {} fusions from {} SVs with {} chained links in {}ms",
+                tester.FusionAnalyser.getFusions().size(), svCount, chainedLinks, System.currentTimeMillis() - start);
+    }
+
     private static boolean validateFusionAnnotations(final GeneFusion fusion, boolean validEnds, boolean validTraversal)
     {
         final FusionAnnotations annotations = fusion.getAnnotations();
@@ -550,4 +661,184 @@ public class FusionTest
             return !validUp || !validDown;
     }
 
+    private static void assertMatchesUnfilteredSearch(final LinxTester tester)
+    {
+        // the fusion search only pairs genes and transcripts which could fuse and sweeps each chain's links once, so check it finds
+        // the same fusions and chain lengths as testing every transcript pair and walking every traversed link for each breakend pair
+        final FusionFinder fusionFinder = tester.FusionAnalyser.getFusionFinder();
+        final DisruptionFinder disruptionFinder = tester.FusionAnalyser.getDisruptionFinder();
+
+        // the analyser's own parameters, and with phase matching required so that downstream transcripts are also indexed by phase
+        FusionParameters params = new FusionParameters();
+        params.RequireUpstreamBiotypes = true;
+
+        FusionParameters phasedParams = new FusionParameters();
+        phasedParams.RequireUpstreamBiotypes = true;
+        phasedParams.RequirePhaseMatch = true;
+        phasedParams.AllowExonSkipping = false;
+
+        int chainedPairsTested = 0;
+
+        for(FusionParameters fusionParams : Lists.newArrayList(params, phasedParams))
+        {
+            for(SvVarData var : tester.AllVariants)
+            {
+                if(var.isSglBreakend())
+                    continue;
+
+                List<GeneAnnotation> genesListStart = Lists.newArrayList(var.getGenesList(true));
+                List<GeneAnnotation> genesListEnd = Lists.newArrayList(var.getGenesList(false));
+
+                assertEquals(fusionKeys(findAllTranscriptPairFusions(fusionFinder, genesListStart, genesListEnd, fusionParams)),
+                        fusionKeys(fusionFinder.findFusions(genesListStart, genesListEnd, fusionParams, false)));
+            }
+
+            for(SvCluster cluster : tester.getClusters())
+            {
+                for(SvChain chain : cluster.getChains())
+                {
+                    final List<SvLinkedPair> linkedPairs = chain.getLinkedPairs();
+                    final ChainTraversal traversal = new ChainTraversal(linkedPairs, disruptionFinder);
+
+                    for(int lpIndex1 = 0; lpIndex1 <= linkedPairs.size(); ++lpIndex1)
+                    {
+                        SvBreakend lowerBreakend = lpIndex1 < linkedPairs.size()
+                                ? linkedPairs.get(lpIndex1).first().getBreakend(!linkedPairs.get(lpIndex1).firstLinkOnStart())
+                                : linkedPairs.get(lpIndex1 - 1).secondBreakend();
+
+                        if(lowerBreakend.getSV().isSglBreakend())
+                            continue;
+
+                        List<GeneAnnotation> genesListLower = Lists.newArrayList(lowerBreakend.getSV().getGenesList(lowerBreakend.usesStart()));
+
+                        if(genesListLower.isEmpty())
+                            continue;
+
+                        traversal.setLowerIndex(lpIndex1);
+                        List<SvLinkedPair> traversedPairs = Lists.newArrayList();
+
+                        for(int lpIndex2 = lpIndex1; lpIndex2 <= linkedPairs.size(); ++lpIndex2)
+                        {
+                            SvBreakend upperBreakend = lpIndex2 < linkedPairs.size()
+                                    ? linkedPairs.get(lpIndex2).firstBreakend() : chain.getOpenBreakend(false);
+
+                            if(upperBreakend == null)
+                                break;
+
+                            if(lpIndex2 > lpIndex1)
+                                traversedPairs.add(linkedPairs.get(lpIndex2 - 1));
+
+                            List<GeneAnnotation> genesListUpper = Lists.newArrayList(upperBreakend.getSV().getGenesList(upperBreakend.usesStart()));
+
+                            if(genesListUpper.isEmpty())
+                                continue;
+
+                            List<GeneFusion> expectedFusions = findAllTranscriptPairFusions(
+                                    fusionFinder, genesListLower, genesListUpper, fusionParams);
+
+                            // breakend pairs without an upstream and downstream gene are skipped, so must not have any fusions
+                            if(!hasOpposingGenes(genesListLower, genesListUpper))
+                            {
+                                assertTrue(expectedFusions.isEmpty());
+                                continue;
+                            }
+
+                            ++chainedPairsTested;
+
+                            assertEquals(fusionKeys(expectedFusions),
+                                    fusionKeys(fusionFinder.findFusions(genesListLower, genesListUpper, fusionParams, false)));
+
+                            for(GeneFusion fusion : expectedFusions)
+                            {
+                                int upGeneStrand = fusion.upstreamTrans().gene().Strand;
+                                boolean isPrecodingUpstream = fusion.upstreamTrans().preCoding();
+                                boolean fusionLowerToUpper = fusion.upstreamTrans().gene().position() == lowerBreakend.position();
+
+                                long totalLinkLength = 0;
+                                boolean validTraversal = true;
+                                boolean allTraversalAssembled = true;
+
+                                for(SvLinkedPair pair : traversedPairs)
+                                {
+                                    totalLinkLength += pair.length();
+
+                                    if(pair.isInferred())
+                                        allTraversalAssembled = false;
+
+                                    int fusionDirection = fusionLowerToUpper
+                                            ? (pair.firstBreakend().orientation() != upGeneStrand ? upGeneStrand : -upGeneStrand)
+                                            : (pair.secondBreakend().orientation() != upGeneStrand ? upGeneStrand : -upGeneStrand);
+
+                                    if(disruptionFinder.pairTraversesGene(pair, fusionDirection, isPrecodingUpstream))
+                                    {
+                                        validTraversal = false;
+                                        break;
+                                    }
+                                }
+
+                                assertEquals(validTraversal,
+                                        traversal.isValid(lpIndex2, upGeneStrand, isPrecodingUpstream, fusionLowerToUpper));
+
+                                if(validTraversal)
+                                {
+                                    assertEquals(totalLinkLength, traversal.length(lpIndex2));
+                                    assertEquals(allTraversalAssembled, traversal.allAssembled(lpIndex2));
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        assertTrue(chainedPairsTested > 0);
+    }
+
+    private static List<GeneFusion> findAllTranscriptPairFusions(final FusionFinder fusionFinder,
+            final List<GeneAnnotation> breakendGenes1, final List<GeneAnnotation> breakendGenes2, final FusionParameters params)
+    {
+        // tests every transcript of one breakend's genes against every transcript of the other's
+        final List<GeneFusion> fusions = Lists.newArrayList();
+
+        for(final GeneAnnotation startGene : breakendGenes1)
+        {
+            for(final GeneAnnotation endGene : breakendGenes2)
+            {
+                if(startGene.isUpstream() == endGene.isUpstream())
+                    continue;
+
+                final GeneAnnotation upGene = startGene.isUpstream() ? startGene : endGene;
+                final GeneAnnotation downGene = !startGene.isUpstream() ? startGene : endGene;
+
+                boolean knownPair = fusionFinder.getKnownFusionDatal() != null
+                        && fusionFinder.getKnownFusionDatal().hasKnownFusion(upGene.GeneName, downGene.GeneName);
+
+                for(final Transcript upstreamTrans : upGene.transcripts())
+                {
+                    for(final Transcript downstreamTrans : downGene.transcripts())
+                    {
+                        GeneFusion fusion = checkFusionLogic(upstreamTrans, downstreamTrans, params, !knownPair);
+
+                        if(fusion == null)
+                            continue;
+
+                        fusion.setKnownType(fusionFinder.getKnownFusionType(upstreamTrans, downstreamTrans));
+                        fusions.add(fusion);
+                    }
+                }
+            }
+        }
+
+        return fusions;
+    }
+
+    private static List<String> fusionKeys(final List<GeneFusion> fusions)
+    {
+        return fusions.stream()
+                .map(x -> String.format("%d:%s:%d_%d:%s:%d_%s_%d_%d_%s",
+                        x.upstreamTrans().gene().id(), x.upstreamTrans().StableId, x.upstreamTrans().gene().position(),
+                        x.downstreamTrans().gene().id(), x.downstreamTrans().StableId, x.downstreamTrans().gene().position(),
+                        x.phaseMatched(), x.getExonsSkipped(true), x.getExonsSkipped(false), x.knownType()))
+                .collect(Collectors.toList());
+    }
 }
@@ -3,14 +3,17 @@ package com.hartwig.hmftools.linx.misc;
 import static com.hartwig.hmftools.linx.simulation.ShatteringSim.calcLinkCount;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.List;
+import java.util.SplittableRandom;
 
 import com.google.common.collect.Lists;
 import com.hartwig.hmftools.linx.simulation.ShatteringConfig;
 import com.hartwig.hmftools.linx.simulation.ShatteringResult;
 import com.hartwig.hmftools.linx.simulation.ShatteringSim;
+import com.hartwig.hmftools.linx.simulation.ShatteringWorker;
 
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.core.config.Configurator;
@@ -141,4 +144,137 @@ public class SimulationTest
         assertEquals(2, result.inferredLinks());
         assertEquals(1, result.inferredLost());
     }
+
+    @Test
+    public void testShatteringWorkerSpecifiedOrder()
+    {
+        // the parallel worker must score the same link sequences as the simulation above
+        int segCount = 4;
+        int linkCount = calcLinkCount(segCount + 2);
+
+        List<Integer> linkOrder = Lists.newArrayList();
+
+        for(int i = 0; i <= linkCount; ++i)
+        {
+            linkOrder.add(i);
+        }
+
+        ShatteringResult result = runWorker(segCount, linkOrder);
+
+        assertEquals(4, result.segments());
+        assertEquals(4, result.linkedSegments());
+        assertEquals(5, result.exactRepairs());
+        assertEquals(5, result.adjacentSegments());
+        assertEquals(0, result.inferredLinks());
+        assertEquals(0, result.inferredLost());
+
+        linkOrder.clear();
+
+        for(int i = linkCount; i >= 0; --i)
+        {
+            linkOrder.add(i);
+        }
+
+        result = runWorker(segCount, linkOrder);
+
+        assertEquals(4, result.linkedSegments());
+        assertEquals(5, result.exactRepairs());
+        assertEquals(5, result.adjacentSegments());
+        assertEquals(0, result.inferredLinks());
+        assertEquals(0, result.inferredLost());
+
+        // no segments added
+        result = runWorker(segCount, Lists.newArrayList(0, 9));
+
+        assertEquals(0, result.linkedSegments());
+        assertEquals(0, result.exactRepairs());
+        assertEquals(0, result.adjacentSegments());
+        assertEquals(1, result.inferredLost());
+
+        // only 2 segments added
+        result = runWorker(segCount, Lists.newArrayList(0, 3, 4, 7, 8, 9));
+
+        assertEquals(2, result.linkedSegments());
+        assertEquals(1, result.exactRepairs());
+        assertEquals(1, result.adjacentSegments());
+        assertEquals(1, result.inferredLinks());
+        assertEquals(2, result.inferredLost());
+
+        // a single fully open link
+        result = runWorker(segCount, Lists.newArrayList(9, 7, 8, 6, 5, 2, 1, 0));
+
+        assertEquals(3, result.linkedSegments());
+        assertEquals(1, result.exactRepairs());
+        assertEquals(3, result.adjacentSegments());
+        assertEquals(2, result.inferredLinks());
+        assertEquals(1, result.inferredLost());
+    }
+
+    private static ShatteringResult runWorker(int segCount, final List<Integer> linkOrder)
+    {
+        ShatteringWorker worker = new ShatteringWorker(segCount, 0, 1, new SplittableRandom(0), false);
+        worker.setSpecifiedOrder(linkOrder);
+        return worker.call().lastResult();
+    }
+
+    @Test
+    public void testShatteringSimReproducibleForSeed()
+    {
+        int segCount = 6;
+
+        ShatteringSim shatteringSim = new ShatteringSim(new ShatteringConfig(segCount, 10000, true, 3, 42), "");
+        shatteringSim.run();
+        assertTrue(shatteringSim.validRun());
+
+        ShatteringResult result = shatteringSim.getLatestResults();
+        assertEquals(segCount, result.segments());
+        assertTrue(result.linkedSegments() <= segCount);
+        assertTrue(result.exactRepairs() + result.inferredLinks() <= result.linkedSegments() + 1);
+
+        ShatteringSim repeatSim = new ShatteringSim(new ShatteringConfig(segCount, 10000, true, 3, 42), "");
+        repeatSim.run();
+
+        assertTrue(result.equals(repeatSim.getLatestResults()));
+        assertEquals(result.linkStr(), repeatSim.getLatestResults().linkStr());
+
+        // the grouped counts cover every iteration
+        int iterationCount = shatteringSim.getGroupedResults().values().stream().mapToInt(Integer::intValue).sum();
+        assertEquals(10000, iterationCount);
+        assertEquals(shatteringSim.getGroupedResults(), repeatSim.getGroupedResults());
+    }
+
+    @Test
+    public void testShatteringSimIndependentOfThreadCount()
+    {
+        int segCount = 6;
+
+        ShatteringSim singleThreadSim = new ShatteringSim(new ShatteringConfig(segCount, 10500, true, 1, 42), "");
+        singleThreadSim.run();
+        assertTrue(singleThreadSim.validRun());
+
+        ShatteringSim multiThreadSim = new ShatteringSim(new ShatteringConfig(segCount, 10500, true, 4, 42), "");
+        multiThreadSim.run();
+        assertTrue(multiThreadSim.validRun());
+
+        assertEquals(10500, singleThreadSim.getGroupedResults().values().stream().mapToInt(Integer::intValue).sum());
+        assertTrue(singleThreadSim.getGroupedResults().size() > 1);
+        assertEquals(singleThreadSim.getGroupedResults(), multiThreadSim.getGroupedResults());
+        assertTrue(singleThreadSim.getLatestResults().equals(multiThreadSim.getLatestResults()));
+
+        // ungrouped runs keep the link string of the last iteration for small segment counts
+        segCount = 4;
+
+        singleThreadSim = new ShatteringSim(new ShatteringConfig(segCount, 2500, false, 1, 7), "");
+        singleThreadSim.run();
+
+        multiThreadSim = new ShatteringSim(new ShatteringConfig(segCount, 2500, false, 3, 7), "");
+        multiThreadSim.run();
+
+        assertTrue(singleThreadSim.getLatestResults().equals(multiThreadSim.getLatestResults()));
+        assertEquals(singleThreadSim.getLatestResults().linkStr(), multiThreadSim.getLatestResults().linkStr());
+
+        ShatteringSim otherSeedSim = new ShatteringSim(new ShatteringConfig(6, 10500, true, 4, 43), "");
+        otherSeedSim.run();
+        assertFalse(otherSeedSim.getGroupedResults().equals(multiThreadSim.getGroupedResults()));
+    }
 }
@@ -0,0 +1,76 @@
+package com.hartwig.hmftools.linx.visualiser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import com.google.common.collect.Lists;
+
+import org.junit.Test;
+
+public class FrameCacheTest
+{
+    @Test
+    public void testInputHash()
+    {
+        final String hash = FrameCache.inputHash(Renderer.SVG, false, Lists.newArrayList("a", "b"));
+
+        assertEquals(hash, FrameCache.inputHash(Renderer.SVG, false, Lists.newArrayList("a", "b")));
+        assertNotEquals(hash, FrameCache.inputHash(Renderer.PNG, false, Lists.newArrayList("a", "b")));
+        assertNotEquals(hash, FrameCache.inputHash(Renderer.SVG, true, Lists.newArrayList("a", "b")));
+        assertNotEquals(hash, FrameCache.inputHash(Renderer.SVG, false, Lists.newArrayList("a", "c")));
+        assertNotEquals(hash, FrameCache.inputHash(Renderer.SVG, false, Lists.newArrayList("a", "b", "c")));
+
+        // collection boundaries are part of the hash
+        assertNotEquals(FrameCache.inputHash(Lists.newArrayList("a"), Lists.newArrayList("b")),
+                FrameCache.inputHash(Lists.newArrayList("a", "b"), Lists.newArrayList()));
+    }
+
+    @Test
+    public void testFrameIsOnlyCurrentForUnchangedInputsAndPlot() throws Exception
+    {
+        final File dataDir = Files.createTempDirectory("frame_cache").toFile();
+        final File plotFile = new File(dataDir, "SAMPLE.cluster1.000.svg");
+
+        final FrameCache cache = new FrameCache(dataDir.getPath(), true);
+        final String hash = FrameCache.inputHash("inputs");
+        final String changedHash = FrameCache.inputHash("changed inputs");
+
+        // nothing drawn yet
+        assertFalse(cache.isCurrent("SAMPLE.cluster1", 0, plotFile.getPath(), hash));
+
+        Files.write(plotFile.toPath(), "plot".getBytes());
+        cache.update("SAMPLE.cluster1", 0, hash);
+
+        assertTrue(cache.isCurrent("SAMPLE.cluster1", 0, plotFile.getPath(), hash));
+        assertFalse(cache.isCurrent("SAMPLE.cluster1", 0, plotFile.getPath(), changedHash));
+        assertFalse(cache.isCurrent("SAMPLE.cluster1", 1, plotFile.getPath(), hash));
+        assertFalse(cache.isCurrent("SAMPLE.cluster2", 0, plotFile.getPath(), hash));
+
+        // redrawing with the changed inputs replaces the stored hash
+        cache.update("SAMPLE.cluster1", 0, changedHash);
+        assertFalse(cache.isCurrent("SAMPLE.cluster1", 0, plotFile.getPath(), hash));
+        assertTrue(cache.isCurrent("SAMPLE.cluster1", 0, plotFile.getPath(), changedHash));
+
+        // a deleted plot must be drawn again
+        assertTrue(plotFile.delete());
+        assertFalse(cache.isCurrent("SAMPLE.cluster1", 0, plotFile.getPath(), changedHash));
+
+        // a disabled cache never skips or records frames
+        Files.write(plotFile.toPath(), "plot".getBytes());
+        final FrameCache disabledCache = new FrameCache(dataDir.getPath(), false);
+        assertFalse(disabledCache.isCurrent("SAMPLE.cluster1", 0, plotFile.getPath(), changedHash));
+        disabledCache.update("SAMPLE.cluster3", 0, hash);
+        assertFalse(cache.isCurrent("SAMPLE.cluster3", 0, plotFile.getPath(), hash));
+
+        for (File file : dataDir.listFiles())
+        {
+            file.delete();
+        }
+        dataDir.delete();
+    }
+}
@@ -21,4 +21,13 @@ public class ColorPickerTest
         assertEquals(Color.black, unknownColor);
     }
 
+    @Test
+    public void testCircosColor()
+    {
+        assertEquals(new Color(128, 64, 32), ColorPicker.circosColor("color=(128,64,32)"));
+        assertEquals(new Color(128, 64, 32, 128), ColorPicker.circosColor("(128,64,32,0.5)"));
+        assertEquals(Color.WHITE, ColorPicker.circosColor("white"));
+        assertEquals(Color.BLACK, ColorPicker.circosColor("black"));
+    }
+
 }
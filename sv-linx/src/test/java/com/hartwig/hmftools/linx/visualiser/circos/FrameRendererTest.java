@@ -0,0 +1,243 @@
+package com.hartwig.hmftools.linx.visualiser.circos;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import com.google.common.collect.Lists;
+import com.google.common.io.Resources;
+import com.hartwig.hmftools.common.genome.position.GenomePosition;
+import com.hartwig.hmftools.common.variant.structural.StructuralVariantType;
+import com.hartwig.hmftools.linx.types.ResolvedType;
+import com.hartwig.hmftools.linx.visualiser.SvCircosConfig;
+import com.hartwig.hmftools.linx.visualiser.data.CopyNumberAlteration;
+import com.hartwig.hmftools.linx.visualiser.data.Exon;
+import com.hartwig.hmftools.linx.visualiser.data.ExonType;
+import com.hartwig.hmftools.linx.visualiser.data.Fusion;
+import com.hartwig.hmftools.linx.visualiser.data.ImmutableCopyNumberAlteration;
+import com.hartwig.hmftools.linx.visualiser.data.ImmutableExon;
+import com.hartwig.hmftools.linx.visualiser.data.ImmutableFusion;
+import com.hartwig.hmftools.linx.visualiser.data.ImmutableLink;
+import com.hartwig.hmftools.linx.visualiser.data.ImmutableProteinDomain;
+import com.hartwig.hmftools.linx.visualiser.data.ImmutableSegment;
+import com.hartwig.hmftools.linx.visualiser.data.Link;
+import com.hartwig.hmftools.linx.visualiser.data.Links;
+import com.hartwig.hmftools.linx.visualiser.data.ProteinDomain;
+import com.hartwig.hmftools.linx.visualiser.data.ProteinDomains;
+import com.hartwig.hmftools.linx.visualiser.data.Segment;
+import com.hartwig.hmftools.linx.visualiser.data.Segments;
+
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.Options;
+import org.junit.Test;
+
+public class FrameRendererTest
+{
+    private static final String SAMPLE = "SAMPLE";
+    private static final String GOLDEN_SVG = "visualiser/fusion_cluster.svg";
+
+    @Test
+    public void testSvgFrameMatchesGolden() throws Exception
+    {
+        final File svgFile = File.createTempFile("frame", ".svg");
+        svgFile.deleteOnExit();
+
+        renderFusionCluster(SvgFrameCanvas::new, svgFile);
+
+        final String expected = Resources.toString(Resources.getResource(GOLDEN_SVG), StandardCharsets.UTF_8);
+        assertEquals(expected, new String(Files.readAllBytes(svgFile.toPath()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testPngFrameIncludesFusionAndChromosomePanels() throws Exception
+    {
+        final File pngFile = File.createTempFile("frame", ".png");
+        pngFile.deleteOnExit();
+
+        final FrameRenderer renderer = renderFusionCluster(PngFrameCanvas::new, pngFile);
+
+        // a fusion row with its legend, and a single row of chromosomes
+        final SvCircosConfig config = config();
+        int expectedHeight = FrameRenderer.IMAGE_SIZE + config.fusionHeight() + config.fusionLegendRows() * config.fusionLegendHeightPerRow()
+                + config.chromosomeRangeHeight();
+        assertEquals(expectedHeight, renderer.height());
+
+        assertEquals(FrameRenderer.IMAGE_SIZE, ImageIO.read(pngFile).getWidth());
+        assertEquals(expectedHeight, ImageIO.read(pngFile).getHeight());
+    }
+
+    static FrameRenderer renderFusionCluster(final CanvasFactory canvasFactory, final File file) throws Exception
+    {
+        final SvCircosConfig config = config();
+
+        final List<Link> unadjustedLinks = Lists.newArrayList(
+                link(1, StructuralVariantType.BND, "1", 1_025_000, 1, "5", 2_005_000, -1),
+                link(2, StructuralVariantType.DEL, "5", 2_030_000, 1, "5", 2_060_000, -1));
+
+        final List<Segment> unadjustedSegments = Lists.newArrayList(
+                segment("1", 1_025_000, SegmentTerminal.NONE, SegmentTerminal.TELOMERE),
+                segment("5", 2_005_000, SegmentTerminal.CENTROMERE, SegmentTerminal.NONE));
+
+        final List<CopyNumberAlteration> alterations = Lists.newArrayList(
+                copyNumber("1", 900_000, 1_025_000, 2, 0.5),
+                copyNumber("1", 1_025_001, 1_100_000, 3.2, 0.7),
+                copyNumber("5", 1_950_000, 2_005_000, 1.1, 1),
+                copyNumber("5", 2_005_001, 2_100_000, 2.4, 0.6));
+
+        final Fusion fusion = ImmutableFusion.builder()
+                .sampleId(SAMPLE)
+                .clusterId(1)
+                .reportable(true)
+                .geneUp("GENEA")
+                .chromosomeUp("1")
+                .transcriptUp("ENST0001")
+                .positionUp(1_025_000)
+                .regionTypeUp("Intronic")
+                .strandUp(1)
+                .fusedExonUp(3)
+                .geneDown("GENEB")
+                .chromosomeDown("5")
+                .transcriptDown("ENST0002")
+                .positionDown(2_005_000)
+                .regionTypeDown("Intronic")
+                .strandDown(1)
+                .fusedExonDown(2)
+                .build();
+
+        final List<Exon> exons = Lists.newArrayList();
+        for (int rank = 1; rank <= 4; rank++)
+        {
+            exons.add(exon("GENEA", "ENST0001", "1", 1_000_000 + (rank - 1) * 10_000, rank));
+            exons.add(exon("GENEB", "ENST0002", "5", 2_000_000 + (rank - 1) * 10_000, rank));
+        }
+
+        final List<ProteinDomain> proteinDomains = Lists.newArrayList(
+                proteinDomain(ProteinDomains.UTR, "ENST0001", "1", 1_000_000, 1_000_100),
+                proteinDomain("Kinase domain", "ENST0001", "1", 1_010_050, 1_020_150),
+                proteinDomain("Zinc finger", "ENST0002", "5", 2_010_000, 2_030_150));
+
+        // the same steps as the visualiser takes to plot a cluster
+        final List<GenomePosition> positionsToCover = Lists.newArrayList();
+        positionsToCover.addAll(Links.allPositions(unadjustedLinks));
+        positionsToCover.addAll(Span.allPositions(unadjustedSegments));
+        positionsToCover.addAll(Span.allPositions(exons));
+        positionsToCover.addAll(Span.allPositions(alterations));
+
+        final List<Segment> segments = Segments.extendTerminals(0, unadjustedSegments, unadjustedLinks, positionsToCover, true);
+        final List<Link> links = Links.addFrame(segments, unadjustedLinks);
+
+        final List<Fusion> fusions = Lists.newArrayList(fusion);
+        final CircosData data = new CircosData(true, config, segments, links, alterations, exons, fusions);
+        final CircosConfigWriter layout = new CircosConfigWriter(SAMPLE, file.getParent(), data, config);
+        final FusionDataWriter fusionData = new FusionDataWriter(fusions, exons, proteinDomains);
+
+        final List<FramePanel> panels = Lists.newArrayList(new FusionPanel(config, data.labelSize(), fusionData),
+                new ChromosomePanel(config, data));
+
+        final FrameRenderer renderer = new FrameRenderer(ColorPicker.chainColors(links), config, layout, data, panels);
+        renderer.render(data.maxFrame(), canvasFactory.create(FrameRenderer.IMAGE_SIZE, renderer.height()), file.getPath());
+        assertTrue(file.length() > 0);
+        return renderer;
+    }
+
+    interface CanvasFactory
+    {
+        FrameCanvas create(int width, int height);
+    }
+
+    private static SvCircosConfig config() throws Exception
+    {
+        final Options options = new Options();
+        SvCircosConfig.addOptions(options);
+        return SvCircosConfig.createConfig(new DefaultParser().parse(options, new String[0]));
+    }
+
+    private static Link link(int svId, final StructuralVariantType type, final String startChromosome, long startPosition,
+            int startOrientation, final String endChromosome, long endPosition, int endOrientation)
+    {
+        return ImmutableLink.builder()
+                .sampleId(SAMPLE)
+                .clusterId(1)
+                .chainId(svId)
+                .svId(svId)
+                .type(type)
+                .resolvedType(ResolvedType.COMPLEX)
+                .isSynthetic(false)
+                .frame(0)
+                .startChromosome(startChromosome)
+                .startPosition(startPosition)
+                .startOrientation(startOrientation)
+                .startInfo("")
+                .endChromosome(endChromosome)
+                .endPosition(endPosition)
+                .endOrientation(endOrientation)
+                .endInfo("")
+                .ploidy(2)
+                .build();
+    }
+
+    private static Segment segment(final String chromosome, long position, final SegmentTerminal startTerminal,
+            final SegmentTerminal endTerminal)
+    {
+        return ImmutableSegment.builder()
+                .sampleId(SAMPLE)
+                .clusterId(1)
+                .chainId(1)
+                .frame(0)
+                .track(1)
+                .ploidy(2)
+                .chromosome(chromosome)
+                .start(position)
+                .end(position)
+                .startTerminal(startTerminal)
+                .endTerminal(endTerminal)
+                .build();
+    }
+
+    private static CopyNumberAlteration copyNumber(final String chromosome, long start, long end, double copyNumber, double baf)
+    {
+        return ImmutableCopyNumberAlteration.builder()
+                .sampleId(SAMPLE)
+                .chromosome(chromosome)
+                .start(start)
+                .end(end)
+                .copyNumber(copyNumber)
+                .baf(baf)
+                .truncated(false)
+                .build();
+    }
+
+    private static Exon exon(final String gene, final String transcript, final String chromosome, long start, int rank)
+    {
+        return ImmutableExon.builder()
+                .sampleId(SAMPLE)
+                .clusterId(1)
+                .type(ExonType.FUSION)
+                .gene(gene)
+                .transcript(transcript)
+                .chromosome(chromosome)
+                .start(start)
+                .end(start + 200)
+                .rank(rank)
+                .build();
+    }
+
+    private static ProteinDomain proteinDomain(final String name, final String transcript, final String chromosome, long start, long end)
+    {
+        return ImmutableProteinDomain.builder()
+                .sampleId(SAMPLE)
+                .clusterId(1)
+                .name(name)
+                .transcript(transcript)
+                .chromosome(chromosome)
+                .start(start)
+                .end(end)
+                .build();
+    }
+}
@@ -5,9 +5,11 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.hartwig.hmftools.vicc.dao.ViccDAO;
 import com.hartwig.hmftools.vicc.datamodel.ViccEntry;
+import com.hartwig.hmftools.vicc.reader.ViccJsonPipeline;
 import com.hartwig.hmftools.vicc.reader.ViccJsonReader;
 
 import org.apache.commons.cli.CommandLine;
@@ -30,6 +32,8 @@ public class ViccJsonSQLImporter {
     private static final String DB_URL = "db_url";
 
     private static final String SKIP_DATABASE_WRITING = "skip_database_writing";
+    private static final String BATCH_INSERT = "batch_insert";
+    private static final String THREADS = "threads";
 
     public static void main(final String... args) throws ParseException, IOException, SQLException {
         LOGGER.info("Running VICC Knowledgebase Importer");
@@ -41,6 +45,11 @@ public class ViccJsonSQLImporter {
         }
 
         String viccJsonPath = cmd.getOptionValue(VICC_JSON);
+        if (cmd.hasOption(THREADS)) {
+            streamViccEntries(cmd, viccJsonPath, Integer.parseInt(cmd.getOptionValue(THREADS)));
+            return;
+        }
+
         LOGGER.info("Loading up VICC json file into memory from {}", viccJsonPath);
         List<ViccEntry> viccEntries = ViccJsonReader.readViccKnowledgebaseJsonFile(viccJsonPath);
         LOGGER.info(" Loaded {} VICC entries from file.", viccEntries.size());
@@ -60,10 +69,41 @@ public class ViccJsonSQLImporter {
                     LOGGER.info(" Completed inserting {} VICC entries into VICC db", count);
                 }
             }
+            viccDAO.flush();
             LOGGER.info("Done inserting {} entries into VICC db", viccEntries.size());
         }
     }
 
+    private static void streamViccEntries(@NotNull CommandLine cmd, @NotNull String viccJsonPath, int threadCount)
+            throws IOException, SQLException {
+        LOGGER.info("Streaming VICC entries from {} using {} threads", viccJsonPath, threadCount);
+        if (cmd.hasOption(SKIP_DATABASE_WRITING)) {
+            LOGGER.info("Skipping DB writing.");
+            int count = ViccJsonPipeline.readViccKnowledgebaseJsonFile(viccJsonPath, threadCount, viccEntry -> {
+            });
+            LOGGER.info(" Read {} VICC entries from file.", count);
+        } else {
+            ViccDAO viccDAO = connect(cmd);
+            LOGGER.info("Deleting all from VICC db");
+            viccDAO.deleteAll();
+            LOGGER.info("Starting insertion of all VICC entries");
+            int count = ViccJsonPipeline.readViccKnowledgebaseJsonFile(viccJsonPath, threadCount, new Consumer<ViccEntry>() {
+                private int inserted = 0;
+
+                @Override
+                public void accept(@NotNull ViccEntry viccEntry) {
+                    viccDAO.writeViccEntry(viccEntry);
+                    inserted++;
+                    if (inserted % 1000 == 0) {
+                        LOGGER.info(" Completed inserting {} VICC entries into VICC db", inserted);
+                    }
+                }
+            });
+            viccDAO.flush();
+            LOGGER.info("Done inserting {} entries into VICC db", count);
+        }
+    }
+
     private static boolean validInput(@NotNull CommandLine cmd) {
         String viccJsonPath = cmd.getOptionValue(VICC_JSON);
         if (viccJsonPath == null || !pathExists(viccJsonPath)) {
@@ -80,7 +120,8 @@ public class ViccJsonSQLImporter {
 
     @NotNull
     private static ViccDAO connect(@NotNull CommandLine cmd) throws SQLException {
-        return ViccDAO.connectToViccDAO(cmd.getOptionValue(DB_USER), cmd.getOptionValue(DB_PASS), "jdbc:" + cmd.getOptionValue(DB_URL));
+        return ViccDAO.connectToViccDAO(cmd.getOptionValue(DB_USER), cmd.getOptionValue(DB_PASS), "jdbc:" + cmd.getOptionValue(DB_URL),
+                cmd.hasOption(BATCH_INSERT));
     }
 
     @NotNull
@@ -93,6 +134,8 @@ public class ViccJsonSQLImporter {
         options.addOption(DB_URL, true, "Database url.");
 
         options.addOption(SKIP_DATABASE_WRITING, false, "If this flag is set to true, we skip the writing to the database");
+        options.addOption(THREADS, true, "If provided, streams the vicc json through a pipeline using this many conversion threads");
+        options.addOption(BATCH_INSERT, false, "If this flag is set to true, IDs are assigned client-side and rows are written in batches");
 
         return options;
     }
@@ -13,15 +13,14 @@ import static com.hartwig.hmftools.vicc.database.Tables.BRCAANNOTATIONLOVD;
 import com.hartwig.hmftools.vicc.datamodel.brca.Brca;
 
 import org.jetbrains.annotations.NotNull;
-import org.jooq.DSLContext;
 
 final class BRCADAOFunctions {
 
     private BRCADAOFunctions() {
     }
 
-    static void write(@NotNull DSLContext context, int viccEntryId, @NotNull Brca brca) {
-        int id = context.insertInto(BRCA,
+    static void write(@NotNull ViccRecordWriter writer, int viccEntryId, @NotNull Brca brca) {
+        int id = writer.insertInto(BRCA,
                 BRCA.GENESYMBOL,
                 BRCA.CHR,
                 BRCA.POS,
@@ -92,11 +91,9 @@ final class BRCADAOFunctions {
                         brca.source(),
                         brca.sourceURL(),
                         viccEntryId)
-                .returning(BRCA.ID)
-                .fetchOne()
-                .getValue(BRCA.ID);
+                .returning(BRCA.ID);
 
-        context.insertInto(BRCAANNOTATION1000GENOMES,
+        writer.insertInto(BRCAANNOTATION1000GENOMES,
                 BRCAANNOTATION1000GENOMES.VARIANTIN1000GENOMES,
                 BRCAANNOTATION1000GENOMES.BXID,
                 BRCAANNOTATION1000GENOMES.ALLELEFREQUENCY,
@@ -117,7 +114,7 @@ final class BRCADAOFunctions {
                         id)
                 .execute();
 
-        context.insertInto(BRCAANNOTATIONBIC,
+        writer.insertInto(BRCAANNOTATIONBIC,
                 BRCAANNOTATIONBIC.VARIANTINBIC,
                 BRCAANNOTATIONBIC.BXID,
                 BRCAANNOTATIONBIC.MUTATIONTYPE,
@@ -144,7 +141,7 @@ final class BRCADAOFunctions {
                         id)
                 .execute();
 
-        context.insertInto(BRCAANNOTATIONCLINVAR,
+        writer.insertInto(BRCAANNOTATIONCLINVAR,
                 BRCAANNOTATIONCLINVAR.VARIANTINCLINVAR,
                 BRCAANNOTATIONCLINVAR.BXID,
                 BRCAANNOTATIONCLINVAR.CLINICALSIGNIFICANCE,
@@ -165,7 +162,7 @@ final class BRCADAOFunctions {
                         id)
                 .execute();
 
-        context.insertInto(BRCAANNOTATIONENIGMA,
+        writer.insertInto(BRCAANNOTATIONENIGMA,
                 BRCAANNOTATIONENIGMA.VARIANTINENIGMA,
                 BRCAANNOTATIONENIGMA.BXID,
                 BRCAANNOTATIONENIGMA.ALLELEORIGIN,
@@ -200,7 +197,7 @@ final class BRCADAOFunctions {
                         id)
                 .execute();
 
-        context.insertInto(BRCAANNOTATIONESP,
+        writer.insertInto(BRCAANNOTATIONESP,
                 BRCAANNOTATIONESP.VARIANTINESP,
                 BRCAANNOTATIONESP.BXID,
                 BRCAANNOTATIONESP.MINORALLELEFREQUENCYPERCENT,
@@ -217,7 +214,7 @@ final class BRCADAOFunctions {
                         id)
                 .execute();
 
-        context.insertInto(BRCAANNOTATIONEXAC,
+        writer.insertInto(BRCAANNOTATIONEXAC,
                 BRCAANNOTATIONEXAC.VARIANTINEXAC,
                 BRCAANNOTATIONEXAC.BXID,
                 BRCAANNOTATIONEXAC.ALLELEFREQUENCY,
@@ -284,7 +281,7 @@ final class BRCADAOFunctions {
                         id)
                 .execute();
 
-        context.insertInto(BRCAANNOTATIONEXLOVD,
+        writer.insertInto(BRCAANNOTATIONEXLOVD,
                 BRCAANNOTATIONEXLOVD.VARIANTINEXLOVD,
                 BRCAANNOTATIONEXLOVD.BXID,
                 BRCAANNOTATIONEXLOVD.COOCCURRENCELR,
@@ -309,7 +306,7 @@ final class BRCADAOFunctions {
                         id)
                 .execute();
 
-        context.insertInto(BRCAANNOTATIONLOVD,
+        writer.insertInto(BRCAANNOTATIONLOVD,
                 BRCAANNOTATIONLOVD.VARIANTINLOVD,
                 BRCAANNOTATIONLOVD.BXID,
                 BRCAANNOTATIONLOVD.DBID,
@@ -343,18 +340,18 @@ final class BRCADAOFunctions {
                 .execute();
     }
 
-    static void deleteAll(@NotNull DSLContext context) {
+    static void deleteAll(@NotNull ViccRecordWriter writer) {
         // First delete the tables dependent on BRCA
-        context.deleteFrom(BRCAANNOTATION1000GENOMES).execute();
-        context.deleteFrom(BRCAANNOTATIONBIC).execute();
-        context.deleteFrom(BRCAANNOTATIONCLINVAR).execute();
-        context.deleteFrom(BRCAANNOTATIONENIGMA).execute();
-        context.deleteFrom(BRCAANNOTATIONESP).execute();
-        context.deleteFrom(BRCAANNOTATIONEXAC).execute();
-        context.deleteFrom(BRCAANNOTATIONEXLOVD).execute();
-        context.deleteFrom(BRCAANNOTATIONLOVD).execute();
+        writer.deleteFrom(BRCAANNOTATION1000GENOMES);
+        writer.deleteFrom(BRCAANNOTATIONBIC);
+        writer.deleteFrom(BRCAANNOTATIONCLINVAR);
+        writer.deleteFrom(BRCAANNOTATIONENIGMA);
+        writer.deleteFrom(BRCAANNOTATIONESP);
+        writer.deleteFrom(BRCAANNOTATIONEXAC);
+        writer.deleteFrom(BRCAANNOTATIONEXLOVD);
+        writer.deleteFrom(BRCAANNOTATIONLOVD);
 
         // Then delete the main object
-        context.deleteFrom(BRCA).execute();
+        writer.deleteFrom(BRCA);
     }
 }
@@ -12,15 +12,14 @@ import static com.hartwig.hmftools.vicc.database.Tables.CGITRANSCRIPT;
 import com.hartwig.hmftools.vicc.datamodel.cgi.Cgi;
 
 import org.jetbrains.annotations.NotNull;
-import org.jooq.DSLContext;
 
 final class CgiDAOFunctions {
 
     private CgiDAOFunctions() {
     }
 
-    static void write(@NotNull DSLContext context, int viccEntryId, @NotNull Cgi cgi) {
-        int id = context.insertInto(CGI,
+    static void write(@NotNull ViccRecordWriter writer, int viccEntryId, @NotNull Cgi cgi) {
+        int id = writer.insertInto(CGI,
                 CGI.GENE,
                 CGI.BIOMARKER,
                 CGI.ALTERATION,
@@ -55,50 +54,48 @@ final class CgiDAOFunctions {
                         cgi.curator(),
                         cgi.assayType(),
                         viccEntryId)
-                .returning(CGI.ID)
-                .fetchOne()
-                .getValue(CGI.ID);
+                .returning(CGI.ID);
 
         for (String transcript : cgi.transcripts()) {
-            context.insertInto(CGITRANSCRIPT, CGITRANSCRIPT.TRANSCRIPT, CGITRANSCRIPT.CGIID).values(transcript, id).execute();
+            writer.insertInto(CGITRANSCRIPT, CGITRANSCRIPT.TRANSCRIPT, CGITRANSCRIPT.CGIID).values(transcript, id).execute();
         }
 
         for (String individualMutation : cgi.individualMutations()) {
-            context.insertInto(CGIINDIVIDUALMUTATION, CGIINDIVIDUALMUTATION.INDIVIDUALMUTATION, CGIINDIVIDUALMUTATION.CGIID)
+            writer.insertInto(CGIINDIVIDUALMUTATION, CGIINDIVIDUALMUTATION.INDIVIDUALMUTATION, CGIINDIVIDUALMUTATION.CGIID)
                     .values(individualMutation, id)
                     .execute();
         }
 
         for (String gDNA : cgi.gDNA()) {
-            context.insertInto(CGIGDNA, CGIGDNA.GDNA, CGIGDNA.CGIID).values(gDNA, id).execute();
+            writer.insertInto(CGIGDNA, CGIGDNA.GDNA, CGIGDNA.CGIID).values(gDNA, id).execute();
         }
 
         for (String cDNA : cgi.cDNA()) {
-            context.insertInto(CGICDNA, CGICDNA.CDNA, CGICDNA.CGIID).values(cDNA, id).execute();
+            writer.insertInto(CGICDNA, CGICDNA.CDNA, CGICDNA.CGIID).values(cDNA, id).execute();
         }
 
         for (String info : cgi.info()) {
-            context.insertInto(CGIINFO, CGIINFO.INFO, CGIINFO.CGIID).values(info, id).execute();
+            writer.insertInto(CGIINFO, CGIINFO.INFO, CGIINFO.CGIID).values(info, id).execute();
         }
 
         for (String region : cgi.regions()) {
-            context.insertInto(CGIREGION, CGIREGION.REGION, CGIREGION.CGIID).values(region, id).execute();
+            writer.insertInto(CGIREGION, CGIREGION.REGION, CGIREGION.CGIID).values(region, id).execute();
         }
 
         for (String strand : cgi.strands()) {
-            context.insertInto(CGISTRAND, CGISTRAND.STRAND, CGISTRAND.CGIID).values(strand, id).execute();
+            writer.insertInto(CGISTRAND, CGISTRAND.STRAND, CGISTRAND.CGIID).values(strand, id).execute();
         }
     }
 
-    static void deleteAll(@NotNull DSLContext context) {
-        context.deleteFrom(CGITRANSCRIPT).execute();
-        context.deleteFrom(CGIINDIVIDUALMUTATION).execute();
-        context.deleteFrom(CGIGDNA).execute();
-        context.deleteFrom(CGICDNA).execute();
-        context.deleteFrom(CGIINFO).execute();
-        context.deleteFrom(CGIREGION).execute();
-        context.deleteFrom(CGISTRAND).execute();
+    static void deleteAll(@NotNull ViccRecordWriter writer) {
+        writer.deleteFrom(CGITRANSCRIPT);
+        writer.deleteFrom(CGIINDIVIDUALMUTATION);
+        writer.deleteFrom(CGIGDNA);
+        writer.deleteFrom(CGICDNA);
+        writer.deleteFrom(CGIINFO);
+        writer.deleteFrom(CGIREGION);
+        writer.deleteFrom(CGISTRAND);
 
-        context.deleteFrom(CGI).execute();
+        writer.deleteFrom(CGI);
     }
 }
@@ -54,15 +54,14 @@ import com.hartwig.hmftools.vicc.datamodel.civic.CivicVariantGroup;
 import com.hartwig.hmftools.vicc.datamodel.civic.CivicVariantType;
 
 import org.jetbrains.annotations.NotNull;
-import org.jooq.DSLContext;
 
 final class CivicDAOFunctions {
 
     private CivicDAOFunctions() {
     }
 
-    static void write(@NotNull DSLContext context, int viccEntryId, @NotNull Civic civic) {
-        int id = context.insertInto(CIVIC,
+    static void write(@NotNull ViccRecordWriter writer, int viccEntryId, @NotNull Civic civic) {
+        int id = writer.insertInto(CIVIC,
                 CIVIC.ENTREZID,
                 CIVIC.ENTREZNAME,
                 CIVIC.NAME,
@@ -83,34 +82,32 @@ final class CivicDAOFunctions {
                         civic.geneId(),
                         civic.description(),
                         viccEntryId)
-                .returning(CIVIC.ID)
-                .fetchOne()
-                .getValue(CIVIC.ID);
+                .returning(CIVIC.ID);
 
         for (String assertion : civic.assertions()) {
-            context.insertInto(CIVICASSERTION, CIVICASSERTION.ASSERTION, CIVICASSERTION.CIVICID).values(assertion, id).execute();
+            writer.insertInto(CIVICASSERTION, CIVICASSERTION.ASSERTION, CIVICASSERTION.CIVICID).values(assertion, id).execute();
         }
 
         for (String hgvsExpression : civic.hgvsExpressions()) {
-            context.insertInto(CIVICHGVSEXPRESSION, CIVICHGVSEXPRESSION.HGVSEXPRESSION, CIVICHGVSEXPRESSION.CIVICID)
+            writer.insertInto(CIVICHGVSEXPRESSION, CIVICHGVSEXPRESSION.HGVSEXPRESSION, CIVICHGVSEXPRESSION.CIVICID)
                     .values(hgvsExpression, id)
                     .execute();
         }
 
         for (String clinVarEntry : civic.clinVarEntries()) {
-            context.insertInto(CIVICCLINVARENTRY, CIVICCLINVARENTRY.CLINVARENTRY, CIVICCLINVARENTRY.CIVICID)
+            writer.insertInto(CIVICCLINVARENTRY, CIVICCLINVARENTRY.CLINVARENTRY, CIVICCLINVARENTRY.CIVICID)
                     .values(clinVarEntry, id)
                     .execute();
         }
 
         for (String variantAlias : civic.variantAliases()) {
-            context.insertInto(CIVICVARIANTALIAS, CIVICVARIANTALIAS.VARIANTALIAS, CIVICVARIANTALIAS.CIVICID)
+            writer.insertInto(CIVICVARIANTALIAS, CIVICVARIANTALIAS.VARIANTALIAS, CIVICVARIANTALIAS.CIVICID)
                     .values(variantAlias, id)
                     .execute();
         }
 
         for (CivicVariantType variantType : civic.variantTypes()) {
-            context.insertInto(CIVICVARIANTTYPE,
+            writer.insertInto(CIVICVARIANTTYPE,
                     CIVICVARIANTTYPE.NAME,
                     CIVICVARIANTTYPE.DISPLAYNAME,
                     CIVICVARIANTTYPE.DESCRIPTION,
@@ -130,13 +127,13 @@ final class CivicDAOFunctions {
 
         CivicProvisionalValue provisionalValue = civic.provisionalValue();
         if (provisionalValue != null) {
-            context.insertInto(CIVICPROVISIONALVALUE,
+            writer.insertInto(CIVICPROVISIONALVALUE,
                     CIVICPROVISIONALVALUE.REVISIONID,
                     CIVICPROVISIONALVALUE.VALUE,
                     CIVICPROVISIONALVALUE.CIVICID).values(provisionalValue.revisionId(), provisionalValue.value(), id).execute();
         }
 
-        context.insertInto(CIVICCOORDINATES,
+        writer.insertInto(CIVICCOORDINATES,
                 CIVICCOORDINATES.CHROMOSOME,
                 CIVICCOORDINATES.START,
                 CIVICCOORDINATES.STOP,
@@ -166,19 +163,17 @@ final class CivicDAOFunctions {
                 .execute();
 
         for (CivicVariantGroup variantGroup : civic.variantGroups()) {
-            int idVariantGroup = context.insertInto(CIVICVARIANTGROUP,
+            int idVariantGroup = writer.insertInto(CIVICVARIANTGROUP,
                     CIVICVARIANTGROUP.NAME,
                     CIVICVARIANTGROUP.TYPE,
                     CIVICVARIANTGROUP.DESCRIPTION,
                     CIVICVARIANTGROUP.IDVARIANTGROUP,
                     CIVICVARIANTGROUP.CIVICID)
                     .values(variantGroup.name(), variantGroup.type(), variantGroup.description(), variantGroup.id(), id)
-                    .returning(CIVICVARIANTGROUP.ID)
-                    .fetchOne()
-                    .getValue(CIVICVARIANTGROUP.ID);
+                    .returning(CIVICVARIANTGROUP.ID);
 
             for (CivicVariant variant : variantGroup.variants()) {
-                int idVariantGroupVariant = context.insertInto(CIVICVARIANTGROUPVARIANT,
+                int idVariantGroupVariant = writer.insertInto(CIVICVARIANTGROUPVARIANT,
                         CIVICVARIANTGROUPVARIANT.ENTREZID,
                         CIVICVARIANTGROUPVARIANT.ENTREZNAME,
                         CIVICVARIANTGROUPVARIANT.NAME,
@@ -197,13 +192,11 @@ final class CivicDAOFunctions {
                                 variant.geneId(),
                                 variant.description(),
                                 idVariantGroup)
-                        .returning(CIVICVARIANTGROUPVARIANT.ID)
-                        .fetchOne()
-                        .getValue(CIVICVARIANTGROUPVARIANT.ID);
+                        .returning(CIVICVARIANTGROUPVARIANT.ID);
 
                 CivicCoordinates coordinates = variant.coordinates();
                 if (coordinates != null) {
-                    context.insertInto(CIVICVARIANTGROUPCOORDINATES,
+                    writer.insertInto(CIVICVARIANTGROUPCOORDINATES,
                             CIVICVARIANTGROUPCOORDINATES.CHROMOSOME,
                             CIVICVARIANTGROUPCOORDINATES.START,
                             CIVICVARIANTGROUPCOORDINATES.STOP,
@@ -234,7 +227,7 @@ final class CivicDAOFunctions {
                 }
 
                 for (CivicVariantType variantType : variant.variantTypes()) {
-                    context.insertInto(CIVICVARIANTGROUPTYPE,
+                    writer.insertInto(CIVICVARIANTGROUPTYPE,
                             CIVICVARIANTGROUPTYPE.NAME,
                             CIVICVARIANTGROUPTYPE.DISPLAYNAME,
                             CIVICVARIANTGROUPTYPE.DESCRIPTION,
@@ -254,7 +247,7 @@ final class CivicDAOFunctions {
             }
         }
 
-        int idEvidenceItem = context.insertInto(CIVICEVIDENCEITEM,
+        int idEvidenceItem = writer.insertInto(CIVICEVIDENCEITEM,
                 CIVICEVIDENCEITEM.NAME,
                 CIVICEVIDENCEITEM.TYPE,
                 CIVICEVIDENCEITEM.STATUS,
@@ -285,17 +278,15 @@ final class CivicDAOFunctions {
                         civic.evidenceItem().variantId(),
                         civic.evidenceItem().id(),
                         id)
-                .returning(CIVICEVIDENCEITEM.ID)
-                .fetchOne()
-                .getValue(CIVICEVIDENCEITEM.ID);
+                .returning(CIVICEVIDENCEITEM.ID);
 
         for (CivicDrug drug : civic.evidenceItem().drugs()) {
-            context.insertInto(CIVICDRUG, CIVICDRUG.NAME, CIVICDRUG.PUBCHEMID, CIVICDRUG.IDDRUG, CIVICDRUG.CIVICEVIDENCEITEMID)
+            writer.insertInto(CIVICDRUG, CIVICDRUG.NAME, CIVICDRUG.PUBCHEMID, CIVICDRUG.IDDRUG, CIVICDRUG.CIVICEVIDENCEITEMID)
                     .values(drug.name(), drug.pubchemId(), drug.id(), idEvidenceItem)
                     .execute();
         }
 
-        context.insertInto(CIVICDISEASE,
+        writer.insertInto(CIVICDISEASE,
                 CIVICDISEASE.NAME,
                 CIVICDISEASE.DISPLAYNAME,
                 CIVICDISEASE.DOID,
@@ -310,7 +301,7 @@ final class CivicDAOFunctions {
                         idEvidenceItem)
                 .execute();
 
-        int idEvidenceItemSource = context.insertInto(CIVICEVIDENCEITEMSOURCE,
+        int idEvidenceItemSource = writer.insertInto(CIVICEVIDENCEITEMSOURCE,
                 CIVICEVIDENCEITEMSOURCE.NAME,
                 CIVICEVIDENCEITEMSOURCE.STATUS,
                 CIVICEVIDENCEITEMSOURCE.OPENACCESS,
@@ -335,11 +326,9 @@ final class CivicDAOFunctions {
                         civic.evidenceItem().source().isReview(),
                         civic.evidenceItem().source().id(),
                         idEvidenceItem)
-                .returning(CIVICEVIDENCEITEMSOURCE.ID)
-                .fetchOne()
-                .getValue(CIVICEVIDENCEITEMSOURCE.ID);
+                .returning(CIVICEVIDENCEITEMSOURCE.ID);
 
-        context.insertInto(CIVICEVIDENCEITEMPUBLICATION,
+        writer.insertInto(CIVICEVIDENCEITEMPUBLICATION,
                 CIVICEVIDENCEITEMPUBLICATION.YEAR,
                 CIVICEVIDENCEITEMPUBLICATION.MONTH,
                 CIVICEVIDENCEITEMPUBLICATION.DAY,
@@ -351,7 +340,7 @@ final class CivicDAOFunctions {
                 .execute();
 
         for (CivicClinicalTrial clinicalTrial : civic.evidenceItem().source().clinicalTrials()) {
-            context.insertInto(CIVICEVIDENCEITEMCLINICALTRIAL,
+            writer.insertInto(CIVICEVIDENCEITEMCLINICALTRIAL,
                     CIVICEVIDENCEITEMCLINICALTRIAL.NAME,
                     CIVICEVIDENCEITEMCLINICALTRIAL.NCTID,
                     CIVICEVIDENCEITEMCLINICALTRIAL.CLINICALTRIALURL,
@@ -366,7 +355,7 @@ final class CivicDAOFunctions {
         }
 
         for (CivicSource source : civic.sources()) {
-            int idSource = context.insertInto(CIVICSOURCE,
+            int idSource = writer.insertInto(CIVICSOURCE,
                     CIVICSOURCE.NAME,
                     CIVICSOURCE.STATUS,
                     CIVICSOURCE.OPENACCESS,
@@ -391,11 +380,9 @@ final class CivicDAOFunctions {
                             source.isReview(),
                             source.id(),
                             id)
-                    .returning(CIVICSOURCE.ID)
-                    .fetchOne()
-                    .getValue(CIVICSOURCE.ID);
+                    .returning(CIVICSOURCE.ID);
 
-            context.insertInto(CIVICPUBLICATION,
+            writer.insertInto(CIVICPUBLICATION,
                     CIVICPUBLICATION.YEAR,
                     CIVICPUBLICATION.MONTH,
                     CIVICPUBLICATION.DAY,
@@ -404,7 +391,7 @@ final class CivicDAOFunctions {
                     .execute();
 
             for (CivicClinicalTrial clinicalTrial : source.clinicalTrials()) {
-                context.insertInto(CIVICCLINICALTRIAL,
+                writer.insertInto(CIVICCLINICALTRIAL,
                         CIVICCLINICALTRIAL.NAME,
                         CIVICCLINICALTRIAL.NCTID,
                         CIVICCLINICALTRIAL.CLINICALTRIALURL,
@@ -419,23 +406,19 @@ final class CivicDAOFunctions {
             }
         }
 
-        int idLifecycleActions = context.insertInto(CIVICLIFECYCLEACTIONS, CIVICLIFECYCLEACTIONS.CIVICID)
+        int idLifecycleActions = writer.insertInto(CIVICLIFECYCLEACTIONS, CIVICLIFECYCLEACTIONS.CIVICID)
                 .values(id)
-                .returning(CIVICLIFECYCLEACTIONS.ID)
-                .fetchOne()
-                .getValue(CIVICLIFECYCLEACTIONS.ID);
+                .returning(CIVICLIFECYCLEACTIONS.ID);
 
         CivicLastCommentedOn lastCommentedOn = civic.lifecycleActions().lastCommentedOn();
         if (lastCommentedOn != null) {
             int idLastCommentedOn =
-                    context.insertInto(CIVICLASTCOMMENTEDON, CIVICLASTCOMMENTEDON.TIMESTAMP, CIVICLASTCOMMENTEDON.CIVICLIFECYCLEACTIONSID)
+                    writer.insertInto(CIVICLASTCOMMENTEDON, CIVICLASTCOMMENTEDON.TIMESTAMP, CIVICLASTCOMMENTEDON.CIVICLIFECYCLEACTIONSID)
                             .values(lastCommentedOn.timestamp(), idLifecycleActions)
-                            .returning(CIVICLASTCOMMENTEDON.ID)
-                            .fetchOne()
-                            .getValue(CIVICLASTCOMMENTEDON.ID);
+                            .returning(CIVICLASTCOMMENTEDON.ID);
 
             CivicUser userLastCommentedOn = lastCommentedOn.user();
-            int idLastCommentedOnUser = context.insertInto(CIVICLASTCOMMENTEDONUSER,
+            int idLastCommentedOnUser = writer.insertInto(CIVICLASTCOMMENTEDONUSER,
                     CIVICLASTCOMMENTEDONUSER.USERNAME,
                     CIVICLASTCOMMENTEDONUSER.NAME,
                     CIVICLASTCOMMENTEDONUSER.DISPLAYNAME,
@@ -476,11 +459,9 @@ final class CivicDAOFunctions {
                             userLastCommentedOn.acceptedLicense(),
                             userLastCommentedOn.id(),
                             idLastCommentedOn)
-                    .returning(CIVICLASTCOMMENTEDONUSER.ID)
-                    .fetchOne()
-                    .getValue(CIVICLASTCOMMENTEDONUSER.ID);
+                    .returning(CIVICLASTCOMMENTEDONUSER.ID);
 
-            context.insertInto(CIVICLASTCOMMENTEDONAVATARS,
+            writer.insertInto(CIVICLASTCOMMENTEDONAVATARS,
                     CIVICLASTCOMMENTEDONAVATARS.X14,
                     CIVICLASTCOMMENTEDONAVATARS.X32,
                     CIVICLASTCOMMENTEDONAVATARS.X64,
@@ -493,7 +474,7 @@ final class CivicDAOFunctions {
                             idLastCommentedOnUser)
                     .execute();
 
-            int idLastCommentOnOrganization = context.insertInto(CIVICLASTCOMMENTEDONORGANIZATION,
+            int idLastCommentOnOrganization = writer.insertInto(CIVICLASTCOMMENTEDONORGANIZATION,
                     CIVICLASTCOMMENTEDONORGANIZATION.NAME,
                     CIVICLASTCOMMENTEDONORGANIZATION.URL,
                     CIVICLASTCOMMENTEDONORGANIZATION.IDORGANIZATION,
@@ -504,13 +485,11 @@ final class CivicDAOFunctions {
                             userLastCommentedOn.organization().id(),
                             userLastCommentedOn.organization().description(),
                             idLastCommentedOnUser)
-                    .returning(CIVICLASTCOMMENTEDONORGANIZATION.ID)
-                    .fetchOne()
-                    .getValue(CIVICLASTCOMMENTEDONORGANIZATION.ID);
+                    .returning(CIVICLASTCOMMENTEDONORGANIZATION.ID);
 
             CivicProfileImage userLastCommentedOnProfileImage = userLastCommentedOn.organization().profileImage();
             if (userLastCommentedOnProfileImage != null) {
-                context.insertInto(CIVICLASTCOMMENTEDONPROFILEIMAGE,
+                writer.insertInto(CIVICLASTCOMMENTEDONPROFILEIMAGE,
                         CIVICLASTCOMMENTEDONPROFILEIMAGE.X14,
                         CIVICLASTCOMMENTEDONPROFILEIMAGE.X32,
                         CIVICLASTCOMMENTEDONPROFILEIMAGE.X64,
@@ -530,15 +509,13 @@ final class CivicDAOFunctions {
         CivicLastModified lastModified = civic.lifecycleActions().lastModified();
         if (lastModified != null) {
             int idLastModified =
-                    context.insertInto(CIVICLASTMODIFIED, CIVICLASTMODIFIED.TIMESTAMP, CIVICLASTMODIFIED.CIVICLIFECYCLEACTIONSID)
+                    writer.insertInto(CIVICLASTMODIFIED, CIVICLASTMODIFIED.TIMESTAMP, CIVICLASTMODIFIED.CIVICLIFECYCLEACTIONSID)
                             .values(lastModified.timestamp(), idLifecycleActions)
-                            .returning(CIVICLASTMODIFIED.ID)
-                            .fetchOne()
-                            .getValue(CIVICLASTMODIFIED.ID);
+                            .returning(CIVICLASTMODIFIED.ID);
 
             CivicUser userLastModified = lastModified.user();
 
-            int idLastModifiedUser = context.insertInto(CIVICLASTMODIFIEDUSER,
+            int idLastModifiedUser = writer.insertInto(CIVICLASTMODIFIEDUSER,
                     CIVICLASTMODIFIEDUSER.USERNAME,
                     CIVICLASTMODIFIEDUSER.NAME,
                     CIVICLASTMODIFIEDUSER.DISPLAYNAME,
@@ -579,11 +556,9 @@ final class CivicDAOFunctions {
                             userLastModified.acceptedLicense(),
                             userLastModified.id(),
                             idLastModified)
-                    .returning(CIVICLASTMODIFIEDUSER.ID)
-                    .fetchOne()
-                    .getValue(CIVICLASTMODIFIEDUSER.ID);
+                    .returning(CIVICLASTMODIFIEDUSER.ID);
 
-            context.insertInto(CIVICLASTMODIFIEDAVATARS,
+            writer.insertInto(CIVICLASTMODIFIEDAVATARS,
                     CIVICLASTMODIFIEDAVATARS.X14,
                     CIVICLASTMODIFIEDAVATARS.X32,
                     CIVICLASTMODIFIEDAVATARS.X64,
@@ -596,7 +571,7 @@ final class CivicDAOFunctions {
                             idLastModifiedUser)
                     .execute();
 
-            int idLastModifiedOrganization = context.insertInto(CIVICLASTMODIFIEDORGANIZATION,
+            int idLastModifiedOrganization = writer.insertInto(CIVICLASTMODIFIEDORGANIZATION,
                     CIVICLASTMODIFIEDORGANIZATION.NAME,
                     CIVICLASTMODIFIEDORGANIZATION.URL,
                     CIVICLASTMODIFIEDORGANIZATION.IDORGANIZATION,
@@ -607,13 +582,11 @@ final class CivicDAOFunctions {
                             userLastModified.organization().id(),
                             userLastModified.organization().description(),
                             idLastModifiedUser)
-                    .returning(CIVICLASTMODIFIEDORGANIZATION.ID)
-                    .fetchOne()
-                    .getValue(CIVICLASTMODIFIEDORGANIZATION.ID);
+                    .returning(CIVICLASTMODIFIEDORGANIZATION.ID);
 
             CivicProfileImage userLastModifiedProfileImage = userLastModified.organization().profileImage();
             if (userLastModifiedProfileImage != null) {
-                context.insertInto(CIVICLASTMODIFIEDPROFILEIMAGE,
+                writer.insertInto(CIVICLASTMODIFIEDPROFILEIMAGE,
                         CIVICLASTMODIFIEDPROFILEIMAGE.X14,
                         CIVICLASTMODIFIEDPROFILEIMAGE.X32,
                         CIVICLASTMODIFIEDPROFILEIMAGE.X64,
@@ -633,14 +606,12 @@ final class CivicDAOFunctions {
         CivicLastReviewed lastReviewed = civic.lifecycleActions().lastReviewed();
         if (lastReviewed != null) {
             int idLastReviewed =
-                    context.insertInto(CIVICLASTREVIEWED, CIVICLASTREVIEWED.TIMESTAMP, CIVICLASTREVIEWED.CIVICLIFECYCLEACTIONSID)
+                    writer.insertInto(CIVICLASTREVIEWED, CIVICLASTREVIEWED.TIMESTAMP, CIVICLASTREVIEWED.CIVICLIFECYCLEACTIONSID)
                             .values(lastReviewed.timestamp(), idLifecycleActions)
-                            .returning(CIVICLASTREVIEWED.ID)
-                            .fetchOne()
-                            .getValue(CIVICLASTREVIEWED.ID);
+                            .returning(CIVICLASTREVIEWED.ID);
 
             CivicUser userLastReviewed = lastReviewed.user();
-            int idLastReviewedUser = context.insertInto(CIVICLASTREVIEWEDUSER,
+            int idLastReviewedUser = writer.insertInto(CIVICLASTREVIEWEDUSER,
                     CIVICLASTREVIEWEDUSER.USERNAME,
                     CIVICLASTREVIEWEDUSER.NAME,
                     CIVICLASTREVIEWEDUSER.DISPLAYNAME,
@@ -681,11 +652,9 @@ final class CivicDAOFunctions {
                             userLastReviewed.acceptedLicense(),
                             userLastReviewed.id(),
                             idLastReviewed)
-                    .returning(CIVICLASTREVIEWEDUSER.ID)
-                    .fetchOne()
-                    .getValue(CIVICLASTREVIEWEDUSER.ID);
+                    .returning(CIVICLASTREVIEWEDUSER.ID);
 
-            context.insertInto(CIVICLASTREVIEWEDAVATARS,
+            writer.insertInto(CIVICLASTREVIEWEDAVATARS,
                     CIVICLASTREVIEWEDAVATARS.X14,
                     CIVICLASTREVIEWEDAVATARS.X32,
                     CIVICLASTREVIEWEDAVATARS.X64,
@@ -698,7 +667,7 @@ final class CivicDAOFunctions {
                             idLastReviewedUser)
                     .execute();
 
-            int idLastReviewedOrganization = context.insertInto(CIVICLASTREVIEWEDORGANIZATION,
+            int idLastReviewedOrganization = writer.insertInto(CIVICLASTREVIEWEDORGANIZATION,
                     CIVICLASTREVIEWEDORGANIZATION.NAME,
                     CIVICLASTREVIEWEDORGANIZATION.URL,
                     CIVICLASTREVIEWEDORGANIZATION.IDORGANIZATION,
@@ -709,13 +678,11 @@ final class CivicDAOFunctions {
                             userLastReviewed.organization().id(),
                             userLastReviewed.organization().description(),
                             idLastReviewedUser)
-                    .returning(CIVICLASTREVIEWEDORGANIZATION.ID)
-                    .fetchOne()
-                    .getValue(CIVICLASTREVIEWEDORGANIZATION.ID);
+                    .returning(CIVICLASTREVIEWEDORGANIZATION.ID);
 
             CivicProfileImage userLastReviewedProfileImage = userLastReviewed.organization().profileImage();
             if (userLastReviewedProfileImage != null) {
-                context.insertInto(CIVICLASTREVIEWEDPROFILEIMAGE,
+                writer.insertInto(CIVICLASTREVIEWEDPROFILEIMAGE,
                         CIVICLASTREVIEWEDPROFILEIMAGE.X14,
                         CIVICLASTREVIEWEDPROFILEIMAGE.X32,
                         CIVICLASTREVIEWEDPROFILEIMAGE.X64,
@@ -733,54 +700,54 @@ final class CivicDAOFunctions {
         }
     }
 
-    static void deleteAll(@NotNull DSLContext context) {
+    static void deleteAll(@NotNull ViccRecordWriter writer) {
         // Start with deleting the life cycle action tables
-        context.deleteFrom(CIVICLASTCOMMENTEDONPROFILEIMAGE).execute();
-        context.deleteFrom(CIVICLASTCOMMENTEDONORGANIZATION).execute();
-        context.deleteFrom(CIVICLASTCOMMENTEDONAVATARS).execute();
-        context.deleteFrom(CIVICLASTCOMMENTEDONUSER).execute();
-        context.deleteFrom(CIVICLASTCOMMENTEDON).execute();
-        context.deleteFrom(CIVICLASTMODIFIEDPROFILEIMAGE).execute();
-        context.deleteFrom(CIVICLASTMODIFIEDORGANIZATION).execute();
-        context.deleteFrom(CIVICLASTMODIFIEDAVATARS).execute();
-        context.deleteFrom(CIVICLASTMODIFIEDUSER).execute();
-        context.deleteFrom(CIVICLASTMODIFIED).execute();
-        context.deleteFrom(CIVICLASTREVIEWEDPROFILEIMAGE).execute();
-        context.deleteFrom(CIVICLASTREVIEWEDORGANIZATION).execute();
-        context.deleteFrom(CIVICLASTREVIEWEDAVATARS).execute();
-        context.deleteFrom(CIVICLASTREVIEWEDUSER).execute();
-        context.deleteFrom(CIVICLASTREVIEWED).execute();
-        context.deleteFrom(CIVICLIFECYCLEACTIONS).execute();
+        writer.deleteFrom(CIVICLASTCOMMENTEDONPROFILEIMAGE);
+        writer.deleteFrom(CIVICLASTCOMMENTEDONORGANIZATION);
+        writer.deleteFrom(CIVICLASTCOMMENTEDONAVATARS);
+        writer.deleteFrom(CIVICLASTCOMMENTEDONUSER);
+        writer.deleteFrom(CIVICLASTCOMMENTEDON);
+        writer.deleteFrom(CIVICLASTMODIFIEDPROFILEIMAGE);
+        writer.deleteFrom(CIVICLASTMODIFIEDORGANIZATION);
+        writer.deleteFrom(CIVICLASTMODIFIEDAVATARS);
+        writer.deleteFrom(CIVICLASTMODIFIEDUSER);
+        writer.deleteFrom(CIVICLASTMODIFIED);
+        writer.deleteFrom(CIVICLASTREVIEWEDPROFILEIMAGE);
+        writer.deleteFrom(CIVICLASTREVIEWEDORGANIZATION);
+        writer.deleteFrom(CIVICLASTREVIEWEDAVATARS);
+        writer.deleteFrom(CIVICLASTREVIEWEDUSER);
+        writer.deleteFrom(CIVICLASTREVIEWED);
+        writer.deleteFrom(CIVICLIFECYCLEACTIONS);
 
         // Then delete the source information
-        context.deleteFrom(CIVICPUBLICATION).execute();
-        context.deleteFrom(CIVICCLINICALTRIAL).execute();
-        context.deleteFrom(CIVICSOURCE).execute();
+        writer.deleteFrom(CIVICPUBLICATION);
+        writer.deleteFrom(CIVICCLINICALTRIAL);
+        writer.deleteFrom(CIVICSOURCE);
 
         // Then delete the evidence items
-        context.deleteFrom(CIVICEVIDENCEITEMCLINICALTRIAL).execute();
-        context.deleteFrom(CIVICEVIDENCEITEMPUBLICATION).execute();
-        context.deleteFrom(CIVICEVIDENCEITEMSOURCE).execute();
-        context.deleteFrom(CIVICDISEASE).execute();
-        context.deleteFrom(CIVICDRUG).execute();
-        context.deleteFrom(CIVICEVIDENCEITEM).execute();
+        writer.deleteFrom(CIVICEVIDENCEITEMCLINICALTRIAL);
+        writer.deleteFrom(CIVICEVIDENCEITEMPUBLICATION);
+        writer.deleteFrom(CIVICEVIDENCEITEMSOURCE);
+        writer.deleteFrom(CIVICDISEASE);
+        writer.deleteFrom(CIVICDRUG);
+        writer.deleteFrom(CIVICEVIDENCEITEM);
 
         // Then delete the variant group tables.
-        context.deleteFrom(CIVICVARIANTGROUPCOORDINATES).execute();
-        context.deleteFrom(CIVICVARIANTGROUPTYPE).execute();
-        context.deleteFrom(CIVICVARIANTGROUPVARIANT).execute();
-        context.deleteFrom(CIVICVARIANTGROUP).execute();
+        writer.deleteFrom(CIVICVARIANTGROUPCOORDINATES);
+        writer.deleteFrom(CIVICVARIANTGROUPTYPE);
+        writer.deleteFrom(CIVICVARIANTGROUPVARIANT);
+        writer.deleteFrom(CIVICVARIANTGROUP);
 
         // Then delete the tables directly under civic
-        context.deleteFrom(CIVICVARIANTALIAS).execute();
-        context.deleteFrom(CIVICVARIANTTYPE).execute();
-        context.deleteFrom(CIVICPROVISIONALVALUE).execute();
-        context.deleteFrom(CIVICCOORDINATES).execute();
-        context.deleteFrom(CIVICASSERTION).execute();
-        context.deleteFrom(CIVICHGVSEXPRESSION).execute();
-        context.deleteFrom(CIVICCLINVARENTRY).execute();
+        writer.deleteFrom(CIVICVARIANTALIAS);
+        writer.deleteFrom(CIVICVARIANTTYPE);
+        writer.deleteFrom(CIVICPROVISIONALVALUE);
+        writer.deleteFrom(CIVICCOORDINATES);
+        writer.deleteFrom(CIVICASSERTION);
+        writer.deleteFrom(CIVICHGVSEXPRESSION);
+        writer.deleteFrom(CIVICCLINVARENTRY);
 
         // Finally, delete the civic table
-        context.deleteFrom(CIVIC).execute();
+        writer.deleteFrom(CIVIC);
     }
 }
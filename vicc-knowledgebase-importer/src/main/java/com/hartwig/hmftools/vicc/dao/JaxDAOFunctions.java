@@ -10,15 +10,14 @@ import com.hartwig.hmftools.vicc.datamodel.jax.Jax;
 import com.hartwig.hmftools.vicc.datamodel.jax.JaxReference;
 
 import org.jetbrains.annotations.NotNull;
-import org.jooq.DSLContext;
 
 final class JaxDAOFunctions {
 
     private JaxDAOFunctions() {
     }
 
-    static void write(@NotNull DSLContext context, int viccEntryId, @NotNull Jax jax) {
-        int id = context.insertInto(JAX,
+    static void write(@NotNull ViccRecordWriter writer, int viccEntryId, @NotNull Jax jax) {
+        int id = writer.insertInto(JAX,
                 JAX.RESPONSETYPE,
                 JAX.APPROVALSTATUS,
                 JAX.EVIDENCETYPE,
@@ -26,25 +25,23 @@ final class JaxDAOFunctions {
                 JAX.IDJAXENTRY,
                 JAX.VICCENTRYID)
                 .values(jax.responseType(), jax.approvalStatus(), jax.evidenceType(), jax.efficacyEvidence(), jax.id(), viccEntryId)
-                .returning(JAX.ID)
-                .fetchOne()
-                .getValue(JAX.ID);
+                .returning(JAX.ID);
 
-        context.insertInto(JAXMOLECULARPROFILE,
+        writer.insertInto(JAXMOLECULARPROFILE,
                 JAXMOLECULARPROFILE.PROFILENAME,
                 JAXMOLECULARPROFILE.IDMOLECULARPROFILE,
                 JAXMOLECULARPROFILE.JAXID).values(jax.molecularProfile().profileName(), jax.molecularProfile().id(), id).execute();
 
-        context.insertInto(JAXTHERAPY, JAXTHERAPY.THERAPYNAME, JAXTHERAPY.IDTHERAPY, JAXTHERAPY.JAXID)
+        writer.insertInto(JAXTHERAPY, JAXTHERAPY.THERAPYNAME, JAXTHERAPY.IDTHERAPY, JAXTHERAPY.JAXID)
                 .values(jax.therapy().therapyName(), jax.therapy().id(), id)
                 .execute();
 
-        context.insertInto(JAXINDICATION, JAXINDICATION.SOURCE, JAXINDICATION.IDINDICATION, JAXINDICATION.NAME, JAXINDICATION.JAXID)
+        writer.insertInto(JAXINDICATION, JAXINDICATION.SOURCE, JAXINDICATION.IDINDICATION, JAXINDICATION.NAME, JAXINDICATION.JAXID)
                 .values(jax.indication().source(), jax.indication().id(), jax.indication().name(), id)
                 .execute();
 
         for (JaxReference references : jax.references()) {
-            context.insertInto(JAXREFERENCE,
+            writer.insertInto(JAXREFERENCE,
                     JAXREFERENCE.URL,
                     JAXREFERENCE.IDREFERENCE,
                     JAXREFERENCE.PUBMEDID,
@@ -53,12 +50,12 @@ final class JaxDAOFunctions {
         }
     }
 
-    static void deleteAll(@NotNull DSLContext context) {
-        context.deleteFrom(JAXMOLECULARPROFILE).execute();
-        context.deleteFrom(JAXTHERAPY).execute();
-        context.deleteFrom(JAXINDICATION).execute();
-        context.deleteFrom(JAXREFERENCE).execute();
+    static void deleteAll(@NotNull ViccRecordWriter writer) {
+        writer.deleteFrom(JAXMOLECULARPROFILE);
+        writer.deleteFrom(JAXTHERAPY);
+        writer.deleteFrom(JAXINDICATION);
+        writer.deleteFrom(JAXREFERENCE);
 
-        context.deleteFrom(JAX).execute();
+        writer.deleteFrom(JAX);
     }
 }
@@ -11,15 +11,14 @@ import com.hartwig.hmftools.vicc.datamodel.jaxtrials.JaxTrialsMolecularProfile;
 import com.hartwig.hmftools.vicc.datamodel.jaxtrials.JaxTrialsTherapy;
 
 import org.jetbrains.annotations.NotNull;
-import org.jooq.DSLContext;
 
 final class JaxTrialsDAOFunctions {
 
     private JaxTrialsDAOFunctions() {
     }
 
-    static void write(@NotNull DSLContext context, int viccEntryId, @NotNull JaxTrials jaxTrials) {
-        int id = context.insertInto(JAXTRIALS,
+    static void write(@NotNull ViccRecordWriter writer, int viccEntryId, @NotNull JaxTrials jaxTrials) {
+        int id = writer.insertInto(JAXTRIALS,
                 JAXTRIALS.NCTID,
                 JAXTRIALS.TITLE,
                 JAXTRIALS.VARIANTREQUIREMENTS,
@@ -38,12 +37,10 @@ final class JaxTrialsDAOFunctions {
                         jaxTrials.sponsors(),
                         jaxTrials.updateDate(),
                         viccEntryId)
-                .returning(JAXTRIALS.ID)
-                .fetchOne()
-                .getValue(JAXTRIALS.ID);
+                .returning(JAXTRIALS.ID);
 
         for (JaxTrialsMolecularProfile molecularProfile : jaxTrials.molecularProfiles()) {
-            context.insertInto(JAXTRIALSMOLECULARPROFILE,
+            writer.insertInto(JAXTRIALSMOLECULARPROFILE,
                     JAXTRIALSMOLECULARPROFILE.REQUIREMENTTYPE,
                     JAXTRIALSMOLECULARPROFILE.PROFILENAME,
                     JAXTRIALSMOLECULARPROFILE.IDMOLECULARPROFILE,
@@ -53,7 +50,7 @@ final class JaxTrialsDAOFunctions {
         }
 
         for (JaxTrialsIndication indication : jaxTrials.indications()) {
-            context.insertInto(JAXTRIALSINDICATION,
+            writer.insertInto(JAXTRIALSINDICATION,
                     JAXTRIALSINDICATION.NAME,
                     JAXTRIALSINDICATION.SOURCE,
                     JAXTRIALSINDICATION.IDINDICATION,
@@ -61,17 +58,17 @@ final class JaxTrialsDAOFunctions {
         }
 
         for (JaxTrialsTherapy therapy : jaxTrials.therapies()) {
-            context.insertInto(JAXTRIALSTHERAPY, JAXTRIALSTHERAPY.THERAPYNAME, JAXTRIALSTHERAPY.IDTHERAPY, JAXTRIALSTHERAPY.JAXTRIALSID)
+            writer.insertInto(JAXTRIALSTHERAPY, JAXTRIALSTHERAPY.THERAPYNAME, JAXTRIALSTHERAPY.IDTHERAPY, JAXTRIALSTHERAPY.JAXTRIALSID)
                     .values(therapy.therapyName(), therapy.id(), id)
                     .execute();
         }
     }
 
-    static void deleteAll(@NotNull DSLContext context) {
-        context.deleteFrom(JAXTRIALSMOLECULARPROFILE).execute();
-        context.deleteFrom(JAXTRIALSINDICATION).execute();
-        context.deleteFrom(JAXTRIALSTHERAPY).execute();
+    static void deleteAll(@NotNull ViccRecordWriter writer) {
+        writer.deleteFrom(JAXTRIALSMOLECULARPROFILE);
+        writer.deleteFrom(JAXTRIALSINDICATION);
+        writer.deleteFrom(JAXTRIALSTHERAPY);
 
-        context.deleteFrom(JAXTRIALS).execute();
+        writer.deleteFrom(JAXTRIALS);
     }
 }
@@ -166,15 +166,14 @@ import com.hartwig.hmftools.vicc.datamodel.molecularmatch.MolecularMatchWGSALoca
 import com.hartwig.hmftools.vicc.datamodel.molecularmatch.MolecularMatchWGSAMap;
 
 import org.jetbrains.annotations.NotNull;
-import org.jooq.DSLContext;
 
 final class MolecularMatchDAOFunctions {
 
     private MolecularMatchDAOFunctions() {
     }
 
-    static void write(@NotNull DSLContext context, int viccEntryId, @NotNull MolecularMatch molecularMatch) {
-        int id = context.insertInto(MOLECULARMATCH,
+    static void write(@NotNull ViccRecordWriter writer, int viccEntryId, @NotNull MolecularMatch molecularMatch) {
+        int id = writer.insertInto(MOLECULARMATCH,
                 MOLECULARMATCH.DIRECTION,
                 MOLECULARMATCH.BIOMARKERCLASS,
                 MOLECULARMATCH.SCORE,
@@ -221,101 +220,99 @@ final class MolecularMatchDAOFunctions {
                         molecularMatch.uniqueKey(),
                         molecularMatch.hashKey(),
                         viccEntryId)
-                .returning(MOLECULARMATCH.ID)
-                .fetchOne()
-                .getValue(MOLECULARMATCH.ID);
+                .returning(MOLECULARMATCH.ID);
 
-        insertMutations(context, molecularMatch.mutations(), id);
-        insertVariantInfos(context, molecularMatch.variantInfos(), id);
-        insertAst(context, molecularMatch.ast(), id);
-        insertClassifications(context, molecularMatch.classifications(), id);
+        insertMutations(writer, molecularMatch.mutations(), id);
+        insertVariantInfos(writer, molecularMatch.variantInfos(), id);
+        insertAst(writer, molecularMatch.ast(), id);
+        insertClassifications(writer, molecularMatch.classifications(), id);
 
         for (String includeGene1 : molecularMatch.includeGene1()) {
-            context.insertInto(MOLECULARMATCHINCLUDEGENE1,
+            writer.insertInto(MOLECULARMATCHINCLUDEGENE1,
                     MOLECULARMATCHINCLUDEGENE1.INCLUDEGENE1,
                     MOLECULARMATCHINCLUDEGENE1.MOLECULARMATCHID).values(includeGene1, id).execute();
         }
 
         for (String includeFinding1 : molecularMatch.includeFinding1()) {
-            context.insertInto(MOLECULARMATCHINCLUDEFINDING1,
+            writer.insertInto(MOLECULARMATCHINCLUDEFINDING1,
                     MOLECULARMATCHINCLUDEFINDING1.INCLUDEFINDING1,
                     MOLECULARMATCHINCLUDEFINDING1.MOLECULARMATCHID).values(includeFinding1, id).execute();
         }
 
         for (String includeCondition1 : molecularMatch.includeCondition1()) {
-            context.insertInto(MOLECULARMATCHINCLUDECONDITION1,
+            writer.insertInto(MOLECULARMATCHINCLUDECONDITION1,
                     MOLECULARMATCHINCLUDECONDITION1.INCLUDECONDITION1,
                     MOLECULARMATCHINCLUDECONDITION1.MOLECULARMATCHID).values(includeCondition1, id).execute();
         }
 
         for (String includeMutation1 : molecularMatch.includeMutation1()) {
-            context.insertInto(MOLECULARMATCHINCLUDEMUTATION1,
+            writer.insertInto(MOLECULARMATCHINCLUDEMUTATION1,
                     MOLECULARMATCHINCLUDEMUTATION1.INCLUDEMUTATION1,
                     MOLECULARMATCHINCLUDEMUTATION1.MOLECULARMATCHID).values(includeMutation1, id).execute();
         }
 
         for (String includeDrug1 : molecularMatch.includeDrug1()) {
-            context.insertInto(MOLECULARMATCHINCLUDEDRUG1,
+            writer.insertInto(MOLECULARMATCHINCLUDEDRUG1,
                     MOLECULARMATCHINCLUDEDRUG1.INCLUDEDRUG1,
                     MOLECULARMATCHINCLUDEDRUG1.MOLECULARMATCHID).values(includeDrug1, id).execute();
         }
 
         for (String includeDrugClass1 : molecularMatch.includeDrugClass1()) {
-            context.insertInto(MOLECULARMATCHINCLUDEDRUGCLASS1,
+            writer.insertInto(MOLECULARMATCHINCLUDEDRUGCLASS1,
                     MOLECULARMATCHINCLUDEDRUGCLASS1.INCLUDEDRUGCLASS1,
                     MOLECULARMATCHINCLUDEDRUGCLASS1.MOLECULARMATCHID).values(includeDrugClass1, id).execute();
         }
 
         for (String includeResistance1 : molecularMatch.includeResistance1()) {
-            context.insertInto(MOLECULARMATCHINCLUDERESISTANCE1,
+            writer.insertInto(MOLECULARMATCHINCLUDERESISTANCE1,
                     MOLECULARMATCHINCLUDERESISTANCE1.INCLUDERESISTANCE1,
                     MOLECULARMATCHINCLUDERESISTANCE1.MOLECULARMATCHID).values(includeResistance1, id).execute();
         }
 
         for (String includeStage0 : molecularMatch.includeStage0()) {
-            context.insertInto(MOLECULARMATCHINCLUDESTAGE0,
+            writer.insertInto(MOLECULARMATCHINCLUDESTAGE0,
                     MOLECULARMATCHINCLUDESTAGE0.INCLUDESTAGE0,
                     MOLECULARMATCHINCLUDESTAGE0.MOLECULARMATCHID).values(includeStage0, id).execute();
         }
 
         for (String includeGene0 : molecularMatch.includeGene0()) {
-            context.insertInto(MOLECULARMATCHINCLUDEGENE0,
+            writer.insertInto(MOLECULARMATCHINCLUDEGENE0,
                     MOLECULARMATCHINCLUDEGENE0.INCLUDEGENE0,
                     MOLECULARMATCHINCLUDEGENE0.MOLECULARMATCHID).values(includeGene0, id).execute();
         }
 
         for (String includeCondition0 : molecularMatch.includeCondition0()) {
-            context.insertInto(MOLECULARMATCHINCLUDECONDITION0,
+            writer.insertInto(MOLECULARMATCHINCLUDECONDITION0,
                     MOLECULARMATCHINCLUDECONDITION0.INCLUDECONDITION0,
                     MOLECULARMATCHINCLUDECONDITION0.MOLECULARMATCHID).values(includeCondition0, id).execute();
         }
 
         for (String includeMutation0 : molecularMatch.includeMutation0()) {
-            context.insertInto(MOLECULARMATCHINCLUDEMUTATION0,
+            writer.insertInto(MOLECULARMATCHINCLUDEMUTATION0,
                     MOLECULARMATCHINCLUDEMUTATION0.INCLUDEMUTATION0,
                     MOLECULARMATCHINCLUDEMUTATION0.MOLECULARMATCHID).values(includeMutation0, id).execute();
         }
 
         for (String criteriaMet : molecularMatch.criteriaMets()) {
-            context.insertInto(MOLECULARMATCHCRITERIAMET, MOLECULARMATCHCRITERIAMET.CRITERIAMET, MOLECULARMATCHCRITERIAMET.MOLECULARMATCHID)
+            writer.insertInto(MOLECULARMATCHCRITERIAMET, MOLECULARMATCHCRITERIAMET.CRITERIAMET, MOLECULARMATCHCRITERIAMET.MOLECULARMATCHID)
                     .values(criteriaMet, id)
                     .execute();
         }
 
         for (String institution : molecularMatch.institutions()) {
-            context.insertInto(MOLECULARMATCHINSTITUTION, MOLECULARMATCHINSTITUTION.INSTITUTION, MOLECULARMATCHINSTITUTION.MOLECULARMATCHID)
+            writer.insertInto(MOLECULARMATCHINSTITUTION, MOLECULARMATCHINSTITUTION.INSTITUTION, MOLECULARMATCHINSTITUTION.MOLECULARMATCHID)
                     .values(institution, id)
                     .execute();
         }
 
         for (String externalId : molecularMatch.externalIds()) {
-            context.insertInto(MOLECULARMATCHEXTERNALID, MOLECULARMATCHEXTERNALID.EXTERNALID, MOLECULARMATCHEXTERNALID.MOLECULARMATCHID)
+            writer.insertInto(MOLECULARMATCHEXTERNALID, MOLECULARMATCHEXTERNALID.EXTERNALID, MOLECULARMATCHEXTERNALID.MOLECULARMATCHID)
                     .values(externalId, id)
                     .execute();
         }
 
         for (MolecularMatchSource source : molecularMatch.sources()) {
-            context.insertInto(MOLECULARMATCHSOURCE,
+            writer.insertInto(MOLECULARMATCHSOURCE,
                     MOLECULARMATCHSOURCE.NAME,
                     MOLECULARMATCHSOURCE.TYPE,
                     MOLECULARMATCHSOURCE.SUBTYPE,
@@ -350,7 +347,7 @@ final class MolecularMatchDAOFunctions {
         }
 
         for (MolecularMatchTierExplanation tierExplanation : molecularMatch.tierExplanations()) {
-            context.insertInto(MOLECULARMATCHTIEREXPLANATION,
+            writer.insertInto(MOLECULARMATCHTIEREXPLANATION,
                     MOLECULARMATCHTIEREXPLANATION.TIER,
                     MOLECULARMATCHTIEREXPLANATION.STEP,
                     MOLECULARMATCHTIEREXPLANATION.MESSAGE,
@@ -361,7 +358,7 @@ final class MolecularMatchDAOFunctions {
         }
 
         for (MolecularMatchTherapeuticContext therapeuticContext : molecularMatch.therapeuticContexts()) {
-            context.insertInto(MOLECULARMATCHTHERAPEUTICCONTEXT,
+            writer.insertInto(MOLECULARMATCHTHERAPEUTICCONTEXT,
                     MOLECULARMATCHTHERAPEUTICCONTEXT.NAME,
                     MOLECULARMATCHTHERAPEUTICCONTEXT.FACET,
                     MOLECULARMATCHTHERAPEUTICCONTEXT.SUPPRESS,
@@ -376,7 +373,7 @@ final class MolecularMatchDAOFunctions {
         }
 
         for (MolecularMatchTag tag : molecularMatch.tags()) {
-            context.insertInto(MOLECULARMATCHTAG,
+            writer.insertInto(MOLECULARMATCHTAG,
                     MOLECULARMATCHTAG.TERM,
                     MOLECULARMATCHTAG.FACET,
                     MOLECULARMATCHTAG.FILTERTYPE,
@@ -413,7 +410,7 @@ final class MolecularMatchDAOFunctions {
         }
 
         for (MolecularMatchCriteriaUnmet criteriaUnmet : molecularMatch.criteriaUnmets()) {
-            context.insertInto(MOLECULARMATCHCRITERIAUNMET,
+            writer.insertInto(MOLECULARMATCHCRITERIAUNMET,
                     MOLECULARMATCHCRITERIAUNMET.TERM,
                     MOLECULARMATCHCRITERIAUNMET.FILTERTYPE,
                     MOLECULARMATCHCRITERIAUNMET.PRIORITY,
@@ -448,7 +445,7 @@ final class MolecularMatchDAOFunctions {
         }
 
         for (MolecularMatchPrevalence prevalence : molecularMatch.prevalences()) {
-            context.insertInto(MOLECULARMATCHPREVALENCE,
+            writer.insertInto(MOLECULARMATCHPREVALENCE,
                     MOLECULARMATCHPREVALENCE.STUDYID,
                     MOLECULARMATCHPREVALENCE.COUNT,
                     MOLECULARMATCHPREVALENCE.SAMPLES,
@@ -467,34 +464,30 @@ final class MolecularMatchDAOFunctions {
         }
     }
 
-    private static void insertAst(@NotNull DSLContext context, @NotNull MolecularMatchAst ast, int molecularMatchId) {
-        int astId = context.insertInto(MOLECULARMATCHAST,
+    private static void insertAst(@NotNull ViccRecordWriter writer, @NotNull MolecularMatchAst ast, int molecularMatchId) {
+        int astId = writer.insertInto(MOLECULARMATCHAST,
                 MOLECULARMATCHAST.TYPE,
                 MOLECULARMATCHAST.RAW,
                 MOLECULARMATCHAST.VALUE,
                 MOLECULARMATCHAST.OPERATOR,
                 MOLECULARMATCHAST.MOLECULARMATCHID)
                 .values(ast.type(), ast.raw(), ast.value(), ast.operator(), molecularMatchId)
-                .returning(MOLECULARMATCHAST.ID)
-                .fetchOne()
-                .getValue(MOLECULARMATCHAST.ID);
+                .returning(MOLECULARMATCHAST.ID);
 
         MolecularMatchAstLeft astLeft = ast.left();
         if (astLeft != null) {
-            int astLeftId = context.insertInto(MOLECULARMATCHASTLEFT,
+            int astLeftId = writer.insertInto(MOLECULARMATCHASTLEFT,
                     MOLECULARMATCHASTLEFT.TYPE,
                     MOLECULARMATCHASTLEFT.RAW,
                     MOLECULARMATCHASTLEFT.VALUE,
                     MOLECULARMATCHASTLEFT.OPERATOR,
                     MOLECULARMATCHASTLEFT.MOLECULARMATCHASTID)
                     .values(astLeft.type(), astLeft.raw(), astLeft.value(), astLeft.operator(), astId)
-                    .returning(MOLECULARMATCHASTLEFT.ID)
-                    .fetchOne()
-                    .getValue(MOLECULARMATCHASTLEFT.ID);
+                    .returning(MOLECULARMATCHASTLEFT.ID);
 
             MolecularMatchAstLeftLeft astLeftLeft = astLeft.left();
             if (astLeftLeft != null) {
-                context.insertInto(MOLECULARMATCHASTLEFTLEFT,
+                writer.insertInto(MOLECULARMATCHASTLEFTLEFT,
                         MOLECULARMATCHASTLEFTLEFT.TYPE,
                         MOLECULARMATCHASTLEFTLEFT.RAW,
                         MOLECULARMATCHASTLEFTLEFT.VALUE,
@@ -506,7 +499,7 @@ final class MolecularMatchDAOFunctions {
 
             MolecularMatchAstLeftRight astLeftRight = astLeft.right();
             if (astLeftRight != null) {
-                context.insertInto(MOLECULARMATCHASTLEFTRIGHT,
+                writer.insertInto(MOLECULARMATCHASTLEFTRIGHT,
                         MOLECULARMATCHASTLEFTRIGHT.TYPE,
                         MOLECULARMATCHASTLEFTRIGHT.RAW,
                         MOLECULARMATCHASTLEFTRIGHT.VALUE,
@@ -519,20 +512,18 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchAstRight astRight = ast.right();
         if (astRight != null) {
-            int astRightId = context.insertInto(MOLECULARMATCHASTRIGHT,
+            int astRightId = writer.insertInto(MOLECULARMATCHASTRIGHT,
                     MOLECULARMATCHASTRIGHT.TYPE,
                     MOLECULARMATCHASTRIGHT.RAW,
                     MOLECULARMATCHASTRIGHT.VALUE,
                     MOLECULARMATCHASTRIGHT.OPERATOR,
                     MOLECULARMATCHASTRIGHT.MOLECULARMATCHASTID)
                     .values(astRight.type(), astRight.raw(), astRight.value(), astRight.operator(), astId)
-                    .returning(MOLECULARMATCHASTRIGHT.ID)
-                    .fetchOne()
-                    .getValue(MOLECULARMATCHASTRIGHT.ID);
+                    .returning(MOLECULARMATCHASTRIGHT.ID);
 
             MolecularMatchAstRightLeft astRightLeft = astRight.left();
             if (astRightLeft != null) {
-                context.insertInto(MOLECULARMATCHASTRIGHTLEFT,
+                writer.insertInto(MOLECULARMATCHASTRIGHTLEFT,
                         MOLECULARMATCHASTRIGHTLEFT.TYPE,
                         MOLECULARMATCHASTRIGHTLEFT.RAW,
                         MOLECULARMATCHASTRIGHTLEFT.VALUE,
@@ -544,7 +535,7 @@ final class MolecularMatchDAOFunctions {
 
             MolecularMatchAstRightRight astRightRight = astRight.right();
             if (astRightRight != null) {
-                context.insertInto(MOLECULARMATCHASTRIGHTRIGHT,
+                writer.insertInto(MOLECULARMATCHASTRIGHTRIGHT,
                         MOLECULARMATCHASTRIGHTRIGHT.TYPE,
                         MOLECULARMATCHASTRIGHTRIGHT.RAW,
                         MOLECULARMATCHASTRIGHTRIGHT.VALUE,
@@ -557,10 +548,10 @@ final class MolecularMatchDAOFunctions {
         }
     }
 
-    private static void insertVariantInfos(@NotNull DSLContext context, @NotNull List<MolecularMatchVariantInfo> variantInfos,
+    private static void insertVariantInfos(@NotNull ViccRecordWriter writer, @NotNull List<MolecularMatchVariantInfo> variantInfos,
             int molecularMatchId) {
         for (MolecularMatchVariantInfo variantInfo : variantInfos) {
-            int variantInfoId = context.insertInto(MOLECULARMATCHVARIANTINFO,
+            int variantInfoId = writer.insertInto(MOLECULARMATCHVARIANTINFO,
                     MOLECULARMATCHVARIANTINFO.NAME,
                     MOLECULARMATCHVARIANTINFO.GENE,
                     MOLECULARMATCHVARIANTINFO.TRANSCRIPT,
@@ -577,18 +568,16 @@ final class MolecularMatchDAOFunctions {
                             variantInfo.cosmicId(),
                             variantInfo.popFreqMax(),
                             molecularMatchId)
-                    .returning(MOLECULARMATCHVARIANTINFO.ID)
-                    .fetchOne()
-                    .getValue(MOLECULARMATCHVARIANTINFO.ID);
+                    .returning(MOLECULARMATCHVARIANTINFO.ID);
 
             for (String consequence : variantInfo.consequences()) {
-                context.insertInto(MOLECULARMATCHVARIANTINFOCONSEQUENCE,
+                writer.insertInto(MOLECULARMATCHVARIANTINFOCONSEQUENCE,
                         MOLECULARMATCHVARIANTINFOCONSEQUENCE.CONSEQUENCE,
                         MOLECULARMATCHVARIANTINFOCONSEQUENCE.MOLECULARMATCHVARIANTINFOID).values(consequence, variantInfoId).execute();
             }
 
             for (MolecularMatchFusion fusion : variantInfo.fusions()) {
-                context.insertInto(MOLECULARMATCHVARIANTINFOFUSION,
+                writer.insertInto(MOLECULARMATCHVARIANTINFOFUSION,
                         MOLECULARMATCHVARIANTINFOFUSION.CHR,
                         MOLECULARMATCHVARIANTINFOFUSION.REFERENCEGENOME,
                         MOLECULARMATCHVARIANTINFOFUSION.LBPWREP,
@@ -611,7 +600,7 @@ final class MolecularMatchDAOFunctions {
             }
 
             for (MolecularMatchLocation location : variantInfo.locations()) {
-                int locationId = context.insertInto(MOLECULARMATCHVARIANTINFOLOCATION,
+                int locationId = writer.insertInto(MOLECULARMATCHVARIANTINFOLOCATION,
                         MOLECULARMATCHVARIANTINFOLOCATION.CHR,
                         MOLECULARMATCHVARIANTINFOLOCATION.START,
                         MOLECULARMATCHVARIANTINFOLOCATION.STOP,
@@ -634,12 +623,10 @@ final class MolecularMatchDAOFunctions {
                                 location.strand(),
                                 location.intronNumber(),
                                 variantInfoId)
-                        .returning(MOLECULARMATCHVARIANTINFOLOCATION.ID)
-                        .fetchOne()
-                        .getValue(MOLECULARMATCHVARIANTINFOLOCATION.ID);
+                        .returning(MOLECULARMATCHVARIANTINFOLOCATION.ID);
 
                 for (String exonNumber : location.exonNumbers()) {
-                    context.insertInto(MOLECULARMATCHVARIANTINFOLOCATIONEXONNUMBER,
+                    writer.insertInto(MOLECULARMATCHVARIANTINFOLOCATIONEXONNUMBER,
                             MOLECULARMATCHVARIANTINFOLOCATIONEXONNUMBER.EXONNUMBER,
                             MOLECULARMATCHVARIANTINFOLOCATIONEXONNUMBER.MOLECULARMATCHVARIANTINFOLOCATIONID)
                             .values(exonNumber, locationId)
@@ -649,10 +636,10 @@ final class MolecularMatchDAOFunctions {
         }
     }
 
-    private static void insertClassifications(@NotNull DSLContext context, @NotNull List<MolecularMatchClassification> classifications,
+    private static void insertClassifications(@NotNull ViccRecordWriter writer, @NotNull List<MolecularMatchClassification> classifications,
             int molecularMatchId) {
         for (MolecularMatchClassification classification : classifications) {
-            int classificationId = context.insertInto(MOLECULARMATCHCLASSIFICATION,
+            int classificationId = writer.insertInto(MOLECULARMATCHCLASSIFICATION,
                     MOLECULARMATCHCLASSIFICATION.NAME,
                     MOLECULARMATCHCLASSIFICATION.GENESYMBOL,
                     MOLECULARMATCHCLASSIFICATION.EXPANDGENESEARCH,
@@ -687,12 +674,10 @@ final class MolecularMatchDAOFunctions {
                             classification.priority(),
                             classification.description(),
                             molecularMatchId)
-                    .returning(MOLECULARMATCHCLASSIFICATION.ID)
-                    .fetchOne()
-                    .getValue(MOLECULARMATCHCLASSIFICATION.ID);
+                    .returning(MOLECULARMATCHCLASSIFICATION.ID);
 
             for (String transcript : classification.transcripts()) {
-                context.insertInto(MOLECULARMATCHCLASSIFICATIONTRANSCRIPT,
+                writer.insertInto(MOLECULARMATCHCLASSIFICATIONTRANSCRIPT,
                         MOLECULARMATCHCLASSIFICATIONTRANSCRIPT.TRANSCRIPT,
                         MOLECULARMATCHCLASSIFICATIONTRANSCRIPT.MOLECULARMATCHCLASSIFICATIONID)
                         .values(transcript, classificationId)
@@ -700,7 +685,7 @@ final class MolecularMatchDAOFunctions {
             }
 
             for (String chromosome : classification.chromosomes()) {
-                context.insertInto(MOLECULARMATCHCLASSIFICATIONCHROMOSOME,
+                writer.insertInto(MOLECULARMATCHCLASSIFICATIONCHROMOSOME,
                         MOLECULARMATCHCLASSIFICATIONCHROMOSOME.CHROMOSOME,
                         MOLECULARMATCHCLASSIFICATIONCHROMOSOME.MOLECULARMATCHCLASSIFICATIONID)
                         .values(chromosome, classificationId)
@@ -708,31 +693,31 @@ final class MolecularMatchDAOFunctions {
             }
 
             for (String start : classification.starts()) {
-                context.insertInto(MOLECULARMATCHCLASSIFICATIONSTART,
+                writer.insertInto(MOLECULARMATCHCLASSIFICATIONSTART,
                         MOLECULARMATCHCLASSIFICATIONSTART.START,
                         MOLECULARMATCHCLASSIFICATIONSTART.MOLECULARMATCHCLASSIFICATIONID).values(start, classificationId).execute();
             }
 
             for (String end : classification.ends()) {
-                context.insertInto(MOLECULARMATCHCLASSIFICATIONEND,
+                writer.insertInto(MOLECULARMATCHCLASSIFICATIONEND,
                         MOLECULARMATCHCLASSIFICATIONEND.END,
                         MOLECULARMATCHCLASSIFICATIONEND.MOLECULARMATCHCLASSIFICATIONID).values(end, classificationId).execute();
             }
 
             for (String ref : classification.refs()) {
-                context.insertInto(MOLECULARMATCHCLASSIFICATIONREF,
+                writer.insertInto(MOLECULARMATCHCLASSIFICATIONREF,
                         MOLECULARMATCHCLASSIFICATIONREF.REF,
                         MOLECULARMATCHCLASSIFICATIONREF.MOLECULARMATCHCLASSIFICATIONID).values(ref, classificationId).execute();
             }
 
             for (String alt : classification.alts()) {
-                context.insertInto(MOLECULARMATCHCLASSIFICATIONALT,
+                writer.insertInto(MOLECULARMATCHCLASSIFICATIONALT,
                         MOLECULARMATCHCLASSIFICATIONALT.ALT,
                         MOLECULARMATCHCLASSIFICATIONALT.MOLECULARMATCHCLASSIFICATIONID).values(alt, classificationId).execute();
             }
 
             for (String nucleotideChange : classification.nucleotideChanges()) {
-                context.insertInto(MOLECULARMATCHCLASSIFICATIONNUCLEOTIDECHANGE,
+                writer.insertInto(MOLECULARMATCHCLASSIFICATIONNUCLEOTIDECHANGE,
                         MOLECULARMATCHCLASSIFICATIONNUCLEOTIDECHANGE.NUCLEOTIDECHANGE,
                         MOLECULARMATCHCLASSIFICATIONNUCLEOTIDECHANGE.MOLECULARMATCHCLASSIFICATIONID)
                         .values(nucleotideChange, classificationId)
@@ -740,13 +725,13 @@ final class MolecularMatchDAOFunctions {
             }
 
             for (String exon : classification.exons()) {
-                context.insertInto(MOLECULARMATCHCLASSIFICATIONEXON,
+                writer.insertInto(MOLECULARMATCHCLASSIFICATIONEXON,
                         MOLECULARMATCHCLASSIFICATIONEXON.EXON,
                         MOLECULARMATCHCLASSIFICATIONEXON.MOLECULARMATCHCLASSIFICATIONID).values(exon, classificationId).execute();
             }
 
             for (String exonicFunc : classification.exonicFuncs()) {
-                context.insertInto(MOLECULARMATCHCLASSIFICATIONEXONICFUNC,
+                writer.insertInto(MOLECULARMATCHCLASSIFICATIONEXONICFUNC,
                         MOLECULARMATCHCLASSIFICATIONEXONICFUNC.EXONICFUNC,
                         MOLECULARMATCHCLASSIFICATIONEXONICFUNC.MOLECULARMATCHCLASSIFICATIONID)
                         .values(exonicFunc, classificationId)
@@ -754,31 +739,31 @@ final class MolecularMatchDAOFunctions {
             }
 
             for (String pathology : classification.pathology()) {
-                context.insertInto(MOLECULARMATCHCLASSIFICATIONPATHOLOGY,
+                writer.insertInto(MOLECULARMATCHCLASSIFICATIONPATHOLOGY,
                         MOLECULARMATCHCLASSIFICATIONPATHOLOGY.PATHOLOGY,
                         MOLECULARMATCHCLASSIFICATIONPATHOLOGY.MOLECULARMATCHCLASSIFICATIONID).values(pathology, classificationId).execute();
             }
 
             for (String source : classification.sources()) {
-                context.insertInto(MOLECULARMATCHCLASSIFICATIONSOURCE,
+                writer.insertInto(MOLECULARMATCHCLASSIFICATIONSOURCE,
                         MOLECULARMATCHCLASSIFICATIONSOURCE.SOURCE,
                         MOLECULARMATCHCLASSIFICATIONSOURCE.MOLECULARMATCHCLASSIFICATIONID).values(source, classificationId).execute();
             }
 
             for (String dbSNP : classification.dbSNPs()) {
-                context.insertInto(MOLECULARMATCHCLASSIFICATIONDBSNP,
+                writer.insertInto(MOLECULARMATCHCLASSIFICATIONDBSNP,
                         MOLECULARMATCHCLASSIFICATIONDBSNP.DBSNP,
                         MOLECULARMATCHCLASSIFICATIONDBSNP.MOLECULARMATCHCLASSIFICATIONID).values(dbSNP, classificationId).execute();
             }
 
             for (String cosmicId : classification.cosmicIds()) {
-                context.insertInto(MOLECULARMATCHCLASSIFICATIONCOSMICID,
+                writer.insertInto(MOLECULARMATCHCLASSIFICATIONCOSMICID,
                         MOLECULARMATCHCLASSIFICATIONCOSMICID.COSMICID,
                         MOLECULARMATCHCLASSIFICATIONCOSMICID.MOLECULARMATCHCLASSIFICATIONID).values(cosmicId, classificationId).execute();
             }
 
             for (String popFreqMax : classification.popFreqMaxes()) {
-                context.insertInto(MOLECULARMATCHCLASSIFICATIONPOPFREQMAX,
+                writer.insertInto(MOLECULARMATCHCLASSIFICATIONPOPFREQMAX,
                         MOLECULARMATCHCLASSIFICATIONPOPFREQMAX.POPFREQMAX,
                         MOLECULARMATCHCLASSIFICATIONPOPFREQMAX.MOLECULARMATCHCLASSIFICATIONID)
                         .values(popFreqMax, classificationId)
@@ -786,18 +771,16 @@ final class MolecularMatchDAOFunctions {
             }
 
             for (MolecularMatchParent parent : classification.parents()) {
-                int parentId = context.insertInto(MOLECULARMATCHCLASSIFICATIONPARENT,
+                int parentId = writer.insertInto(MOLECULARMATCHCLASSIFICATIONPARENT,
                         MOLECULARMATCHCLASSIFICATIONPARENT.NAME,
                         MOLECULARMATCHCLASSIFICATIONPARENT.TYPE,
                         MOLECULARMATCHCLASSIFICATIONPARENT.ACTIONABLEPARENT,
                         MOLECULARMATCHCLASSIFICATIONPARENT.MOLECULARMATCHCLASSIFICATIONID)
                         .values(parent.name(), parent.type(), parent.actionableParent(), classificationId)
-                        .returning(MOLECULARMATCHCLASSIFICATIONPARENT.ID)
-                        .fetchOne()
-                        .getValue(MOLECULARMATCHCLASSIFICATIONPARENT.ID);
+                        .returning(MOLECULARMATCHCLASSIFICATIONPARENT.ID);
 
                 for (String transcript : parent.transcripts()) {
-                    context.insertInto(MOLECULARMATCHCLASSIFICATIONPARENTTRANSCRIPT,
+                    writer.insertInto(MOLECULARMATCHCLASSIFICATIONPARENTTRANSCRIPT,
                             MOLECULARMATCHCLASSIFICATIONPARENTTRANSCRIPT.TRANSCRIPT,
                             MOLECULARMATCHCLASSIFICATIONPARENTTRANSCRIPT.MOLECULARMATCHCLASSIFICATIONPARENTID)
                             .values(transcript, parentId)
@@ -807,10 +790,10 @@ final class MolecularMatchDAOFunctions {
         }
     }
 
-    private static void insertMutations(@NotNull DSLContext context, @NotNull List<MolecularMatchMutation> mutations,
+    private static void insertMutations(@NotNull ViccRecordWriter writer, @NotNull List<MolecularMatchMutation> mutations,
             int molecularMatchId) {
         for (MolecularMatchMutation mutation : mutations) {
-            int mutationId = context.insertInto(MOLECULARMATCHMUTATION,
+            int mutationId = writer.insertInto(MOLECULARMATCHMUTATION,
                     MOLECULARMATCHMUTATION.GENESYMBOL,
                     MOLECULARMATCHMUTATION.NAME,
                     MOLECULARMATCHMUTATION.TRANSCRIPTRECOGNIZED,
@@ -831,42 +814,40 @@ final class MolecularMatchDAOFunctions {
                             mutation.src(),
                             mutation.id(),
                             molecularMatchId)
-                    .returning(MOLECULARMATCHMUTATION.ID)
-                    .fetchOne()
-                    .getValue(MOLECULARMATCHMUTATION.ID);
+                    .returning(MOLECULARMATCHMUTATION.ID);
 
             for (String mutationType : mutation.mutationTypes()) {
-                context.insertInto(MOLECULARMATCHMUTATIONMUTATIONTYPE,
+                writer.insertInto(MOLECULARMATCHMUTATIONMUTATIONTYPE,
                         MOLECULARMATCHMUTATIONMUTATIONTYPE.MUTATIONTYPE,
                         MOLECULARMATCHMUTATIONMUTATIONTYPE.MOLECULARMATCHMUTATIONID).values(mutationType, mutationId).execute();
             }
 
             for (String source : mutation.sources()) {
-                context.insertInto(MOLECULARMATCHMUTATIONSOURCE,
+                writer.insertInto(MOLECULARMATCHMUTATIONSOURCE,
                         MOLECULARMATCHMUTATIONSOURCE.SOURCE,
                         MOLECULARMATCHMUTATIONSOURCE.MOLECULARMATCHMUTATIONID).values(source, mutationId).execute();
             }
 
             for (String synonym : mutation.synonyms()) {
-                context.insertInto(MOLECULARMATCHMUTATIONSYNONYM,
+                writer.insertInto(MOLECULARMATCHMUTATIONSYNONYM,
                         MOLECULARMATCHMUTATIONSYNONYM.SYNONYM,
                         MOLECULARMATCHMUTATIONSYNONYM.MOLECULARMATCHMUTATIONID).values(synonym, mutationId).execute();
             }
 
             for (String pathology : mutation.pathology()) {
-                context.insertInto(MOLECULARMATCHMUTATIONPATHOLOGY,
+                writer.insertInto(MOLECULARMATCHMUTATIONPATHOLOGY,
                         MOLECULARMATCHMUTATIONPATHOLOGY.PATHOLOGY,
                         MOLECULARMATCHMUTATIONPATHOLOGY.MOLECULARMATCHMUTATIONID).values(pathology, mutationId).execute();
             }
 
             for (String cDNA : mutation.cDNA()) {
-                context.insertInto(MOLECULARMATCHMUTATIONCDNA,
+                writer.insertInto(MOLECULARMATCHMUTATIONCDNA,
                         MOLECULARMATCHMUTATIONCDNA.CDNA,
                         MOLECULARMATCHMUTATIONCDNA.MOLECULARMATCHMUTATIONID).values(cDNA, mutationId).execute();
             }
 
             for (MolecularMatchTranscriptConsequence transcriptConsequence : mutation.transcriptConsequences()) {
-                int transcriptConsequenceId = context.insertInto(MOLECULARMATCHMUTATIONTRANSCRIPTCONSEQUENCE,
+                int transcriptConsequenceId = writer.insertInto(MOLECULARMATCHMUTATIONTRANSCRIPTCONSEQUENCE,
                         MOLECULARMATCHMUTATIONTRANSCRIPTCONSEQUENCE.CHR,
                         MOLECULARMATCHMUTATIONTRANSCRIPTCONSEQUENCE.START,
                         MOLECULARMATCHMUTATIONTRANSCRIPTCONSEQUENCE.STOP,
@@ -899,12 +880,10 @@ final class MolecularMatchDAOFunctions {
                                 transcriptConsequence.validated(),
                                 transcriptConsequence.compositeKey(),
                                 mutationId)
-                        .returning(MOLECULARMATCHMUTATIONTRANSCRIPTCONSEQUENCE.ID)
-                        .fetchOne()
-                        .getValue(MOLECULARMATCHMUTATIONTRANSCRIPTCONSEQUENCE.ID);
+                        .returning(MOLECULARMATCHMUTATIONTRANSCRIPTCONSEQUENCE.ID);
 
                 for (String exonNumber : transcriptConsequence.exonNumbers()) {
-                    context.insertInto(MOLECULARMATCHMUTATIONTRANSCRIPTCONSEQUENCEEXONNUMBER,
+                    writer.insertInto(MOLECULARMATCHMUTATIONTRANSCRIPTCONSEQUENCEEXONNUMBER,
                             MOLECULARMATCHMUTATIONTRANSCRIPTCONSEQUENCEEXONNUMBER.EXONNUMBER,
                             MOLECULARMATCHMUTATIONTRANSCRIPTCONSEQUENCEEXONNUMBER.MOLECULARMATCHMUTATIONTRANSCRIPTCONSEQUENCEID)
                             .values(exonNumber, transcriptConsequenceId)
@@ -913,39 +892,37 @@ final class MolecularMatchDAOFunctions {
             }
 
             for (MolecularMatchParent parent : mutation.parents()) {
-                int idParent = context.insertInto(MOLECULARMATCHMUTATIONPARENT,
+                int idParent = writer.insertInto(MOLECULARMATCHMUTATIONPARENT,
                         MOLECULARMATCHMUTATIONPARENT.NAME,
                         MOLECULARMATCHMUTATIONPARENT.TYPE,
                         MOLECULARMATCHMUTATIONPARENT.ACTIONABLEPARENT,
                         MOLECULARMATCHMUTATIONPARENT.MOLECULARMATCHMUTATIONID)
                         .values(parent.name(), parent.type(), parent.actionableParent(), mutationId)
-                        .returning(MOLECULARMATCHMUTATIONPARENT.ID)
-                        .fetchOne()
-                        .getValue(MOLECULARMATCHMUTATIONPARENT.ID);
+                        .returning(MOLECULARMATCHMUTATIONPARENT.ID);
 
                 for (String transcript : parent.transcripts()) {
-                    context.insertInto(MOLECULARMATCHMUTATIONPARENTTRANSCRIPT,
+                    writer.insertInto(MOLECULARMATCHMUTATIONPARENTTRANSCRIPT,
                             MOLECULARMATCHMUTATIONPARENTTRANSCRIPT.TRANSCRIPT,
                             MOLECULARMATCHMUTATIONPARENTTRANSCRIPT.MOLECULARMATCHMUTATIONPARENTID).values(transcript, idParent).execute();
                 }
             }
 
-            insertMutationWGSALocations(context, mutation.wgsaLocations(), mutationId);
-            insertMutationWGSAMaps(context, mutation.wgsaMaps(), mutationId);
-            insertMutationGRCh37Locations(context, mutation.grch37Locations(), mutationId);
-            insertMutationFusions(context, mutation.fusionData(), mutationId);
+            insertMutationWGSALocations(writer, mutation.wgsaLocations(), mutationId);
+            insertMutationWGSAMaps(writer, mutation.wgsaMaps(), mutationId);
+            insertMutationGRCh37Locations(writer, mutation.grch37Locations(), mutationId);
+            insertMutationFusions(writer, mutation.fusionData(), mutationId);
 
             MolecularMatchExonsInfo exonsInfo = mutation.exonsInfo();
             if (exonsInfo != null) {
-                insertMutationExonsInfo(context, exonsInfo, mutationId);
+                insertMutationExonsInfo(writer, exonsInfo, mutationId);
             }
         }
     }
 
-    private static void insertMutationWGSALocations(@NotNull DSLContext context, @NotNull List<MolecularMatchWGSALocation> wgsaLocations,
+    private static void insertMutationWGSALocations(@NotNull ViccRecordWriter writer, @NotNull List<MolecularMatchWGSALocation> wgsaLocations,
             int mutationId) {
         for (MolecularMatchWGSALocation wgsaLocation : wgsaLocations) {
-            int wgsaLocationId = context.insertInto(MOLECULARMATCHMUTATIONWGSALOCATION,
+            int wgsaLocationId = writer.insertInto(MOLECULARMATCHMUTATIONWGSALOCATION,
                     MOLECULARMATCHMUTATIONWGSALOCATION.CHR,
                     MOLECULARMATCHMUTATIONWGSALOCATION.START,
                     MOLECULARMATCHMUTATIONWGSALOCATION.END,
@@ -1030,18 +1007,16 @@ final class MolecularMatchDAOFunctions {
                             wgsaLocation.targetScanS(),
                             wgsaLocation.key(),
                             mutationId)
-                    .returning(MOLECULARMATCHMUTATIONWGSALOCATION.ID)
-                    .fetchOne()
-                    .getValue(MOLECULARMATCHMUTATIONWGSALOCATION.ID);
+                    .returning(MOLECULARMATCHMUTATIONWGSALOCATION.ID);
 
             for (String gene : wgsaLocation.genes()) {
-                context.insertInto(MOLECULARMATCHMUTATIONWGSALOCATIONGENE,
+                writer.insertInto(MOLECULARMATCHMUTATIONWGSALOCATIONGENE,
                         MOLECULARMATCHMUTATIONWGSALOCATIONGENE.GENE,
                         MOLECULARMATCHMUTATIONWGSALOCATIONGENE.MOLECULARMATCHMUTATIONWGSALOCATIONID).values(gene, wgsaLocationId).execute();
             }
 
             for (String fullAA : wgsaLocation.fullAAs()) {
-                context.insertInto(MOLECULARMATCHMUTATIONWGSALOCATIONFULLAA,
+                writer.insertInto(MOLECULARMATCHMUTATIONWGSALOCATIONFULLAA,
                         MOLECULARMATCHMUTATIONWGSALOCATIONFULLAA.FULLAA,
                         MOLECULARMATCHMUTATIONWGSALOCATIONFULLAA.MOLECULARMATCHMUTATIONWGSALOCATIONID)
                         .values(fullAA, wgsaLocationId)
@@ -1049,7 +1024,7 @@ final class MolecularMatchDAOFunctions {
             }
 
             for (String clinVarDisease : wgsaLocation.clinVarDiseases()) {
-                context.insertInto(MOLECULARMATCHMUTATIONWGSALOCATIONCLINVARDISEASE,
+                writer.insertInto(MOLECULARMATCHMUTATIONWGSALOCATIONCLINVARDISEASE,
                         MOLECULARMATCHMUTATIONWGSALOCATIONCLINVARDISEASE.CLINVARDISEASE,
                         MOLECULARMATCHMUTATIONWGSALOCATIONCLINVARDISEASE.MOLECULARMATCHMUTATIONWGSALOCATIONID)
                         .values(clinVarDisease, wgsaLocationId)
@@ -1057,7 +1032,7 @@ final class MolecularMatchDAOFunctions {
             }
 
             for (String clinVarSig : wgsaLocation.clinVarSigs()) {
-                context.insertInto(MOLECULARMATCHMUTATIONWGSALOCATIONCLINVARSIG,
+                writer.insertInto(MOLECULARMATCHMUTATIONWGSALOCATIONCLINVARSIG,
                         MOLECULARMATCHMUTATIONWGSALOCATIONCLINVARSIG.CLINVARSIG,
                         MOLECULARMATCHMUTATIONWGSALOCATIONCLINVARSIG.MOLECULARMATCHMUTATIONWGSALOCATIONID)
                         .values(clinVarSig, wgsaLocationId)
@@ -1065,7 +1040,7 @@ final class MolecularMatchDAOFunctions {
             }
 
             for (String clinVarStatus : wgsaLocation.clinVarStates()) {
-                context.insertInto(MOLECULARMATCHMUTATIONWGSALOCATIONCLINVARSTATUS,
+                writer.insertInto(MOLECULARMATCHMUTATIONWGSALOCATIONCLINVARSTATUS,
                         MOLECULARMATCHMUTATIONWGSALOCATIONCLINVARSTATUS.CLINVARSTATUS,
                         MOLECULARMATCHMUTATIONWGSALOCATIONCLINVARSTATUS.MOLECULARMATCHMUTATIONWGSALOCATIONID)
                         .values(clinVarStatus, wgsaLocationId)
@@ -1073,7 +1048,7 @@ final class MolecularMatchDAOFunctions {
             }
 
             for (String clinVarDbId : wgsaLocation.clinVarDbIds()) {
-                context.insertInto(MOLECULARMATCHMUTATIONWGSALOCATIONCLINVARDBID,
+                writer.insertInto(MOLECULARMATCHMUTATIONWGSALOCATIONCLINVARDBID,
                         MOLECULARMATCHMUTATIONWGSALOCATIONCLINVARDBID.CLINVARDBID,
                         MOLECULARMATCHMUTATIONWGSALOCATIONCLINVARDBID.MOLECULARMATCHMUTATIONWGSALOCATIONID)
                         .values(clinVarDbId, wgsaLocationId)
@@ -1082,9 +1057,9 @@ final class MolecularMatchDAOFunctions {
         }
     }
 
-    private static void insertMutationWGSAMaps(@NotNull DSLContext context, @NotNull List<MolecularMatchWGSAMap> wgsaMaps, int mutationId) {
+    private static void insertMutationWGSAMaps(@NotNull ViccRecordWriter writer, @NotNull List<MolecularMatchWGSAMap> wgsaMaps, int mutationId) {
         for (MolecularMatchWGSAMap wgsaMap : wgsaMaps) {
-            int wgsaMapId = context.insertInto(MOLECULARMATCHMUTATIONWGSAMAP,
+            int wgsaMapId = writer.insertInto(MOLECULARMATCHMUTATIONWGSAMAP,
                     MOLECULARMATCHMUTATIONWGSAMAP.NAME,
                     MOLECULARMATCHMUTATIONWGSAMAP.GENE,
                     MOLECULARMATCHMUTATIONWGSAMAP.TRANSCRIPT,
@@ -1101,28 +1076,26 @@ final class MolecularMatchDAOFunctions {
                             wgsaMap.nucleotideChange(),
                             wgsaMap.aa(),
                             mutationId)
-                    .returning(MOLECULARMATCHMUTATIONWGSAMAP.ID)
-                    .fetchOne()
-                    .getValue(MOLECULARMATCHMUTATIONWGSAMAP.ID);
+                    .returning(MOLECULARMATCHMUTATIONWGSAMAP.ID);
 
             for (String synonym : wgsaMap.synonyms()) {
-                context.insertInto(MOLECULARMATCHMUTATIONWGSAMAPSYNONYM,
+                writer.insertInto(MOLECULARMATCHMUTATIONWGSAMAPSYNONYM,
                         MOLECULARMATCHMUTATIONWGSAMAPSYNONYM.SYNONYM,
                         MOLECULARMATCHMUTATIONWGSAMAPSYNONYM.MOLECULARMATCHMUTATIONWGSAMAPID).values(synonym, wgsaMapId).execute();
             }
 
             for (String protCoord : wgsaMap.protCoords()) {
-                context.insertInto(MOLECULARMATCHMUTATIONWGSAMAPPROTCOORD,
+                writer.insertInto(MOLECULARMATCHMUTATIONWGSAMAPPROTCOORD,
                         MOLECULARMATCHMUTATIONWGSAMAPPROTCOORD.PROTCOORD,
                         MOLECULARMATCHMUTATIONWGSAMAPPROTCOORD.MOLECULARMATCHMUTATIONWGSAMAPID).values(protCoord, wgsaMapId).execute();
             }
         }
     }
 
-    private static void insertMutationGRCh37Locations(@NotNull DSLContext context,
+    private static void insertMutationGRCh37Locations(@NotNull ViccRecordWriter writer,
             @NotNull List<MolecularMatchGRCh37Location> grch37Locations, int mutationId) {
         for (MolecularMatchGRCh37Location grch37Location : grch37Locations) {
-            int locationId = context.insertInto(MOLECULARMATCHMUTATIONGRCH37LOC,
+            int locationId = writer.insertInto(MOLECULARMATCHMUTATIONGRCH37LOC,
                     MOLECULARMATCHMUTATIONGRCH37LOC.CHR,
                     MOLECULARMATCHMUTATIONGRCH37LOC.START,
                     MOLECULARMATCHMUTATIONGRCH37LOC.STOP,
@@ -1141,12 +1114,10 @@ final class MolecularMatchDAOFunctions {
                             grch37Location.validated(),
                             grch37Location.compositeKey(),
                             mutationId)
-                    .returning(MOLECULARMATCHMUTATIONGRCH37LOC.ID)
-                    .fetchOne()
-                    .getValue(MOLECULARMATCHMUTATIONGRCH37LOC.ID);
+                    .returning(MOLECULARMATCHMUTATIONGRCH37LOC.ID);
 
             for (MolecularMatchGRCh37TranscriptConsequence transcriptConsequence : grch37Location.transcriptConsequences()) {
-                int consequenceId = context.insertInto(MOLECULARMATCHMUTATIONGRCH37LOCCONSEQUENCE,
+                int consequenceId = writer.insertInto(MOLECULARMATCHMUTATIONGRCH37LOCCONSEQUENCE,
                         MOLECULARMATCHMUTATIONGRCH37LOCCONSEQUENCE.TRANSCRIPT,
                         MOLECULARMATCHMUTATIONGRCH37LOCCONSEQUENCE.CDNA,
                         MOLECULARMATCHMUTATIONGRCH37LOCCONSEQUENCE.AMINOACIDCHANGE,
@@ -1157,12 +1128,10 @@ final class MolecularMatchDAOFunctions {
                                 transcriptConsequence.aminoAcidChange(),
                                 transcriptConsequence.intronNumber(),
                                 locationId)
-                        .returning(MOLECULARMATCHMUTATIONGRCH37LOCCONSEQUENCE.ID)
-                        .fetchOne()
-                        .getValue(MOLECULARMATCHMUTATIONGRCH37LOCCONSEQUENCE.ID);
+                        .returning(MOLECULARMATCHMUTATIONGRCH37LOCCONSEQUENCE.ID);
 
                 for (String txSite : transcriptConsequence.txSites()) {
-                    context.insertInto(MOLECULARMATCHMUTATIONGRCH37LOCCONSEQUENCETXSITE,
+                    writer.insertInto(MOLECULARMATCHMUTATIONGRCH37LOCCONSEQUENCETXSITE,
                             MOLECULARMATCHMUTATIONGRCH37LOCCONSEQUENCETXSITE.TXSITE,
                             MOLECULARMATCHMUTATIONGRCH37LOCCONSEQUENCETXSITE.MOLECULARMATCHMUTATIONGRCH37LOCCONSEQUENCEID)
                             .values(txSite, consequenceId)
@@ -1170,7 +1139,7 @@ final class MolecularMatchDAOFunctions {
                 }
 
                 for (String exonNumber : transcriptConsequence.exonNumbers()) {
-                    context.insertInto(MOLECULARMATCHMUTATIONGRCH37LOCCONSEQUENCEEXONNUMBER,
+                    writer.insertInto(MOLECULARMATCHMUTATIONGRCH37LOCCONSEQUENCEEXONNUMBER,
                             MOLECULARMATCHMUTATIONGRCH37LOCCONSEQUENCEEXONNUMBER.EXONNUMBER,
                             MOLECULARMATCHMUTATIONGRCH37LOCCONSEQUENCEEXONNUMBER.MOLECULARMATCHMUTATIONGRCH37LOCCONSEQUENCEID)
                             .values(exonNumber, consequenceId)
@@ -1180,57 +1149,55 @@ final class MolecularMatchDAOFunctions {
         }
     }
 
-    private static void insertMutationFusions(@NotNull DSLContext context, @NotNull List<MolecularMatchFusionData> fusions,
+    private static void insertMutationFusions(@NotNull ViccRecordWriter writer, @NotNull List<MolecularMatchFusionData> fusions,
             int mutationId) {
         for (MolecularMatchFusionData fusion : fusions) {
-            int fusionId = context.insertInto(MOLECULARMATCHMUTATIONFUSION,
+            int fusionId = writer.insertInto(MOLECULARMATCHMUTATIONFUSION,
                     MOLECULARMATCHMUTATIONFUSION.SOURCE,
                     MOLECULARMATCHMUTATIONFUSION.SYNONYM,
                     MOLECULARMATCHMUTATIONFUSION.PAPER,
                     MOLECULARMATCHMUTATIONFUSION.MOLECULARMATCHMUTATIONID)
                     .values(fusion.source(), fusion.synonym(), fusion.paper(), mutationId)
-                    .returning(MOLECULARMATCHMUTATIONFUSION.ID)
-                    .fetchOne()
-                    .getValue(MOLECULARMATCHMUTATIONFUSION.ID);
+                    .returning(MOLECULARMATCHMUTATIONFUSION.ID);
 
             for (String chromosome : fusion.aChromosomes()) {
-                context.insertInto(MOLECULARMATCHMUTATIONFUSIONACHROMOSOME,
+                writer.insertInto(MOLECULARMATCHMUTATIONFUSIONACHROMOSOME,
                         MOLECULARMATCHMUTATIONFUSIONACHROMOSOME.CHROMOSOME,
                         MOLECULARMATCHMUTATIONFUSIONACHROMOSOME.MOLECULARMATCHMUTATIONFUSIONID).values(chromosome, fusionId).execute();
             }
 
             for (String band : fusion.aBands()) {
-                context.insertInto(MOLECULARMATCHMUTATIONFUSIONABAND,
+                writer.insertInto(MOLECULARMATCHMUTATIONFUSIONABAND,
                         MOLECULARMATCHMUTATIONFUSIONABAND.BAND,
                         MOLECULARMATCHMUTATIONFUSIONABAND.MOLECULARMATCHMUTATIONFUSIONID).values(band, fusionId).execute();
             }
 
             for (String gene : fusion.aGenes()) {
-                context.insertInto(MOLECULARMATCHMUTATIONFUSIONAGENE,
+                writer.insertInto(MOLECULARMATCHMUTATIONFUSIONAGENE,
                         MOLECULARMATCHMUTATIONFUSIONAGENE.GENE,
                         MOLECULARMATCHMUTATIONFUSIONAGENE.MOLECULARMATCHMUTATIONFUSIONID).values(gene, fusionId).execute();
             }
 
             for (String coord : fusion.aCoords()) {
-                context.insertInto(MOLECULARMATCHMUTATIONFUSIONACOORD,
+                writer.insertInto(MOLECULARMATCHMUTATIONFUSIONACOORD,
                         MOLECULARMATCHMUTATIONFUSIONACOORD.COORD,
                         MOLECULARMATCHMUTATIONFUSIONACOORD.MOLECULARMATCHMUTATIONFUSIONID).values(coord, fusionId).execute();
             }
 
             for (String transcript : fusion.aTranscripts()) {
-                context.insertInto(MOLECULARMATCHMUTATIONFUSIONATRANSCRIPT,
+                writer.insertInto(MOLECULARMATCHMUTATIONFUSIONATRANSCRIPT,
                         MOLECULARMATCHMUTATIONFUSIONATRANSCRIPT.TRANSCRIPT,
                         MOLECULARMATCHMUTATIONFUSIONATRANSCRIPT.MOLECULARMATCHMUTATIONFUSIONID).values(transcript, fusionId).execute();
             }
 
             for (String orientation : fusion.aOrientations()) {
-                context.insertInto(MOLECULARMATCHMUTATIONFUSIONAORIENTATION,
+                writer.insertInto(MOLECULARMATCHMUTATIONFUSIONAORIENTATION,
                         MOLECULARMATCHMUTATIONFUSIONAORIENTATION.ORIENTATION,
                         MOLECULARMATCHMUTATIONFUSIONAORIENTATION.MOLECULARMATCHMUTATIONFUSIONID).values(orientation, fusionId).execute();
             }
 
             for (MolecularMatchFusionGenomicRegion genomicRegion : fusion.aGenomicRegions()) {
-                context.insertInto(MOLECULARMATCHMUTATIONFUSIONAGENOMICREGION,
+                writer.insertInto(MOLECULARMATCHMUTATIONFUSIONAGENOMICREGION,
                         MOLECULARMATCHMUTATIONFUSIONAGENOMICREGION.NUM,
                         MOLECULARMATCHMUTATIONFUSIONAGENOMICREGION.TYPE,
                         MOLECULARMATCHMUTATIONFUSIONAGENOMICREGION.MOLECULARMATCHMUTATIONFUSIONID)
@@ -1239,43 +1206,43 @@ final class MolecularMatchDAOFunctions {
             }
 
             for (String chromosome : fusion.bChromosomes()) {
-                context.insertInto(MOLECULARMATCHMUTATIONFUSIONBCHROMOSOME,
+                writer.insertInto(MOLECULARMATCHMUTATIONFUSIONBCHROMOSOME,
                         MOLECULARMATCHMUTATIONFUSIONBCHROMOSOME.CHROMOSOME,
                         MOLECULARMATCHMUTATIONFUSIONBCHROMOSOME.MOLECULARMATCHMUTATIONFUSIONID).values(chromosome, fusionId).execute();
             }
 
             for (String band : fusion.bBands()) {
-                context.insertInto(MOLECULARMATCHMUTATIONFUSIONBBAND,
+                writer.insertInto(MOLECULARMATCHMUTATIONFUSIONBBAND,
                         MOLECULARMATCHMUTATIONFUSIONBBAND.BAND,
                         MOLECULARMATCHMUTATIONFUSIONBBAND.MOLECULARMATCHMUTATIONFUSIONID).values(band, fusionId).execute();
             }
 
             for (String gene : fusion.bGenes()) {
-                context.insertInto(MOLECULARMATCHMUTATIONFUSIONBGENE,
+                writer.insertInto(MOLECULARMATCHMUTATIONFUSIONBGENE,
                         MOLECULARMATCHMUTATIONFUSIONBGENE.GENE,
                         MOLECULARMATCHMUTATIONFUSIONBGENE.MOLECULARMATCHMUTATIONFUSIONID).values(gene, fusionId).execute();
             }
 
             for (String coord : fusion.bCoords()) {
-                context.insertInto(MOLECULARMATCHMUTATIONFUSIONBCOORD,
+                writer.insertInto(MOLECULARMATCHMUTATIONFUSIONBCOORD,
                         MOLECULARMATCHMUTATIONFUSIONBCOORD.COORD,
                         MOLECULARMATCHMUTATIONFUSIONBCOORD.MOLECULARMATCHMUTATIONFUSIONID).values(coord, fusionId).execute();
             }
 
             for (String transcript : fusion.bTranscripts()) {
-                context.insertInto(MOLECULARMATCHMUTATIONFUSIONBTRANSCRIPT,
+                writer.insertInto(MOLECULARMATCHMUTATIONFUSIONBTRANSCRIPT,
                         MOLECULARMATCHMUTATIONFUSIONBTRANSCRIPT.TRANSCRIPT,
                         MOLECULARMATCHMUTATIONFUSIONBTRANSCRIPT.MOLECULARMATCHMUTATIONFUSIONID).values(transcript, fusionId).execute();
             }
 
             for (String orientation : fusion.bOrientations()) {
-                context.insertInto(MOLECULARMATCHMUTATIONFUSIONBORIENTATION,
+                writer.insertInto(MOLECULARMATCHMUTATIONFUSIONBORIENTATION,
                         MOLECULARMATCHMUTATIONFUSIONBORIENTATION.ORIENTATION,
                         MOLECULARMATCHMUTATIONFUSIONBORIENTATION.MOLECULARMATCHMUTATIONFUSIONID).values(orientation, fusionId).execute();
             }
 
             for (MolecularMatchFusionGenomicRegion genomicRegion : fusion.bGenomicRegions()) {
-                context.insertInto(MOLECULARMATCHMUTATIONFUSIONBGENOMICREGION,
+                writer.insertInto(MOLECULARMATCHMUTATIONFUSIONBGENOMICREGION,
                         MOLECULARMATCHMUTATIONFUSIONBGENOMICREGION.NUM,
                         MOLECULARMATCHMUTATIONFUSIONBGENOMICREGION.TYPE,
                         MOLECULARMATCHMUTATIONFUSIONBGENOMICREGION.MOLECULARMATCHMUTATIONFUSIONID)
@@ -1284,15 +1251,15 @@ final class MolecularMatchDAOFunctions {
             }
 
             for (String insert : fusion.inserts()) {
-                context.insertInto(MOLECULARMATCHMUTATIONFUSIONINSERT,
+                writer.insertInto(MOLECULARMATCHMUTATIONFUSIONINSERT,
                         MOLECULARMATCHMUTATIONFUSIONINSERT.INS,
                         MOLECULARMATCHMUTATIONFUSIONINSERT.MOLECULARMATCHMUTATIONFUSIONID).values(insert, fusionId).execute();
             }
         }
     }
 
-    private static void insertMutationExonsInfo(@NotNull DSLContext context, @NotNull MolecularMatchExonsInfo exonsInfo, int mutationId) {
-        int exonInfoId = context.insertInto(MOLECULARMATCHMUTATIONEXONSINFO,
+    private static void insertMutationExonsInfo(@NotNull ViccRecordWriter writer, @NotNull MolecularMatchExonsInfo exonsInfo, int mutationId) {
+        int exonInfoId = writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFO,
                 MOLECULARMATCHMUTATIONEXONSINFO.CHR,
                 MOLECULARMATCHMUTATIONEXONSINFO.TRANSCRIPT,
                 MOLECULARMATCHMUTATIONEXONSINFO.TXSTART,
@@ -1307,13 +1274,11 @@ final class MolecularMatchDAOFunctions {
                         exonsInfo.cdsStart(),
                         exonsInfo.cdsEnd(),
                         mutationId)
-                .returning(MOLECULARMATCHMUTATIONEXONSINFO.ID)
-                .fetchOne()
-                .getValue(MOLECULARMATCHMUTATIONEXONSINFO.ID);
+                .returning(MOLECULARMATCHMUTATIONEXONSINFO.ID);
 
         MolecularMatchPosition exon1Position = exonsInfo.exonBoundaries().exon1();
         if (exon1Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON1,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON1,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON1.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON1.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON1.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1323,7 +1288,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon2Position = exonsInfo.exonBoundaries().exon2();
         if (exon2Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON2,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON2,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON2.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON2.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON2.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1333,7 +1298,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon3Position = exonsInfo.exonBoundaries().exon3();
         if (exon3Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON3,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON3,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON3.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON3.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON3.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1343,7 +1308,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon4Position = exonsInfo.exonBoundaries().exon4();
         if (exon4Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON4,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON4,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON4.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON4.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON4.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1353,7 +1318,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon5Position = exonsInfo.exonBoundaries().exon5();
         if (exon5Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON5,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON5,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON5.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON5.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON5.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1363,7 +1328,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon6Position = exonsInfo.exonBoundaries().exon6();
         if (exon6Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON6,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON6,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON6.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON6.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON6.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1373,7 +1338,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon7Position = exonsInfo.exonBoundaries().exon7();
         if (exon7Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON7,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON7,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON7.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON7.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON7.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1383,7 +1348,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon8Position = exonsInfo.exonBoundaries().exon8();
         if (exon8Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON8,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON8,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON8.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON8.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON8.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1393,7 +1358,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon9Position = exonsInfo.exonBoundaries().exon9();
         if (exon9Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON9,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON9,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON9.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON9.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON9.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1403,7 +1368,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon10Position = exonsInfo.exonBoundaries().exon10();
         if (exon10Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON10,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON10,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON10.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON10.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON10.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1413,7 +1378,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon11Position = exonsInfo.exonBoundaries().exon11();
         if (exon11Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON11,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON11,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON11.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON11.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON11.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1423,7 +1388,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon12Position = exonsInfo.exonBoundaries().exon12();
         if (exon12Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON12,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON12,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON12.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON12.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON12.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1433,7 +1398,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon13Position = exonsInfo.exonBoundaries().exon13();
         if (exon13Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON13,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON13,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON13.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON13.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON13.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1443,7 +1408,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon14Position = exonsInfo.exonBoundaries().exon14();
         if (exon14Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON14,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON14,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON14.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON14.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON14.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1453,7 +1418,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon15Position = exonsInfo.exonBoundaries().exon15();
         if (exon15Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON15,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON15,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON15.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON15.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON15.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1463,7 +1428,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon16Position = exonsInfo.exonBoundaries().exon16();
         if (exon16Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON16,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON16,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON16.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON16.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON16.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1473,7 +1438,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon17Position = exonsInfo.exonBoundaries().exon17();
         if (exon17Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON17,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON17,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON17.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON17.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON17.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1483,7 +1448,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon18Position = exonsInfo.exonBoundaries().exon18();
         if (exon18Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON18,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON18,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON18.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON18.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON18.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1493,7 +1458,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon19Position = exonsInfo.exonBoundaries().exon19();
         if (exon19Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON19,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON19,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON19.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON19.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON19.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1503,7 +1468,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon20Position = exonsInfo.exonBoundaries().exon20();
         if (exon20Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON20,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON20,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON20.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON20.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON20.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1513,7 +1478,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon21Position = exonsInfo.exonBoundaries().exon21();
         if (exon21Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON21,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON21,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON21.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON21.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON21.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1523,7 +1488,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon22Position = exonsInfo.exonBoundaries().exon22();
         if (exon22Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON22,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON22,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON22.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON22.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON22.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1533,7 +1498,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon23Position = exonsInfo.exonBoundaries().exon23();
         if (exon23Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON23,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON23,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON23.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON23.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON23.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1543,7 +1508,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon24Position = exonsInfo.exonBoundaries().exon24();
         if (exon24Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON24,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON24,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON24.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON24.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON24.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1553,7 +1518,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon25Position = exonsInfo.exonBoundaries().exon25();
         if (exon25Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON25,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON25,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON25.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON25.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON25.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1563,7 +1528,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon26Position = exonsInfo.exonBoundaries().exon26();
         if (exon26Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON26,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON26,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON26.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON26.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON26.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1573,7 +1538,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon27Position = exonsInfo.exonBoundaries().exon27();
         if (exon27Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON27,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON27,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON27.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON27.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON27.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1583,7 +1548,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon28Position = exonsInfo.exonBoundaries().exon28();
         if (exon28Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON28,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON28,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON28.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON28.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON28.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1593,7 +1558,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon29Position = exonsInfo.exonBoundaries().exon29();
         if (exon29Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON29,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON29,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON29.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON29.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON29.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1603,7 +1568,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon30Position = exonsInfo.exonBoundaries().exon30();
         if (exon30Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON30,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON30,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON30.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON30.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON30.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1613,7 +1578,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon31Position = exonsInfo.exonBoundaries().exon31();
         if (exon31Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON31,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON31,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON31.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON31.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON31.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1623,7 +1588,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon32Position = exonsInfo.exonBoundaries().exon32();
         if (exon32Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON32,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON32,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON32.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON32.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON32.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1633,7 +1598,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon33Position = exonsInfo.exonBoundaries().exon33();
         if (exon33Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON33,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON33,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON33.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON33.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON33.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1643,7 +1608,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon34Position = exonsInfo.exonBoundaries().exon34();
         if (exon34Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON34,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON34,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON34.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON34.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON34.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1653,7 +1618,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon35Position = exonsInfo.exonBoundaries().exon35();
         if (exon35Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON35,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON35,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON35.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON35.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON35.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1663,7 +1628,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon36Position = exonsInfo.exonBoundaries().exon36();
         if (exon36Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON36,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON36,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON36.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON36.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON36.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1673,7 +1638,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon37Position = exonsInfo.exonBoundaries().exon37();
         if (exon37Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON37,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON37,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON37.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON37.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON37.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1683,7 +1648,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon38Position = exonsInfo.exonBoundaries().exon38();
         if (exon38Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON38,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON38,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON38.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON38.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON38.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1693,7 +1658,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon39Position = exonsInfo.exonBoundaries().exon39();
         if (exon39Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON39,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON39,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON39.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON39.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON39.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1703,7 +1668,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon40Position = exonsInfo.exonBoundaries().exon40();
         if (exon40Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON40,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON40,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON40.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON40.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON40.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1713,7 +1678,7 @@ final class MolecularMatchDAOFunctions {
 
         MolecularMatchPosition exon41Position = exonsInfo.exonBoundaries().exon41();
         if (exon41Position != null) {
-            context.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON41,
+            writer.insertInto(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON41,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON41.START,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON41.END,
                     MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON41.MOLECULARMATCHMUTATIONEXONSINFOID)
@@ -1722,163 +1687,163 @@ final class MolecularMatchDAOFunctions {
         }
     }
 
-    static void deleteAll(@NotNull DSLContext context) {
+    static void deleteAll(@NotNull ViccRecordWriter writer) {
         // Delete the exon boundaries, part of a mutation
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON1).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON2).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON3).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON4).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON5).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON6).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON7).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON8).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON9).execute();
-
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON10).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON11).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON12).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON13).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON14).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON15).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON16).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON17).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON18).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON19).execute();
-
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON20).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON21).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON22).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON23).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON24).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON25).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON26).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON27).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON28).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON29).execute();
-
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON30).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON31).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON32).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON33).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON34).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON35).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON36).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON37).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON38).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON39).execute();
-
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON40).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON41).execute();
-
-        context.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFO).execute();
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON1);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON2);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON3);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON4);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON5);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON6);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON7);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON8);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON9);
+
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON10);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON11);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON12);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON13);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON14);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON15);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON16);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON17);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON18);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON19);
+
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON20);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON21);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON22);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON23);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON24);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON25);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON26);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON27);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON28);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON29);
+
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON30);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON31);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON32);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON33);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON34);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON35);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON36);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON37);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON38);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON39);
+
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON40);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFOBOUNDARYEXON41);
+
+        writer.deleteFrom(MOLECULARMATCHMUTATIONEXONSINFO);
 
         // Delete the fusion info, part of mutation
-        context.deleteFrom(MOLECULARMATCHMUTATIONFUSIONACHROMOSOME).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONFUSIONABAND).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONFUSIONAGENE).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONFUSIONACOORD).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONFUSIONATRANSCRIPT).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONFUSIONAORIENTATION).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONFUSIONAGENOMICREGION).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONFUSIONBCHROMOSOME).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONFUSIONBBAND).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONFUSIONBGENE).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONFUSIONBCOORD).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONFUSIONBTRANSCRIPT).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONFUSIONBORIENTATION).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONFUSIONBGENOMICREGION).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONFUSIONINSERT).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONFUSION).execute();
+        writer.deleteFrom(MOLECULARMATCHMUTATIONFUSIONACHROMOSOME);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONFUSIONABAND);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONFUSIONAGENE);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONFUSIONACOORD);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONFUSIONATRANSCRIPT);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONFUSIONAORIENTATION);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONFUSIONAGENOMICREGION);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONFUSIONBCHROMOSOME);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONFUSIONBBAND);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONFUSIONBGENE);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONFUSIONBCOORD);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONFUSIONBTRANSCRIPT);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONFUSIONBORIENTATION);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONFUSIONBGENOMICREGION);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONFUSIONINSERT);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONFUSION);
 
         // Delete the GRCh37 locations, part of mutation
-        context.deleteFrom(MOLECULARMATCHMUTATIONGRCH37LOCCONSEQUENCEEXONNUMBER).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONGRCH37LOCCONSEQUENCETXSITE).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONGRCH37LOCCONSEQUENCE).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONGRCH37LOC).execute();
+        writer.deleteFrom(MOLECULARMATCHMUTATIONGRCH37LOCCONSEQUENCEEXONNUMBER);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONGRCH37LOCCONSEQUENCETXSITE);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONGRCH37LOCCONSEQUENCE);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONGRCH37LOC);
 
         // Delete the WGSA location and map tree, part of a mutation
-        context.deleteFrom(MOLECULARMATCHMUTATIONWGSAMAPSYNONYM).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONWGSAMAPPROTCOORD).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONWGSAMAP).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONWGSALOCATIONCLINVARDISEASE).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONWGSALOCATIONCLINVARSIG).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONWGSALOCATIONCLINVARSTATUS).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONWGSALOCATIONCLINVARDBID).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONWGSALOCATIONFULLAA).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONWGSALOCATIONGENE).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONWGSALOCATION).execute();
+        writer.deleteFrom(MOLECULARMATCHMUTATIONWGSAMAPSYNONYM);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONWGSAMAPPROTCOORD);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONWGSAMAP);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONWGSALOCATIONCLINVARDISEASE);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONWGSALOCATIONCLINVARSIG);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONWGSALOCATIONCLINVARSTATUS);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONWGSALOCATIONCLINVARDBID);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONWGSALOCATIONFULLAA);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONWGSALOCATIONGENE);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONWGSALOCATION);
 
         // Delete the mutation tree
-        context.deleteFrom(MOLECULARMATCHMUTATIONMUTATIONTYPE).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONSOURCE).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONSYNONYM).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONPATHOLOGY).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONCDNA).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONTRANSCRIPTCONSEQUENCEEXONNUMBER).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONTRANSCRIPTCONSEQUENCE).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONPARENTTRANSCRIPT).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATIONPARENT).execute();
-        context.deleteFrom(MOLECULARMATCHMUTATION).execute();
+        writer.deleteFrom(MOLECULARMATCHMUTATIONMUTATIONTYPE);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONSOURCE);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONSYNONYM);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONPATHOLOGY);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONCDNA);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONTRANSCRIPTCONSEQUENCEEXONNUMBER);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONTRANSCRIPTCONSEQUENCE);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONPARENTTRANSCRIPT);
+        writer.deleteFrom(MOLECULARMATCHMUTATIONPARENT);
+        writer.deleteFrom(MOLECULARMATCHMUTATION);
 
         // Delete the classification tree
-        context.deleteFrom(MOLECULARMATCHCLASSIFICATIONTRANSCRIPT).execute();
-        context.deleteFrom(MOLECULARMATCHCLASSIFICATIONCHROMOSOME).execute();
-        context.deleteFrom(MOLECULARMATCHCLASSIFICATIONSTART).execute();
-        context.deleteFrom(MOLECULARMATCHCLASSIFICATIONEND).execute();
-        context.deleteFrom(MOLECULARMATCHCLASSIFICATIONREF).execute();
-        context.deleteFrom(MOLECULARMATCHCLASSIFICATIONALT).execute();
-        context.deleteFrom(MOLECULARMATCHCLASSIFICATIONNUCLEOTIDECHANGE).execute();
-        context.deleteFrom(MOLECULARMATCHCLASSIFICATIONEXON).execute();
-        context.deleteFrom(MOLECULARMATCHCLASSIFICATIONEXONICFUNC).execute();
-        context.deleteFrom(MOLECULARMATCHCLASSIFICATIONPATHOLOGY).execute();
-        context.deleteFrom(MOLECULARMATCHCLASSIFICATIONSOURCE).execute();
-        context.deleteFrom(MOLECULARMATCHCLASSIFICATIONDBSNP).execute();
-        context.deleteFrom(MOLECULARMATCHCLASSIFICATIONCOSMICID).execute();
-        context.deleteFrom(MOLECULARMATCHCLASSIFICATIONPOPFREQMAX).execute();
-        context.deleteFrom(MOLECULARMATCHCLASSIFICATIONPARENTTRANSCRIPT).execute();
-        context.deleteFrom(MOLECULARMATCHCLASSIFICATIONPARENT).execute();
-        context.deleteFrom(MOLECULARMATCHCLASSIFICATION).execute();
+        writer.deleteFrom(MOLECULARMATCHCLASSIFICATIONTRANSCRIPT);
+        writer.deleteFrom(MOLECULARMATCHCLASSIFICATIONCHROMOSOME);
+        writer.deleteFrom(MOLECULARMATCHCLASSIFICATIONSTART);
+        writer.deleteFrom(MOLECULARMATCHCLASSIFICATIONEND);
+        writer.deleteFrom(MOLECULARMATCHCLASSIFICATIONREF);
+        writer.deleteFrom(MOLECULARMATCHCLASSIFICATIONALT);
+        writer.deleteFrom(MOLECULARMATCHCLASSIFICATIONNUCLEOTIDECHANGE);
+        writer.deleteFrom(MOLECULARMATCHCLASSIFICATIONEXON);
+        writer.deleteFrom(MOLECULARMATCHCLASSIFICATIONEXONICFUNC);
+        writer.deleteFrom(MOLECULARMATCHCLASSIFICATIONPATHOLOGY);
+        writer.deleteFrom(MOLECULARMATCHCLASSIFICATIONSOURCE);
+        writer.deleteFrom(MOLECULARMATCHCLASSIFICATIONDBSNP);
+        writer.deleteFrom(MOLECULARMATCHCLASSIFICATIONCOSMICID);
+        writer.deleteFrom(MOLECULARMATCHCLASSIFICATIONPOPFREQMAX);
+        writer.deleteFrom(MOLECULARMATCHCLASSIFICATIONPARENTTRANSCRIPT);
+        writer.deleteFrom(MOLECULARMATCHCLASSIFICATIONPARENT);
+        writer.deleteFrom(MOLECULARMATCHCLASSIFICATION);
 
         // Delete the variant info
-        context.deleteFrom(MOLECULARMATCHVARIANTINFOLOCATIONEXONNUMBER).execute();
-        context.deleteFrom(MOLECULARMATCHVARIANTINFOLOCATION).execute();
-        context.deleteFrom(MOLECULARMATCHVARIANTINFOCONSEQUENCE).execute();
-        context.deleteFrom(MOLECULARMATCHVARIANTINFOFUSION).execute();
-        context.deleteFrom(MOLECULARMATCHVARIANTINFO).execute();
+        writer.deleteFrom(MOLECULARMATCHVARIANTINFOLOCATIONEXONNUMBER);
+        writer.deleteFrom(MOLECULARMATCHVARIANTINFOLOCATION);
+        writer.deleteFrom(MOLECULARMATCHVARIANTINFOCONSEQUENCE);
+        writer.deleteFrom(MOLECULARMATCHVARIANTINFOFUSION);
+        writer.deleteFrom(MOLECULARMATCHVARIANTINFO);
 
         // Delete the complex tables directly dependent on molecular match
-        context.deleteFrom(MOLECULARMATCHSOURCE).execute();
-        context.deleteFrom(MOLECULARMATCHTIEREXPLANATION).execute();
-        context.deleteFrom(MOLECULARMATCHTHERAPEUTICCONTEXT).execute();
-        context.deleteFrom(MOLECULARMATCHTAG).execute();
-        context.deleteFrom(MOLECULARMATCHCRITERIAUNMET).execute();
-        context.deleteFrom(MOLECULARMATCHPREVALENCE).execute();
+        writer.deleteFrom(MOLECULARMATCHSOURCE);
+        writer.deleteFrom(MOLECULARMATCHTIEREXPLANATION);
+        writer.deleteFrom(MOLECULARMATCHTHERAPEUTICCONTEXT);
+        writer.deleteFrom(MOLECULARMATCHTAG);
+        writer.deleteFrom(MOLECULARMATCHCRITERIAUNMET);
+        writer.deleteFrom(MOLECULARMATCHPREVALENCE);
 
         // Delete the flat tables directly dependent on molecular match
-        context.deleteFrom(MOLECULARMATCHINCLUDEGENE1).execute();
-        context.deleteFrom(MOLECULARMATCHINCLUDEFINDING1).execute();
-        context.deleteFrom(MOLECULARMATCHINCLUDECONDITION1).execute();
-        context.deleteFrom(MOLECULARMATCHINCLUDEMUTATION1).execute();
-        context.deleteFrom(MOLECULARMATCHINCLUDEDRUG1).execute();
-        context.deleteFrom(MOLECULARMATCHINCLUDEDRUGCLASS1).execute();
-        context.deleteFrom(MOLECULARMATCHINCLUDERESISTANCE1).execute();
-        context.deleteFrom(MOLECULARMATCHINCLUDESTAGE0).execute();
-        context.deleteFrom(MOLECULARMATCHINCLUDEGENE0).execute();
-        context.deleteFrom(MOLECULARMATCHINCLUDECONDITION0).execute();
-        context.deleteFrom(MOLECULARMATCHINCLUDEMUTATION0).execute();
-        context.deleteFrom(MOLECULARMATCHCRITERIAMET).execute();
-        context.deleteFrom(MOLECULARMATCHEXTERNALID).execute();
+        writer.deleteFrom(MOLECULARMATCHINCLUDEGENE1);
+        writer.deleteFrom(MOLECULARMATCHINCLUDEFINDING1);
+        writer.deleteFrom(MOLECULARMATCHINCLUDECONDITION1);
+        writer.deleteFrom(MOLECULARMATCHINCLUDEMUTATION1);
+        writer.deleteFrom(MOLECULARMATCHINCLUDEDRUG1);
+        writer.deleteFrom(MOLECULARMATCHINCLUDEDRUGCLASS1);
+        writer.deleteFrom(MOLECULARMATCHINCLUDERESISTANCE1);
+        writer.deleteFrom(MOLECULARMATCHINCLUDESTAGE0);
+        writer.deleteFrom(MOLECULARMATCHINCLUDEGENE0);
+        writer.deleteFrom(MOLECULARMATCHINCLUDECONDITION0);
+        writer.deleteFrom(MOLECULARMATCHINCLUDEMUTATION0);
+        writer.deleteFrom(MOLECULARMATCHCRITERIAMET);
+        writer.deleteFrom(MOLECULARMATCHEXTERNALID);
 
         // Delete the ast tree
-        context.deleteFrom(MOLECULARMATCHASTRIGHTLEFT).execute();
-        context.deleteFrom(MOLECULARMATCHASTRIGHTRIGHT).execute();
-        context.deleteFrom(MOLECULARMATCHASTRIGHT).execute();
-        context.deleteFrom(MOLECULARMATCHASTLEFTLEFT).execute();
-        context.deleteFrom(MOLECULARMATCHASTLEFTRIGHT).execute();
-        context.deleteFrom(MOLECULARMATCHASTLEFT).execute();
-        context.deleteFrom(MOLECULARMATCHAST).execute();
+        writer.deleteFrom(MOLECULARMATCHASTRIGHTLEFT);
+        writer.deleteFrom(MOLECULARMATCHASTRIGHTRIGHT);
+        writer.deleteFrom(MOLECULARMATCHASTRIGHT);
+        writer.deleteFrom(MOLECULARMATCHASTLEFTLEFT);
+        writer.deleteFrom(MOLECULARMATCHASTLEFTRIGHT);
+        writer.deleteFrom(MOLECULARMATCHASTLEFT);
+        writer.deleteFrom(MOLECULARMATCHAST);
 
         // Finally delete the main node
-        context.deleteFrom(MOLECULARMATCH).execute();
+        writer.deleteFrom(MOLECULARMATCH);
     }
 }
@@ -23,15 +23,14 @@ import com.hartwig.hmftools.vicc.datamodel.molecularmatchtrials.MolecularMatchTr
 import com.hartwig.hmftools.vicc.datamodel.molecularmatchtrials.MolecularMatchTrialsTag;
 
 import org.jetbrains.annotations.NotNull;
-import org.jooq.DSLContext;
 
 final class MolecularMatchTrialsDAOFunctions {
 
     private MolecularMatchTrialsDAOFunctions() {
     }
 
-    static void write(@NotNull DSLContext context, int viccEntryId, @NotNull MolecularMatchTrials molecularMatchTrials) {
-        int id = context.insertInto(MOLECULARMATCHTRIALS,
+    static void write(@NotNull ViccRecordWriter writer, int viccEntryId, @NotNull MolecularMatchTrials molecularMatchTrials) {
+        int id = writer.insertInto(MOLECULARMATCHTRIALS,
                 MOLECULARMATCHTRIALS.STATUS,
                 MOLECULARMATCHTRIALS.STARTDATE,
                 MOLECULARMATCHTRIALS.TITLE,
@@ -52,35 +51,31 @@ final class MolecularMatchTrialsDAOFunctions {
                         molecularMatchTrials.phase(),
                         molecularMatchTrials.id(),
                         viccEntryId)
-                .returning(MOLECULARMATCHTRIALS.ID)
-                .fetchOne()
-                .getValue(MOLECULARMATCHTRIALS.ID);
+                .returning(MOLECULARMATCHTRIALS.ID);
 
         for (String molecularAlteration : molecularMatchTrials.molecularAlterations()) {
-            context.insertInto(MOLECULARMATCHTRIALSALTERATION,
+            writer.insertInto(MOLECULARMATCHTRIALSALTERATION,
                     MOLECULARMATCHTRIALSALTERATION.MOLECULARALTERATION,
                     MOLECULARMATCHTRIALSALTERATION.MOLECULARMATCHTRIALSID).values(molecularAlteration, id).execute();
         }
 
         for (MolecularMatchTrialsIntervention intervention : molecularMatchTrials.interventions()) {
-            int idIntervention = context.insertInto(MOLECULARMATCHTRIALSINTERVENTION,
+            int idIntervention = writer.insertInto(MOLECULARMATCHTRIALSINTERVENTION,
                     MOLECULARMATCHTRIALSINTERVENTION.INTERVENTIONNAME,
                     MOLECULARMATCHTRIALSINTERVENTION.INTERVENTIONTYPE,
                     MOLECULARMATCHTRIALSINTERVENTION.DESCRIPTION,
                     MOLECULARMATCHTRIALSINTERVENTION.MOLECULARMATCHTRIALSID)
                     .values(intervention.interventionName(), intervention.interventionType(), intervention.description(), id)
-                    .returning(MOLECULARMATCHTRIALSINTERVENTION.ID)
-                    .fetchOne()
-                    .getValue(MOLECULARMATCHTRIALSINTERVENTION.ID);
+                    .returning(MOLECULARMATCHTRIALSINTERVENTION.ID);
 
             for (String otherName : intervention.otherNames()) {
-                context.insertInto(MOLECULARMATCHTRIALSOTHERNAME,
+                writer.insertInto(MOLECULARMATCHTRIALSOTHERNAME,
                         MOLECULARMATCHTRIALSOTHERNAME.OTHERNAME,
                         MOLECULARMATCHTRIALSOTHERNAME.MOLECULARMATCHTRIALSINTERVENTIONID).values(otherName, idIntervention).execute();
             }
 
             for (String armGroupLabel : intervention.armGroupLabels()) {
-                context.insertInto(MOLECULARMATCHTRIALSARMGROUPLABEL,
+                writer.insertInto(MOLECULARMATCHTRIALSARMGROUPLABEL,
                         MOLECULARMATCHTRIALSARMGROUPLABEL.ARMGROUPLABEL,
                         MOLECULARMATCHTRIALSARMGROUPLABEL.MOLECULARMATCHTRIALSINTERVENTIONID)
                         .values(armGroupLabel, idIntervention)
@@ -89,7 +84,7 @@ final class MolecularMatchTrialsDAOFunctions {
         }
 
         for (MolecularMatchTrialsLocation location : molecularMatchTrials.locations()) {
-            int idLocation = context.insertInto(MOLECULARMATCHTRIALSLOCATION,
+            int idLocation = writer.insertInto(MOLECULARMATCHTRIALSLOCATION,
                     MOLECULARMATCHTRIALSLOCATION.STATUS,
                     MOLECULARMATCHTRIALSLOCATION.NAME,
                     MOLECULARMATCHTRIALSLOCATION.LASTNAME,
@@ -138,13 +133,11 @@ final class MolecularMatchTrialsDAOFunctions {
                             location.lastUpdated(),
                             location.failedGeocode(),
                             id)
-                    .returning(MOLECULARMATCHTRIALSLOCATION.ID)
-                    .fetchOne()
-                    .getValue(MOLECULARMATCHTRIALSLOCATION.ID);
+                    .returning(MOLECULARMATCHTRIALSLOCATION.ID);
 
             MolecularMatchTrialsContact contact = location.contact();
             if (contact != null) {
-                context.insertInto(MOLECULARMATCHTRIALSCONTACT,
+                writer.insertInto(MOLECULARMATCHTRIALSCONTACT,
                         MOLECULARMATCHTRIALSCONTACT.NAME,
                         MOLECULARMATCHTRIALSCONTACT.EMAIL,
                         MOLECULARMATCHTRIALSCONTACT.PHONE,
@@ -155,16 +148,14 @@ final class MolecularMatchTrialsDAOFunctions {
 
             MolecularMatchTrialsSubLocation subLocation = location.subLocation();
             if (subLocation != null) {
-                int idSubLocation = context.insertInto(MOLECULARMATCHTRIALSSUBLOCATION,
+                int idSubLocation = writer.insertInto(MOLECULARMATCHTRIALSSUBLOCATION,
                         MOLECULARMATCHTRIALSSUBLOCATION.TYPE,
                         MOLECULARMATCHTRIALSSUBLOCATION.MOLECULARMATCHTRIALSLOCATIONID)
                         .values(subLocation.type(), idLocation)
-                        .returning(MOLECULARMATCHTRIALSSUBLOCATION.ID)
-                        .fetchOne()
-                        .getValue(MOLECULARMATCHTRIALSSUBLOCATION.ID);
+                        .returning(MOLECULARMATCHTRIALSSUBLOCATION.ID);
 
                 for (String coordinate : subLocation.coordinates()) {
-                    context.insertInto(MOLECULARMATCHTRIALSCOORDINATES,
+                    writer.insertInto(MOLECULARMATCHTRIALSCOORDINATES,
                             MOLECULARMATCHTRIALSCOORDINATES.COORDINATES,
                             MOLECULARMATCHTRIALSCOORDINATES.MOLECULARMATCHTRIALSSUBLOCATIONID).values(coordinate, idSubLocation).execute();
                 }
@@ -172,7 +163,7 @@ final class MolecularMatchTrialsDAOFunctions {
 
             MolecularMatchTrialsGeo geo = location.geo();
             if (geo != null) {
-                context.insertInto(MOLECULARMATCHTRIALSGEO,
+                writer.insertInto(MOLECULARMATCHTRIALSGEO,
                         MOLECULARMATCHTRIALSGEO.LAT,
                         MOLECULARMATCHTRIALSGEO.LON,
                         MOLECULARMATCHTRIALSGEO.MOLECULARMATCHTRIALSLOCATIONID)
@@ -183,7 +174,7 @@ final class MolecularMatchTrialsDAOFunctions {
 
         MolecularMatchTrialsOverallContact overallContact = molecularMatchTrials.overallContact();
         if (overallContact != null) {
-            context.insertInto(MOLECULARMATCHTRIALSOVERALLCONTACT,
+            writer.insertInto(MOLECULARMATCHTRIALSOVERALLCONTACT,
                     MOLECULARMATCHTRIALSOVERALLCONTACT.NAME,
                     MOLECULARMATCHTRIALSOVERALLCONTACT.TYPE,
                     MOLECULARMATCHTRIALSOVERALLCONTACT.AFFILIATION,
@@ -214,7 +205,7 @@ final class MolecularMatchTrialsDAOFunctions {
         }
 
         for (MolecularMatchTrialsTag tag : molecularMatchTrials.tags()) {
-            context.insertInto(MOLECULARMATCHTRIALSTAG,
+            writer.insertInto(MOLECULARMATCHTRIALSTAG,
                     MOLECULARMATCHTRIALSTAG.FACET,
                     MOLECULARMATCHTRIALSTAG.COMPOSITEKEY,
                     MOLECULARMATCHTRIALSTAG.SUPPRESS,
@@ -247,24 +238,24 @@ final class MolecularMatchTrialsDAOFunctions {
         }
     }
 
-    static void deleteAll(@NotNull DSLContext context) {
+    static void deleteAll(@NotNull ViccRecordWriter writer) {
         // Tables that are part of a location
-        context.deleteFrom(MOLECULARMATCHTRIALSCOORDINATES).execute();
-        context.deleteFrom(MOLECULARMATCHTRIALSSUBLOCATION).execute();
-        context.deleteFrom(MOLECULARMATCHTRIALSGEO).execute();
-        context.deleteFrom(MOLECULARMATCHTRIALSCONTACT).execute();
+        writer.deleteFrom(MOLECULARMATCHTRIALSCOORDINATES);
+        writer.deleteFrom(MOLECULARMATCHTRIALSSUBLOCATION);
+        writer.deleteFrom(MOLECULARMATCHTRIALSGEO);
+        writer.deleteFrom(MOLECULARMATCHTRIALSCONTACT);
 
         // Tables that are part of an intervention
-        context.deleteFrom(MOLECULARMATCHTRIALSOTHERNAME).execute();
-        context.deleteFrom(MOLECULARMATCHTRIALSARMGROUPLABEL).execute();
+        writer.deleteFrom(MOLECULARMATCHTRIALSOTHERNAME);
+        writer.deleteFrom(MOLECULARMATCHTRIALSARMGROUPLABEL);
 
         // Tables that are part of the main entry object
-        context.deleteFrom(MOLECULARMATCHTRIALSTAG).execute();
-        context.deleteFrom(MOLECULARMATCHTRIALSOVERALLCONTACT).execute();
-        context.deleteFrom(MOLECULARMATCHTRIALSLOCATION).execute();
-        context.deleteFrom(MOLECULARMATCHTRIALSINTERVENTION).execute();
-        context.deleteFrom(MOLECULARMATCHTRIALSALTERATION).execute();
+        writer.deleteFrom(MOLECULARMATCHTRIALSTAG);
+        writer.deleteFrom(MOLECULARMATCHTRIALSOVERALLCONTACT);
+        writer.deleteFrom(MOLECULARMATCHTRIALSLOCATION);
+        writer.deleteFrom(MOLECULARMATCHTRIALSINTERVENTION);
+        writer.deleteFrom(MOLECULARMATCHTRIALSALTERATION);
 
-        context.deleteFrom(MOLECULARMATCHTRIALS).execute();
+        writer.deleteFrom(MOLECULARMATCHTRIALS);
     }
 }
@@ -22,19 +22,18 @@ import com.hartwig.hmftools.vicc.datamodel.oncokb.OncoKbGene;
 import com.hartwig.hmftools.vicc.datamodel.oncokb.OncoKbVariant;
 
 import org.jetbrains.annotations.NotNull;
-import org.jooq.DSLContext;
 
 final class OncokbDAOFunctions {
 
     private OncokbDAOFunctions() {
     }
 
-    static void write(@NotNull DSLContext context, int viccEntryId, @NotNull OncoKb oncoKb) {
-        int id = context.insertInto(ONCOKB, ONCOKB.VICCENTRYID).values(viccEntryId).returning(ONCOKB.ID).fetchOne().getValue(ONCOKB.ID);
+    static void write(@NotNull ViccRecordWriter writer, int viccEntryId, @NotNull OncoKb oncoKb) {
+        int id = writer.insertInto(ONCOKB, ONCOKB.VICCENTRYID).values(viccEntryId).returning(ONCOKB.ID);
 
         OncoKbBiological oncokbBiological = oncoKb.oncoKbBiological();
         if (oncokbBiological != null) {
-            int idBiological = context.insertInto(ONCOKBBIOLOGICAL,
+            int idBiological = writer.insertInto(ONCOKBBIOLOGICAL,
                     ONCOKBBIOLOGICAL.GENE,
                     ONCOKBBIOLOGICAL.ENTREZGENEID,
                     ONCOKBBIOLOGICAL.ISOFORM,
@@ -53,12 +52,10 @@ final class OncokbDAOFunctions {
                             oncokbBiological.mutationEffectPmids(),
                             oncokbBiological.mutationEffectAbstracts(),
                             id)
-                    .returning(ONCOKBBIOLOGICAL.ID)
-                    .fetchOne()
-                    .getValue(ONCOKBBIOLOGICAL.ID);
+                    .returning(ONCOKBBIOLOGICAL.ID);
 
             OncoKbVariant oncokbVariant = oncokbBiological.oncokbVariant();
-            int idVariant = context.insertInto(ONCOKBVARIANTBIOLOGICAL,
+            int idVariant = writer.insertInto(ONCOKBVARIANTBIOLOGICAL,
                     ONCOKBVARIANTBIOLOGICAL.NAME,
                     ONCOKBVARIANTBIOLOGICAL.ALTERATION,
                     ONCOKBVARIANTBIOLOGICAL.PROTEINSTART,
@@ -73,12 +70,10 @@ final class OncokbDAOFunctions {
                             oncokbVariant.refResidues(),
                             oncokbVariant.variantResidues(),
                             idBiological)
-                    .returning(ONCOKBVARIANTBIOLOGICAL.ID)
-                    .fetchOne()
-                    .getValue(ONCOKBVARIANTBIOLOGICAL.ID);
+                    .returning(ONCOKBVARIANTBIOLOGICAL.ID);
 
             OncoKbConsequence oncoKbConsequence = oncokbBiological.oncokbVariant().consequence();
-            context.insertInto(ONCOKBCONSEQUENCEBIOLOGICAL,
+            writer.insertInto(ONCOKBCONSEQUENCEBIOLOGICAL,
                     ONCOKBCONSEQUENCEBIOLOGICAL.TERM,
                     ONCOKBCONSEQUENCEBIOLOGICAL.DESCRIPTION,
                     ONCOKBCONSEQUENCEBIOLOGICAL.ISGENERALLYTRUNCATING,
@@ -87,7 +82,7 @@ final class OncokbDAOFunctions {
                     .execute();
 
             OncoKbGene oncoKbGene = oncokbBiological.oncokbVariant().gene();
-            int idGene = context.insertInto(ONCOKBGENEBIOLOGICAL,
+            int idGene = writer.insertInto(ONCOKBGENEBIOLOGICAL,
                     ONCOKBGENEBIOLOGICAL.HUGOSYMBOL,
                     ONCOKBGENEBIOLOGICAL.NAME,
                     ONCOKBGENEBIOLOGICAL.ENTREZGENEID,
@@ -104,12 +99,10 @@ final class OncokbDAOFunctions {
                             oncoKbGene.oncogene(),
                             oncoKbGene.tsg(),
                             idVariant)
-                    .returning(ONCOKBGENEBIOLOGICAL.ID)
-                    .fetchOne()
-                    .getValue(ONCOKBGENEBIOLOGICAL.ID);
+                    .returning(ONCOKBGENEBIOLOGICAL.ID);
 
             for (String geneAlias : oncoKbGene.geneAliases()) {
-                context.insertInto(ONCOKBGENEALIASBIOLOGICAL,
+                writer.insertInto(ONCOKBGENEALIASBIOLOGICAL,
                         ONCOKBGENEALIASBIOLOGICAL.GENEALIAS,
                         ONCOKBGENEALIASBIOLOGICAL.ONCOKBGENEBIOLOGICALID).values(geneAlias, idGene);
             }
@@ -117,7 +110,7 @@ final class OncokbDAOFunctions {
 
         OncoKbClinical oncokbClinical = oncoKb.oncoKbClinical();
         if (oncokbClinical != null) {
-            int idClinical = context.insertInto(ONCOKBCLINICAL,
+            int idClinical = writer.insertInto(ONCOKBCLINICAL,
                     ONCOKBCLINICAL.GENE,
                     ONCOKBCLINICAL.ENTREZGENEID,
                     ONCOKBCLINICAL.ISOFORM,
@@ -138,12 +131,10 @@ final class OncokbDAOFunctions {
                             oncokbClinical.level(),
                             oncokbClinical.levelLabel(),
                             id)
-                    .returning(ONCOKBCLINICAL.ID)
-                    .fetchOne()
-                    .getValue(ONCOKBCLINICAL.ID);
+                    .returning(ONCOKBCLINICAL.ID);
 
             for (OncoKbDrugAbstract drugAbstract : oncokbClinical.drugAbstracts()) {
-                context.insertInto(ONCOKBDRUGABSTRACTCLINICAL,
+                writer.insertInto(ONCOKBDRUGABSTRACTCLINICAL,
                         ONCOKBDRUGABSTRACTCLINICAL.TEXT,
                         ONCOKBDRUGABSTRACTCLINICAL.LINK,
                         ONCOKBDRUGABSTRACTCLINICAL.ONCOKBCLINICALID)
@@ -152,7 +143,7 @@ final class OncokbDAOFunctions {
             }
 
             OncoKbVariant variantClinical = oncokbClinical.variant();
-            int idClinicalVariant = context.insertInto(ONCOKBVARIANTCLINICAL,
+            int idClinicalVariant = writer.insertInto(ONCOKBVARIANTCLINICAL,
                     ONCOKBVARIANTCLINICAL.NAME,
                     ONCOKBVARIANTCLINICAL.ALTERATION,
                     ONCOKBVARIANTCLINICAL.PROTEINSTART,
@@ -167,12 +158,10 @@ final class OncokbDAOFunctions {
                             variantClinical.refResidues(),
                             variantClinical.variantResidues(),
                             idClinical)
-                    .returning(ONCOKBVARIANTCLINICAL.ID)
-                    .fetchOne()
-                    .getValue(ONCOKBVARIANTCLINICAL.ID);
+                    .returning(ONCOKBVARIANTCLINICAL.ID);
 
             OncoKbConsequence consequenceClinical = oncokbClinical.variant().consequence();
-            context.insertInto(ONCOKBCONSEQUENCECLINICAL,
+            writer.insertInto(ONCOKBCONSEQUENCECLINICAL,
                     ONCOKBCONSEQUENCECLINICAL.TERM,
                     ONCOKBCONSEQUENCECLINICAL.DESCRIPTION,
                     ONCOKBCONSEQUENCECLINICAL.ISGENERALLYTRUNCATING,
@@ -184,7 +173,7 @@ final class OncokbDAOFunctions {
                     .execute();
 
             OncoKbGene geneClinical = oncokbClinical.variant().gene();
-            int idGeneClinical = context.insertInto(ONCOKBGENECLINICAL,
+            int idGeneClinical = writer.insertInto(ONCOKBGENECLINICAL,
                     ONCOKBGENECLINICAL.HUGOSYMBOL,
                     ONCOKBGENECLINICAL.NAME,
                     ONCOKBGENECLINICAL.ENTREZGENEID,
@@ -201,35 +190,33 @@ final class OncokbDAOFunctions {
                             geneClinical.oncogene(),
                             geneClinical.tsg(),
                             idClinicalVariant)
-                    .returning(ONCOKBGENECLINICAL.ID)
-                    .fetchOne()
-                    .getValue(ONCOKBGENECLINICAL.ID);
+                    .returning(ONCOKBGENECLINICAL.ID);
 
             for (String geneAlias : geneClinical.geneAliases()) {
-                context.insertInto(ONCOKBGENEALIASCLINICAL,
+                writer.insertInto(ONCOKBGENEALIASCLINICAL,
                         ONCOKBGENEALIASCLINICAL.GENEALIAS,
                         ONCOKBGENEALIASCLINICAL.ONCOKBGENECLINICALID).values(geneAlias, idGeneClinical).execute();
             }
         }
     }
 
-    static void deleteAll(@NotNull DSLContext context) {
+    static void deleteAll(@NotNull ViccRecordWriter writer) {
         // First delete biological nodes
-        context.deleteFrom(ONCOKBGENEALIASBIOLOGICAL).execute();
-        context.deleteFrom(ONCOKBCONSEQUENCEBIOLOGICAL).execute();
-        context.deleteFrom(ONCOKBGENEBIOLOGICAL).execute();
-        context.deleteFrom(ONCOKBVARIANTBIOLOGICAL).execute();
+        writer.deleteFrom(ONCOKBGENEALIASBIOLOGICAL);
+        writer.deleteFrom(ONCOKBCONSEQUENCEBIOLOGICAL);
+        writer.deleteFrom(ONCOKBGENEBIOLOGICAL);
+        writer.deleteFrom(ONCOKBVARIANTBIOLOGICAL);
 
         // Then delete clinical nodes
-        context.deleteFrom(ONCOKBDRUGABSTRACTCLINICAL).execute();
-        context.deleteFrom(ONCOKBGENEALIASCLINICAL).execute();
-        context.deleteFrom(ONCOKBCONSEQUENCECLINICAL).execute();
-        context.deleteFrom(ONCOKBGENECLINICAL).execute();
-        context.deleteFrom(ONCOKBVARIANTCLINICAL).execute();
+        writer.deleteFrom(ONCOKBDRUGABSTRACTCLINICAL);
+        writer.deleteFrom(ONCOKBGENEALIASCLINICAL);
+        writer.deleteFrom(ONCOKBCONSEQUENCECLINICAL);
+        writer.deleteFrom(ONCOKBGENECLINICAL);
+        writer.deleteFrom(ONCOKBVARIANTCLINICAL);
 
         // Then delete top-nodes + final entry node
-        context.deleteFrom(ONCOKBBIOLOGICAL).execute();
-        context.deleteFrom(ONCOKBCLINICAL).execute();
-        context.deleteFrom(ONCOKB).execute();
+        writer.deleteFrom(ONCOKBBIOLOGICAL);
+        writer.deleteFrom(ONCOKBCLINICAL);
+        writer.deleteFrom(ONCOKB);
     }
 }
@@ -10,27 +10,26 @@ import com.hartwig.hmftools.vicc.datamodel.pmkb.Pmkb;
 import com.hartwig.hmftools.vicc.datamodel.pmkb.PmkbTissue;
 
 import org.jetbrains.annotations.NotNull;
-import org.jooq.DSLContext;
 
 final class PmkbDAOFunctions {
 
     private PmkbDAOFunctions() {
     }
 
-    static void write(@NotNull DSLContext context, int viccEntryId, @NotNull Pmkb pmkb) {
-        int id = context.insertInto(PMKB, PMKB.VICCENTRYID).values(viccEntryId).returning(PMKB.ID).fetchOne().getValue(PMKB.ID);
+    static void write(@NotNull ViccRecordWriter writer, int viccEntryId, @NotNull Pmkb pmkb) {
+        int id = writer.insertInto(PMKB, PMKB.VICCENTRYID).values(viccEntryId).returning(PMKB.ID);
 
-        context.insertInto(PMKBTUMOR, PMKBTUMOR.NAME, PMKBTUMOR.IDTUMOR, PMKBTUMOR.PMKBID)
+        writer.insertInto(PMKBTUMOR, PMKBTUMOR.NAME, PMKBTUMOR.IDTUMOR, PMKBTUMOR.PMKBID)
                 .values(pmkb.tumor().name(), pmkb.tumor().id(), id)
                 .execute();
 
         for (PmkbTissue tissue : pmkb.tissues()) {
-            context.insertInto(PMKBTISSUE, PMKBTISSUE.NAME, PMKBTISSUE.IDTISSUE, PMKBTISSUE.PMKBID)
+            writer.insertInto(PMKBTISSUE, PMKBTISSUE.NAME, PMKBTISSUE.IDTISSUE, PMKBTISSUE.PMKBID)
                     .values(tissue.name(), tissue.id(), id)
                     .execute();
         }
 
-        int variantId = context.insertInto(PMKBVARIANT,
+        int variantId = writer.insertInto(PMKBVARIANT,
                 PMKBVARIANT.NAME,
                 PMKBVARIANT.COORDINATES,
                 PMKBVARIANT.CHROMOSOME,
@@ -73,11 +72,9 @@ final class PmkbDAOFunctions {
                         pmkb.variant().notes(),
                         pmkb.variant().id(),
                         id)
-                .returning(PMKBVARIANT.ID)
-                .fetchOne()
-                .getValue(PMKBVARIANT.ID);
+                .returning(PMKBVARIANT.ID);
 
-        context.insertInto(PMKBGENE,
+        writer.insertInto(PMKBGENE,
                 PMKBGENE.NAME,
                 PMKBGENE.CREATEDAT,
                 PMKBGENE.UPDATEDAT,
@@ -97,12 +94,12 @@ final class PmkbDAOFunctions {
                 .execute();
     }
 
-    static void deleteAll(@NotNull DSLContext context) {
-        context.deleteFrom(PMKBGENE).execute();
-        context.deleteFrom(PMKBVARIANT).execute();
-        context.deleteFrom(PMKBTISSUE).execute();
-        context.deleteFrom(PMKBTUMOR).execute();
+    static void deleteAll(@NotNull ViccRecordWriter writer) {
+        writer.deleteFrom(PMKBGENE);
+        writer.deleteFrom(PMKBVARIANT);
+        writer.deleteFrom(PMKBTISSUE);
+        writer.deleteFrom(PMKBTUMOR);
 
-        context.deleteFrom(PMKB).execute();
+        writer.deleteFrom(PMKB);
     }
 }
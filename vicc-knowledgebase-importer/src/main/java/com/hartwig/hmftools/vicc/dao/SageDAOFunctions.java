@@ -5,15 +5,14 @@ import static com.hartwig.hmftools.vicc.database.Tables.SAGE;
 import com.hartwig.hmftools.vicc.datamodel.sage.Sage;
 
 import org.jetbrains.annotations.NotNull;
-import org.jooq.DSLContext;
 
 final class SageDAOFunctions {
 
     private SageDAOFunctions() {
     }
 
-    static void write(@NotNull DSLContext context, int viccEntryId, @NotNull Sage sage) {
-        context.insertInto(SAGE,
+    static void write(@NotNull ViccRecordWriter writer, int viccEntryId, @NotNull Sage sage) {
+        writer.insertInto(SAGE,
                 SAGE.GENE,
                 SAGE.ENTREZID,
                 SAGE.CLINICALMANIFESTATION,
@@ -35,7 +34,7 @@ final class SageDAOFunctions {
                 .execute();
     }
 
-    static void deleteAll(@NotNull DSLContext context) {
-        context.deleteFrom(SAGE).execute();
+    static void deleteAll(@NotNull ViccRecordWriter writer) {
+        writer.deleteFrom(SAGE);
     }
 }
@@ -76,15 +76,20 @@ public class ViccDAO {
     private static final String DEV_CATALOG = "vicc_test";
 
     @NotNull
-    private final DSLContext context;
+    private final ViccRecordWriter writer;
 
     public static ViccDAO connectToViccDAO(@NotNull final String userName, @NotNull final String password, @NotNull final String url)
             throws SQLException {
+        return connectToViccDAO(userName, password, url, false);
+    }
+
+    public static ViccDAO connectToViccDAO(@NotNull final String userName, @NotNull final String password, @NotNull final String url,
+            boolean batchInsert) throws SQLException {
         final Connection conn = DriverManager.getConnection(url, userName, password);
         final String catalog = conn.getCatalog();
         LOGGER.info("Connecting to database {}", catalog);
 
-        return new ViccDAO(DSL.using(conn, SQLDialect.MYSQL, settings(catalog)));
+        return new ViccDAO(DSL.using(conn, SQLDialect.MYSQL, settings(catalog)), batchInsert);
     }
 
     @Nullable
@@ -97,16 +102,14 @@ public class ViccDAO {
                 .withOutput(catalog)));
     }
 
-    private ViccDAO(@NotNull final DSLContext context) {
-        this.context = context;
+    private ViccDAO(@NotNull final DSLContext context, boolean batchInsert) {
+        this.writer = new ViccRecordWriter(context, batchInsert);
     }
 
     public void writeViccEntry(@NotNull ViccEntry viccEntry) {
-        int id = context.insertInto(VICCENTRY, VICCENTRY.SOURCE)
+        int id = writer.insertInto(VICCENTRY, VICCENTRY.SOURCE)
                 .values(viccEntry.source())
-                .returning(VICCENTRY.ID)
-                .fetchOne()
-                .getValue(VICCENTRY.ID);
+                .returning(VICCENTRY.ID);
         writeTags(id, viccEntry.tags());
         writeDevTags(id, viccEntry.devTags());
         writeGeneIdentifiers(id, viccEntry.geneIdentifiers());
@@ -115,69 +118,76 @@ public class ViccDAO {
         writeFeatures(id, viccEntry.features());
         writeAssociation(id, viccEntry.association());
         writeKbSpecificObject(id, viccEntry.KbSpecificObject());
+        writer.endEntry();
+    }
+
+    public void flush() {
+        // Note: Only has an effect in batch insert mode, where rows are buffered until enough entries have been accumulated.
+        writer.flush();
     }
 
     public void deleteAll() {
         // Note: The order should be "from branch to root" to avoid constraint violation.
-        BRCADAOFunctions.deleteAll(context);
-        CgiDAOFunctions.deleteAll(context);
-        CivicDAOFunctions.deleteAll(context);
-        JaxDAOFunctions.deleteAll(context);
-        JaxTrialsDAOFunctions.deleteAll(context);
-        MolecularMatchDAOFunctions.deleteAll(context);
-        MolecularMatchTrialsDAOFunctions.deleteAll(context);
-        OncokbDAOFunctions.deleteAll(context);
-        PmkbDAOFunctions.deleteAll(context);
-        SageDAOFunctions.deleteAll(context);
+        BRCADAOFunctions.deleteAll(writer);
+        CgiDAOFunctions.deleteAll(writer);
+        CivicDAOFunctions.deleteAll(writer);
+        JaxDAOFunctions.deleteAll(writer);
+        JaxTrialsDAOFunctions.deleteAll(writer);
+        MolecularMatchDAOFunctions.deleteAll(writer);
+        MolecularMatchTrialsDAOFunctions.deleteAll(writer);
+        OncokbDAOFunctions.deleteAll(writer);
+        PmkbDAOFunctions.deleteAll(writer);
+        SageDAOFunctions.deleteAll(writer);
 
         // Below tables are part of Association
-        context.deleteFrom(ASSOCIATIONVARIANT).execute();
-        context.deleteFrom(EVIDENCETYPE).execute();
-        context.deleteFrom(EVIDENCEINFO).execute();
-        context.deleteFrom(EVIDENCE).execute();
-        context.deleteFrom(PUBLICATIONURL).execute();
-        context.deleteFrom(PHENOTYPETYPE).execute();
-        context.deleteFrom(PHENOTYPE).execute();
-        context.deleteFrom(APPROVEDCOUNTRY).execute();
-        context.deleteFrom(TAXONOMY).execute();
-        context.deleteFrom(ENVIRONMENTALCONTEXT).execute();
+        writer.deleteFrom(ASSOCIATIONVARIANT);
+        writer.deleteFrom(EVIDENCETYPE);
+        writer.deleteFrom(EVIDENCEINFO);
+        writer.deleteFrom(EVIDENCE);
+        writer.deleteFrom(PUBLICATIONURL);
+        writer.deleteFrom(PHENOTYPETYPE);
+        writer.deleteFrom(PHENOTYPE);
+        writer.deleteFrom(APPROVEDCOUNTRY);
+        writer.deleteFrom(TAXONOMY);
+        writer.deleteFrom(ENVIRONMENTALCONTEXT);
 
         // Below tables are part of Feature
-        context.deleteFrom(FEATUREINFO).execute();
-        context.deleteFrom(FEATUREATTRIBUTE).execute();
-        context.deleteFrom(PROVENANCE).execute();
-        context.deleteFrom(SYNONYM).execute();
-        context.deleteFrom(LINK).execute();
-        context.deleteFrom(HIERARCHY).execute();
-        context.deleteFrom(SEQUENCEONTOLOGY).execute();
+        writer.deleteFrom(FEATUREINFO);
+        writer.deleteFrom(FEATUREATTRIBUTE);
+        writer.deleteFrom(PROVENANCE);
+        writer.deleteFrom(SYNONYM);
+        writer.deleteFrom(LINK);
+        writer.deleteFrom(HIERARCHY);
+        writer.deleteFrom(SEQUENCEONTOLOGY);
 
         // Below tables are part of VICC Entry
-        context.deleteFrom(ASSOCIATION).execute();
-        context.deleteFrom(FEATURENAME).execute();
-        context.deleteFrom(FEATURE).execute();
-        context.deleteFrom(GENE).execute();
-        context.deleteFrom(GENEIDENTIFIER).execute();
-        context.deleteFrom(DEVTAG).execute();
-        context.deleteFrom(TAG).execute();
-
-        context.deleteFrom(VICCENTRY).execute();
+        writer.deleteFrom(ASSOCIATION);
+        writer.deleteFrom(FEATURENAME);
+        writer.deleteFrom(FEATURE);
+        writer.deleteFrom(GENE);
+        writer.deleteFrom(GENEIDENTIFIER);
+        writer.deleteFrom(DEVTAG);
+        writer.deleteFrom(TAG);
+
+        writer.deleteFrom(VICCENTRY);
+        writer.flush();
     }
 
     private void writeTags(int viccEntryId, @NotNull List<String> tags) {
         for (String tag : tags) {
-            context.insertInto(TAG, TAG.TAGNAME, TAG.VICCENTRYID).values(tag, viccEntryId).execute();
+            writer.insertInto(TAG, TAG.TAGNAME, TAG.VICCENTRYID).values(tag, viccEntryId).execute();
         }
     }
 
     private void writeDevTags(int viccEntryId, @NotNull List<String> devTags) {
         for (String devTag : devTags) {
-            context.insertInto(DEVTAG, DEVTAG.DEVTAGNAME, DEVTAG.VICCENTRYID).values(devTag, viccEntryId).execute();
+            writer.insertInto(DEVTAG, DEVTAG.DEVTAGNAME, DEVTAG.VICCENTRYID).values(devTag, viccEntryId).execute();
         }
     }
 
     private void writeGeneIdentifiers(int viccEntryId, @NotNull List<GeneIdentifier> geneIdentifiers) {
         for (GeneIdentifier geneIdentifier : geneIdentifiers) {
-            context.insertInto(GENEIDENTIFIER,
+            writer.insertInto(GENEIDENTIFIER,
                     GENEIDENTIFIER.SYMBOL,
                     GENEIDENTIFIER.ENTREZID,
                     GENEIDENTIFIER.ENSEMBLGENEID,
@@ -189,19 +199,19 @@ public class ViccDAO {
 
     private void writeGenes(int viccEntryId, @NotNull List<String> genes) {
         for (String gene : genes) {
-            context.insertInto(GENE, GENE.GENENAME, GENE.VICCENTRYID).values(gene, viccEntryId).execute();
+            writer.insertInto(GENE, GENE.GENENAME, GENE.VICCENTRYID).values(gene, viccEntryId).execute();
         }
     }
 
     private void writeFeatureNames(int viccEntryId, @NotNull List<String> featureNames) {
         for (String featureName : featureNames) {
-            context.insertInto(FEATURENAME, FEATURENAME.NAMEOFFEATURE, FEATURENAME.VICCENTRYID).values(featureName, viccEntryId).execute();
+            writer.insertInto(FEATURENAME, FEATURENAME.NAMEOFFEATURE, FEATURENAME.VICCENTRYID).values(featureName, viccEntryId).execute();
         }
     }
 
     private void writeFeatures(int viccEntryId, @NotNull List<Feature> features) {
         for (Feature feature : features) {
-            int id = context.insertInto(FEATURE,
+            int id = writer.insertInto(FEATURE,
                     FEATURE.NAME,
                     FEATURE.BIOMARKERTYPE,
                     FEATURE.REFERENCENAME,
@@ -228,9 +238,7 @@ public class ViccDAO {
                             feature.entrezId(),
                             feature.description(),
                             viccEntryId)
-                    .returning(FEATURE.ID)
-                    .fetchOne()
-                    .getValue(FEATURE.ID);
+                    .returning(FEATURE.ID);
             writeFeatureInfo(id, feature.info());
             writeFeatureAttribute(id, feature.attribute());
             writeProvenance(id, feature.provenance());
@@ -242,7 +250,7 @@ public class ViccDAO {
 
     private void writeFeatureInfo(int featureId, @Nullable FeatureInfo featureInfo) {
         if (featureInfo != null) {
-            context.insertInto(FEATUREINFO, FEATUREINFO.GERMLINEORSOMATIC, FEATUREINFO.FEATUREID)
+            writer.insertInto(FEATUREINFO, FEATUREINFO.GERMLINEORSOMATIC, FEATUREINFO.FEATUREID)
                     .values(featureInfo.germlineOrSomatic(), featureId)
                     .execute();
         }
@@ -250,7 +258,7 @@ public class ViccDAO {
 
     private void writeFeatureAttribute(int featureId, @Nullable FeatureAttribute featureAttribute) {
         if (featureAttribute != null) {
-            context.insertInto(FEATUREATTRIBUTE,
+            writer.insertInto(FEATUREATTRIBUTE,
                     FEATUREATTRIBUTE.AMINOACIDCHANGE,
                     FEATUREATTRIBUTE.GERMLINE,
                     FEATUREATTRIBUTE.PARTNERGENE,
@@ -295,25 +303,25 @@ public class ViccDAO {
 
     private void writeProvenance(int featureId, @NotNull List<String> provenances) {
         for (String provenance : provenances) {
-            context.insertInto(PROVENANCE, PROVENANCE.PROVENANCENAME, PROVENANCE.FEATUREID).values(provenance, featureId).execute();
+            writer.insertInto(PROVENANCE, PROVENANCE.PROVENANCENAME, PROVENANCE.FEATUREID).values(provenance, featureId).execute();
         }
     }
 
     private void writeSynonyms(int featureId, @NotNull List<String> synonyms) {
         for (String synonym : synonyms) {
-            context.insertInto(SYNONYM, SYNONYM.SYNONYMNAME, SYNONYM.FEATUREID).values(synonym, featureId).execute();
+            writer.insertInto(SYNONYM, SYNONYM.SYNONYMNAME, SYNONYM.FEATUREID).values(synonym, featureId).execute();
         }
     }
 
     private void writeLinks(int featureId, @NotNull List<String> links) {
         for (String link : links) {
-            context.insertInto(LINK, LINK.LINKNAME, LINK.FEATUREID).values(link, featureId).execute();
+            writer.insertInto(LINK, LINK.LINKNAME, LINK.FEATUREID).values(link, featureId).execute();
         }
     }
 
     private void writeSequenceOntology(int featureId, @Nullable SequenceOntology sequenceOntologies) {
         if (sequenceOntologies != null) {
-            int id = context.insertInto(SEQUENCEONTOLOGY,
+            int id = writer.insertInto(SEQUENCEONTOLOGY,
                     SEQUENCEONTOLOGY.SOID,
                     SEQUENCEONTOLOGY.PARENTSOID,
                     SEQUENCEONTOLOGY.NAME,
@@ -324,23 +332,21 @@ public class ViccDAO {
                             sequenceOntologies.name(),
                             sequenceOntologies.parentName(),
                             featureId)
-                    .returning(SEQUENCEONTOLOGY.ID)
-                    .fetchOne()
-                    .getValue(SEQUENCEONTOLOGY.ID);
+                    .returning(SEQUENCEONTOLOGY.ID);
             writeHierarchy(id, sequenceOntologies.hierarchy());
         }
     }
 
     private void writeHierarchy(int sequenceOntologyId, @NotNull List<String> hierarchies) {
         for (String hierarchy : hierarchies) {
-            context.insertInto(HIERARCHY, HIERARCHY.HIERARCHYNAME, HIERARCHY.SEQUENCEONTOLOGYID)
+            writer.insertInto(HIERARCHY, HIERARCHY.HIERARCHYNAME, HIERARCHY.SEQUENCEONTOLOGYID)
                     .values(hierarchy, sequenceOntologyId)
                     .execute();
         }
     }
 
     private void writeAssociation(int viccEntryId, @NotNull Association association) {
-        int id = context.insertInto(ASSOCIATION,
+        int id = writer.insertInto(ASSOCIATION,
                 ASSOCIATION.EVIDENCELEVEL,
                 ASSOCIATION.EVIDENCELABEL,
                 ASSOCIATION.RESPONSETYPE,
@@ -357,9 +363,7 @@ public class ViccDAO {
                         association.description(),
                         association.oncogenic(),
                         viccEntryId)
-                .returning(ASSOCIATION.ID)
-                .fetchOne()
-                .getValue(ASSOCIATION.ID);
+                .returning(ASSOCIATION.ID);
         writeVariantNames(id, association.variantNames());
         writeEvidence(id, association.evidence());
         writePublicationsUrls(id, association.publicationUrls());
@@ -369,18 +373,16 @@ public class ViccDAO {
 
     private void writeVariantNames(int associationId, @NotNull List<String> variantNames) {
         for (String variant : variantNames) {
-            context.insertInto(ASSOCIATIONVARIANT, ASSOCIATIONVARIANT.VARIANTNAME, ASSOCIATIONVARIANT.ASSOCIATIONID)
+            writer.insertInto(ASSOCIATIONVARIANT, ASSOCIATIONVARIANT.VARIANTNAME, ASSOCIATIONVARIANT.ASSOCIATIONID)
                     .values(variant, associationId)
                     .execute();
         }
     }
 
     private void writeEvidence(int associationId, @NotNull Evidence evidence) {
-        int id = context.insertInto(EVIDENCE, EVIDENCE.DESCRIPTION, EVIDENCE.ASSOCIATIONID)
+        int id = writer.insertInto(EVIDENCE, EVIDENCE.DESCRIPTION, EVIDENCE.ASSOCIATIONID)
                 .values(evidence.description(), associationId)
-                .returning(EVIDENCE.ID)
-                .fetchOne()
-                .getValue(EVIDENCE.ID);
+                .returning(EVIDENCE.ID);
         writeEvidenceInfo(id, evidence.info());
         writeEvidenceType(id, evidence.evidenceType());
     }
@@ -388,7 +390,7 @@ public class ViccDAO {
     private void writeEvidenceInfo(int evidenceId, @Nullable EvidenceInfo evidenceInfo) {
         if (evidenceInfo != null) {
             for (String publication : evidenceInfo.publications()) {
-                context.insertInto(EVIDENCEINFO, EVIDENCEINFO.PUBLICATION, EVIDENCEINFO.EVIDENCEID)
+                writer.insertInto(EVIDENCEINFO, EVIDENCEINFO.PUBLICATION, EVIDENCEINFO.EVIDENCEID)
                         .values(publication, evidenceId)
                         .execute();
             }
@@ -396,14 +398,14 @@ public class ViccDAO {
     }
 
     private void writeEvidenceType(int evidenceId, @NotNull EvidenceType evidenceType) {
-        context.insertInto(EVIDENCETYPE, EVIDENCETYPE.SOURCENAME, EVIDENCETYPE.IDEVIDENCETYPE, EVIDENCETYPE.EVIDENCEID)
+        writer.insertInto(EVIDENCETYPE, EVIDENCETYPE.SOURCENAME, EVIDENCETYPE.IDEVIDENCETYPE, EVIDENCETYPE.EVIDENCEID)
                 .values(evidenceType.sourceName(), evidenceType.id(), evidenceId)
                 .execute();
     }
 
     private void writePublicationsUrls(int associationId, @NotNull List<String> publicationsUrls) {
         for (String publicationUrl : publicationsUrls) {
-            context.insertInto(PUBLICATIONURL, PUBLICATIONURL.URLOFPUBLICATION, PUBLICATIONURL.ASSOCIATIONID)
+            writer.insertInto(PUBLICATIONURL, PUBLICATIONURL.URLOFPUBLICATION, PUBLICATIONURL.ASSOCIATIONID)
                     .values(publicationUrl, associationId)
                     .execute();
         }
@@ -411,18 +413,16 @@ public class ViccDAO {
 
     private void writePhenotype(int associationId, @Nullable Phenotype phenotype) {
         if (phenotype != null) {
-            int id = context.insertInto(PHENOTYPE, PHENOTYPE.DESCRIPTION, PHENOTYPE.FAMILY, PHENOTYPE.IDPHENOTYPE, PHENOTYPE.ASSOCIATIONID)
+            int id = writer.insertInto(PHENOTYPE, PHENOTYPE.DESCRIPTION, PHENOTYPE.FAMILY, PHENOTYPE.IDPHENOTYPE, PHENOTYPE.ASSOCIATIONID)
                     .values(phenotype.description(), phenotype.family(), phenotype.id(), associationId)
-                    .returning(PHENOTYPE.ID)
-                    .fetchOne()
-                    .getValue(PHENOTYPE.ID);
+                    .returning(PHENOTYPE.ID);
             writePhenotypeType(id, phenotype.type());
         }
     }
 
     private void writePhenotypeType(int phenotypeId, @Nullable PhenotypeType phenotypeType) {
         if (phenotypeType != null) {
-            context.insertInto(PHENOTYPETYPE,
+            writer.insertInto(PHENOTYPETYPE,
                     PHENOTYPETYPE.SOURCE,
                     PHENOTYPETYPE.TERM,
                     PHENOTYPETYPE.IDPHENOTYPETYPE,
@@ -435,7 +435,7 @@ public class ViccDAO {
     private void writeEnvironmentalContexts(int associationId, @Nullable List<EnvironmentalContext> environmentalContexts) {
         if (environmentalContexts != null) {
             for (EnvironmentalContext environmentalContext : environmentalContexts) {
-                int id = context.insertInto(ENVIRONMENTALCONTEXT,
+                int id = writer.insertInto(ENVIRONMENTALCONTEXT,
                         ENVIRONMENTALCONTEXT.TERM,
                         ENVIRONMENTALCONTEXT.DESCRIPTION,
                         ENVIRONMENTALCONTEXT.SOURCE,
@@ -450,9 +450,7 @@ public class ViccDAO {
                                 environmentalContext.toxicity(),
                                 environmentalContext.id(),
                                 associationId)
-                        .returning(ENVIRONMENTALCONTEXT.ID)
-                        .fetchOne()
-                        .getValue(ENVIRONMENTALCONTEXT.ID);
+                        .returning(ENVIRONMENTALCONTEXT.ID);
                 writeApprovedCountries(id, environmentalContext.approvedCountries());
                 writeTaxonomy(id, environmentalContext.taxonomy());
             }
@@ -461,7 +459,7 @@ public class ViccDAO {
 
     private void writeApprovedCountries(int environmentalContextsId, @NotNull List<String> approvedCountries) {
         for (String approvesCountry : approvedCountries) {
-            context.insertInto(APPROVEDCOUNTRY, APPROVEDCOUNTRY.APPROVEDCOUNTRYNAME, APPROVEDCOUNTRY.ENVIRONMENTALCONTEXTID)
+            writer.insertInto(APPROVEDCOUNTRY, APPROVEDCOUNTRY.APPROVEDCOUNTRYNAME, APPROVEDCOUNTRY.ENVIRONMENTALCONTEXTID)
                     .values(approvesCountry, environmentalContextsId)
                     .execute();
         }
@@ -469,7 +467,7 @@ public class ViccDAO {
 
     private void writeTaxonomy(int environmentalContextsId, @Nullable Taxonomy taxonomy) {
         if (taxonomy != null) {
-            context.insertInto(TAXONOMY,
+            writer.insertInto(TAXONOMY,
                     TAXONOMY.KINGDOM,
                     TAXONOMY.DIRECTPARENT,
                     TAXONOMY.CLASS,
@@ -488,25 +486,25 @@ public class ViccDAO {
 
     private void writeKbSpecificObject(int viccEntryId, @NotNull KbSpecificObject object) {
         if (object instanceof Sage) {
-            SageDAOFunctions.write(context, viccEntryId, (Sage) object);
+            SageDAOFunctions.write(writer, viccEntryId, (Sage) object);
         } else if (object instanceof Brca) {
-            BRCADAOFunctions.write(context, viccEntryId, (Brca) object);
+            BRCADAOFunctions.write(writer, viccEntryId, (Brca) object);
         } else if (object instanceof Cgi) {
-            CgiDAOFunctions.write(context, viccEntryId, (Cgi) object);
+            CgiDAOFunctions.write(writer, viccEntryId, (Cgi) object);
         } else if (object instanceof Jax) {
-            JaxDAOFunctions.write(context, viccEntryId, (Jax) object);
+            JaxDAOFunctions.write(writer, viccEntryId, (Jax) object);
         } else if (object instanceof JaxTrials) {
-            JaxTrialsDAOFunctions.write(context, viccEntryId, (JaxTrials) object);
+            JaxTrialsDAOFunctions.write(writer, viccEntryId, (JaxTrials) object);
         } else if (object instanceof Pmkb) {
-            PmkbDAOFunctions.write(context, viccEntryId, (Pmkb) object);
+            PmkbDAOFunctions.write(writer, viccEntryId, (Pmkb) object);
         } else if (object instanceof OncoKb) {
-            OncokbDAOFunctions.write(context, viccEntryId, (OncoKb) object);
+            OncokbDAOFunctions.write(writer, viccEntryId, (OncoKb) object);
         } else if (object instanceof MolecularMatchTrials) {
-            MolecularMatchTrialsDAOFunctions.write(context, viccEntryId, (MolecularMatchTrials) object);
+            MolecularMatchTrialsDAOFunctions.write(writer, viccEntryId, (MolecularMatchTrials) object);
         } else if (object instanceof Civic) {
-            CivicDAOFunctions.write(context, viccEntryId, (Civic) object);
+            CivicDAOFunctions.write(writer, viccEntryId, (Civic) object);
         } else if (object instanceof MolecularMatch) {
-            MolecularMatchDAOFunctions.write(context, viccEntryId, (MolecularMatch) object);
+            MolecularMatchDAOFunctions.write(writer, viccEntryId, (MolecularMatch) object);
         } else {
             LOGGER.warn("Could not resolve kb specific object of class {}", object.getClass().getCanonicalName());
         }
@@ -0,0 +1,190 @@
+package com.hartwig.hmftools.vicc.dao;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.jetbrains.annotations.NotNull;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.InsertValuesStepN;
+import org.jooq.Query;
+import org.jooq.Record;
+import org.jooq.Table;
+import org.jooq.TableField;
+import org.jooq.impl.DSL;
+
+/**
+ * Writes VICC records either directly (one statement per row, database generated IDs) or in batched import mode.
+ * In batched mode IDs are assigned client-side and rows are accumulated per table, then flushed as multi-row inserts.
+ * Pending rows are only flushed at entry boundaries (see {@link #endEntry()}), so an entry is never split over two flushes.
+ * Tables are always flushed in the order they were first written to, which puts every parent table before the child
+ * tables referencing it.
+ *
+ * Each flush commits in its own transaction. A failing flush rolls back only the entries pending in it, entries flushed
+ * before stay committed, so a failed import leaves a partially filled VICC db behind. Rerunning the import clears this
+ * up as it starts by deleting all tables.
+ */
+final class ViccRecordWriter {
+
+    private static final int DB_BATCH_INSERT_SIZE = 1000;
+    private static final int MAX_PENDING_ROWS = 50000;
+
+    @NotNull
+    private final DSLContext context;
+    private final boolean batched;
+    private final int maxPendingRows;
+
+    @NotNull
+    private final Map<Table<?>, Integer> lastIds = Maps.newHashMap();
+    // Never cleared, so the table order of the first flush is kept for every flush after it.
+    @NotNull
+    private final Map<Table<?>, Map<List<Field<?>>, List<Object[]>>> pendingInserts = Maps.newLinkedHashMap();
+    @NotNull
+    private final List<Table<?>> pendingDeletes = Lists.newArrayList();
+    private int pendingRowCount;
+
+    ViccRecordWriter(@NotNull final DSLContext context, boolean batched) {
+        this(context, batched, MAX_PENDING_ROWS);
+    }
+
+    @VisibleForTesting
+    ViccRecordWriter(@NotNull final DSLContext context, boolean batched, int maxPendingRows) {
+        this.context = context;
+        this.batched = batched;
+        this.maxPendingRows = maxPendingRows;
+    }
+
+    @NotNull
+    PendingInsert insertInto(@NotNull Table<?> table, @NotNull Field<?>... fields) {
+        return new PendingInsert(table, Arrays.asList(fields));
+    }
+
+    void deleteFrom(@NotNull Table<?> table) {
+        if (batched) {
+            pendingDeletes.add(table);
+            // Pending deletes are executed before any pending insert, so IDs restart from an empty table.
+            lastIds.put(table, 0);
+        } else {
+            context.deleteFrom(table).execute();
+        }
+    }
+
+    void endEntry() {
+        if (pendingRowCount >= maxPendingRows) {
+            flush();
+        }
+    }
+
+    void flush() {
+        if (pendingDeletes.isEmpty() && pendingRowCount == 0) {
+            return;
+        }
+
+        context.transaction(configuration -> {
+            final DSLContext transaction = DSL.using(configuration);
+            if (!pendingDeletes.isEmpty()) {
+                final List<Query> deletes = Lists.newArrayList();
+                for (Table<?> table : pendingDeletes) {
+                    deletes.add(transaction.deleteFrom(table));
+                }
+                transaction.batch(deletes).execute();
+            }
+
+            for (Map.Entry<Table<?>, Map<List<Field<?>>, List<Object[]>>> tableEntry : pendingInserts.entrySet()) {
+                for (Map.Entry<List<Field<?>>, List<Object[]>> rows : tableEntry.getValue().entrySet()) {
+                    writeRows(transaction, tableEntry.getKey(), rows.getKey(), rows.getValue());
+                }
+            }
+        });
+
+        pendingDeletes.clear();
+        pendingInserts.values().forEach(Map::clear);
+        pendingRowCount = 0;
+    }
+
+    private static <R extends Record> void writeRows(@NotNull DSLContext transaction, @NotNull Table<R> table,
+            @NotNull List<Field<?>> fields, @NotNull List<Object[]> rows) {
+        for (List<Object[]> splitRows : Iterables.partition(rows, DB_BATCH_INSERT_SIZE)) {
+            final InsertValuesStepN<R> inserter = transaction.insertInto(table, fields);
+            for (Object[] row : splitRows) {
+                inserter.values(row);
+            }
+            inserter.execute();
+        }
+    }
+
+    private int nextId(@NotNull Table<?> table, @NotNull TableField<?, Integer> idField) {
+        Integer lastId = lastIds.get(table);
+        if (lastId == null) {
+            final Integer maxId = context.select(DSL.max(idField)).from(table).fetchOne().value1();
+            lastId = maxId != null ? maxId : 0;
+        }
+
+        final int id = lastId + 1;
+        lastIds.put(table, id);
+        return id;
+    }
+
+    private void addRow(@NotNull Table<?> table, @NotNull List<Field<?>> fields, @NotNull Object[] values) {
+        pendingInserts.computeIfAbsent(table, key -> Maps.newLinkedHashMap())
+                .computeIfAbsent(fields, key -> Lists.newArrayList())
+                .add(values);
+
+        pendingRowCount++;
+    }
+
+    final class PendingInsert {
+
+        @NotNull
+        private final Table<?> table;
+        @NotNull
+        private final List<Field<?>> fields;
+        @NotNull
+        private Object[] values = new Object[0];
+
+        private PendingInsert(@NotNull final Table<?> table, @NotNull final List<Field<?>> fields) {
+            this.table = table;
+            this.fields = fields;
+        }
+
+        @NotNull
+        PendingInsert values(@NotNull Object... values) {
+            this.values = values;
+            return this;
+        }
+
+        void execute() {
+            if (batched) {
+                addRow(table, fields, values);
+            } else {
+                context.insertInto(table, fields).values(values).execute();
+            }
+        }
+
+        int returning(@NotNull TableField<?, Integer> idField) {
+            if (!batched) {
+                return context.insertInto(table, fields).values(values).returning(idField).fetchOne().getValue(idField);
+            }
+
+            final int id = nextId(table, idField);
+
+            final List<Field<?>> fieldsWithId = Lists.newArrayListWithCapacity(fields.size() + 1);
+            fieldsWithId.add(idField);
+            fieldsWithId.addAll(fields);
+
+            final Object[] valuesWithId = new Object[values.length + 1];
+            valuesWithId[0] = id;
+            System.arraycopy(values, 0, valuesWithId, 1, values.length);
+
+            addRow(table, Collections.unmodifiableList(fieldsWithId), valuesWithId);
+            return id;
+        }
+    }
+}
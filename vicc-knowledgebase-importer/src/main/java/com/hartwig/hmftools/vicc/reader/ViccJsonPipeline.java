@@ -0,0 +1,104 @@
+package com.hartwig.hmftools.vicc.reader;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.hartwig.hmftools.vicc.datamodel.ViccEntry;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Streams a VICC knowledgebase json file through a bounded producer/consumer pipeline. A single thread tokenises the
+ * file into entry objects, a pool of workers validates and converts them into ViccEntry objects, and the calling thread
+ * consumes the entries in file order as soon as they are ready. At most a bounded number of entries is in flight at any time.
+ */
+public final class ViccJsonPipeline {
+
+    private static final Logger LOGGER = LogManager.getLogger(ViccJsonPipeline.class);
+
+    private static final int ENTRIES_IN_FLIGHT_PER_THREAD = 64;
+
+    private static final Future<ViccEntry> END_OF_STREAM = CompletableFuture.completedFuture(null);
+
+    private ViccJsonPipeline() {
+    }
+
+    public static int readViccKnowledgebaseJsonFile(@NotNull String jsonPath, int threadCount, @NotNull Consumer<ViccEntry> consumer)
+            throws IOException {
+        final BlockingQueue<Future<ViccEntry>> queue = new ArrayBlockingQueue<>(Math.max(1, threadCount) * ENTRIES_IN_FLIGHT_PER_THREAD);
+        final ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, threadCount),
+                new ThreadFactoryBuilder().setNameFormat("vicc-convert-%d").setDaemon(true).build());
+
+        final Thread tokeniser = new Thread(() -> tokenise(jsonPath, workers, queue), "vicc-tokenise");
+        tokeniser.setDaemon(true);
+        tokeniser.start();
+
+        int count = 0;
+        try {
+            while (true) {
+                final Future<ViccEntry> next = queue.take();
+                if (next == END_OF_STREAM) {
+                    break;
+                }
+
+                consumer.accept(next.get());
+                count++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading VICC json", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        } finally {
+            tokeniser.interrupt();
+            workers.shutdownNow();
+        }
+
+        return count;
+    }
+
+    private static void tokenise(@NotNull String jsonPath, @NotNull ExecutorService workers,
+            @NotNull BlockingQueue<Future<ViccEntry>> queue) {
+        try {
+            try (JsonReader reader = new JsonReader(new FileReader(jsonPath))) {
+                reader.setLenient(true);
+                final JsonParser parser = new JsonParser();
+
+                while (reader.peek() != JsonToken.END_DOCUMENT) {
+                    final JsonObject viccEntryObject = parser.parse(reader).getAsJsonObject();
+                    queue.put(workers.submit(() -> ViccJsonReader.createViccEntry(viccEntryObject)));
+                }
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn("Failed to tokenise VICC json {}: {}", jsonPath, e.toString());
+                final CompletableFuture<ViccEntry> failure = new CompletableFuture<>();
+                failure.completeExceptionally(e);
+                queue.put(failure);
+            }
+
+            queue.put(END_OF_STREAM);
+        } catch (InterruptedException e) {
+            // Consumer has stopped, nothing left to do.
+        }
+    }
+}
@@ -71,45 +71,7 @@ public final class ViccJsonReader {
         reader.setLenient(true);
 
         while (reader.peek() != JsonToken.END_DOCUMENT) {
-            JsonObject viccEntryObject = parser.parse(reader).getAsJsonObject();
-            ViccDatamodelCheckerFactory.viccEntryChecker().check(viccEntryObject);
-
-            ImmutableViccEntry.Builder viccEntryBuilder = ImmutableViccEntry.builder();
-            viccEntryBuilder.source(string(viccEntryObject, "source"));
-            viccEntryBuilder.genes(stringList(viccEntryObject, "genes"));
-            viccEntryBuilder.geneIdentifiers(createGeneIdentifiers(viccEntryObject.getAsJsonArray("gene_identifiers")));
-            viccEntryBuilder.featureNames(optionalStringList(viccEntryObject, "feature_names"));
-            viccEntryBuilder.features(createFeatures(viccEntryObject.getAsJsonArray("features")));
-            viccEntryBuilder.association(createAssociation(viccEntryObject.getAsJsonObject("association")));
-            viccEntryBuilder.tags(stringList(viccEntryObject, "tags"));
-            viccEntryBuilder.devTags(stringList(viccEntryObject, "dev_tags"));
-
-            if (viccEntryObject.has("cgi")) {
-                viccEntryBuilder.KbSpecificObject(CgiObjectFactory.create(viccEntryObject.getAsJsonObject("cgi")));
-            } else if (viccEntryObject.has("brca")) {
-                viccEntryBuilder.KbSpecificObject(BRCAObjectFactory.create(viccEntryObject.getAsJsonObject("brca")));
-            } else if (viccEntryObject.has("sage")) {
-                viccEntryBuilder.KbSpecificObject(SageObjectFactory.create(viccEntryObject.getAsJsonObject("sage")));
-            } else if (viccEntryObject.has("pmkb")) {
-                viccEntryBuilder.KbSpecificObject(PmkbObjectFactory.create(viccEntryObject.getAsJsonObject("pmkb")));
-            } else if (viccEntryObject.has("oncokb")) {
-                viccEntryBuilder.KbSpecificObject(OncokbObjectFactory.create(viccEntryObject.getAsJsonObject("oncokb")));
-            } else if (viccEntryObject.has("jax")) {
-                viccEntryBuilder.KbSpecificObject(JaxObjectFactory.create(viccEntryObject.getAsJsonObject("jax")));
-            } else if (viccEntryObject.has("jax_trials")) {
-                viccEntryBuilder.KbSpecificObject(JaxTrialsObjectFactory.create(viccEntryObject.getAsJsonObject("jax_trials")));
-            } else if (viccEntryObject.has("molecularmatch")) {
-                viccEntryBuilder.KbSpecificObject(MolecularMatchObjectFactory.create(viccEntryObject.getAsJsonObject("molecularmatch")));
-            } else if (viccEntryObject.has("molecularmatch_trials")) {
-                viccEntryBuilder.KbSpecificObject(MolecularMatchTrialsObjectFactory.create(viccEntryObject.getAsJsonObject(
-                        "molecularmatch_trials")));
-            } else if (viccEntryObject.has("civic")) {
-                viccEntryBuilder.KbSpecificObject(CivicObjectFactory.create(viccEntryObject.getAsJsonObject("civic")));
-            } else {
-                LOGGER.warn("Could not resolve kb specific object for {}", viccEntryObject);
-            }
-
-            entries.add(viccEntryBuilder.build());
+            entries.add(createViccEntry(parser.parse(reader).getAsJsonObject()));
         }
 
         reader.close();
@@ -117,6 +79,48 @@ public final class ViccJsonReader {
         return entries;
     }
 
+    @NotNull
+    static ViccEntry createViccEntry(@NotNull JsonObject viccEntryObject) {
+        ViccDatamodelCheckerFactory.viccEntryChecker().check(viccEntryObject);
+
+        ImmutableViccEntry.Builder viccEntryBuilder = ImmutableViccEntry.builder();
+        viccEntryBuilder.source(string(viccEntryObject, "source"));
+        viccEntryBuilder.genes(stringList(viccEntryObject, "genes"));
+        viccEntryBuilder.geneIdentifiers(createGeneIdentifiers(viccEntryObject.getAsJsonArray("gene_identifiers")));
+        viccEntryBuilder.featureNames(optionalStringList(viccEntryObject, "feature_names"));
+        viccEntryBuilder.features(createFeatures(viccEntryObject.getAsJsonArray("features")));
+        viccEntryBuilder.association(createAssociation(viccEntryObject.getAsJsonObject("association")));
+        viccEntryBuilder.tags(stringList(viccEntryObject, "tags"));
+        viccEntryBuilder.devTags(stringList(viccEntryObject, "dev_tags"));
+
+        if (viccEntryObject.has("cgi")) {
+            viccEntryBuilder.KbSpecificObject(CgiObjectFactory.create(viccEntryObject.getAsJsonObject("cgi")));
+        } else if (viccEntryObject.has("brca")) {
+            viccEntryBuilder.KbSpecificObject(BRCAObjectFactory.create(viccEntryObject.getAsJsonObject("brca")));
+        } else if (viccEntryObject.has("sage")) {
+            viccEntryBuilder.KbSpecificObject(SageObjectFactory.create(viccEntryObject.getAsJsonObject("sage")));
+        } else if (viccEntryObject.has("pmkb")) {
+            viccEntryBuilder.KbSpecificObject(PmkbObjectFactory.create(viccEntryObject.getAsJsonObject("pmkb")));
+        } else if (viccEntryObject.has("oncokb")) {
+            viccEntryBuilder.KbSpecificObject(OncokbObjectFactory.create(viccEntryObject.getAsJsonObject("oncokb")));
+        } else if (viccEntryObject.has("jax")) {
+            viccEntryBuilder.KbSpecificObject(JaxObjectFactory.create(viccEntryObject.getAsJsonObject("jax")));
+        } else if (viccEntryObject.has("jax_trials")) {
+            viccEntryBuilder.KbSpecificObject(JaxTrialsObjectFactory.create(viccEntryObject.getAsJsonObject("jax_trials")));
+        } else if (viccEntryObject.has("molecularmatch")) {
+            viccEntryBuilder.KbSpecificObject(MolecularMatchObjectFactory.create(viccEntryObject.getAsJsonObject("molecularmatch")));
+        } else if (viccEntryObject.has("molecularmatch_trials")) {
+            viccEntryBuilder.KbSpecificObject(MolecularMatchTrialsObjectFactory.create(viccEntryObject.getAsJsonObject(
+                    "molecularmatch_trials")));
+        } else if (viccEntryObject.has("civic")) {
+            viccEntryBuilder.KbSpecificObject(CivicObjectFactory.create(viccEntryObject.getAsJsonObject("civic")));
+        } else {
+            LOGGER.warn("Could not resolve kb specific object for {}", viccEntryObject);
+        }
+
+        return viccEntryBuilder.build();
+    }
+
     @NotNull
     private static List<GeneIdentifier> createGeneIdentifiers(@NotNull JsonArray geneIdentifierArray) {
         List<GeneIdentifier> geneIdentifierList = Lists.newArrayList();
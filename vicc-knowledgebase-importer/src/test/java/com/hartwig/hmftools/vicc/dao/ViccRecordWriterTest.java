@@ -0,0 +1,148 @@
+package com.hartwig.hmftools.vicc.dao;
+
+import static com.hartwig.hmftools.vicc.database.Tables.TAG;
+import static com.hartwig.hmftools.vicc.database.Tables.VICCENTRY;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.google.common.collect.Lists;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record1;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.Table;
+import org.jooq.TransactionContext;
+import org.jooq.TransactionProvider;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultConfiguration;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockExecuteContext;
+import org.jooq.tools.jdbc.MockResult;
+import org.junit.Test;
+
+public class ViccRecordWriterTest {
+
+    private static final Pattern TABLE_NAME = Pattern.compile("(?:into|from) (?:`\\w+`\\.)?`(\\w+)`");
+
+    @Test
+    public void flushesWholeEntriesInTableOrder() {
+        final List<String> statements = Lists.newArrayList();
+        final ViccRecordWriter writer = new ViccRecordWriter(recordingContext(statements, null), true, 2);
+
+        writer.deleteFrom(TAG);
+        writer.deleteFrom(VICCENTRY);
+
+        final int firstId = writeEntry(writer, "civic", "a", "b", "c");
+        assertTrue(statements.isEmpty());
+        writer.endEntry();
+
+        assertEquals(Lists.newArrayList(statement("delete", TAG),
+                statement("delete", VICCENTRY),
+                statement("insert", VICCENTRY, 1, "civic"),
+                statement("insert", TAG, "a", 1, "b", 1, "c", 1),
+                "commit"), statements);
+        assertEquals(1, firstId);
+
+        statements.clear();
+        writeEntry(writer, "oncokb");
+        writer.endEntry();
+        assertTrue(statements.isEmpty());
+
+        writeEntry(writer, "jax", "d");
+        writer.endEntry();
+        writer.flush();
+
+        assertEquals(Lists.newArrayList(statement("insert", VICCENTRY, 2, "oncokb", 3, "jax"),
+                statement("insert", TAG, "d", 3),
+                "commit"), statements);
+    }
+
+    @Test
+    public void continuesIdsFromRowsAlreadyInDatabase() {
+        final List<String> statements = Lists.newArrayList();
+        final ViccRecordWriter writer = new ViccRecordWriter(recordingContext(statements, 41), true, 1000);
+
+        assertEquals(42, writeEntry(writer, "civic"));
+        writer.endEntry();
+        assertEquals(43, writeEntry(writer, "oncokb"));
+        writer.endEntry();
+        writer.flush();
+
+        assertEquals(Lists.newArrayList(statement("select", VICCENTRY),
+                statement("insert", VICCENTRY, 42, "civic", 43, "oncokb"),
+                "commit"), statements);
+    }
+
+    private static int writeEntry(@NotNull ViccRecordWriter writer, @NotNull String source, @NotNull String... tags) {
+        final int id = writer.insertInto(VICCENTRY, VICCENTRY.SOURCE).values(source).returning(VICCENTRY.ID);
+        for (String tag : tags) {
+            writer.insertInto(TAG, TAG.TAGNAME, TAG.VICCENTRYID).values(tag, id).execute();
+        }
+        return id;
+    }
+
+    @NotNull
+    private static String statement(@NotNull String type, @NotNull Table<?> table, @NotNull Object... bindings) {
+        return type + " " + table.getName() + (bindings.length > 0 ? " " + Arrays.asList(bindings) : "");
+    }
+
+    @NotNull
+    private static DSLContext recordingContext(@NotNull final List<String> statements, @Nullable final Integer maxId) {
+        final MockConnection connection = new MockConnection(context -> {
+            final String[] sqls = context.batch() ? context.batchSQL() : new String[] { context.sql() };
+            final MockResult[] results = new MockResult[sqls.length];
+            for (int i = 0; i < sqls.length; i++) {
+                statements.add(record(sqls[i], context));
+                results[i] = sqls[i].startsWith("select") ? maxIdResult(maxId) : new MockResult(1, null);
+            }
+            return results;
+        });
+
+        final TransactionProvider transactionProvider = new TransactionProvider() {
+            @Override
+            public void begin(@NotNull TransactionContext context) {
+            }
+
+            @Override
+            public void commit(@NotNull TransactionContext context) {
+                statements.add("commit");
+            }
+
+            @Override
+            public void rollback(@NotNull TransactionContext context) {
+                statements.add("rollback");
+            }
+        };
+
+        return DSL.using(new DefaultConfiguration().set(SQLDialect.MYSQL).set(connection).set(transactionProvider));
+    }
+
+    @NotNull
+    private static String record(@NotNull String sql, @NotNull MockExecuteContext context) {
+        final Matcher matcher = TABLE_NAME.matcher(sql);
+        final String table = matcher.find() ? matcher.group(1) : "?";
+        final Object[] bindings = context.batch() ? new Object[0] : context.bindings();
+        return sql.substring(0, sql.indexOf(' ')) + " " + table + (bindings.length > 0 ? " " + Arrays.asList(bindings) : "");
+    }
+
+    @NotNull
+    private static MockResult maxIdResult(@Nullable Integer maxId) {
+        final DSLContext create = DSL.using(SQLDialect.MYSQL);
+        final Field<Integer> maxIdField = DSL.field("max", Integer.class);
+        final Result<Record1<Integer>> result = create.newResult(maxIdField);
+        final Record1<Integer> record = create.newRecord(maxIdField);
+        record.set(maxIdField, maxId);
+        result.add(record);
+        return new MockResult(1, result);
+    }
+}
@@ -0,0 +1,31 @@
+package com.hartwig.hmftools.vicc.reader;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.google.common.collect.Lists;
+import com.google.common.io.Resources;
+import com.hartwig.hmftools.vicc.datamodel.ViccEntry;
+
+import org.junit.Test;
+
+public class ViccJsonPipelineTest {
+
+    private static final String VICC_ENTRIES_JSON = Resources.getResource("vicc_entries.json").getPath();
+
+    @Test
+    public void pipelineReadsSameEntriesInSameOrderAsReader() throws IOException {
+        List<ViccEntry> expectedEntries = ViccJsonReader.readViccKnowledgebaseJsonFile(VICC_ENTRIES_JSON);
+        assertEquals(120, expectedEntries.size());
+
+        for (int threadCount : new int[] { 1, 4 }) {
+            List<ViccEntry> pipelineEntries = Lists.newArrayList();
+            int count = ViccJsonPipeline.readViccKnowledgebaseJsonFile(VICC_ENTRIES_JSON, threadCount, pipelineEntries::add);
+
+            assertEquals(expectedEntries.size(), count);
+            assertEquals(expectedEntries, pipelineEntries);
+        }
+    }
+}